@@ -0,0 +1,82 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+import scala.util.Random
+
+/**
+ * Benchmarks comparing sampling an [[AnimationClip]] to sampling keys stored as [[Vec3f]] and [[Quatf]] arrays with a binary search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class AnimationClipBenchmark {
+
+  private val tracks = 1000
+  private val keys = 60
+  private val clip = new AnimationClip(tracks * keys)
+  private val cursors = new Array[Int](tracks)
+  private val times = Array.tabulate(keys)(i => i / 30.0f)
+  private val translationKeys = new Array[Array[Vec3f]](tracks)
+  private val rotationKeys = new Array[Array[Quatf]](tracks)
+  private val scaleKeys = new Array[Array[Vec3f]](tracks)
+  private val translations = new Array[Float](tracks * 3)
+  private val rotations = new Array[Float](tracks * 4)
+  private val scales = new Array[Float](tracks * 3)
+  private val translationResults = new Array[Vec3f](tracks)
+  private val rotationResults = new Array[Quatf](tracks)
+  private val scaleResults = new Array[Vec3f](tracks)
+  private var time = 0.0f
+
+  @Setup
+  def setup(): Unit = {
+    val random = new Random(42)
+    for(i <- 0 until tracks) {
+      this.translationKeys(i) = Array.fill(keys)(Vec3f(random.nextFloat(), random.nextFloat(), random.nextFloat()))
+      this.rotationKeys(i) = Array.fill(keys)(Quatf(Vec3f(random.nextFloat(), random.nextFloat(), 1.0f).normalized, random.nextDouble()))
+      this.scaleKeys(i) = Array.fill(keys)(Vec3f(random.nextFloat(), random.nextFloat(), random.nextFloat()))
+      this.clip.addTrack(this.times, this.translationKeys(i), this.rotationKeys(i), this.scaleKeys(i))
+    }
+  }
+
+  /** Advances the time by one frame at 60 frames per second, looping at the end of the clip. */
+  private def nextTime(): Float = {
+    this.time += 1.0f / 60.0f
+    if(this.time > this.clip.duration) {
+      this.time = 0.0f
+    }
+    this.time
+  }
+
+  @Benchmark
+  def sampleNlerp(): Array[Float] = {
+    this.clip.sample(this.nextTime(), this.cursors, this.translations, this.rotations, this.scales, slerp = false)
+    this.rotations
+  }
+
+  @Benchmark
+  def sampleSlerp(): Array[Float] = {
+    this.clip.sample(this.nextTime(), this.cursors, this.translations, this.rotations, this.scales, slerp = true)
+    this.rotations
+  }
+
+  @Benchmark
+  def sampleWithVectors(): Array[Quatf] = {
+    val t = this.nextTime()
+    var i = 0
+    while(i < tracks) {
+      val found = java.util.Arrays.binarySearch(this.times, t)
+      val k = math.min(if(found >= 0) found else math.max(-found - 2, 0), keys - 2)
+      val w = math.max(0.0f, math.min((t - this.times(k)) / (this.times(k + 1) - this.times(k)), 1.0f))
+      this.translationResults(i) = this.translationKeys(i)(k).lerp(this.translationKeys(i)(k + 1), w)
+      this.rotationResults(i) = this.rotationKeys(i)(k).slerp(this.rotationKeys(i)(k + 1), w)
+      this.scaleResults(i) = this.scaleKeys(i)(k).lerp(this.scaleKeys(i)(k + 1), w)
+      i += 1
+    }
+    this.rotationResults
+  }
+}
@@ -0,0 +1,22 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.profile.GCProfiler
+import org.openjdk.jmh.runner.Runner
+import org.openjdk.jmh.runner.options.OptionsBuilder
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so that both the throughput and the bytes allocated per operation are reported.
+ *
+ * Run with `sbt "benchmarks/Jmh/runMain io.github.scalamath.vecmatlib.BenchmarkRunner [regex]"`.
+ * The optional regex selects which benchmarks to run and defaults to all of them.
+ */
+object BenchmarkRunner {
+
+  def main(args: Array[String]): Unit = {
+    val options = new OptionsBuilder()
+      .include(args.headOption.getOrElse(".*Benchmark.*"))
+      .addProfiler(classOf[GCProfiler])
+      .build()
+    new Runner(options).run()
+  }
+}
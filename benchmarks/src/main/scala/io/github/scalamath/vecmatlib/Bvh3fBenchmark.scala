@@ -0,0 +1,57 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+import org.openjdk.jmh.infra.Blackhole
+
+import java.util.concurrent.TimeUnit
+import scala.util.Random
+
+/**
+ * Benchmarks comparing queries on a [[Bvh3f]] to linear scans over all boxes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Bvh3fBenchmark {
+
+  private val size = 100000
+  private val boxes = new Array[Aabb3f](size)
+  private var bvh: Bvh3f = _
+  private var origin = Vec3f(0.0f, 0.0f, -600.0f)
+  private var direction = Vec3f(0.01f, -0.02f, 1.0f)
+  private var sphere = Sphere3f(Vec3f(10.0f, 20.0f, 30.0f), 25.0f)
+
+  @Setup
+  def setup(): Unit = {
+    val random = new Random(42)
+    for(i <- 0 until size) {
+      val min = Vec3f(random.nextFloat() * 1000.0f - 500.0f, random.nextFloat() * 1000.0f - 500.0f, random.nextFloat() * 1000.0f - 500.0f)
+      this.boxes(i) = Aabb3f(min, min + (random.nextFloat() * 5.0f, random.nextFloat() * 5.0f, random.nextFloat() * 5.0f))
+    }
+    this.bvh = Bvh3f(this.boxes)
+  }
+
+  @Benchmark
+  def raycast(): Int = this.bvh.raycast(this.origin, this.direction, 2000.0f)
+
+  @Benchmark
+  def querySphere(blackhole: Blackhole): Unit = this.bvh.querySphere(this.sphere, i => blackhole.consume(i))
+
+  @Benchmark
+  def querySphereLinear(blackhole: Blackhole): Unit = {
+    var i = 0
+    while(i < size) {
+      if(this.sphere.intersects(this.boxes(i))) {
+        blackhole.consume(i)
+      }
+      i += 1
+    }
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  def build(): Bvh3f = Bvh3f(this.boxes)
+}
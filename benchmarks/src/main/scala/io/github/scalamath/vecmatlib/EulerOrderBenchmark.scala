@@ -0,0 +1,59 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the conversions in [[EulerOrder]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class EulerOrderBenchmark {
+
+  @Param(Array("XYZ", "XZY", "YXZ", "YZX", "ZXY", "ZYX"))
+  var order: EulerOrder = _
+
+  private var x: Double = 0.3
+  private var y: Double = -1.1
+  private var z: Double = 0.8
+  private var q: Quatd = Quatd(Vec3d(1.0, 2.0, 3.0).normalized, 0.7)
+  private var qf: Quatf = Quatf(Vec3f(1.0f, 2.0f, 3.0f).normalized, 0.7)
+  private var ef: Vec3f = Vec3f(0.3f, -1.1f, 0.8f)
+
+  private val count = 1024
+  private val angles = Array.tabulate(this.count * 3)(i => (i % 7 - 3) * 0.4f)
+  private val quaternions = new Array[Float](this.count * 4)
+  private val result = new Array[Float](this.count * 3)
+
+  @Benchmark
+  def toQuaternion(): Quatd = this.order.toQuaternion(this.x, this.y, this.z)
+
+  @Benchmark
+  def toEulerAngles(): Vec3d = this.order.toEulerAngles(this.q)
+
+  @Benchmark
+  def quatfFromEuler(): Quatf = Quatf.fromEuler(this.x, this.y, this.z, this.order)
+
+  @Benchmark
+  def quatfEuler(): Vec3f = this.qf.euler(this.order)
+
+  @Benchmark
+  def quatfFromEulerFloat(): Quatf = Quatf.fromEuler(this.ef, this.order)
+
+  @Benchmark
+  def toQuaternionsPacked(): Array[Float] = {
+    this.order.toQuaternions(this.angles, this.quaternions, 0, this.count)
+    this.quaternions
+  }
+
+  @Benchmark
+  def toEulerAnglesPacked(): Array[Float] = {
+    this.order.toEulerAngles(this.quaternions, this.result, 0, this.count)
+    this.result
+  }
+}
@@ -0,0 +1,58 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+import scala.util.Random
+
+/**
+ * Benchmarks for batch culling with [[Frustum]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class FrustumBenchmark {
+
+  private val size = 100000
+  private val frustum = Frustum(Mat4f.perspectiveProjection(math.Pi / 4.0, 16.0f / 9.0f, 0.1f, 500.0f) * Mat4f.rotation(0.0, 0.5, 0.0))
+  private val boxes = new Array[Float](size * 6)
+  private val spheres = new Array[Float](size * 4)
+  private val result = new Array[Long]((size + 63) / 64)
+  private val lastPlanes = new Array[Byte](size)
+
+  @Setup
+  def setup(): Unit = {
+    val random = new Random(42)
+    for(i <- 0 until size) {
+      val x = random.nextFloat() * 1000.0f - 500.0f
+      val y = random.nextFloat() * 100.0f - 50.0f
+      val z = random.nextFloat() * 1000.0f - 500.0f
+      val r = random.nextFloat() * 2.0f
+      this.boxes(i * 6) = x - r
+      this.boxes(i * 6 + 1) = y - r
+      this.boxes(i * 6 + 2) = z - r
+      this.boxes(i * 6 + 3) = x + r
+      this.boxes(i * 6 + 4) = y + r
+      this.boxes(i * 6 + 5) = z + r
+      this.spheres(i * 4) = x
+      this.spheres(i * 4 + 1) = y
+      this.spheres(i * 4 + 2) = z
+      this.spheres(i * 4 + 3) = r
+    }
+  }
+
+  @Benchmark
+  def cullAabbs(): Int = this.frustum.cullAabbs(this.boxes, 0, size, this.result)
+
+  @Benchmark
+  def cullAabbsCoherent(): Int = this.frustum.cullAabbs(this.boxes, 0, size, this.result, this.lastPlanes)
+
+  @Benchmark
+  def cullSpheres(): Int = this.frustum.cullSpheres(this.spheres, 0, size, this.result)
+
+  @Benchmark
+  def cullSpheresCoherent(): Int = this.frustum.cullSpheres(this.spheres, 0, size, this.result, this.lastPlanes)
+}
@@ -0,0 +1,61 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+import scala.collection.mutable
+
+/**
+ * Benchmarks for the `hashCode` and `equals` methods generated for case classes and for hash map lookups keyed by vectors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class HashCodeBenchmark {
+
+  private var v3i = Vec3i(1, -2, 3)
+  private var v3iCopy = Vec3i(1, -2, 3)
+  private var v3f = Vec3f(1.0f, -2.0f, 3.0f)
+  private var m4f = Mat4f(1.0f, 0.0f, 3.0f, -1.0f, 2.0f, 2.0f, 1.0f, -3.0f, 0.0f, 3.0f, 3.0f, 2.0f, -2.0f, 1.0f, -3.0f, 4.0f)
+  private var q = Quatd(1.0, -2.0, 3.0, -4.0)
+  private val map = mutable.HashMap.empty[Vec3i, Int]
+  private val keys = new Array[Vec3i](4096)
+
+  @Setup
+  def setup(): Unit = {
+    for(i <- this.keys.indices) {
+      this.keys(i) = Vec3i(i & 15, (i >> 4) & 15, i >> 8)
+      this.map(this.keys(i)) = i
+    }
+  }
+
+  @Benchmark
+  def vec3iHashCode(): Int = this.v3i.hashCode()
+
+  @Benchmark
+  def vec3iEquals(): Boolean = this.v3i == this.v3iCopy
+
+  @Benchmark
+  def vec3fHashCode(): Int = this.v3f.hashCode()
+
+  @Benchmark
+  def mat4fHashCode(): Int = this.m4f.hashCode()
+
+  @Benchmark
+  def quatdHashCode(): Int = this.q.hashCode()
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  def hashMapLookup(): Int = {
+    var sum = 0
+    var i = 0
+    while(i < this.keys.length) {
+      sum += this.map(Vec3i(i & 15, (i >> 4) & 15, i >> 8))
+      i += 1
+    }
+    sum
+  }
+}
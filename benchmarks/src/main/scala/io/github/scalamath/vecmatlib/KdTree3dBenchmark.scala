@@ -0,0 +1,67 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+import scala.util.Random
+
+/**
+ * Benchmarks comparing queries on a [[KdTree3d]] to linear scans over all points.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class KdTree3dBenchmark {
+
+  private val size = 1000000
+  private val points = new Array[Double](size * 3)
+  private var tree: KdTree3d = _
+  private var query = Vec3d(10.0, 20.0, 30.0)
+  private val result = new Array[Int](16)
+  private val distances = new Array[Double](16)
+
+  @Setup
+  def setup(): Unit = {
+    val random = new Random(42)
+    for(i <- this.points.indices) {
+      this.points(i) = random.nextDouble() * 1000.0 - 500.0
+    }
+    this.tree = KdTree3d(this.points, size)
+  }
+
+  @Benchmark
+  def nearest(): Int = this.tree.nearest(this.query)
+
+  @Benchmark
+  def nearestLinear(): Int = {
+    var best = -1
+    var bestDistance = Double.PositiveInfinity
+    var i = 0
+    while(i < size) {
+      val d = this.query.distanceSquaredTo(this.points(i * 3), this.points(i * 3 + 1), this.points(i * 3 + 2))
+      if(d < bestDistance) {
+        best = i
+        bestDistance = d
+      }
+      i += 1
+    }
+    best
+  }
+
+  @Benchmark
+  def nearest16(): Int = this.tree.nearest(this.query, 16, this.result, this.distances)
+
+  @Benchmark
+  def approximateNearest16(): Int = this.tree.approximateNearest(this.query, 16, this.result, this.distances, 32)
+
+  @Benchmark
+  def queryRadius(): Int = this.tree.queryRadius(this.query, 20.0, this.result)
+
+  @Benchmark
+  @BenchmarkMode(Array(Mode.AverageTime))
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  def build(): KdTree3d = KdTree3d(this.points, size)
+}
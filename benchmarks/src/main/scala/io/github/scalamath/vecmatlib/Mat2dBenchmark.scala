@@ -0,0 +1,40 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Mat2d]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Mat2dBenchmark {
+
+  private var a: Mat2d = Mat2d(3.5, 1.25, 0.75, 3.5)
+  private var b: Mat2d = Mat2d(3.5, -0.75, 1.25, 3.5)
+  private var v: Vec2d = Vec2d(5.5, 1.5)
+  private var exp: Int = 5
+
+  @Benchmark
+  def multiplyMatrix(): Mat2d = this.a * this.b
+
+  @Benchmark
+  def multiplyVector(): Vec2d = this.a * this.v
+
+  @Benchmark
+  def transposed(): Mat2d = this.a.transposed
+
+  @Benchmark
+  def determinant(): Double = this.a.determinant
+
+  @Benchmark
+  def power(): Mat2d = this.a.power(this.exp)
+
+  @Benchmark
+  def inverse(): Mat2d = this.a.inverse
+}
@@ -0,0 +1,40 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Mat2f]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Mat2fBenchmark {
+
+  private var a: Mat2f = Mat2f(3.5f, 1.25f, 0.75f, 3.5f)
+  private var b: Mat2f = Mat2f(3.5f, -0.75f, 1.25f, 3.5f)
+  private var v: Vec2f = Vec2f(5.5f, 1.5f)
+  private var exp: Int = 5
+
+  @Benchmark
+  def multiplyMatrix(): Mat2f = this.a * this.b
+
+  @Benchmark
+  def multiplyVector(): Vec2f = this.a * this.v
+
+  @Benchmark
+  def transposed(): Mat2f = this.a.transposed
+
+  @Benchmark
+  def determinant(): Float = this.a.determinant
+
+  @Benchmark
+  def power(): Mat2f = this.a.power(this.exp)
+
+  @Benchmark
+  def inverse(): Mat2f = this.a.inverse
+}
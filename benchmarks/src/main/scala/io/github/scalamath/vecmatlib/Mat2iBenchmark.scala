@@ -0,0 +1,37 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Mat2i]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Mat2iBenchmark {
+
+  private var a: Mat2i = Mat2i(4, 2, 1, 4)
+  private var b: Mat2i = Mat2i(4, -2, 2, 4)
+  private var v: Vec2i = Vec2i(5, 1)
+  private var exp: Int = 5
+
+  @Benchmark
+  def multiplyMatrix(): Mat2i = this.a * this.b
+
+  @Benchmark
+  def multiplyVector(): Vec2i = this.a * this.v
+
+  @Benchmark
+  def transposed(): Mat2i = this.a.transposed
+
+  @Benchmark
+  def determinant(): Int = this.a.determinant
+
+  @Benchmark
+  def power(): Mat2i = this.a.power(this.exp)
+}
@@ -0,0 +1,34 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Mat2x3d]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Mat2x3dBenchmark {
+
+  private var a: Mat2x3d = Mat2x3d(4.5, 1.25, 0.25, 0.75, 4.5, 1.25)
+  private var b: Mat2x3d = Mat2x3d(4.5, -0.75, 0.75, 1.25, 4.5, -0.75)
+  private var m: Mat3d = Mat3d(4.5, 0.25, -0.75, -0.25, 4.5, 0.25, 0.75, -0.25, 4.5)
+  private var v: Vec3d = Vec3d(5.5, 1.5, -2.5)
+
+  @Benchmark
+  def multiplyVector(): Vec2d = this.a * this.v
+
+  @Benchmark
+  def multiplyMatrix(): Mat2x3d = this.a * this.m
+
+  @Benchmark
+  def multiplyAffine(): Mat2x3d = this.a * (this.b, 0.0, 0.0, 1.0)
+
+  @Benchmark
+  def affineInverse(): Mat2x3d = this.a.affineInverse
+}
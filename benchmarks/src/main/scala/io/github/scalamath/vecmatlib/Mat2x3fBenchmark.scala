@@ -0,0 +1,34 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Mat2x3f]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Mat2x3fBenchmark {
+
+  private var a: Mat2x3f = Mat2x3f(4.5f, 1.25f, 0.25f, 0.75f, 4.5f, 1.25f)
+  private var b: Mat2x3f = Mat2x3f(4.5f, -0.75f, 0.75f, 1.25f, 4.5f, -0.75f)
+  private var m: Mat3f = Mat3f(4.5f, 0.25f, -0.75f, -0.25f, 4.5f, 0.25f, 0.75f, -0.25f, 4.5f)
+  private var v: Vec3f = Vec3f(5.5f, 1.5f, -2.5f)
+
+  @Benchmark
+  def multiplyVector(): Vec2f = this.a * this.v
+
+  @Benchmark
+  def multiplyMatrix(): Mat2x3f = this.a * this.m
+
+  @Benchmark
+  def multiplyAffine(): Mat2x3f = this.a * (this.b, 0.0f, 0.0f, 1.0f)
+
+  @Benchmark
+  def affineInverse(): Mat2x3f = this.a.affineInverse
+}
@@ -0,0 +1,31 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Mat2x3i]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Mat2x3iBenchmark {
+
+  private var a: Mat2x3i = Mat2x3i(5, 2, 0, 1, 5, 2)
+  private var b: Mat2x3i = Mat2x3i(5, -2, 1, 2, 5, -2)
+  private var m: Mat3i = Mat3i(5, 0, -2, -1, 5, 0, 1, -1, 5)
+  private var v: Vec3i = Vec3i(5, 1, -3)
+
+  @Benchmark
+  def multiplyVector(): Vec2i = this.a * this.v
+
+  @Benchmark
+  def multiplyMatrix(): Mat2x3i = this.a * this.m
+
+  @Benchmark
+  def multiplyAffine(): Mat2x3i = this.a * (this.b, 0, 0, 1)
+}
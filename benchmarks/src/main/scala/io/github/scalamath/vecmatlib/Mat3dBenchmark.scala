@@ -0,0 +1,55 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Mat3d]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Mat3dBenchmark {
+
+  private var a: Mat3d = Mat3d(4.5, 1.25, 0.25, 0.75, 4.5, 1.25, -0.75, 0.75, 4.5)
+  private var b: Mat3d = Mat3d(4.5, -0.75, 0.75, 1.25, 4.5, -0.75, -0.25, 1.25, 4.5)
+  private var v: Vec3d = Vec3d(5.5, 1.5, -2.5)
+  private var exp: Int = 5
+  private var largeExp: Int = 5000
+
+  // Row-stochastic matrices, whose powers converge instead of overflowing
+  private val markov: Array[Double] = Array.tabulate(1024 * 9)(i => if(i % 3 == 0) 0.5 else 0.25)
+  private val propagated: Array[Double] = new Array[Double](1024 * 9)
+
+  @Benchmark
+  def multiplyMatrix(): Mat3d = this.a * this.b
+
+  @Benchmark
+  def multiplyVector(): Vec3d = this.a * this.v
+
+  @Benchmark
+  def transposed(): Mat3d = this.a.transposed
+
+  @Benchmark
+  def determinant(): Double = this.a.determinant
+
+  @Benchmark
+  def power(): Mat3d = this.a.power(this.exp)
+
+  @Benchmark
+  def powerLarge(): Mat3d = Mat3d(0.5, 0.25, 0.25, 0.25, 0.5, 0.25, 0.25, 0.25, 0.5).power(this.largeExp)
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def powerPacked(): Array[Double] = {
+    Mat3d.powerPacked(this.markov, this.largeExp, this.propagated, 0, 1024)
+    this.propagated
+  }
+
+  @Benchmark
+  def inverse(): Mat3d = this.a.inverse
+}
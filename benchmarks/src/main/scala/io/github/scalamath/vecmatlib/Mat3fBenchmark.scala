@@ -0,0 +1,40 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Mat3f]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Mat3fBenchmark {
+
+  private var a: Mat3f = Mat3f(4.5f, 1.25f, 0.25f, 0.75f, 4.5f, 1.25f, -0.75f, 0.75f, 4.5f)
+  private var b: Mat3f = Mat3f(4.5f, -0.75f, 0.75f, 1.25f, 4.5f, -0.75f, -0.25f, 1.25f, 4.5f)
+  private var v: Vec3f = Vec3f(5.5f, 1.5f, -2.5f)
+  private var exp: Int = 5
+
+  @Benchmark
+  def multiplyMatrix(): Mat3f = this.a * this.b
+
+  @Benchmark
+  def multiplyVector(): Vec3f = this.a * this.v
+
+  @Benchmark
+  def transposed(): Mat3f = this.a.transposed
+
+  @Benchmark
+  def determinant(): Float = this.a.determinant
+
+  @Benchmark
+  def power(): Mat3f = this.a.power(this.exp)
+
+  @Benchmark
+  def inverse(): Mat3f = this.a.inverse
+}
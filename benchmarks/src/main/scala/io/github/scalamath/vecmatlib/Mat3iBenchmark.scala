@@ -0,0 +1,37 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Mat3i]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Mat3iBenchmark {
+
+  private var a: Mat3i = Mat3i(5, 2, 0, 1, 5, 2, -2, 1, 5)
+  private var b: Mat3i = Mat3i(5, -2, 1, 2, 5, -2, -1, 2, 5)
+  private var v: Vec3i = Vec3i(5, 1, -3)
+  private var exp: Int = 5
+
+  @Benchmark
+  def multiplyMatrix(): Mat3i = this.a * this.b
+
+  @Benchmark
+  def multiplyVector(): Vec3i = this.a * this.v
+
+  @Benchmark
+  def transposed(): Mat3i = this.a.transposed
+
+  @Benchmark
+  def determinant(): Int = this.a.determinant
+
+  @Benchmark
+  def power(): Mat3i = this.a.power(this.exp)
+}
@@ -0,0 +1,58 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Mat3x4d]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Mat3x4dBenchmark {
+
+  private var a: Mat3x4d = Mat3x4d(5.5, 1.25, 0.25, -0.75, 0.75, 5.5, 1.25, 0.25, -0.75, 0.75, 5.5, 1.25)
+  private var b: Mat3x4d = Mat3x4d(5.5, -0.75, 0.75, -0.25, 1.25, 5.5, -0.75, 0.75, -0.25, 1.25, 5.5, -0.75)
+  private var m: Mat4d = Mat4d(5.5, 0.25, -0.75, 0.75, -0.25, 5.5, 0.25, -0.75, 0.75, -0.25, 5.5, 0.25, -0.75, 0.75, -0.25, 5.5)
+  private var v: Vec4d = Vec4d(5.5, 1.5, -2.5, 4.25)
+
+  private var points: Array[Double] = Array.tabulate(3 * 1024)(i => ((i % 17) - 8) * 0.25)
+  private var transformed: Array[Double] = new Array[Double](3 * 1024)
+
+  @Benchmark
+  def multiplyVector(): Vec3d = this.a * this.v
+
+  @Benchmark
+  def multiplyMatrix(): Mat3x4d = this.a * this.m
+
+  @Benchmark
+  def multiplyAffine(): Mat3x4d = this.a * (this.b, 0.0, 0.0, 0.0, 1.0)
+
+  @Benchmark
+  def affineInverse(): Mat3x4d = this.a.affineInverse
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def transformPoints(): Array[Double] = {
+    this.a.transformPoints(this.points, this.transformed, 0, 1024)
+    this.transformed
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def multiplyPoints(): Array[Double] = {
+    var i = 0
+    while(i < 1024) {
+      val p = this.a * (Vec3d(this.points(i * 3), this.points(i * 3 + 1), this.points(i * 3 + 2)), 1.0)
+      this.transformed(i * 3) = p.x
+      this.transformed(i * 3 + 1) = p.y
+      this.transformed(i * 3 + 2) = p.z
+      i += 1
+    }
+    this.transformed
+  }
+}
@@ -0,0 +1,76 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Mat3x4f]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Mat3x4fBenchmark {
+
+  private var a: Mat3x4f = Mat3x4f(5.5f, 1.25f, 0.25f, -0.75f, 0.75f, 5.5f, 1.25f, 0.25f, -0.75f, 0.75f, 5.5f, 1.25f)
+  private var b: Mat3x4f = Mat3x4f(5.5f, -0.75f, 0.75f, -0.25f, 1.25f, 5.5f, -0.75f, 0.75f, -0.25f, 1.25f, 5.5f, -0.75f)
+  private var m: Mat4f = Mat4f(5.5f, 0.25f, -0.75f, 0.75f, -0.25f, 5.5f, 0.25f, -0.75f, 0.75f, -0.25f, 5.5f, 0.25f, -0.75f, 0.75f, -0.25f, 5.5f)
+  private var v: Vec4f = Vec4f(5.5f, 1.5f, -2.5f, 4.25f)
+
+  private var points: Array[Float] = Array.tabulate(3 * 1024)(i => ((i % 17) - 8) * 0.25f)
+  private var transformed: Array[Float] = new Array[Float](3 * 1024)
+
+  private var translation: Vec3f = Vec3f(1.5f, -2.0f, 0.5f)
+  private var rotation: Quatf = Quatf(Vec3f(1.0f, 2.0f, 3.0f).normalized, 0.7)
+  private var scale: Vec3f = Vec3f(2.0f, 1.5f, 0.5f)
+  private var trs: Mat3x4f = Mat3x4f.fromTRS(this.translation, this.rotation, this.scale)
+  private var otherTrs: Mat3x4f = Mat3x4f.fromTRS(-this.translation, Quatf(Vec3f.Right, 1.2), Vec3f.One)
+
+  @Benchmark
+  def multiplyVector(): Vec3f = this.a * this.v
+
+  @Benchmark
+  def multiplyMatrix(): Mat3x4f = this.a * this.m
+
+  @Benchmark
+  def multiplyAffine(): Mat3x4f = this.a * (this.b, 0.0f, 0.0f, 0.0f, 1.0f)
+
+  @Benchmark
+  def affineInverse(): Mat3x4f = this.a.affineInverse
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def transformPoints(): Array[Float] = {
+    this.a.transformPoints(this.points, this.transformed, 0, 1024)
+    this.transformed
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def multiplyPoints(): Array[Float] = {
+    var i = 0
+    while(i < 1024) {
+      val p = this.a * (Vec3f(this.points(i * 3), this.points(i * 3 + 1), this.points(i * 3 + 2)), 1.0f)
+      this.transformed(i * 3) = p.x
+      this.transformed(i * 3 + 1) = p.y
+      this.transformed(i * 3 + 2) = p.z
+      i += 1
+    }
+    this.transformed
+  }
+
+  @Benchmark
+  def fromTRS(): Mat3x4f = Mat3x4f.fromTRS(this.translation, this.rotation, this.scale)
+
+  @Benchmark
+  def composeTRS(): Mat3x4f = Mat3x4f.translation(this.translation) * Mat4f.rotation(this.rotation) * Mat4f.scaling(this.scale)
+
+  @Benchmark
+  def decompose(): (Vec3f, Quatf, Vec3f) = this.trs.decompose
+
+  @Benchmark
+  def lerpTRS(): Mat3x4f = this.trs.lerpTRS(this.otherTrs, 0.3f)
+}
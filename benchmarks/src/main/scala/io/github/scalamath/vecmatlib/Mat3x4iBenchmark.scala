@@ -0,0 +1,31 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Mat3x4i]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Mat3x4iBenchmark {
+
+  private var a: Mat3x4i = Mat3x4i(6, 2, 0, -2, 1, 6, 2, 0, -2, 1, 6, 2)
+  private var b: Mat3x4i = Mat3x4i(6, -2, 1, -1, 2, 6, -2, 1, -1, 2, 6, -2)
+  private var m: Mat4i = Mat4i(6, 0, -2, 1, -1, 6, 0, -2, 1, -1, 6, 0, -2, 1, -1, 6)
+  private var v: Vec4i = Vec4i(5, 1, -3, 4)
+
+  @Benchmark
+  def multiplyVector(): Vec3i = this.a * this.v
+
+  @Benchmark
+  def multiplyMatrix(): Mat3x4i = this.a * this.m
+
+  @Benchmark
+  def multiplyAffine(): Mat3x4i = this.a * (this.b, 0, 0, 0, 1)
+}
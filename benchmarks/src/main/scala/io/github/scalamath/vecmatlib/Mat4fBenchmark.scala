@@ -0,0 +1,91 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.nio.{ByteBuffer, ByteOrder, FloatBuffer}
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Mat4f]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Mat4fBenchmark {
+
+  private var a: Mat4f = Mat4f(5.5f, 1.25f, 0.25f, -0.75f, 0.75f, 5.5f, 1.25f, 0.25f, -0.75f, 0.75f, 5.5f, 1.25f, 0.25f, -0.75f, 0.75f, 5.5f)
+  private var b: Mat4f = Mat4f(5.5f, -0.75f, 0.75f, -0.25f, 1.25f, 5.5f, -0.75f, 0.75f, -0.25f, 1.25f, 5.5f, -0.75f, 0.75f, -0.25f, 1.25f, 5.5f)
+  private var v: Vec4f = Vec4f(5.5f, 1.5f, -2.5f, 4.25f)
+  private var exp: Int = 5
+
+  private var points: Array[Float] = Array.tabulate(3 * 1024)(i => ((i % 17) - 8) * 0.25f)
+  private var transformed: Array[Float] = new Array[Float](3 * 1024)
+
+  private var matrices: Array[Mat4f] = Array.fill(1024)(this.a)
+  private var buffer: FloatBuffer = ByteBuffer.allocateDirect(1024 * 16 * 4).order(ByteOrder.nativeOrder()).asFloatBuffer()
+
+  private var angles: Array[Float] = Array.tabulate(3 * 1024)(i => ((i % 13) - 6) * 0.5f)
+  private var rotationMatrices: Array[Float] = new Array[Float](16 * 1024)
+
+  @Benchmark
+  def multiplyMatrix(): Mat4f = this.a * this.b
+
+  @Benchmark
+  def multiplyVector(): Vec4f = this.a * this.v
+
+  @Benchmark
+  def transposed(): Mat4f = this.a.transposed
+
+  @Benchmark
+  def determinant(): Float = this.a.determinant
+
+  @Benchmark
+  def power(): Mat4f = this.a.power(this.exp)
+
+  @Benchmark
+  def inverse(): Mat4f = this.a.inverse
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def transformPoints(): Array[Float] = {
+    this.a.transformPoints(this.points, this.transformed, 0, 1024)
+    this.transformed
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def multiplyPoints(): Array[Float] = {
+    var i = 0
+    while(i < 1024) {
+      val p = this.a * (Vec3f(this.points(i * 3), this.points(i * 3 + 1), this.points(i * 3 + 2)), 1.0f)
+      this.transformed(i * 3) = p.x
+      this.transformed(i * 3 + 1) = p.y
+      this.transformed(i * 3 + 2) = p.z
+      i += 1
+    }
+    this.transformed
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def writeAll(): FloatBuffer = {
+    Mat4f.writeAll(this.matrices, this.buffer, 0, true)
+    this.buffer
+  }
+
+  @Benchmark
+  def rotationComposed(): Mat4f = Mat4f.rotationX(this.angles(0)) * Mat4f.rotationY(this.angles(1)) * Mat4f.rotationZ(this.angles(2))
+
+  @Benchmark
+  def rotationEuler(): Mat4f = Mat4f.rotation(this.angles(0), this.angles(1), this.angles(2), EulerOrder.YXZ)
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def rotations(): Array[Float] = {
+    Mat4f.rotations(this.angles, EulerOrder.YXZ, this.rotationMatrices, 0, 1024)
+    this.rotationMatrices
+  }
+}
@@ -0,0 +1,37 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Mat4i]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Mat4iBenchmark {
+
+  private var a: Mat4i = Mat4i(6, 2, 0, -2, 1, 6, 2, 0, -2, 1, 6, 2, 0, -2, 1, 6)
+  private var b: Mat4i = Mat4i(6, -2, 1, -1, 2, 6, -2, 1, -1, 2, 6, -2, 1, -1, 2, 6)
+  private var v: Vec4i = Vec4i(5, 1, -3, 4)
+  private var exp: Int = 5
+
+  @Benchmark
+  def multiplyMatrix(): Mat4i = this.a * this.b
+
+  @Benchmark
+  def multiplyVector(): Vec4i = this.a * this.v
+
+  @Benchmark
+  def transposed(): Mat4i = this.a.transposed
+
+  @Benchmark
+  def determinant(): Int = this.a.determinant
+
+  @Benchmark
+  def power(): Mat4i = this.a.power(this.exp)
+}
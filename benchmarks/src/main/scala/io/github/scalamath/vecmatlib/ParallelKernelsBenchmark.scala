@@ -0,0 +1,55 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks comparing sequential and parallel batch transforms of large point clouds with [[ParallelKernels]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class ParallelKernelsBenchmark {
+
+  @Param(Array("1048576"))
+  var size: Int = _
+
+  private var src: Array[Double] = _
+  private var dst: Array[Double] = _
+  private var m: Mat4d = Mat4d.translation(1.0, -2.0, 3.0) * Mat4d.rotation(0.5, -0.25, 1.0)
+  private var a: Mat3x4d = Mat3x4d.translation(1.0, -2.0, 3.0) * Mat4d.rotation(0.5, -0.25, 1.0)
+
+  @Setup
+  def setup(): Unit = {
+    this.src = Array.tabulate(this.size * 3)(i => i * 0.001 - 1.0)
+    this.dst = new Array[Double](this.size * 3)
+  }
+
+  @Benchmark
+  def mat4dSequential(): Array[Double] = {
+    this.m.transformPoints(this.src, this.dst, 0, this.size)
+    this.dst
+  }
+
+  @Benchmark
+  def mat4dParallel(): Array[Double] = {
+    ParallelKernels.Default.transformPoints(this.m, this.src, this.dst, 0, this.size)
+    this.dst
+  }
+
+  @Benchmark
+  def mat3x4dSequential(): Array[Double] = {
+    this.a.transformPoints(this.src, this.dst, 0, this.size)
+    this.dst
+  }
+
+  @Benchmark
+  def mat3x4dParallel(): Array[Double] = {
+    ParallelKernels.Default.transformPoints(this.a, this.src, this.dst, 0, this.size)
+    this.dst
+  }
+}
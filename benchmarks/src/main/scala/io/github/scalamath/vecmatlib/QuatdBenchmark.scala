@@ -0,0 +1,79 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Quatd]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class QuatdBenchmark {
+
+  private var a: Quatd = Quatd(Vec3d(1.0, 2.0, 3.0).normalized, 0.7)
+  private var b: Quatd = Quatd(Vec3d(-2.0, 0.5, 1.0).normalized, -1.3)
+  private var p: Vec3d = Vec3d(1.5, -2.0, 0.75)
+  private var weight: Double = 0.3
+  private val points: Array[Double] = Array.tabulate(3 * 1024)(i => ((i % 17) - 8) * 0.25)
+  private val rotated: Array[Double] = new Array[Double](3 * 1024)
+  private val from: Array[Double] = Array.tabulate(1024)(i => Quatd(Vec3d(1.0, 2.0, 3.0).normalized, i * 0.01)).flatMap(q => Array(q.w, q.x, q.y, q.z))
+  private val to: Array[Double] = Array.tabulate(1024)(i => Quatd(Vec3d(-2.0, 0.5, 1.0).normalized, -i * 0.02)).flatMap(q => Array(q.w, q.x, q.y, q.z))
+  private val dst: Array[Double] = new Array[Double](4096)
+
+  @Benchmark
+  def multiply(): Quatd = this.a * this.b
+
+  @Benchmark
+  def normalized(): Quatd = this.a.normalized
+
+  @Benchmark
+  def inverse(): Quatd = this.a.inverse
+
+  @Benchmark
+  def slerp(): Quatd = this.a.slerp(this.b, this.weight)
+
+  @Benchmark
+  def nlerp(): Quatd = this.a.nlerp(this.b, this.weight)
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def slerpPacked(): Array[Double] = {
+    Quatd.slerpPacked(this.from, this.to, this.weight, this.dst, 0, 1024)
+    this.dst
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def nlerpPacked(): Array[Double] = {
+    Quatd.nlerpPacked(this.from, this.to, this.weight, this.dst, 0, 1024)
+    this.dst
+  }
+
+  @Benchmark
+  def rotate(): Vec3d = this.a.rotate(this.p)
+
+  @Benchmark
+  def rotateConjugate(): Vec3d = (this.a * (0.0, this.p.x, this.p.y, this.p.z) * this.a.conjugate).vector
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def rotatePoints(): Array[Double] = {
+    this.a.rotatePoints(this.points, this.rotated, 0, 1024)
+    this.rotated
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def transformPoints(): Array[Double] = {
+    this.a.transformPoints(this.points, this.p, this.rotated, 0, 1024)
+    this.rotated
+  }
+
+  @Benchmark
+  def euler(): Vec3d = this.a.euler
+}
@@ -0,0 +1,79 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Quatf]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class QuatfBenchmark {
+
+  private var a: Quatf = Quatf(Vec3f(1.0f, 2.0f, 3.0f).normalized, 0.7)
+  private var b: Quatf = Quatf(Vec3f(-2.0f, 0.5f, 1.0f).normalized, -1.3)
+  private var p: Vec3f = Vec3f(1.5f, -2.0f, 0.75f)
+  private var weight: Float = 0.3f
+  private val points: Array[Float] = Array.tabulate(3 * 1024)(i => ((i % 17) - 8) * 0.25f)
+  private val rotated: Array[Float] = new Array[Float](3 * 1024)
+  private val from: Array[Float] = Array.tabulate(1024)(i => Quatf(Vec3f(1.0f, 2.0f, 3.0f).normalized, i * 0.01)).flatMap(q => Array(q.w, q.x, q.y, q.z))
+  private val to: Array[Float] = Array.tabulate(1024)(i => Quatf(Vec3f(-2.0f, 0.5f, 1.0f).normalized, -i * 0.02)).flatMap(q => Array(q.w, q.x, q.y, q.z))
+  private val dst: Array[Float] = new Array[Float](4096)
+
+  @Benchmark
+  def multiply(): Quatf = this.a * this.b
+
+  @Benchmark
+  def normalized(): Quatf = this.a.normalized
+
+  @Benchmark
+  def inverse(): Quatf = this.a.inverse
+
+  @Benchmark
+  def slerp(): Quatf = this.a.slerp(this.b, this.weight)
+
+  @Benchmark
+  def nlerp(): Quatf = this.a.nlerp(this.b, this.weight)
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def slerpPacked(): Array[Float] = {
+    Quatf.slerpPacked(this.from, this.to, this.weight, this.dst, 0, 1024)
+    this.dst
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def nlerpPacked(): Array[Float] = {
+    Quatf.nlerpPacked(this.from, this.to, this.weight, this.dst, 0, 1024)
+    this.dst
+  }
+
+  @Benchmark
+  def rotate(): Vec3f = this.a.rotate(this.p)
+
+  @Benchmark
+  def rotateConjugate(): Vec3f = (this.a * (0.0f, this.p.x, this.p.y, this.p.z) * this.a.conjugate).vector
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def rotatePoints(): Array[Float] = {
+    this.a.rotatePoints(this.points, this.rotated, 0, 1024)
+    this.rotated
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def transformPoints(): Array[Float] = {
+    this.a.transformPoints(this.points, this.p, this.rotated, 0, 1024)
+    this.rotated
+  }
+
+  @Benchmark
+  def euler(): Vec3f = this.a.euler
+}
@@ -0,0 +1,80 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+import scala.util.Random
+
+/**
+ * Benchmarks comparing the batch intersection methods of [[Ray3f]] to intersections written with [[Vec3f]] operations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Ray3fBenchmark {
+
+  private val size = 10000
+  private val triangles = new Array[Float](size * 9)
+  private val vertices = new Array[Vec3f](size * 3)
+  private val boxes = new Array[Float](size * 6)
+  private val visible = new Array[Long]((size + 63) / 64)
+  private val hit = new RayHit3f
+  private var ray = Ray3f(Vec3f(0.0f, 0.0f, -100.0f), Vec3f(0.01f, -0.02f, 1.0f))
+
+  @Setup
+  def setup(): Unit = {
+    val random = new Random(42)
+    for(i <- this.triangles.indices) {
+      this.triangles(i) = random.nextFloat() * 100.0f - 50.0f
+    }
+    for(i <- this.vertices.indices) {
+      this.vertices(i) = Vec3f(this.triangles(i * 3), this.triangles(i * 3 + 1), this.triangles(i * 3 + 2))
+    }
+    for(i <- 0 until size) {
+      val min = Vec3f(random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f)
+      Array(min.x, min.y, min.z, min.x + 2.0f, min.y + 2.0f, min.z + 2.0f).copyToArray(this.boxes, i * 6)
+    }
+  }
+
+  @Benchmark
+  def intersectTriangles(): Int = this.ray.intersectTriangles(this.triangles, 0, size, 1000.0f, this.hit)
+
+  @Benchmark
+  def intersectTrianglesWithVectors(): Int = {
+    var closest = 1000.0f
+    var result = -1
+    var i = 0
+    while(i < size) {
+      val a = this.vertices(i * 3)
+      val e1 = this.vertices(i * 3 + 1) - a
+      val e2 = this.vertices(i * 3 + 2) - a
+      val p = this.ray.direction cross e2
+      val det = e1 dot p
+      if(det != 0.0f) {
+        val s = this.ray.origin - a
+        val u = (s dot p) / det
+        val q = s cross e1
+        val v = (this.ray.direction dot q) / det
+        val t = (e2 dot q) / det
+        if(u >= 0.0f && v >= 0.0f && u + v <= 1.0f && t >= 0.0f && t < closest) {
+          closest = t
+          result = i
+        }
+      }
+      i += 1
+    }
+    result
+  }
+
+  @Benchmark
+  def intersectsAnyTriangle(): Boolean = this.ray.intersectsAnyTriangle(this.triangles, 0, size, 1000.0f)
+
+  @Benchmark
+  def intersectBoxes(): Int = this.ray.intersectBoxes(this.boxes, 0, size, 1000.0f, this.visible)
+
+  @Benchmark
+  def nearestBox(): Int = this.ray.nearestBox(this.boxes, 0, size, 1000.0f)
+}
@@ -0,0 +1,121 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+import scala.util.Random
+
+/**
+ * Benchmarks comparing the skinning kernels of [[Skinning]] to skinning written with [[Mat3x4f]] and [[DualQuatf]] operations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class SkinningBenchmark {
+
+  private val size = 10000
+  private val bones = 64
+  private val palette = new Array[Mat3x4f](bones)
+  private val packed = new Array[Float](bones * 12)
+  private val dualQuats = new Array[DualQuatf](bones)
+  private val packedDualQuats = new Array[Float](bones * 8)
+  private val positions = new Array[Float](size * 3)
+  private val normals = new Array[Float](size * 3)
+  private val boneIndices = new Array[Int](size * 4)
+  private val boneWeights = new Array[Float](size * 4)
+  private val dstPositions = new Array[Float](size * 3)
+  private val dstNormals = new Array[Float](size * 3)
+  private val vertices = new Array[Vec3f](size)
+  private val skinned = new Array[Vec3f](size)
+
+  @Setup
+  def setup(): Unit = {
+    val random = new Random(42)
+    for(i <- this.palette.indices) {
+      this.palette(i) = Mat3x4f(Mat3f.rotation(Vec3f(random.nextFloat(), random.nextFloat(), 1.0f).normalized, random.nextDouble()), Vec3f(random.nextFloat(), random.nextFloat(), random.nextFloat()))
+    }
+    Skinning.packPalette(this.palette, this.packed)
+    for(i <- this.dualQuats.indices) {
+      this.dualQuats(i) = DualQuatf.fromMatrix(this.palette(i))
+    }
+    Skinning.packPalette(this.dualQuats, this.packedDualQuats)
+    for(i <- 0 until size * 3) {
+      this.positions(i) = random.nextFloat() * 2.0f - 1.0f
+      this.normals(i) = random.nextFloat() * 2.0f - 1.0f
+    }
+    for(i <- 0 until size) {
+      this.vertices(i) = Vec3f(this.positions(i * 3), this.positions(i * 3 + 1), this.positions(i * 3 + 2))
+      for(j <- 0 until 4) {
+        this.boneIndices(i * 4 + j) = random.nextInt(bones)
+        this.boneWeights(i * 4 + j) = 0.25f
+      }
+    }
+  }
+
+  @Benchmark
+  def linearBlendPackedPalette(): Array[Float] = {
+    Skinning.linearBlend(this.packed, this.positions, this.normals, this.boneIndices, this.boneWeights, this.dstPositions, this.dstNormals, 0, size)
+    this.dstPositions
+  }
+
+  @Benchmark
+  def linearBlendMatrixPalette(): Array[Float] = {
+    Skinning.linearBlend(this.palette, this.positions, this.normals, this.boneIndices, this.boneWeights, this.dstPositions, this.dstNormals, 0, size)
+    this.dstPositions
+  }
+
+  @Benchmark
+  def linearBlendPositionsOnly(): Array[Float] = {
+    Skinning.linearBlend(this.packed, this.positions, null, this.boneIndices, this.boneWeights, this.dstPositions, null, 0, size)
+    this.dstPositions
+  }
+
+  @Benchmark
+  def linearBlendWithMatrices(): Array[Vec3f] = {
+    var i = 0
+    while(i < size) {
+      val m = this.palette(this.boneIndices(i * 4)) * this.boneWeights(i * 4) +
+        this.palette(this.boneIndices(i * 4 + 1)) * this.boneWeights(i * 4 + 1) +
+        this.palette(this.boneIndices(i * 4 + 2)) * this.boneWeights(i * 4 + 2) +
+        this.palette(this.boneIndices(i * 4 + 3)) * this.boneWeights(i * 4 + 3)
+      this.skinned(i) = m * (this.vertices(i), 1.0f)
+      i += 1
+    }
+    this.skinned
+  }
+
+  @Benchmark
+  def linearBlendParallel(): Array[Float] = {
+    ParallelKernels.Default.linearBlendSkinning(this.packed, this.positions, this.normals, this.boneIndices, this.boneWeights, this.dstPositions, this.dstNormals, 0, size)
+    this.dstPositions
+  }
+
+  @Benchmark
+  def dualQuaternionPackedPalette(): Array[Float] = {
+    Skinning.dualQuaternion(this.packedDualQuats, this.positions, this.normals, this.boneIndices, this.boneWeights, this.dstPositions, this.dstNormals, 0, size)
+    this.dstPositions
+  }
+
+  @Benchmark
+  def dualQuaternionPalette(): Array[Float] = {
+    Skinning.dualQuaternion(this.dualQuats, this.positions, this.normals, this.boneIndices, this.boneWeights, this.dstPositions, this.dstNormals, 0, size)
+    this.dstPositions
+  }
+
+  @Benchmark
+  def dualQuaternionWithDualQuats(): Array[Vec3f] = {
+    var i = 0
+    while(i < size) {
+      val d = this.dualQuats(this.boneIndices(i * 4)) * this.boneWeights(i * 4) +
+        this.dualQuats(this.boneIndices(i * 4 + 1)) * this.boneWeights(i * 4 + 1) +
+        this.dualQuats(this.boneIndices(i * 4 + 2)) * this.boneWeights(i * 4 + 2) +
+        this.dualQuats(this.boneIndices(i * 4 + 3)) * this.boneWeights(i * 4 + 3)
+      this.skinned(i) = d.normalized.transformPoint(this.vertices(i))
+      i += 1
+    }
+    this.skinned
+  }
+}
@@ -0,0 +1,65 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+import org.openjdk.jmh.infra.Blackhole
+
+import java.util.concurrent.TimeUnit
+import scala.collection.mutable
+import scala.util.Random
+
+/**
+ * Benchmarks comparing a [[SpatialHash3f]] to a hash map from [[Vec3i]] cells to lists of ids.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class SpatialHash3fBenchmark {
+
+  private val size = 200000
+  private val cellSize = 2.0f
+  private val positions = new Array[Vec3f](size)
+  private val hash = new SpatialHash3f(cellSize)
+  private val map = mutable.HashMap.empty[Vec3i, mutable.ArrayBuffer[Int]]
+  private var center = Vec3f(10.0f, 20.0f, 30.0f)
+  private var radius = 2.0f
+  private var moved = 0
+
+  private def cellOf(p: Vec3f): Vec3i = Vec3i(math.floor(p.x / cellSize).toInt, math.floor(p.y / cellSize).toInt, math.floor(p.z / cellSize).toInt)
+
+  @Setup
+  def setup(): Unit = {
+    val random = new Random(42)
+    for(i <- 0 until size) {
+      this.positions(i) = Vec3f(random.nextFloat() * 200.0f - 100.0f, random.nextFloat() * 200.0f - 100.0f, random.nextFloat() * 200.0f - 100.0f)
+      this.hash.insert(i, this.positions(i))
+      this.map.getOrElseUpdate(this.cellOf(this.positions(i)), mutable.ArrayBuffer.empty) += i
+    }
+  }
+
+  @Benchmark
+  def queryRadius(blackhole: Blackhole): Unit = this.hash.queryRadius(this.center, this.radius, i => blackhole.consume(i))
+
+  @Benchmark
+  def queryRadiusHashMap(blackhole: Blackhole): Unit = {
+    val min = this.cellOf(this.center - (this.radius, this.radius, this.radius))
+    val max = this.cellOf(this.center + (this.radius, this.radius, this.radius))
+    for(x <- min.x to max.x; y <- min.y to max.y; z <- min.z to max.z) {
+      this.map.get(Vec3i(x, y, z)).foreach(_.foreach { i =>
+        if((this.positions(i) distanceSquaredTo this.center) <= this.radius * this.radius) {
+          blackhole.consume(i)
+        }
+      })
+    }
+  }
+
+  @Benchmark
+  def move(): Unit = {
+    val p = this.positions(this.moved)
+    this.hash.move(this.moved, p.x + this.cellSize, p.y, p.z)
+    this.hash.move(this.moved, p)
+    this.moved = (this.moved + 1) % size
+  }
+}
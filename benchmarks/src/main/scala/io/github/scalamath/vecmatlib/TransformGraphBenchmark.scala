@@ -0,0 +1,60 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks comparing the incremental update of a [[TransformGraph]] to recomputing every world matrix.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class TransformGraphBenchmark {
+
+  private val size = 10000
+  private val graph = new TransformGraph(size)
+  private val parents = new Array[Int](size)
+  private val locals = new Array[Mat3x4f](size)
+  private val worlds = new Array[Mat3x4f](size)
+  private var frame = 0
+
+  @Setup
+  def setup(): Unit = {
+    for(i <- 0 until size) {
+      // Trees with a branching factor of 4
+      this.parents(i) = if(i % 1000 == 0) TransformGraph.NoParent else (i / 1000) * 1000 + (i % 1000 - 1) / 4
+      val t = Vec3f(i * 0.01f, 1.0f, -i * 0.02f)
+      val r = Quatf(Vec3f(1.0f, 2.0f, 3.0f).normalized, i * 0.001)
+      this.graph.addNode(this.parents(i), t, r, Vec3f.One)
+      this.locals(i) = this.graph.localMatrix(i)
+    }
+    this.graph.update()
+  }
+
+  @Benchmark
+  def incrementalUpdate(): Int = {
+    // Move 5% of the nodes each frame
+    this.frame += 1
+    var i = this.frame % 20
+    while(i < size) {
+      this.graph.setTranslation(i, i * 0.01f, this.frame * 0.001f, 0.0f)
+      i += 20
+    }
+    this.graph.update()
+  }
+
+  @Benchmark
+  def fullRecompute(): Array[Mat3x4f] = {
+    var i = 0
+    while(i < size) {
+      val parent = this.parents(i)
+      this.worlds(i) = if(parent == TransformGraph.NoParent) this.locals(i) else this.worlds(parent) * (this.locals(i), 0.0f, 0.0f, 0.0f, 1.0f)
+      i += 1
+    }
+    this.worlds
+  }
+}
@@ -0,0 +1,42 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Vec2d]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Vec2dBenchmark {
+
+  private var a: Vec2d = Vec2d(1.5, -2.0)
+  private var b: Vec2d = Vec2d(-0.75, 4.0)
+  private var weight: Double = 0.25
+
+  @Benchmark
+  def plus(): Vec2d = this.a + this.b
+
+  @Benchmark
+  def multiplyScalar(): Vec2d = this.a * 1.5
+
+  @Benchmark
+  def dot(): Double = this.a.dot(this.b)
+
+  @Benchmark
+  def length(): Double = this.a.length
+
+  @Benchmark
+  def normalized(): Vec2d = this.a.normalized
+
+  @Benchmark
+  def lerp(): Vec2d = this.a.lerp(this.b, this.weight)
+
+  @Benchmark
+  def distanceSquaredTo(): Double = this.a.distanceSquaredTo(this.b)
+}
@@ -0,0 +1,42 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Vec2f]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Vec2fBenchmark {
+
+  private var a: Vec2f = Vec2f(1.5f, -2.0f)
+  private var b: Vec2f = Vec2f(-0.75f, 4.0f)
+  private var weight: Float = 0.25f
+
+  @Benchmark
+  def plus(): Vec2f = this.a + this.b
+
+  @Benchmark
+  def multiplyScalar(): Vec2f = this.a * 1.5f
+
+  @Benchmark
+  def dot(): Float = this.a.dot(this.b)
+
+  @Benchmark
+  def length(): Float = this.a.length
+
+  @Benchmark
+  def normalized(): Vec2f = this.a.normalized
+
+  @Benchmark
+  def lerp(): Vec2f = this.a.lerp(this.b, this.weight)
+
+  @Benchmark
+  def distanceSquaredTo(): Float = this.a.distanceSquaredTo(this.b)
+}
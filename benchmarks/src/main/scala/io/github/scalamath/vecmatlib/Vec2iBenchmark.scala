@@ -0,0 +1,35 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Vec2i]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Vec2iBenchmark {
+
+  private var a: Vec2i = Vec2i(3, -2)
+  private var b: Vec2i = Vec2i(-4, 7)
+
+  @Benchmark
+  def plus(): Vec2i = this.a + this.b
+
+  @Benchmark
+  def multiplyScalar(): Vec2i = this.a * 3
+
+  @Benchmark
+  def dot(): Int = this.a.dot(this.b)
+
+  @Benchmark
+  def lengthSquared(): Int = this.a.lengthSquared
+
+  @Benchmark
+  def distanceSquaredTo(): Int = this.a.distanceSquaredTo(this.b)
+}
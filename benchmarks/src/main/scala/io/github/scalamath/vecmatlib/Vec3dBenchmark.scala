@@ -0,0 +1,45 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Vec3d]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Vec3dBenchmark {
+
+  private var a: Vec3d = Vec3d(1.5, -2.0, 3.25)
+  private var b: Vec3d = Vec3d(-0.75, 4.0, 1.25)
+  private var weight: Double = 0.25
+
+  @Benchmark
+  def plus(): Vec3d = this.a + this.b
+
+  @Benchmark
+  def multiplyScalar(): Vec3d = this.a * 1.5
+
+  @Benchmark
+  def dot(): Double = this.a.dot(this.b)
+
+  @Benchmark
+  def cross(): Vec3d = this.a.cross(this.b)
+
+  @Benchmark
+  def length(): Double = this.a.length
+
+  @Benchmark
+  def normalized(): Vec3d = this.a.normalized
+
+  @Benchmark
+  def lerp(): Vec3d = this.a.lerp(this.b, this.weight)
+
+  @Benchmark
+  def distanceSquaredTo(): Double = this.a.distanceSquaredTo(this.b)
+}
@@ -0,0 +1,45 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Vec3f]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Vec3fBenchmark {
+
+  private var a: Vec3f = Vec3f(1.5f, -2.0f, 3.25f)
+  private var b: Vec3f = Vec3f(-0.75f, 4.0f, 1.25f)
+  private var weight: Float = 0.25f
+
+  @Benchmark
+  def plus(): Vec3f = this.a + this.b
+
+  @Benchmark
+  def multiplyScalar(): Vec3f = this.a * 1.5f
+
+  @Benchmark
+  def dot(): Float = this.a.dot(this.b)
+
+  @Benchmark
+  def cross(): Vec3f = this.a.cross(this.b)
+
+  @Benchmark
+  def length(): Float = this.a.length
+
+  @Benchmark
+  def normalized(): Vec3f = this.a.normalized
+
+  @Benchmark
+  def lerp(): Vec3f = this.a.lerp(this.b, this.weight)
+
+  @Benchmark
+  def distanceSquaredTo(): Float = this.a.distanceSquaredTo(this.b)
+}
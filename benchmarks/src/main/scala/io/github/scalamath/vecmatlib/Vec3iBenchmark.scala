@@ -0,0 +1,38 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Vec3i]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Vec3iBenchmark {
+
+  private var a: Vec3i = Vec3i(3, -2, 5)
+  private var b: Vec3i = Vec3i(-4, 7, 2)
+
+  @Benchmark
+  def plus(): Vec3i = this.a + this.b
+
+  @Benchmark
+  def multiplyScalar(): Vec3i = this.a * 3
+
+  @Benchmark
+  def dot(): Int = this.a.dot(this.b)
+
+  @Benchmark
+  def cross(): Vec3i = this.a.cross(this.b)
+
+  @Benchmark
+  def lengthSquared(): Int = this.a.lengthSquared
+
+  @Benchmark
+  def distanceSquaredTo(): Int = this.a.distanceSquaredTo(this.b)
+}
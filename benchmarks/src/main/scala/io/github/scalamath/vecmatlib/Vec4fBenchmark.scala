@@ -0,0 +1,53 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.nio.{ByteBuffer, ByteOrder, FloatBuffer}
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks for the hot operations of [[Vec4f]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class Vec4fBenchmark {
+
+  private var a: Vec4f = Vec4f(1.5f, -2.0f, 3.25f, 0.5f)
+  private var b: Vec4f = Vec4f(-0.75f, 4.0f, 1.25f, 2.0f)
+  private var weight: Float = 0.25f
+
+  private var vectors: Array[Vec4f] = Array.fill(1024)(this.a)
+  private var buffer: FloatBuffer = ByteBuffer.allocateDirect(1024 * 4 * 4).order(ByteOrder.nativeOrder()).asFloatBuffer()
+
+  @Benchmark
+  def plus(): Vec4f = this.a + this.b
+
+  @Benchmark
+  def multiplyScalar(): Vec4f = this.a * 1.5f
+
+  @Benchmark
+  def dot(): Float = this.a.dot(this.b)
+
+  @Benchmark
+  def length(): Float = this.a.length
+
+  @Benchmark
+  def normalized(): Vec4f = this.a.normalized
+
+  @Benchmark
+  def lerp(): Vec4f = this.a.lerp(this.b, this.weight)
+
+  @Benchmark
+  def distanceSquaredTo(): Float = this.a.distanceSquaredTo(this.b)
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def writeAll(): FloatBuffer = {
+    Vec4f.writeAll(this.vectors, this.buffer, 0)
+    this.buffer
+  }
+}
@@ -0,0 +1,75 @@
+package io.github.scalamath.vecmatlib
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks comparing the scalar and the Vector API implementations of [[VectorKernels]].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Array("--add-modules=jdk.incubator.vector"))
+class VectorKernelsBenchmark {
+
+  @Param(Array("scalar", "simd"))
+  var implementation: String = _
+
+  private var kernels: VectorKernels = _
+  private val a = new Vec3fBuffer(1024)
+  private val b = new Vec3fBuffer(1024)
+  private val dst = new Vec3fBuffer(1024)
+  private val dots = new Array[Float](1024)
+  private var m: Mat4f = Mat4f.translation(1.0f, -2.0f, 3.0f) * Mat4f.rotation(0.5f, -0.25f, 1.0f)
+  private var q: Quatf = Quatf(Vec3f(1.0f, 2.0f, 3.0f).normalized, 0.7)
+
+  @Setup
+  def setup(): Unit = {
+    this.kernels = this.implementation match {
+      case "simd" => VectorKernels.Simd.getOrElse(throw new IllegalStateException("The jdk.incubator.vector module is not available"))
+      case _ => VectorKernels.Scalar
+    }
+    for(i <- 0 until 1024) {
+      this.a.set(i, i * 0.5f + 1.0f, -i * 0.25f, i * 0.125f - 3.0f)
+      this.b.set(i, -i * 0.75f, i * 0.5f + 2.0f, 1.0f - i * 0.25f)
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def dot(): Array[Float] = {
+    this.kernels.dot(this.a.x, this.a.y, this.a.z, this.b.x, this.b.y, this.b.z, this.dots, 0, 1024)
+    this.dots
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def cross(): Vec3fBuffer = {
+    this.kernels.cross(this.a.x, this.a.y, this.a.z, this.b.x, this.b.y, this.b.z, this.dst.x, this.dst.y, this.dst.z, 0, 1024)
+    this.dst
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def normalize(): Vec3fBuffer = {
+    this.kernels.normalize(this.a.x, this.a.y, this.a.z, this.dst.x, this.dst.y, this.dst.z, 0, 1024)
+    this.dst
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def transformPoints(): Vec3fBuffer = {
+    this.kernels.transformPoints(this.m, this.a.x, this.a.y, this.a.z, this.dst.x, this.dst.y, this.dst.z, 0, 1024)
+    this.dst
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  def rotate(): Vec3fBuffer = {
+    this.kernels.rotate(this.q, this.a.x, this.a.y, this.a.z, this.dst.x, this.dst.y, this.dst.z, 0, 1024)
+    this.dst
+  }
+}
@@ -0,0 +1,98 @@
+package io.github.scalamath.vecmatlib;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of {@link VectorKernels} based on the JDK Vector API.
+ * <p>
+ *     This class can only be loaded if the {@code jdk.incubator.vector} module is available.
+ *     It is instantiated reflectively by {@link VectorKernels#Simd()}.
+ * </p>
+ */
+final class SimdVectorKernels implements VectorKernels {
+
+    /** The preferred vector species for the platform. */
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public void dot(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz, float[] dst, int offset, int count) {
+        int i = offset;
+        for(int bound = offset + SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+            var x = FloatVector.fromArray(SPECIES, ax, i).mul(FloatVector.fromArray(SPECIES, bx, i));
+            var y = FloatVector.fromArray(SPECIES, ay, i).mul(FloatVector.fromArray(SPECIES, by, i));
+            var z = FloatVector.fromArray(SPECIES, az, i).mul(FloatVector.fromArray(SPECIES, bz, i));
+            x.add(y).add(z).intoArray(dst, i);
+        }
+        VectorKernels.Scalar().dot(ax, ay, az, bx, by, bz, dst, i, offset + count - i);
+    }
+
+    @Override
+    public void cross(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz, float[] dx, float[] dy, float[] dz, int offset, int count) {
+        int i = offset;
+        for(int bound = offset + SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+            var x1 = FloatVector.fromArray(SPECIES, ax, i);
+            var y1 = FloatVector.fromArray(SPECIES, ay, i);
+            var z1 = FloatVector.fromArray(SPECIES, az, i);
+            var x2 = FloatVector.fromArray(SPECIES, bx, i);
+            var y2 = FloatVector.fromArray(SPECIES, by, i);
+            var z2 = FloatVector.fromArray(SPECIES, bz, i);
+            y1.mul(z2).sub(z1.mul(y2)).intoArray(dx, i);
+            x2.mul(z1).sub(z2.mul(x1)).intoArray(dy, i);
+            x1.mul(y2).sub(y1.mul(x2)).intoArray(dz, i);
+        }
+        VectorKernels.Scalar().cross(ax, ay, az, bx, by, bz, dx, dy, dz, i, offset + count - i);
+    }
+
+    @Override
+    public void normalize(float[] x, float[] y, float[] z, float[] dx, float[] dy, float[] dz, int offset, int count) {
+        int i = offset;
+        for(int bound = offset + SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+            var vx = FloatVector.fromArray(SPECIES, x, i);
+            var vy = FloatVector.fromArray(SPECIES, y, i);
+            var vz = FloatVector.fromArray(SPECIES, z, i);
+            var length = vx.mul(vx).add(vy.mul(vy)).add(vz.mul(vz)).sqrt();
+            vx.div(length).intoArray(dx, i);
+            vy.div(length).intoArray(dy, i);
+            vz.div(length).intoArray(dz, i);
+        }
+        VectorKernels.Scalar().normalize(x, y, z, dx, dy, dz, i, offset + count - i);
+    }
+
+    @Override
+    public void transformPoints(Mat4f m, float[] x, float[] y, float[] z, float[] dx, float[] dy, float[] dz, int offset, int count) {
+        float m00 = m.m00(), m01 = m.m01(), m02 = m.m02(), m03 = m.m03();
+        float m10 = m.m10(), m11 = m.m11(), m12 = m.m12(), m13 = m.m13();
+        float m20 = m.m20(), m21 = m.m21(), m22 = m.m22(), m23 = m.m23();
+        int i = offset;
+        for(int bound = offset + SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+            var px = FloatVector.fromArray(SPECIES, x, i);
+            var py = FloatVector.fromArray(SPECIES, y, i);
+            var pz = FloatVector.fromArray(SPECIES, z, i);
+            px.mul(m00).add(py.mul(m01)).add(pz.mul(m02)).add(m03).intoArray(dx, i);
+            px.mul(m10).add(py.mul(m11)).add(pz.mul(m12)).add(m13).intoArray(dy, i);
+            px.mul(m20).add(py.mul(m21)).add(pz.mul(m22)).add(m23).intoArray(dz, i);
+        }
+        VectorKernels.Scalar().transformPoints(m, x, y, z, dx, dy, dz, i, offset + count - i);
+    }
+
+    @Override
+    public void rotate(Quatf q, float[] x, float[] y, float[] z, float[] dx, float[] dy, float[] dz, int offset, int count) {
+        float qw = q.w(), qx = q.x(), qy = q.y(), qz = q.z();
+        int i = offset;
+        for(int bound = offset + SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+            var px = FloatVector.fromArray(SPECIES, x, i);
+            var py = FloatVector.fromArray(SPECIES, y, i);
+            var pz = FloatVector.fromArray(SPECIES, z, i);
+            // t = 2 * cross(q.xyz, p)
+            var tx = pz.mul(qy).sub(py.mul(qz)).mul(2.0f);
+            var ty = px.mul(qz).sub(pz.mul(qx)).mul(2.0f);
+            var tz = py.mul(qx).sub(px.mul(qy)).mul(2.0f);
+            // p' = p + w * t + cross(q.xyz, t)
+            px.add(tx.mul(qw)).add(tz.mul(qy).sub(ty.mul(qz))).intoArray(dx, i);
+            py.add(ty.mul(qw)).add(tx.mul(qz).sub(tz.mul(qx))).intoArray(dy, i);
+            pz.add(tz.mul(qw)).add(ty.mul(qx).sub(tx.mul(qy))).intoArray(dz, i);
+        }
+        VectorKernels.Scalar().rotate(q, x, y, z, dx, dy, dz, i, offset + count - i);
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalactic.Tolerance.convertNumericToPlusOrMinusWrapper
+import org.scalatest.funsuite.AnyFunSuite
+
+import scala.util.Random
+
+class VectorKernelsSuite extends AnyFunSuite {
+
+  implicit val equalityVec3f: Equality[Vec3f] = (a: Vec3f, b: Any) => b match {
+    case b: Vec3f => a ~= b
+    case _ => false
+  }
+
+  // Not a multiple of the vector length so that the scalar tail is also tested
+  private val size = 37
+  private val offset = 2
+  private val count = 33
+
+  private val random = new Random(42)
+  private val as = Array.fill(size)(Vec3f(random.nextFloat() * 4.0f - 2.0f, random.nextFloat() * 4.0f - 2.0f, random.nextFloat() * 4.0f - 2.0f))
+  private val bs = Array.fill(size)(Vec3f(random.nextFloat() * 4.0f - 2.0f, random.nextFloat() * 4.0f - 2.0f, random.nextFloat() * 4.0f - 2.0f))
+
+  private val kernels = Seq("Scalar" -> VectorKernels.Scalar) ++ VectorKernels.Simd.map("Simd" -> _)
+
+  private def assertBuffer(buffer: Vec3fBuffer, expected: Int => Vec3f): Unit = {
+    for(i <- 0 until size) {
+      if(i >= offset && i < offset + count) {
+        assert(buffer(i) === expected(i))
+      } else {
+        assert(buffer(i) == Vec3f.Zero)
+      }
+    }
+  }
+
+  test("Vector API kernels are available when the module is added") {
+    assert(VectorKernels.Simd.isDefined)
+    assert(VectorKernels.Default eq VectorKernels.Simd.get)
+  }
+
+  for((name, kernel) <- kernels) {
+    test(s"$name dot product") {
+      val a = Vec3fBuffer.fromArray(as)
+      val b = Vec3fBuffer.fromArray(bs)
+      val res = new Array[Float](size)
+      kernel.dot(a.x, a.y, a.z, b.x, b.y, b.z, res, offset, count)
+      for(i <- 0 until size) {
+        if(i >= offset && i < offset + count) {
+          assert(res(i) === as(i).dot(bs(i)) +- 0.0001f)
+        } else {
+          assert(res(i) == 0.0f)
+        }
+      }
+    }
+
+    test(s"$name cross product") {
+      val a = Vec3fBuffer.fromArray(as)
+      val b = Vec3fBuffer.fromArray(bs)
+      val res = new Vec3fBuffer(size)
+      kernel.cross(a.x, a.y, a.z, b.x, b.y, b.z, res.x, res.y, res.z, offset, count)
+      assertBuffer(res, i => as(i).cross(bs(i)))
+    }
+
+    test(s"$name normalize") {
+      val a = Vec3fBuffer.fromArray(as)
+      val res = new Vec3fBuffer(size)
+      kernel.normalize(a.x, a.y, a.z, res.x, res.y, res.z, offset, count)
+      assertBuffer(res, i => as(i).normalized)
+    }
+
+    test(s"$name transform points") {
+      val m = Mat4f.translation(1.0f, -2.0f, 3.0f) * Mat4f.rotation(0.5f, -0.25f, 1.0f) * Mat4f.scaling(2.0f, 1.5f, 0.5f)
+      val a = Vec3fBuffer.fromArray(as)
+      val res = new Vec3fBuffer(size)
+      kernel.transformPoints(m, a.x, a.y, a.z, res.x, res.y, res.z, offset, count)
+      assertBuffer(res, i => (m * (as(i), 1.0f)).xyz)
+    }
+
+    test(s"$name rotate points") {
+      val q = Quatf(1.0f, 0.5f, -1.5f, 2.0f).normalized
+      val a = Vec3fBuffer.fromArray(as)
+      val res = new Vec3fBuffer(size)
+      kernel.rotate(q, a.x, a.y, a.z, res.x, res.y, res.z, offset, count)
+      assertBuffer(res, i => q.rotate(as(i)))
+    }
+
+    test(s"$name transform points in place") {
+      val m = Mat4f.translation(1.0f, -2.0f, 3.0f) * Mat4f.scaling(2.0f, 1.5f, 0.5f)
+      val a = Vec3fBuffer.fromArray(as)
+      kernel.transformPoints(m, a.x, a.y, a.z, a.x, a.y, a.z, 0, size)
+      for(i <- 0 until size) {
+        assert(a(i) === (m * (as(i), 1.0f)).xyz)
+      }
+    }
+  }
+}
@@ -8,7 +8,7 @@ package io.github.scalamath.vecmatlib;
  */
 public enum EulerOrder {
     /** Specifies that the euler angles should be in the {@code XYZ} order. */
-    XYZ {
+    XYZ(0, 1, 2) {
         @Override
         public Vec3d toEulerAngles(Mat3d m) {
             return new Vec3d(Math.atan2(-m.m12(), m.m22()), Math.asin(m.m02()), Math.atan2(-m.m01(), m.m00()));
@@ -22,7 +22,7 @@ public enum EulerOrder {
         }
     },
     /** Specifies that the euler angles should be in the {@code XZY} order. */
-    XZY {
+    XZY(0, 2, 1) {
         @Override
         public Vec3d toEulerAngles(Mat3d m) {
             return new Vec3d(Math.atan2(m.m21(), m.m11()), Math.atan2(m.m02(), m.m00()), Math.asin(-m.m01()));
@@ -36,7 +36,7 @@ public enum EulerOrder {
         }
     },
     /** Specifies that the euler angles should be in the {@code YXZ} order. */
-    YXZ {
+    YXZ(1, 0, 2) {
         @Override
         public Vec3d toEulerAngles(Mat3d m) {
             return new Vec3d(Math.asin(-m.m12()), Math.atan2(m.m02(), m.m22()), Math.atan2(m.m10(), m.m11()));
@@ -50,7 +50,7 @@ public enum EulerOrder {
         }
     },
     /** Specifies that the euler angles should be in the {@code YZX} order. */
-    YZX {
+    YZX(1, 2, 0) {
         @Override
         public Vec3d toEulerAngles(Mat3d m) {
             return new Vec3d(Math.atan2(-m.m12(), m.m11()), Math.atan2(-m.m20(), m.m00()), Math.asin(m.m10()));
@@ -64,7 +64,7 @@ public enum EulerOrder {
         }
     },
     /** Specifies that the euler angles should be in the {@code XZY} order. */
-    ZXY {
+    ZXY(2, 0, 1) {
         @Override
         public Vec3d toEulerAngles(Mat3d m) {
             return new Vec3d(Math.asin(m.m21()), Math.atan2(-m.m20(), m.m22()), Math.atan2(-m.m01(), m.m11()));
@@ -78,7 +78,7 @@ public enum EulerOrder {
         }
     },
     /** Specifies that the euler angles should be in the {@code ZYX} order. */
-    ZYX {
+    ZYX(2, 1, 0) {
         @Override
         public Vec3d toEulerAngles(Mat3d m) {
             return new Vec3d(Math.atan2(m.m21(), m.m22()), Math.asin(-m.m20()), Math.atan2(m.m10(), m.m00()));
@@ -92,6 +92,22 @@ public enum EulerOrder {
         }
     };
 
+    /** Index of the axis of the first rotation, where {@code 0} is the x axis, {@code 1} is the y axis, and {@code 2} is the z axis. */
+    private final int first;
+    /** Index of the axis of the second rotation. */
+    private final int second;
+    /** Index of the axis of the third rotation. */
+    private final int third;
+    /** {@code 1.0f} if the axes are in cyclic order ({@code XYZ}, {@code YZX}, or {@code ZXY}), otherwise {@code -1.0f}. */
+    private final float parity;
+
+    EulerOrder(int first, int second, int third) {
+        this.first = first;
+        this.second = second;
+        this.third = third;
+        this.parity = (second - first + 3) % 3 == 1 ? 1.0f : -1.0f;
+    }
+
     /**
      * Converts the given rotation matrix to euler angles.
      * The given matrix must be a pure rotation matrix.
@@ -133,4 +149,357 @@ public enum EulerOrder {
     public Quatd toQuaternion(Vec3d v) {
         return this.toQuaternion(v.x(), v.y(), v.z());
     }
+
+    /**
+     * Converts the given euler angles to a single-precision quaternion.
+     * <p>
+     *     The quaternion is computed in single precision as the closed-form product of the three half-angle rotations, without converting to a double-precision quaternion.
+     * </p>
+     *
+     * @param x Angle on the x axis.
+     * @param y Angle on the y axis.
+     * @param z Angle on the z axis.
+     * @return A quaternion constructed from the given euler angles.
+     * @see Quatf#fromEuler(Vec3f, EulerOrder)
+     */
+    public Quatf toQuaternion(float x, float y, float z) {
+        float a = this.pick(this.first, x, y, z) * 0.5f;
+        float b = this.pick(this.second, x, y, z) * 0.5f;
+        float c = this.pick(this.third, x, y, z) * 0.5f;
+        float ca = (float) Math.cos(a), sa = (float) Math.sin(a);
+        float cb = (float) Math.cos(b), sb = (float) Math.sin(b);
+        float cc = (float) Math.cos(c), sc = (float) Math.sin(c);
+        float va = sa * cb * cc + this.parity * ca * sb * sc;
+        float vb = ca * sb * cc - this.parity * sa * cb * sc;
+        float vc = ca * cb * sc + this.parity * sa * sb * cc;
+        return new Quatf(
+            ca * cb * cc - this.parity * sa * sb * sc,
+            this.select(0, va, vb, vc),
+            this.select(1, va, vb, vc),
+            this.select(2, va, vb, vc)
+        );
+    }
+
+    /**
+     * Converts the given rotation in euler angles to a single-precision quaternion.
+     *
+     * @param v A {@link Vec3f} representing the rotation in form of euler angles.
+     * @return A quaternion constructed from the given euler angles.
+     * @see Quatf#fromEuler(Vec3f, EulerOrder)
+     */
+    public Quatf toQuaternion(Vec3f v) {
+        return this.toQuaternion(v.x(), v.y(), v.z());
+    }
+
+    /**
+     * Converts the given single-precision quaternion to euler angles.
+     * <p>
+     *     The angles are computed in single precision directly from the components of the quaternion, without building a rotation matrix.
+     * </p>
+     *
+     * @param q The quaternion.
+     * @return A {@link Vec3f} representing the quaternion's rotation in form of euler angles.
+     * @see Quatf#euler(EulerOrder)
+     */
+    public Vec3f toEulerAngles(Quatf q) {
+        float s = 2.0f / (q.w() * q.w() + q.x() * q.x() + q.y() * q.y() + q.z() * q.z());
+        float a = this.pick(this.first, q.x(), q.y(), q.z());
+        float b = this.pick(this.second, q.x(), q.y(), q.z());
+        float c = this.pick(this.third, q.x(), q.y(), q.z());
+        float angleA = (float) Math.atan2(s * (q.w() * a - this.parity * b * c), 1.0f - s * (a * a + b * b));
+        float angleB = (float) Math.asin(Math.max(-1.0f, Math.min(1.0f, s * (q.w() * b + this.parity * a * c))));
+        float angleC = (float) Math.atan2(s * (q.w() * c - this.parity * a * b), 1.0f - s * (b * b + c * c));
+        return new Vec3f(this.select(0, angleA, angleB, angleC), this.select(1, angleA, angleB, angleC), this.select(2, angleA, angleB, angleC));
+    }
+
+    /**
+     * Converts the euler angles in the given array to quaternions and stores the result in the destination array.
+     * Equivalent to {@link #toQuaternion(float, float, float)} for every rotation, but does not allocate any objects.
+     * <p>
+     *     The source array must contain tightly packed euler angles in {@code x, y, z} order.
+     *     The destination array will contain tightly packed quaternions in {@code w, x, y, z} order.
+     * </p>
+     *
+     * @param angles The array containing the euler angles.
+     * @param dst The array in which the quaternions are stored.
+     * @param offset The index of the first rotation to convert.
+     * @param count The number of rotations to convert.
+     * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+     */
+    public void toQuaternions(float[] angles, float[] dst, int offset, int count) {
+        for(int i = offset; i < offset + count; i++) {
+            int e = i * 3;
+            int q = i * 4;
+            float a = angles[e + this.first] * 0.5f;
+            float b = angles[e + this.second] * 0.5f;
+            float c = angles[e + this.third] * 0.5f;
+            float ca = (float) Math.cos(a), sa = (float) Math.sin(a);
+            float cb = (float) Math.cos(b), sb = (float) Math.sin(b);
+            float cc = (float) Math.cos(c), sc = (float) Math.sin(c);
+            dst[q] = ca * cb * cc - this.parity * sa * sb * sc;
+            dst[q + 1 + this.first] = sa * cb * cc + this.parity * ca * sb * sc;
+            dst[q + 1 + this.second] = ca * sb * cc - this.parity * sa * cb * sc;
+            dst[q + 1 + this.third] = ca * cb * sc + this.parity * sa * sb * cc;
+        }
+    }
+
+    /**
+     * Converts the euler angles in the given array to quaternions and stores the result in the destination array.
+     * Equivalent to {@link #toQuaternion(double, double, double)} for every rotation, but does not allocate any objects.
+     * <p>
+     *     The source array must contain tightly packed euler angles in {@code x, y, z} order.
+     *     The destination array will contain tightly packed quaternions in {@code w, x, y, z} order.
+     * </p>
+     *
+     * @param angles The array containing the euler angles.
+     * @param dst The array in which the quaternions are stored.
+     * @param offset The index of the first rotation to convert.
+     * @param count The number of rotations to convert.
+     * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+     */
+    public void toQuaternions(double[] angles, double[] dst, int offset, int count) {
+        for(int i = offset; i < offset + count; i++) {
+            int e = i * 3;
+            int q = i * 4;
+            double a = angles[e + this.first] * 0.5;
+            double b = angles[e + this.second] * 0.5;
+            double c = angles[e + this.third] * 0.5;
+            double ca = Math.cos(a), sa = Math.sin(a);
+            double cb = Math.cos(b), sb = Math.sin(b);
+            double cc = Math.cos(c), sc = Math.sin(c);
+            dst[q] = ca * cb * cc - this.parity * sa * sb * sc;
+            dst[q + 1 + this.first] = sa * cb * cc + this.parity * ca * sb * sc;
+            dst[q + 1 + this.second] = ca * sb * cc - this.parity * sa * cb * sc;
+            dst[q + 1 + this.third] = ca * cb * sc + this.parity * sa * sb * cc;
+        }
+    }
+
+    /**
+     * Converts the quaternions in the given array to euler angles and stores the result in the destination array.
+     * Equivalent to {@link #toEulerAngles(Quatf)} for every rotation, but does not allocate any objects.
+     * <p>
+     *     The source array must contain tightly packed quaternions in {@code w, x, y, z} order.
+     *     The destination array will contain tightly packed euler angles in {@code x, y, z} order.
+     * </p>
+     *
+     * @param quaternions The array containing the quaternions.
+     * @param dst The array in which the euler angles are stored.
+     * @param offset The index of the first rotation to convert.
+     * @param count The number of rotations to convert.
+     * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+     */
+    public void toEulerAngles(float[] quaternions, float[] dst, int offset, int count) {
+        for(int i = offset; i < offset + count; i++) {
+            int q = i * 4;
+            int e = i * 3;
+            float w = quaternions[q];
+            float x = quaternions[q + 1];
+            float y = quaternions[q + 2];
+            float z = quaternions[q + 3];
+            // The norm is summed in the same order as the single quaternion conversion so that both round the same way
+            float s = 2.0f / (w * w + x * x + y * y + z * z);
+            float a = this.pick(this.first, x, y, z);
+            float b = this.pick(this.second, x, y, z);
+            float c = this.pick(this.third, x, y, z);
+            dst[e + this.first] = (float) Math.atan2(s * (w * a - this.parity * b * c), 1.0f - s * (a * a + b * b));
+            dst[e + this.second] = (float) Math.asin(Math.max(-1.0f, Math.min(1.0f, s * (w * b + this.parity * a * c))));
+            dst[e + this.third] = (float) Math.atan2(s * (w * c - this.parity * a * b), 1.0f - s * (b * b + c * c));
+        }
+    }
+
+    /**
+     * Converts the quaternions in the given array to euler angles and stores the result in the destination array.
+     * Equivalent to {@link #toEulerAngles(Quatd)} for every rotation, but does not allocate any objects.
+     * <p>
+     *     The source array must contain tightly packed quaternions in {@code w, x, y, z} order.
+     *     The destination array will contain tightly packed euler angles in {@code x, y, z} order.
+     * </p>
+     *
+     * @param quaternions The array containing the quaternions.
+     * @param dst The array in which the euler angles are stored.
+     * @param offset The index of the first rotation to convert.
+     * @param count The number of rotations to convert.
+     * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+     */
+    public void toEulerAngles(double[] quaternions, double[] dst, int offset, int count) {
+        for(int i = offset; i < offset + count; i++) {
+            int q = i * 4;
+            int e = i * 3;
+            double w = quaternions[q];
+            double x = quaternions[q + 1];
+            double y = quaternions[q + 2];
+            double z = quaternions[q + 3];
+            // The norm is summed in the same order as the single quaternion conversion so that both round the same way
+            double s = 2.0 / (w * w + x * x + y * y + z * z);
+            double a = this.pick(this.first, x, y, z);
+            double b = this.pick(this.second, x, y, z);
+            double c = this.pick(this.third, x, y, z);
+            dst[e + this.first] = Math.atan2(s * (w * a - this.parity * b * c), 1.0 - s * (a * a + b * b));
+            dst[e + this.second] = Math.asin(Math.max(-1.0, Math.min(1.0, s * (w * b + this.parity * a * c))));
+            dst[e + this.third] = Math.atan2(s * (w * c - this.parity * a * b), 1.0 - s * (b * b + c * c));
+        }
+    }
+
+    /**
+     * Writes the rotation matrices constructed from the euler angles in the given array into the destination array.
+     * <p>
+     *     The source array must contain tightly packed euler angles in {@code x, y, z} order.
+     *     The destination array will contain tightly packed matrices of the given size in row-major order, whose upper-left 3x3 submatrix is the rotation and whose remaining elements are those of the identity matrix.
+     * </p>
+     *
+     * @param angles The array containing the euler angles.
+     * @param dst The array in which the matrices are stored.
+     * @param offset The index of the first rotation to convert.
+     * @param count The number of rotations to convert.
+     * @param rows The number of rows of the matrices. Must be either {@code 3} or {@code 4}.
+     * @param columns The number of columns of the matrices. Must be either {@code 3} or {@code 4}.
+     * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+     */
+    void toRotationMatrices(float[] angles, float[] dst, int offset, int count, int rows, int columns) {
+        int size = rows * columns;
+        for(int i = offset; i < offset + count; i++) {
+            int e = i * 3;
+            int m = i * size;
+            this.toRotationMatrix(angles[e], angles[e + 1], angles[e + 2], dst, m, columns);
+            if(columns == 4) {
+                dst[m + 3] = 0.0f;
+                dst[m + 7] = 0.0f;
+                dst[m + 11] = 0.0f;
+            }
+            if(rows == 4) {
+                dst[m + 12] = 0.0f;
+                dst[m + 13] = 0.0f;
+                dst[m + 14] = 0.0f;
+                dst[m + 15] = 1.0f;
+            }
+        }
+    }
+
+    /**
+     * Writes the rotation matrix constructed from the given euler angles into the given array.
+     * <p>
+     *     The matrix is computed in closed form from one sine and one cosine per axis and is written in row-major order starting at the given index.
+     *     Only the elements of the upper-left 3x3 submatrix are written.
+     * </p>
+     *
+     * @param x Angle on the x axis.
+     * @param y Angle on the y axis.
+     * @param z Angle on the z axis.
+     * @param dst The array in which the matrix is stored.
+     * @param m The index of the first element of the matrix.
+     * @param columns The number of columns of the matrix, which is the distance between the start of two rows.
+     * @throws ArrayIndexOutOfBoundsException If the array is too short.
+     */
+    void toRotationMatrix(double x, double y, double z, float[] dst, int m, int columns) {
+        double a = this.pick(this.first, x, y, z);
+        double b = this.pick(this.second, x, y, z);
+        double c = this.pick(this.third, x, y, z);
+        float ca = (float) Math.cos(a), sa = (float) Math.sin(a);
+        float cb = (float) Math.cos(b), sb = (float) Math.sin(b);
+        float cc = (float) Math.cos(c), sc = (float) Math.sin(c);
+        int ri = m + this.first * columns;
+        int rj = m + this.second * columns;
+        int rk = m + this.third * columns;
+        dst[ri + this.first] = cb * cc;
+        dst[ri + this.second] = -this.parity * cb * sc;
+        dst[ri + this.third] = this.parity * sb;
+        dst[rj + this.first] = this.parity * ca * sc + sa * sb * cc;
+        dst[rj + this.second] = ca * cc - this.parity * sa * sb * sc;
+        dst[rj + this.third] = -this.parity * sa * cb;
+        dst[rk + this.first] = sa * sc - this.parity * ca * sb * cc;
+        dst[rk + this.second] = this.parity * sa * cc + ca * sb * sc;
+        dst[rk + this.third] = ca * cb;
+    }
+
+    /**
+     * Writes the rotation matrices constructed from the euler angles in the given array into the destination array.
+     * <p>
+     *     The source array must contain tightly packed euler angles in {@code x, y, z} order.
+     *     The destination array will contain tightly packed matrices of the given size in row-major order, whose upper-left 3x3 submatrix is the rotation and whose remaining elements are those of the identity matrix.
+     * </p>
+     *
+     * @param angles The array containing the euler angles.
+     * @param dst The array in which the matrices are stored.
+     * @param offset The index of the first rotation to convert.
+     * @param count The number of rotations to convert.
+     * @param rows The number of rows of the matrices. Must be either {@code 3} or {@code 4}.
+     * @param columns The number of columns of the matrices. Must be either {@code 3} or {@code 4}.
+     * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+     */
+    void toRotationMatrices(double[] angles, double[] dst, int offset, int count, int rows, int columns) {
+        int size = rows * columns;
+        for(int i = offset; i < offset + count; i++) {
+            int e = i * 3;
+            int m = i * size;
+            this.toRotationMatrix(angles[e], angles[e + 1], angles[e + 2], dst, m, columns);
+            if(columns == 4) {
+                dst[m + 3] = 0.0;
+                dst[m + 7] = 0.0;
+                dst[m + 11] = 0.0;
+            }
+            if(rows == 4) {
+                dst[m + 12] = 0.0;
+                dst[m + 13] = 0.0;
+                dst[m + 14] = 0.0;
+                dst[m + 15] = 1.0;
+            }
+        }
+    }
+
+    /**
+     * Writes the rotation matrix constructed from the given euler angles into the given array.
+     * <p>
+     *     The matrix is computed in closed form from one sine and one cosine per axis and is written in row-major order starting at the given index.
+     *     Only the elements of the upper-left 3x3 submatrix are written.
+     * </p>
+     *
+     * @param x Angle on the x axis.
+     * @param y Angle on the y axis.
+     * @param z Angle on the z axis.
+     * @param dst The array in which the matrix is stored.
+     * @param m The index of the first element of the matrix.
+     * @param columns The number of columns of the matrix, which is the distance between the start of two rows.
+     * @throws ArrayIndexOutOfBoundsException If the array is too short.
+     */
+    void toRotationMatrix(double x, double y, double z, double[] dst, int m, int columns) {
+        double a = this.pick(this.first, x, y, z);
+        double b = this.pick(this.second, x, y, z);
+        double c = this.pick(this.third, x, y, z);
+        double ca = Math.cos(a), sa = Math.sin(a);
+        double cb = Math.cos(b), sb = Math.sin(b);
+        double cc = Math.cos(c), sc = Math.sin(c);
+        int ri = m + this.first * columns;
+        int rj = m + this.second * columns;
+        int rk = m + this.third * columns;
+        dst[ri + this.first] = cb * cc;
+        dst[ri + this.second] = -this.parity * cb * sc;
+        dst[ri + this.third] = this.parity * sb;
+        dst[rj + this.first] = this.parity * ca * sc + sa * sb * cc;
+        dst[rj + this.second] = ca * cc - this.parity * sa * sb * sc;
+        dst[rj + this.third] = -this.parity * sa * cb;
+        dst[rk + this.first] = sa * sc - this.parity * ca * sb * cc;
+        dst[rk + this.second] = this.parity * sa * cc + ca * sb * sc;
+        dst[rk + this.third] = ca * cb;
+    }
+
+    /**
+     * Returns the one of the given values that corresponds to the given axis.
+     */
+    private float pick(int axis, float x, float y, float z) {
+        return axis == 0 ? x : axis == 1 ? y : z;
+    }
+
+    /**
+     * Returns the one of the given values that corresponds to the given axis.
+     */
+    private double pick(int axis, double x, double y, double z) {
+        return axis == 0 ? x : axis == 1 ? y : z;
+    }
+
+    /**
+     * Returns the one of the given values, ordered as the axes of this rotation order, that corresponds to the given axis.
+     */
+    private float select(int axis, float a, float b, float c) {
+        return axis == this.first ? a : axis == this.second ? b : c;
+    }
 }
@@ -0,0 +1,241 @@
+package io.github.scalamath.vecmatlib
+
+/**
+ * An axis-aligned bounding box in a 3D space defined by its minimum and maximum corners using double precision.
+ *
+ * A box whose minimum corner is greater than its maximum corner on any axis is empty.
+ * [[Aabb3d.Empty]] is the identity element of [[union]] and can be used as the initial value when computing the bounds of a set of points or boxes.
+ *
+ * @constructor Constructs a box from its minimum and maximum corners.
+ * @param min The minimum corner of the box.
+ * @param max The maximum corner of the box.
+ */
+case class Aabb3d(min: Vec3d, max: Vec3d) {
+
+  /**
+   * Constructs a box from the components of its minimum and maximum corners.
+   *
+   * @param minX The x component of the minimum corner.
+   * @param minY The y component of the minimum corner.
+   * @param minZ The z component of the minimum corner.
+   * @param maxX The x component of the maximum corner.
+   * @param maxY The y component of the maximum corner.
+   * @param maxZ The z component of the maximum corner.
+   */
+  def this(minX: Double, minY: Double, minZ: Double, maxX: Double, maxY: Double, maxZ: Double) = this(Vec3d(minX, minY, minZ), Vec3d(maxX, maxY, maxZ))
+
+  /**
+   * Checks if this box is empty, that is if its minimum corner is greater than its maximum corner on any axis.
+   *
+   * @return True if this box is empty, otherwise false.
+   */
+  def isEmpty: Boolean = this.min.x > this.max.x || this.min.y > this.max.y || this.min.z > this.max.z
+
+  /**
+   * Returns the center of this box.
+   *
+   * @return The center of this box.
+   */
+  def center: Vec3d = (this.min + this.max) / 2.0
+
+  /**
+   * Returns the size of this box on each axis.
+   *
+   * @return A vector whose components are the width, the height, and the depth of this box.
+   */
+  def size: Vec3d = this.max - this.min
+
+  /**
+   * Returns the surface area of this box or zero if this box is empty.
+   *
+   * @return The surface area of this box.
+   */
+  def surfaceArea: Double = {
+    if(this.isEmpty) {
+      0.0
+    } else {
+      val d = this.max - this.min
+      2.0 * (d.x * d.y + d.y * d.z + d.z * d.x)
+    }
+  }
+
+  /**
+   * Returns the volume of this box or zero if this box is empty.
+   *
+   * @return The volume of this box.
+   */
+  def volume: Double = {
+    if(this.isEmpty) {
+      0.0
+    } else {
+      val d = this.max - this.min
+      d.x * d.y * d.z
+    }
+  }
+
+  /**
+   * Checks if the given point is inside this box or on its surface.
+   *
+   * @param x The x coordinate of the point.
+   * @param y The y coordinate of the point.
+   * @param z The z coordinate of the point.
+   * @return True if the given point is inside this box, otherwise false.
+   */
+  def contains(x: Double, y: Double, z: Double): Boolean = {
+    x >= this.min.x && x <= this.max.x && y >= this.min.y && y <= this.max.y && z >= this.min.z && z <= this.max.z
+  }
+
+  /**
+   * Checks if the given point is inside this box or on its surface.
+   *
+   * @param p The point.
+   * @return True if the given point is inside this box, otherwise false.
+   */
+  def contains(p: Vec3d): Boolean = this.contains(p.x, p.y, p.z)
+
+  /**
+   * Checks if the given box is entirely inside this box.
+   *
+   * An empty box is contained in every box.
+   *
+   * @param b The second box.
+   * @return True if the given box is inside this box, otherwise false.
+   */
+  def contains(b: Aabb3d): Boolean = b.isEmpty || (this.contains(b.min) && this.contains(b.max))
+
+  /**
+   * Checks if this box and the given one overlap.
+   *
+   * Boxes that only touch on their surface are considered to overlap.
+   *
+   * @param b The second box.
+   * @return True if this box and the given one overlap, otherwise false.
+   */
+  def intersects(b: Aabb3d): Boolean = {
+    this.min.x <= b.max.x && this.max.x >= b.min.x && this.min.y <= b.max.y && this.max.y >= b.min.y && this.min.z <= b.max.z && this.max.z >= b.min.z
+  }
+
+  /**
+   * Returns the smallest box that contains both this box and the given one.
+   *
+   * @param b The second box.
+   * @return The smallest box that contains both this box and the given one.
+   */
+  def union(b: Aabb3d): Aabb3d = new Aabb3d(
+    math.min(this.min.x, b.min.x), math.min(this.min.y, b.min.y), math.min(this.min.z, b.min.z),
+    math.max(this.max.x, b.max.x), math.max(this.max.y, b.max.y), math.max(this.max.z, b.max.z)
+  )
+
+  /**
+   * Returns the smallest box that contains both this box and the given point.
+   *
+   * @param p The point.
+   * @return The smallest box that contains both this box and the given point.
+   */
+  def union(p: Vec3d): Aabb3d = new Aabb3d(
+    math.min(this.min.x, p.x), math.min(this.min.y, p.y), math.min(this.min.z, p.z),
+    math.max(this.max.x, p.x), math.max(this.max.y, p.y), math.max(this.max.z, p.z)
+  )
+
+  /**
+   * Returns the box containing the points that are inside both this box and the given one.
+   *
+   * The result is an empty box if the two boxes do not overlap.
+   *
+   * @param b The second box.
+   * @return The intersection between this box and the given one.
+   * @see [[isEmpty]]
+   */
+  def intersection(b: Aabb3d): Aabb3d = new Aabb3d(
+    math.max(this.min.x, b.min.x), math.max(this.min.y, b.min.y), math.max(this.min.z, b.min.z),
+    math.min(this.max.x, b.max.x), math.min(this.max.y, b.max.y), math.min(this.max.z, b.max.z)
+  )
+
+  /**
+   * Returns the smallest axis-aligned box that contains this box transformed by the given matrix.
+   *
+   * @param m The transformation matrix.
+   * @return The bounding box of this box transformed by the given matrix or an empty box if this box is empty.
+   */
+  def transform(m: Mat3x4d): Aabb3d = {
+    if(this.isEmpty) {
+      this
+    } else {
+      // Each element of the matrix contributes either its minimum or its maximum product to each bound
+      new Aabb3d(
+        m.m03 + math.min(m.m00 * this.min.x, m.m00 * this.max.x) + math.min(m.m01 * this.min.y, m.m01 * this.max.y) + math.min(m.m02 * this.min.z, m.m02 * this.max.z),
+        m.m13 + math.min(m.m10 * this.min.x, m.m10 * this.max.x) + math.min(m.m11 * this.min.y, m.m11 * this.max.y) + math.min(m.m12 * this.min.z, m.m12 * this.max.z),
+        m.m23 + math.min(m.m20 * this.min.x, m.m20 * this.max.x) + math.min(m.m21 * this.min.y, m.m21 * this.max.y) + math.min(m.m22 * this.min.z, m.m22 * this.max.z),
+        m.m03 + math.max(m.m00 * this.min.x, m.m00 * this.max.x) + math.max(m.m01 * this.min.y, m.m01 * this.max.y) + math.max(m.m02 * this.min.z, m.m02 * this.max.z),
+        m.m13 + math.max(m.m10 * this.min.x, m.m10 * this.max.x) + math.max(m.m11 * this.min.y, m.m11 * this.max.y) + math.max(m.m12 * this.min.z, m.m12 * this.max.z),
+        m.m23 + math.max(m.m20 * this.min.x, m.m20 * this.max.x) + math.max(m.m21 * this.min.y, m.m21 * this.max.y) + math.max(m.m22 * this.min.z, m.m22 * this.max.z)
+      )
+    }
+  }
+
+  /**
+   * Returns the squared distance between the given point and the closest point of this box.
+   *
+   * @param x The x coordinate of the point.
+   * @param y The y coordinate of the point.
+   * @param z The z coordinate of the point.
+   * @return The squared distance between the given point and this box or zero if the point is inside this box.
+   */
+  def distanceSquaredTo(x: Double, y: Double, z: Double): Double = {
+    val dx = math.max(math.max(this.min.x - x, x - this.max.x), 0.0)
+    val dy = math.max(math.max(this.min.y - y, y - this.max.y), 0.0)
+    val dz = math.max(math.max(this.min.z - z, z - this.max.z), 0.0)
+    dx * dx + dy * dy + dz * dz
+  }
+
+  /**
+   * Returns the squared distance between the given point and the closest point of this box.
+   *
+   * @param p The point.
+   * @return The squared distance between the given point and this box or zero if the point is inside this box.
+   */
+  def distanceSquaredTo(p: Vec3d): Double = this.distanceSquaredTo(p.x, p.y, p.z)
+
+  /**
+   * Returns the distance between the given point and the closest point of this box.
+   *
+   * @param p The point.
+   * @return The distance between the given point and this box or zero if the point is inside this box.
+   */
+  def distanceTo(p: Vec3d): Double = math.sqrt(this.distanceSquaredTo(p))
+
+  /**
+   * Checks if this box is approximately equal to the given one using an internal epsilon.
+   *
+   * @param b The second box.
+   * @return True if the corners of this box are approximately equal to the ones of the given box, otherwise false.
+   */
+  def ~=(b: Aabb3d): Boolean = (this.min ~= b.min) && (this.max ~= b.max)
+
+  /**
+   * Checks if this box is approximately equal to the given one using an internal epsilon.
+   *
+   * This method can be used in place of the `~=` operator for better interoperability with Java.
+   *
+   * @param b The second box.
+   * @return True if the corners of this box are approximately equal to the ones of the given box, otherwise false.
+   */
+  def equalsApprox(b: Aabb3d): Boolean = this ~= b
+}
+
+/**
+ * Contains constants and factory methods for bounding boxes.
+ */
+object Aabb3d {
+
+  /** An empty box whose union with any other box is the other box. */
+  val Empty: Aabb3d = new Aabb3d(Double.PositiveInfinity, Double.PositiveInfinity, Double.PositiveInfinity, Double.NegativeInfinity, Double.NegativeInfinity, Double.NegativeInfinity)
+
+  /**
+   * Returns the smallest box that contains all the given points.
+   *
+   * @param points The points.
+   * @return The smallest box that contains all the given points or an empty box if the array is empty.
+   */
+  def fromPoints(points: Array[Vec3d]): Aabb3d = points.foldLeft(this.Empty)(_ union _)
+}
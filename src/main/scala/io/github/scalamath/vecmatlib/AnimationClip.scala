@@ -0,0 +1,315 @@
+package io.github.scalamath.vecmatlib
+
+import io.github.scalamath
+
+import java.util.Objects
+
+/**
+ * A set of keyframed animation tracks stored in packed arrays.
+ *
+ * Each track animates the translation, the rotation, and the scale of one object.
+ * The keys of a track are sampled at the same times for the three channels.
+ * Keys of all tracks are stored contiguously in flat arrays, translations and scales as three values `x, y, z` and rotations as four values `w, x, y, z`.
+ *
+ * Sampling a track finds the two keys around the given time, linearly interpolates translations and scales, and interpolates rotations with [[Quatf.nlerp]] or [[Quatf.slerp]].
+ * Times before the first key or after the last key are clamped.
+ *
+ * To avoid searching for the keys at every sample, the index of the last key used by each track is cached in a cursor array given by the caller.
+ * When the clip is played forward, the next keys are found by advancing the cursor, so each sample takes constant time.
+ * A binary search is only used when the time jumps, for example when the animation loops.
+ * Cursor arrays can be created with [[newCursors]].
+ * The same clip can be sampled by many threads at the same time, as long as each one uses its own cursors.
+ *
+ * @constructor Constructs an empty clip with the given initial capacity.
+ * @param initialCapacity The number of keys for which space is allocated initially. The clip grows automatically when more keys are added.
+ */
+final class AnimationClip(initialCapacity: Int) {
+  require(initialCapacity > 0, "The initial capacity must be greater than zero")
+
+  /**
+   * Constructs an empty clip with the default initial capacity.
+   */
+  def this() = this(64)
+
+  private var trackCount = 0
+  private var keyCount = 0
+  // Index of the first key of each track, followed by the total number of keys
+  private var starts = new Array[Int](16)
+  private var times = new Array[Float](initialCapacity)
+  private var translations = new Array[Float](initialCapacity * 3)
+  private var rotations = new Array[Float](initialCapacity * 4)
+  private var scales = new Array[Float](initialCapacity * 3)
+  private var maxTime = 0.0f
+
+  /**
+   * Returns the number of tracks in this clip.
+   *
+   * @return The number of tracks in this clip.
+   */
+  def size: Int = this.trackCount
+
+  /**
+   * Returns the time of the last key of this clip.
+   *
+   * @return The time of the last key of this clip or zero if the clip is empty.
+   */
+  def duration: Float = this.maxTime
+
+  /**
+   * Adds a track with the given keys to this clip.
+   *
+   * The given arrays are copied.
+   *
+   * @param times The times of the keys in strictly increasing order.
+   * @param translations The translation of each key as three consecutive values.
+   * @param rotations The rotation of each key as four consecutive values in `w, x, y, z` order. Must contain unit quaternions.
+   * @param scales The scale of each key as three consecutive values.
+   * @return The index of the new track.
+   * @throws IllegalArgumentException If the track has no keys, if the times are not strictly increasing, or if the arrays do not contain one value for each key.
+   */
+  def addTrack(times: Array[Float], translations: Array[Float], rotations: Array[Float], scales: Array[Float]): Int = {
+    val keys = times.length
+    require(keys > 0, "A track must have at least one key")
+    require(translations.length == keys * 3 && rotations.length == keys * 4 && scales.length == keys * 3, "The arrays must contain a value for each key")
+    var i = 1
+    while(i < keys) {
+      require(times(i) > times(i - 1), "The times of the keys must be strictly increasing")
+      i += 1
+    }
+    if(this.trackCount + 2 > this.starts.length) {
+      this.starts = java.util.Arrays.copyOf(this.starts, this.starts.length * 2)
+    }
+    if(this.keyCount + keys > this.times.length) {
+      val capacity = math.max(this.times.length * 2, this.keyCount + keys)
+      this.times = java.util.Arrays.copyOf(this.times, capacity)
+      this.translations = java.util.Arrays.copyOf(this.translations, capacity * 3)
+      this.rotations = java.util.Arrays.copyOf(this.rotations, capacity * 4)
+      this.scales = java.util.Arrays.copyOf(this.scales, capacity * 3)
+    }
+    System.arraycopy(times, 0, this.times, this.keyCount, keys)
+    System.arraycopy(translations, 0, this.translations, this.keyCount * 3, keys * 3)
+    System.arraycopy(rotations, 0, this.rotations, this.keyCount * 4, keys * 4)
+    System.arraycopy(scales, 0, this.scales, this.keyCount * 3, keys * 3)
+    this.starts(this.trackCount) = this.keyCount
+    this.keyCount += keys
+    this.starts(this.trackCount + 1) = this.keyCount
+    this.maxTime = math.max(this.maxTime, times(keys - 1))
+    this.trackCount += 1
+    this.trackCount - 1
+  }
+
+  /**
+   * Adds a track with the given keys to this clip.
+   *
+   * @param times The times of the keys in strictly increasing order.
+   * @param translations The translation of each key.
+   * @param rotations The rotation of each key. Must contain unit quaternions.
+   * @param scales The scale of each key.
+   * @return The index of the new track.
+   * @throws IllegalArgumentException If the track has no keys, if the times are not strictly increasing, or if the arrays do not contain one value for each key.
+   */
+  def addTrack(times: Array[Float], translations: Array[Vec3f], rotations: Array[Quatf], scales: Array[Vec3f]): Int = {
+    this.addTrack(
+      times,
+      translations.flatMap(t => Array(t.x, t.y, t.z)),
+      rotations.flatMap(r => Array(r.w, r.x, r.y, r.z)),
+      scales.flatMap(s => Array(s.x, s.y, s.z))
+    )
+  }
+
+  /**
+   * Returns the number of keys of the given track.
+   *
+   * @param track The index of the track.
+   * @return The number of keys of the given track.
+   * @throws IndexOutOfBoundsException If the given track is not in this clip.
+   */
+  def keyCount(track: Int): Int = {
+    val i = Objects.checkIndex(track, this.trackCount)
+    this.starts(i + 1) - this.starts(i)
+  }
+
+  /**
+   * Returns a new cursor array with one cursor for each track of this clip.
+   *
+   * @return A new cursor array for this clip.
+   */
+  def newCursors(): Array[Int] = new Array[Int](this.trackCount)
+
+  /**
+   * Samples the given track at the given time and stores the result in the given arrays.
+   *
+   * The translation and the scale are stored at index `track * 3` and the rotation at index `track * 4` of the destination arrays.
+   *
+   * @param track The index of the track.
+   * @param time The time at which the track is sampled.
+   * @param cursors The cursors of the tracks of this clip. The cursor of the given track is updated.
+   * @param translations The array in which the translation is stored.
+   * @param rotations The array in which the rotation is stored.
+   * @param scales The array in which the scale is stored.
+   * @param slerp True to interpolate rotations with [[Quatf.slerp]], false to use the faster [[Quatf.nlerp]].
+   * @throws IndexOutOfBoundsException If the given track is not in this clip.
+   */
+  def sampleTrack(track: Int, time: Float, cursors: Array[Int], translations: Array[Float], rotations: Array[Float], scales: Array[Float], slerp: Boolean): Unit = {
+    val key = this.findKey(Objects.checkIndex(track, this.trackCount), time, cursors)
+    val weight = this.weight(track, key, time)
+    this.lerp(this.translations, key, weight, translations, track * 3)
+    this.lerp(this.scales, key, weight, scales, track * 3)
+    this.interpolateRotation(this.rotations, key * 4, weight, rotations, track * 4, slerp)
+  }
+
+  /**
+   * Samples all the tracks of this clip at the given time and stores the result in the given arrays.
+   *
+   * The translation and the scale of track `i` are stored at index `i * 3` and its rotation at index `i * 4` of the destination arrays.
+   * This method does not allocate.
+   *
+   * @param time The time at which the tracks are sampled.
+   * @param cursors The cursors of the tracks of this clip. Must have a length of at least [[size]].
+   * @param translations The array in which the translations are stored.
+   * @param rotations The array in which the rotations are stored.
+   * @param scales The array in which the scales are stored.
+   * @param slerp True to interpolate rotations with [[Quatf.slerp]], false to use the faster [[Quatf.nlerp]].
+   */
+  def sample(time: Float, cursors: Array[Int], translations: Array[Float], rotations: Array[Float], scales: Array[Float], slerp: Boolean): Unit = {
+    this.sample(time, cursors, translations, rotations, scales, slerp, 0, this.trackCount)
+  }
+
+  /**
+   * Samples the given range of tracks of this clip at the given time and stores the result in the given arrays.
+   *
+   * The translation and the scale of track `i` are stored at index `i * 3` and its rotation at index `i * 4` of the destination arrays.
+   * This method does not allocate and only reads and writes the cursors and the results of the given tracks, therefore different ranges can be sampled by different threads at the same time.
+   *
+   * @param time The time at which the tracks are sampled.
+   * @param cursors The cursors of the tracks of this clip.
+   * @param translations The array in which the translations are stored.
+   * @param rotations The array in which the rotations are stored.
+   * @param scales The array in which the scales are stored.
+   * @param slerp True to interpolate rotations with [[Quatf.slerp]], false to use the faster [[Quatf.nlerp]].
+   * @param offset The index of the first track to sample.
+   * @param count The number of tracks to sample.
+   * @throws IndexOutOfBoundsException If the given range is not in this clip.
+   */
+  def sample(time: Float, cursors: Array[Int], translations: Array[Float], rotations: Array[Float], scales: Array[Float], slerp: Boolean, offset: Int, count: Int): Unit = {
+    Objects.checkFromIndexSize(offset, count, this.trackCount)
+    var track = offset
+    while(track < offset + count) {
+      val key = this.findKey(track, time, cursors)
+      val weight = this.weight(track, key, time)
+      this.lerp(this.translations, key, weight, translations, track * 3)
+      this.lerp(this.scales, key, weight, scales, track * 3)
+      this.interpolateRotation(this.rotations, key * 4, weight, rotations, track * 4, slerp)
+      track += 1
+    }
+  }
+
+  /**
+   * Samples all the tracks of this clip at the given time and stores the result in the given arrays, interpolating rotations with [[Quatf.nlerp]].
+   *
+   * @param time The time at which the tracks are sampled.
+   * @param cursors The cursors of the tracks of this clip. Must have a length of at least [[size]].
+   * @param translations The array in which the translations are stored.
+   * @param rotations The array in which the rotations are stored.
+   * @param scales The array in which the scales are stored.
+   */
+  def sample(time: Float, cursors: Array[Int], translations: Array[Float], rotations: Array[Float], scales: Array[Float]): Unit = {
+    this.sample(time, cursors, translations, rotations, scales, slerp = false)
+  }
+
+  /**
+   * Returns the index of the key at or before the given time, updating the cursor of the given track.
+   */
+  private def findKey(track: Int, time: Float, cursors: Array[Int]): Int = {
+    val start = this.starts(track)
+    val end = this.starts(track + 1)
+    var key = start + cursors(track)
+    if(key < start || key >= end) {
+      key = start
+    }
+    if(time >= this.times(key)) {
+      // Advance a few keys when playing forward before falling back to a binary search
+      var steps = 0
+      while(steps < 4 && key + 1 < end && time >= this.times(key + 1)) {
+        key += 1
+        steps += 1
+      }
+      if(steps == 4 && key + 1 < end && time >= this.times(key + 1)) {
+        key = this.search(key + 1, end, time)
+      }
+    } else if(key > start && time >= this.times(key - 1)) {
+      key -= 1
+    } else {
+      key = this.search(start, key, time)
+    }
+    cursors(track) = key - start
+    key
+  }
+
+  /**
+   * Returns the index of the last key in the given range whose time is at or before the given time, or the first key of the range if there is none.
+   */
+  private def search(from: Int, to: Int, time: Float): Int = {
+    val i = java.util.Arrays.binarySearch(this.times, from, to, time)
+    if(i >= 0) i else math.max(from, -i - 2)
+  }
+
+  /**
+   * Returns the interpolation weight between the given key and the next one at the given time.
+   */
+  private def weight(track: Int, key: Int, time: Float): Float = {
+    if(key + 1 >= this.starts(track + 1) || time <= this.times(key)) {
+      0.0f
+    } else {
+      math.min((time - this.times(key)) / (this.times(key + 1) - this.times(key)), 1.0f)
+    }
+  }
+
+  private def lerp(src: Array[Float], key: Int, weight: Float, dst: Array[Float], j: Int): Unit = {
+    val i = key * 3
+    if(weight == 0.0f) {
+      dst(j) = src(i)
+      dst(j + 1) = src(i + 1)
+      dst(j + 2) = src(i + 2)
+    } else {
+      dst(j) = src(i) + (src(i + 3) - src(i)) * weight
+      dst(j + 1) = src(i + 1) + (src(i + 4) - src(i + 1)) * weight
+      dst(j + 2) = src(i + 2) + (src(i + 5) - src(i + 2)) * weight
+    }
+  }
+
+  /**
+   * Interpolates the quaternion starting at index `i` of the given array with the one that follows it and stores the result at index `j` of the destination array.
+   */
+  private def interpolateRotation(src: Array[Float], i: Int, weight: Float, dst: Array[Float], j: Int, slerp: Boolean): Unit = {
+    if(weight == 0.0f) {
+      dst(j) = src(i)
+      dst(j + 1) = src(i + 1)
+      dst(j + 2) = src(i + 2)
+      dst(j + 3) = src(i + 3)
+    } else {
+      val cos = src(i) * src(i + 4) + src(i + 1) * src(i + 5) + src(i + 2) * src(i + 6) + src(i + 3) * src(i + 7)
+      // Negate the second quaternion if the two are in opposite hemispheres to take the shortest path
+      val sign = if(cos < 0.0f) -1.0f else 1.0f
+      val d = math.min(cos * sign, 1.0f)
+      var a = 1.0f - weight
+      var b = weight * sign
+      if(slerp && d <= 1.0 - scalamath.Epsilon) {
+        val angle = math.acos(d)
+        val sin = math.sin(angle)
+        a = (math.sin((1.0 - weight) * angle) / sin).toFloat
+        b = (math.sin(weight * angle) / sin).toFloat * sign
+      }
+      val w = src(i) * a + src(i + 4) * b
+      val x = src(i + 1) * a + src(i + 5) * b
+      val y = src(i + 2) * a + src(i + 6) * b
+      val z = src(i + 3) * a + src(i + 7) * b
+      // Slerp of unit quaternions is already normalized, normalizing again corrects rounding errors
+      val length = math.sqrt(w * w + x * x + y * y + z * z).toFloat
+      dst(j) = w / length
+      dst(j + 1) = x / length
+      dst(j + 2) = y / length
+      dst(j + 3) = z / length
+    }
+  }
+}
@@ -0,0 +1,505 @@
+package io.github.scalamath.vecmatlib
+
+import java.util.function.IntConsumer
+
+/**
+ * A bounding volume hierarchy over a set of axis-aligned bounding boxes.
+ *
+ * The hierarchy is built with the surface area heuristic (SAH), evaluated over a fixed number of bins on each axis.
+ * Nodes are stored in flat arrays and the two children of a node are always stored next to each other, so that a traversal step reads contiguous memory.
+ *
+ * Objects are identified by the index of their box in the array from which the hierarchy was built.
+ * Queries report the indices of the objects whose bounding box satisfies the query, it is up to the caller to test the actual geometry of the objects.
+ *
+ * Objects that move can be handled by calling [[refit]] with their new bounding boxes.
+ * Refitting keeps the structure of the tree and only updates the bounds of its nodes, therefore the quality of the tree degrades if objects move far from their initial position.
+ * In that case, the hierarchy should be rebuilt.
+ *
+ * Queries do not modify the hierarchy and can be run from multiple threads at the same time, as long as [[refit]] is not called concurrently.
+ *
+ * @constructor Constructs a hierarchy from already built nodes. Use [[Bvh3f.apply]] to build one.
+ */
+class Bvh3f private(
+                     private val boxes: Array[Float],
+                     private val indices: Array[Int],
+                     private val nodeBounds: Array[Float],
+                     private val first: Array[Int],
+                     private val counts: Array[Int],
+                     val nodeCount: Int,
+                     private val depth: Int
+                   ) {
+
+  /**
+   * Returns the number of objects in this hierarchy.
+   *
+   * @return The number of objects in this hierarchy.
+   */
+  def size: Int = this.indices.length
+
+  /**
+   * Returns the bounding box of all the objects in this hierarchy.
+   *
+   * @return The bounding box of all the objects in this hierarchy or an empty box if the hierarchy is empty.
+   */
+  def bounds: Aabb3f = {
+    if(this.nodeCount == 0) {
+      Aabb3f.Empty
+    } else {
+      new Aabb3f(this.nodeBounds(0), this.nodeBounds(1), this.nodeBounds(2), this.nodeBounds(3), this.nodeBounds(4), this.nodeBounds(5))
+    }
+  }
+
+  /**
+   * Returns the bounding box of the object at the given index as it was given when this hierarchy was built or last refitted.
+   *
+   * @param i The index of the object.
+   * @return The bounding box of the object at the given index.
+   * @throws ArrayIndexOutOfBoundsException If the given index is out of bounds.
+   */
+  def box(i: Int): Aabb3f = {
+    val b = i * 6
+    new Aabb3f(this.boxes(b), this.boxes(b + 1), this.boxes(b + 2), this.boxes(b + 3), this.boxes(b + 4), this.boxes(b + 5))
+  }
+
+  /**
+   * Updates the bounding boxes of the objects and recomputes the bounds of all nodes.
+   *
+   * @param boxes The array containing the new bounding boxes in the order `minX, minY, minZ, maxX, maxY, maxZ`. Must contain at least one box for each object in this hierarchy.
+   */
+  def refit(boxes: Array[Float]): Unit = {
+    require(boxes.length >= this.size * 6, "The array must contain a box for each object")
+    System.arraycopy(boxes, 0, this.boxes, 0, this.size * 6)
+    this.refit()
+  }
+
+  /**
+   * Updates the bounding boxes of the objects and recomputes the bounds of all nodes.
+   *
+   * @param boxes The array containing the new bounding boxes. Must contain at least one box for each object in this hierarchy.
+   */
+  def refit(boxes: Array[Aabb3f]): Unit = {
+    require(boxes.length >= this.size, "The array must contain a box for each object")
+    var i = 0
+    while(i < this.size) {
+      Bvh3f.setBox(this.boxes, i, boxes(i))
+      i += 1
+    }
+    this.refit()
+  }
+
+  private def refit(): Unit = {
+    // Children are always stored after their parent
+    var node = this.nodeCount - 1
+    while(node >= 0) {
+      val n = node * 6
+      if(this.counts(node) > 0) {
+        Bvh3f.setEmpty(this.nodeBounds, n)
+        var i = this.first(node)
+        while(i < this.first(node) + this.counts(node)) {
+          Bvh3f.union(this.nodeBounds, n, this.boxes, this.indices(i) * 6)
+          i += 1
+        }
+      } else {
+        System.arraycopy(this.nodeBounds, this.first(node) * 6, this.nodeBounds, n, 6)
+        Bvh3f.union(this.nodeBounds, n, this.nodeBounds, (this.first(node) + 1) * 6)
+      }
+      node -= 1
+    }
+  }
+
+  private def rayBox(b: Array[Float], i: Int, ox: Float, oy: Float, oz: Float, ix: Float, iy: Float, iz: Float, maxDistance: Float): Float = {
+    Ray3f.slab(b(i), b(i + 1), b(i + 2), b(i + 3), b(i + 4), b(i + 5), ox, oy, oz, ix, iy, iz, maxDistance)
+  }
+
+  /**
+   * Finds the object whose bounding box is the closest one hit by the given ray.
+   *
+   * @param origin The origin of the ray.
+   * @param direction The direction of the ray. Does not need to be normalized.
+   * @param maxDistance The maximum distance along the ray, expressed in multiples of the length of the direction vector.
+   * @return The index of the object whose bounding box is hit first by the given ray or `-1` if no box is hit.
+   */
+  def raycast(origin: Vec3f, direction: Vec3f, maxDistance: Float): Int = {
+    if(this.nodeCount == 0) {
+      return -1
+    }
+    val ix = 1.0f / direction.x
+    val iy = 1.0f / direction.y
+    val iz = 1.0f / direction.z
+    var closest = maxDistance
+    var result = -1
+    if(this.rayBox(this.nodeBounds, 0, origin.x, origin.y, origin.z, ix, iy, iz, closest) == Float.PositiveInfinity) {
+      return -1
+    }
+    val stack = new Array[Int](this.depth + 1)
+    var top = 1
+    while(top > 0) {
+      top -= 1
+      val node = stack(top)
+      if(this.counts(node) > 0) {
+        var i = this.first(node)
+        while(i < this.first(node) + this.counts(node)) {
+          val t = this.rayBox(this.boxes, this.indices(i) * 6, origin.x, origin.y, origin.z, ix, iy, iz, closest)
+          if(t != Float.PositiveInfinity && (result < 0 || t < closest)) {
+            closest = t
+            result = this.indices(i)
+          }
+          i += 1
+        }
+      } else {
+        // Visit the closest child first so that the other one can be skipped if it is further than the current hit
+        val left = this.first(node)
+        val tLeft = this.rayBox(this.nodeBounds, left * 6, origin.x, origin.y, origin.z, ix, iy, iz, closest)
+        val tRight = this.rayBox(this.nodeBounds, (left + 1) * 6, origin.x, origin.y, origin.z, ix, iy, iz, closest)
+        if(tLeft <= tRight) {
+          top = this.push(stack, top, left + 1, tRight)
+          top = this.push(stack, top, left, tLeft)
+        } else {
+          top = this.push(stack, top, left, tLeft)
+          top = this.push(stack, top, left + 1, tRight)
+        }
+      }
+    }
+    result
+  }
+
+  private def push(stack: Array[Int], top: Int, node: Int, t: Float): Int = {
+    if(t != Float.PositiveInfinity) {
+      stack(top) = node
+      top + 1
+    } else {
+      top
+    }
+  }
+
+  /**
+   * Finds all the objects whose bounding box is hit by the given ray.
+   *
+   * @param origin The origin of the ray.
+   * @param direction The direction of the ray. Does not need to be normalized.
+   * @param maxDistance The maximum distance along the ray, expressed in multiples of the length of the direction vector.
+   * @param action The action invoked with the index of each object whose bounding box is hit, in no particular order.
+   */
+  def queryRay(origin: Vec3f, direction: Vec3f, maxDistance: Float, action: IntConsumer): Unit = {
+    val ix = 1.0f / direction.x
+    val iy = 1.0f / direction.y
+    val iz = 1.0f / direction.z
+    this.query(action, (b, i) => this.rayBox(b, i, origin.x, origin.y, origin.z, ix, iy, iz, maxDistance) != Float.PositiveInfinity)
+  }
+
+  /**
+   * Finds all the objects whose bounding box overlaps the given box.
+   *
+   * @param box The box.
+   * @param action The action invoked with the index of each object whose bounding box overlaps the given one, in no particular order.
+   */
+  def queryBox(box: Aabb3f, action: IntConsumer): Unit = {
+    this.query(action, (b, i) => {
+      b(i) <= box.max.x && b(i + 3) >= box.min.x && b(i + 1) <= box.max.y && b(i + 4) >= box.min.y && b(i + 2) <= box.max.z && b(i + 5) >= box.min.z
+    })
+  }
+
+  /**
+   * Finds all the objects whose bounding box overlaps the given sphere.
+   *
+   * @param sphere The sphere.
+   * @param action The action invoked with the index of each object whose bounding box overlaps the given sphere, in no particular order.
+   */
+  def querySphere(sphere: Sphere3f, action: IntConsumer): Unit = {
+    val c = sphere.center
+    val r2 = sphere.radius * sphere.radius
+    this.query(action, (b, i) => {
+      val dx = math.max(math.max(b(i) - c.x, c.x - b(i + 3)), 0.0f)
+      val dy = math.max(math.max(b(i + 1) - c.y, c.y - b(i + 4)), 0.0f)
+      val dz = math.max(math.max(b(i + 2) - c.z, c.z - b(i + 5)), 0.0f)
+      dx * dx + dy * dy + dz * dz <= r2
+    })
+  }
+
+  private def query(action: IntConsumer, overlaps: Bvh3f.BoxPredicate): Unit = {
+    if(this.nodeCount == 0 || !overlaps(this.nodeBounds, 0)) {
+      return
+    }
+    val stack = new Array[Int](this.depth + 1)
+    var top = 1
+    while(top > 0) {
+      top -= 1
+      val node = stack(top)
+      if(this.counts(node) > 0) {
+        var i = this.first(node)
+        while(i < this.first(node) + this.counts(node)) {
+          if(overlaps(this.boxes, this.indices(i) * 6)) {
+            action.accept(this.indices(i))
+          }
+          i += 1
+        }
+      } else {
+        val left = this.first(node)
+        if(overlaps(this.nodeBounds, left * 6)) {
+          stack(top) = left
+          top += 1
+        }
+        if(overlaps(this.nodeBounds, (left + 1) * 6)) {
+          stack(top) = left + 1
+          top += 1
+        }
+      }
+    }
+  }
+}
+
+/**
+ * Allows to build a bounding volume hierarchy.
+ */
+object Bvh3f {
+
+  /** The default maximum number of objects in a leaf node. */
+  val DefaultMaxLeafSize = 4
+
+  /** Number of bins in which the centroids are divided on each axis when evaluating the surface area heuristic. */
+  private val Bins = 16
+
+  /**
+   * Builds a bounding volume hierarchy over the given bounding boxes.
+   *
+   * @param boxes The array containing the bounding boxes in the order `minX, minY, minZ, maxX, maxY, maxZ`. The array is copied.
+   * @param count The number of boxes in the array.
+   * @param maxLeafSize The maximum number of objects in a leaf node. Must be greater than zero.
+   * @return The bounding volume hierarchy over the given boxes.
+   */
+  def apply(boxes: Array[Float], count: Int, maxLeafSize: Int): Bvh3f = {
+    require(count >= 0 && boxes.length >= count * 6, "The array must contain the given number of boxes")
+    require(maxLeafSize > 0, "The maximum leaf size must be greater than zero")
+    val data = java.util.Arrays.copyOf(boxes, count * 6)
+    val indices = Array.range(0, count)
+    val centroids = new Array[Float](count * 3)
+    var i = 0
+    while(i < count) {
+      centroids(i * 3) = (data(i * 6) + data(i * 6 + 3)) / 2.0f
+      centroids(i * 3 + 1) = (data(i * 6 + 1) + data(i * 6 + 4)) / 2.0f
+      centroids(i * 3 + 2) = (data(i * 6 + 2) + data(i * 6 + 5)) / 2.0f
+      i += 1
+    }
+    val maxNodes = math.max(2 * count - 1, 0)
+    val bounds = new Array[Float](maxNodes * 6)
+    val first = new Array[Int](maxNodes)
+    val counts = new Array[Int](maxNodes)
+    if(count == 0) {
+      return new Bvh3f(data, indices, bounds, first, counts, 0, 0)
+    }
+    val builder = new Builder(data, centroids, indices, bounds, first, counts, maxLeafSize)
+    builder.build(count)
+    new Bvh3f(data, indices, bounds, first, counts, builder.nodeCount, builder.depth)
+  }
+
+  /**
+   * Builds a bounding volume hierarchy over the given bounding boxes with the default maximum leaf size.
+   *
+   * @param boxes The array containing the bounding boxes in the order `minX, minY, minZ, maxX, maxY, maxZ`. The array is copied.
+   * @param count The number of boxes in the array.
+   * @return The bounding volume hierarchy over the given boxes.
+   */
+  def apply(boxes: Array[Float], count: Int): Bvh3f = this.apply(boxes, count, DefaultMaxLeafSize)
+
+  /**
+   * Builds a bounding volume hierarchy over the given bounding boxes with the default maximum leaf size.
+   *
+   * @param boxes The bounding boxes.
+   * @return The bounding volume hierarchy over the given boxes.
+   */
+  def apply(boxes: Array[Aabb3f]): Bvh3f = {
+    val data = new Array[Float](boxes.length * 6)
+    var i = 0
+    while(i < boxes.length) {
+      setBox(data, i, boxes(i))
+      i += 1
+    }
+    this.apply(data, boxes.length, DefaultMaxLeafSize)
+  }
+
+  private def setBox(dst: Array[Float], i: Int, box: Aabb3f): Unit = {
+    dst(i * 6) = box.min.x
+    dst(i * 6 + 1) = box.min.y
+    dst(i * 6 + 2) = box.min.z
+    dst(i * 6 + 3) = box.max.x
+    dst(i * 6 + 4) = box.max.y
+    dst(i * 6 + 5) = box.max.z
+  }
+
+  private def setEmpty(dst: Array[Float], i: Int): Unit = {
+    java.util.Arrays.fill(dst, i, i + 3, Float.PositiveInfinity)
+    java.util.Arrays.fill(dst, i + 3, i + 6, Float.NegativeInfinity)
+  }
+
+  private def union(dst: Array[Float], i: Int, src: Array[Float], j: Int): Unit = {
+    dst(i) = math.min(dst(i), src(j))
+    dst(i + 1) = math.min(dst(i + 1), src(j + 1))
+    dst(i + 2) = math.min(dst(i + 2), src(j + 2))
+    dst(i + 3) = math.max(dst(i + 3), src(j + 3))
+    dst(i + 4) = math.max(dst(i + 4), src(j + 4))
+    dst(i + 5) = math.max(dst(i + 5), src(j + 5))
+  }
+
+  private def area(b: Array[Float], i: Int): Float = {
+    val dx = b(i + 3) - b(i)
+    val dy = b(i + 4) - b(i + 1)
+    val dz = b(i + 5) - b(i + 2)
+    if(dx < 0.0f || dy < 0.0f || dz < 0.0f) 0.0f else dx * dy + dy * dz + dz * dx
+  }
+
+  /**
+   * Test between a query and a box stored in an array starting from the given index.
+   */
+  private trait BoxPredicate {
+    def apply(b: Array[Float], i: Int): Boolean
+  }
+
+  /**
+   * Builds the nodes of the hierarchy using an explicit stack instead of recursion, so that the depth of the tree is not limited by the size of the thread stack.
+   */
+  private class Builder(boxes: Array[Float], centroids: Array[Float], indices: Array[Int], bounds: Array[Float], first: Array[Int], counts: Array[Int], maxLeafSize: Int) {
+
+    var nodeCount = 0
+    var depth = 0
+
+    private var stack = new Array[Int](64 * 4)
+    private val binCounts = new Array[Int](Bins)
+    private val binBounds = new Array[Float](Bins * 6)
+    private val rightAreas = new Array[Float](Bins)
+    private val sweep = new Array[Float](6)
+
+    private def push(node: Int, start: Int, end: Int, depth: Int, top: Int): Int = {
+      if(top + 4 > this.stack.length) {
+        this.stack = java.util.Arrays.copyOf(this.stack, this.stack.length * 2)
+      }
+      this.stack(top) = node
+      this.stack(top + 1) = start
+      this.stack(top + 2) = end
+      this.stack(top + 3) = depth
+      top + 4
+    }
+
+    def build(count: Int): Unit = {
+      this.nodeCount = 1
+      var top = this.push(0, 0, count, 1, 0)
+      val centroidBounds = new Array[Float](6)
+      while(top > 0) {
+        top -= 4
+        val node = this.stack(top)
+        val start = this.stack(top + 1)
+        val end = this.stack(top + 2)
+        val depth = this.stack(top + 3)
+        this.depth = math.max(this.depth, depth)
+        // Compute the bounds of the node and of the centroids of its objects
+        setEmpty(this.bounds, node * 6)
+        setEmpty(centroidBounds, 0)
+        var i = start
+        while(i < end) {
+          val index = this.indices(i)
+          union(this.bounds, node * 6, this.boxes, index * 6)
+          var axis = 0
+          while(axis < 3) {
+            val c = this.centroids(index * 3 + axis)
+            centroidBounds(axis) = math.min(centroidBounds(axis), c)
+            centroidBounds(axis + 3) = math.max(centroidBounds(axis + 3), c)
+            axis += 1
+          }
+          i += 1
+        }
+        if(end - start <= this.maxLeafSize) {
+          this.first(node) = start
+          this.counts(node) = end - start
+        } else {
+          val mid = this.split(start, end, centroidBounds)
+          val left = this.nodeCount
+          this.nodeCount += 2
+          this.first(node) = left
+          this.counts(node) = 0
+          top = this.push(left + 1, mid, end, depth + 1, top)
+          top = this.push(left, start, mid, depth + 1, top)
+        }
+      }
+    }
+
+    private def bin(index: Int, axis: Int, min: Float, scale: Float): Int = {
+      math.min(((this.centroids(index * 3 + axis) - min) * scale).toInt, Bins - 1)
+    }
+
+    /**
+     * Partitions the objects in the given range along the split with the lowest surface area heuristic cost and returns the index of the first object of the right half.
+     */
+    private def split(start: Int, end: Int, centroidBounds: Array[Float]): Int = {
+      var bestAxis = -1
+      var bestBin = 0
+      var bestCost = Float.PositiveInfinity
+      var axis = 0
+      while(axis < 3) {
+        val min = centroidBounds(axis)
+        val extent = centroidBounds(axis + 3) - min
+        if(extent > 0.0f) {
+          val scale = Bins / extent
+          java.util.Arrays.fill(this.binCounts, 0)
+          var b = 0
+          while(b < Bins) {
+            setEmpty(this.binBounds, b * 6)
+            b += 1
+          }
+          var i = start
+          while(i < end) {
+            val index = this.indices(i)
+            b = this.bin(index, axis, min, scale)
+            this.binCounts(b) += 1
+            union(this.binBounds, b * 6, this.boxes, index * 6)
+            i += 1
+          }
+          // Sweep from the right to compute the area of the right side of each split
+          setEmpty(this.sweep, 0)
+          b = Bins - 1
+          while(b > 0) {
+            union(this.sweep, 0, this.binBounds, b * 6)
+            this.rightAreas(b) = area(this.sweep, 0)
+            b -= 1
+          }
+          // Sweep from the left and evaluate the cost of splitting between bin b - 1 and bin b
+          setEmpty(this.sweep, 0)
+          var leftCount = 0
+          b = 1
+          while(b < Bins) {
+            union(this.sweep, 0, this.binBounds, (b - 1) * 6)
+            leftCount += this.binCounts(b - 1)
+            val rightCount = end - start - leftCount
+            if(leftCount > 0 && rightCount > 0) {
+              val cost = area(this.sweep, 0) * leftCount + this.rightAreas(b) * rightCount
+              if(cost < bestCost) {
+                bestCost = cost
+                bestAxis = axis
+                bestBin = b
+              }
+            }
+            b += 1
+          }
+        }
+        axis += 1
+      }
+      if(bestAxis < 0) {
+        // All centroids are in the same position
+        return start + (end - start) / 2
+      }
+      val min = centroidBounds(bestAxis)
+      val scale = Bins / (centroidBounds(bestAxis + 3) - min)
+      var i = start
+      var j = end - 1
+      while(i <= j) {
+        if(this.bin(this.indices(i), bestAxis, min, scale) < bestBin) {
+          i += 1
+        } else {
+          val tmp = this.indices(i)
+          this.indices(i) = this.indices(j)
+          this.indices(j) = tmp
+          j -= 1
+        }
+      }
+      i
+    }
+  }
+}
@@ -0,0 +1,435 @@
+package io.github.scalamath.vecmatlib
+
+import io.github.scalamath
+import io.github.scalamath.FloatEqualsApprox
+
+/**
+ * A single-precision dual quaternion.
+ * Can be used to represent a rigid transform, a rotation followed by a translation, using eight values instead of the twelve of a [[Mat3x4f]].
+ *
+ * A unit dual quaternion that rotates by the unit quaternion `r` and then translates by `t` has `r` as its real part and `0.5 * t * r` as its dual part, where `t` is the quaternion `(0, t.x, t.y, t.z)`.
+ * Dual quaternions cannot represent scaling.
+ *
+ * Products of dual quaternions compose their transforms like matrices do: `a * b` is the transform that applies `b` first and then `a`.
+ *
+ * @constructor Constructs a dual quaternion from its real and dual parts.
+ * @param real The real part of the dual quaternion.
+ * @param dual The dual part of the dual quaternion.
+ */
+case class DualQuatf(real: Quatf, dual: Quatf) {
+
+  /**
+   * Constructs a unit dual quaternion that represents a rotation followed by a translation.
+   *
+   * @param translation The translation.
+   * @param rotation The rotation. Must be a unit quaternion.
+   */
+  def this(translation: Vec3f, rotation: Quatf) = this(rotation, Quatf(0.0f, translation.x * 0.5f, translation.y * 0.5f, translation.z * 0.5f) * rotation)
+
+  /**
+   * Computes the component-wise sum between this dual quaternion and the given one and returns the result.
+   *
+   * @param d The dual quaternion to add.
+   * @return The sum between this dual quaternion and the given one.
+   */
+  def +(d: DualQuatf): DualQuatf = DualQuatf(this.real + d.real, this.dual + d.dual)
+
+  /**
+   * Computes the component-wise sum between this dual quaternion and the given one and returns the result.
+   *
+   * This method can be used in place of the `+` operator for better interoperability with Java.
+   *
+   * @param d The dual quaternion to add.
+   * @return The sum between this dual quaternion and the given one.
+   */
+  def plus(d: DualQuatf): DualQuatf = this + d
+
+  /**
+   * Returns the additive inverse of this dual quaternion.
+   *
+   * The negated dual quaternion represents the same transform as this one.
+   *
+   * @return The additive inverse of this dual quaternion.
+   */
+  def unary_- : DualQuatf = DualQuatf(-this.real, -this.dual)
+
+  /**
+   * Returns the additive inverse of this dual quaternion.
+   *
+   * This method can be used in place of the `-` operator for better interoperability with Java.
+   *
+   * @return The additive inverse of this dual quaternion.
+   */
+  def negated: DualQuatf = -this
+
+  /**
+   * Returns the product of this dual quaternion by the given scalar.
+   *
+   * @param k The scalar to multiply this dual quaternion by.
+   * @return The product of this dual quaternion by the given scalar.
+   */
+  def *(k: Float): DualQuatf = DualQuatf(this.real * k, this.dual * k)
+
+  /**
+   * Returns the product of this dual quaternion by the given scalar.
+   *
+   * This method can be used in place of the `*` operator for better interoperability with Java.
+   *
+   * @param k The scalar to multiply this dual quaternion by.
+   * @return The product of this dual quaternion by the given scalar.
+   */
+  def multipliedBy(k: Float): DualQuatf = this * k
+
+  /**
+   * Multiplies this dual quaternion by the given one and returns the result.
+   *
+   * The resulting transform applies the given dual quaternion first and then this one.
+   *
+   * @param d The dual quaternion to multiply this one by.
+   * @return The product between this dual quaternion and the given one.
+   */
+  def *(d: DualQuatf): DualQuatf = {
+    val a = this.real
+    val b = this.dual
+    val c = d.real
+    val e = d.dual
+    DualQuatf(
+      a * c,
+      Quatf(
+        a.w * e.w - a.x * e.x - a.y * e.y - a.z * e.z + b.w * c.w - b.x * c.x - b.y * c.y - b.z * c.z,
+        a.w * e.x + a.x * e.w + a.y * e.z - a.z * e.y + b.w * c.x + b.x * c.w + b.y * c.z - b.z * c.y,
+        a.w * e.y - a.x * e.z + a.y * e.w + a.z * e.x + b.w * c.y - b.x * c.z + b.y * c.w + b.z * c.x,
+        a.w * e.z + a.x * e.y - a.y * e.x + a.z * e.w + b.w * c.z + b.x * c.y - b.y * c.x + b.z * c.w
+      )
+    )
+  }
+
+  /**
+   * Multiplies this dual quaternion by the given one and returns the result.
+   *
+   * This method can be used in place of the `*` operator for better interoperability with Java.
+   *
+   * @param d The dual quaternion to multiply this one by.
+   * @return The product between this dual quaternion and the given one.
+   */
+  def multiply(d: DualQuatf): DualQuatf = this * d
+
+  /**
+   * Returns the conjugate of this dual quaternion, obtained by conjugating both its real and its dual part.
+   *
+   * The conjugate of a unit dual quaternion is its inverse.
+   *
+   * @return The conjugate of this dual quaternion.
+   */
+  def conjugate: DualQuatf = DualQuatf(this.real.conjugate, this.dual.conjugate)
+
+  /**
+   * Returns the inverse of this dual quaternion.
+   *
+   * The real part of this dual quaternion must not be zero.
+   *
+   * @return The inverse of this dual quaternion.
+   */
+  def inverse: DualQuatf = {
+    val r = this.real.inverse
+    DualQuatf(r, -(r * this.dual * r))
+  }
+
+  /**
+   * Returns this dual quaternion normalized.
+   *
+   * Both parts are divided by the length of the real part and the component of the dual part parallel to the real part is removed, so that the result is a unit dual quaternion.
+   *
+   * @return A unit dual quaternion that represents the same transform as this one.
+   */
+  def normalized: DualQuatf = {
+    val k = 1.0f / this.real.length
+    val r = this.real * k
+    val d = this.dual * k
+    DualQuatf(r, d - r * r.dot(d))
+  }
+
+  /**
+   * Checks if this dual quaternion is a unit dual quaternion using an internal epsilon.
+   *
+   * @return True if the real part of this dual quaternion is normalized and is orthogonal to the dual part, otherwise false.
+   */
+  def isNormalized: Boolean = this.real.isNormalized && (this.real.dot(this.dual) ~= 0.0f)
+
+  /**
+   * Returns the rotation represented by this dual quaternion.
+   * This dual quaternion must be normalized.
+   *
+   * @return The rotation represented by this dual quaternion.
+   */
+  def rotation: Quatf = this.real
+
+  /**
+   * Returns the translation represented by this dual quaternion.
+   * This dual quaternion must be normalized.
+   *
+   * @return The translation represented by this dual quaternion.
+   */
+  def translation: Vec3f = {
+    val r = this.real
+    val d = this.dual
+    Vec3f(
+      2.0f * (r.w * d.x - d.w * r.x + r.y * d.z - r.z * d.y),
+      2.0f * (r.w * d.y - d.w * r.y + r.z * d.x - r.x * d.z),
+      2.0f * (r.w * d.z - d.w * r.z + r.x * d.y - r.y * d.x)
+    )
+  }
+
+  /**
+   * Transforms the given point by this dual quaternion.
+   * This dual quaternion must be normalized.
+   *
+   * @param x The x coordinate of the point.
+   * @param y The y coordinate of the point.
+   * @param z The z coordinate of the point.
+   * @return The transformed point.
+   */
+  def transformPoint(x: Float, y: Float, z: Float): Vec3f = {
+    val r = this.real
+    val d = this.dual
+    val tx = 2.0f * (r.y * z - r.z * y)
+    val ty = 2.0f * (r.z * x - r.x * z)
+    val tz = 2.0f * (r.x * y - r.y * x)
+    Vec3f(
+      x + r.w * tx + r.y * tz - r.z * ty + 2.0f * (r.w * d.x - d.w * r.x + r.y * d.z - r.z * d.y),
+      y + r.w * ty + r.z * tx - r.x * tz + 2.0f * (r.w * d.y - d.w * r.y + r.z * d.x - r.x * d.z),
+      z + r.w * tz + r.x * ty - r.y * tx + 2.0f * (r.w * d.z - d.w * r.z + r.x * d.y - r.y * d.x)
+    )
+  }
+
+  /**
+   * Transforms the given point by this dual quaternion.
+   * This dual quaternion must be normalized.
+   *
+   * @param p The point to transform.
+   * @return The transformed point.
+   */
+  def transformPoint(p: Vec3f): Vec3f = this.transformPoint(p.x, p.y, p.z)
+
+  /**
+   * Transforms the given direction by this dual quaternion.
+   * Directions are only rotated and are not affected by the translation.
+   * This dual quaternion must be normalized.
+   *
+   * @param v The direction to transform.
+   * @return The rotated direction.
+   */
+  def transformDirection(v: Vec3f): Vec3f = {
+    val r = this.real
+    val tx = 2.0f * (r.y * v.z - r.z * v.y)
+    val ty = 2.0f * (r.z * v.x - r.x * v.z)
+    val tz = 2.0f * (r.x * v.y - r.y * v.x)
+    Vec3f(v.x + r.w * tx + r.y * tz - r.z * ty, v.y + r.w * ty + r.z * tx - r.x * tz, v.z + r.w * tz + r.x * ty - r.y * tx)
+  }
+
+  /**
+   * Raises this dual quaternion to the given power and returns the result.
+   *
+   * The result is the screw motion around the same axis as this dual quaternion, with its angle and its translation along the axis multiplied by the given exponent.
+   * This dual quaternion must be normalized.
+   *
+   * @param exp The exponent.
+   * @return This dual quaternion raised to the given power.
+   */
+  def pow(exp: Float): DualQuatf = {
+    val r = this.real
+    val d = this.dual
+    val sin = math.sqrt(r.x * r.x + r.y * r.y + r.z * r.z)
+    if(sin < scalamath.Epsilon) {
+      // Pure translation: scale the translation
+      val t = this.translation * (exp * 0.5f)
+      DualQuatf(Quatf.Identity, Quatf(0.0f, t.x, t.y, t.z))
+    } else {
+      // Screw parameters: half angle, direction of the axis, translation along the axis, and moment of the axis
+      val half = math.atan2(sin, r.w)
+      val lx = r.x / sin
+      val ly = r.y / sin
+      val lz = r.z / sin
+      val pitch = -2.0 * d.w / sin
+      val h = pitch * 0.5 * r.w
+      val mx = (d.x - lx * h) / sin
+      val my = (d.y - ly * h) / sin
+      val mz = (d.z - lz * h) / sin
+      val newSin = math.sin(half * exp)
+      val newCos = math.cos(half * exp)
+      val newHalfPitch = pitch * exp * 0.5
+      DualQuatf(
+        Quatf(newCos.toFloat, (lx * newSin).toFloat, (ly * newSin).toFloat, (lz * newSin).toFloat),
+        Quatf(
+          (-newHalfPitch * newSin).toFloat,
+          (mx * newSin + lx * newHalfPitch * newCos).toFloat,
+          (my * newSin + ly * newHalfPitch * newCos).toFloat,
+          (mz * newSin + lz * newHalfPitch * newCos).toFloat
+        )
+      )
+    }
+  }
+
+  /**
+   * Computes the screw linear interpolation (ScLERP) between this dual quaternion and the given one by the given weight and returns the result.
+   *
+   * The given weight must be in the `[0.0, 1.0]` range, representing the amount of interpolation.
+   * The interpolation moves along a screw motion at constant speed and always takes the shortest path between the two rotations.
+   *
+   * Both dual quaternions must be normalized.
+   *
+   * @param to The second dual quaternion.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @return The result of the screw linear interpolation between this dual quaternion and the given one by the given weight.
+   */
+  def sclerp(to: DualQuatf, weight: Float): DualQuatf = {
+    val target = if(this.real.dot(to.real) < 0.0f) -to else to
+    this * (this.conjugate * target).pow(weight)
+  }
+
+  /**
+   * Computes the dual quaternion linear blending (DLB) between this dual quaternion and the given one by the given weight and returns the result.
+   *
+   * The given weight must be in the `[0.0, 1.0]` range, representing the amount of interpolation.
+   * The interpolation always takes the shortest path between the two rotations.
+   *
+   * This is faster than [[sclerp]], but does not interpolate at a constant speed.
+   *
+   * @param to The second dual quaternion.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @return The normalized result of the linear blending between this dual quaternion and the given one by the given weight.
+   */
+  def dlb(to: DualQuatf, weight: Float): DualQuatf = {
+    val b = if(this.real.dot(to.real) < 0.0f) -weight else weight
+    (this * (1.0f - weight) + to * b).normalized
+  }
+
+  /**
+   * Returns the 3x4 matrix that represents the same transform as this dual quaternion.
+   * This dual quaternion must be normalized.
+   *
+   * @return The 3x4 matrix that represents the same transform as this dual quaternion.
+   */
+  def toMat3x4f: Mat3x4f = Mat3x4f(Mat3f.rotation(this.real), this.translation)
+
+  /**
+   * Checks if the components of this dual quaternion are approximately equal to the ones of the given dual quaternion using an internal epsilon.
+   *
+   * @param d The dual quaternion to compare.
+   * @return True if the components of the two dual quaternions are approximately equal, otherwise false.
+   */
+  def ~=(d: DualQuatf): Boolean = (this.real ~= d.real) && (this.dual ~= d.dual)
+
+  /**
+   * Checks if the components of this dual quaternion are approximately equal to the ones of the given dual quaternion using an internal epsilon.
+   *
+   * This method can be used in place of the `~=` operator for better interoperability with Java.
+   *
+   * @param d The dual quaternion to compare.
+   * @return True if the components of the two dual quaternions are approximately equal, otherwise false.
+   */
+  def equalsApprox(d: DualQuatf): Boolean = this ~= d
+
+  /**
+   * Converts this dual quaternion to a double-precision dual quaternion.
+   *
+   * @return A double-precision dual quaternion with the same components as this one.
+   */
+  def toDouble: DualQuatd = DualQuatd(this.real.toDouble, this.dual.toDouble)
+}
+
+/**
+ * Constants and factory methods for dual quaternions.
+ */
+object DualQuatf {
+
+  /** Shorthand for `DualQuatf(Quatf.Identity, Quatf.Zero)` */
+  val Identity: DualQuatf = DualQuatf(Quatf.Identity, Quatf.Zero)
+
+  /**
+   * Constructs a unit dual quaternion that represents a rotation followed by a translation.
+   *
+   * @param translation The translation.
+   * @param rotation The rotation. Must be a unit quaternion.
+   * @return A unit dual quaternion that represents the given rotation followed by the given translation.
+   */
+  def apply(translation: Vec3f, rotation: Quatf): DualQuatf = new DualQuatf(translation, rotation)
+
+  /**
+   * Returns a unit dual quaternion that represents the given translation.
+   *
+   * @param t The translation.
+   * @return A unit dual quaternion that represents the given translation.
+   */
+  def translation(t: Vec3f): DualQuatf = DualQuatf(Quatf.Identity, Quatf(0.0f, t.x * 0.5f, t.y * 0.5f, t.z * 0.5f))
+
+  /**
+   * Returns a unit dual quaternion that represents the given rotation.
+   *
+   * @param q The rotation. Must be a unit quaternion.
+   * @return A unit dual quaternion that represents the given rotation.
+   */
+  def rotation(q: Quatf): DualQuatf = DualQuatf(q, Quatf.Zero)
+
+  /**
+   * Returns the unit dual quaternion that represents the rotation and the translation of the given matrix.
+   *
+   * Dual quaternions can only represent rigid transformations.
+   * The columns of the upper-left 3x3 part of the matrix are normalized before the rotation is extracted, so any scaling is dropped and cannot be recovered from the result.
+   * Reflections cannot be represented: the determinant of the upper-left 3x3 part must be positive, otherwise the result is undefined.
+   * The matrix must not contain shear.
+   *
+   * @param m The matrix.
+   * @return The unit dual quaternion that represents the rotation and the translation of the given matrix.
+   */
+  def fromMatrix(m: Mat3x4f): DualQuatf = {
+    val s0 = 1.0f / math.sqrt(m.m00 * m.m00 + m.m10 * m.m10 + m.m20 * m.m20).toFloat
+    val s1 = 1.0f / math.sqrt(m.m01 * m.m01 + m.m11 * m.m11 + m.m21 * m.m21).toFloat
+    val s2 = 1.0f / math.sqrt(m.m02 * m.m02 + m.m12 * m.m12 + m.m22 * m.m22).toFloat
+    val a00 = m.m00 * s0
+    val a10 = m.m10 * s0
+    val a20 = m.m20 * s0
+    val a01 = m.m01 * s1
+    val a11 = m.m11 * s1
+    val a21 = m.m21 * s1
+    val a02 = m.m02 * s2
+    val a12 = m.m12 * s2
+    val a22 = m.m22 * s2
+    DualQuatf(Vec3f(m.m03, m.m13, m.m23), Quatf.fromBasis(a00, a01, a02, a10, a11, a12, a20, a21, a22))
+  }
+
+  /**
+   * Computes the dual quaternion linear blending (DLB) of the given dual quaternions by the given weights and returns the result.
+   *
+   * Dual quaternions whose real part is in the opposite hemisphere of the real part of the first one are negated before blending, so that the blend takes the shortest path.
+   *
+   * @param dualQuats The dual quaternions to blend. Must be normalized.
+   * @param weights The weight of each dual quaternion.
+   * @return The normalized weighted sum of the given dual quaternions.
+   */
+  def blend(dualQuats: Array[DualQuatf], weights: Array[Float]): DualQuatf = {
+    require(dualQuats.nonEmpty && dualQuats.length == weights.length, "There must be one weight for each dual quaternion")
+    val pivot = dualQuats(0).real
+    var rw, rx, ry, rz, dw, dx, dy, dz = 0.0f
+    var i = 0
+    while(i < dualQuats.length) {
+      val d = dualQuats(i)
+      val w = if(pivot.dot(d.real) < 0.0f) -weights(i) else weights(i)
+      rw += d.real.w * w
+      rx += d.real.x * w
+      ry += d.real.y * w
+      rz += d.real.z * w
+      dw += d.dual.w * w
+      dx += d.dual.x * w
+      dy += d.dual.y * w
+      dz += d.dual.z * w
+      i += 1
+    }
+    DualQuatf(Quatf(rw, rx, ry, rz), Quatf(dw, dx, dy, dz)).normalized
+  }
+
+  /**
+   * Implicit conversion from float dual quaternion to double dual quaternion.
+   */
+  implicit val toDouble: DualQuatf => DualQuatd = d => d.toDouble
+}
@@ -0,0 +1,323 @@
+package io.github.scalamath.vecmatlib
+
+/**
+ * A view frustum defined by six planes.
+ *
+ * The planes are extracted from a view-projection matrix using the Gribb-Hartmann method and are normalized so that their normals point inside the frustum.
+ * The matrix is expected to map the frustum to the clip space cube `[-1, 1]` on all axes, like the matrices built by [[Mat4f.perspectiveProjection]] and [[Mat4f.orthographicProjection]].
+ *
+ * Intersection tests are conservative: an object is only rejected if it is entirely outside one of the planes.
+ * Objects close to the corners of the frustum may be reported as visible even if they are outside.
+ *
+ * Batch culling methods read packed arrays of bounding volumes and write the result in a bitmask stored in an array of longs, where bit `i % 64` of element `i / 64` is set if object `i` is visible.
+ * The overloads that accept an array of plane indices remember which plane last rejected each object and test that plane first in the next call.
+ * Since objects that are outside of the frustum in one frame are likely to be outside of the same plane in the next one, this usually allows to reject them with a single test.
+ *
+ * @constructor Constructs a frustum from the six planes in the given array.
+ * @param planes Array containing the normal and the distance of the six planes.
+ */
+class Frustum private(private val planes: Array[Float]) {
+
+  /**
+   * Returns the plane at the given index.
+   *
+   * The `x`, `y`, and `z` components of the returned vector are the unit normal of the plane, which points inside the frustum, and the `w` component is its signed distance from the origin.
+   * A point `p` is on the inner side of the plane if `plane.xyz.dot(p) + plane.w >= 0`.
+   *
+   * @param i The index of the plane, one of [[Frustum.Left]], [[Frustum.Right]], [[Frustum.Bottom]], [[Frustum.Top]], [[Frustum.Near]], or [[Frustum.Far]].
+   * @return The plane at the given index.
+   * @throws IllegalArgumentException If the given index is not between 0 and 5.
+   */
+  def plane(i: Int): Vec4f = {
+    require(i >= 0 && i < 6, s"Invalid plane index $i")
+    Vec4f(this.planes(i * 4), this.planes(i * 4 + 1), this.planes(i * 4 + 2), this.planes(i * 4 + 3))
+  }
+
+  private def distance(plane: Int, x: Float, y: Float, z: Float): Float = {
+    val p = plane * 4
+    this.planes(p) * x + this.planes(p + 1) * y + this.planes(p + 2) * z + this.planes(p + 3)
+  }
+
+  /**
+   * Checks if the given point is inside this frustum.
+   *
+   * @param x The x coordinate of the point.
+   * @param y The y coordinate of the point.
+   * @param z The z coordinate of the point.
+   * @return True if the given point is inside this frustum, otherwise false.
+   */
+  def containsPoint(x: Float, y: Float, z: Float): Boolean = {
+    var plane = 0
+    while(plane < 6) {
+      if(this.distance(plane, x, y, z) < 0.0f) {
+        return false
+      }
+      plane += 1
+    }
+    true
+  }
+
+  /**
+   * Checks if the given point is inside this frustum.
+   *
+   * @param p The point.
+   * @return True if the given point is inside this frustum, otherwise false.
+   */
+  def containsPoint(p: Vec3f): Boolean = this.containsPoint(p.x, p.y, p.z)
+
+  private def sphereOutside(plane: Int, x: Float, y: Float, z: Float, radius: Float): Boolean = {
+    this.distance(plane, x, y, z) < -radius
+  }
+
+  /**
+   * Checks if the given sphere is inside or intersects this frustum.
+   *
+   * @param x The x coordinate of the center of the sphere.
+   * @param y The y coordinate of the center of the sphere.
+   * @param z The z coordinate of the center of the sphere.
+   * @param radius The radius of the sphere.
+   * @return True if the given sphere is not entirely outside one of the planes of this frustum, otherwise false.
+   */
+  def intersectsSphere(x: Float, y: Float, z: Float, radius: Float): Boolean = {
+    var plane = 0
+    while(plane < 6) {
+      if(this.sphereOutside(plane, x, y, z, radius)) {
+        return false
+      }
+      plane += 1
+    }
+    true
+  }
+
+  /**
+   * Checks if the given sphere is inside or intersects this frustum.
+   *
+   * @param center The center of the sphere.
+   * @param radius The radius of the sphere.
+   * @return True if the given sphere is not entirely outside one of the planes of this frustum, otherwise false.
+   */
+  def intersectsSphere(center: Vec3f, radius: Float): Boolean = this.intersectsSphere(center.x, center.y, center.z, radius)
+
+  private def aabbOutside(plane: Int, minX: Float, minY: Float, minZ: Float, maxX: Float, maxY: Float, maxZ: Float): Boolean = {
+    // Test the corner of the box that is the furthest along the normal of the plane
+    val p = plane * 4
+    this.distance(
+      plane,
+      if(this.planes(p) >= 0.0f) maxX else minX,
+      if(this.planes(p + 1) >= 0.0f) maxY else minY,
+      if(this.planes(p + 2) >= 0.0f) maxZ else minZ
+    ) < 0.0f
+  }
+
+  /**
+   * Checks if the given axis-aligned bounding box is inside or intersects this frustum.
+   *
+   * @param minX The minimum x coordinate of the box.
+   * @param minY The minimum y coordinate of the box.
+   * @param minZ The minimum z coordinate of the box.
+   * @param maxX The maximum x coordinate of the box.
+   * @param maxY The maximum y coordinate of the box.
+   * @param maxZ The maximum z coordinate of the box.
+   * @return True if the given box is not entirely outside one of the planes of this frustum, otherwise false.
+   */
+  def intersectsAabb(minX: Float, minY: Float, minZ: Float, maxX: Float, maxY: Float, maxZ: Float): Boolean = {
+    var plane = 0
+    while(plane < 6) {
+      if(this.aabbOutside(plane, minX, minY, minZ, maxX, maxY, maxZ)) {
+        return false
+      }
+      plane += 1
+    }
+    true
+  }
+
+  /**
+   * Checks if the given axis-aligned bounding box is inside or intersects this frustum.
+   *
+   * @param min The minimum corner of the box.
+   * @param max The maximum corner of the box.
+   * @return True if the given box is not entirely outside one of the planes of this frustum, otherwise false.
+   */
+  def intersectsAabb(min: Vec3f, max: Vec3f): Boolean = this.intersectsAabb(min.x, min.y, min.z, max.x, max.y, max.z)
+
+  /**
+   * Culls the packed spheres in the given array against this frustum.
+   *
+   * The array contains the center and the radius of each sphere in the order `x, y, z, radius`.
+   * Only the bits of the result corresponding to the given range are modified.
+   *
+   * @param spheres The array containing the spheres.
+   * @param offset The index of the first sphere to test.
+   * @param count The number of spheres to test.
+   * @param result The bitmask in which bit `i % 64` of element `i / 64` is set if sphere `i` is visible and cleared otherwise.
+   * @return The number of visible spheres.
+   */
+  def cullSpheres(spheres: Array[Float], offset: Int, count: Int, result: Array[Long]): Int = {
+    this.cullSpheres(spheres, offset, count, result, null)
+  }
+
+  /**
+   * Culls the packed spheres in the given array against this frustum testing the plane that last rejected each sphere first.
+   *
+   * The array contains the center and the radius of each sphere in the order `x, y, z, radius`.
+   * Only the bits of the result corresponding to the given range are modified.
+   *
+   * @param spheres The array containing the spheres.
+   * @param offset The index of the first sphere to test.
+   * @param count The number of spheres to test.
+   * @param result The bitmask in which bit `i % 64` of element `i / 64` is set if sphere `i` is visible and cleared otherwise.
+   * @param lastPlanes Array containing the index of the plane that last rejected each sphere. Updated with the rejecting plane of the spheres that are not visible. Can be initialized with zeros.
+   * @return The number of visible spheres.
+   */
+  def cullSpheres(spheres: Array[Float], offset: Int, count: Int, result: Array[Long], lastPlanes: Array[Byte]): Int = {
+    var visible = 0
+    var i = offset
+    while(i < offset + count) {
+      val s = i * 4
+      val x = spheres(s)
+      val y = spheres(s + 1)
+      val z = spheres(s + 2)
+      val radius = spheres(s + 3)
+      val first = if(lastPlanes != null) lastPlanes(i).toInt else 0
+      var rejecting = -1
+      if(this.sphereOutside(first, x, y, z, radius)) {
+        rejecting = first
+      } else {
+        var plane = 0
+        while(plane < 6 && rejecting < 0) {
+          if(plane != first && this.sphereOutside(plane, x, y, z, radius)) {
+            rejecting = plane
+          }
+          plane += 1
+        }
+      }
+      visible += Frustum.store(result, lastPlanes, i, rejecting)
+      i += 1
+    }
+    visible
+  }
+
+  /**
+   * Culls the packed axis-aligned bounding boxes in the given array against this frustum.
+   *
+   * The array contains the minimum and the maximum corner of each box in the order `minX, minY, minZ, maxX, maxY, maxZ`.
+   * Only the bits of the result corresponding to the given range are modified.
+   *
+   * @param boxes The array containing the boxes.
+   * @param offset The index of the first box to test.
+   * @param count The number of boxes to test.
+   * @param result The bitmask in which bit `i % 64` of element `i / 64` is set if box `i` is visible and cleared otherwise.
+   * @return The number of visible boxes.
+   */
+  def cullAabbs(boxes: Array[Float], offset: Int, count: Int, result: Array[Long]): Int = {
+    this.cullAabbs(boxes, offset, count, result, null)
+  }
+
+  /**
+   * Culls the packed axis-aligned bounding boxes in the given array against this frustum testing the plane that last rejected each box first.
+   *
+   * The array contains the minimum and the maximum corner of each box in the order `minX, minY, minZ, maxX, maxY, maxZ`.
+   * Only the bits of the result corresponding to the given range are modified.
+   *
+   * @param boxes The array containing the boxes.
+   * @param offset The index of the first box to test.
+   * @param count The number of boxes to test.
+   * @param result The bitmask in which bit `i % 64` of element `i / 64` is set if box `i` is visible and cleared otherwise.
+   * @param lastPlanes Array containing the index of the plane that last rejected each box. Updated with the rejecting plane of the boxes that are not visible. Can be initialized with zeros.
+   * @return The number of visible boxes.
+   */
+  def cullAabbs(boxes: Array[Float], offset: Int, count: Int, result: Array[Long], lastPlanes: Array[Byte]): Int = {
+    var visible = 0
+    var i = offset
+    while(i < offset + count) {
+      val b = i * 6
+      val minX = boxes(b)
+      val minY = boxes(b + 1)
+      val minZ = boxes(b + 2)
+      val maxX = boxes(b + 3)
+      val maxY = boxes(b + 4)
+      val maxZ = boxes(b + 5)
+      val first = if(lastPlanes != null) lastPlanes(i).toInt else 0
+      var rejecting = -1
+      if(this.aabbOutside(first, minX, minY, minZ, maxX, maxY, maxZ)) {
+        rejecting = first
+      } else {
+        var plane = 0
+        while(plane < 6 && rejecting < 0) {
+          if(plane != first && this.aabbOutside(plane, minX, minY, minZ, maxX, maxY, maxZ)) {
+            rejecting = plane
+          }
+          plane += 1
+        }
+      }
+      visible += Frustum.store(result, lastPlanes, i, rejecting)
+      i += 1
+    }
+    visible
+  }
+
+  /**
+   * Returns a string representation of this frustum.
+   *
+   * @return A string representation of this frustum.
+   */
+  override def toString: String = (0 until 6).map(this.plane).mkString("Frustum(", ", ", ")")
+}
+
+/**
+ * Allows to extract a frustum from a view-projection matrix.
+ */
+object Frustum {
+
+  /** Index of the left plane. */
+  val Left = 0
+  /** Index of the right plane. */
+  val Right = 1
+  /** Index of the bottom plane. */
+  val Bottom = 2
+  /** Index of the top plane. */
+  val Top = 3
+  /** Index of the near plane. */
+  val Near = 4
+  /** Index of the far plane. */
+  val Far = 5
+
+  /**
+   * Extracts the frustum planes from the given view-projection matrix.
+   *
+   * @param m The view-projection matrix, usually a projection matrix multiplied by a view matrix.
+   * @return The frustum defined by the given matrix.
+   */
+  def apply(m: Mat4f): Frustum = {
+    val planes = new Array[Float](24)
+    setPlane(planes, Left, m.m30 + m.m00, m.m31 + m.m01, m.m32 + m.m02, m.m33 + m.m03)
+    setPlane(planes, Right, m.m30 - m.m00, m.m31 - m.m01, m.m32 - m.m02, m.m33 - m.m03)
+    setPlane(planes, Bottom, m.m30 + m.m10, m.m31 + m.m11, m.m32 + m.m12, m.m33 + m.m13)
+    setPlane(planes, Top, m.m30 - m.m10, m.m31 - m.m11, m.m32 - m.m12, m.m33 - m.m13)
+    setPlane(planes, Near, m.m30 + m.m20, m.m31 + m.m21, m.m32 + m.m22, m.m33 + m.m23)
+    setPlane(planes, Far, m.m30 - m.m20, m.m31 - m.m21, m.m32 - m.m22, m.m33 - m.m23)
+    new Frustum(planes)
+  }
+
+  private def setPlane(planes: Array[Float], i: Int, a: Float, b: Float, c: Float, d: Float): Unit = {
+    val length = math.sqrt(a * a + b * b + c * c).toFloat
+    planes(i * 4) = a / length
+    planes(i * 4 + 1) = b / length
+    planes(i * 4 + 2) = c / length
+    planes(i * 4 + 3) = d / length
+  }
+
+  private def store(result: Array[Long], lastPlanes: Array[Byte], i: Int, rejecting: Int): Int = {
+    val bit = 1L << (i & 63)
+    if(rejecting < 0) {
+      result(i >>> 6) |= bit
+      1
+    } else {
+      result(i >>> 6) &= ~bit
+      if(lastPlanes != null) {
+        lastPlanes(i) = rejecting.toByte
+      }
+      0
+    }
+  }
+}
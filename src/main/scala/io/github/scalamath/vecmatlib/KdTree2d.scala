@@ -0,0 +1,519 @@
+package io.github.scalamath.vecmatlib
+
+import java.util.concurrent.{ForkJoinPool, ForkJoinTask, RecursiveAction}
+import java.util.function.IntConsumer
+
+/**
+ * A static k-d tree over a set of 2D points using double precision to find the nearest neighbours of a point and the points within a given radius.
+ *
+ * The tree is stored implicitly in a copy of the points, which is reordered so that the point in the middle of each range is the median of that range along the split axis of the node.
+ * Each node is split along the axis on which its points are most spread out.
+ * Since the tree is balanced, its depth is logarithmic in the number of points, therefore queries can safely be recursive.
+ *
+ * Points are identified by their index in the array from which the tree was built.
+ * Queries write their results into arrays given by the caller or pass them to a given action and do not allocate.
+ * They do not modify the tree and can be run from multiple threads at the same time.
+ *
+ * @constructor Constructs a tree from already sorted points. Use [[KdTree2d.apply]] to build one.
+ */
+class KdTree2d private(private val points: Array[Double], private val indices: Array[Int], private val axes: Array[Byte]) {
+
+  /**
+   * Returns the number of points in this tree.
+   *
+   * @return The number of points in this tree.
+   */
+  def size: Int = this.indices.length
+
+  private def distanceSquared(i: Int, x: Double, y: Double): Double = {
+    val dx = this.points(i * 2) - x
+    val dy = this.points(i * 2 + 1) - y
+    dx * dx + dy * dy
+  }
+
+  /**
+   * Finds the point closest to the given one.
+   *
+   * @param x The x coordinate of the query point.
+   * @param y The y coordinate of the query point.
+   * @return The index of the closest point or `-1` if the tree is empty.
+   */
+  def nearest(x: Double, y: Double): Int = {
+    if(this.size == 0) -1 else this.indices(this.searchNearest(0, this.size, x, y, -1))
+  }
+
+  /**
+   * Finds the point closest to the given one.
+   *
+   * @param p The query point.
+   * @return The index of the closest point or `-1` if the tree is empty.
+   */
+  def nearest(p: Vec2d): Int = this.nearest(p.x, p.y)
+
+  // Returns the position in the sorted array of the closest point found so far
+  private def searchNearest(start: Int, end: Int, x: Double, y: Double, closest: Int): Int = {
+    var best = closest
+    var bestDistance = if(best < 0) Double.PositiveInfinity else this.distanceSquared(best, x, y)
+    if(end - start <= KdTree2d.LeafSize) {
+      var i = start
+      while(i < end) {
+        val d = this.distanceSquared(i, x, y)
+        if(d < bestDistance) {
+          best = i
+          bestDistance = d
+        }
+        i += 1
+      }
+      best
+    } else {
+      val mid = (start + end) >>> 1
+      val d = this.distanceSquared(mid, x, y)
+      if(d < bestDistance) {
+        best = mid
+        bestDistance = d
+      }
+      val diff = (if(this.axes(mid) == 0) x else y) - this.points(mid * 2 + this.axes(mid))
+      if(diff < 0.0) {
+        best = this.searchNearest(start, mid, x, y, best)
+        if(diff * diff < this.distanceSquared(best, x, y)) {
+          best = this.searchNearest(mid + 1, end, x, y, best)
+        }
+      } else {
+        best = this.searchNearest(mid + 1, end, x, y, best)
+        if(diff * diff < this.distanceSquared(best, x, y)) {
+          best = this.searchNearest(start, mid, x, y, best)
+        }
+      }
+      best
+    }
+  }
+
+  /**
+   * Finds the `k` points closest to the given one.
+   *
+   * The results are sorted from the closest to the furthest.
+   *
+   * @param x The x coordinate of the query point.
+   * @param y The y coordinate of the query point.
+   * @param k The number of points to find. Must not be negative.
+   * @param result The array in which the indices of the closest points are stored. Must have a length of at least `k`.
+   * @param distancesSquared The array in which the squared distances of the closest points are stored. Must have a length of at least `k`.
+   * @return The number of points found, which is the minimum between `k` and the size of this tree.
+   */
+  def nearest(x: Double, y: Double, k: Int, result: Array[Int], distancesSquared: Array[Double]): Int = {
+    this.approximateNearest(x, y, k, result, distancesSquared, Int.MaxValue)
+  }
+
+  /**
+   * Finds the `k` points closest to the given one.
+   *
+   * The results are sorted from the closest to the furthest.
+   *
+   * @param p The query point.
+   * @param k The number of points to find. Must not be negative.
+   * @param result The array in which the indices of the closest points are stored. Must have a length of at least `k`.
+   * @param distancesSquared The array in which the squared distances of the closest points are stored. Must have a length of at least `k`.
+   * @return The number of points found, which is the minimum between `k` and the size of this tree.
+   */
+  def nearest(p: Vec2d, k: Int, result: Array[Int], distancesSquared: Array[Double]): Int = {
+    this.nearest(p.x, p.y, k, result, distancesSquared)
+  }
+
+  /**
+   * Finds `k` points close to the given one by visiting a bounded number of nodes.
+   *
+   * The nodes on the path from the root to the leaf containing the query point are always visited.
+   * After that, nodes on the other side of a split are only visited until the given number of visits is reached.
+   * Since nodes closer to the query point are visited first, the result is a good approximation of the exact one for a fraction of the cost.
+   *
+   * The results are sorted from the closest to the furthest.
+   *
+   * @param x The x coordinate of the query point.
+   * @param y The y coordinate of the query point.
+   * @param k The number of points to find. Must not be negative.
+   * @param result The array in which the indices of the points are stored. Must have a length of at least `k`.
+   * @param distancesSquared The array in which the squared distances of the points are stored. Must have a length of at least `k`.
+   * @param maxVisits The maximum number of nodes to visit.
+   * @return The number of points found, which is the minimum between `k` and the size of this tree.
+   */
+  def approximateNearest(x: Double, y: Double, k: Int, result: Array[Int], distancesSquared: Array[Double], maxVisits: Int): Int = {
+    require(k >= 0, "The number of points must not be negative")
+    require(result.length >= k && distancesSquared.length >= k, "The result arrays must have a length of at least k")
+    if(k == 0 || this.size == 0) {
+      return 0
+    }
+    val count = (this.searchNearest(0, this.size, x, y, k, result, distancesSquared, maxVisits, 0L) & 0xFFFFFFFFL).toInt
+    // The results are stored in a max-heap, sort them with an in-place heap sort
+    var n = count - 1
+    while(n > 0) {
+      KdTree2d.swap(result, distancesSquared, 0, n)
+      KdTree2d.siftDown(result, distancesSquared, 0, n)
+      n -= 1
+    }
+    count
+  }
+
+  /**
+   * Finds `k` points close to the given one by visiting a bounded number of nodes.
+   *
+   * @param p The query point.
+   * @param k The number of points to find. Must not be negative.
+   * @param result The array in which the indices of the points are stored. Must have a length of at least `k`.
+   * @param distancesSquared The array in which the squared distances of the points are stored. Must have a length of at least `k`.
+   * @param maxVisits The maximum number of nodes to visit.
+   * @return The number of points found, which is the minimum between `k` and the size of this tree.
+   * @see [[approximateNearest]]
+   */
+  def approximateNearest(p: Vec2d, k: Int, result: Array[Int], distancesSquared: Array[Double], maxVisits: Int): Int = {
+    this.approximateNearest(p.x, p.y, k, result, distancesSquared, maxVisits)
+  }
+
+  // The state is the number of results in the lower 32 bits and the number of visited nodes in the upper 32 bits
+  private def searchNearest(start: Int, end: Int, x: Double, y: Double, k: Int, result: Array[Int], distancesSquared: Array[Double], maxVisits: Int, state: Long): Long = {
+    var count = (state & 0xFFFFFFFFL).toInt
+    val visits = (state >>> 32) + 1
+    if(end - start <= KdTree2d.LeafSize) {
+      var i = start
+      while(i < end) {
+        count = this.offer(i, x, y, k, result, distancesSquared, count)
+        i += 1
+      }
+      (visits << 32) | count
+    } else {
+      val mid = (start + end) >>> 1
+      count = this.offer(mid, x, y, k, result, distancesSquared, count)
+      val diff = (if(this.axes(mid) == 0) x else y) - this.points(mid * 2 + this.axes(mid))
+      val nearStart = if(diff < 0.0) start else mid + 1
+      val nearEnd = if(diff < 0.0) mid else end
+      var next = this.searchNearest(nearStart, nearEnd, x, y, k, result, distancesSquared, maxVisits, (visits << 32) | count)
+      count = (next & 0xFFFFFFFFL).toInt
+      if((next >>> 32) < maxVisits && (count < k || diff * diff < distancesSquared(0))) {
+        val farStart = if(diff < 0.0) mid + 1 else start
+        val farEnd = if(diff < 0.0) end else mid
+        next = this.searchNearest(farStart, farEnd, x, y, k, result, distancesSquared, maxVisits, next)
+      }
+      next
+    }
+  }
+
+  // Adds the point at the given position to the heap if it is closer than the furthest one and returns the new size of the heap
+  private def offer(i: Int, x: Double, y: Double, k: Int, result: Array[Int], distancesSquared: Array[Double], count: Int): Int = {
+    val d = this.distanceSquared(i, x, y)
+    if(count < k) {
+      var child = count
+      while(child > 0 && distancesSquared((child - 1) / 2) < d) {
+        val parent = (child - 1) / 2
+        result(child) = result(parent)
+        distancesSquared(child) = distancesSquared(parent)
+        child = parent
+      }
+      result(child) = this.indices(i)
+      distancesSquared(child) = d
+      count + 1
+    } else {
+      if(d < distancesSquared(0)) {
+        result(0) = this.indices(i)
+        distancesSquared(0) = d
+        KdTree2d.siftDown(result, distancesSquared, 0, count)
+      }
+      count
+    }
+  }
+
+  /**
+   * Finds all the points whose distance from the given point is less than or equal to the given radius.
+   *
+   * @param x The x coordinate of the center of the query.
+   * @param y The y coordinate of the center of the query.
+   * @param radius The radius of the query.
+   * @param action The action invoked with the index of each point within the given radius, in no particular order.
+   */
+  def queryRadius(x: Double, y: Double, radius: Double, action: IntConsumer): Unit = {
+    if(this.size > 0) {
+      this.searchRadius(0, this.size, x, y, radius * radius, action)
+    }
+  }
+
+  /**
+   * Finds all the points whose distance from the given point is less than or equal to the given radius.
+   *
+   * @param center The center of the query.
+   * @param radius The radius of the query.
+   * @param action The action invoked with the index of each point within the given radius, in no particular order.
+   */
+  def queryRadius(center: Vec2d, radius: Double, action: IntConsumer): Unit = this.queryRadius(center.x, center.y, radius, action)
+
+  private def searchRadius(start: Int, end: Int, x: Double, y: Double, radiusSquared: Double, action: IntConsumer): Unit = {
+    if(end - start <= KdTree2d.LeafSize) {
+      var i = start
+      while(i < end) {
+        if(this.distanceSquared(i, x, y) <= radiusSquared) {
+          action.accept(this.indices(i))
+        }
+        i += 1
+      }
+    } else {
+      val mid = (start + end) >>> 1
+      if(this.distanceSquared(mid, x, y) <= radiusSquared) {
+        action.accept(this.indices(mid))
+      }
+      val diff = (if(this.axes(mid) == 0) x else y) - this.points(mid * 2 + this.axes(mid))
+      if(diff <= 0.0 || diff * diff <= radiusSquared) {
+        this.searchRadius(start, mid, x, y, radiusSquared, action)
+      }
+      if(diff >= 0.0 || diff * diff <= radiusSquared) {
+        this.searchRadius(mid + 1, end, x, y, radiusSquared, action)
+      }
+    }
+  }
+
+  /**
+   * Finds all the points whose distance from the given point is less than or equal to the given radius and stores their indices in the given array.
+   *
+   * If more points than the length of the array are found, only the first ones are stored, but all of them are counted.
+   *
+   * @param x The x coordinate of the center of the query.
+   * @param y The y coordinate of the center of the query.
+   * @param radius The radius of the query.
+   * @param result The array in which the indices of the points are stored, in no particular order.
+   * @return The number of points within the given radius, which may be greater than the length of the array.
+   */
+  def queryRadius(x: Double, y: Double, radius: Double, result: Array[Int]): Int = {
+    if(this.size == 0) 0 else this.searchRadius(0, this.size, x, y, radius * radius, result, 0)
+  }
+
+  /**
+   * Finds all the points whose distance from the given point is less than or equal to the given radius and stores their indices in the given array.
+   *
+   * If more points than the length of the array are found, only the first ones are stored, but all of them are counted.
+   *
+   * @param center The center of the query.
+   * @param radius The radius of the query.
+   * @param result The array in which the indices of the points are stored, in no particular order.
+   * @return The number of points within the given radius, which may be greater than the length of the array.
+   */
+  def queryRadius(center: Vec2d, radius: Double, result: Array[Int]): Int = this.queryRadius(center.x, center.y, radius, result)
+
+  private def searchRadius(start: Int, end: Int, x: Double, y: Double, radiusSquared: Double, result: Array[Int], count: Int): Int = {
+    var found = count
+    if(end - start <= KdTree2d.LeafSize) {
+      var i = start
+      while(i < end) {
+        if(this.distanceSquared(i, x, y) <= radiusSquared) {
+          if(found < result.length) {
+            result(found) = this.indices(i)
+          }
+          found += 1
+        }
+        i += 1
+      }
+    } else {
+      val mid = (start + end) >>> 1
+      if(this.distanceSquared(mid, x, y) <= radiusSquared) {
+        if(found < result.length) {
+          result(found) = this.indices(mid)
+        }
+        found += 1
+      }
+      val diff = (if(this.axes(mid) == 0) x else y) - this.points(mid * 2 + this.axes(mid))
+      if(diff <= 0.0 || diff * diff <= radiusSquared) {
+        found = this.searchRadius(start, mid, x, y, radiusSquared, result, found)
+      }
+      if(diff >= 0.0 || diff * diff <= radiusSquared) {
+        found = this.searchRadius(mid + 1, end, x, y, radiusSquared, result, found)
+      }
+    }
+    found
+  }
+}
+
+/**
+ * Allows to build a k-d tree.
+ */
+object KdTree2d {
+
+  /** Maximum number of points in a leaf, which is searched linearly. */
+  private val LeafSize = 8
+  /** Minimum number of points in a subtree for it to be built in parallel. */
+  private val ParallelThreshold = 1 << 14
+
+  /**
+   * Builds a k-d tree over the given points.
+   *
+   * Subtrees with many points are built in parallel in the given pool.
+   *
+   * @param points The array containing the points in the order `x, y`. The array is copied.
+   * @param count The number of points in the array.
+   * @param pool The pool in which large subtrees are built in parallel.
+   * @return The k-d tree over the given points.
+   */
+  def apply(points: Array[Double], count: Int, pool: ForkJoinPool): KdTree2d = {
+    require(count >= 0 && points.length >= count * 2, "The array must contain the given number of points")
+    val data = java.util.Arrays.copyOf(points, count * 2)
+    val indices = Array.range(0, count)
+    val axes = new Array[Byte](count)
+    if(count < ParallelThreshold) {
+      build(data, indices, axes, 0, count)
+    } else {
+      pool.invoke(new BuildAction(data, indices, axes, 0, count))
+    }
+    new KdTree2d(data, indices, axes)
+  }
+
+  /**
+   * Builds a k-d tree over the given points using the common pool to build large subtrees in parallel.
+   *
+   * @param points The array containing the points in the order `x, y`. The array is copied.
+   * @param count The number of points in the array.
+   * @return The k-d tree over the given points.
+   */
+  def apply(points: Array[Double], count: Int): KdTree2d = this.apply(points, count, ForkJoinPool.commonPool())
+
+  /**
+   * Builds a k-d tree over the given points using the common pool to build large subtrees in parallel.
+   *
+   * @param points The points.
+   * @return The k-d tree over the given points.
+   */
+  def apply(points: Array[Vec2d]): KdTree2d = {
+    val data = new Array[Double](points.length * 2)
+    var i = 0
+    while(i < points.length) {
+      data(i * 2) = points(i).x
+      data(i * 2 + 1) = points(i).y
+      i += 1
+    }
+    this.apply(data, points.length)
+  }
+
+  /**
+   * Builds a k-d tree over the points in the given buffer using the common pool to build large subtrees in parallel.
+   *
+   * @param points The buffer containing the points.
+   * @return The k-d tree over the given points.
+   */
+  def apply(points: Vec2dBuffer): KdTree2d = {
+    val data = new Array[Double](points.size * 2)
+    var i = 0
+    while(i < points.size) {
+      data(i * 2) = points.x(i)
+      data(i * 2 + 1) = points.y(i)
+      i += 1
+    }
+    this.apply(data, points.size)
+  }
+
+  private def swap(result: Array[Int], distancesSquared: Array[Double], i: Int, j: Int): Unit = {
+    val index = result(i)
+    result(i) = result(j)
+    result(j) = index
+    val d = distancesSquared(i)
+    distancesSquared(i) = distancesSquared(j)
+    distancesSquared(j) = d
+  }
+
+  private def siftDown(result: Array[Int], distancesSquared: Array[Double], from: Int, count: Int): Unit = {
+    var parent = from
+    var child = parent * 2 + 1
+    while(child < count) {
+      if(child + 1 < count && distancesSquared(child + 1) > distancesSquared(child)) {
+        child += 1
+      }
+      if(distancesSquared(child) <= distancesSquared(parent)) {
+        return
+      }
+      swap(result, distancesSquared, parent, child)
+      parent = child
+      child = parent * 2 + 1
+    }
+  }
+
+  private def build(points: Array[Double], indices: Array[Int], axes: Array[Byte], start: Int, end: Int): Unit = {
+    if(end - start > LeafSize) {
+      val mid = split(points, indices, axes, start, end)
+      build(points, indices, axes, start, mid)
+      build(points, indices, axes, mid + 1, end)
+    }
+  }
+
+  /**
+   * Moves the median of the given range along the axis with the largest spread in the middle of the range and returns its position.
+   */
+  private def split(points: Array[Double], indices: Array[Int], axes: Array[Byte], start: Int, end: Int): Int = {
+    var minX, minY = Double.PositiveInfinity
+    var maxX, maxY = Double.NegativeInfinity
+    var i = start
+    while(i < end) {
+      minX = math.min(minX, points(i * 2))
+      minY = math.min(minY, points(i * 2 + 1))
+      maxX = math.max(maxX, points(i * 2))
+      maxY = math.max(maxY, points(i * 2 + 1))
+      i += 1
+    }
+    val axis = if(maxX - minX >= maxY - minY) 0 else 1
+    val mid = (start + end) >>> 1
+    select(points, indices, start, end - 1, mid, axis)
+    axes(mid) = axis.toByte
+    mid
+  }
+
+  /**
+   * Partially sorts the points between `lo` and `hi` included so that the point at position `k` is the one that would be there if the range was sorted along the given axis.
+   */
+  private def select(points: Array[Double], indices: Array[Int], lo: Int, hi: Int, k: Int, axis: Int): Unit = {
+    var left = lo
+    var right = hi
+    while(right > left) {
+      val pivot = points(((left + right) >>> 1) * 2 + axis)
+      var i = left
+      var j = right
+      while(i <= j) {
+        while(points(i * 2 + axis) < pivot) i += 1
+        while(points(j * 2 + axis) > pivot) j -= 1
+        if(i <= j) {
+          swapPoints(points, indices, i, j)
+          i += 1
+          j -= 1
+        }
+      }
+      // Points between j and i are equal to the pivot
+      if(k <= j) {
+        right = j
+      } else if(k >= i) {
+        left = i
+      } else {
+        return
+      }
+    }
+  }
+
+  private def swapPoints(points: Array[Double], indices: Array[Int], i: Int, j: Int): Unit = {
+    val index = indices(i)
+    indices(i) = indices(j)
+    indices(j) = index
+    val x = points(i * 2)
+    val y = points(i * 2 + 1)
+    points(i * 2) = points(j * 2)
+    points(i * 2 + 1) = points(j * 2 + 1)
+    points(j * 2) = x
+    points(j * 2 + 1) = y
+  }
+
+  /**
+   * Splits a range and builds its two halves in parallel if they are large enough.
+   */
+  private class BuildAction(points: Array[Double], indices: Array[Int], axes: Array[Byte], start: Int, end: Int) extends RecursiveAction {
+
+    override def compute(): Unit = {
+      if(end - start < ParallelThreshold) {
+        build(points, indices, axes, start, end)
+      } else {
+        val mid = split(points, indices, axes, start, end)
+        ForkJoinTask.invokeAll(
+          new BuildAction(points, indices, axes, start, mid),
+          new BuildAction(points, indices, axes, mid + 1, end)
+        )
+      }
+    }
+  }
+}
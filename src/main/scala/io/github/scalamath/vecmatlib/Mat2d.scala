@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import io.github.scalamath
 import io.github.scalamath.DoubleEqualsApprox
 
+import java.nio.{ByteBuffer, DoubleBuffer}
+
 /**
  * A 2x2 double matrix.
  *
@@ -190,7 +192,7 @@ case class Mat2d(m00: Double, m01: Double, m10: Double, m11: Double) {
    * @param v The vector to multiply this matrix by.
    * @return The product of this matrix by the given vector.
    */
-  def *(v: Vec2d): Vec2d = Vec2d(this.row0.dot(v), this.row1.dot(v))
+  def *(v: Vec2d): Vec2d = this * (v.x, v.y)
 
   /**
    * Multiplies this matrix by the given vector and returns the result.
@@ -209,7 +211,10 @@ case class Mat2d(m00: Double, m01: Double, m10: Double, m11: Double) {
    * @param y The vector's y component.
    * @return The product of this matrix by the vector with the given components.
    */
-  def *(x: Double, y: Double): Vec2d = this * Vec2d(x, y)
+  def *(x: Double, y: Double): Vec2d = Vec2d(
+    this.m00 * x + this.m01 * y,
+    this.m10 * x + this.m11 * y
+  )
 
   /**
    * Multiplies this matrix by the vector with the given components and returns the result.
@@ -229,8 +234,8 @@ case class Mat2d(m00: Double, m01: Double, m10: Double, m11: Double) {
    * @return The product between this matrix and the given one.
    */
   def *(m: Mat2d): Mat2d = Mat2d(
-    this.row0.dot(m.col0), this.row0.dot(m.col1),
-    this.row1.dot(m.col0), this.row1.dot(m.col1)
+    this.m00 * m.m00 + this.m01 * m.m10, this.m00 * m.m01 + this.m01 * m.m11,
+    this.m10 * m.m00 + this.m11 * m.m10, this.m10 * m.m01 + this.m11 * m.m11
   )
 
   /**
@@ -250,8 +255,8 @@ case class Mat2d(m00: Double, m01: Double, m10: Double, m11: Double) {
    * @return The product between this matrix and the given one.
    */
   def *(m: Mat2x3d): Mat2x3d = Mat2x3d(
-    this.row0.dot(m.col0), this.row0.dot(m.col1), this.row0.dot(m.col2),
-    this.row1.dot(m.col0), this.row1.dot(m.col1), this.row1.dot(m.col2)
+    this.m00 * m.m00 + this.m01 * m.m10, this.m00 * m.m01 + this.m01 * m.m11, this.m00 * m.m02 + this.m01 * m.m12,
+    this.m10 * m.m00 + this.m11 * m.m10, this.m10 * m.m01 + this.m11 * m.m11, this.m10 * m.m02 + this.m11 * m.m12
   )
 
   /**
@@ -322,7 +327,8 @@ case class Mat2d(m00: Double, m01: Double, m10: Double, m11: Double) {
   def inverse: Mat2d = this.adjugate / this.determinant
 
   /**
-   * Raises this matrix to the given power by multiplying it with itself `exp` times and returns the result.
+   * Raises this matrix to the given power and returns the result.
+   * The power is computed by repeated squaring, which only takes a number of matrix products proportional to the logarithm of the exponent.
    *
    * If the given exponent is zero, the result will be the identity matrix.
    *
@@ -334,13 +340,12 @@ case class Mat2d(m00: Double, m01: Double, m10: Double, m11: Double) {
    */
   def power(exp: Int): Mat2d = {
     if (exp < 0) {
-      this.inverse.power(-exp)
-    } else if (exp == 1) {
-      this
+      // The exponent is widened so that negating the smallest integer does not overflow
+      Mat2d.power(this.inverse, -exp.toLong)
     } else if (exp == 0) {
       Mat2d.Identity
     } else {
-      this * this.power(exp - 1)
+      Mat2d.power(this, exp)
     }
   }
 
@@ -465,6 +470,54 @@ case class Mat2d(m00: Double, m01: Double, m10: Double, m11: Double) {
    * @return This matrix cast to float.
    */
   def toFloat: Mat2f = Mat2f(this.m00.toFloat, this.m01.toFloat, this.m10.toFloat, this.m11.toFloat)
+
+  /**
+   * Writes the elements of this matrix into the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: DoubleBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m10)
+      buffer.put(offset + 2, this.m01)
+      buffer.put(offset + 3, this.m11)
+    } else {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m01)
+      buffer.put(offset + 2, this.m10)
+      buffer.put(offset + 3, this.m11)
+    }
+  }
+
+  /**
+   * Writes the elements of this matrix into the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.putDouble(offset, this.m00)
+      buffer.putDouble(offset + 8, this.m10)
+      buffer.putDouble(offset + 16, this.m01)
+      buffer.putDouble(offset + 24, this.m11)
+    } else {
+      buffer.putDouble(offset, this.m00)
+      buffer.putDouble(offset + 8, this.m01)
+      buffer.putDouble(offset + 16, this.m10)
+      buffer.putDouble(offset + 24, this.m11)
+    }
+  }
 }
 
 /**
@@ -568,4 +621,215 @@ object Mat2d {
      */
     def *(v: Mat2d): Mat2d = v * self
   }
+
+  /**
+   * Reads a matrix from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: DoubleBuffer, offset: Int, columnMajor: Boolean): Mat2d = {
+    if(columnMajor) {
+      Mat2d(
+        buffer.get(offset), buffer.get(offset + 2),
+        buffer.get(offset + 1), buffer.get(offset + 3)
+      )
+    } else {
+      Mat2d(
+        buffer.get(offset), buffer.get(offset + 1),
+        buffer.get(offset + 2), buffer.get(offset + 3)
+      )
+    }
+  }
+
+  /**
+   * Reads a matrix from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Mat2d = {
+    if(columnMajor) {
+      Mat2d(
+        buffer.getDouble(offset), buffer.getDouble(offset + 16),
+        buffer.getDouble(offset + 8), buffer.getDouble(offset + 24)
+      )
+    } else {
+      Mat2d(
+        buffer.getDouble(offset), buffer.getDouble(offset + 8),
+        buffer.getDouble(offset + 16), buffer.getDouble(offset + 24)
+      )
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given buffer one after the other, starting at the given index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat2d.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat2d], buffer: DoubleBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 4, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given byte buffer one after the other using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat2d.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat2d], buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 32, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads the given number of consecutive matrices from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: DoubleBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat2d] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 4, columnMajor))
+
+  /**
+   * Reads the given number of consecutive matrices from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: ByteBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat2d] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 32, columnMajor))
+
+  /**
+   * Raises the given matrix to the given positive power by repeated squaring.
+   *
+   * @param m The matrix.
+   * @param exp The exponent. Must be greater than zero.
+   * @return The given matrix raised to the given power.
+   */
+  private def power(m: Mat2d, exp: Long): Mat2d = {
+    var base = m
+    var e = exp
+    while((e & 1L) == 0L) {
+      base = base * base
+      e >>= 1
+    }
+    var result = base
+    e >>= 1
+    while(e > 0L) {
+      base = base * base
+      if((e & 1L) == 1L) {
+        result = result * base
+      }
+      e >>= 1
+    }
+    result
+  }
+
+  /**
+   * Raises the matrices in the given array to the given power and stores the result in the destination array.
+   * Equivalent to `m.power(exp)` for every matrix.
+   *
+   * The given arrays must contain tightly packed 2x2 matrices in row-major order, i.e. four consecutive values for each matrix.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the matrices.
+   * @param exp The exponent to raise the matrices to.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first matrix to raise.
+   * @param count The number of matrices to raise.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def powerPacked(src: Array[Double], exp: Int, dst: Array[Double], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      this.write(this.read(src, i * 4).power(exp), dst, i * 4)
+      i += 1
+    }
+  }
+
+  /**
+   * Raises the matrices in the given array to the powers in the given array and stores the result in the destination array.
+   * Equivalent to `m.power(exp)` for every matrix.
+   *
+   * The given arrays must contain tightly packed 2x2 matrices in row-major order, i.e. four consecutive values for each matrix.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the matrices.
+   * @param exps The array containing the exponent to raise each matrix to.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first matrix to raise.
+   * @param count The number of matrices to raise.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def powerPacked(src: Array[Double], exps: Array[Int], dst: Array[Double], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      this.write(this.read(src, i * 4).power(exps(i)), dst, i * 4)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads a matrix stored in row-major order from the given array.
+   *
+   * @param src The array containing the matrix.
+   * @param i The index of the first element of the matrix.
+   * @return The matrix read from the array.
+   */
+  private def read(src: Array[Double], i: Int): Mat2d = Mat2d(src(i), src(i + 1), src(i + 2), src(i + 3))
+
+  /**
+   * Stores the elements of the given matrix in the given array in row-major order.
+   *
+   * @param m The matrix to store.
+   * @param dst The array in which the matrix is stored.
+   * @param i The index at which the first element is stored.
+   */
+  private def write(m: Mat2d, dst: Array[Double], i: Int): Unit = {
+    dst(i) = m.m00
+    dst(i + 1) = m.m01
+    dst(i + 2) = m.m10
+    dst(i + 3) = m.m11
+  }
 }
@@ -1,5 +1,7 @@
 package io.github.scalamath.vecmatlib
 
+import java.nio.{ByteBuffer, IntBuffer}
+
 /**
  * A 2x2 int matrix.
  *
@@ -191,7 +193,7 @@ case class Mat2i(m00: Int, m01: Int, m10: Int, m11: Int) {
    * @param v The vector to multiply this matrix by.
    * @return The product of this matrix by the given vector.
    */
-  def *(v: Vec2i): Vec2i = Vec2i(this.row0.dot(v), this.row1.dot(v))
+  def *(v: Vec2i): Vec2i = this * (v.x, v.y)
 
   /**
    * Multiplies this matrix by the given vector and returns the result.
@@ -210,7 +212,10 @@ case class Mat2i(m00: Int, m01: Int, m10: Int, m11: Int) {
    * @param y The vector's y component.
    * @return The product of this matrix by the vector with the given components.
    */
-  def *(x: Int, y: Int): Vec2i = this * Vec2i(x, y)
+  def *(x: Int, y: Int): Vec2i = Vec2i(
+    this.m00 * x + this.m01 * y,
+    this.m10 * x + this.m11 * y
+  )
 
   /**
    * Multiplies this matrix by the vector with the given components and returns the result.
@@ -230,8 +235,8 @@ case class Mat2i(m00: Int, m01: Int, m10: Int, m11: Int) {
    * @return The product between this matrix and the given one.
    */
   def *(m: Mat2i): Mat2i = Mat2i(
-    this.row0.dot(m.col0), this.row0.dot(m.col1),
-    this.row1.dot(m.col0), this.row1.dot(m.col1)
+    this.m00 * m.m00 + this.m01 * m.m10, this.m00 * m.m01 + this.m01 * m.m11,
+    this.m10 * m.m00 + this.m11 * m.m10, this.m10 * m.m01 + this.m11 * m.m11
   )
 
   /**
@@ -251,8 +256,8 @@ case class Mat2i(m00: Int, m01: Int, m10: Int, m11: Int) {
    * @return The product between this matrix and the given one.
    */
   def *(m: Mat2x3i): Mat2x3i = Mat2x3i(
-    this.row0.dot(m.col0), this.row0.dot(m.col1), this.row0.dot(m.col2),
-    this.row1.dot(m.col0), this.row1.dot(m.col1), this.row1.dot(m.col2)
+    this.m00 * m.m00 + this.m01 * m.m10, this.m00 * m.m01 + this.m01 * m.m11, this.m00 * m.m02 + this.m01 * m.m12,
+    this.m10 * m.m00 + this.m11 * m.m10, this.m10 * m.m01 + this.m11 * m.m11, this.m10 * m.m02 + this.m11 * m.m12
   )
 
   /**
@@ -313,7 +318,8 @@ case class Mat2i(m00: Int, m01: Int, m10: Int, m11: Int) {
   )
 
   /**
-   * Raises this matrix to the given power by multiplying it with itself `exp` times and returns the result.
+   * Raises this matrix to the given power and returns the result.
+   * The power is computed by repeated squaring, which only takes a number of matrix products proportional to the logarithm of the exponent.
    *
    * If the given exponent is zero, the result will be the identity matrix.
    *
@@ -326,12 +332,10 @@ case class Mat2i(m00: Int, m01: Int, m10: Int, m11: Int) {
   def power(exp: Int): Mat2i = {
     if (exp < 0) {
       throw new IllegalArgumentException("Negative exponents are not allowed for integer matrices")
-    } else if (exp == 1) {
-      this
     } else if (exp == 0) {
       Mat2i.Identity
     } else {
-      this * this.power(exp - 1)
+      Mat2i.power(this, exp)
     }
   }
 
@@ -383,6 +387,54 @@ case class Mat2i(m00: Int, m01: Int, m10: Int, m11: Int) {
    * @return This matrix as a double matrix.
    */
   def toDouble: Mat2d = Mat2d(this.m00.toDouble, this.m01.toDouble, this.m10.toDouble, this.m11.toDouble)
+
+  /**
+   * Writes the elements of this matrix into the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: IntBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m10)
+      buffer.put(offset + 2, this.m01)
+      buffer.put(offset + 3, this.m11)
+    } else {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m01)
+      buffer.put(offset + 2, this.m10)
+      buffer.put(offset + 3, this.m11)
+    }
+  }
+
+  /**
+   * Writes the elements of this matrix into the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.putInt(offset, this.m00)
+      buffer.putInt(offset + 4, this.m10)
+      buffer.putInt(offset + 8, this.m01)
+      buffer.putInt(offset + 12, this.m11)
+    } else {
+      buffer.putInt(offset, this.m00)
+      buffer.putInt(offset + 4, this.m01)
+      buffer.putInt(offset + 8, this.m10)
+      buffer.putInt(offset + 12, this.m11)
+    }
+  }
 }
 
 /**
@@ -430,6 +482,150 @@ object Mat2i {
     def *(v: Mat2i): Mat2i = v * self
   }
 
+  /**
+   * Reads a matrix from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: IntBuffer, offset: Int, columnMajor: Boolean): Mat2i = {
+    if(columnMajor) {
+      Mat2i(
+        buffer.get(offset), buffer.get(offset + 2),
+        buffer.get(offset + 1), buffer.get(offset + 3)
+      )
+    } else {
+      Mat2i(
+        buffer.get(offset), buffer.get(offset + 1),
+        buffer.get(offset + 2), buffer.get(offset + 3)
+      )
+    }
+  }
+
+  /**
+   * Reads a matrix from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Mat2i = {
+    if(columnMajor) {
+      Mat2i(
+        buffer.getInt(offset), buffer.getInt(offset + 8),
+        buffer.getInt(offset + 4), buffer.getInt(offset + 12)
+      )
+    } else {
+      Mat2i(
+        buffer.getInt(offset), buffer.getInt(offset + 4),
+        buffer.getInt(offset + 8), buffer.getInt(offset + 12)
+      )
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given buffer one after the other, starting at the given index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat2i.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat2i], buffer: IntBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 4, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given byte buffer one after the other using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat2i.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat2i], buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 16, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads the given number of consecutive matrices from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: IntBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat2i] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 4, columnMajor))
+
+  /**
+   * Reads the given number of consecutive matrices from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: ByteBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat2i] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 16, columnMajor))
+
+  /**
+   * Raises the given matrix to the given positive power by repeated squaring.
+   *
+   * @param m The matrix.
+   * @param exp The exponent. Must be greater than zero.
+   * @return The given matrix raised to the given power.
+   */
+  private def power(m: Mat2i, exp: Long): Mat2i = {
+    var base = m
+    var e = exp
+    while((e & 1L) == 0L) {
+      base = base * base
+      e >>= 1
+    }
+    var result = base
+    e >>= 1
+    while(e > 0L) {
+      base = base * base
+      if((e & 1L) == 1L) {
+        result = result * base
+      }
+      e >>= 1
+    }
+    result
+  }
+
   /**
    * Implicit conversion from [[Mat2i]] to [[Mat2f]].
    */
@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import io.github.scalamath
 import io.github.scalamath.DoubleEqualsApprox
 
+import java.nio.{ByteBuffer, DoubleBuffer}
+
 /**
  * A 2x3 (two rows and three columns) double matrix.
  *
@@ -237,7 +239,7 @@ case class Mat2x3d(m00: Double, m01: Double, m02: Double, m10: Double, m11: Doub
    * @param v The vector to multiply this matrix by.
    * @return The product of this matrix by the given vector.
    */
-  def *(v: Vec3d): Vec2d = Vec2d(this.row0.dot(v), this.row1.dot(v))
+  def *(v: Vec3d): Vec2d = this * (v.x, v.y, v.z)
 
   /**
    * Multiplies this matrix by the given vector and returns the result.
@@ -257,7 +259,10 @@ case class Mat2x3d(m00: Double, m01: Double, m02: Double, m10: Double, m11: Doub
    * @param z The vector's z component.
    * @return The product of this matrix by the vector with the given components.
    */
-  def *(x: Double, y: Double, z: Double): Vec2d = this * Vec3d(x, y, z)
+  def *(x: Double, y: Double, z: Double): Vec2d = Vec2d(
+    this.m00 * x + this.m01 * y + this.m02 * z,
+    this.m10 * x + this.m11 * y + this.m12 * z
+  )
 
   /**
    * Multiplies this matrix by the vector with the given components and returns the result.
@@ -302,8 +307,8 @@ case class Mat2x3d(m00: Double, m01: Double, m02: Double, m10: Double, m11: Doub
    * @return The product between this matrix and the given one.
    */
   def *(m: Mat3d): Mat2x3d = Mat2x3d(
-    this.row0.dot(m.col0), this.row0.dot(m.col1), this.row0.dot(m.col2),
-    this.row1.dot(m.col0), this.row1.dot(m.col1), this.row1.dot(m.col2)
+    this.m00 * m.m00 + this.m01 * m.m10 + this.m02 * m.m20, this.m00 * m.m01 + this.m01 * m.m11 + this.m02 * m.m21, this.m00 * m.m02 + this.m01 * m.m12 + this.m02 * m.m22,
+    this.m10 * m.m00 + this.m11 * m.m10 + this.m12 * m.m20, this.m10 * m.m01 + this.m11 * m.m11 + this.m12 * m.m21, this.m10 * m.m02 + this.m11 * m.m12 + this.m12 * m.m22
   )
 
   /**
@@ -328,8 +333,8 @@ case class Mat2x3d(m00: Double, m01: Double, m02: Double, m10: Double, m11: Doub
    * @return The product between this matrix and the matrix with the given components.
    */
   def *(m: Mat2x3d, m20: Double, m21: Double, m22: Double): Mat2x3d = Mat2x3d(
-    this.row0.dot(m.col0, m20), this.row0.dot(m.col1, m21), this.row0.dot(m.col2, m22),
-    this.row1.dot(m.col0, m20), this.row1.dot(m.col1, m21), this.row1.dot(m.col2, m22)
+    this.m00 * m.m00 + this.m01 * m.m10 + this.m02 * m20, this.m00 * m.m01 + this.m01 * m.m11 + this.m02 * m21, this.m00 * m.m02 + this.m01 * m.m12 + this.m02 * m22,
+    this.m10 * m.m00 + this.m11 * m.m10 + this.m12 * m20, this.m10 * m.m01 + this.m11 * m.m11 + this.m12 * m21, this.m10 * m.m02 + this.m11 * m.m12 + this.m12 * m22
   )
 
   /**
@@ -371,6 +376,101 @@ case class Mat2x3d(m00: Double, m01: Double, m02: Double, m10: Double, m11: Doub
    */
   def multiply(m: Mat2x3d, v: Vec3d): Mat2x3d = this * (m, v)
 
+  /**
+   * Transforms the 2D points in the given array by this matrix and stores the result in the destination array.
+   * Equivalent to `m * (p, 1.0)` for every vector, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed 2D vectors, i.e. two consecutive values for each vector.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def transformPoints(src: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    val m00 = this.m00
+    val m01 = this.m01
+    val m02 = this.m02
+    val m10 = this.m10
+    val m11 = this.m11
+    val m12 = this.m12
+    var i = offset * 2
+    val end = (offset + count) * 2
+    while(i < end) {
+      val x = src(i)
+      val y = src(i + 1)
+      dst(i) = m00 * x + m01 * y + m02
+      dst(i + 1) = m10 * x + m11 * y + m12
+      i += 2
+    }
+  }
+
+  /**
+   * Transforms the 2D directions in the given array by this matrix and stores the result in the destination array.
+   * Directions are not affected by the translation part of the matrix.
+   * Equivalent to `m * (v, 0.0)` for every vector, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed 2D vectors, i.e. two consecutive values for each vector.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def transformDirections(src: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    val m00 = this.m00
+    val m01 = this.m01
+    val m10 = this.m10
+    val m11 = this.m11
+    var i = offset * 2
+    val end = (offset + count) * 2
+    while(i < end) {
+      val x = src(i)
+      val y = src(i + 1)
+      dst(i) = m00 * x + m01 * y
+      dst(i + 1) = m10 * x + m11 * y
+      i += 2
+    }
+  }
+
+  /**
+   * Multiplies this matrix by the 3D homogeneous vectors in the given array and stores the result in the destination array.
+   * Equivalent to `m * v` for every vector, but does not allocate any objects.
+   *
+   * The source array must contain tightly packed 3D vectors and the destination array will contain tightly packed 2D vectors.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def transform(src: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    val m00 = this.m00
+    val m01 = this.m01
+    val m02 = this.m02
+    val m10 = this.m10
+    val m11 = this.m11
+    val m12 = this.m12
+    var i = offset * 3
+    var j = offset * 2
+    val end = (offset + count) * 3
+    while(i < end) {
+      val x = src(i)
+      val y = src(i + 1)
+      val z = src(i + 2)
+      dst(j) = m00 * x + m01 * y + m02 * z
+      dst(j + 1) = m10 * x + m11 * y + m12 * z
+      i += 3
+      j += 2
+    }
+  }
+
   /**
    * Returns a submatrix of this matrix obtained by removing the column at the given index.
    *
@@ -529,6 +629,62 @@ case class Mat2x3d(m00: Double, m01: Double, m02: Double, m10: Double, m11: Doub
    * @return This matrix cast to float.
    */
   def toFloat: Mat2x3f = Mat2x3f(this.m00.toFloat, this.m01.toFloat, this.m02.toFloat, this.m10.toFloat, this.m11.toFloat, this.m12.toFloat)
+
+  /**
+   * Writes the elements of this matrix into the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: DoubleBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m10)
+      buffer.put(offset + 2, this.m01)
+      buffer.put(offset + 3, this.m11)
+      buffer.put(offset + 4, this.m02)
+      buffer.put(offset + 5, this.m12)
+    } else {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m01)
+      buffer.put(offset + 2, this.m02)
+      buffer.put(offset + 3, this.m10)
+      buffer.put(offset + 4, this.m11)
+      buffer.put(offset + 5, this.m12)
+    }
+  }
+
+  /**
+   * Writes the elements of this matrix into the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.putDouble(offset, this.m00)
+      buffer.putDouble(offset + 8, this.m10)
+      buffer.putDouble(offset + 16, this.m01)
+      buffer.putDouble(offset + 24, this.m11)
+      buffer.putDouble(offset + 32, this.m02)
+      buffer.putDouble(offset + 40, this.m12)
+    } else {
+      buffer.putDouble(offset, this.m00)
+      buffer.putDouble(offset + 8, this.m01)
+      buffer.putDouble(offset + 16, this.m02)
+      buffer.putDouble(offset + 24, this.m10)
+      buffer.putDouble(offset + 32, this.m11)
+      buffer.putDouble(offset + 40, this.m12)
+    }
+  }
 }
 
 /**
@@ -693,4 +849,122 @@ object Mat2x3d {
      */
     def *(v: Mat2x3d): Mat2x3d = v * self
   }
+
+  /**
+   * Reads a matrix from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: DoubleBuffer, offset: Int, columnMajor: Boolean): Mat2x3d = {
+    if(columnMajor) {
+      Mat2x3d(
+        buffer.get(offset), buffer.get(offset + 2), buffer.get(offset + 4),
+        buffer.get(offset + 1), buffer.get(offset + 3), buffer.get(offset + 5)
+      )
+    } else {
+      Mat2x3d(
+        buffer.get(offset), buffer.get(offset + 1), buffer.get(offset + 2),
+        buffer.get(offset + 3), buffer.get(offset + 4), buffer.get(offset + 5)
+      )
+    }
+  }
+
+  /**
+   * Reads a matrix from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Mat2x3d = {
+    if(columnMajor) {
+      Mat2x3d(
+        buffer.getDouble(offset), buffer.getDouble(offset + 16), buffer.getDouble(offset + 32),
+        buffer.getDouble(offset + 8), buffer.getDouble(offset + 24), buffer.getDouble(offset + 40)
+      )
+    } else {
+      Mat2x3d(
+        buffer.getDouble(offset), buffer.getDouble(offset + 8), buffer.getDouble(offset + 16),
+        buffer.getDouble(offset + 24), buffer.getDouble(offset + 32), buffer.getDouble(offset + 40)
+      )
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given buffer one after the other, starting at the given index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat2x3d.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat2x3d], buffer: DoubleBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 6, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given byte buffer one after the other using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat2x3d.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat2x3d], buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 48, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads the given number of consecutive matrices from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: DoubleBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat2x3d] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 6, columnMajor))
+
+  /**
+   * Reads the given number of consecutive matrices from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: ByteBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat2x3d] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 48, columnMajor))
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package io.github.scalamath.vecmatlib
 
+import java.nio.{ByteBuffer, IntBuffer}
+
 /**
  * A 2x3 (two rows and three columns) int matrix.
  *
@@ -236,7 +238,7 @@ case class Mat2x3i(m00: Int, m01: Int, m02: Int, m10: Int, m11: Int, m12: Int) {
    * @param v The vector to multiply this matrix by.
    * @return The product of this matrix by the given vector.
    */
-  def *(v: Vec3i): Vec2i = Vec2i(this.row0.dot(v), this.row1.dot(v))
+  def *(v: Vec3i): Vec2i = this * (v.x, v.y, v.z)
 
   /**
    * Multiplies this matrix by the given vector and returns the result.
@@ -256,7 +258,10 @@ case class Mat2x3i(m00: Int, m01: Int, m02: Int, m10: Int, m11: Int, m12: Int) {
    * @param z The vector's z component.
    * @return The product of this matrix by the vector with the given components.
    */
-  def *(x: Int, y: Int, z: Int): Vec2i = this * Vec3i(x, y, z)
+  def *(x: Int, y: Int, z: Int): Vec2i = Vec2i(
+    this.m00 * x + this.m01 * y + this.m02 * z,
+    this.m10 * x + this.m11 * y + this.m12 * z
+  )
 
   /**
    * Multiplies this matrix by the vector with the given components and returns the result.
@@ -297,8 +302,8 @@ case class Mat2x3i(m00: Int, m01: Int, m02: Int, m10: Int, m11: Int, m12: Int) {
    * @return The product between this matrix and the given one.
    */
   def *(m: Mat3i): Mat2x3i = Mat2x3i(
-    this.row0.dot(m.col0), this.row0.dot(m.col1), this.row0.dot(m.col2),
-    this.row1.dot(m.col0), this.row1.dot(m.col1), this.row1.dot(m.col2)
+    this.m00 * m.m00 + this.m01 * m.m10 + this.m02 * m.m20, this.m00 * m.m01 + this.m01 * m.m11 + this.m02 * m.m21, this.m00 * m.m02 + this.m01 * m.m12 + this.m02 * m.m22,
+    this.m10 * m.m00 + this.m11 * m.m10 + this.m12 * m.m20, this.m10 * m.m01 + this.m11 * m.m11 + this.m12 * m.m21, this.m10 * m.m02 + this.m11 * m.m12 + this.m12 * m.m22
   )
 
   /**
@@ -323,8 +328,8 @@ case class Mat2x3i(m00: Int, m01: Int, m02: Int, m10: Int, m11: Int, m12: Int) {
    * @return The product between this matrix and the matrix with the given components.
    */
   def *(m: Mat2x3i, m20: Int, m21: Int, m22: Int): Mat2x3i = Mat2x3i(
-    this.row0.dot(m.col0, m20), this.row0.dot(m.col1, m21), this.row0.dot(m.col2, m22),
-    this.row1.dot(m.col0, m20), this.row1.dot(m.col1, m21), this.row1.dot(m.col2, m22)
+    this.m00 * m.m00 + this.m01 * m.m10 + this.m02 * m20, this.m00 * m.m01 + this.m01 * m.m11 + this.m02 * m21, this.m00 * m.m02 + this.m01 * m.m12 + this.m02 * m22,
+    this.m10 * m.m00 + this.m11 * m.m10 + this.m12 * m20, this.m10 * m.m01 + this.m11 * m.m11 + this.m12 * m21, this.m10 * m.m02 + this.m11 * m.m12 + this.m12 * m22
   )
 
   /**
@@ -429,6 +434,62 @@ case class Mat2x3i(m00: Int, m01: Int, m02: Int, m10: Int, m11: Int, m12: Int) {
    * @return This matrix as a double matrix.
    */
   def toDouble: Mat2x3d = Mat2x3d(this.m00.toDouble, this.m01.toDouble, this.m02.toDouble, this.m10.toDouble, this.m11.toDouble, this.m12.toDouble)
+
+  /**
+   * Writes the elements of this matrix into the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: IntBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m10)
+      buffer.put(offset + 2, this.m01)
+      buffer.put(offset + 3, this.m11)
+      buffer.put(offset + 4, this.m02)
+      buffer.put(offset + 5, this.m12)
+    } else {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m01)
+      buffer.put(offset + 2, this.m02)
+      buffer.put(offset + 3, this.m10)
+      buffer.put(offset + 4, this.m11)
+      buffer.put(offset + 5, this.m12)
+    }
+  }
+
+  /**
+   * Writes the elements of this matrix into the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.putInt(offset, this.m00)
+      buffer.putInt(offset + 4, this.m10)
+      buffer.putInt(offset + 8, this.m01)
+      buffer.putInt(offset + 12, this.m11)
+      buffer.putInt(offset + 16, this.m02)
+      buffer.putInt(offset + 20, this.m12)
+    } else {
+      buffer.putInt(offset, this.m00)
+      buffer.putInt(offset + 4, this.m01)
+      buffer.putInt(offset + 8, this.m02)
+      buffer.putInt(offset + 12, this.m10)
+      buffer.putInt(offset + 16, this.m11)
+      buffer.putInt(offset + 20, this.m12)
+    }
+  }
 }
 
 /**
@@ -516,6 +577,124 @@ object Mat2x3i {
     def *(v: Mat2x3i): Mat2x3i = v * self
   }
 
+  /**
+   * Reads a matrix from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: IntBuffer, offset: Int, columnMajor: Boolean): Mat2x3i = {
+    if(columnMajor) {
+      Mat2x3i(
+        buffer.get(offset), buffer.get(offset + 2), buffer.get(offset + 4),
+        buffer.get(offset + 1), buffer.get(offset + 3), buffer.get(offset + 5)
+      )
+    } else {
+      Mat2x3i(
+        buffer.get(offset), buffer.get(offset + 1), buffer.get(offset + 2),
+        buffer.get(offset + 3), buffer.get(offset + 4), buffer.get(offset + 5)
+      )
+    }
+  }
+
+  /**
+   * Reads a matrix from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Mat2x3i = {
+    if(columnMajor) {
+      Mat2x3i(
+        buffer.getInt(offset), buffer.getInt(offset + 8), buffer.getInt(offset + 16),
+        buffer.getInt(offset + 4), buffer.getInt(offset + 12), buffer.getInt(offset + 20)
+      )
+    } else {
+      Mat2x3i(
+        buffer.getInt(offset), buffer.getInt(offset + 4), buffer.getInt(offset + 8),
+        buffer.getInt(offset + 12), buffer.getInt(offset + 16), buffer.getInt(offset + 20)
+      )
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given buffer one after the other, starting at the given index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat2x3i.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat2x3i], buffer: IntBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 6, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given byte buffer one after the other using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat2x3i.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat2x3i], buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 24, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads the given number of consecutive matrices from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: IntBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat2x3i] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 6, columnMajor))
+
+  /**
+   * Reads the given number of consecutive matrices from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: ByteBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat2x3i] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 24, columnMajor))
+
   /**
    * Implicit conversion from [[Mat2x3i]] to [[Mat2x3f]].
    */
@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import io.github.scalamath
 import io.github.scalamath.FloatEqualsApprox
 
+import java.nio.{ByteBuffer, FloatBuffer}
+
 /**
  * A 3x3 float matrix.
  *
@@ -222,7 +224,7 @@ case class Mat3f(
    * @param v The vector to multiply this matrix by.
    * @return The product of this matrix by the given vector.
    */
-  def *(v: Vec3f): Vec3f = Vec3f(this.row0.dot(v), this.row1.dot(v), this.row2.dot(v))
+  def *(v: Vec3f): Vec3f = this * (v.x, v.y, v.z)
 
   /**
    * Multiplies this matrix by the given vector and returns the result.
@@ -242,7 +244,11 @@ case class Mat3f(
    * @param z The vector's z component.
    * @return The product of this matrix by the vector with the given components.
    */
-  def *(x: Float, y: Float, z: Float): Vec3f = this * Vec3f(x, y, z)
+  def *(x: Float, y: Float, z: Float): Vec3f = Vec3f(
+    this.m00 * x + this.m01 * y + this.m02 * z,
+    this.m10 * x + this.m11 * y + this.m12 * z,
+    this.m20 * x + this.m21 * y + this.m22 * z
+  )
 
   /**
    * Multiplies this matrix by the vector with the given components and returns the result.
@@ -287,9 +293,9 @@ case class Mat3f(
    * @return The product between this matrix and the given one.
    */
   def *(m: Mat3f): Mat3f = Mat3f(
-    this.row0.dot(m.col0), this.row0.dot(m.col1), this.row0.dot(m.col2),
-    this.row1.dot(m.col0), this.row1.dot(m.col1), this.row1.dot(m.col2),
-    this.row2.dot(m.col0), this.row2.dot(m.col1), this.row2.dot(m.col2)
+    this.m00 * m.m00 + this.m01 * m.m10 + this.m02 * m.m20, this.m00 * m.m01 + this.m01 * m.m11 + this.m02 * m.m21, this.m00 * m.m02 + this.m01 * m.m12 + this.m02 * m.m22,
+    this.m10 * m.m00 + this.m11 * m.m10 + this.m12 * m.m20, this.m10 * m.m01 + this.m11 * m.m11 + this.m12 * m.m21, this.m10 * m.m02 + this.m11 * m.m12 + this.m12 * m.m22,
+    this.m20 * m.m00 + this.m21 * m.m10 + this.m22 * m.m20, this.m20 * m.m01 + this.m21 * m.m11 + this.m22 * m.m21, this.m20 * m.m02 + this.m21 * m.m12 + this.m22 * m.m22
   )
 
   /**
@@ -309,9 +315,9 @@ case class Mat3f(
    * @return The product between this matrix and the given one.
    */
   def *(m: Mat3x4f): Mat3x4f = Mat3x4f(
-    this.row0.dot(m.col0), this.row0.dot(m.col1), this.row0.dot(m.col2), this.row0.dot(m.col3),
-    this.row1.dot(m.col0), this.row1.dot(m.col1), this.row1.dot(m.col2), this.row1.dot(m.col3),
-    this.row2.dot(m.col0), this.row2.dot(m.col1), this.row2.dot(m.col2), this.row2.dot(m.col3)
+    this.m00 * m.m00 + this.m01 * m.m10 + this.m02 * m.m20, this.m00 * m.m01 + this.m01 * m.m11 + this.m02 * m.m21, this.m00 * m.m02 + this.m01 * m.m12 + this.m02 * m.m22, this.m00 * m.m03 + this.m01 * m.m13 + this.m02 * m.m23,
+    this.m10 * m.m00 + this.m11 * m.m10 + this.m12 * m.m20, this.m10 * m.m01 + this.m11 * m.m11 + this.m12 * m.m21, this.m10 * m.m02 + this.m11 * m.m12 + this.m12 * m.m22, this.m10 * m.m03 + this.m11 * m.m13 + this.m12 * m.m23,
+    this.m20 * m.m00 + this.m21 * m.m10 + this.m22 * m.m20, this.m20 * m.m01 + this.m21 * m.m11 + this.m22 * m.m21, this.m20 * m.m02 + this.m21 * m.m12 + this.m22 * m.m22, this.m20 * m.m03 + this.m21 * m.m13 + this.m22 * m.m23
   )
 
   /**
@@ -324,6 +330,103 @@ case class Mat3f(
    */
   def multiply(m: Mat3x4f): Mat3x4f = this * m
 
+  /**
+   * Transforms the 2D points in the given array by this matrix and stores the result in the destination array.
+   * Equivalent to `m * (p, 1.0f).xy` for every vector, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed 2D vectors, i.e. two consecutive values for each vector.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def transformPoints(src: Array[Float], dst: Array[Float], offset: Int, count: Int): Unit = {
+    val m00 = this.m00
+    val m01 = this.m01
+    val m02 = this.m02
+    val m10 = this.m10
+    val m11 = this.m11
+    val m12 = this.m12
+    var i = offset * 2
+    val end = (offset + count) * 2
+    while(i < end) {
+      val x = src(i)
+      val y = src(i + 1)
+      dst(i) = m00 * x + m01 * y + m02
+      dst(i + 1) = m10 * x + m11 * y + m12
+      i += 2
+    }
+  }
+
+  /**
+   * Transforms the 2D directions in the given array by this matrix and stores the result in the destination array.
+   * Directions are not affected by the translation part of the matrix.
+   * Equivalent to `m * (v, 0.0f).xy` for every vector, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed 2D vectors, i.e. two consecutive values for each vector.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def transformDirections(src: Array[Float], dst: Array[Float], offset: Int, count: Int): Unit = {
+    val m00 = this.m00
+    val m01 = this.m01
+    val m10 = this.m10
+    val m11 = this.m11
+    var i = offset * 2
+    val end = (offset + count) * 2
+    while(i < end) {
+      val x = src(i)
+      val y = src(i + 1)
+      dst(i) = m00 * x + m01 * y
+      dst(i + 1) = m10 * x + m11 * y
+      i += 2
+    }
+  }
+
+  /**
+   * Multiplies this matrix by the 3D homogeneous vectors in the given array and stores the result in the destination array.
+   * Equivalent to `m * v` for every vector, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed 3D vectors, i.e. three consecutive values for each vector.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def transform(src: Array[Float], dst: Array[Float], offset: Int, count: Int): Unit = {
+    val m00 = this.m00
+    val m01 = this.m01
+    val m02 = this.m02
+    val m10 = this.m10
+    val m11 = this.m11
+    val m12 = this.m12
+    val m20 = this.m20
+    val m21 = this.m21
+    val m22 = this.m22
+    var i = offset * 3
+    val end = (offset + count) * 3
+    while(i < end) {
+      val x = src(i)
+      val y = src(i + 1)
+      val z = src(i + 2)
+      dst(i) = m00 * x + m01 * y + m02 * z
+      dst(i + 1) = m10 * x + m11 * y + m12 * z
+      dst(i + 2) = m20 * x + m21 * y + m22 * z
+      i += 3
+    }
+  }
+
   /**
    * Returns the transposed of this matrix.
    *
@@ -413,7 +516,8 @@ case class Mat3f(
   def inverse: Mat3f = this.adjugate / this.determinant
 
   /**
-   * Raises this matrix to the given power by multiplying it with itself `exp` times and returns the result.
+   * Raises this matrix to the given power and returns the result.
+   * The power is computed by repeated squaring, which only takes a number of matrix products proportional to the logarithm of the exponent.
    *
    * If the given exponent is zero, the result will be the identity matrix.
    *
@@ -425,13 +529,12 @@ case class Mat3f(
    */
   def power(exp: Int): Mat3f = {
     if (exp < 0) {
-      this.inverse.power(-exp)
-    } else if (exp == 1) {
-      this
+      // The exponent is widened so that negating the smallest integer does not overflow
+      Mat3f.power(this.inverse, -exp.toLong)
     } else if (exp == 0) {
       Mat3f.Identity
     } else {
-      this * this.power(exp - 1)
+      Mat3f.power(this, exp)
     }
   }
 
@@ -578,6 +681,74 @@ case class Mat3f(
     this.m10.toDouble, this.m11.toDouble, this.m12.toDouble,
     this.m20.toDouble, this.m21.toDouble, this.m22.toDouble
   )
+
+  /**
+   * Writes the elements of this matrix into the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: FloatBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m10)
+      buffer.put(offset + 2, this.m20)
+      buffer.put(offset + 3, this.m01)
+      buffer.put(offset + 4, this.m11)
+      buffer.put(offset + 5, this.m21)
+      buffer.put(offset + 6, this.m02)
+      buffer.put(offset + 7, this.m12)
+      buffer.put(offset + 8, this.m22)
+    } else {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m01)
+      buffer.put(offset + 2, this.m02)
+      buffer.put(offset + 3, this.m10)
+      buffer.put(offset + 4, this.m11)
+      buffer.put(offset + 5, this.m12)
+      buffer.put(offset + 6, this.m20)
+      buffer.put(offset + 7, this.m21)
+      buffer.put(offset + 8, this.m22)
+    }
+  }
+
+  /**
+   * Writes the elements of this matrix into the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.putFloat(offset, this.m00)
+      buffer.putFloat(offset + 4, this.m10)
+      buffer.putFloat(offset + 8, this.m20)
+      buffer.putFloat(offset + 12, this.m01)
+      buffer.putFloat(offset + 16, this.m11)
+      buffer.putFloat(offset + 20, this.m21)
+      buffer.putFloat(offset + 24, this.m02)
+      buffer.putFloat(offset + 28, this.m12)
+      buffer.putFloat(offset + 32, this.m22)
+    } else {
+      buffer.putFloat(offset, this.m00)
+      buffer.putFloat(offset + 4, this.m01)
+      buffer.putFloat(offset + 8, this.m02)
+      buffer.putFloat(offset + 12, this.m10)
+      buffer.putFloat(offset + 16, this.m11)
+      buffer.putFloat(offset + 20, this.m12)
+      buffer.putFloat(offset + 24, this.m20)
+      buffer.putFloat(offset + 28, this.m21)
+      buffer.putFloat(offset + 32, this.m22)
+    }
+  }
 }
 
 /**
@@ -685,7 +856,7 @@ object Mat3f {
    * @param z Rotation angle in radians on the z axis.
    * @return A 3x3 rotation matrix with the given rotation.
    */
-  def rotation(x: Double, y: Double, z: Double): Mat3f = this.rotationX(x) * this.rotationY(y) * this.rotationZ(z)
+  def rotation(x: Double, y: Double, z: Double): Mat3f = this.rotation(x, y, z, EulerOrder.XYZ)
 
   /**
    * Returns a 3x3 rotation matrix with the given rotation.
@@ -705,6 +876,93 @@ object Mat3f {
    */
   def rotation(r: Vec3d): Mat3f = this.rotation(r.x, r.y, r.z)
 
+  /**
+   * Returns a 3x3 rotation matrix with the given rotation in the given order.
+   * The matrix is computed in closed form from one sine and one cosine per axis.
+   *
+   * The rotation on the first axis of the order is applied last, therefore the `XYZ` order is equivalent to `rotationX(x) * rotationY(y) * rotationZ(z)`.
+   *
+   * @param x Rotation angle in radians on the x axis.
+   * @param y Rotation angle in radians on the y axis.
+   * @param z Rotation angle in radians on the z axis.
+   * @param order The rotation order.
+   * @return A 3x3 rotation matrix with the given rotation.
+   */
+  def rotation(x: Double, y: Double, z: Double, order: EulerOrder): Mat3f = {
+    val sx = math.sin(x).toFloat
+    val cx = math.cos(x).toFloat
+    val sy = math.sin(y).toFloat
+    val cy = math.cos(y).toFloat
+    val sz = math.sin(z).toFloat
+    val cz = math.cos(z).toFloat
+    order match {
+      case EulerOrder.XYZ => Mat3f(
+        cy * cz, -cy * sz, sy,
+        cx * sz + sx * sy * cz, cx * cz - sx * sy * sz, -sx * cy,
+        sx * sz - cx * sy * cz, sx * cz + cx * sy * sz, cx * cy
+      )
+      case EulerOrder.XZY => Mat3f(
+        cz * cy, -sz, cz * sy,
+        sx * sy + cx * sz * cy, cx * cz, cx * sz * sy - sx * cy,
+        sx * sz * cy - cx * sy, sx * cz, cx * cy + sx * sz * sy
+      )
+      case EulerOrder.YXZ => Mat3f(
+        cy * cz + sy * sx * sz, sy * sx * cz - cy * sz, sy * cx,
+        cx * sz, cx * cz, -sx,
+        cy * sx * sz - sy * cz, sy * sz + cy * sx * cz, cy * cx
+      )
+      case EulerOrder.YZX => Mat3f(
+        cy * cz, sy * sx - cy * sz * cx, sy * cx + cy * sz * sx,
+        sz, cz * cx, -cz * sx,
+        -sy * cz, cy * sx + sy * sz * cx, cy * cx - sy * sz * sx
+      )
+      case EulerOrder.ZXY => Mat3f(
+        cz * cy - sz * sx * sy, -sz * cx, cz * sy + sz * sx * cy,
+        sz * cy + cz * sx * sy, cz * cx, sz * sy - cz * sx * cy,
+        -cx * sy, sx, cx * cy
+      )
+      case EulerOrder.ZYX => Mat3f(
+        cz * cy, cz * sy * sx - sz * cx, sz * sx + cz * sy * cx,
+        sz * cy, cz * cx + sz * sy * sx, sz * sy * cx - cz * sx,
+        -sy, cy * sx, cy * cx
+      )
+    }
+  }
+
+  /**
+   * Returns a 3x3 rotation matrix with the given rotation in the given order.
+   *
+   * @param r A vector representing the rotation angle on the x, y, and z axes.
+   * @param order The rotation order.
+   * @return A 3x3 rotation matrix with the given rotation.
+   */
+  def rotation(r: Vec3f, order: EulerOrder): Mat3f = this.rotation(r.x, r.y, r.z, order)
+
+  /**
+   * Returns a 3x3 rotation matrix with the given rotation in the given order.
+   *
+   * @param r A vector representing the rotation angle on the x, y, and z axes.
+   * @param order The rotation order.
+   * @return A 3x3 rotation matrix with the given rotation.
+   */
+  def rotation(r: Vec3d, order: EulerOrder): Mat3f = this.rotation(r.x, r.y, r.z, order)
+
+  /**
+   * Writes the rotation matrices constructed from the euler angles in the given array into the destination array.
+   * Equivalent to calling `rotation(x, y, z, order)` for every rotation, but does not allocate any objects.
+   *
+   * The source array must contain tightly packed euler angles in `x, y, z` order.
+   * The destination array will contain tightly packed 3x3 matrices in row-major order.
+   *
+   * @param angles The array containing the euler angles.
+   * @param order The rotation order.
+   * @param dst The array in which the matrices are stored.
+   * @param offset The index of the first rotation to convert.
+   * @param count The number of rotations to convert.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def rotations(angles: Array[Float], order: EulerOrder, dst: Array[Float], offset: Int, count: Int): Unit = order.toRotationMatrices(angles, dst, offset, count, 3, 3)
+
   /**
    * Returns a 3x3 rotation matrix with a rotation of the given angle around the given axis.
    *
@@ -779,6 +1037,226 @@ object Mat3f {
     def *(v: Mat3f): Mat3f = v * self
   }
 
+  /**
+   * Reads a matrix from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: FloatBuffer, offset: Int, columnMajor: Boolean): Mat3f = {
+    if(columnMajor) {
+      Mat3f(
+        buffer.get(offset), buffer.get(offset + 3), buffer.get(offset + 6),
+        buffer.get(offset + 1), buffer.get(offset + 4), buffer.get(offset + 7),
+        buffer.get(offset + 2), buffer.get(offset + 5), buffer.get(offset + 8)
+      )
+    } else {
+      Mat3f(
+        buffer.get(offset), buffer.get(offset + 1), buffer.get(offset + 2),
+        buffer.get(offset + 3), buffer.get(offset + 4), buffer.get(offset + 5),
+        buffer.get(offset + 6), buffer.get(offset + 7), buffer.get(offset + 8)
+      )
+    }
+  }
+
+  /**
+   * Reads a matrix from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Mat3f = {
+    if(columnMajor) {
+      Mat3f(
+        buffer.getFloat(offset), buffer.getFloat(offset + 12), buffer.getFloat(offset + 24),
+        buffer.getFloat(offset + 4), buffer.getFloat(offset + 16), buffer.getFloat(offset + 28),
+        buffer.getFloat(offset + 8), buffer.getFloat(offset + 20), buffer.getFloat(offset + 32)
+      )
+    } else {
+      Mat3f(
+        buffer.getFloat(offset), buffer.getFloat(offset + 4), buffer.getFloat(offset + 8),
+        buffer.getFloat(offset + 12), buffer.getFloat(offset + 16), buffer.getFloat(offset + 20),
+        buffer.getFloat(offset + 24), buffer.getFloat(offset + 28), buffer.getFloat(offset + 32)
+      )
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given buffer one after the other, starting at the given index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat3f.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat3f], buffer: FloatBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 9, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given byte buffer one after the other using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat3f.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat3f], buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 36, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads the given number of consecutive matrices from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: FloatBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat3f] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 9, columnMajor))
+
+  /**
+   * Reads the given number of consecutive matrices from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: ByteBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat3f] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 36, columnMajor))
+
+  /**
+   * Raises the given matrix to the given positive power by repeated squaring.
+   *
+   * @param m The matrix.
+   * @param exp The exponent. Must be greater than zero.
+   * @return The given matrix raised to the given power.
+   */
+  private def power(m: Mat3f, exp: Long): Mat3f = {
+    var base = m
+    var e = exp
+    while((e & 1L) == 0L) {
+      base = base * base
+      e >>= 1
+    }
+    var result = base
+    e >>= 1
+    while(e > 0L) {
+      base = base * base
+      if((e & 1L) == 1L) {
+        result = result * base
+      }
+      e >>= 1
+    }
+    result
+  }
+
+  /**
+   * Raises the matrices in the given array to the given power and stores the result in the destination array.
+   * Equivalent to `m.power(exp)` for every matrix.
+   *
+   * The given arrays must contain tightly packed 3x3 matrices in row-major order, i.e. nine consecutive values for each matrix.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the matrices.
+   * @param exp The exponent to raise the matrices to.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first matrix to raise.
+   * @param count The number of matrices to raise.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def powerPacked(src: Array[Float], exp: Int, dst: Array[Float], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      this.write(this.read(src, i * 9).power(exp), dst, i * 9)
+      i += 1
+    }
+  }
+
+  /**
+   * Raises the matrices in the given array to the powers in the given array and stores the result in the destination array.
+   * Equivalent to `m.power(exp)` for every matrix.
+   *
+   * The given arrays must contain tightly packed 3x3 matrices in row-major order, i.e. nine consecutive values for each matrix.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the matrices.
+   * @param exps The array containing the exponent to raise each matrix to.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first matrix to raise.
+   * @param count The number of matrices to raise.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def powerPacked(src: Array[Float], exps: Array[Int], dst: Array[Float], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      this.write(this.read(src, i * 9).power(exps(i)), dst, i * 9)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads a matrix stored in row-major order from the given array.
+   *
+   * @param src The array containing the matrix.
+   * @param i The index of the first element of the matrix.
+   * @return The matrix read from the array.
+   */
+  private def read(src: Array[Float], i: Int): Mat3f = Mat3f(src(i), src(i + 1), src(i + 2), src(i + 3), src(i + 4), src(i + 5), src(i + 6), src(i + 7), src(i + 8))
+
+  /**
+   * Stores the elements of the given matrix in the given array in row-major order.
+   *
+   * @param m The matrix to store.
+   * @param dst The array in which the matrix is stored.
+   * @param i The index at which the first element is stored.
+   */
+  private def write(m: Mat3f, dst: Array[Float], i: Int): Unit = {
+    dst(i) = m.m00
+    dst(i + 1) = m.m01
+    dst(i + 2) = m.m02
+    dst(i + 3) = m.m10
+    dst(i + 4) = m.m11
+    dst(i + 5) = m.m12
+    dst(i + 6) = m.m20
+    dst(i + 7) = m.m21
+    dst(i + 8) = m.m22
+  }
+
   /**
    * Implicit conversion from [[Mat3f]] to [[Mat3d]].
    */
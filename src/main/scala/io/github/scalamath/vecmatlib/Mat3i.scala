@@ -1,5 +1,7 @@
 package io.github.scalamath.vecmatlib
 
+import java.nio.{ByteBuffer, IntBuffer}
+
 /**
  * A 3x3 int matrix.
  *
@@ -223,7 +225,7 @@ case class Mat3i(
    * @param v The vector to multiply this matrix by.
    * @return The product of this matrix by the given vector.
    */
-  def *(v: Vec3i): Vec3i = Vec3i(this.row0.dot(v), this.row1.dot(v), this.row2.dot(v))
+  def *(v: Vec3i): Vec3i = this * (v.x, v.y, v.z)
 
   /**
    * Multiplies this matrix by the given vector and returns the result.
@@ -243,7 +245,11 @@ case class Mat3i(
    * @param z The vector's z component.
    * @return The product of this matrix by the vector with the given components.
    */
-  def *(x: Int, y: Int, z: Int): Vec3i = this * Vec3i(x, y, z)
+  def *(x: Int, y: Int, z: Int): Vec3i = Vec3i(
+    this.m00 * x + this.m01 * y + this.m02 * z,
+    this.m10 * x + this.m11 * y + this.m12 * z,
+    this.m20 * x + this.m21 * y + this.m22 * z
+  )
 
   /**
    * Multiplies this matrix by the vector with the given components and returns the result.
@@ -288,9 +294,9 @@ case class Mat3i(
    * @return The product between this matrix and the given one.
    */
   def *(m: Mat3i): Mat3i = Mat3i(
-    this.row0.dot(m.col0), this.row0.dot(m.col1), this.row0.dot(m.col2),
-    this.row1.dot(m.col0), this.row1.dot(m.col1), this.row1.dot(m.col2),
-    this.row2.dot(m.col0), this.row2.dot(m.col1), this.row2.dot(m.col2)
+    this.m00 * m.m00 + this.m01 * m.m10 + this.m02 * m.m20, this.m00 * m.m01 + this.m01 * m.m11 + this.m02 * m.m21, this.m00 * m.m02 + this.m01 * m.m12 + this.m02 * m.m22,
+    this.m10 * m.m00 + this.m11 * m.m10 + this.m12 * m.m20, this.m10 * m.m01 + this.m11 * m.m11 + this.m12 * m.m21, this.m10 * m.m02 + this.m11 * m.m12 + this.m12 * m.m22,
+    this.m20 * m.m00 + this.m21 * m.m10 + this.m22 * m.m20, this.m20 * m.m01 + this.m21 * m.m11 + this.m22 * m.m21, this.m20 * m.m02 + this.m21 * m.m12 + this.m22 * m.m22
   )
 
   /**
@@ -310,9 +316,9 @@ case class Mat3i(
    * @return The product between this matrix and the given one.
    */
   def *(m: Mat3x4i): Mat3x4i = Mat3x4i(
-    this.row0.dot(m.col0), this.row0.dot(m.col1), this.row0.dot(m.col2), this.row0.dot(m.col3),
-    this.row1.dot(m.col0), this.row1.dot(m.col1), this.row1.dot(m.col2), this.row1.dot(m.col3),
-    this.row2.dot(m.col0), this.row2.dot(m.col1), this.row2.dot(m.col2), this.row2.dot(m.col3)
+    this.m00 * m.m00 + this.m01 * m.m10 + this.m02 * m.m20, this.m00 * m.m01 + this.m01 * m.m11 + this.m02 * m.m21, this.m00 * m.m02 + this.m01 * m.m12 + this.m02 * m.m22, this.m00 * m.m03 + this.m01 * m.m13 + this.m02 * m.m23,
+    this.m10 * m.m00 + this.m11 * m.m10 + this.m12 * m.m20, this.m10 * m.m01 + this.m11 * m.m11 + this.m12 * m.m21, this.m10 * m.m02 + this.m11 * m.m12 + this.m12 * m.m22, this.m10 * m.m03 + this.m11 * m.m13 + this.m12 * m.m23,
+    this.m20 * m.m00 + this.m21 * m.m10 + this.m22 * m.m20, this.m20 * m.m01 + this.m21 * m.m11 + this.m22 * m.m21, this.m20 * m.m02 + this.m21 * m.m12 + this.m22 * m.m22, this.m20 * m.m03 + this.m21 * m.m13 + this.m22 * m.m23
   )
 
   /**
@@ -404,7 +410,8 @@ case class Mat3i(
   )
 
   /**
-   * Raises this matrix to the given power by multiplying it with itself `exp` times and returns the result.
+   * Raises this matrix to the given power and returns the result.
+   * The power is computed by repeated squaring, which only takes a number of matrix products proportional to the logarithm of the exponent.
    *
    * If the given exponent is zero, the result will be the identity matrix.
    *
@@ -417,12 +424,10 @@ case class Mat3i(
   def power(exp: Int): Mat3i = {
     if (exp < 0) {
       throw new IllegalArgumentException("Negative exponents are not allowed for integer matrices")
-    } else if (exp == 1) {
-      this
     } else if (exp == 0) {
       Mat3i.Identity
     } else {
-      this * this.power(exp - 1)
+      Mat3i.power(this, exp)
     }
   }
 
@@ -489,6 +494,74 @@ case class Mat3i(
     this.m10.toDouble, this.m11.toDouble, this.m12.toDouble,
     this.m20.toDouble, this.m21.toDouble, this.m22.toDouble
   )
+
+  /**
+   * Writes the elements of this matrix into the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: IntBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m10)
+      buffer.put(offset + 2, this.m20)
+      buffer.put(offset + 3, this.m01)
+      buffer.put(offset + 4, this.m11)
+      buffer.put(offset + 5, this.m21)
+      buffer.put(offset + 6, this.m02)
+      buffer.put(offset + 7, this.m12)
+      buffer.put(offset + 8, this.m22)
+    } else {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m01)
+      buffer.put(offset + 2, this.m02)
+      buffer.put(offset + 3, this.m10)
+      buffer.put(offset + 4, this.m11)
+      buffer.put(offset + 5, this.m12)
+      buffer.put(offset + 6, this.m20)
+      buffer.put(offset + 7, this.m21)
+      buffer.put(offset + 8, this.m22)
+    }
+  }
+
+  /**
+   * Writes the elements of this matrix into the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.putInt(offset, this.m00)
+      buffer.putInt(offset + 4, this.m10)
+      buffer.putInt(offset + 8, this.m20)
+      buffer.putInt(offset + 12, this.m01)
+      buffer.putInt(offset + 16, this.m11)
+      buffer.putInt(offset + 20, this.m21)
+      buffer.putInt(offset + 24, this.m02)
+      buffer.putInt(offset + 28, this.m12)
+      buffer.putInt(offset + 32, this.m22)
+    } else {
+      buffer.putInt(offset, this.m00)
+      buffer.putInt(offset + 4, this.m01)
+      buffer.putInt(offset + 8, this.m02)
+      buffer.putInt(offset + 12, this.m10)
+      buffer.putInt(offset + 16, this.m11)
+      buffer.putInt(offset + 20, this.m12)
+      buffer.putInt(offset + 24, this.m20)
+      buffer.putInt(offset + 28, this.m21)
+      buffer.putInt(offset + 32, this.m22)
+    }
+  }
 }
 
 /**
@@ -546,6 +619,154 @@ object Mat3i {
     def *(v: Mat3i): Mat3i = v * self
   }
 
+  /**
+   * Reads a matrix from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: IntBuffer, offset: Int, columnMajor: Boolean): Mat3i = {
+    if(columnMajor) {
+      Mat3i(
+        buffer.get(offset), buffer.get(offset + 3), buffer.get(offset + 6),
+        buffer.get(offset + 1), buffer.get(offset + 4), buffer.get(offset + 7),
+        buffer.get(offset + 2), buffer.get(offset + 5), buffer.get(offset + 8)
+      )
+    } else {
+      Mat3i(
+        buffer.get(offset), buffer.get(offset + 1), buffer.get(offset + 2),
+        buffer.get(offset + 3), buffer.get(offset + 4), buffer.get(offset + 5),
+        buffer.get(offset + 6), buffer.get(offset + 7), buffer.get(offset + 8)
+      )
+    }
+  }
+
+  /**
+   * Reads a matrix from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Mat3i = {
+    if(columnMajor) {
+      Mat3i(
+        buffer.getInt(offset), buffer.getInt(offset + 12), buffer.getInt(offset + 24),
+        buffer.getInt(offset + 4), buffer.getInt(offset + 16), buffer.getInt(offset + 28),
+        buffer.getInt(offset + 8), buffer.getInt(offset + 20), buffer.getInt(offset + 32)
+      )
+    } else {
+      Mat3i(
+        buffer.getInt(offset), buffer.getInt(offset + 4), buffer.getInt(offset + 8),
+        buffer.getInt(offset + 12), buffer.getInt(offset + 16), buffer.getInt(offset + 20),
+        buffer.getInt(offset + 24), buffer.getInt(offset + 28), buffer.getInt(offset + 32)
+      )
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given buffer one after the other, starting at the given index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat3i.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat3i], buffer: IntBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 9, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given byte buffer one after the other using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat3i.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat3i], buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 36, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads the given number of consecutive matrices from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: IntBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat3i] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 9, columnMajor))
+
+  /**
+   * Reads the given number of consecutive matrices from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: ByteBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat3i] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 36, columnMajor))
+
+  /**
+   * Raises the given matrix to the given positive power by repeated squaring.
+   *
+   * @param m The matrix.
+   * @param exp The exponent. Must be greater than zero.
+   * @return The given matrix raised to the given power.
+   */
+  private def power(m: Mat3i, exp: Long): Mat3i = {
+    var base = m
+    var e = exp
+    while((e & 1L) == 0L) {
+      base = base * base
+      e >>= 1
+    }
+    var result = base
+    e >>= 1
+    while(e > 0L) {
+      base = base * base
+      if((e & 1L) == 1L) {
+        result = result * base
+      }
+      e >>= 1
+    }
+    result
+  }
+
   /**
    * Implicit conversion from [[Mat3i]] to [[Mat3f]].
    */
@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import io.github.scalamath
 import io.github.scalamath.DoubleEqualsApprox
 
+import java.nio.{ByteBuffer, DoubleBuffer}
+
 /**
  * A 3x4 (three rows and four columns) double matrix.
  *
@@ -280,7 +282,7 @@ case class Mat3x4d(
    * @param v The vector to multiply this matrix by.
    * @return The product of this matrix by the given vector.
    */
-  def *(v: Vec4d): Vec3d = Vec3d(this.row0.dot(v), this.row1.dot(v), this.row2.dot(v))
+  def *(v: Vec4d): Vec3d = this * (v.x, v.y, v.z, v.w)
 
   /**
    * Multiplies this matrix by the given vector and returns the result.
@@ -301,7 +303,11 @@ case class Mat3x4d(
    * @param w The vector's w component.
    * @return The product of this matrix by the vector with the given components.
    */
-  def *(x: Double, y: Double, z: Double, w: Double): Vec3d = this * Vec4d(x, y, z, w)
+  def *(x: Double, y: Double, z: Double, w: Double): Vec3d = Vec3d(
+    this.m00 * x + this.m01 * y + this.m02 * z + this.m03 * w,
+    this.m10 * x + this.m11 * y + this.m12 * z + this.m13 * w,
+    this.m20 * x + this.m21 * y + this.m22 * z + this.m23 * w
+  )
 
   /**
    * Multiplies this matrix by the vector with the given components and returns the result.
@@ -372,9 +378,9 @@ case class Mat3x4d(
    * @return The product between this matrix and the given one.
    */
   def *(m: Mat4d): Mat3x4d = Mat3x4d(
-    this.row0.dot(m.col0), this.row0.dot(m.col1), this.row0.dot(m.col2), this.row0.dot(m.col3),
-    this.row1.dot(m.col0), this.row1.dot(m.col1), this.row1.dot(m.col2), this.row1.dot(m.col3),
-    this.row2.dot(m.col0), this.row2.dot(m.col1), this.row2.dot(m.col2), this.row2.dot(m.col3)
+    this.m00 * m.m00 + this.m01 * m.m10 + this.m02 * m.m20 + this.m03 * m.m30, this.m00 * m.m01 + this.m01 * m.m11 + this.m02 * m.m21 + this.m03 * m.m31, this.m00 * m.m02 + this.m01 * m.m12 + this.m02 * m.m22 + this.m03 * m.m32, this.m00 * m.m03 + this.m01 * m.m13 + this.m02 * m.m23 + this.m03 * m.m33,
+    this.m10 * m.m00 + this.m11 * m.m10 + this.m12 * m.m20 + this.m13 * m.m30, this.m10 * m.m01 + this.m11 * m.m11 + this.m12 * m.m21 + this.m13 * m.m31, this.m10 * m.m02 + this.m11 * m.m12 + this.m12 * m.m22 + this.m13 * m.m32, this.m10 * m.m03 + this.m11 * m.m13 + this.m12 * m.m23 + this.m13 * m.m33,
+    this.m20 * m.m00 + this.m21 * m.m10 + this.m22 * m.m20 + this.m23 * m.m30, this.m20 * m.m01 + this.m21 * m.m11 + this.m22 * m.m21 + this.m23 * m.m31, this.m20 * m.m02 + this.m21 * m.m12 + this.m22 * m.m22 + this.m23 * m.m32, this.m20 * m.m03 + this.m21 * m.m13 + this.m22 * m.m23 + this.m23 * m.m33
   )
 
   /**
@@ -400,9 +406,9 @@ case class Mat3x4d(
    * @return The product between this matrix and the matrix with the given components.
    */
   def *(m: Mat3x4d, m30: Double, m31: Double, m32: Double, m33: Double): Mat3x4d = Mat3x4d(
-    this.row0.dot(m.col0, m30), this.row0.dot(m.col1, m31), this.row0.dot(m.col2, m32), this.row0.dot(m.col3, m33),
-    this.row1.dot(m.col0, m30), this.row1.dot(m.col1, m31), this.row1.dot(m.col2, m32), this.row1.dot(m.col3, m33),
-    this.row2.dot(m.col0, m30), this.row2.dot(m.col1, m31), this.row2.dot(m.col2, m32), this.row2.dot(m.col3, m33)
+    this.m00 * m.m00 + this.m01 * m.m10 + this.m02 * m.m20 + this.m03 * m30, this.m00 * m.m01 + this.m01 * m.m11 + this.m02 * m.m21 + this.m03 * m31, this.m00 * m.m02 + this.m01 * m.m12 + this.m02 * m.m22 + this.m03 * m32, this.m00 * m.m03 + this.m01 * m.m13 + this.m02 * m.m23 + this.m03 * m33,
+    this.m10 * m.m00 + this.m11 * m.m10 + this.m12 * m.m20 + this.m13 * m30, this.m10 * m.m01 + this.m11 * m.m11 + this.m12 * m.m21 + this.m13 * m31, this.m10 * m.m02 + this.m11 * m.m12 + this.m12 * m.m22 + this.m13 * m32, this.m10 * m.m03 + this.m11 * m.m13 + this.m12 * m.m23 + this.m13 * m33,
+    this.m20 * m.m00 + this.m21 * m.m10 + this.m22 * m.m20 + this.m23 * m30, this.m20 * m.m01 + this.m21 * m.m11 + this.m22 * m.m21 + this.m23 * m31, this.m20 * m.m02 + this.m21 * m.m12 + this.m22 * m.m22 + this.m23 * m32, this.m20 * m.m03 + this.m21 * m.m13 + this.m22 * m.m23 + this.m23 * m33
   )
 
   /**
@@ -445,6 +451,124 @@ case class Mat3x4d(
    */
   def multiply(m: Mat3x4d, v: Vec4d): Mat3x4d = this * (m, v)
 
+  /**
+   * Transforms the 3D points in the given array by this matrix and stores the result in the destination array.
+   * Equivalent to `m * (p, 1.0)` for every vector, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed 3D vectors, i.e. three consecutive values for each vector.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def transformPoints(src: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    val m00 = this.m00
+    val m01 = this.m01
+    val m02 = this.m02
+    val m03 = this.m03
+    val m10 = this.m10
+    val m11 = this.m11
+    val m12 = this.m12
+    val m13 = this.m13
+    val m20 = this.m20
+    val m21 = this.m21
+    val m22 = this.m22
+    val m23 = this.m23
+    var i = offset * 3
+    val end = (offset + count) * 3
+    while(i < end) {
+      val x = src(i)
+      val y = src(i + 1)
+      val z = src(i + 2)
+      dst(i) = m00 * x + m01 * y + m02 * z + m03
+      dst(i + 1) = m10 * x + m11 * y + m12 * z + m13
+      dst(i + 2) = m20 * x + m21 * y + m22 * z + m23
+      i += 3
+    }
+  }
+
+  /**
+   * Transforms the 3D directions in the given array by this matrix and stores the result in the destination array.
+   * Directions are not affected by the translation part of the matrix.
+   * Equivalent to `m * (v, 0.0)` for every vector, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed 3D vectors, i.e. three consecutive values for each vector.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def transformDirections(src: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    val m00 = this.m00
+    val m01 = this.m01
+    val m02 = this.m02
+    val m10 = this.m10
+    val m11 = this.m11
+    val m12 = this.m12
+    val m20 = this.m20
+    val m21 = this.m21
+    val m22 = this.m22
+    var i = offset * 3
+    val end = (offset + count) * 3
+    while(i < end) {
+      val x = src(i)
+      val y = src(i + 1)
+      val z = src(i + 2)
+      dst(i) = m00 * x + m01 * y + m02 * z
+      dst(i + 1) = m10 * x + m11 * y + m12 * z
+      dst(i + 2) = m20 * x + m21 * y + m22 * z
+      i += 3
+    }
+  }
+
+  /**
+   * Multiplies this matrix by the 4D homogeneous vectors in the given array and stores the result in the destination array.
+   * Equivalent to `m * v` for every vector, but does not allocate any objects.
+   *
+   * The source array must contain tightly packed 4D vectors and the destination array will contain tightly packed 3D vectors.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def transform(src: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    val m00 = this.m00
+    val m01 = this.m01
+    val m02 = this.m02
+    val m03 = this.m03
+    val m10 = this.m10
+    val m11 = this.m11
+    val m12 = this.m12
+    val m13 = this.m13
+    val m20 = this.m20
+    val m21 = this.m21
+    val m22 = this.m22
+    val m23 = this.m23
+    var i = offset * 4
+    var j = offset * 3
+    val end = (offset + count) * 4
+    while(i < end) {
+      val x = src(i)
+      val y = src(i + 1)
+      val z = src(i + 2)
+      val w = src(i + 3)
+      dst(j) = m00 * x + m01 * y + m02 * z + m03 * w
+      dst(j + 1) = m10 * x + m11 * y + m12 * z + m13 * w
+      dst(j + 2) = m20 * x + m21 * y + m22 * z + m23 * w
+      i += 4
+      j += 3
+    }
+  }
+
   /**
    * Returns a submatrix of this matrix obtained by removing the column at the given index.
    *
@@ -492,6 +616,48 @@ case class Mat3x4d(
     scalamath.lerp(this.m20, to.m20, weight), scalamath.lerp(this.m21, to.m21, weight), scalamath.lerp(this.m22, to.m22, weight), scalamath.lerp(this.m23, to.m23, weight)
   )
 
+  /**
+   * Decomposes this matrix into a translation, a rotation, and a scale, such that this matrix is equal to `Mat3x4d.fromTRS(translation, rotation, scale)`.
+   *
+   * The scale is the length of the columns of the basis.
+   * If the basis contains a reflection, the scale on the x axis is negative.
+   * The basis must not contain a shear and must not have a zero scale on any axis.
+   *
+   * @return A tuple containing the translation, the rotation, and the scale of this matrix.
+   * @see [[Mat3x4d.fromTRS]]
+   */
+  def decompose: (Vec3d, Quatd, Vec3d) = {
+    val det = this.m00 * (this.m11 * this.m22 - this.m12 * this.m21) - this.m01 * (this.m10 * this.m22 - this.m12 * this.m20) + this.m02 * (this.m10 * this.m21 - this.m11 * this.m20)
+    val length = math.sqrt(this.m00 * this.m00 + this.m10 * this.m10 + this.m20 * this.m20)
+    // A negative determinant means that the basis contains a reflection
+    val sx = if(det < 0.0) -length else length
+    val sy = math.sqrt(this.m01 * this.m01 + this.m11 * this.m11 + this.m21 * this.m21)
+    val sz = math.sqrt(this.m02 * this.m02 + this.m12 * this.m12 + this.m22 * this.m22)
+    val rotation = Quatd.fromBasis(
+      this.m00 / sx, this.m01 / sy, this.m02 / sz,
+      this.m10 / sx, this.m11 / sy, this.m12 / sz,
+      this.m20 / sx, this.m21 / sy, this.m22 / sz
+    )
+    (Vec3d(this.m03, this.m13, this.m23), rotation, Vec3d(sx, sy, sz))
+  }
+
+  /**
+   * Interpolates between this matrix and the given one by interpolating their translation, rotation, and scale, and returns the result.
+   *
+   * Unlike [[lerp]], the result is always a rotation and scaling matrix.
+   * The translation and the scale are interpolated linearly and the rotation is interpolated with [[Quatd.slerp]].
+   * Both matrices must be decomposable by [[decompose]].
+   *
+   * @param to The second matrix.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @return The result of interpolating between the translation, rotation, and scale of this matrix and the given one.
+   */
+  def lerpTRS(to: Mat3x4d, weight: Double): Mat3x4d = {
+    val (t0, r0, s0) = this.decompose
+    val (t1, r1, s1) = to.decompose
+    Mat3x4d.fromTRS(t0.lerp(t1, weight), r0.slerp(r1, weight), s0.lerp(s1, weight))
+  }
+
   /**
    * Returns a matrix with all elements in absolute value.
    *
@@ -624,6 +790,86 @@ case class Mat3x4d(
     this.m10.toFloat, this.m11.toFloat, this.m12.toFloat, this.m13.toFloat,
     this.m20.toFloat, this.m21.toFloat, this.m22.toFloat, this.m23.toFloat
   )
+
+  /**
+   * Writes the elements of this matrix into the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: DoubleBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m10)
+      buffer.put(offset + 2, this.m20)
+      buffer.put(offset + 3, this.m01)
+      buffer.put(offset + 4, this.m11)
+      buffer.put(offset + 5, this.m21)
+      buffer.put(offset + 6, this.m02)
+      buffer.put(offset + 7, this.m12)
+      buffer.put(offset + 8, this.m22)
+      buffer.put(offset + 9, this.m03)
+      buffer.put(offset + 10, this.m13)
+      buffer.put(offset + 11, this.m23)
+    } else {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m01)
+      buffer.put(offset + 2, this.m02)
+      buffer.put(offset + 3, this.m03)
+      buffer.put(offset + 4, this.m10)
+      buffer.put(offset + 5, this.m11)
+      buffer.put(offset + 6, this.m12)
+      buffer.put(offset + 7, this.m13)
+      buffer.put(offset + 8, this.m20)
+      buffer.put(offset + 9, this.m21)
+      buffer.put(offset + 10, this.m22)
+      buffer.put(offset + 11, this.m23)
+    }
+  }
+
+  /**
+   * Writes the elements of this matrix into the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.putDouble(offset, this.m00)
+      buffer.putDouble(offset + 8, this.m10)
+      buffer.putDouble(offset + 16, this.m20)
+      buffer.putDouble(offset + 24, this.m01)
+      buffer.putDouble(offset + 32, this.m11)
+      buffer.putDouble(offset + 40, this.m21)
+      buffer.putDouble(offset + 48, this.m02)
+      buffer.putDouble(offset + 56, this.m12)
+      buffer.putDouble(offset + 64, this.m22)
+      buffer.putDouble(offset + 72, this.m03)
+      buffer.putDouble(offset + 80, this.m13)
+      buffer.putDouble(offset + 88, this.m23)
+    } else {
+      buffer.putDouble(offset, this.m00)
+      buffer.putDouble(offset + 8, this.m01)
+      buffer.putDouble(offset + 16, this.m02)
+      buffer.putDouble(offset + 24, this.m03)
+      buffer.putDouble(offset + 32, this.m10)
+      buffer.putDouble(offset + 40, this.m11)
+      buffer.putDouble(offset + 48, this.m12)
+      buffer.putDouble(offset + 56, this.m13)
+      buffer.putDouble(offset + 64, this.m20)
+      buffer.putDouble(offset + 72, this.m21)
+      buffer.putDouble(offset + 80, this.m22)
+      buffer.putDouble(offset + 88, this.m23)
+    }
+  }
 }
 
 /**
@@ -783,6 +1029,84 @@ object Mat3x4d {
     Mat3x4d(cos, -sin, 0.0, 0.0, sin, cos, 0.0, 0.0, 0.0, 0.0, 1.0, 0.0)
   }
 
+  /**
+   * Returns a 3x4 rotation matrix with the given rotation in the given order.
+   * The matrix is computed in closed form from one sine and one cosine per axis.
+   *
+   * The rotation on the first axis of the order is applied last, therefore the `XYZ` order is equivalent to `rotationX(x) * rotationY(y) * rotationZ(z)`.
+   *
+   * @param x Rotation angle in radians on the x axis.
+   * @param y Rotation angle in radians on the y axis.
+   * @param z Rotation angle in radians on the z axis.
+   * @param order The rotation order.
+   * @return A 3x4 rotation matrix with the given rotation.
+   */
+  def rotation(x: Double, y: Double, z: Double, order: EulerOrder): Mat3x4d = {
+    val sx = math.sin(x)
+    val cx = math.cos(x)
+    val sy = math.sin(y)
+    val cy = math.cos(y)
+    val sz = math.sin(z)
+    val cz = math.cos(z)
+    order match {
+      case EulerOrder.XYZ => Mat3x4d(
+        cy * cz, -cy * sz, sy, 0.0,
+        cx * sz + sx * sy * cz, cx * cz - sx * sy * sz, -sx * cy, 0.0,
+        sx * sz - cx * sy * cz, sx * cz + cx * sy * sz, cx * cy, 0.0
+      )
+      case EulerOrder.XZY => Mat3x4d(
+        cz * cy, -sz, cz * sy, 0.0,
+        sx * sy + cx * sz * cy, cx * cz, cx * sz * sy - sx * cy, 0.0,
+        sx * sz * cy - cx * sy, sx * cz, cx * cy + sx * sz * sy, 0.0
+      )
+      case EulerOrder.YXZ => Mat3x4d(
+        cy * cz + sy * sx * sz, sy * sx * cz - cy * sz, sy * cx, 0.0,
+        cx * sz, cx * cz, -sx, 0.0,
+        cy * sx * sz - sy * cz, sy * sz + cy * sx * cz, cy * cx, 0.0
+      )
+      case EulerOrder.YZX => Mat3x4d(
+        cy * cz, sy * sx - cy * sz * cx, sy * cx + cy * sz * sx, 0.0,
+        sz, cz * cx, -cz * sx, 0.0,
+        -sy * cz, cy * sx + sy * sz * cx, cy * cx - sy * sz * sx, 0.0
+      )
+      case EulerOrder.ZXY => Mat3x4d(
+        cz * cy - sz * sx * sy, -sz * cx, cz * sy + sz * sx * cy, 0.0,
+        sz * cy + cz * sx * sy, cz * cx, sz * sy - cz * sx * cy, 0.0,
+        -cx * sy, sx, cx * cy, 0.0
+      )
+      case EulerOrder.ZYX => Mat3x4d(
+        cz * cy, cz * sy * sx - sz * cx, sz * sx + cz * sy * cx, 0.0,
+        sz * cy, cz * cx + sz * sy * sx, sz * sy * cx - cz * sx, 0.0,
+        -sy, cy * sx, cy * cx, 0.0
+      )
+    }
+  }
+
+  /**
+   * Returns a 3x4 rotation matrix with the given rotation in the given order.
+   *
+   * @param r A vector representing the rotation angle on the x, y, and z axes.
+   * @param order The rotation order.
+   * @return A 3x4 rotation matrix with the given rotation.
+   */
+  def rotation(r: Vec3d, order: EulerOrder): Mat3x4d = this.rotation(r.x, r.y, r.z, order)
+
+  /**
+   * Writes the rotation matrices constructed from the euler angles in the given array into the destination array.
+   * Equivalent to calling `rotation(x, y, z, order)` for every rotation, but does not allocate any objects.
+   *
+   * The source array must contain tightly packed euler angles in `x, y, z` order.
+   * The destination array will contain tightly packed 3x4 matrices in row-major order.
+   *
+   * @param angles The array containing the euler angles.
+   * @param order The rotation order.
+   * @param dst The array in which the matrices are stored.
+   * @param offset The index of the first rotation to convert.
+   * @param count The number of rotations to convert.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def rotations(angles: Array[Double], order: EulerOrder, dst: Array[Double], offset: Int, count: Int): Unit = order.toRotationMatrices(angles, dst, offset, count, 3, 4)
+
   /**
    * Returns a 3x4 rotation matrix with a rotation of the given angle around the given axis.
    *
@@ -815,6 +1139,26 @@ object Mat3x4d {
     )
   }
 
+  /**
+   * Returns a 3x4 matrix that scales, then rotates, then translates, built from the given translation, rotation, and scale in a single pass.
+   * Equivalent to `Mat3x4d.translation(translation) * Mat3x4d.rotation(rotation) * Mat3x4d.scaling(scale)`.
+   *
+   * @param translation The translation.
+   * @param rotation The rotation quaternion. Must be a unit quaternion.
+   * @param scale The scale factor on the x, y, and z axes.
+   * @return A 3x4 matrix representing the given transform.
+   * @see [[Mat3x4d.decompose]]
+   */
+  def fromTRS(translation: Vec3d, rotation: Quatd, scale: Vec3d): Mat3x4d = {
+    val q = rotation
+    val s = 2.0 / q.lengthSquared
+    Mat3x4d(
+      (1.0 - s * (q.y * q.y + q.z * q.z)) * scale.x, s * (q.x * q.y - q.z * q.w) * scale.y, s * (q.x * q.z + q.y * q.w) * scale.z, translation.x,
+      s * (q.x * q.y + q.z * q.w) * scale.x, (1.0 - s * (q.x * q.x + q.z * q.z)) * scale.y, s * (q.y * q.z - q.x * q.w) * scale.z, translation.y,
+      s * (q.x * q.z - q.y * q.w) * scale.x, s * (q.y * q.z + q.x * q.w) * scale.y, (1.0 - s * (q.x * q.x + q.y * q.y)) * scale.z, translation.z
+    )
+  }
+
   /**
    * Returns a 3x4 matrix representing a scaling by the given factor in a 3D space.
    *
@@ -856,4 +1200,126 @@ object Mat3x4d {
      */
     def *(v: Mat3x4d): Mat3x4d = v * self
   }
+
+  /**
+   * Reads a matrix from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: DoubleBuffer, offset: Int, columnMajor: Boolean): Mat3x4d = {
+    if(columnMajor) {
+      Mat3x4d(
+        buffer.get(offset), buffer.get(offset + 3), buffer.get(offset + 6), buffer.get(offset + 9),
+        buffer.get(offset + 1), buffer.get(offset + 4), buffer.get(offset + 7), buffer.get(offset + 10),
+        buffer.get(offset + 2), buffer.get(offset + 5), buffer.get(offset + 8), buffer.get(offset + 11)
+      )
+    } else {
+      Mat3x4d(
+        buffer.get(offset), buffer.get(offset + 1), buffer.get(offset + 2), buffer.get(offset + 3),
+        buffer.get(offset + 4), buffer.get(offset + 5), buffer.get(offset + 6), buffer.get(offset + 7),
+        buffer.get(offset + 8), buffer.get(offset + 9), buffer.get(offset + 10), buffer.get(offset + 11)
+      )
+    }
+  }
+
+  /**
+   * Reads a matrix from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Mat3x4d = {
+    if(columnMajor) {
+      Mat3x4d(
+        buffer.getDouble(offset), buffer.getDouble(offset + 24), buffer.getDouble(offset + 48), buffer.getDouble(offset + 72),
+        buffer.getDouble(offset + 8), buffer.getDouble(offset + 32), buffer.getDouble(offset + 56), buffer.getDouble(offset + 80),
+        buffer.getDouble(offset + 16), buffer.getDouble(offset + 40), buffer.getDouble(offset + 64), buffer.getDouble(offset + 88)
+      )
+    } else {
+      Mat3x4d(
+        buffer.getDouble(offset), buffer.getDouble(offset + 8), buffer.getDouble(offset + 16), buffer.getDouble(offset + 24),
+        buffer.getDouble(offset + 32), buffer.getDouble(offset + 40), buffer.getDouble(offset + 48), buffer.getDouble(offset + 56),
+        buffer.getDouble(offset + 64), buffer.getDouble(offset + 72), buffer.getDouble(offset + 80), buffer.getDouble(offset + 88)
+      )
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given buffer one after the other, starting at the given index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat3x4d.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat3x4d], buffer: DoubleBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 12, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given byte buffer one after the other using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat3x4d.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat3x4d], buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 96, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads the given number of consecutive matrices from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: DoubleBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat3x4d] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 12, columnMajor))
+
+  /**
+   * Reads the given number of consecutive matrices from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: ByteBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat3x4d] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 96, columnMajor))
 }
\ No newline at end of file
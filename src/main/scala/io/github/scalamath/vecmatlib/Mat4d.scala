@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import io.github.scalamath
 import io.github.scalamath.DoubleEqualsApprox
 
+import java.nio.{ByteBuffer, DoubleBuffer}
+
 /**
  * A 4x4 double matrix.
  *
@@ -253,7 +255,7 @@ case class Mat4d(
    * @param v The vector to multiply this matrix by.
    * @return The product of this matrix by the given vector.
    */
-  def *(v: Vec4d): Vec4d = Vec4d(this.row0.dot(v), this.row1.dot(v), this.row2.dot(v), this.row3.dot(v))
+  def *(v: Vec4d): Vec4d = this * (v.x, v.y, v.z, v.w)
 
   /**
    * Multiplies this matrix by the given vector and returns the result.
@@ -274,7 +276,12 @@ case class Mat4d(
    * @param w The vector's w component.
    * @return The product of this matrix by the vector with the given components.
    */
-  def *(x: Double, y: Double, z: Double, w: Double): Vec4d = this * Vec4d(x, y, z, w)
+  def *(x: Double, y: Double, z: Double, w: Double): Vec4d = Vec4d(
+    this.m00 * x + this.m01 * y + this.m02 * z + this.m03 * w,
+    this.m10 * x + this.m11 * y + this.m12 * z + this.m13 * w,
+    this.m20 * x + this.m21 * y + this.m22 * z + this.m23 * w,
+    this.m30 * x + this.m31 * y + this.m32 * z + this.m33 * w
+  )
 
   /**
    * Multiplies this matrix by the vector with the given components and returns the result.
@@ -345,10 +352,10 @@ case class Mat4d(
    * @return The product between this matrix and the given one.
    */
   def *(m: Mat4d): Mat4d = Mat4d(
-    this.row0.dot(m.col0), this.row0.dot(m.col1), this.row0.dot(m.col2), this.row0.dot(m.col3),
-    this.row1.dot(m.col0), this.row1.dot(m.col1), this.row1.dot(m.col2), this.row1.dot(m.col3),
-    this.row2.dot(m.col0), this.row2.dot(m.col1), this.row2.dot(m.col2), this.row2.dot(m.col3),
-    this.row3.dot(m.col0), this.row3.dot(m.col1), this.row3.dot(m.col2), this.row3.dot(m.col3)
+    this.m00 * m.m00 + this.m01 * m.m10 + this.m02 * m.m20 + this.m03 * m.m30, this.m00 * m.m01 + this.m01 * m.m11 + this.m02 * m.m21 + this.m03 * m.m31, this.m00 * m.m02 + this.m01 * m.m12 + this.m02 * m.m22 + this.m03 * m.m32, this.m00 * m.m03 + this.m01 * m.m13 + this.m02 * m.m23 + this.m03 * m.m33,
+    this.m10 * m.m00 + this.m11 * m.m10 + this.m12 * m.m20 + this.m13 * m.m30, this.m10 * m.m01 + this.m11 * m.m11 + this.m12 * m.m21 + this.m13 * m.m31, this.m10 * m.m02 + this.m11 * m.m12 + this.m12 * m.m22 + this.m13 * m.m32, this.m10 * m.m03 + this.m11 * m.m13 + this.m12 * m.m23 + this.m13 * m.m33,
+    this.m20 * m.m00 + this.m21 * m.m10 + this.m22 * m.m20 + this.m23 * m.m30, this.m20 * m.m01 + this.m21 * m.m11 + this.m22 * m.m21 + this.m23 * m.m31, this.m20 * m.m02 + this.m21 * m.m12 + this.m22 * m.m22 + this.m23 * m.m32, this.m20 * m.m03 + this.m21 * m.m13 + this.m22 * m.m23 + this.m23 * m.m33,
+    this.m30 * m.m00 + this.m31 * m.m10 + this.m32 * m.m20 + this.m33 * m.m30, this.m30 * m.m01 + this.m31 * m.m11 + this.m32 * m.m21 + this.m33 * m.m31, this.m30 * m.m02 + this.m31 * m.m12 + this.m32 * m.m22 + this.m33 * m.m32, this.m30 * m.m03 + this.m31 * m.m13 + this.m32 * m.m23 + this.m33 * m.m33
   )
 
   /**
@@ -361,6 +368,127 @@ case class Mat4d(
    */
   def multiply(m: Mat4d): Mat4d = this * m
 
+  /**
+   * Transforms the 3D points in the given array by this matrix and stores the result in the destination array.
+   * Equivalent to `m * (p, 1.0).xyz` for every vector, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed 3D vectors, i.e. three consecutive values for each vector.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def transformPoints(src: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    val m00 = this.m00
+    val m01 = this.m01
+    val m02 = this.m02
+    val m03 = this.m03
+    val m10 = this.m10
+    val m11 = this.m11
+    val m12 = this.m12
+    val m13 = this.m13
+    val m20 = this.m20
+    val m21 = this.m21
+    val m22 = this.m22
+    val m23 = this.m23
+    var i = offset * 3
+    val end = (offset + count) * 3
+    while(i < end) {
+      val x = src(i)
+      val y = src(i + 1)
+      val z = src(i + 2)
+      dst(i) = m00 * x + m01 * y + m02 * z + m03
+      dst(i + 1) = m10 * x + m11 * y + m12 * z + m13
+      dst(i + 2) = m20 * x + m21 * y + m22 * z + m23
+      i += 3
+    }
+  }
+
+  /**
+   * Transforms the 3D directions in the given array by this matrix and stores the result in the destination array.
+   * Directions are not affected by the translation part of the matrix.
+   * Equivalent to `m * (v, 0.0).xyz` for every vector, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed 3D vectors, i.e. three consecutive values for each vector.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def transformDirections(src: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    val m00 = this.m00
+    val m01 = this.m01
+    val m02 = this.m02
+    val m10 = this.m10
+    val m11 = this.m11
+    val m12 = this.m12
+    val m20 = this.m20
+    val m21 = this.m21
+    val m22 = this.m22
+    var i = offset * 3
+    val end = (offset + count) * 3
+    while(i < end) {
+      val x = src(i)
+      val y = src(i + 1)
+      val z = src(i + 2)
+      dst(i) = m00 * x + m01 * y + m02 * z
+      dst(i + 1) = m10 * x + m11 * y + m12 * z
+      dst(i + 2) = m20 * x + m21 * y + m22 * z
+      i += 3
+    }
+  }
+
+  /**
+   * Multiplies this matrix by the 4D homogeneous vectors in the given array and stores the result in the destination array.
+   * Equivalent to `m * v` for every vector, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed 4D vectors, i.e. four consecutive values for each vector.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def transform(src: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    val m00 = this.m00
+    val m01 = this.m01
+    val m02 = this.m02
+    val m03 = this.m03
+    val m10 = this.m10
+    val m11 = this.m11
+    val m12 = this.m12
+    val m13 = this.m13
+    val m20 = this.m20
+    val m21 = this.m21
+    val m22 = this.m22
+    val m23 = this.m23
+    val m30 = this.m30
+    val m31 = this.m31
+    val m32 = this.m32
+    val m33 = this.m33
+    var i = offset * 4
+    val end = (offset + count) * 4
+    while(i < end) {
+      val x = src(i)
+      val y = src(i + 1)
+      val z = src(i + 2)
+      val w = src(i + 3)
+      dst(i) = m00 * x + m01 * y + m02 * z + m03 * w
+      dst(i + 1) = m10 * x + m11 * y + m12 * z + m13 * w
+      dst(i + 2) = m20 * x + m21 * y + m22 * z + m23 * w
+      dst(i + 3) = m30 * x + m31 * y + m32 * z + m33 * w
+      i += 4
+    }
+  }
+
   /**
    * Returns the transposed of this matrix.
    *
@@ -435,50 +563,79 @@ case class Mat4d(
    *
    * @return The determinant of this matrix.
    */
-  def determinant: Double = this.m00 * this.submatrix(0, 0).determinant - this.m01 * this.submatrix(0, 1).determinant + this.m02 * this.submatrix(0, 2).determinant - this.m03 * this.submatrix(0, 3).determinant
+  def determinant: Double = Mat4d.cofactorExpansion(
+    this.m00, this.m01, this.m02, this.m03,
+    this.m10, this.m11, this.m12, this.m13,
+    this.m20, this.m21, this.m22, this.m23,
+    this.m30, this.m31, this.m32, this.m33,
+    invert = false, transpose = false, Mat4d.Determinant
+  )
 
   /**
    * Returns the adjugate of this matrix.
    *
    * @return The adjugate of this matrix.
    */
-  def adjugate: Mat4d = Mat4d(
-    this.submatrix(0, 0).determinant, -this.submatrix(1, 0).determinant, this.submatrix(2, 0).determinant, -this.submatrix(3, 0).determinant,
-    -this.submatrix(0, 1).determinant, this.submatrix(1, 1).determinant, -this.submatrix(2, 1).determinant, this.submatrix(3, 1).determinant,
-    this.submatrix(0, 2).determinant, -this.submatrix(1, 2).determinant, this.submatrix(2, 2).determinant, -this.submatrix(3, 2).determinant,
-    -this.submatrix(0, 3).determinant, this.submatrix(1, 3).determinant, -this.submatrix(2, 3).determinant, this.submatrix(3, 3).determinant
-  )
+  def adjugate: Mat4d = this.cofactorExpansion(invert = false, transpose = false)
 
   /**
    * Returns the inverse of this matrix.
    *
-   * The result is undefined if this matrix is not invertible.
+   * The inverse is computed by cofactor expansion using the 2x2 minors shared by the adjugate and the determinant.
    * It is possible to check if the matrix is invertible by checking if its [[determinant]] is not zero.
    *
    * @return The inverse of this matrix.
+   * @throws ArithmeticException If this matrix is not invertible.
+   */
+  def inverse: Mat4d = this.cofactorExpansion(invert = true, transpose = false)
+
+  /**
+   * Returns the transposed of the inverse of this matrix.
+   * Equivalent to `m.inverse.transposed`, but only allocates the result.
+   *
+   * The inverse transposed of a model matrix is the matrix used to transform normal vectors.
+   *
+   * @return The transposed of the inverse of this matrix.
+   * @throws ArithmeticException If this matrix is not invertible.
+   */
+  def inverseTransposed: Mat4d = this.cofactorExpansion(invert = true, transpose = true)
+
+  /**
+   * Computes the adjugate of this matrix by cofactor expansion using the 2x2 minors of its first two and its last two rows.
+   *
+   * @param invert True to divide the adjugate by the determinant of this matrix, which results in the inverse.
+   * @param transpose True to return the transposed of the result.
+   * @return The adjugate or the inverse of this matrix, transposed if `transpose` is true.
+   * @throws ArithmeticException If `invert` is true and this matrix is not invertible.
    */
-  def inverse: Mat4d = this.adjugate / this.determinant
+  private def cofactorExpansion(invert: Boolean, transpose: Boolean): Mat4d = Mat4d.cofactorExpansion(
+    this.m00, this.m01, this.m02, this.m03,
+    this.m10, this.m11, this.m12, this.m13,
+    this.m20, this.m21, this.m22, this.m23,
+    this.m30, this.m31, this.m32, this.m33,
+    invert, transpose, Mat4d.FromCofactors
+  )
 
   /**
-   * Raises this matrix to the given power by multiplying it with itself `exp` times and returns the result.
+   * Raises this matrix to the given power and returns the result.
+   * The power is computed by repeated squaring, which only takes a number of matrix products proportional to the logarithm of the exponent.
    *
    * If the given exponent is zero, the result will be the identity matrix.
    *
    * A matrix raised to a negative power is defined as the [[inverse]] matrix raised to `-exp`.
-   * The result is undefined if the given exponent is negative and this matrix is not invertible.
    *
    * @param exp The exponent to raise this matrix to.
    * @return This matrix raised to the given power.
+   * @throws ArithmeticException If the given exponent is negative and this matrix is not invertible.
    */
   def power(exp: Int): Mat4d = {
     if (exp < 0) {
-      this.inverse.power(-exp)
-    } else if (exp == 1) {
-      this
+      // The exponent is widened so that negating the smallest integer does not overflow
+      Mat4d.power(this.inverse, -exp.toLong)
     } else if (exp == 0) {
       Mat4d.Identity
     } else {
-      this * this.power(exp - 1)
+      Mat4d.power(this, exp)
     }
   }
 
@@ -498,6 +655,48 @@ case class Mat4d(
     scalamath.lerp(this.m30, to.m30, weight), scalamath.lerp(this.m31, to.m31, weight), scalamath.lerp(this.m32, to.m32, weight), scalamath.lerp(this.m33, to.m33, weight)
   )
 
+  /**
+   * Decomposes this matrix into a translation, a rotation, and a scale, such that this matrix is equal to `Mat4d.fromTRS(translation, rotation, scale)`.
+   *
+   * The scale is the length of the columns of the basis.
+   * If the basis contains a reflection, the scale on the x axis is negative.
+   * The basis must not contain a shear and must not have a zero scale on any axis. The matrix must be an affine transformation matrix.
+   *
+   * @return A tuple containing the translation, the rotation, and the scale of this matrix.
+   * @see [[Mat4d.fromTRS]]
+   */
+  def decompose: (Vec3d, Quatd, Vec3d) = {
+    val det = this.m00 * (this.m11 * this.m22 - this.m12 * this.m21) - this.m01 * (this.m10 * this.m22 - this.m12 * this.m20) + this.m02 * (this.m10 * this.m21 - this.m11 * this.m20)
+    val length = math.sqrt(this.m00 * this.m00 + this.m10 * this.m10 + this.m20 * this.m20)
+    // A negative determinant means that the basis contains a reflection
+    val sx = if(det < 0.0) -length else length
+    val sy = math.sqrt(this.m01 * this.m01 + this.m11 * this.m11 + this.m21 * this.m21)
+    val sz = math.sqrt(this.m02 * this.m02 + this.m12 * this.m12 + this.m22 * this.m22)
+    val rotation = Quatd.fromBasis(
+      this.m00 / sx, this.m01 / sy, this.m02 / sz,
+      this.m10 / sx, this.m11 / sy, this.m12 / sz,
+      this.m20 / sx, this.m21 / sy, this.m22 / sz
+    )
+    (Vec3d(this.m03, this.m13, this.m23), rotation, Vec3d(sx, sy, sz))
+  }
+
+  /**
+   * Interpolates between this matrix and the given one by interpolating their translation, rotation, and scale, and returns the result.
+   *
+   * Unlike [[lerp]], the result is always a rotation and scaling matrix.
+   * The translation and the scale are interpolated linearly and the rotation is interpolated with [[Quatd.slerp]].
+   * Both matrices must be decomposable by [[decompose]].
+   *
+   * @param to The second matrix.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @return The result of interpolating between the translation, rotation, and scale of this matrix and the given one.
+   */
+  def lerpTRS(to: Mat4d, weight: Double): Mat4d = {
+    val (t0, r0, s0) = this.decompose
+    val (t1, r1, s1) = to.decompose
+    Mat4d.fromTRS(t0.lerp(t1, weight), r0.slerp(r1, weight), s0.lerp(s1, weight))
+  }
+
   /**
    * Returns a matrix with all elements in absolute value.
    *
@@ -642,6 +841,102 @@ case class Mat4d(
     this.m20.toFloat, this.m21.toFloat, this.m22.toFloat, this.m23.toFloat,
     this.m30.toFloat, this.m31.toFloat, this.m32.toFloat, this.m33.toFloat
   )
+
+  /**
+   * Writes the elements of this matrix into the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: DoubleBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m10)
+      buffer.put(offset + 2, this.m20)
+      buffer.put(offset + 3, this.m30)
+      buffer.put(offset + 4, this.m01)
+      buffer.put(offset + 5, this.m11)
+      buffer.put(offset + 6, this.m21)
+      buffer.put(offset + 7, this.m31)
+      buffer.put(offset + 8, this.m02)
+      buffer.put(offset + 9, this.m12)
+      buffer.put(offset + 10, this.m22)
+      buffer.put(offset + 11, this.m32)
+      buffer.put(offset + 12, this.m03)
+      buffer.put(offset + 13, this.m13)
+      buffer.put(offset + 14, this.m23)
+      buffer.put(offset + 15, this.m33)
+    } else {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m01)
+      buffer.put(offset + 2, this.m02)
+      buffer.put(offset + 3, this.m03)
+      buffer.put(offset + 4, this.m10)
+      buffer.put(offset + 5, this.m11)
+      buffer.put(offset + 6, this.m12)
+      buffer.put(offset + 7, this.m13)
+      buffer.put(offset + 8, this.m20)
+      buffer.put(offset + 9, this.m21)
+      buffer.put(offset + 10, this.m22)
+      buffer.put(offset + 11, this.m23)
+      buffer.put(offset + 12, this.m30)
+      buffer.put(offset + 13, this.m31)
+      buffer.put(offset + 14, this.m32)
+      buffer.put(offset + 15, this.m33)
+    }
+  }
+
+  /**
+   * Writes the elements of this matrix into the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.putDouble(offset, this.m00)
+      buffer.putDouble(offset + 8, this.m10)
+      buffer.putDouble(offset + 16, this.m20)
+      buffer.putDouble(offset + 24, this.m30)
+      buffer.putDouble(offset + 32, this.m01)
+      buffer.putDouble(offset + 40, this.m11)
+      buffer.putDouble(offset + 48, this.m21)
+      buffer.putDouble(offset + 56, this.m31)
+      buffer.putDouble(offset + 64, this.m02)
+      buffer.putDouble(offset + 72, this.m12)
+      buffer.putDouble(offset + 80, this.m22)
+      buffer.putDouble(offset + 88, this.m32)
+      buffer.putDouble(offset + 96, this.m03)
+      buffer.putDouble(offset + 104, this.m13)
+      buffer.putDouble(offset + 112, this.m23)
+      buffer.putDouble(offset + 120, this.m33)
+    } else {
+      buffer.putDouble(offset, this.m00)
+      buffer.putDouble(offset + 8, this.m01)
+      buffer.putDouble(offset + 16, this.m02)
+      buffer.putDouble(offset + 24, this.m03)
+      buffer.putDouble(offset + 32, this.m10)
+      buffer.putDouble(offset + 40, this.m11)
+      buffer.putDouble(offset + 48, this.m12)
+      buffer.putDouble(offset + 56, this.m13)
+      buffer.putDouble(offset + 64, this.m20)
+      buffer.putDouble(offset + 72, this.m21)
+      buffer.putDouble(offset + 80, this.m22)
+      buffer.putDouble(offset + 88, this.m23)
+      buffer.putDouble(offset + 96, this.m30)
+      buffer.putDouble(offset + 104, this.m31)
+      buffer.putDouble(offset + 112, this.m32)
+      buffer.putDouble(offset + 120, this.m33)
+    }
+  }
 }
 
 /**
@@ -764,7 +1059,7 @@ object Mat4d {
    * @param z Rotation angle in radians on the z axis.
    * @return A 4x4 rotation matrix with the given rotation.
    */
-  def rotation(x: Double, y: Double, z: Double): Mat4d = this.rotationX(x) * this.rotationY(y) * this.rotationZ(z)
+  def rotation(x: Double, y: Double, z: Double): Mat4d = this.rotation(x, y, z, EulerOrder.XYZ)
 
   /**
    * Returns a 4x4 rotation matrix with the given rotation.
@@ -775,6 +1070,90 @@ object Mat4d {
    */
   def rotation(r: Vec3d): Mat4d = this.rotation(r.x, r.y, r.z)
 
+  /**
+   * Returns a 4x4 rotation matrix with the given rotation in the given order.
+   * The matrix is computed in closed form from one sine and one cosine per axis.
+   *
+   * The rotation on the first axis of the order is applied last, therefore the `XYZ` order is equivalent to `rotationX(x) * rotationY(y) * rotationZ(z)`.
+   *
+   * @param x Rotation angle in radians on the x axis.
+   * @param y Rotation angle in radians on the y axis.
+   * @param z Rotation angle in radians on the z axis.
+   * @param order The rotation order.
+   * @return A 4x4 rotation matrix with the given rotation.
+   */
+  def rotation(x: Double, y: Double, z: Double, order: EulerOrder): Mat4d = {
+    val sx = math.sin(x)
+    val cx = math.cos(x)
+    val sy = math.sin(y)
+    val cy = math.cos(y)
+    val sz = math.sin(z)
+    val cz = math.cos(z)
+    order match {
+      case EulerOrder.XYZ => Mat4d(
+        cy * cz, -cy * sz, sy, 0.0,
+        cx * sz + sx * sy * cz, cx * cz - sx * sy * sz, -sx * cy, 0.0,
+        sx * sz - cx * sy * cz, sx * cz + cx * sy * sz, cx * cy, 0.0,
+        0.0, 0.0, 0.0, 1.0
+      )
+      case EulerOrder.XZY => Mat4d(
+        cz * cy, -sz, cz * sy, 0.0,
+        sx * sy + cx * sz * cy, cx * cz, cx * sz * sy - sx * cy, 0.0,
+        sx * sz * cy - cx * sy, sx * cz, cx * cy + sx * sz * sy, 0.0,
+        0.0, 0.0, 0.0, 1.0
+      )
+      case EulerOrder.YXZ => Mat4d(
+        cy * cz + sy * sx * sz, sy * sx * cz - cy * sz, sy * cx, 0.0,
+        cx * sz, cx * cz, -sx, 0.0,
+        cy * sx * sz - sy * cz, sy * sz + cy * sx * cz, cy * cx, 0.0,
+        0.0, 0.0, 0.0, 1.0
+      )
+      case EulerOrder.YZX => Mat4d(
+        cy * cz, sy * sx - cy * sz * cx, sy * cx + cy * sz * sx, 0.0,
+        sz, cz * cx, -cz * sx, 0.0,
+        -sy * cz, cy * sx + sy * sz * cx, cy * cx - sy * sz * sx, 0.0,
+        0.0, 0.0, 0.0, 1.0
+      )
+      case EulerOrder.ZXY => Mat4d(
+        cz * cy - sz * sx * sy, -sz * cx, cz * sy + sz * sx * cy, 0.0,
+        sz * cy + cz * sx * sy, cz * cx, sz * sy - cz * sx * cy, 0.0,
+        -cx * sy, sx, cx * cy, 0.0,
+        0.0, 0.0, 0.0, 1.0
+      )
+      case EulerOrder.ZYX => Mat4d(
+        cz * cy, cz * sy * sx - sz * cx, sz * sx + cz * sy * cx, 0.0,
+        sz * cy, cz * cx + sz * sy * sx, sz * sy * cx - cz * sx, 0.0,
+        -sy, cy * sx, cy * cx, 0.0,
+        0.0, 0.0, 0.0, 1.0
+      )
+    }
+  }
+
+  /**
+   * Returns a 4x4 rotation matrix with the given rotation in the given order.
+   *
+   * @param r A vector representing the rotation angle on the x, y, and z axes.
+   * @param order The rotation order.
+   * @return A 4x4 rotation matrix with the given rotation.
+   */
+  def rotation(r: Vec3d, order: EulerOrder): Mat4d = this.rotation(r.x, r.y, r.z, order)
+
+  /**
+   * Writes the rotation matrices constructed from the euler angles in the given array into the destination array.
+   * Equivalent to calling `rotation(x, y, z, order)` for every rotation, but does not allocate any objects.
+   *
+   * The source array must contain tightly packed euler angles in `x, y, z` order.
+   * The destination array will contain tightly packed 4x4 matrices in row-major order.
+   *
+   * @param angles The array containing the euler angles.
+   * @param order The rotation order.
+   * @param dst The array in which the matrices are stored.
+   * @param offset The index of the first rotation to convert.
+   * @param count The number of rotations to convert.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def rotations(angles: Array[Double], order: EulerOrder, dst: Array[Double], offset: Int, count: Int): Unit = order.toRotationMatrices(angles, dst, offset, count, 4, 4)
+
   /**
    * Returns a 4x4 rotation matrix with a rotation of the given angle around the given axis.
    *
@@ -809,6 +1188,27 @@ object Mat4d {
     )
   }
 
+  /**
+   * Returns a 4x4 matrix that scales, then rotates, then translates, built from the given translation, rotation, and scale in a single pass.
+   * Equivalent to `Mat4d.translation(translation) * Mat4d.rotation(rotation) * Mat4d.scaling(scale)`.
+   *
+   * @param translation The translation.
+   * @param rotation The rotation quaternion. Must be a unit quaternion.
+   * @param scale The scale factor on the x, y, and z axes.
+   * @return A 4x4 matrix representing the given transform.
+   * @see [[Mat4d.decompose]]
+   */
+  def fromTRS(translation: Vec3d, rotation: Quatd, scale: Vec3d): Mat4d = {
+    val q = rotation
+    val s = 2.0 / q.lengthSquared
+    Mat4d(
+      (1.0 - s * (q.y * q.y + q.z * q.z)) * scale.x, s * (q.x * q.y - q.z * q.w) * scale.y, s * (q.x * q.z + q.y * q.w) * scale.z, translation.x,
+      s * (q.x * q.y + q.z * q.w) * scale.x, (1.0 - s * (q.x * q.x + q.z * q.z)) * scale.y, s * (q.y * q.z - q.x * q.w) * scale.z, translation.y,
+      s * (q.x * q.z - q.y * q.w) * scale.x, s * (q.y * q.z + q.x * q.w) * scale.y, (1.0 - s * (q.x * q.x + q.y * q.y)) * scale.z, translation.z,
+      0.0, 0.0, 0.0, 1.0
+    )
+  }
+
   /**
    * Returns a 4x4 matrix representing a scaling by the given factor in a 3D space.
    *
@@ -932,4 +1332,340 @@ object Mat4d {
      */
     def *(v: Mat4d): Mat4d = v * self
   }
+
+  /**
+   * Reads a matrix from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: DoubleBuffer, offset: Int, columnMajor: Boolean): Mat4d = {
+    if(columnMajor) {
+      Mat4d(
+        buffer.get(offset), buffer.get(offset + 4), buffer.get(offset + 8), buffer.get(offset + 12),
+        buffer.get(offset + 1), buffer.get(offset + 5), buffer.get(offset + 9), buffer.get(offset + 13),
+        buffer.get(offset + 2), buffer.get(offset + 6), buffer.get(offset + 10), buffer.get(offset + 14),
+        buffer.get(offset + 3), buffer.get(offset + 7), buffer.get(offset + 11), buffer.get(offset + 15)
+      )
+    } else {
+      Mat4d(
+        buffer.get(offset), buffer.get(offset + 1), buffer.get(offset + 2), buffer.get(offset + 3),
+        buffer.get(offset + 4), buffer.get(offset + 5), buffer.get(offset + 6), buffer.get(offset + 7),
+        buffer.get(offset + 8), buffer.get(offset + 9), buffer.get(offset + 10), buffer.get(offset + 11),
+        buffer.get(offset + 12), buffer.get(offset + 13), buffer.get(offset + 14), buffer.get(offset + 15)
+      )
+    }
+  }
+
+  /**
+   * Reads a matrix from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Mat4d = {
+    if(columnMajor) {
+      Mat4d(
+        buffer.getDouble(offset), buffer.getDouble(offset + 32), buffer.getDouble(offset + 64), buffer.getDouble(offset + 96),
+        buffer.getDouble(offset + 8), buffer.getDouble(offset + 40), buffer.getDouble(offset + 72), buffer.getDouble(offset + 104),
+        buffer.getDouble(offset + 16), buffer.getDouble(offset + 48), buffer.getDouble(offset + 80), buffer.getDouble(offset + 112),
+        buffer.getDouble(offset + 24), buffer.getDouble(offset + 56), buffer.getDouble(offset + 88), buffer.getDouble(offset + 120)
+      )
+    } else {
+      Mat4d(
+        buffer.getDouble(offset), buffer.getDouble(offset + 8), buffer.getDouble(offset + 16), buffer.getDouble(offset + 24),
+        buffer.getDouble(offset + 32), buffer.getDouble(offset + 40), buffer.getDouble(offset + 48), buffer.getDouble(offset + 56),
+        buffer.getDouble(offset + 64), buffer.getDouble(offset + 72), buffer.getDouble(offset + 80), buffer.getDouble(offset + 88),
+        buffer.getDouble(offset + 96), buffer.getDouble(offset + 104), buffer.getDouble(offset + 112), buffer.getDouble(offset + 120)
+      )
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given buffer one after the other, starting at the given index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat4d.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat4d], buffer: DoubleBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 16, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given byte buffer one after the other using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat4d.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat4d], buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 128, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads the given number of consecutive matrices from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: DoubleBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat4d] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 16, columnMajor))
+
+  /**
+   * Reads the given number of consecutive matrices from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: ByteBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat4d] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 128, columnMajor))
+
+  /**
+   * Builds the result of a cofactor expansion from the determinant of the expanded matrix and from the elements of the result.
+   *
+   * The trait is specialized for `Double` so that a result that only consists of the determinant is not boxed.
+   *
+   * @tparam R The type of the result.
+   */
+  private[vecmatlib] trait Cofactors[@specialized(Double) R] {
+
+    /**
+     * Builds the result of a cofactor expansion.
+     *
+     * @param det The determinant of the expanded matrix.
+     * @param a00 Element 0 0 of the adjugate or of the inverse, transposed if requested. The other parameters are the remaining elements in row-major order.
+     * @return The result of the expansion.
+     */
+    private[vecmatlib] def apply(det: Double, a00: Double, a01: Double, a02: Double, a03: Double, a10: Double, a11: Double, a12: Double, a13: Double, a20: Double, a21: Double, a22: Double, a23: Double, a30: Double, a31: Double, a32: Double, a33: Double): R
+  }
+
+  /** Returns the determinant of the expanded matrix. */
+  private val Determinant: Cofactors[Double] = new Cofactors[Double] {
+    override private[vecmatlib] def apply(det: Double, a00: Double, a01: Double, a02: Double, a03: Double, a10: Double, a11: Double, a12: Double, a13: Double, a20: Double, a21: Double, a22: Double, a23: Double, a30: Double, a31: Double, a32: Double, a33: Double): Double = det
+  }
+
+  /** Returns a matrix with the elements computed by the expansion. */
+  private val FromCofactors: Cofactors[Mat4d] = new Cofactors[Mat4d] {
+    override private[vecmatlib] def apply(det: Double, a00: Double, a01: Double, a02: Double, a03: Double, a10: Double, a11: Double, a12: Double, a13: Double, a20: Double, a21: Double, a22: Double, a23: Double, a30: Double, a31: Double, a32: Double, a33: Double): Mat4d = Mat4d(
+      a00, a01, a02, a03,
+      a10, a11, a12, a13,
+      a20, a21, a22, a23,
+      a30, a31, a32, a33
+    )
+  }
+
+  /**
+   * Computes the adjugate of the matrix with the given elements by cofactor expansion using the 2x2 minors of its first two and its last two rows.
+   *
+   * The determinant, the adjugate, and the inverse of a matrix are all computed by this expansion.
+   *
+   * @param invert True to divide the adjugate by the determinant of the matrix, which results in the inverse.
+   * @param transpose True to return the transposed of the result.
+   * @param result Builds the result from the determinant and from the computed elements.
+   * @tparam R The type of the result.
+   * @return The result built from the adjugate or the inverse of the matrix, transposed if `transpose` is true.
+   * @throws ArithmeticException If `invert` is true and the matrix is not invertible, in which case `result` is not called.
+   */
+  private[vecmatlib] def cofactorExpansion[@specialized(Double) R](m00: Double, m01: Double, m02: Double, m03: Double, m10: Double, m11: Double, m12: Double, m13: Double, m20: Double, m21: Double, m22: Double, m23: Double, m30: Double, m31: Double, m32: Double, m33: Double, invert: Boolean, transpose: Boolean, result: Cofactors[R]): R = {
+    val s0 = m00 * m11 - m10 * m01
+    val s1 = m00 * m12 - m10 * m02
+    val s2 = m00 * m13 - m10 * m03
+    val s3 = m01 * m12 - m11 * m02
+    val s4 = m01 * m13 - m11 * m03
+    val s5 = m02 * m13 - m12 * m03
+    val c5 = m22 * m33 - m32 * m23
+    val c4 = m21 * m33 - m31 * m23
+    val c3 = m21 * m32 - m31 * m22
+    val c2 = m20 * m33 - m30 * m23
+    val c1 = m20 * m32 - m30 * m22
+    val c0 = m20 * m31 - m30 * m21
+    val det = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0
+    val k = if(invert) {
+      if(det == 0.0) {
+        throw new ArithmeticException("Matrix is not invertible")
+      }
+      1.0 / det
+    } else {
+      1.0
+    }
+    val a00 = (m11 * c5 - m12 * c4 + m13 * c3) * k
+    val a01 = (-m01 * c5 + m02 * c4 - m03 * c3) * k
+    val a02 = (m31 * s5 - m32 * s4 + m33 * s3) * k
+    val a03 = (-m21 * s5 + m22 * s4 - m23 * s3) * k
+    val a10 = (-m10 * c5 + m12 * c2 - m13 * c1) * k
+    val a11 = (m00 * c5 - m02 * c2 + m03 * c1) * k
+    val a12 = (-m30 * s5 + m32 * s2 - m33 * s1) * k
+    val a13 = (m20 * s5 - m22 * s2 + m23 * s1) * k
+    val a20 = (m10 * c4 - m11 * c2 + m13 * c0) * k
+    val a21 = (-m00 * c4 + m01 * c2 - m03 * c0) * k
+    val a22 = (m30 * s4 - m31 * s2 + m33 * s0) * k
+    val a23 = (-m20 * s4 + m21 * s2 - m23 * s0) * k
+    val a30 = (-m10 * c3 + m11 * c1 - m12 * c0) * k
+    val a31 = (m00 * c3 - m01 * c1 + m02 * c0) * k
+    val a32 = (-m30 * s3 + m31 * s1 - m32 * s0) * k
+    val a33 = (m20 * s3 - m21 * s1 + m22 * s0) * k
+    if(transpose) {
+      result(
+        det,
+        a00, a10, a20, a30,
+        a01, a11, a21, a31,
+        a02, a12, a22, a32,
+        a03, a13, a23, a33
+      )
+    } else {
+      result(
+        det,
+        a00, a01, a02, a03,
+        a10, a11, a12, a13,
+        a20, a21, a22, a23,
+        a30, a31, a32, a33
+      )
+    }
+  }
+
+  /**
+   * Raises the given matrix to the given positive power by repeated squaring.
+   *
+   * @param m The matrix.
+   * @param exp The exponent. Must be greater than zero.
+   * @return The given matrix raised to the given power.
+   */
+  private def power(m: Mat4d, exp: Long): Mat4d = {
+    var base = m
+    var e = exp
+    while((e & 1L) == 0L) {
+      base = base * base
+      e >>= 1
+    }
+    var result = base
+    e >>= 1
+    while(e > 0L) {
+      base = base * base
+      if((e & 1L) == 1L) {
+        result = result * base
+      }
+      e >>= 1
+    }
+    result
+  }
+
+  /**
+   * Raises the matrices in the given array to the given power and stores the result in the destination array.
+   * Equivalent to `m.power(exp)` for every matrix.
+   *
+   * The given arrays must contain tightly packed 4x4 matrices in row-major order, i.e. sixteen consecutive values for each matrix.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the matrices.
+   * @param exp The exponent to raise the matrices to.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first matrix to raise.
+   * @param count The number of matrices to raise.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   * @throws ArithmeticException If the given exponent is negative and one of the matrices is not invertible.
+   */
+  def powerPacked(src: Array[Double], exp: Int, dst: Array[Double], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      this.write(this.read(src, i * 16).power(exp), dst, i * 16)
+      i += 1
+    }
+  }
+
+  /**
+   * Raises the matrices in the given array to the powers in the given array and stores the result in the destination array.
+   * Equivalent to `m.power(exp)` for every matrix.
+   *
+   * The given arrays must contain tightly packed 4x4 matrices in row-major order, i.e. sixteen consecutive values for each matrix.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the matrices.
+   * @param exps The array containing the exponent to raise each matrix to.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first matrix to raise.
+   * @param count The number of matrices to raise.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   * @throws ArithmeticException If one of the exponents is negative and the corresponding matrix is not invertible.
+   */
+  def powerPacked(src: Array[Double], exps: Array[Int], dst: Array[Double], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      this.write(this.read(src, i * 16).power(exps(i)), dst, i * 16)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads a matrix stored in row-major order from the given array.
+   *
+   * @param src The array containing the matrix.
+   * @param i The index of the first element of the matrix.
+   * @return The matrix read from the array.
+   */
+  private def read(src: Array[Double], i: Int): Mat4d = Mat4d(src(i), src(i + 1), src(i + 2), src(i + 3), src(i + 4), src(i + 5), src(i + 6), src(i + 7), src(i + 8), src(i + 9), src(i + 10), src(i + 11), src(i + 12), src(i + 13), src(i + 14), src(i + 15))
+
+  /**
+   * Stores the elements of the given matrix in the given array in row-major order.
+   *
+   * @param m The matrix to store.
+   * @param dst The array in which the matrix is stored.
+   * @param i The index at which the first element is stored.
+   */
+  private def write(m: Mat4d, dst: Array[Double], i: Int): Unit = {
+    dst(i) = m.m00
+    dst(i + 1) = m.m01
+    dst(i + 2) = m.m02
+    dst(i + 3) = m.m03
+    dst(i + 4) = m.m10
+    dst(i + 5) = m.m11
+    dst(i + 6) = m.m12
+    dst(i + 7) = m.m13
+    dst(i + 8) = m.m20
+    dst(i + 9) = m.m21
+    dst(i + 10) = m.m22
+    dst(i + 11) = m.m23
+    dst(i + 12) = m.m30
+    dst(i + 13) = m.m31
+    dst(i + 14) = m.m32
+    dst(i + 15) = m.m33
+  }
 }
@@ -1,5 +1,7 @@
 package io.github.scalamath.vecmatlib
 
+import java.nio.{ByteBuffer, IntBuffer}
+
 /**
  * A 4x4 int matrix.
  *
@@ -254,7 +256,7 @@ case class Mat4i(
    * @param v The vector to multiply this matrix by.
    * @return The product of this matrix by the given vector.
    */
-  def *(v: Vec4i): Vec4i = Vec4i(this.row0.dot(v), this.row1.dot(v), this.row2.dot(v), this.row3.dot(v))
+  def *(v: Vec4i): Vec4i = this * (v.x, v.y, v.z, v.w)
 
   /**
    * Multiplies this matrix by the given vector and returns the result.
@@ -275,7 +277,12 @@ case class Mat4i(
    * @param w The vector's w component.
    * @return The product of this matrix by the vector with the given components.
    */
-  def *(x: Int, y: Int, z: Int, w: Int): Vec4i = this * Vec4i(x, y, z, w)
+  def *(x: Int, y: Int, z: Int, w: Int): Vec4i = Vec4i(
+    this.m00 * x + this.m01 * y + this.m02 * z + this.m03 * w,
+    this.m10 * x + this.m11 * y + this.m12 * z + this.m13 * w,
+    this.m20 * x + this.m21 * y + this.m22 * z + this.m23 * w,
+    this.m30 * x + this.m31 * y + this.m32 * z + this.m33 * w
+  )
 
   /**
    * Multiplies this matrix by the vector with the given components and returns the result.
@@ -338,10 +345,10 @@ case class Mat4i(
    * @return The product between this matrix and the given one.
    */
   def *(m: Mat4i): Mat4i = Mat4i(
-    this.row0.dot(m.col0), this.row0.dot(m.col1), this.row0.dot(m.col2), this.row0.dot(m.col3),
-    this.row1.dot(m.col0), this.row1.dot(m.col1), this.row1.dot(m.col2), this.row1.dot(m.col3),
-    this.row2.dot(m.col0), this.row2.dot(m.col1), this.row2.dot(m.col2), this.row2.dot(m.col3),
-    this.row3.dot(m.col0), this.row3.dot(m.col1), this.row3.dot(m.col2), this.row3.dot(m.col3)
+    this.m00 * m.m00 + this.m01 * m.m10 + this.m02 * m.m20 + this.m03 * m.m30, this.m00 * m.m01 + this.m01 * m.m11 + this.m02 * m.m21 + this.m03 * m.m31, this.m00 * m.m02 + this.m01 * m.m12 + this.m02 * m.m22 + this.m03 * m.m32, this.m00 * m.m03 + this.m01 * m.m13 + this.m02 * m.m23 + this.m03 * m.m33,
+    this.m10 * m.m00 + this.m11 * m.m10 + this.m12 * m.m20 + this.m13 * m.m30, this.m10 * m.m01 + this.m11 * m.m11 + this.m12 * m.m21 + this.m13 * m.m31, this.m10 * m.m02 + this.m11 * m.m12 + this.m12 * m.m22 + this.m13 * m.m32, this.m10 * m.m03 + this.m11 * m.m13 + this.m12 * m.m23 + this.m13 * m.m33,
+    this.m20 * m.m00 + this.m21 * m.m10 + this.m22 * m.m20 + this.m23 * m.m30, this.m20 * m.m01 + this.m21 * m.m11 + this.m22 * m.m21 + this.m23 * m.m31, this.m20 * m.m02 + this.m21 * m.m12 + this.m22 * m.m22 + this.m23 * m.m32, this.m20 * m.m03 + this.m21 * m.m13 + this.m22 * m.m23 + this.m23 * m.m33,
+    this.m30 * m.m00 + this.m31 * m.m10 + this.m32 * m.m20 + this.m33 * m.m30, this.m30 * m.m01 + this.m31 * m.m11 + this.m32 * m.m21 + this.m33 * m.m31, this.m30 * m.m02 + this.m31 * m.m12 + this.m32 * m.m22 + this.m33 * m.m32, this.m30 * m.m03 + this.m31 * m.m13 + this.m32 * m.m23 + this.m33 * m.m33
   )
 
   /**
@@ -443,7 +450,8 @@ case class Mat4i(
   )
 
   /**
-   * Raises this matrix to the given power by multiplying it with itself `exp` times and returns the result.
+   * Raises this matrix to the given power and returns the result.
+   * The power is computed by repeated squaring, which only takes a number of matrix products proportional to the logarithm of the exponent.
    *
    * If the given exponent is zero, the result will be the identity matrix.
    *
@@ -456,12 +464,10 @@ case class Mat4i(
   def power(exp: Int): Mat4i = {
     if (exp < 0) {
       throw new IllegalArgumentException("Negative exponents are not allowed for integer matrices")
-    } else if (exp == 1) {
-      this
     } else if (exp == 0) {
       Mat4i.Identity
     } else {
-      this * this.power(exp - 1)
+      Mat4i.power(this, exp)
     }
   }
 
@@ -539,6 +545,102 @@ case class Mat4i(
     this.m20.toDouble, this.m21.toDouble, this.m22.toDouble, this.m23.toDouble,
     this.m30.toDouble, this.m31.toDouble, this.m32.toDouble, this.m33.toDouble
   )
+
+  /**
+   * Writes the elements of this matrix into the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: IntBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m10)
+      buffer.put(offset + 2, this.m20)
+      buffer.put(offset + 3, this.m30)
+      buffer.put(offset + 4, this.m01)
+      buffer.put(offset + 5, this.m11)
+      buffer.put(offset + 6, this.m21)
+      buffer.put(offset + 7, this.m31)
+      buffer.put(offset + 8, this.m02)
+      buffer.put(offset + 9, this.m12)
+      buffer.put(offset + 10, this.m22)
+      buffer.put(offset + 11, this.m32)
+      buffer.put(offset + 12, this.m03)
+      buffer.put(offset + 13, this.m13)
+      buffer.put(offset + 14, this.m23)
+      buffer.put(offset + 15, this.m33)
+    } else {
+      buffer.put(offset, this.m00)
+      buffer.put(offset + 1, this.m01)
+      buffer.put(offset + 2, this.m02)
+      buffer.put(offset + 3, this.m03)
+      buffer.put(offset + 4, this.m10)
+      buffer.put(offset + 5, this.m11)
+      buffer.put(offset + 6, this.m12)
+      buffer.put(offset + 7, this.m13)
+      buffer.put(offset + 8, this.m20)
+      buffer.put(offset + 9, this.m21)
+      buffer.put(offset + 10, this.m22)
+      buffer.put(offset + 11, this.m23)
+      buffer.put(offset + 12, this.m30)
+      buffer.put(offset + 13, this.m31)
+      buffer.put(offset + 14, this.m32)
+      buffer.put(offset + 15, this.m33)
+    }
+  }
+
+  /**
+   * Writes the elements of this matrix into the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first element is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    if(columnMajor) {
+      buffer.putInt(offset, this.m00)
+      buffer.putInt(offset + 4, this.m10)
+      buffer.putInt(offset + 8, this.m20)
+      buffer.putInt(offset + 12, this.m30)
+      buffer.putInt(offset + 16, this.m01)
+      buffer.putInt(offset + 20, this.m11)
+      buffer.putInt(offset + 24, this.m21)
+      buffer.putInt(offset + 28, this.m31)
+      buffer.putInt(offset + 32, this.m02)
+      buffer.putInt(offset + 36, this.m12)
+      buffer.putInt(offset + 40, this.m22)
+      buffer.putInt(offset + 44, this.m32)
+      buffer.putInt(offset + 48, this.m03)
+      buffer.putInt(offset + 52, this.m13)
+      buffer.putInt(offset + 56, this.m23)
+      buffer.putInt(offset + 60, this.m33)
+    } else {
+      buffer.putInt(offset, this.m00)
+      buffer.putInt(offset + 4, this.m01)
+      buffer.putInt(offset + 8, this.m02)
+      buffer.putInt(offset + 12, this.m03)
+      buffer.putInt(offset + 16, this.m10)
+      buffer.putInt(offset + 20, this.m11)
+      buffer.putInt(offset + 24, this.m12)
+      buffer.putInt(offset + 28, this.m13)
+      buffer.putInt(offset + 32, this.m20)
+      buffer.putInt(offset + 36, this.m21)
+      buffer.putInt(offset + 40, this.m22)
+      buffer.putInt(offset + 44, this.m23)
+      buffer.putInt(offset + 48, this.m30)
+      buffer.putInt(offset + 52, this.m31)
+      buffer.putInt(offset + 56, this.m32)
+      buffer.putInt(offset + 60, this.m33)
+    }
+  }
 }
 
 /**
@@ -600,6 +702,158 @@ object Mat4i {
     def *(v: Mat4i): Mat4i = v * self
   }
 
+  /**
+   * Reads a matrix from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: IntBuffer, offset: Int, columnMajor: Boolean): Mat4i = {
+    if(columnMajor) {
+      Mat4i(
+        buffer.get(offset), buffer.get(offset + 4), buffer.get(offset + 8), buffer.get(offset + 12),
+        buffer.get(offset + 1), buffer.get(offset + 5), buffer.get(offset + 9), buffer.get(offset + 13),
+        buffer.get(offset + 2), buffer.get(offset + 6), buffer.get(offset + 10), buffer.get(offset + 14),
+        buffer.get(offset + 3), buffer.get(offset + 7), buffer.get(offset + 11), buffer.get(offset + 15)
+      )
+    } else {
+      Mat4i(
+        buffer.get(offset), buffer.get(offset + 1), buffer.get(offset + 2), buffer.get(offset + 3),
+        buffer.get(offset + 4), buffer.get(offset + 5), buffer.get(offset + 6), buffer.get(offset + 7),
+        buffer.get(offset + 8), buffer.get(offset + 9), buffer.get(offset + 10), buffer.get(offset + 11),
+        buffer.get(offset + 12), buffer.get(offset + 13), buffer.get(offset + 14), buffer.get(offset + 15)
+      )
+    }
+  }
+
+  /**
+   * Reads a matrix from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first element is stored.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return The matrix read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Mat4i = {
+    if(columnMajor) {
+      Mat4i(
+        buffer.getInt(offset), buffer.getInt(offset + 16), buffer.getInt(offset + 32), buffer.getInt(offset + 48),
+        buffer.getInt(offset + 4), buffer.getInt(offset + 20), buffer.getInt(offset + 36), buffer.getInt(offset + 52),
+        buffer.getInt(offset + 8), buffer.getInt(offset + 24), buffer.getInt(offset + 40), buffer.getInt(offset + 56),
+        buffer.getInt(offset + 12), buffer.getInt(offset + 28), buffer.getInt(offset + 44), buffer.getInt(offset + 60)
+      )
+    } else {
+      Mat4i(
+        buffer.getInt(offset), buffer.getInt(offset + 4), buffer.getInt(offset + 8), buffer.getInt(offset + 12),
+        buffer.getInt(offset + 16), buffer.getInt(offset + 20), buffer.getInt(offset + 24), buffer.getInt(offset + 28),
+        buffer.getInt(offset + 32), buffer.getInt(offset + 36), buffer.getInt(offset + 40), buffer.getInt(offset + 44),
+        buffer.getInt(offset + 48), buffer.getInt(offset + 52), buffer.getInt(offset + 56), buffer.getInt(offset + 60)
+      )
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given buffer one after the other, starting at the given index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat4i.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat4i], buffer: IntBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 16, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Writes the given matrices into the given byte buffer one after the other using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param matrices The matrices to write.
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first matrix is written.
+   * @param columnMajor True to write the elements in column-major order, as expected by OpenGL, false to write them in row-major order.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Mat4i.writeTo]]
+   */
+  def writeAll(matrices: Array[Mat4i], buffer: ByteBuffer, offset: Int, columnMajor: Boolean): Unit = {
+    var i = 0
+    while(i < matrices.length) {
+      matrices(i).writeTo(buffer, offset + i * 64, columnMajor)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads the given number of consecutive matrices from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: IntBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat4i] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 16, columnMajor))
+
+  /**
+   * Reads the given number of consecutive matrices from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first matrix is stored.
+   * @param count The number of matrices to read.
+   * @param columnMajor True if the elements are stored in column-major order, as expected by OpenGL, false if they are stored in row-major order.
+   * @return An array containing the matrices read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: ByteBuffer, offset: Int, count: Int, columnMajor: Boolean): Array[Mat4i] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 64, columnMajor))
+
+  /**
+   * Raises the given matrix to the given positive power by repeated squaring.
+   *
+   * @param m The matrix.
+   * @param exp The exponent. Must be greater than zero.
+   * @return The given matrix raised to the given power.
+   */
+  private def power(m: Mat4i, exp: Long): Mat4i = {
+    var base = m
+    var e = exp
+    while((e & 1L) == 0L) {
+      base = base * base
+      e >>= 1
+    }
+    var result = base
+    e >>= 1
+    while(e > 0L) {
+      base = base * base
+      if((e & 1L) == 1L) {
+        result = result * base
+      }
+      e >>= 1
+    }
+    result
+  }
+
   /**
    * Implicit conversion from [[Mat4i]] to [[Mat4f]].
    */
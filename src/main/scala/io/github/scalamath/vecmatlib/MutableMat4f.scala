@@ -0,0 +1,260 @@
+package io.github.scalamath.vecmatlib
+
+/**
+ * A mutable 4x4 float matrix.
+ *
+ * Unlike [[Mat4f]], whose operations always return a new object, the `set` methods of this class store their result in this matrix and return it.
+ * This allows hot loops to reuse a few preallocated matrices instead of allocating a new object for every intermediate result.
+ *
+ * The operands of all `set` methods may be this matrix, in which case the operation is done in place.
+ *
+ * @constructor Constructs a mutable matrix from the given values.
+ * @param m00 Element 0 0
+ * @param m01 Element 0 1
+ * @param m02 Element 0 2
+ * @param m03 Element 0 3
+ * @param m10 Element 1 0
+ * @param m11 Element 1 1
+ * @param m12 Element 1 2
+ * @param m13 Element 1 3
+ * @param m20 Element 2 0
+ * @param m21 Element 2 1
+ * @param m22 Element 2 2
+ * @param m23 Element 2 3
+ * @param m30 Element 3 0
+ * @param m31 Element 3 1
+ * @param m32 Element 3 2
+ * @param m33 Element 3 3
+ */
+final class MutableMat4f(
+                          var m00: Float, var m01: Float, var m02: Float, var m03: Float,
+                          var m10: Float, var m11: Float, var m12: Float, var m13: Float,
+                          var m20: Float, var m21: Float, var m22: Float, var m23: Float,
+                          var m30: Float, var m31: Float, var m32: Float, var m33: Float
+                        ) extends Mat4f.Cofactors[MutableMat4f] {
+
+  /**
+   * Constructs an identity matrix.
+   */
+  def this() = this(1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f)
+
+  /**
+   * Constructs a mutable matrix with the same elements as the given one.
+   *
+   * @param m The matrix to copy.
+   */
+  def this(m: Mat4f) = this(
+    m.m00, m.m01, m.m02, m.m03,
+    m.m10, m.m11, m.m12, m.m13,
+    m.m20, m.m21, m.m22, m.m23,
+    m.m30, m.m31, m.m32, m.m33
+  )
+
+  /**
+   * Sets the elements of this matrix to the given values.
+   *
+   * @param m00 The new element 0 0
+   * @param m01 The new element 0 1
+   * @param m02 The new element 0 2
+   * @param m03 The new element 0 3
+   * @param m10 The new element 1 0
+   * @param m11 The new element 1 1
+   * @param m12 The new element 1 2
+   * @param m13 The new element 1 3
+   * @param m20 The new element 2 0
+   * @param m21 The new element 2 1
+   * @param m22 The new element 2 2
+   * @param m23 The new element 2 3
+   * @param m30 The new element 3 0
+   * @param m31 The new element 3 1
+   * @param m32 The new element 3 2
+   * @param m33 The new element 3 3
+   * @return This matrix.
+   */
+  def set(
+    m00: Float, m01: Float, m02: Float, m03: Float,
+    m10: Float, m11: Float, m12: Float, m13: Float,
+    m20: Float, m21: Float, m22: Float, m23: Float,
+    m30: Float, m31: Float, m32: Float, m33: Float
+  ): MutableMat4f = {
+    this.m00 = m00
+    this.m01 = m01
+    this.m02 = m02
+    this.m03 = m03
+    this.m10 = m10
+    this.m11 = m11
+    this.m12 = m12
+    this.m13 = m13
+    this.m20 = m20
+    this.m21 = m21
+    this.m22 = m22
+    this.m23 = m23
+    this.m30 = m30
+    this.m31 = m31
+    this.m32 = m32
+    this.m33 = m33
+    this
+  }
+
+  /**
+   * Sets the elements of this matrix to the ones of the given matrix.
+   *
+   * @param m The matrix to copy.
+   * @return This matrix.
+   */
+  def set(m: Mat4f): MutableMat4f = this.set(
+    m.m00, m.m01, m.m02, m.m03,
+    m.m10, m.m11, m.m12, m.m13,
+    m.m20, m.m21, m.m22, m.m23,
+    m.m30, m.m31, m.m32, m.m33
+  )
+
+  /**
+   * Sets the elements of this matrix to the ones of the given matrix.
+   *
+   * @param m The matrix to copy.
+   * @return This matrix.
+   */
+  def set(m: MutableMat4f): MutableMat4f = this.set(
+    m.m00, m.m01, m.m02, m.m03,
+    m.m10, m.m11, m.m12, m.m13,
+    m.m20, m.m21, m.m22, m.m23,
+    m.m30, m.m31, m.m32, m.m33
+  )
+
+  /**
+   * Sets this matrix to the identity matrix.
+   *
+   * @return This matrix.
+   */
+  def setIdentity(): MutableMat4f = this.set(1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f)
+
+  /**
+   * Sets this matrix to a translation matrix.
+   * Equivalent to `Mat4f.translation(x, y, z)`.
+   *
+   * @param x Translation on the x axis.
+   * @param y Translation on the y axis.
+   * @param z Translation on the z axis.
+   * @return This matrix.
+   */
+  def setTranslation(x: Float, y: Float, z: Float): MutableMat4f = this.set(1.0f, 0.0f, 0.0f, x, 0.0f, 1.0f, 0.0f, y, 0.0f, 0.0f, 1.0f, z, 0.0f, 0.0f, 0.0f, 1.0f)
+
+  /**
+   * Sets this matrix to a rotation matrix with the rotation expressed by the given quaternion.
+   * Equivalent to `Mat4f.rotation(q)`.
+   *
+   * @param q The rotation quaternion. Must be a unit quaternion.
+   * @return This matrix.
+   */
+  def setRotation(q: MutableQuatf): MutableMat4f = {
+    val s = 2.0f / q.lengthSquared
+    this.set(
+      1.0f - s * (q.y * q.y + q.z * q.z), s * (q.x * q.y - q.z * q.w), s * (q.x * q.z + q.y * q.w), 0.0f,
+      s * (q.x * q.y + q.z * q.w), 1.0f - s * (q.x * q.x + q.z * q.z), s * (q.y * q.z - q.x * q.w), 0.0f,
+      s * (q.x * q.z - q.y * q.w), s * (q.y * q.z + q.x * q.w), 1.0f - s * (q.x * q.x + q.y * q.y), 0.0f,
+      0.0f, 0.0f, 0.0f, 1.0f
+    )
+  }
+
+  /**
+   * Sets this matrix to a scaling matrix.
+   * Equivalent to `Mat4f.scaling(x, y, z)`.
+   *
+   * @param x Scale factor on the x axis.
+   * @param y Scale factor on the y axis.
+   * @param z Scale factor on the z axis.
+   * @return This matrix.
+   */
+  def setScaling(x: Float, y: Float, z: Float): MutableMat4f = this.set(x, 0.0f, 0.0f, 0.0f, 0.0f, y, 0.0f, 0.0f, 0.0f, 0.0f, z, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f)
+
+  /**
+   * Sets this matrix to the sum between the two given matrices.
+   *
+   * @param a The first matrix.
+   * @param b The second matrix.
+   * @return This matrix.
+   */
+  def setAdd(a: MutableMat4f, b: MutableMat4f): MutableMat4f = this.set(
+    a.m00 + b.m00, a.m01 + b.m01, a.m02 + b.m02, a.m03 + b.m03,
+    a.m10 + b.m10, a.m11 + b.m11, a.m12 + b.m12, a.m13 + b.m13,
+    a.m20 + b.m20, a.m21 + b.m21, a.m22 + b.m22, a.m23 + b.m23,
+    a.m30 + b.m30, a.m31 + b.m31, a.m32 + b.m32, a.m33 + b.m33
+  )
+
+  /**
+   * Sets this matrix to the product between the two given matrices.
+   *
+   * @param a The first matrix.
+   * @param b The second matrix.
+   * @return This matrix.
+   */
+  def setMul(a: MutableMat4f, b: MutableMat4f): MutableMat4f = this.set(
+    a.m00 * b.m00 + a.m01 * b.m10 + a.m02 * b.m20 + a.m03 * b.m30, a.m00 * b.m01 + a.m01 * b.m11 + a.m02 * b.m21 + a.m03 * b.m31, a.m00 * b.m02 + a.m01 * b.m12 + a.m02 * b.m22 + a.m03 * b.m32, a.m00 * b.m03 + a.m01 * b.m13 + a.m02 * b.m23 + a.m03 * b.m33,
+    a.m10 * b.m00 + a.m11 * b.m10 + a.m12 * b.m20 + a.m13 * b.m30, a.m10 * b.m01 + a.m11 * b.m11 + a.m12 * b.m21 + a.m13 * b.m31, a.m10 * b.m02 + a.m11 * b.m12 + a.m12 * b.m22 + a.m13 * b.m32, a.m10 * b.m03 + a.m11 * b.m13 + a.m12 * b.m23 + a.m13 * b.m33,
+    a.m20 * b.m00 + a.m21 * b.m10 + a.m22 * b.m20 + a.m23 * b.m30, a.m20 * b.m01 + a.m21 * b.m11 + a.m22 * b.m21 + a.m23 * b.m31, a.m20 * b.m02 + a.m21 * b.m12 + a.m22 * b.m22 + a.m23 * b.m32, a.m20 * b.m03 + a.m21 * b.m13 + a.m22 * b.m23 + a.m23 * b.m33,
+    a.m30 * b.m00 + a.m31 * b.m10 + a.m32 * b.m20 + a.m33 * b.m30, a.m30 * b.m01 + a.m31 * b.m11 + a.m32 * b.m21 + a.m33 * b.m31, a.m30 * b.m02 + a.m31 * b.m12 + a.m32 * b.m22 + a.m33 * b.m32, a.m30 * b.m03 + a.m31 * b.m13 + a.m32 * b.m23 + a.m33 * b.m33
+  )
+
+  /**
+   * Sets this matrix to the transposed of the given one.
+   *
+   * @param a The matrix to transpose.
+   * @return This matrix.
+   */
+  def setTransposed(a: MutableMat4f): MutableMat4f = this.set(
+    a.m00, a.m10, a.m20, a.m30,
+    a.m01, a.m11, a.m21, a.m31,
+    a.m02, a.m12, a.m22, a.m32,
+    a.m03, a.m13, a.m23, a.m33
+  )
+
+  /**
+   * Sets this matrix to the inverse of the given one.
+   *
+   * @param a The matrix to invert.
+   * @return This matrix.
+   * @throws ArithmeticException If the given matrix is not invertible, in which case this matrix is not modified.
+   */
+  def setInverse(a: MutableMat4f): MutableMat4f = Mat4f.cofactorExpansion(
+    a.m00, a.m01, a.m02, a.m03,
+    a.m10, a.m11, a.m12, a.m13,
+    a.m20, a.m21, a.m22, a.m23,
+    a.m30, a.m31, a.m32, a.m33,
+    invert = true, transpose = false, this
+  )
+
+  /**
+   * Sets the elements of this matrix to the result of a cofactor expansion.
+   * Used by [[setInverse]] to store the inverse computed by [[Mat4f.cofactorExpansion]] in this matrix.
+   *
+   * @param det The determinant of the expanded matrix.
+   * @param a00 Element 0 0 of the result. The other parameters are the remaining elements in row-major order.
+   * @return This matrix.
+   */
+  override private[vecmatlib] def apply(det: Float, a00: Float, a01: Float, a02: Float, a03: Float, a10: Float, a11: Float, a12: Float, a13: Float, a20: Float, a21: Float, a22: Float, a23: Float, a30: Float, a31: Float, a32: Float, a33: Float): MutableMat4f = this.set(
+    a00, a01, a02, a03,
+    a10, a11, a12, a13,
+    a20, a21, a22, a23,
+    a30, a31, a32, a33
+  )
+
+  /**
+   * Returns an immutable copy of this matrix.
+   *
+   * @return A [[Mat4f]] with the same elements as this matrix.
+   */
+  def toMat4f: Mat4f = Mat4f(
+    this.m00, this.m01, this.m02, this.m03,
+    this.m10, this.m11, this.m12, this.m13,
+    this.m20, this.m21, this.m22, this.m23,
+    this.m30, this.m31, this.m32, this.m33
+  )
+
+  /**
+   * Returns a string representation of this matrix.
+   *
+   * @return A string representation of this matrix.
+   */
+  override def toString: String = s"MutableMat4f(${this.m00}, ${this.m01}, ${this.m02}, ${this.m03}, ${this.m10}, ${this.m11}, ${this.m12}, ${this.m13}, ${this.m20}, ${this.m21}, ${this.m22}, ${this.m23}, ${this.m30}, ${this.m31}, ${this.m32}, ${this.m33})"
+}
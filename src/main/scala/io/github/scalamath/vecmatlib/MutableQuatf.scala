@@ -0,0 +1,221 @@
+package io.github.scalamath.vecmatlib
+
+import io.github.scalamath
+
+/**
+ * A mutable quaternion using floating point components.
+ *
+ * Unlike [[Quatf]], whose operations always return a new object, the `set` methods of this class store their result in this quaternion and return it.
+ * This allows hot loops to reuse a few preallocated quaternions instead of allocating a new object for every intermediate result.
+ *
+ * The operands of all `set` methods may be this quaternion, in which case the operation is done in place.
+ *
+ * @constructor Constructs a mutable quaternion from the given components.
+ * @param w The real/scalar part of the quaternion.
+ * @param x The first component of the vector part.
+ * @param y The second component of the vector part.
+ * @param z The third component of the vector part.
+ */
+final class MutableQuatf(var w: Float, var x: Float, var y: Float, var z: Float) {
+
+  /**
+   * Constructs an identity quaternion.
+   */
+  def this() = this(1.0f, 0.0f, 0.0f, 0.0f)
+
+  /**
+   * Constructs a mutable quaternion with the same components as the given one.
+   *
+   * @param q The quaternion to copy.
+   */
+  def this(q: Quatf) = this(q.w, q.x, q.y, q.z)
+
+  /**
+   * Sets the components of this quaternion to the given values.
+   *
+   * @param w The new real/scalar part of the quaternion.
+   * @param x The new first component of the vector part.
+   * @param y The new second component of the vector part.
+   * @param z The new third component of the vector part.
+   * @return This quaternion.
+   */
+  def set(w: Float, x: Float, y: Float, z: Float): MutableQuatf = {
+    this.w = w
+    this.x = x
+    this.y = y
+    this.z = z
+    this
+  }
+
+  /**
+   * Sets the components of this quaternion to the ones of the given quaternion.
+   *
+   * @param q The quaternion to copy.
+   * @return This quaternion.
+   */
+  def set(q: Quatf): MutableQuatf = this.set(q.w, q.x, q.y, q.z)
+
+  /**
+   * Sets the components of this quaternion to the ones of the given quaternion.
+   *
+   * @param q The quaternion to copy.
+   * @return This quaternion.
+   */
+  def set(q: MutableQuatf): MutableQuatf = this.set(q.w, q.x, q.y, q.z)
+
+  /**
+   * Sets this quaternion to the identity quaternion.
+   *
+   * @return This quaternion.
+   */
+  def setIdentity(): MutableQuatf = this.set(1.0f, 0.0f, 0.0f, 0.0f)
+
+  /**
+   * Sets this quaternion to the rotation around the given axis by the given angle.
+   *
+   * @param x The x component of the rotation axis. The axis must be normalized.
+   * @param y The y component of the rotation axis. The axis must be normalized.
+   * @param z The z component of the rotation axis. The axis must be normalized.
+   * @param angle The rotation angle in radians.
+   * @return This quaternion.
+   */
+  def setAxisAngle(x: Float, y: Float, z: Float, angle: Double): MutableQuatf = {
+    val sin = math.sin(angle / 2.0).toFloat
+    this.set(math.cos(angle / 2.0).toFloat, x * sin, y * sin, z * sin)
+  }
+
+  /**
+   * Sets this quaternion to the sum between the two given quaternions.
+   *
+   * @param a The first quaternion.
+   * @param b The second quaternion.
+   * @return This quaternion.
+   */
+  def setAdd(a: MutableQuatf, b: MutableQuatf): MutableQuatf = this.set(a.w + b.w, a.x + b.x, a.y + b.y, a.z + b.z)
+
+  /**
+   * Sets this quaternion to the product between the two given quaternions as defined by the Hamilton product.
+   *
+   * @param a The first quaternion.
+   * @param b The second quaternion.
+   * @return This quaternion.
+   */
+  def setMul(a: MutableQuatf, b: MutableQuatf): MutableQuatf = this.set(
+    a.w * b.w - a.x * b.x - a.y * b.y - a.z * b.z,
+    a.w * b.x + a.x * b.w + a.y * b.z - a.z * b.y,
+    a.w * b.y - a.x * b.z + a.y * b.w + a.z * b.x,
+    a.w * b.z + a.x * b.y - a.y * b.x + a.z * b.w
+  )
+
+  /**
+   * Sets this quaternion to the product between the given quaternion and the given scalar.
+   *
+   * @param a The quaternion.
+   * @param k The scalar.
+   * @return This quaternion.
+   */
+  def setMul(a: MutableQuatf, k: Float): MutableQuatf = this.set(a.w * k, a.x * k, a.y * k, a.z * k)
+
+  /**
+   * Sets this quaternion to the conjugate of the given one.
+   *
+   * @param a The quaternion to conjugate.
+   * @return This quaternion.
+   */
+  def setConjugate(a: MutableQuatf): MutableQuatf = this.set(a.w, -a.x, -a.y, -a.z)
+
+  /**
+   * Sets this quaternion to the inverse of the given one.
+   *
+   * @param a The quaternion to invert.
+   * @return This quaternion.
+   */
+  def setInverse(a: MutableQuatf): MutableQuatf = {
+    val k = 1.0f / a.lengthSquared
+    this.set(a.w * k, -a.x * k, -a.y * k, -a.z * k)
+  }
+
+  /**
+   * Sets this quaternion to the given one scaled to unit length.
+   *
+   * @param a The quaternion to normalize.
+   * @return This quaternion.
+   */
+  def setNormalized(a: MutableQuatf): MutableQuatf = this.setMul(a, 1.0f / a.length)
+
+  /**
+   * Sets this quaternion to the spherical linear interpolation between the two given quaternions by the given weight.
+   * Equivalent to `from.slerp(to, weight)`.
+   *
+   * @param from The first quaternion. Must be a unit quaternion.
+   * @param to The second quaternion. Must be a unit quaternion.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @return This quaternion.
+   */
+  def setSlerp(from: MutableQuatf, to: MutableQuatf, weight: Float): MutableQuatf = {
+    val cos = from.dot(to)
+    // Negate the second quaternion if the two are in opposite hemispheres to take the shortest path
+    val sign = if(cos < 0.0f) -1.0f else 1.0f
+    val d = math.min(cos * sign, 1.0f)
+    if(d > 1.0 - scalamath.Epsilon) {
+      this.setNlerp(from, to, weight)
+    } else {
+      val angle = math.acos(d)
+      val sin = math.sin(angle)
+      val a = (math.sin((1.0 - weight) * angle) / sin).toFloat
+      val b = (math.sin(weight * angle) / sin).toFloat * sign
+      this.set(from.w * a + to.w * b, from.x * a + to.x * b, from.y * a + to.y * b, from.z * a + to.z * b)
+    }
+  }
+
+  /**
+   * Sets this quaternion to the normalized linear interpolation between the two given quaternions by the given weight.
+   * Equivalent to `from.nlerp(to, weight)`.
+   *
+   * @param from The first quaternion.
+   * @param to The second quaternion.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @return This quaternion.
+   */
+  def setNlerp(from: MutableQuatf, to: MutableQuatf, weight: Float): MutableQuatf = {
+    val a = 1.0f - weight
+    val b = if(from.dot(to) < 0.0f) -weight else weight
+    this.set(from.w * a + to.w * b, from.x * a + to.x * b, from.y * a + to.y * b, from.z * a + to.z * b).setNormalized(this)
+  }
+
+  /**
+   * Computes the dot product between this quaternion and the given one.
+   *
+   * @param q The second quaternion.
+   * @return The dot product between this quaternion and the given one.
+   */
+  def dot(q: MutableQuatf): Float = this.w * q.w + this.x * q.x + this.y * q.y + this.z * q.z
+
+  /**
+   * Computes the squared length of this quaternion.
+   *
+   * @return The squared length of this quaternion.
+   */
+  def lengthSquared: Float = this.dot(this)
+
+  /**
+   * Computes the length of this quaternion.
+   *
+   * @return The length of this quaternion.
+   */
+  def length: Float = math.sqrt(this.lengthSquared).toFloat
+
+  /**
+   * Returns an immutable copy of this quaternion.
+   *
+   * @return A [[Quatf]] with the same components as this quaternion.
+   */
+  def toQuatf: Quatf = Quatf(this.w, this.x, this.y, this.z)
+
+  /**
+   * Returns a string representation of this quaternion.
+   *
+   * @return A string representation of this quaternion.
+   */
+  override def toString: String = s"MutableQuatf(${this.w}, ${this.x}, ${this.y}, ${this.z})"
+}
@@ -0,0 +1,210 @@
+package io.github.scalamath.vecmatlib
+
+/**
+ * A mutable 3D vector using floating point coordinates.
+ *
+ * Unlike [[Vec3f]], whose operations always return a new object, the `set` methods of this class store their result in this vector and return it.
+ * This allows hot loops to reuse a few preallocated vectors instead of allocating a new object for every intermediate result.
+ *
+ * The operands of all `set` methods may be this vector, in which case the operation is done in place.
+ *
+ * @constructor Constructs a mutable 3D vector from the three given components.
+ * @param x The vector's x component.
+ * @param y The vector's y component.
+ * @param z The vector's z component.
+ */
+final class MutableVec3f(var x: Float, var y: Float, var z: Float) {
+
+  /**
+   * Constructs a mutable 3D vector with all components set to zero.
+   */
+  def this() = this(0.0f, 0.0f, 0.0f)
+
+  /**
+   * Constructs a mutable 3D vector with the same components as the given one.
+   *
+   * @param v The vector to copy.
+   */
+  def this(v: Vec3f) = this(v.x, v.y, v.z)
+
+  /**
+   * Sets the components of this vector to the given values.
+   *
+   * @param x The new x component.
+   * @param y The new y component.
+   * @param z The new z component.
+   * @return This vector.
+   */
+  def set(x: Float, y: Float, z: Float): MutableVec3f = {
+    this.x = x
+    this.y = y
+    this.z = z
+    this
+  }
+
+  /**
+   * Sets the components of this vector to the ones of the given vector.
+   *
+   * @param v The vector to copy.
+   * @return This vector.
+   */
+  def set(v: Vec3f): MutableVec3f = this.set(v.x, v.y, v.z)
+
+  /**
+   * Sets the components of this vector to the ones of the given vector.
+   *
+   * @param v The vector to copy.
+   * @return This vector.
+   */
+  def set(v: MutableVec3f): MutableVec3f = this.set(v.x, v.y, v.z)
+
+  /**
+   * Sets this vector to the sum between the two given vectors.
+   *
+   * @param a The first vector.
+   * @param b The second vector.
+   * @return This vector.
+   */
+  def setAdd(a: MutableVec3f, b: MutableVec3f): MutableVec3f = this.set(a.x + b.x, a.y + b.y, a.z + b.z)
+
+  /**
+   * Sets this vector to the subtraction between the two given vectors.
+   *
+   * @param a The first vector.
+   * @param b The second vector.
+   * @return This vector.
+   */
+  def setSub(a: MutableVec3f, b: MutableVec3f): MutableVec3f = this.set(a.x - b.x, a.y - b.y, a.z - b.z)
+
+  /**
+   * Sets this vector to the component-wise multiplication between the two given vectors.
+   *
+   * @param a The first vector.
+   * @param b The second vector.
+   * @return This vector.
+   */
+  def setMul(a: MutableVec3f, b: MutableVec3f): MutableVec3f = this.set(a.x * b.x, a.y * b.y, a.z * b.z)
+
+  /**
+   * Sets this vector to the product between the given vector and the given scalar.
+   *
+   * @param a The vector.
+   * @param k The scalar.
+   * @return This vector.
+   */
+  def setMul(a: MutableVec3f, k: Float): MutableVec3f = this.set(a.x * k, a.y * k, a.z * k)
+
+  /**
+   * Sets this vector to `a + b * k`.
+   *
+   * @param a The first vector.
+   * @param b The second vector.
+   * @param k The scalar by which the second vector is multiplied.
+   * @return This vector.
+   */
+  def setMulAdd(a: MutableVec3f, b: MutableVec3f, k: Float): MutableVec3f = this.set(a.x + b.x * k, a.y + b.y * k, a.z + b.z * k)
+
+  /**
+   * Sets this vector to the cross product between the two given vectors.
+   *
+   * @param a The first vector.
+   * @param b The second vector.
+   * @return This vector.
+   */
+  def setCross(a: MutableVec3f, b: MutableVec3f): MutableVec3f = this.set(a.y * b.z - a.z * b.y, b.x * a.z - b.z * a.x, a.x * b.y - a.y * b.x)
+
+  /**
+   * Sets this vector to the given vector scaled to unit length.
+   *
+   * The result is undefined for vectors with a length of zero.
+   *
+   * @param a The vector to normalize.
+   * @return This vector.
+   */
+  def setNormalized(a: MutableVec3f): MutableVec3f = this.setMul(a, 1.0f / a.length)
+
+  /**
+   * Sets this vector to the linear interpolation between the two given vectors by the given weight.
+   *
+   * @param from The first vector.
+   * @param to The second vector.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @return This vector.
+   */
+  def setLerp(from: MutableVec3f, to: MutableVec3f, weight: Float): MutableVec3f = this.set(
+    from.x + (to.x - from.x) * weight,
+    from.y + (to.y - from.y) * weight,
+    from.z + (to.z - from.z) * weight
+  )
+
+  /**
+   * Sets this vector to the given point transformed by the given matrix.
+   * Equivalent to `(m * (p, 1.0f)).xyz`.
+   *
+   * @param m The transformation matrix.
+   * @param p The point to transform.
+   * @return This vector.
+   */
+  def setTransformed(m: MutableMat4f, p: MutableVec3f): MutableVec3f = this.set(
+    m.m00 * p.x + m.m01 * p.y + m.m02 * p.z + m.m03,
+    m.m10 * p.x + m.m11 * p.y + m.m12 * p.z + m.m13,
+    m.m20 * p.x + m.m21 * p.y + m.m22 * p.z + m.m23
+  )
+
+  /**
+   * Sets this vector to the given point rotated by the rotation defined by the given quaternion.
+   * Equivalent to `q.rotate(p)`.
+   *
+   * @param q The rotation quaternion. Must be a unit quaternion.
+   * @param p The point to rotate.
+   * @return This vector.
+   */
+  def setRotated(q: MutableQuatf, p: MutableVec3f): MutableVec3f = {
+    // t = 2 * cross(q.xyz, p)
+    val tx = 2.0f * (q.y * p.z - q.z * p.y)
+    val ty = 2.0f * (q.z * p.x - q.x * p.z)
+    val tz = 2.0f * (q.x * p.y - q.y * p.x)
+    // p' = p + w * t + cross(q.xyz, t)
+    this.set(
+      p.x + q.w * tx + (q.y * tz - q.z * ty),
+      p.y + q.w * ty + (q.z * tx - q.x * tz),
+      p.z + q.w * tz + (q.x * ty - q.y * tx)
+    )
+  }
+
+  /**
+   * Computes the dot product between this vector and the given one.
+   *
+   * @param v The second vector.
+   * @return The dot product between this vector and the given one.
+   */
+  def dot(v: MutableVec3f): Float = this.x * v.x + this.y * v.y + this.z * v.z
+
+  /**
+   * Computes the squared length of this vector.
+   *
+   * @return The squared length of this vector.
+   */
+  def lengthSquared: Float = this.dot(this)
+
+  /**
+   * Computes the length of this vector.
+   *
+   * @return The length of this vector.
+   */
+  def length: Float = math.sqrt(this.lengthSquared).toFloat
+
+  /**
+   * Returns an immutable copy of this vector.
+   *
+   * @return A [[Vec3f]] with the same components as this vector.
+   */
+  def toVec3f: Vec3f = Vec3f(this.x, this.y, this.z)
+
+  /**
+   * Returns a string representation of this vector.
+   *
+   * @return A string representation of this vector.
+   */
+  override def toString: String = s"MutableVec3f(${this.x}, ${this.y}, ${this.z})"
+}
@@ -0,0 +1,428 @@
+package io.github.scalamath.vecmatlib
+
+import java.util.concurrent.{ForkJoinPool, ForkJoinTask, RecursiveAction}
+
+/**
+ * Runs batch operations over large packed arrays in parallel on a [[java.util.concurrent.ForkJoinPool]].
+ *
+ * The range of elements to process is recursively split in half until each part is no larger than `chunkSize` elements.
+ * The chunk size should be chosen so that the data of one chunk fits in the cache of a core.
+ * Ranges with fewer than `threshold` elements are processed sequentially on the calling thread, since for small ranges the cost of scheduling tasks outweighs the gain.
+ *
+ * All operations block until the whole range has been processed.
+ * If one of the chunks throws an exception, the exception is rethrown by the operation.
+ *
+ * @constructor Constructs a parallel executor that uses the given pool.
+ * @param pool The pool in which the tasks are run.
+ * @param threshold The minimum number of elements for which the operations are run in parallel.
+ * @param chunkSize The maximum number of elements processed by a single task. Must be greater than zero.
+ */
+class ParallelKernels(val pool: ForkJoinPool, val threshold: Int, val chunkSize: Int) {
+  require(chunkSize > 0, "The chunk size must be greater than zero")
+
+  /**
+   * Constructs a parallel executor that uses the given pool with the default threshold and chunk size.
+   *
+   * @param pool The pool in which the tasks are run.
+   */
+  def this(pool: ForkJoinPool) = this(pool, ParallelKernels.DefaultThreshold, ParallelKernels.DefaultChunkSize)
+
+  /**
+   * Splits the given range into chunks and applies the given kernel to each one of them.
+   *
+   * The kernel is invoked concurrently for different non-overlapping ranges, therefore it must be safe to call from multiple threads as long as the ranges do not overlap.
+   *
+   * @param offset The index of the first element to process.
+   * @param count The number of elements to process.
+   * @param kernel The kernel to apply to each chunk.
+   */
+  def forEachChunk(offset: Int, count: Int, kernel: RangeKernel): Unit = {
+    if(count < this.threshold || count <= this.chunkSize) {
+      kernel(offset, count)
+    } else {
+      this.pool.invoke(new ParallelKernels.ChunkAction(kernel, offset, count, this.chunkSize))
+    }
+  }
+
+  /**
+   * Transforms the 3D points in the given array by the given matrix and stores the result in the destination array.
+   *
+   * @param m The transformation matrix.
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @see [[Mat4f.transformPoints]]
+   */
+  def transformPoints(m: Mat4f, src: Array[Float], dst: Array[Float], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => m.transformPoints(src, dst, o, c))
+  }
+
+  /**
+   * Transforms the 3D points in the given array by the given matrix and stores the result in the destination array.
+   *
+   * @param m The transformation matrix.
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @see [[Mat4d.transformPoints]]
+   */
+  def transformPoints(m: Mat4d, src: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => m.transformPoints(src, dst, o, c))
+  }
+
+  /**
+   * Transforms the 3D points in the given array by the given matrix and stores the result in the destination array.
+   *
+   * @param m The transformation matrix.
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @see [[Mat3x4f.transformPoints]]
+   */
+  def transformPoints(m: Mat3x4f, src: Array[Float], dst: Array[Float], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => m.transformPoints(src, dst, o, c))
+  }
+
+  /**
+   * Transforms the 3D points in the given array by the given matrix and stores the result in the destination array.
+   *
+   * @param m The transformation matrix.
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @see [[Mat3x4d.transformPoints]]
+   */
+  def transformPoints(m: Mat3x4d, src: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => m.transformPoints(src, dst, o, c))
+  }
+
+  /**
+   * Rotates the 3D points in the given array by the given quaternion and stores the result in the destination array.
+   *
+   * @param q The rotation quaternion. Must be a unit quaternion.
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the rotated vectors are stored.
+   * @param offset The index of the first vector to rotate.
+   * @param count The number of vectors to rotate.
+   * @see [[Quatf.rotatePoints]]
+   */
+  def rotatePoints(q: Quatf, src: Array[Float], dst: Array[Float], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => q.rotatePoints(src, dst, o, c))
+  }
+
+  /**
+   * Rotates the 3D points in the given array by the given quaternion, then translates them by the given translation, and stores the result in the destination array.
+   *
+   * @param q The rotation quaternion. Must be a unit quaternion.
+   * @param src The array containing the source vectors.
+   * @param translation The translation applied after the rotation.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @see [[Quatf.transformPoints]]
+   */
+  def transformPoints(q: Quatf, src: Array[Float], translation: Vec3f, dst: Array[Float], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => q.transformPoints(src, translation, dst, o, c))
+  }
+
+  /**
+   * Rotates the 3D points in the given array by the given quaternion and stores the result in the destination array.
+   *
+   * @param q The rotation quaternion. Must be a unit quaternion.
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the rotated vectors are stored.
+   * @param offset The index of the first vector to rotate.
+   * @param count The number of vectors to rotate.
+   * @see [[Quatd.rotatePoints]]
+   */
+  def rotatePoints(q: Quatd, src: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => q.rotatePoints(src, dst, o, c))
+  }
+
+  /**
+   * Rotates the 3D points in the given array by the given quaternion, then translates them by the given translation, and stores the result in the destination array.
+   *
+   * @param q The rotation quaternion. Must be a unit quaternion.
+   * @param src The array containing the source vectors.
+   * @param translation The translation applied after the rotation.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @see [[Quatd.transformPoints]]
+   */
+  def transformPoints(q: Quatd, src: Array[Double], translation: Vec3d, dst: Array[Double], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => q.transformPoints(src, translation, dst, o, c))
+  }
+
+  /**
+   * Transforms the 3D directions in the given array by the given matrix and stores the result in the destination array.
+   *
+   * @param m The transformation matrix.
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @see [[Mat4f.transformDirections]]
+   */
+  def transformDirections(m: Mat4f, src: Array[Float], dst: Array[Float], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => m.transformDirections(src, dst, o, c))
+  }
+
+  /**
+   * Transforms the 3D directions in the given array by the given matrix and stores the result in the destination array.
+   *
+   * @param m The transformation matrix.
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @see [[Mat4d.transformDirections]]
+   */
+  def transformDirections(m: Mat4d, src: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => m.transformDirections(src, dst, o, c))
+  }
+
+  /**
+   * Transforms the 3D directions in the given array by the given matrix and stores the result in the destination array.
+   *
+   * @param m The transformation matrix.
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @see [[Mat3x4f.transformDirections]]
+   */
+  def transformDirections(m: Mat3x4f, src: Array[Float], dst: Array[Float], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => m.transformDirections(src, dst, o, c))
+  }
+
+  /**
+   * Transforms the 3D directions in the given array by the given matrix and stores the result in the destination array.
+   *
+   * @param m The transformation matrix.
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @see [[Mat3x4d.transformDirections]]
+   */
+  def transformDirections(m: Mat3x4d, src: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => m.transformDirections(src, dst, o, c))
+  }
+
+  /**
+   * Transforms the 3D points in the given buffer by the given matrix and stores the result in the destination buffer.
+   *
+   * @param m The transformation matrix.
+   * @param src The buffer containing the points to transform.
+   * @param dst The buffer in which the transformed points are stored. Must have the same size as the source buffer.
+   * @return The given destination buffer.
+   * @see [[Mat4f.transformPoints]]
+   */
+  def transformPoints(m: Mat4f, src: Vec3fBuffer, dst: Vec3fBuffer): Vec3fBuffer = {
+    require(dst.size == src.size, "Buffers must have the same size")
+    this.forEachChunk(0, src.size, (o, c) => VectorKernels.Default.transformPoints(m, src.x, src.y, src.z, dst.x, dst.y, dst.z, o, c))
+    dst
+  }
+
+  /**
+   * Scales all the vectors in the given buffer to unit length and stores the result in the destination buffer.
+   *
+   * @param src The buffer containing the vectors to normalize.
+   * @param dst The buffer in which the result is stored. Must have the same size as the source buffer.
+   * @return The given destination buffer.
+   * @see [[Vec3fBuffer.normalized]]
+   */
+  def normalize(src: Vec3fBuffer, dst: Vec3fBuffer): Vec3fBuffer = {
+    require(dst.size == src.size, "Buffers must have the same size")
+    this.forEachChunk(0, src.size, (o, c) => VectorKernels.Default.normalize(src.x, src.y, src.z, dst.x, dst.y, dst.z, o, c))
+    dst
+  }
+
+  /**
+   * Computes the spherical linear interpolation between the packed quaternions in the given arrays by the given weight and stores the result in the destination array.
+   *
+   * @param from The array containing the first quaternions.
+   * @param to The array containing the second quaternions.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first quaternion to interpolate.
+   * @param count The number of quaternions to interpolate.
+   * @see [[Quatf.slerpPacked]]
+   */
+  def slerp(from: Array[Float], to: Array[Float], weight: Float, dst: Array[Float], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => Quatf.slerpPacked(from, to, weight, dst, o, c))
+  }
+
+  /**
+   * Computes the spherical linear interpolation between the packed quaternions in the given arrays by the weights in the given array and stores the result in the destination array.
+   *
+   * @param from The array containing the first quaternions.
+   * @param to The array containing the second quaternions.
+   * @param weights The array containing the weight of the interpolation for each quaternion.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first quaternion to interpolate.
+   * @param count The number of quaternions to interpolate.
+   * @see [[Quatf.slerpPacked]]
+   */
+  def slerp(from: Array[Float], to: Array[Float], weights: Array[Float], dst: Array[Float], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => Quatf.slerpPacked(from, to, weights, dst, o, c))
+  }
+
+  /**
+   * Computes the spherical linear interpolation between the packed quaternions in the given arrays by the given weight and stores the result in the destination array.
+   *
+   * @param from The array containing the first quaternions.
+   * @param to The array containing the second quaternions.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first quaternion to interpolate.
+   * @param count The number of quaternions to interpolate.
+   * @see [[Quatd.slerpPacked]]
+   */
+  def slerp(from: Array[Double], to: Array[Double], weight: Double, dst: Array[Double], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => Quatd.slerpPacked(from, to, weight, dst, o, c))
+  }
+
+  /**
+   * Computes the spherical linear interpolation between the packed quaternions in the given arrays by the weights in the given array and stores the result in the destination array.
+   *
+   * @param from The array containing the first quaternions.
+   * @param to The array containing the second quaternions.
+   * @param weights The array containing the weight of the interpolation for each quaternion.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first quaternion to interpolate.
+   * @param count The number of quaternions to interpolate.
+   * @see [[Quatd.slerpPacked]]
+   */
+  def slerp(from: Array[Double], to: Array[Double], weights: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => Quatd.slerpPacked(from, to, weights, dst, o, c))
+  }
+
+  /**
+   * Deforms the given vertices with linear blend skinning using a packed palette of bone matrices.
+   *
+   * @param palette The array containing the 3x4 matrix of each bone in row-major order.
+   * @param positions The array containing the positions of the vertices in the bind pose.
+   * @param normals The array containing the normals of the vertices in the bind pose or `null` if normals should not be skinned.
+   * @param boneIndices The array containing the indices of the bones that influence each vertex.
+   * @param boneWeights The array containing the weights of the bones that influence each vertex.
+   * @param dstPositions The array in which the skinned positions are stored.
+   * @param dstNormals The array in which the skinned normals are stored or `null` if normals should not be skinned.
+   * @param offset The index of the first vertex to skin.
+   * @param count The number of vertices to skin.
+   * @see [[Skinning.linearBlend]]
+   */
+  def linearBlendSkinning(palette: Array[Float], positions: Array[Float], normals: Array[Float], boneIndices: Array[Int], boneWeights: Array[Float], dstPositions: Array[Float], dstNormals: Array[Float], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => Skinning.linearBlend(palette, positions, normals, boneIndices, boneWeights, dstPositions, dstNormals, o, c))
+  }
+
+  /**
+   * Deforms the given vertices with linear blend skinning using the given bone matrices.
+   *
+   * @param palette The matrix of each bone.
+   * @param positions The array containing the positions of the vertices in the bind pose.
+   * @param normals The array containing the normals of the vertices in the bind pose or `null` if normals should not be skinned.
+   * @param boneIndices The array containing the indices of the bones that influence each vertex.
+   * @param boneWeights The array containing the weights of the bones that influence each vertex.
+   * @param dstPositions The array in which the skinned positions are stored.
+   * @param dstNormals The array in which the skinned normals are stored or `null` if normals should not be skinned.
+   * @param offset The index of the first vertex to skin.
+   * @param count The number of vertices to skin.
+   * @see [[Skinning.linearBlend]]
+   */
+  def linearBlendSkinning(palette: Array[Mat3x4f], positions: Array[Float], normals: Array[Float], boneIndices: Array[Int], boneWeights: Array[Float], dstPositions: Array[Float], dstNormals: Array[Float], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => Skinning.linearBlend(palette, positions, normals, boneIndices, boneWeights, dstPositions, dstNormals, o, c))
+  }
+
+  /**
+   * Deforms the given vertices with dual quaternion skinning using a packed palette of unit dual quaternions.
+   *
+   * @param palette The array containing the dual quaternion of each bone as eight consecutive values.
+   * @param positions The array containing the positions of the vertices in the bind pose.
+   * @param normals The array containing the normals of the vertices in the bind pose or `null` if normals should not be skinned.
+   * @param boneIndices The array containing the indices of the bones that influence each vertex.
+   * @param boneWeights The array containing the weights of the bones that influence each vertex.
+   * @param dstPositions The array in which the skinned positions are stored.
+   * @param dstNormals The array in which the skinned normals are stored or `null` if normals should not be skinned.
+   * @param offset The index of the first vertex to skin.
+   * @param count The number of vertices to skin.
+   * @see [[Skinning.dualQuaternion]]
+   */
+  def dualQuaternionSkinning(palette: Array[Float], positions: Array[Float], normals: Array[Float], boneIndices: Array[Int], boneWeights: Array[Float], dstPositions: Array[Float], dstNormals: Array[Float], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => Skinning.dualQuaternion(palette, positions, normals, boneIndices, boneWeights, dstPositions, dstNormals, o, c))
+  }
+
+  /**
+   * Deforms the given vertices with dual quaternion skinning using the given unit dual quaternions.
+   *
+   * @param palette The unit dual quaternion of each bone.
+   * @param positions The array containing the positions of the vertices in the bind pose.
+   * @param normals The array containing the normals of the vertices in the bind pose or `null` if normals should not be skinned.
+   * @param boneIndices The array containing the indices of the bones that influence each vertex.
+   * @param boneWeights The array containing the weights of the bones that influence each vertex.
+   * @param dstPositions The array in which the skinned positions are stored.
+   * @param dstNormals The array in which the skinned normals are stored or `null` if normals should not be skinned.
+   * @param offset The index of the first vertex to skin.
+   * @param count The number of vertices to skin.
+   * @see [[Skinning.dualQuaternion]]
+   */
+  def dualQuaternionSkinning(palette: Array[DualQuatf], positions: Array[Float], normals: Array[Float], boneIndices: Array[Int], boneWeights: Array[Float], dstPositions: Array[Float], dstNormals: Array[Float], offset: Int, count: Int): Unit = {
+    this.forEachChunk(offset, count, (o, c) => Skinning.dualQuaternion(palette, positions, normals, boneIndices, boneWeights, dstPositions, dstNormals, o, c))
+  }
+}
+
+/**
+ * Default settings and instance of [[ParallelKernels]].
+ */
+object ParallelKernels {
+
+  /** The default minimum number of elements for which operations are run in parallel. */
+  val DefaultThreshold = 16384
+
+  /** The default maximum number of elements processed by a single task. */
+  val DefaultChunkSize = 4096
+
+  /** An instance that runs its tasks in the common pool with the default threshold and chunk size. */
+  lazy val Default: ParallelKernels = new ParallelKernels(ForkJoinPool.commonPool())
+
+  /**
+   * Task that recursively splits a range in half until it is small enough to be processed directly.
+   */
+  private class ChunkAction(kernel: RangeKernel, offset: Int, count: Int, chunkSize: Int) extends RecursiveAction {
+
+    override def compute(): Unit = {
+      if(this.count <= this.chunkSize) {
+        this.kernel(this.offset, this.count)
+      } else {
+        // Split at a multiple of the chunk size so that all tasks but the last one have the same size
+        val half = ((this.count / this.chunkSize + 1) / 2) * this.chunkSize
+        ForkJoinTask.invokeAll(
+          new ChunkAction(this.kernel, this.offset, half, this.chunkSize),
+          new ChunkAction(this.kernel, this.offset + half, this.count - half, this.chunkSize)
+        )
+      }
+    }
+  }
+}
+
+/**
+ * A kernel that processes the elements in a given range.
+ *
+ * @see [[ParallelKernels.forEachChunk]]
+ */
+@FunctionalInterface
+trait RangeKernel {
+
+  /**
+   * Processes the elements in the given range.
+   *
+   * @param offset The index of the first element to process.
+   * @param count The number of elements to process.
+   */
+  def apply(offset: Int, count: Int): Unit
+}
@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import io.github.scalamath
 import io.github.scalamath.DoubleEqualsApprox
 
+import java.nio.{ByteBuffer, DoubleBuffer}
+
 /**
  * A double-precision quaternion.
  * Can be used to represent a 3D rotation.
@@ -417,12 +419,54 @@ case class Quatd(w: Double, x: Double, y: Double, z: Double) {
    * Computes the spherical linear interpolation between this quaternion and the given one by the given weight and returns the result.
    *
    * The given weight must be in the `[0.0, 1.0]` range, representing the amount of interpolation.
+   * The interpolation always takes the shortest path between the two rotations.
+   * If the two quaternions are too close to each other, this method falls back to [[nlerp]].
+   *
+   * Both quaternions must be unit quaternions.
    *
    * @param to The second quaternion.
    * @param weight The weight of the interpolation between `0.0` and `1.0`.
    * @return The result of the spherical linear interpolation between this quaternion and the given one by the given weight.
    */
-  def slerp(to: Quatd, weight: Double): Quatd = (to * this.inverse).pow(weight) * this
+  def slerp(to: Quatd, weight: Double): Quatd = {
+    val cos = this.dot(to)
+    // Negate the second quaternion if the two are in opposite hemispheres to take the shortest path
+    val sign = if(cos < 0.0) -1.0 else 1.0
+    val d = math.min(cos * sign, 1.0)
+    if(d > 1.0 - scalamath.Epsilon) {
+      this.nlerp(to, weight)
+    } else {
+      val angle = math.acos(d)
+      val sin = math.sin(angle)
+      val a = (math.sin((1.0 - weight) * angle) / sin)
+      val b = (math.sin(weight * angle) / sin) * sign
+      Quatd(this.w * a + to.w * b, this.x * a + to.x * b, this.y * a + to.y * b, this.z * a + to.z * b)
+    }
+  }
+
+  /**
+   * Computes the normalized linear interpolation between this quaternion and the given one by the given weight and returns the result.
+   *
+   * The given weight must be in the `[0.0, 1.0]` range, representing the amount of interpolation.
+   * The interpolation always takes the shortest path between the two rotations.
+   *
+   * This is faster than [[slerp]], but does not interpolate at a constant angular velocity.
+   * The error is small when the two quaternions are close to each other.
+   *
+   * @param to The second quaternion.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @return The result of the normalized linear interpolation between this quaternion and the given one by the given weight.
+   */
+  def nlerp(to: Quatd, weight: Double): Quatd = {
+    val a = 1.0 - weight
+    val b = if(this.dot(to) < 0.0) -weight else weight
+    val w = this.w * a + to.w * b
+    val x = this.x * a + to.x * b
+    val y = this.y * a + to.y * b
+    val z = this.z * a + to.z * b
+    val length = math.sqrt(w * w + x * x + y * y + z * z)
+    Quatd(w / length, x / length, y / length, z / length)
+  }
 
   /**
    * Returns this quaternion's rotation in the form of euler angles.
@@ -444,10 +488,131 @@ case class Quatd(w: Double, x: Double, y: Double, z: Double) {
   /**
    * Rotates the given point by the rotation defined by this quaternion and returns the rotated point.
    *
+   * This quaternion must be normalized.
+   * The point is rotated directly as `p + w * t + cross(xyz, t)`, where `t = 2 * cross(xyz, p)`, without computing the products `q * p * q.conjugate`.
+   *
+   * @param x The x coordinate of the point to rotate.
+   * @param y The y coordinate of the point to rotate.
+   * @param z The z coordinate of the point to rotate.
+   * @return The point after applying the rotation.
+   */
+  def rotate(x: Double, y: Double, z: Double): Vec3d = {
+    // t = 2 * cross(q.xyz, p)
+    val tx = 2.0 * (this.y * z - this.z * y)
+    val ty = 2.0 * (this.z * x - this.x * z)
+    val tz = 2.0 * (this.x * y - this.y * x)
+    // p' = p + w * t + cross(q.xyz, t)
+    Vec3d(
+      x + this.w * tx + (this.y * tz - this.z * ty),
+      y + this.w * ty + (this.z * tx - this.x * tz),
+      z + this.w * tz + (this.x * ty - this.y * tx)
+    )
+  }
+
+  /**
+   * Rotates the given point by the rotation defined by this quaternion and returns the rotated point.
+   *
+   * This quaternion must be normalized.
+   *
    * @param p The point to rotate, represented by a [[Vec3d]].
    * @return The point after applying the rotation.
    */
-  def rotate(p: Vec3d): Vec3d = (this * (0.0, p.x, p.y, p.z) * this.conjugate).vector
+  def rotate(p: Vec3d): Vec3d = this.rotate(p.x, p.y, p.z)
+
+  /**
+   * Rotates the given point by the rotation defined by this quaternion, then translates it by the given translation, and returns the result.
+   * Equivalent to `q.rotate(p) + translation`, but only allocates the result.
+   *
+   * This quaternion must be normalized.
+   *
+   * @param p The point to transform.
+   * @param translation The translation applied after the rotation.
+   * @return The point after applying the rotation and the translation.
+   */
+  def transformPoint(p: Vec3d, translation: Vec3d): Vec3d = {
+    val tx = 2.0 * (this.y * p.z - this.z * p.y)
+    val ty = 2.0 * (this.z * p.x - this.x * p.z)
+    val tz = 2.0 * (this.x * p.y - this.y * p.x)
+    Vec3d(
+      p.x + this.w * tx + (this.y * tz - this.z * ty) + translation.x,
+      p.y + this.w * ty + (this.z * tx - this.x * tz) + translation.y,
+      p.z + this.w * tz + (this.x * ty - this.y * tx) + translation.z
+    )
+  }
+
+  /**
+   * Rotates the 3D points in the given array by the rotation defined by this quaternion and stores the result in the destination array.
+   * Equivalent to `q.rotate(p)` for every vector, but does not allocate any objects.
+   *
+   * This quaternion must be normalized.
+   * The given arrays must contain tightly packed 3D vectors, i.e. three consecutive values for each vector.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the rotated vectors are stored.
+   * @param offset The index of the first vector to rotate.
+   * @param count The number of vectors to rotate.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def rotatePoints(src: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = this.transformPacked(src, 0.0, 0.0, 0.0, dst, offset, count)
+
+  /**
+   * Rotates the 3D points in the given array by the rotation defined by this quaternion, then translates them by the given translation, and stores the result in the destination array.
+   * Equivalent to `q.transformPoint(p, translation)` for every vector, but does not allocate any objects.
+   *
+   * This quaternion must be normalized.
+   * The given arrays must contain tightly packed 3D vectors, i.e. three consecutive values for each vector.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param translation The translation applied after the rotation.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def transformPoints(src: Array[Double], translation: Vec3d, dst: Array[Double], offset: Int, count: Int): Unit = {
+    this.transformPacked(src, translation.x, translation.y, translation.z, dst, offset, count)
+  }
+
+  /**
+   * Rotates and translates the 3D points in the given array.
+   *
+   * @param src The array containing the source vectors.
+   * @param tx The x component of the translation.
+   * @param ty The y component of the translation.
+   * @param tz The z component of the translation.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   */
+  private def transformPacked(src: Array[Double], tx: Double, ty: Double, tz: Double, dst: Array[Double], offset: Int, count: Int): Unit = {
+    // The rotation is expanded into a matrix so that each point costs nine multiplications
+    val qw = this.w
+    val qx = this.x
+    val qy = this.y
+    val qz = this.z
+    val m00 = 1.0 - 2.0 * (qy * qy + qz * qz)
+    val m01 = 2.0 * (qx * qy - qz * qw)
+    val m02 = 2.0 * (qx * qz + qy * qw)
+    val m10 = 2.0 * (qx * qy + qz * qw)
+    val m11 = 1.0 - 2.0 * (qx * qx + qz * qz)
+    val m12 = 2.0 * (qy * qz - qx * qw)
+    val m20 = 2.0 * (qx * qz - qy * qw)
+    val m21 = 2.0 * (qy * qz + qx * qw)
+    val m22 = 1.0 - 2.0 * (qx * qx + qy * qy)
+    var i = offset * 3
+    val end = (offset + count) * 3
+    while(i < end) {
+      val x = src(i)
+      val y = src(i + 1)
+      val z = src(i + 2)
+      dst(i) = m00 * x + m01 * y + m02 * z + tx
+      dst(i + 1) = m10 * x + m11 * y + m12 * z + ty
+      dst(i + 2) = m20 * x + m21 * y + m22 * z + tz
+      i += 3
+    }
+  }
 
   /**
    * Checks if the components of this quaternion are equal to the given ones.
@@ -539,6 +704,38 @@ case class Quatd(w: Double, x: Double, y: Double, z: Double) {
    * @return A [[Quatf]] with the same value as this one cast to float.
    */
   def toFloat: Quatf = Quatf(this.w.toFloat, this.x.toFloat, this.y.toFloat, this.z.toFloat)
+
+  /**
+   * Writes the components of this quaternion into the given buffer in `w, x, y, z` order, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first component is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: DoubleBuffer, offset: Int): Unit = {
+    buffer.put(offset, this.w)
+    buffer.put(offset + 1, this.x)
+    buffer.put(offset + 2, this.y)
+    buffer.put(offset + 3, this.z)
+  }
+
+  /**
+   * Writes the components of this quaternion into the given byte buffer in `w, x, y, z` order using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first component is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: ByteBuffer, offset: Int): Unit = {
+    buffer.putDouble(offset, this.w)
+    buffer.putDouble(offset + 8, this.x)
+    buffer.putDouble(offset + 16, this.y)
+    buffer.putDouble(offset + 24, this.z)
+  }
 }
 
 /**
@@ -624,6 +821,267 @@ object Quatd {
     }
   }
 
+  /**
+   * Computes the spherical linear interpolation between the quaternions in the given arrays by the given weight and stores the result in the destination array.
+   * Equivalent to `from.slerp(to, weight)` for every quaternion, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed quaternions in `w, x, y, z` order, i.e. four consecutive values for each quaternion.
+   * The destination array may be one of the source arrays.
+   *
+   * @param from The array containing the first quaternions. Must contain unit quaternions.
+   * @param to The array containing the second quaternions. Must contain unit quaternions.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first quaternion to interpolate.
+   * @param count The number of quaternions to interpolate.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   * @see [[Quatd.slerp]]
+   */
+  def slerpPacked(from: Array[Double], to: Array[Double], weight: Double, dst: Array[Double], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      this.slerp(from, to, weight, dst, i * 4)
+      i += 1
+    }
+  }
+
+  /**
+   * Computes the spherical linear interpolation between the quaternions in the given arrays by the weights in the given array and stores the result in the destination array.
+   * Equivalent to `from.slerp(to, weight)` for every quaternion, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed quaternions in `w, x, y, z` order, i.e. four consecutive values for each quaternion.
+   * The destination array may be one of the source arrays.
+   *
+   * @param from The array containing the first quaternions. Must contain unit quaternions.
+   * @param to The array containing the second quaternions. Must contain unit quaternions.
+   * @param weights The array containing the weight of the interpolation for each quaternion.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first quaternion to interpolate.
+   * @param count The number of quaternions to interpolate.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   * @see [[Quatd.slerp]]
+   */
+  def slerpPacked(from: Array[Double], to: Array[Double], weights: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      this.slerp(from, to, weights(i), dst, i * 4)
+      i += 1
+    }
+  }
+
+  /**
+   * Computes the normalized linear interpolation between the quaternions in the given arrays by the given weight and stores the result in the destination array.
+   * Equivalent to `from.nlerp(to, weight)` for every quaternion, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed quaternions in `w, x, y, z` order, i.e. four consecutive values for each quaternion.
+   * The destination array may be one of the source arrays.
+   *
+   * @param from The array containing the first quaternions.
+   * @param to The array containing the second quaternions.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first quaternion to interpolate.
+   * @param count The number of quaternions to interpolate.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   * @see [[Quatd.nlerp]]
+   */
+  def nlerpPacked(from: Array[Double], to: Array[Double], weight: Double, dst: Array[Double], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      this.nlerp(from, to, weight, dst, i * 4)
+      i += 1
+    }
+  }
+
+  /**
+   * Computes the normalized linear interpolation between the quaternions in the given arrays by the weights in the given array and stores the result in the destination array.
+   * Equivalent to `from.nlerp(to, weight)` for every quaternion, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed quaternions in `w, x, y, z` order, i.e. four consecutive values for each quaternion.
+   * The destination array may be one of the source arrays.
+   *
+   * @param from The array containing the first quaternions.
+   * @param to The array containing the second quaternions.
+   * @param weights The array containing the weight of the interpolation for each quaternion.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first quaternion to interpolate.
+   * @param count The number of quaternions to interpolate.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   * @see [[Quatd.nlerp]]
+   */
+  def nlerpPacked(from: Array[Double], to: Array[Double], weights: Array[Double], dst: Array[Double], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      this.nlerp(from, to, weights(i), dst, i * 4)
+      i += 1
+    }
+  }
+
+  /**
+   * Interpolates the quaternions starting at index `j` in the given arrays with [[Quatd.slerp]].
+   */
+  private def slerp(from: Array[Double], to: Array[Double], weight: Double, dst: Array[Double], j: Int): Unit = {
+    val cos = from(j) * to(j) + from(j + 1) * to(j + 1) + from(j + 2) * to(j + 2) + from(j + 3) * to(j + 3)
+    val sign = if(cos < 0.0) -1.0 else 1.0
+    val d = math.min(cos * sign, 1.0)
+    if(d > 1.0 - scalamath.Epsilon) {
+      this.nlerp(from, to, weight, dst, j)
+    } else {
+      val angle = math.acos(d)
+      val sin = math.sin(angle)
+      val a = (math.sin((1.0 - weight) * angle) / sin)
+      val b = (math.sin(weight * angle) / sin) * sign
+      dst(j) = from(j) * a + to(j) * b
+      dst(j + 1) = from(j + 1) * a + to(j + 1) * b
+      dst(j + 2) = from(j + 2) * a + to(j + 2) * b
+      dst(j + 3) = from(j + 3) * a + to(j + 3) * b
+    }
+  }
+
+  /**
+   * Interpolates the quaternions starting at index `j` in the given arrays with [[Quatd.nlerp]].
+   */
+  private def nlerp(from: Array[Double], to: Array[Double], weight: Double, dst: Array[Double], j: Int): Unit = {
+    val cos = from(j) * to(j) + from(j + 1) * to(j + 1) + from(j + 2) * to(j + 2) + from(j + 3) * to(j + 3)
+    val a = 1.0 - weight
+    val b = if(cos < 0.0) -weight else weight
+    val w = from(j) * a + to(j) * b
+    val x = from(j + 1) * a + to(j + 1) * b
+    val y = from(j + 2) * a + to(j + 2) * b
+    val z = from(j + 3) * a + to(j + 3) * b
+    val length = math.sqrt(w * w + x * x + y * y + z * z)
+    dst(j) = w / length
+    dst(j + 1) = x / length
+    dst(j + 2) = y / length
+    dst(j + 3) = z / length
+  }
+
+  /**
+   * Reads a quaternion from the given buffer in `w, x, y, z` order, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first component is stored.
+   * @return The quaternion read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: DoubleBuffer, offset: Int): Quatd = {
+    Quatd(buffer.get(offset), buffer.get(offset + 1), buffer.get(offset + 2), buffer.get(offset + 3))
+  }
+
+  /**
+   * Reads a quaternion from the given byte buffer in `w, x, y, z` order using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first component is stored.
+   * @return The quaternion read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: ByteBuffer, offset: Int): Quatd = {
+    Quatd(buffer.getDouble(offset), buffer.getDouble(offset + 8), buffer.getDouble(offset + 16), buffer.getDouble(offset + 24))
+  }
+
+  /**
+   * Writes the given quaternions into the given buffer one after the other, starting at the given index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param quaternions The quaternions to write.
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first quaternion is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Quatd.writeTo]]
+   */
+  def writeAll(quaternions: Array[Quatd], buffer: DoubleBuffer, offset: Int): Unit = {
+    var i = 0
+    while(i < quaternions.length) {
+      quaternions(i).writeTo(buffer, offset + i * 4)
+      i += 1
+    }
+  }
+
+  /**
+   * Writes the given quaternions into the given byte buffer one after the other using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param quaternions The quaternions to write.
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first quaternion is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Quatd.writeTo]]
+   */
+  def writeAll(quaternions: Array[Quatd], buffer: ByteBuffer, offset: Int): Unit = {
+    var i = 0
+    while(i < quaternions.length) {
+      quaternions(i).writeTo(buffer, offset + i * 32)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads the given number of consecutive quaternions from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first quaternion is stored.
+   * @param count The number of quaternions to read.
+   * @return An array containing the quaternions read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: DoubleBuffer, offset: Int, count: Int): Array[Quatd] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 4))
+
+  /**
+   * Reads the given number of consecutive quaternions from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first quaternion is stored.
+   * @param count The number of quaternions to read.
+   * @return An array containing the quaternions read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: ByteBuffer, offset: Int, count: Int): Array[Quatd] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 32))
+
+  /**
+   * Returns the quaternion that represents the rotation expressed by the given orthonormal basis.
+   *
+   * The quaternion is computed from the largest of the trace and the diagonal elements to avoid dividing by a small number.
+   *
+   * @param a00 Element 0 0 of the matrix whose columns are the basis vectors.
+   * @param a01 Element 0 1 of the matrix whose columns are the basis vectors.
+   * @param a02 Element 0 2 of the matrix whose columns are the basis vectors.
+   * @param a10 Element 1 0 of the matrix whose columns are the basis vectors.
+   * @param a11 Element 1 1 of the matrix whose columns are the basis vectors.
+   * @param a12 Element 1 2 of the matrix whose columns are the basis vectors.
+   * @param a20 Element 2 0 of the matrix whose columns are the basis vectors.
+   * @param a21 Element 2 1 of the matrix whose columns are the basis vectors.
+   * @param a22 Element 2 2 of the matrix whose columns are the basis vectors.
+   * @return A unit quaternion representing the rotation of the given basis.
+   */
+  private[vecmatlib] def fromBasis(a00: Double, a01: Double, a02: Double, a10: Double, a11: Double, a12: Double, a20: Double, a21: Double, a22: Double): Quatd = {
+    val trace = a00 + a11 + a22
+    val q = if(trace > 0.0) {
+      val s = math.sqrt(trace + 1.0) * 2.0
+      Quatd(0.25 * s, (a21 - a12) / s, (a02 - a20) / s, (a10 - a01) / s)
+    } else if(a00 > a11 && a00 > a22) {
+      val s = math.sqrt(1.0 + a00 - a11 - a22) * 2.0
+      Quatd((a21 - a12) / s, 0.25 * s, (a01 + a10) / s, (a02 + a20) / s)
+    } else if(a11 > a22) {
+      val s = math.sqrt(1.0 + a11 - a00 - a22) * 2.0
+      Quatd((a02 - a20) / s, (a01 + a10) / s, 0.25 * s, (a12 + a21) / s)
+    } else {
+      val s = math.sqrt(1.0 + a22 - a00 - a11) * 2.0
+      Quatd((a10 - a01) / s, (a02 + a20) / s, (a12 + a21) / s, 0.25 * s)
+    }
+    q.normalized
+  }
+
   /**
    * Allows to use the operators '*' and '/' with a scalar as `1.0 * quaternion` and `1.0 / quaternion`.
    *
@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import io.github.scalamath
 import io.github.scalamath.DoubleEqualsApprox
 
+import java.nio.{ByteBuffer, FloatBuffer}
+
 /**
  * A single-precision quaternion.
  * Can be used to represent a 3D rotation.
@@ -419,12 +421,54 @@ case class Quatf(w: Float, x: Float, y: Float, z: Float) {
    * Computes the spherical linear interpolation between this quaternion and the given one by the given weight and returns the result.
    *
    * The given weight must be in the `[0.0, 1.0]` range, representing the amount of interpolation.
+   * The interpolation always takes the shortest path between the two rotations.
+   * If the two quaternions are too close to each other, this method falls back to [[nlerp]].
+   *
+   * Both quaternions must be unit quaternions.
    *
    * @param to The second quaternion.
    * @param weight The weight of the interpolation between `0.0` and `1.0`.
    * @return The result of the spherical linear interpolation between this quaternion and the given one by the given weight.
    */
-  def slerp(to: Quatf, weight: Float): Quatf = (to * this.inverse).pow(weight) * this
+  def slerp(to: Quatf, weight: Float): Quatf = {
+    val cos = this.dot(to)
+    // Negate the second quaternion if the two are in opposite hemispheres to take the shortest path
+    val sign = if(cos < 0.0f) -1.0f else 1.0f
+    val d = math.min(cos * sign, 1.0f)
+    if(d > 1.0 - scalamath.Epsilon) {
+      this.nlerp(to, weight)
+    } else {
+      val angle = math.acos(d)
+      val sin = math.sin(angle)
+      val a = (math.sin((1.0 - weight) * angle) / sin).toFloat
+      val b = (math.sin(weight * angle) / sin).toFloat * sign
+      Quatf(this.w * a + to.w * b, this.x * a + to.x * b, this.y * a + to.y * b, this.z * a + to.z * b)
+    }
+  }
+
+  /**
+   * Computes the normalized linear interpolation between this quaternion and the given one by the given weight and returns the result.
+   *
+   * The given weight must be in the `[0.0, 1.0]` range, representing the amount of interpolation.
+   * The interpolation always takes the shortest path between the two rotations.
+   *
+   * This is faster than [[slerp]], but does not interpolate at a constant angular velocity.
+   * The error is small when the two quaternions are close to each other.
+   *
+   * @param to The second quaternion.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @return The result of the normalized linear interpolation between this quaternion and the given one by the given weight.
+   */
+  def nlerp(to: Quatf, weight: Float): Quatf = {
+    val a = 1.0f - weight
+    val b = if(this.dot(to) < 0.0f) -weight else weight
+    val w = this.w * a + to.w * b
+    val x = this.x * a + to.x * b
+    val y = this.y * a + to.y * b
+    val z = this.z * a + to.z * b
+    val length = math.sqrt(w * w + x * x + y * y + z * z).toFloat
+    Quatf(w / length, x / length, y / length, z / length)
+  }
 
   /**
    * Returns this quaternion's rotation in the form of euler angles.
@@ -433,7 +477,7 @@ case class Quatf(w: Float, x: Float, y: Float, z: Float) {
    * @return A [[Vec3f]] representing this quaternion's rotation in the form of euler angles.
    * @see [[EulerOrder]]
    */
-  def euler(order: EulerOrder): Vec3f = order.toEulerAngles(this.toDouble).toFloat
+  def euler(order: EulerOrder): Vec3f = order.toEulerAngles(this)
 
   /**
    * Returns this quaternion's rotation in the form of euler angles using the `ZYX` convention.
@@ -446,10 +490,159 @@ case class Quatf(w: Float, x: Float, y: Float, z: Float) {
   /**
    * Rotates the given point by the rotation defined by this quaternion and returns the rotated point.
    *
+   * This quaternion must be normalized.
+   * The point is rotated directly as `p + w * t + cross(xyz, t)`, where `t = 2 * cross(xyz, p)`, without computing the products `q * p * q.conjugate`.
+   *
+   * @param x The x coordinate of the point to rotate.
+   * @param y The y coordinate of the point to rotate.
+   * @param z The z coordinate of the point to rotate.
+   * @return The point after applying the rotation.
+   */
+  def rotate(x: Float, y: Float, z: Float): Vec3f = {
+    // t = 2 * cross(q.xyz, p)
+    val tx = 2.0f * (this.y * z - this.z * y)
+    val ty = 2.0f * (this.z * x - this.x * z)
+    val tz = 2.0f * (this.x * y - this.y * x)
+    // p' = p + w * t + cross(q.xyz, t)
+    Vec3f(
+      x + this.w * tx + (this.y * tz - this.z * ty),
+      y + this.w * ty + (this.z * tx - this.x * tz),
+      z + this.w * tz + (this.x * ty - this.y * tx)
+    )
+  }
+
+  /**
+   * Rotates the given point by the rotation defined by this quaternion and returns the rotated point.
+   *
+   * This quaternion must be normalized.
+   *
    * @param p The point to rotate, represented by a [[Vec3f]].
    * @return The point after applying the rotation.
    */
-  def rotate(p: Vec3f): Vec3f = (this * (0.0f, p.x, p.y, p.z) * this.conjugate).vector
+  def rotate(p: Vec3f): Vec3f = this.rotate(p.x, p.y, p.z)
+
+  /**
+   * Rotates the given point by the rotation defined by this quaternion, then translates it by the given translation, and returns the result.
+   * Equivalent to `q.rotate(p) + translation`, but only allocates the result.
+   *
+   * This quaternion must be normalized.
+   *
+   * @param p The point to transform.
+   * @param translation The translation applied after the rotation.
+   * @return The point after applying the rotation and the translation.
+   */
+  def transformPoint(p: Vec3f, translation: Vec3f): Vec3f = {
+    val tx = 2.0f * (this.y * p.z - this.z * p.y)
+    val ty = 2.0f * (this.z * p.x - this.x * p.z)
+    val tz = 2.0f * (this.x * p.y - this.y * p.x)
+    Vec3f(
+      p.x + this.w * tx + (this.y * tz - this.z * ty) + translation.x,
+      p.y + this.w * ty + (this.z * tx - this.x * tz) + translation.y,
+      p.z + this.w * tz + (this.x * ty - this.y * tx) + translation.z
+    )
+  }
+
+  /**
+   * Rotates the 3D points in the given array by the rotation defined by this quaternion and stores the result in the destination array.
+   * Equivalent to `q.rotate(p)` for every vector, but does not allocate any objects.
+   *
+   * This quaternion must be normalized.
+   * The given arrays must contain tightly packed 3D vectors, i.e. three consecutive values for each vector.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param dst The array in which the rotated vectors are stored.
+   * @param offset The index of the first vector to rotate.
+   * @param count The number of vectors to rotate.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def rotatePoints(src: Array[Float], dst: Array[Float], offset: Int, count: Int): Unit = this.transformPacked(src, 0.0f, 0.0f, 0.0f, dst, offset, count)
+
+  /**
+   * Rotates the 3D points in the given array by the rotation defined by this quaternion, then translates them by the given translation, and stores the result in the destination array.
+   * Equivalent to `q.transformPoint(p, translation)` for every vector, but does not allocate any objects.
+   *
+   * This quaternion must be normalized.
+   * The given arrays must contain tightly packed 3D vectors, i.e. three consecutive values for each vector.
+   * The source and the destination array may be the same array.
+   *
+   * @param src The array containing the source vectors.
+   * @param translation The translation applied after the rotation.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   */
+  def transformPoints(src: Array[Float], translation: Vec3f, dst: Array[Float], offset: Int, count: Int): Unit = {
+    this.transformPacked(src, translation.x, translation.y, translation.z, dst, offset, count)
+  }
+
+  /**
+   * Rotates and translates the 3D points in the given array.
+   *
+   * @param src The array containing the source vectors.
+   * @param tx The x component of the translation.
+   * @param ty The y component of the translation.
+   * @param tz The z component of the translation.
+   * @param dst The array in which the transformed vectors are stored.
+   * @param offset The index of the first vector to transform.
+   * @param count The number of vectors to transform.
+   */
+  private def transformPacked(src: Array[Float], tx: Float, ty: Float, tz: Float, dst: Array[Float], offset: Int, count: Int): Unit = {
+    // The rotation is expanded into a matrix so that each point costs nine multiplications
+    val qw = this.w
+    val qx = this.x
+    val qy = this.y
+    val qz = this.z
+    val m00 = 1.0f - 2.0f * (qy * qy + qz * qz)
+    val m01 = 2.0f * (qx * qy - qz * qw)
+    val m02 = 2.0f * (qx * qz + qy * qw)
+    val m10 = 2.0f * (qx * qy + qz * qw)
+    val m11 = 1.0f - 2.0f * (qx * qx + qz * qz)
+    val m12 = 2.0f * (qy * qz - qx * qw)
+    val m20 = 2.0f * (qx * qz - qy * qw)
+    val m21 = 2.0f * (qy * qz + qx * qw)
+    val m22 = 1.0f - 2.0f * (qx * qx + qy * qy)
+    var i = offset * 3
+    val end = (offset + count) * 3
+    while(i < end) {
+      val x = src(i)
+      val y = src(i + 1)
+      val z = src(i + 2)
+      dst(i) = m00 * x + m01 * y + m02 * z + tx
+      dst(i + 1) = m10 * x + m11 * y + m12 * z + ty
+      dst(i + 2) = m20 * x + m21 * y + m22 * z + tz
+      i += 3
+    }
+  }
+
+  /**
+   * Rotates the points in the given buffer by the rotation defined by this quaternion and returns the result in a new buffer.
+   *
+   * This quaternion must be normalized.
+   *
+   * @param src The buffer containing the points to rotate.
+   * @return A buffer containing the points after applying the rotation.
+   * @see [[VectorKernels.rotate]]
+   */
+  def rotate(src: Vec3fBuffer): Vec3fBuffer = this.rotate(src, new Vec3fBuffer(src.size))
+
+  /**
+   * Rotates the points in the given buffer by the rotation defined by this quaternion and stores the result in the destination buffer.
+   *
+   * This quaternion must be normalized.
+   * The source and the destination buffer may be the same buffer.
+   *
+   * @param src The buffer containing the points to rotate.
+   * @param dst The buffer in which the rotated points are stored. Must have the same size as the source buffer.
+   * @return The given destination buffer.
+   * @see [[VectorKernels.rotate]]
+   */
+  def rotate(src: Vec3fBuffer, dst: Vec3fBuffer): Vec3fBuffer = {
+    require(dst.size == src.size, "Buffers must have the same size")
+    VectorKernels.Default.rotate(this, src.x, src.y, src.z, dst.x, dst.y, dst.z, 0, src.size)
+    dst
+  }
 
   /**
    * Checks if the components of this quaternion are equal to the given ones.
@@ -541,6 +734,45 @@ case class Quatf(w: Float, x: Float, y: Float, z: Float) {
    * @return A [[Quatd]] with the same value as this one.
    */
   def toDouble: Quatd = Quatd(this.w, this.x, this.y, this.z)
+
+  /**
+   * Returns a mutable copy of this quaternion.
+   *
+   * @return A [[MutableQuatf]] with the same value as this quaternion.
+   */
+  def toMutable: MutableQuatf = new MutableQuatf(this)
+
+  /**
+   * Writes the components of this quaternion into the given buffer in `w, x, y, z` order, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first component is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: FloatBuffer, offset: Int): Unit = {
+    buffer.put(offset, this.w)
+    buffer.put(offset + 1, this.x)
+    buffer.put(offset + 2, this.y)
+    buffer.put(offset + 3, this.z)
+  }
+
+  /**
+   * Writes the components of this quaternion into the given byte buffer in `w, x, y, z` order using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first component is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: ByteBuffer, offset: Int): Unit = {
+    buffer.putFloat(offset, this.w)
+    buffer.putFloat(offset + 4, this.x)
+    buffer.putFloat(offset + 8, this.y)
+    buffer.putFloat(offset + 12, this.z)
+  }
 }
 
 /**
@@ -578,7 +810,7 @@ object Quatf {
    * @param order The rotation order.
    * @return The quaternion constructed from the given euler angles and rotation order.
    */
-  def fromEuler(euler: Vec3f, order: EulerOrder): Quatf = order.toQuaternion(euler).toFloat
+  def fromEuler(euler: Vec3f, order: EulerOrder): Quatf = order.toQuaternion(euler)
 
   /**
    * Constructs a quaternion from the given euler angles and rotation order.
@@ -643,6 +875,267 @@ object Quatf {
     }
   }
 
+  /**
+   * Computes the spherical linear interpolation between the quaternions in the given arrays by the given weight and stores the result in the destination array.
+   * Equivalent to `from.slerp(to, weight)` for every quaternion, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed quaternions in `w, x, y, z` order, i.e. four consecutive values for each quaternion.
+   * The destination array may be one of the source arrays.
+   *
+   * @param from The array containing the first quaternions. Must contain unit quaternions.
+   * @param to The array containing the second quaternions. Must contain unit quaternions.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first quaternion to interpolate.
+   * @param count The number of quaternions to interpolate.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   * @see [[Quatf.slerp]]
+   */
+  def slerpPacked(from: Array[Float], to: Array[Float], weight: Float, dst: Array[Float], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      this.slerp(from, to, weight, dst, i * 4)
+      i += 1
+    }
+  }
+
+  /**
+   * Computes the spherical linear interpolation between the quaternions in the given arrays by the weights in the given array and stores the result in the destination array.
+   * Equivalent to `from.slerp(to, weight)` for every quaternion, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed quaternions in `w, x, y, z` order, i.e. four consecutive values for each quaternion.
+   * The destination array may be one of the source arrays.
+   *
+   * @param from The array containing the first quaternions. Must contain unit quaternions.
+   * @param to The array containing the second quaternions. Must contain unit quaternions.
+   * @param weights The array containing the weight of the interpolation for each quaternion.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first quaternion to interpolate.
+   * @param count The number of quaternions to interpolate.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   * @see [[Quatf.slerp]]
+   */
+  def slerpPacked(from: Array[Float], to: Array[Float], weights: Array[Float], dst: Array[Float], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      this.slerp(from, to, weights(i), dst, i * 4)
+      i += 1
+    }
+  }
+
+  /**
+   * Computes the normalized linear interpolation between the quaternions in the given arrays by the given weight and stores the result in the destination array.
+   * Equivalent to `from.nlerp(to, weight)` for every quaternion, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed quaternions in `w, x, y, z` order, i.e. four consecutive values for each quaternion.
+   * The destination array may be one of the source arrays.
+   *
+   * @param from The array containing the first quaternions.
+   * @param to The array containing the second quaternions.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first quaternion to interpolate.
+   * @param count The number of quaternions to interpolate.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   * @see [[Quatf.nlerp]]
+   */
+  def nlerpPacked(from: Array[Float], to: Array[Float], weight: Float, dst: Array[Float], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      this.nlerp(from, to, weight, dst, i * 4)
+      i += 1
+    }
+  }
+
+  /**
+   * Computes the normalized linear interpolation between the quaternions in the given arrays by the weights in the given array and stores the result in the destination array.
+   * Equivalent to `from.nlerp(to, weight)` for every quaternion, but does not allocate any objects.
+   *
+   * The given arrays must contain tightly packed quaternions in `w, x, y, z` order, i.e. four consecutive values for each quaternion.
+   * The destination array may be one of the source arrays.
+   *
+   * @param from The array containing the first quaternions.
+   * @param to The array containing the second quaternions.
+   * @param weights The array containing the weight of the interpolation for each quaternion.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first quaternion to interpolate.
+   * @param count The number of quaternions to interpolate.
+   * @throws ArrayIndexOutOfBoundsException If one of the arrays is too short.
+   * @see [[Quatf.nlerp]]
+   */
+  def nlerpPacked(from: Array[Float], to: Array[Float], weights: Array[Float], dst: Array[Float], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      this.nlerp(from, to, weights(i), dst, i * 4)
+      i += 1
+    }
+  }
+
+  /**
+   * Interpolates the quaternions starting at index `j` in the given arrays with [[Quatf.slerp]].
+   */
+  private def slerp(from: Array[Float], to: Array[Float], weight: Float, dst: Array[Float], j: Int): Unit = {
+    val cos = from(j) * to(j) + from(j + 1) * to(j + 1) + from(j + 2) * to(j + 2) + from(j + 3) * to(j + 3)
+    val sign = if(cos < 0.0f) -1.0f else 1.0f
+    val d = math.min(cos * sign, 1.0f)
+    if(d > 1.0 - scalamath.Epsilon) {
+      this.nlerp(from, to, weight, dst, j)
+    } else {
+      val angle = math.acos(d)
+      val sin = math.sin(angle)
+      val a = (math.sin((1.0 - weight) * angle) / sin).toFloat
+      val b = (math.sin(weight * angle) / sin).toFloat * sign
+      dst(j) = from(j) * a + to(j) * b
+      dst(j + 1) = from(j + 1) * a + to(j + 1) * b
+      dst(j + 2) = from(j + 2) * a + to(j + 2) * b
+      dst(j + 3) = from(j + 3) * a + to(j + 3) * b
+    }
+  }
+
+  /**
+   * Interpolates the quaternions starting at index `j` in the given arrays with [[Quatf.nlerp]].
+   */
+  private def nlerp(from: Array[Float], to: Array[Float], weight: Float, dst: Array[Float], j: Int): Unit = {
+    val cos = from(j) * to(j) + from(j + 1) * to(j + 1) + from(j + 2) * to(j + 2) + from(j + 3) * to(j + 3)
+    val a = 1.0f - weight
+    val b = if(cos < 0.0f) -weight else weight
+    val w = from(j) * a + to(j) * b
+    val x = from(j + 1) * a + to(j + 1) * b
+    val y = from(j + 2) * a + to(j + 2) * b
+    val z = from(j + 3) * a + to(j + 3) * b
+    val length = math.sqrt(w * w + x * x + y * y + z * z).toFloat
+    dst(j) = w / length
+    dst(j + 1) = x / length
+    dst(j + 2) = y / length
+    dst(j + 3) = z / length
+  }
+
+  /**
+   * Reads a quaternion from the given buffer in `w, x, y, z` order, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first component is stored.
+   * @return The quaternion read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: FloatBuffer, offset: Int): Quatf = {
+    Quatf(buffer.get(offset), buffer.get(offset + 1), buffer.get(offset + 2), buffer.get(offset + 3))
+  }
+
+  /**
+   * Reads a quaternion from the given byte buffer in `w, x, y, z` order using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first component is stored.
+   * @return The quaternion read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: ByteBuffer, offset: Int): Quatf = {
+    Quatf(buffer.getFloat(offset), buffer.getFloat(offset + 4), buffer.getFloat(offset + 8), buffer.getFloat(offset + 12))
+  }
+
+  /**
+   * Writes the given quaternions into the given buffer one after the other, starting at the given index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param quaternions The quaternions to write.
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first quaternion is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Quatf.writeTo]]
+   */
+  def writeAll(quaternions: Array[Quatf], buffer: FloatBuffer, offset: Int): Unit = {
+    var i = 0
+    while(i < quaternions.length) {
+      quaternions(i).writeTo(buffer, offset + i * 4)
+      i += 1
+    }
+  }
+
+  /**
+   * Writes the given quaternions into the given byte buffer one after the other using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param quaternions The quaternions to write.
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first quaternion is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Quatf.writeTo]]
+   */
+  def writeAll(quaternions: Array[Quatf], buffer: ByteBuffer, offset: Int): Unit = {
+    var i = 0
+    while(i < quaternions.length) {
+      quaternions(i).writeTo(buffer, offset + i * 16)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads the given number of consecutive quaternions from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first quaternion is stored.
+   * @param count The number of quaternions to read.
+   * @return An array containing the quaternions read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: FloatBuffer, offset: Int, count: Int): Array[Quatf] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 4))
+
+  /**
+   * Reads the given number of consecutive quaternions from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first quaternion is stored.
+   * @param count The number of quaternions to read.
+   * @return An array containing the quaternions read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: ByteBuffer, offset: Int, count: Int): Array[Quatf] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 16))
+
+  /**
+   * Returns the quaternion that represents the rotation expressed by the given orthonormal basis.
+   *
+   * The quaternion is computed from the largest of the trace and the diagonal elements to avoid dividing by a small number.
+   *
+   * @param a00 Element 0 0 of the matrix whose columns are the basis vectors.
+   * @param a01 Element 0 1 of the matrix whose columns are the basis vectors.
+   * @param a02 Element 0 2 of the matrix whose columns are the basis vectors.
+   * @param a10 Element 1 0 of the matrix whose columns are the basis vectors.
+   * @param a11 Element 1 1 of the matrix whose columns are the basis vectors.
+   * @param a12 Element 1 2 of the matrix whose columns are the basis vectors.
+   * @param a20 Element 2 0 of the matrix whose columns are the basis vectors.
+   * @param a21 Element 2 1 of the matrix whose columns are the basis vectors.
+   * @param a22 Element 2 2 of the matrix whose columns are the basis vectors.
+   * @return A unit quaternion representing the rotation of the given basis.
+   */
+  private[vecmatlib] def fromBasis(a00: Float, a01: Float, a02: Float, a10: Float, a11: Float, a12: Float, a20: Float, a21: Float, a22: Float): Quatf = {
+    val trace = a00 + a11 + a22
+    val q = if(trace > 0.0f) {
+      val s = math.sqrt(trace + 1.0f).toFloat * 2.0f
+      Quatf(0.25f * s, (a21 - a12) / s, (a02 - a20) / s, (a10 - a01) / s)
+    } else if(a00 > a11 && a00 > a22) {
+      val s = math.sqrt(1.0f + a00 - a11 - a22).toFloat * 2.0f
+      Quatf((a21 - a12) / s, 0.25f * s, (a01 + a10) / s, (a02 + a20) / s)
+    } else if(a11 > a22) {
+      val s = math.sqrt(1.0f + a11 - a00 - a22).toFloat * 2.0f
+      Quatf((a02 - a20) / s, (a01 + a10) / s, 0.25f * s, (a12 + a21) / s)
+    } else {
+      val s = math.sqrt(1.0f + a22 - a00 - a11).toFloat * 2.0f
+      Quatf((a10 - a01) / s, (a02 + a20) / s, (a12 + a21) / s, 0.25f * s)
+    }
+    q.normalized
+  }
+
   /**
    * Allows to use the operators '*' and '/' with a scalar as `1.0 * quaternion` and `1.0 / quaternion`.
    *
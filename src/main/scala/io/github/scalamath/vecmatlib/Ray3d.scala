@@ -0,0 +1,399 @@
+package io.github.scalamath.vecmatlib
+
+import io.github.scalamath.DoubleEqualsApprox
+
+/**
+ * A ray in a 3D space defined by its origin and its direction using double precision.
+ *
+ * The direction does not need to be normalized.
+ * Distances along the ray are expressed in multiples of the length of the direction, so that the point at distance `t` is `origin + direction * t`.
+ *
+ * Batch methods test the ray against packed arrays of triangles or boxes.
+ * Triangles are stored as nine consecutive values `ax, ay, az, bx, by, bz, cx, cy, cz` or as three consecutive indices into a packed array of vertices `x, y, z`.
+ * Boxes are stored as six consecutive values `minX, minY, minZ, maxX, maxY, maxZ`.
+ * Batch methods do not allocate.
+ *
+ * Triangles are intersected with the Möller–Trumbore algorithm and are hit from both sides.
+ * Triangles parallel to the ray are never hit.
+ *
+ * @constructor Constructs a ray from its origin and its direction.
+ * @param origin The origin of the ray.
+ * @param direction The direction of the ray.
+ */
+case class Ray3d(origin: Vec3d, direction: Vec3d) {
+
+  /**
+   * Constructs a ray from the components of its origin and its direction.
+   *
+   * @param ox The x coordinate of the origin.
+   * @param oy The y coordinate of the origin.
+   * @param oz The z coordinate of the origin.
+   * @param dx The x component of the direction.
+   * @param dy The y component of the direction.
+   * @param dz The z component of the direction.
+   */
+  def this(ox: Double, oy: Double, oz: Double, dx: Double, dy: Double, dz: Double) = this(Vec3d(ox, oy, oz), Vec3d(dx, dy, dz))
+
+  /**
+   * Returns the point at the given distance along this ray.
+   *
+   * @param t The distance along the ray, expressed in multiples of the length of the direction.
+   * @return The point at the given distance along this ray.
+   */
+  def pointAt(t: Double): Vec3d = Vec3d(this.origin.x + this.direction.x * t, this.origin.y + this.direction.y * t, this.origin.z + this.direction.z * t)
+
+  /**
+   * Returns a ray with the same origin as this one and a normalized direction.
+   *
+   * @return A ray with the same origin as this one and a normalized direction.
+   */
+  def normalized: Ray3d = Ray3d(this.origin, this.direction.normalized)
+
+  /**
+   * Transforms this ray by the given matrix.
+   *
+   * @param m The transformation matrix.
+   * @return The transformed ray.
+   */
+  def transform(m: Mat3x4d): Ray3d = Ray3d(m * (this.origin, 1.0), m * (this.direction, 0.0))
+
+  /**
+   * Intersects this ray with the given triangle.
+   *
+   * @param ax The x coordinate of the first vertex.
+   * @param ay The y coordinate of the first vertex.
+   * @param az The z coordinate of the first vertex.
+   * @param bx The x coordinate of the second vertex.
+   * @param by The y coordinate of the second vertex.
+   * @param bz The z coordinate of the second vertex.
+   * @param cx The x coordinate of the third vertex.
+   * @param cy The y coordinate of the third vertex.
+   * @param cz The z coordinate of the third vertex.
+   * @return The distance of the intersection along this ray or positive infinity if the triangle is not hit.
+   */
+  def intersectTriangle(ax: Double, ay: Double, az: Double, bx: Double, by: Double, bz: Double, cx: Double, cy: Double, cz: Double): Double = {
+    this.intersectTriangle(ax, ay, az, bx, by, bz, cx, cy, cz, Double.PositiveInfinity, null, -1)
+  }
+
+  /**
+   * Intersects this ray with the given triangle.
+   *
+   * @param a The first vertex of the triangle.
+   * @param b The second vertex of the triangle.
+   * @param c The third vertex of the triangle.
+   * @return The distance of the intersection along this ray or positive infinity if the triangle is not hit.
+   */
+  def intersectTriangle(a: Vec3d, b: Vec3d, c: Vec3d): Double = this.intersectTriangle(a.x, a.y, a.z, b.x, b.y, b.z, c.x, c.y, c.z)
+
+  // Returns the distance of the hit and stores it in the given record if it is not null and the hit is closer than the given distance
+  private def intersectTriangle(ax: Double, ay: Double, az: Double, bx: Double, by: Double, bz: Double, cx: Double, cy: Double, cz: Double, maxDistance: Double, hit: RayHit3d, index: Int): Double = {
+    val e1x = bx - ax
+    val e1y = by - ay
+    val e1z = bz - az
+    val e2x = cx - ax
+    val e2y = cy - ay
+    val e2z = cz - az
+    // p = direction x e2
+    val px = this.direction.y * e2z - this.direction.z * e2y
+    val py = this.direction.z * e2x - this.direction.x * e2z
+    val pz = this.direction.x * e2y - this.direction.y * e2x
+    val det = e1x * px + e1y * py + e1z * pz
+    if(det == 0.0) {
+      return Double.PositiveInfinity
+    }
+    val invDet = 1.0 / det
+    val sx = this.origin.x - ax
+    val sy = this.origin.y - ay
+    val sz = this.origin.z - az
+    val u = (sx * px + sy * py + sz * pz) * invDet
+    if(u < 0.0 || u > 1.0) {
+      return Double.PositiveInfinity
+    }
+    // q = s x e1
+    val qx = sy * e1z - sz * e1y
+    val qy = sz * e1x - sx * e1z
+    val qz = sx * e1y - sy * e1x
+    val v = (this.direction.x * qx + this.direction.y * qy + this.direction.z * qz) * invDet
+    if(v < 0.0 || u + v > 1.0) {
+      return Double.PositiveInfinity
+    }
+    val t = (e2x * qx + e2y * qy + e2z * qz) * invDet
+    if(t < 0.0 || t > maxDistance) {
+      return Double.PositiveInfinity
+    }
+    if(hit != null) {
+      hit.index = index
+      hit.distance = t
+      hit.u = u
+      hit.v = v
+    }
+    t
+  }
+
+  private def intersectTriangle(vertices: Array[Double], a: Int, b: Int, c: Int, maxDistance: Double, hit: RayHit3d, index: Int): Double = {
+    this.intersectTriangle(
+      vertices(a), vertices(a + 1), vertices(a + 2),
+      vertices(b), vertices(b + 1), vertices(b + 2),
+      vertices(c), vertices(c + 1), vertices(c + 2),
+      maxDistance, hit, index
+    )
+  }
+
+  /**
+   * Finds the closest triangle hit by this ray among the packed triangles in the given array.
+   *
+   * @param triangles The array containing the triangles in the order `ax, ay, az, bx, by, bz, cx, cy, cz`.
+   * @param offset The index of the first triangle to test.
+   * @param count The number of triangles to test.
+   * @param maxDistance The maximum distance along the ray.
+   * @param hit The record in which the index, the distance, and the barycentric coordinates of the closest hit are stored. Reset before the test.
+   * @return The index of the closest triangle hit by this ray or `-1` if no triangle is hit.
+   */
+  def intersectTriangles(triangles: Array[Double], offset: Int, count: Int, maxDistance: Double, hit: RayHit3d): Int = {
+    hit.reset(maxDistance)
+    var i = offset
+    while(i < offset + count) {
+      val t = i * 9
+      this.intersectTriangle(triangles, t, t + 3, t + 6, hit.distance, hit, i)
+      i += 1
+    }
+    hit.index
+  }
+
+  /**
+   * Finds the closest triangle hit by this ray among the indexed triangles in the given arrays.
+   *
+   * @param vertices The array containing the vertices in the order `x, y, z`.
+   * @param indices The array containing the indices of the three vertices of each triangle.
+   * @param offset The index of the first triangle to test.
+   * @param count The number of triangles to test.
+   * @param maxDistance The maximum distance along the ray.
+   * @param hit The record in which the index, the distance, and the barycentric coordinates of the closest hit are stored. Reset before the test.
+   * @return The index of the closest triangle hit by this ray or `-1` if no triangle is hit.
+   */
+  def intersectTriangles(vertices: Array[Double], indices: Array[Int], offset: Int, count: Int, maxDistance: Double, hit: RayHit3d): Int = {
+    hit.reset(maxDistance)
+    var i = offset
+    while(i < offset + count) {
+      this.intersectTriangle(vertices, indices(i * 3) * 3, indices(i * 3 + 1) * 3, indices(i * 3 + 2) * 3, hit.distance, hit, i)
+      i += 1
+    }
+    hit.index
+  }
+
+  /**
+   * Checks if this ray hits any of the packed triangles in the given array within the given distance.
+   *
+   * The test stops at the first triangle that is hit, which makes it faster than [[intersectTriangles]] for line-of-sight checks.
+   *
+   * @param triangles The array containing the triangles in the order `ax, ay, az, bx, by, bz, cx, cy, cz`.
+   * @param offset The index of the first triangle to test.
+   * @param count The number of triangles to test.
+   * @param maxDistance The maximum distance along the ray.
+   * @return True if any triangle is hit, otherwise false.
+   */
+  def intersectsAnyTriangle(triangles: Array[Double], offset: Int, count: Int, maxDistance: Double): Boolean = {
+    var i = offset
+    while(i < offset + count) {
+      val t = i * 9
+      if(this.intersectTriangle(triangles, t, t + 3, t + 6, maxDistance, null, i) != Double.PositiveInfinity) {
+        return true
+      }
+      i += 1
+    }
+    false
+  }
+
+  /**
+   * Checks if this ray hits any of the indexed triangles in the given arrays within the given distance.
+   *
+   * The test stops at the first triangle that is hit, which makes it faster than [[intersectTriangles]] for line-of-sight checks.
+   *
+   * @param vertices The array containing the vertices in the order `x, y, z`.
+   * @param indices The array containing the indices of the three vertices of each triangle.
+   * @param offset The index of the first triangle to test.
+   * @param count The number of triangles to test.
+   * @param maxDistance The maximum distance along the ray.
+   * @return True if any triangle is hit, otherwise false.
+   */
+  def intersectsAnyTriangle(vertices: Array[Double], indices: Array[Int], offset: Int, count: Int, maxDistance: Double): Boolean = {
+    var i = offset
+    while(i < offset + count) {
+      if(this.intersectTriangle(vertices, indices(i * 3) * 3, indices(i * 3 + 1) * 3, indices(i * 3 + 2) * 3, maxDistance, null, i) != Double.PositiveInfinity) {
+        return true
+      }
+      i += 1
+    }
+    false
+  }
+
+  /**
+   * Intersects this ray with the given axis-aligned bounding box using the slab method.
+   *
+   * @param minX The x component of the minimum corner.
+   * @param minY The y component of the minimum corner.
+   * @param minZ The z component of the minimum corner.
+   * @param maxX The x component of the maximum corner.
+   * @param maxY The y component of the maximum corner.
+   * @param maxZ The z component of the maximum corner.
+   * @return The distance along this ray at which it enters the box, zero if the origin is inside the box, or positive infinity if the box is not hit.
+   */
+  def intersectBox(minX: Double, minY: Double, minZ: Double, maxX: Double, maxY: Double, maxZ: Double): Double = {
+    val ix = 1.0 / this.direction.x
+    val iy = 1.0 / this.direction.y
+    val iz = 1.0 / this.direction.z
+    Ray3d.slab(minX, minY, minZ, maxX, maxY, maxZ, this.origin.x, this.origin.y, this.origin.z, ix, iy, iz, Double.PositiveInfinity)
+  }
+
+  /**
+   * Intersects this ray with the given axis-aligned bounding box using the slab method.
+   *
+   * @param box The box.
+   * @return The distance along this ray at which it enters the box, zero if the origin is inside the box, or positive infinity if the box is not hit.
+   */
+  def intersectBox(box: Aabb3d): Double = this.intersectBox(box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z)
+
+  /**
+   * Finds the closest box hit by this ray among the packed boxes in the given array.
+   *
+   * @param boxes The array containing the boxes in the order `minX, minY, minZ, maxX, maxY, maxZ`.
+   * @param offset The index of the first box to test.
+   * @param count The number of boxes to test.
+   * @param maxDistance The maximum distance along the ray.
+   * @return The index of the closest box hit by this ray or `-1` if no box is hit.
+   */
+  def nearestBox(boxes: Array[Double], offset: Int, count: Int, maxDistance: Double): Int = {
+    val ix = 1.0 / this.direction.x
+    val iy = 1.0 / this.direction.y
+    val iz = 1.0 / this.direction.z
+    var closest = maxDistance
+    var result = -1
+    var i = offset
+    while(i < offset + count) {
+      val b = i * 6
+      val t = Ray3d.slab(boxes(b), boxes(b + 1), boxes(b + 2), boxes(b + 3), boxes(b + 4), boxes(b + 5), this.origin.x, this.origin.y, this.origin.z, ix, iy, iz, closest)
+      if(t != Double.PositiveInfinity && (result < 0 || t < closest)) {
+        closest = t
+        result = i
+      }
+      i += 1
+    }
+    result
+  }
+
+  /**
+   * Intersects this ray with the packed boxes in the given array and stores the result in a bitmask.
+   *
+   * Only the bits of the result corresponding to the given range are modified.
+   *
+   * @param boxes The array containing the boxes in the order `minX, minY, minZ, maxX, maxY, maxZ`.
+   * @param offset The index of the first box to test.
+   * @param count The number of boxes to test.
+   * @param maxDistance The maximum distance along the ray.
+   * @param result The bitmask in which bit `i % 64` of element `i / 64` is set if box `i` is hit and cleared otherwise.
+   * @return The number of boxes hit by this ray.
+   */
+  def intersectBoxes(boxes: Array[Double], offset: Int, count: Int, maxDistance: Double, result: Array[Long]): Int = {
+    val ix = 1.0 / this.direction.x
+    val iy = 1.0 / this.direction.y
+    val iz = 1.0 / this.direction.z
+    var hits = 0
+    var i = offset
+    while(i < offset + count) {
+      val b = i * 6
+      val t = Ray3d.slab(boxes(b), boxes(b + 1), boxes(b + 2), boxes(b + 3), boxes(b + 4), boxes(b + 5), this.origin.x, this.origin.y, this.origin.z, ix, iy, iz, maxDistance)
+      if(t != Double.PositiveInfinity) {
+        result(i >>> 6) |= 1L << i
+        hits += 1
+      } else {
+        result(i >>> 6) &= ~(1L << i)
+      }
+      i += 1
+    }
+    hits
+  }
+
+  /**
+   * Intersects this ray with the packed boxes in the given array and stores the distance at which the ray enters each box.
+   *
+   * @param boxes The array containing the boxes in the order `minX, minY, minZ, maxX, maxY, maxZ`.
+   * @param offset The index of the first box to test.
+   * @param count The number of boxes to test.
+   * @param maxDistance The maximum distance along the ray.
+   * @param distances The array in which the distance at which the ray enters box `i` is stored at index `i`, or positive infinity if the box is not hit.
+   * @return The number of boxes hit by this ray.
+   */
+  def intersectBoxes(boxes: Array[Double], offset: Int, count: Int, maxDistance: Double, distances: Array[Double]): Int = {
+    val ix = 1.0 / this.direction.x
+    val iy = 1.0 / this.direction.y
+    val iz = 1.0 / this.direction.z
+    var hits = 0
+    var i = offset
+    while(i < offset + count) {
+      val b = i * 6
+      distances(i) = Ray3d.slab(boxes(b), boxes(b + 1), boxes(b + 2), boxes(b + 3), boxes(b + 4), boxes(b + 5), this.origin.x, this.origin.y, this.origin.z, ix, iy, iz, maxDistance)
+      if(distances(i) != Double.PositiveInfinity) {
+        hits += 1
+      }
+      i += 1
+    }
+    hits
+  }
+
+  /**
+   * Checks if the origin and the direction of this ray are approximately equal to the ones of the given ray using an internal epsilon.
+   *
+   * @param r The second ray.
+   * @return True if the origin and the direction of this ray are approximately equal to the ones of the given ray, otherwise false.
+   * @see [[DoubleEqualsApprox]]
+   */
+  def ~=(r: Ray3d): Boolean = (this.origin ~= r.origin) && (this.direction ~= r.direction)
+
+  /**
+   * Checks if the origin and the direction of this ray are approximately equal to the ones of the given ray using an internal epsilon.
+   *
+   * This method can be used in place of the `~=` operator for better interoperability with Java.
+   *
+   * @param r The second ray.
+   * @return True if the origin and the direction of this ray are approximately equal to the ones of the given ray, otherwise false.
+   * @see [[DoubleEqualsApprox]]
+   */
+  def equalsApprox(r: Ray3d): Boolean = this ~= r
+}
+
+/**
+ * Factory methods for rays.
+ */
+object Ray3d {
+
+  /**
+   * Constructs a ray that starts at the given point and passes through the second one.
+   *
+   * The distance of the second point along the ray is one.
+   *
+   * @param from The origin of the ray.
+   * @param to The point through which the ray passes.
+   * @return The ray from the first point through the second one.
+   */
+  def between(from: Vec3d, to: Vec3d): Ray3d = Ray3d(from, to - from)
+
+  private[vecmatlib] def slab(minX: Double, minY: Double, minZ: Double, maxX: Double, maxY: Double, maxZ: Double, ox: Double, oy: Double, oz: Double, ix: Double, iy: Double, iz: Double, maxDistance: Double): Double = {
+    val tx1 = (minX - ox) * ix
+    val tx2 = (maxX - ox) * ix
+    val ty1 = (minY - oy) * iy
+    val ty2 = (maxY - oy) * iy
+    val tz1 = (minZ - oz) * iz
+    val tz2 = (maxZ - oz) * iz
+    // If a component of the direction is zero and the origin lies on one of the planes of that slab, zero is multiplied by infinity, which gives NaN
+    // The origin is then inside the slab, so the comparisons below are ordered to ignore a NaN bound instead of propagating it
+    val tMin = this.max(this.max(this.max(0.0, math.min(tx1, tx2)), math.min(ty1, ty2)), math.min(tz1, tz2))
+    val tMax = this.min(this.min(this.min(maxDistance, math.max(tx1, tx2)), math.max(ty1, ty2)), math.max(tz1, tz2))
+    if(tMin <= tMax) tMin else Double.PositiveInfinity
+  }
+
+  /** Returns the greater of the two values or the first one if the second one is NaN. */
+  private def max(a: Double, b: Double): Double = if(b > a) b else a
+
+  /** Returns the smaller of the two values or the first one if the second one is NaN. */
+  private def min(a: Double, b: Double): Double = if(b < a) b else a
+}
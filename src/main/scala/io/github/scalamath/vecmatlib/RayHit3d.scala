@@ -0,0 +1,58 @@
+package io.github.scalamath.vecmatlib
+
+/**
+ * The result of an intersection test between a [[Ray3d]] and a set of triangles.
+ *
+ * Batch intersection methods store the closest hit in an instance of this class given by the caller, so that the same instance can be reused for many rays without allocating.
+ *
+ * The barycentric coordinates `u` and `v` are the weights of the second and third vertex of the triangle at the hit point.
+ * The weight of the first vertex is `1 - u - v`.
+ *
+ * @constructor Constructs a hit record that does not contain a hit.
+ */
+final class RayHit3d {
+
+  /** The index of the triangle that was hit or `-1` if no triangle was hit. */
+  var index: Int = -1
+  /** The distance along the ray of the hit point, expressed in multiples of the length of the direction of the ray. */
+  var distance: Double = Double.PositiveInfinity
+  /** The barycentric coordinate of the hit point relative to the second vertex of the triangle. */
+  var u: Double = 0.0
+  /** The barycentric coordinate of the hit point relative to the third vertex of the triangle. */
+  var v: Double = 0.0
+
+  /**
+   * Checks if this record contains a hit.
+   *
+   * @return True if a triangle was hit, otherwise false.
+   */
+  def isHit: Boolean = this.index >= 0
+
+  /**
+   * Resets this record so that it does not contain a hit and only hits closer than the given distance are accepted.
+   *
+   * @param maxDistance The maximum distance of a hit.
+   * @return This record.
+   */
+  def reset(maxDistance: Double): RayHit3d = {
+    this.index = -1
+    this.distance = maxDistance
+    this.u = 0.0
+    this.v = 0.0
+    this
+  }
+
+  /**
+   * Returns the barycentric coordinates of the hit point as a vector whose components are the weights of the first, the second, and the third vertex of the triangle.
+   *
+   * @return The barycentric coordinates of the hit point.
+   */
+  def barycentric: Vec3d = Vec3d(1.0 - this.u - this.v, this.u, this.v)
+
+  /**
+   * Returns a string representation of this hit record.
+   *
+   * @return A string representation of this hit record.
+   */
+  override def toString: String = s"RayHit3d(${this.index}, ${this.distance}, ${this.u}, ${this.v})"
+}
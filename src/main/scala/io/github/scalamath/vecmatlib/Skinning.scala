@@ -0,0 +1,341 @@
+package io.github.scalamath.vecmatlib
+
+/**
+ * Kernels that deform packed vertex buffers by a palette of bone transforms.
+ *
+ * Each vertex is influenced by up to [[Skinning.BonesPerVertex]] bones.
+ * The indices of the bones that influence vertex `i` and their weights are stored at indices `i * 4` to `i * 4 + 3` of the bone index and weight arrays.
+ * Vertices influenced by fewer bones must have the remaining weights set to zero.
+ * The weights of a vertex are expected to sum to one.
+ *
+ * Positions and normals are stored as packed arrays in the order `x, y, z`.
+ * Normals are optional: if the arrays of normals are `null`, only positions are skinned.
+ *
+ * Bones are given either as 3x4 matrices, used for linear blend skinning, or as unit dual quaternions, used for dual quaternion skinning.
+ * Dual quaternions take eight values per bone instead of twelve and preserve the volume of the mesh around joints that are twisted.
+ *
+ * All kernels only process the vertices in the given range and do not allocate, therefore different ranges can be skinned by different threads at the same time.
+ * [[ParallelKernels.linearBlendSkinning]] and [[ParallelKernels.dualQuaternionSkinning]] split the vertices into chunks and skin them in parallel.
+ */
+object Skinning {
+
+  /** The maximum number of bones that influence a vertex. */
+  val BonesPerVertex = 4
+
+  /**
+   * Writes the elements of the given matrices into a packed palette in row-major order.
+   *
+   * @param palette The bone matrices.
+   * @param dst The array in which the palette is stored. Must have a length of at least `palette.length * 12`.
+   * @return The given destination array.
+   */
+  def packPalette(palette: Array[Mat3x4f], dst: Array[Float]): Array[Float] = {
+    var i = 0
+    while(i < palette.length) {
+      val m = palette(i)
+      val p = i * 12
+      dst(p) = m.m00
+      dst(p + 1) = m.m01
+      dst(p + 2) = m.m02
+      dst(p + 3) = m.m03
+      dst(p + 4) = m.m10
+      dst(p + 5) = m.m11
+      dst(p + 6) = m.m12
+      dst(p + 7) = m.m13
+      dst(p + 8) = m.m20
+      dst(p + 9) = m.m21
+      dst(p + 10) = m.m22
+      dst(p + 11) = m.m23
+      i += 1
+    }
+    dst
+  }
+
+  /**
+   * Writes the components of the given dual quaternions into a packed palette.
+   * The components of each dual quaternion are stored in the order `real.w, real.x, real.y, real.z, dual.w, dual.x, dual.y, dual.z`.
+   *
+   * @param palette The bone transforms.
+   * @param dst The array in which the palette is stored. Must have a length of at least `palette.length * 8`.
+   * @return The given destination array.
+   */
+  def packPalette(palette: Array[DualQuatf], dst: Array[Float]): Array[Float] = {
+    var i = 0
+    while(i < palette.length) {
+      val d = palette(i)
+      val p = i * 8
+      dst(p) = d.real.w
+      dst(p + 1) = d.real.x
+      dst(p + 2) = d.real.y
+      dst(p + 3) = d.real.z
+      dst(p + 4) = d.dual.w
+      dst(p + 5) = d.dual.x
+      dst(p + 6) = d.dual.y
+      dst(p + 7) = d.dual.z
+      i += 1
+    }
+    dst
+  }
+
+  /**
+   * Deforms the given vertices with linear blend skinning using a packed palette of bone matrices.
+   *
+   * The matrices of the bones that influence a vertex are blended by their weights and the resulting matrix is used to transform the vertex.
+   * Skinned normals are transformed by the inverse transpose of the upper-left 3x3 part of the blended matrix, computed from its cofactors, and normalized.
+   *
+   * @param palette The array containing the 3x4 matrix of each bone in row-major order.
+   * @param positions The array containing the positions of the vertices in the bind pose.
+   * @param normals The array containing the normals of the vertices in the bind pose or `null` if normals should not be skinned.
+   * @param boneIndices The array containing the indices of the bones that influence each vertex.
+   * @param boneWeights The array containing the weights of the bones that influence each vertex.
+   * @param dstPositions The array in which the skinned positions are stored.
+   * @param dstNormals The array in which the skinned normals are stored or `null` if normals should not be skinned.
+   * @param offset The index of the first vertex to skin.
+   * @param count The number of vertices to skin.
+   */
+  def linearBlend(palette: Array[Float], positions: Array[Float], normals: Array[Float], boneIndices: Array[Int], boneWeights: Array[Float], dstPositions: Array[Float], dstNormals: Array[Float], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      var m00, m01, m02, m03, m10, m11, m12, m13, m20, m21, m22, m23 = 0.0f
+      var j = i * BonesPerVertex
+      while(j < (i + 1) * BonesPerVertex) {
+        val w = boneWeights(j)
+        if(w != 0.0f) {
+          val p = boneIndices(j) * 12
+          m00 += palette(p) * w
+          m01 += palette(p + 1) * w
+          m02 += palette(p + 2) * w
+          m03 += palette(p + 3) * w
+          m10 += palette(p + 4) * w
+          m11 += palette(p + 5) * w
+          m12 += palette(p + 6) * w
+          m13 += palette(p + 7) * w
+          m20 += palette(p + 8) * w
+          m21 += palette(p + 9) * w
+          m22 += palette(p + 10) * w
+          m23 += palette(p + 11) * w
+        }
+        j += 1
+      }
+      this.transform(m00, m01, m02, m03, m10, m11, m12, m13, m20, m21, m22, m23, positions, normals, dstPositions, dstNormals, i)
+      i += 1
+    }
+  }
+
+  /**
+   * Deforms the given vertices with linear blend skinning using the given bone matrices.
+   *
+   * The matrices of the bones that influence a vertex are blended by their weights and the resulting matrix is used to transform the vertex.
+   * Skinned normals are transformed by the inverse transpose of the upper-left 3x3 part of the blended matrix, computed from its cofactors, and normalized.
+   *
+   * @param palette The matrix of each bone.
+   * @param positions The array containing the positions of the vertices in the bind pose.
+   * @param normals The array containing the normals of the vertices in the bind pose or `null` if normals should not be skinned.
+   * @param boneIndices The array containing the indices of the bones that influence each vertex.
+   * @param boneWeights The array containing the weights of the bones that influence each vertex.
+   * @param dstPositions The array in which the skinned positions are stored.
+   * @param dstNormals The array in which the skinned normals are stored or `null` if normals should not be skinned.
+   * @param offset The index of the first vertex to skin.
+   * @param count The number of vertices to skin.
+   */
+  def linearBlend(palette: Array[Mat3x4f], positions: Array[Float], normals: Array[Float], boneIndices: Array[Int], boneWeights: Array[Float], dstPositions: Array[Float], dstNormals: Array[Float], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      var m00, m01, m02, m03, m10, m11, m12, m13, m20, m21, m22, m23 = 0.0f
+      var j = i * BonesPerVertex
+      while(j < (i + 1) * BonesPerVertex) {
+        val w = boneWeights(j)
+        if(w != 0.0f) {
+          val m = palette(boneIndices(j))
+          m00 += m.m00 * w
+          m01 += m.m01 * w
+          m02 += m.m02 * w
+          m03 += m.m03 * w
+          m10 += m.m10 * w
+          m11 += m.m11 * w
+          m12 += m.m12 * w
+          m13 += m.m13 * w
+          m20 += m.m20 * w
+          m21 += m.m21 * w
+          m22 += m.m22 * w
+          m23 += m.m23 * w
+        }
+        j += 1
+      }
+      this.transform(m00, m01, m02, m03, m10, m11, m12, m13, m20, m21, m22, m23, positions, normals, dstPositions, dstNormals, i)
+      i += 1
+    }
+  }
+
+  /**
+   * Deforms the given vertices with dual quaternion skinning using a packed palette of unit dual quaternions.
+   *
+   * The dual quaternions of the bones that influence a vertex are blended by their weights, taking the shortest path with respect to the first bone, and the normalized result is used to transform the vertex.
+   * Skinned normals are only rotated.
+   *
+   * @param palette The array containing the dual quaternion of each bone as eight consecutive values. See [[packPalette]] for the order of the values.
+   * @param positions The array containing the positions of the vertices in the bind pose.
+   * @param normals The array containing the normals of the vertices in the bind pose or `null` if normals should not be skinned.
+   * @param boneIndices The array containing the indices of the bones that influence each vertex.
+   * @param boneWeights The array containing the weights of the bones that influence each vertex.
+   * @param dstPositions The array in which the skinned positions are stored.
+   * @param dstNormals The array in which the skinned normals are stored or `null` if normals should not be skinned.
+   * @param offset The index of the first vertex to skin.
+   * @param count The number of vertices to skin.
+   * @see [[DualQuatf.blend]]
+   */
+  def dualQuaternion(palette: Array[Float], positions: Array[Float], normals: Array[Float], boneIndices: Array[Int], boneWeights: Array[Float], dstPositions: Array[Float], dstNormals: Array[Float], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      var rw, rx, ry, rz, dw, dx, dy, dz = 0.0f
+      val pivot = boneIndices(i * BonesPerVertex) * 8
+      var j = i * BonesPerVertex
+      while(j < (i + 1) * BonesPerVertex) {
+        var w = boneWeights(j)
+        if(w != 0.0f) {
+          val p = boneIndices(j) * 8
+          // Flip bones in the opposite hemisphere of the first one to blend along the shortest path
+          if(palette(p) * palette(pivot) + palette(p + 1) * palette(pivot + 1) + palette(p + 2) * palette(pivot + 2) + palette(p + 3) * palette(pivot + 3) < 0.0f) {
+            w = -w
+          }
+          rw += palette(p) * w
+          rx += palette(p + 1) * w
+          ry += palette(p + 2) * w
+          rz += palette(p + 3) * w
+          dw += palette(p + 4) * w
+          dx += palette(p + 5) * w
+          dy += palette(p + 6) * w
+          dz += palette(p + 7) * w
+        }
+        j += 1
+      }
+      this.transform(rw, rx, ry, rz, dw, dx, dy, dz, positions, normals, dstPositions, dstNormals, i)
+      i += 1
+    }
+  }
+
+  /**
+   * Deforms the given vertices with dual quaternion skinning using the given unit dual quaternions.
+   *
+   * The dual quaternions of the bones that influence a vertex are blended by their weights, taking the shortest path with respect to the first bone, and the normalized result is used to transform the vertex.
+   * Skinned normals are only rotated.
+   *
+   * @param palette The unit dual quaternion of each bone.
+   * @param positions The array containing the positions of the vertices in the bind pose.
+   * @param normals The array containing the normals of the vertices in the bind pose or `null` if normals should not be skinned.
+   * @param boneIndices The array containing the indices of the bones that influence each vertex.
+   * @param boneWeights The array containing the weights of the bones that influence each vertex.
+   * @param dstPositions The array in which the skinned positions are stored.
+   * @param dstNormals The array in which the skinned normals are stored or `null` if normals should not be skinned.
+   * @param offset The index of the first vertex to skin.
+   * @param count The number of vertices to skin.
+   * @see [[DualQuatf.blend]]
+   */
+  def dualQuaternion(palette: Array[DualQuatf], positions: Array[Float], normals: Array[Float], boneIndices: Array[Int], boneWeights: Array[Float], dstPositions: Array[Float], dstNormals: Array[Float], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      var rw, rx, ry, rz, dw, dx, dy, dz = 0.0f
+      val pivot = palette(boneIndices(i * BonesPerVertex)).real
+      var j = i * BonesPerVertex
+      while(j < (i + 1) * BonesPerVertex) {
+        var w = boneWeights(j)
+        if(w != 0.0f) {
+          val d = palette(boneIndices(j))
+          // Flip bones in the opposite hemisphere of the first one to blend along the shortest path
+          if(pivot.dot(d.real) < 0.0f) {
+            w = -w
+          }
+          rw += d.real.w * w
+          rx += d.real.x * w
+          ry += d.real.y * w
+          rz += d.real.z * w
+          dw += d.dual.w * w
+          dx += d.dual.x * w
+          dy += d.dual.y * w
+          dz += d.dual.z * w
+        }
+        j += 1
+      }
+      this.transform(rw, rx, ry, rz, dw, dx, dy, dz, positions, normals, dstPositions, dstNormals, i)
+      i += 1
+    }
+  }
+
+  private def transform(
+                         rw: Float, rx: Float, ry: Float, rz: Float,
+                         dw: Float, dx: Float, dy: Float, dz: Float,
+                         positions: Array[Float], normals: Array[Float], dstPositions: Array[Float], dstNormals: Array[Float], i: Int
+                       ): Unit = {
+    val lengthSquared = rw * rw + rx * rx + ry * ry + rz * rz
+    val k = if(lengthSquared > 0.0f) 1.0f / math.sqrt(lengthSquared).toFloat else 0.0f
+    val qw = rw * k
+    val qx = rx * k
+    val qy = ry * k
+    val qz = rz * k
+    // Translation of the blended dual quaternion, computed as 2 * dual * conjugate(real) / |real|^2
+    val k2 = 2.0f * k * k
+    val tx = (rw * dx - dw * rx + ry * dz - rz * dy) * k2
+    val ty = (rw * dy - dw * ry + rz * dx - rx * dz) * k2
+    val tz = (rw * dz - dw * rz + rx * dy - ry * dx) * k2
+    val v = i * 3
+    val x = positions(v)
+    val y = positions(v + 1)
+    val z = positions(v + 2)
+    val ux = 2.0f * (qy * z - qz * y)
+    val uy = 2.0f * (qz * x - qx * z)
+    val uz = 2.0f * (qx * y - qy * x)
+    dstPositions(v) = x + qw * ux + qy * uz - qz * uy + tx
+    dstPositions(v + 1) = y + qw * uy + qz * ux - qx * uz + ty
+    dstPositions(v + 2) = z + qw * uz + qx * uy - qy * ux + tz
+    if(normals != null && dstNormals != null) {
+      val nx = normals(v)
+      val ny = normals(v + 1)
+      val nz = normals(v + 2)
+      val wx = 2.0f * (qy * nz - qz * ny)
+      val wy = 2.0f * (qz * nx - qx * nz)
+      val wz = 2.0f * (qx * ny - qy * nx)
+      dstNormals(v) = nx + qw * wx + qy * wz - qz * wy
+      dstNormals(v + 1) = ny + qw * wy + qz * wx - qx * wz
+      dstNormals(v + 2) = nz + qw * wz + qx * wy - qy * wx
+    }
+  }
+
+  private def transform(
+                         m00: Float, m01: Float, m02: Float, m03: Float,
+                         m10: Float, m11: Float, m12: Float, m13: Float,
+                         m20: Float, m21: Float, m22: Float, m23: Float,
+                         positions: Array[Float], normals: Array[Float], dstPositions: Array[Float], dstNormals: Array[Float], i: Int
+                       ): Unit = {
+    val v = i * 3
+    val x = positions(v)
+    val y = positions(v + 1)
+    val z = positions(v + 2)
+    dstPositions(v) = m00 * x + m01 * y + m02 * z + m03
+    dstPositions(v + 1) = m10 * x + m11 * y + m12 * z + m13
+    dstPositions(v + 2) = m20 * x + m21 * y + m22 * z + m23
+    if(normals != null && dstNormals != null) {
+      val nx = normals(v)
+      val ny = normals(v + 1)
+      val nz = normals(v + 2)
+      val c00 = m11 * m22 - m12 * m21
+      val c01 = m12 * m20 - m10 * m22
+      val c02 = m10 * m21 - m11 * m20
+      val c10 = m02 * m21 - m01 * m22
+      val c11 = m00 * m22 - m02 * m20
+      val c12 = m01 * m20 - m00 * m21
+      val c20 = m01 * m12 - m02 * m11
+      val c21 = m02 * m10 - m00 * m12
+      val c22 = m00 * m11 - m01 * m10
+      val sx = c00 * nx + c01 * ny + c02 * nz
+      val sy = c10 * nx + c11 * ny + c12 * nz
+      val sz = c20 * nx + c21 * ny + c22 * nz
+      val lengthSquared = sx * sx + sy * sy + sz * sz
+      // The cofactor matrix is the inverse transpose scaled by the determinant, so the sign of the determinant is restored
+      val sign = if(m00 * c00 + m01 * c01 + m02 * c02 < 0.0f) -1.0f else 1.0f
+      val k = if(lengthSquared > 0.0f) sign / math.sqrt(lengthSquared).toFloat else 0.0f
+      dstNormals(v) = sx * k
+      dstNormals(v + 1) = sy * k
+      dstNormals(v + 2) = sz * k
+    }
+  }
+}
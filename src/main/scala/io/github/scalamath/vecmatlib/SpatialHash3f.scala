@@ -0,0 +1,353 @@
+package io.github.scalamath.vecmatlib
+
+import java.util.function.IntConsumer
+
+/**
+ * A uniform grid that divides the 3D space into cubic cells to find the objects close to a given point.
+ *
+ * Objects are identified by non-negative integer ids chosen by the caller and are stored in the cell that contains their position.
+ * Cells are stored in an open-addressing hash table whose keys are the coordinates of the cell packed into a long.
+ * The objects in a cell form a linked list stored in arrays indexed by the id of the object.
+ * Therefore, inserting, removing, moving, and querying objects does not allocate any objects, except when the internal arrays need to grow.
+ * Since arrays are indexed by the ids of the objects, ids should be small and dense.
+ *
+ * The coordinates of the cells must be in the range `[-2^20, 2^20)` on each axis.
+ *
+ * This class is not thread-safe.
+ *
+ * @constructor Constructs an empty spatial hash with the given cell size.
+ * @param cellSize The size of the cells. Queries are fastest if the cell size is similar to the radius of a typical query.
+ */
+class SpatialHash3f(val cellSize: Float) {
+  require(cellSize > 0.0f, "The cell size must be greater than zero")
+
+  private val inverseCellSize = 1.0f / cellSize
+
+  private var keys = Array.fill(16)(SpatialHash3f.EmptyKey)
+  private var heads = new Array[Int](16)
+  private var cellCount = 0
+
+  private var present = new Array[Boolean](16)
+  private var positions = new Array[Float](16 * 3)
+  private var cells = new Array[Long](16)
+  private var next = new Array[Int](16)
+  private var prev = new Array[Int](16)
+  private var count = 0
+
+  /**
+   * Returns the number of objects in this spatial hash.
+   *
+   * @return The number of objects in this spatial hash.
+   */
+  def size: Int = this.count
+
+  /**
+   * Checks if the object with the given id is in this spatial hash.
+   *
+   * @param id The id of the object.
+   * @return True if the object with the given id is in this spatial hash, otherwise false.
+   */
+  def contains(id: Int): Boolean = id >= 0 && id < this.present.length && this.present(id)
+
+  /**
+   * Returns the coordinates of the cell containing the given point.
+   *
+   * @param x The x coordinate of the point.
+   * @param y The y coordinate of the point.
+   * @param z The z coordinate of the point.
+   * @return The coordinates of the cell containing the given point.
+   */
+  def cellOf(x: Float, y: Float, z: Float): Vec3i = Vec3i(this.cellCoordinate(x), this.cellCoordinate(y), this.cellCoordinate(z))
+
+  /**
+   * Returns the coordinates of the cell containing the given point.
+   *
+   * @param p The point.
+   * @return The coordinates of the cell containing the given point.
+   */
+  def cellOf(p: Vec3f): Vec3i = this.cellOf(p.x, p.y, p.z)
+
+  /**
+   * Returns the position of the object with the given id.
+   *
+   * @param id The id of the object.
+   * @return The position of the object with the given id.
+   * @throws NoSuchElementException If the object is not in this spatial hash.
+   */
+  def position(id: Int): Vec3f = {
+    this.checkContains(id)
+    Vec3f(this.positions(id * 3), this.positions(id * 3 + 1), this.positions(id * 3 + 2))
+  }
+
+  /**
+   * Inserts an object in this spatial hash.
+   *
+   * @param id The id of the object. Must not be negative.
+   * @param x The x coordinate of the position of the object.
+   * @param y The y coordinate of the position of the object.
+   * @param z The z coordinate of the position of the object.
+   * @throws IllegalArgumentException If the id is negative or if an object with the same id is already in this spatial hash.
+   */
+  def insert(id: Int, x: Float, y: Float, z: Float): Unit = {
+    require(id >= 0, "The id must not be negative")
+    require(!this.contains(id), s"Object $id is already in the spatial hash")
+    if(id >= this.present.length) {
+      this.growObjects(id)
+    }
+    this.present(id) = true
+    this.setPosition(id, x, y, z)
+    this.link(id, SpatialHash3f.key(this.cellCoordinate(x), this.cellCoordinate(y), this.cellCoordinate(z)))
+    this.count += 1
+  }
+
+  /**
+   * Inserts an object in this spatial hash.
+   *
+   * @param id The id of the object. Must not be negative.
+   * @param p The position of the object.
+   * @throws IllegalArgumentException If the id is negative or if an object with the same id is already in this spatial hash.
+   */
+  def insert(id: Int, p: Vec3f): Unit = this.insert(id, p.x, p.y, p.z)
+
+  /**
+   * Removes an object from this spatial hash.
+   *
+   * @param id The id of the object.
+   * @return True if the object was removed, false if it was not in this spatial hash.
+   */
+  def remove(id: Int): Boolean = {
+    if(this.contains(id)) {
+      this.unlink(id)
+      this.present(id) = false
+      this.count -= 1
+      true
+    } else {
+      false
+    }
+  }
+
+  /**
+   * Changes the position of an object in this spatial hash.
+   *
+   * @param id The id of the object.
+   * @param x The x coordinate of the new position of the object.
+   * @param y The y coordinate of the new position of the object.
+   * @param z The z coordinate of the new position of the object.
+   * @throws NoSuchElementException If the object is not in this spatial hash.
+   */
+  def move(id: Int, x: Float, y: Float, z: Float): Unit = {
+    this.checkContains(id)
+    this.setPosition(id, x, y, z)
+    val key = SpatialHash3f.key(this.cellCoordinate(x), this.cellCoordinate(y), this.cellCoordinate(z))
+    if(key != this.cells(id)) {
+      this.unlink(id)
+      this.link(id, key)
+    }
+  }
+
+  /**
+   * Changes the position of an object in this spatial hash.
+   *
+   * @param id The id of the object.
+   * @param p The new position of the object.
+   * @throws NoSuchElementException If the object is not in this spatial hash.
+   */
+  def move(id: Int, p: Vec3f): Unit = this.move(id, p.x, p.y, p.z)
+
+  /**
+   * Removes all objects from this spatial hash.
+   */
+  def clear(): Unit = {
+    java.util.Arrays.fill(this.keys, SpatialHash3f.EmptyKey)
+    java.util.Arrays.fill(this.present, false)
+    this.cellCount = 0
+    this.count = 0
+  }
+
+  /**
+   * Finds all the objects whose distance from the given point is less than or equal to the given radius.
+   *
+   * The given action must not modify this spatial hash.
+   *
+   * @param x The x coordinate of the center of the query.
+   * @param y The y coordinate of the center of the query.
+   * @param z The z coordinate of the center of the query.
+   * @param radius The radius of the query.
+   * @param action The action invoked with the id of each object within the given radius, in no particular order.
+   */
+  def queryRadius(x: Float, y: Float, z: Float, radius: Float, action: IntConsumer): Unit = {
+    val radiusSquared = radius * radius
+    val minX = this.cellCoordinate(x - radius)
+    val minY = this.cellCoordinate(y - radius)
+    val minZ = this.cellCoordinate(z - radius)
+    val maxX = this.cellCoordinate(x + radius)
+    val maxY = this.cellCoordinate(y + radius)
+    val maxZ = this.cellCoordinate(z + radius)
+    var cx = minX
+    while(cx <= maxX) {
+      var cy = minY
+      while(cy <= maxY) {
+        var cz = minZ
+        while(cz <= maxZ) {
+          val slot = this.findSlot(SpatialHash3f.key(cx, cy, cz))
+          if(this.keys(slot) != SpatialHash3f.EmptyKey) {
+            var id = this.heads(slot)
+            while(id >= 0) {
+              val dx = this.positions(id * 3) - x
+              val dy = this.positions(id * 3 + 1) - y
+              val dz = this.positions(id * 3 + 2) - z
+              if(dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                action.accept(id)
+              }
+              id = this.next(id)
+            }
+          }
+          cz += 1
+        }
+        cy += 1
+      }
+      cx += 1
+    }
+  }
+
+  /**
+   * Finds all the objects whose distance from the given point is less than or equal to the given radius.
+   *
+   * The given action must not modify this spatial hash.
+   *
+   * @param center The center of the query.
+   * @param radius The radius of the query.
+   * @param action The action invoked with the id of each object within the given radius, in no particular order.
+   */
+  def queryRadius(center: Vec3f, radius: Float, action: IntConsumer): Unit = this.queryRadius(center.x, center.y, center.z, radius, action)
+
+  /**
+   * Finds all the objects in the given cell.
+   *
+   * The given action must not modify this spatial hash.
+   *
+   * @param cell The coordinates of the cell.
+   * @param action The action invoked with the id of each object in the given cell, in no particular order.
+   */
+  def queryCell(cell: Vec3i, action: IntConsumer): Unit = {
+    val slot = this.findSlot(SpatialHash3f.key(cell.x, cell.y, cell.z))
+    if(this.keys(slot) != SpatialHash3f.EmptyKey) {
+      var id = this.heads(slot)
+      while(id >= 0) {
+        action.accept(id)
+        id = this.next(id)
+      }
+    }
+  }
+
+  private def cellCoordinate(x: Float): Int = math.floor(x * this.inverseCellSize).toInt
+
+  private def checkContains(id: Int): Unit = {
+    if(!this.contains(id)) {
+      throw new NoSuchElementException(s"Object $id is not in the spatial hash")
+    }
+  }
+
+  private def setPosition(id: Int, x: Float, y: Float, z: Float): Unit = {
+    this.positions(id * 3) = x
+    this.positions(id * 3 + 1) = y
+    this.positions(id * 3 + 2) = z
+  }
+
+  private def growObjects(id: Int): Unit = {
+    val capacity = math.max(id + 1, this.present.length * 2)
+    this.present = java.util.Arrays.copyOf(this.present, capacity)
+    this.positions = java.util.Arrays.copyOf(this.positions, capacity * 3)
+    this.cells = java.util.Arrays.copyOf(this.cells, capacity)
+    this.next = java.util.Arrays.copyOf(this.next, capacity)
+    this.prev = java.util.Arrays.copyOf(this.prev, capacity)
+  }
+
+  private def findSlot(key: Long): Int = {
+    val mask = this.keys.length - 1
+    var slot = SpatialHash3f.hash(key) & mask
+    while(this.keys(slot) != key && this.keys(slot) != SpatialHash3f.EmptyKey) {
+      slot = (slot + 1) & mask
+    }
+    slot
+  }
+
+  private def link(id: Int, key: Long): Unit = {
+    var slot = this.findSlot(key)
+    if(this.keys(slot) == SpatialHash3f.EmptyKey) {
+      // Cells are never removed from the table when they become empty, they are dropped when the table is resized
+      if((this.cellCount + 1) * 2 > this.keys.length) {
+        this.rehash()
+        slot = this.findSlot(key)
+      }
+      this.keys(slot) = key
+      this.heads(slot) = -1
+      this.cellCount += 1
+    }
+    val head = this.heads(slot)
+    this.cells(id) = key
+    this.next(id) = head
+    this.prev(id) = -1
+    if(head >= 0) {
+      this.prev(head) = id
+    }
+    this.heads(slot) = id
+  }
+
+  private def unlink(id: Int): Unit = {
+    val prev = this.prev(id)
+    val next = this.next(id)
+    if(prev >= 0) {
+      this.next(prev) = next
+    } else {
+      this.heads(this.findSlot(this.cells(id))) = next
+    }
+    if(next >= 0) {
+      this.prev(next) = prev
+    }
+  }
+
+  private def rehash(): Unit = {
+    val oldKeys = this.keys
+    val oldHeads = this.heads
+    var occupied = 0
+    var i = 0
+    while(i < oldKeys.length) {
+      if(oldKeys(i) != SpatialHash3f.EmptyKey && oldHeads(i) >= 0) {
+        occupied += 1
+      }
+      i += 1
+    }
+    // Keep the load factor below 1/4 after resizing so that the table does not need to be resized again soon
+    var capacity = 16
+    while(capacity < (occupied + 1) * 4) {
+      capacity *= 2
+    }
+    this.keys = Array.fill(capacity)(SpatialHash3f.EmptyKey)
+    this.heads = new Array[Int](capacity)
+    this.cellCount = 0
+    i = 0
+    while(i < oldKeys.length) {
+      if(oldKeys(i) != SpatialHash3f.EmptyKey && oldHeads(i) >= 0) {
+        val slot = this.findSlot(oldKeys(i))
+        this.keys(slot) = oldKeys(i)
+        this.heads(slot) = oldHeads(i)
+        this.cellCount += 1
+      }
+      i += 1
+    }
+  }
+}
+
+private object SpatialHash3f {
+
+  /** Key of empty slots. Cannot be the key of any cell since packed keys only use the lower 63 bits. */
+  val EmptyKey: Long = -1L
+
+  def key(x: Int, y: Int, z: Int): Long = ((x & 0x1FFFFFL) << 42) | ((y & 0x1FFFFFL) << 21) | (z & 0x1FFFFFL)
+
+  def hash(key: Long): Int = {
+    val h = key * 0x9E3779B97F4A7C15L
+    (h ^ (h >>> 32)).toInt
+  }
+}
@@ -0,0 +1,116 @@
+package io.github.scalamath.vecmatlib
+
+import io.github.scalamath.FloatEqualsApprox
+
+/**
+ * A sphere in a 3D space defined by its center and its radius using single precision.
+ *
+ * @constructor Constructs a sphere from its center and its radius.
+ * @param center The center of the sphere.
+ * @param radius The radius of the sphere.
+ */
+case class Sphere3f(center: Vec3f, radius: Float) {
+
+  /**
+   * Constructs a sphere from the components of its center and its radius.
+   *
+   * @param x The x coordinate of the center.
+   * @param y The y coordinate of the center.
+   * @param z The z coordinate of the center.
+   * @param radius The radius of the sphere.
+   */
+  def this(x: Float, y: Float, z: Float, radius: Float) = this(Vec3f(x, y, z), radius)
+
+  /**
+   * Checks if the given point is inside this sphere or on its surface.
+   *
+   * @param p The point.
+   * @return True if the given point is inside this sphere, otherwise false.
+   */
+  def contains(p: Vec3f): Boolean = this.center.distanceSquaredTo(p) <= this.radius * this.radius
+
+  /**
+   * Checks if the given sphere is entirely inside this sphere.
+   *
+   * @param s The second sphere.
+   * @return True if the given sphere is inside this sphere, otherwise false.
+   */
+  def contains(s: Sphere3f): Boolean = this.center.distanceTo(s.center) + s.radius <= this.radius
+
+  /**
+   * Checks if this sphere and the given one overlap.
+   *
+   * @param s The second sphere.
+   * @return True if this sphere and the given one overlap, otherwise false.
+   */
+  def intersects(s: Sphere3f): Boolean = {
+    val r = this.radius + s.radius
+    this.center.distanceSquaredTo(s.center) <= r * r
+  }
+
+  /**
+   * Checks if this sphere and the given box overlap.
+   *
+   * @param b The box.
+   * @return True if this sphere and the given box overlap, otherwise false.
+   */
+  def intersects(b: Aabb3f): Boolean = b.distanceSquaredTo(this.center) <= this.radius * this.radius
+
+  /**
+   * Returns the smallest sphere that contains both this sphere and the given one.
+   *
+   * @param s The second sphere.
+   * @return The smallest sphere that contains both this sphere and the given one.
+   */
+  def union(s: Sphere3f): Sphere3f = {
+    val d = this.center.distanceTo(s.center)
+    if(d + s.radius <= this.radius) {
+      this
+    } else if(d + this.radius <= s.radius) {
+      s
+    } else {
+      val r = (d + this.radius + s.radius) / 2.0f
+      Sphere3f(this.center + (s.center - this.center) * ((r - this.radius) / d), r)
+    }
+  }
+
+  /**
+   * Returns the smallest sphere that contains this sphere transformed by the given matrix.
+   *
+   * If the matrix contains a non-uniform scaling, the radius is scaled by the largest scale factor.
+   *
+   * @param m The transformation matrix.
+   * @return The bounding sphere of this sphere transformed by the given matrix.
+   */
+  def transform(m: Mat3x4f): Sphere3f = {
+    val sx = m.m00 * m.m00 + m.m10 * m.m10 + m.m20 * m.m20
+    val sy = m.m01 * m.m01 + m.m11 * m.m11 + m.m21 * m.m21
+    val sz = m.m02 * m.m02 + m.m12 * m.m12 + m.m22 * m.m22
+    Sphere3f(m * (this.center, 1.0f), this.radius * math.sqrt(math.max(sx, math.max(sy, sz))).toFloat)
+  }
+
+  /**
+   * Returns the smallest axis-aligned box that contains this sphere.
+   *
+   * @return The smallest axis-aligned box that contains this sphere.
+   */
+  def boundingBox: Aabb3f = Aabb3f(this.center - (this.radius, this.radius, this.radius), this.center + (this.radius, this.radius, this.radius))
+
+  /**
+   * Checks if this sphere is approximately equal to the given one using an internal epsilon.
+   *
+   * @param s The second sphere.
+   * @return True if the center and the radius of this sphere are approximately equal to the ones of the given sphere, otherwise false.
+   */
+  def ~=(s: Sphere3f): Boolean = (this.center ~= s.center) && (this.radius ~= s.radius)
+
+  /**
+   * Checks if this sphere is approximately equal to the given one using an internal epsilon.
+   *
+   * This method can be used in place of the `~=` operator for better interoperability with Java.
+   *
+   * @param s The second sphere.
+   * @return True if the center and the radius of this sphere are approximately equal to the ones of the given sphere, otherwise false.
+   */
+  def equalsApprox(s: Sphere3f): Boolean = this ~= s
+}
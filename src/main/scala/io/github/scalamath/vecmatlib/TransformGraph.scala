@@ -0,0 +1,363 @@
+package io.github.scalamath.vecmatlib
+
+import java.util.Objects
+
+/**
+ * A hierarchy of transforms whose world matrices are updated incrementally.
+ *
+ * Each node of the graph has a local transform expressed as a translation, a rotation, and a scale, and a world matrix equal to the world matrix of its parent multiplied by its local transform.
+ * The local transform is applied in the order scale, rotation, translation.
+ *
+ * Nodes are identified by their index and are stored in flat arrays in the order in which they are added.
+ * Since a node can only be added after its parent, parents always come before their children and all world matrices can be updated with a single linear pass.
+ *
+ * Changing the local transform of a node marks it as dirty.
+ * The world matrices are only recomputed when [[update]] is called and only for the nodes that are dirty or that have a dirty ancestor.
+ *
+ * @constructor Constructs an empty transform graph with the given initial capacity.
+ * @param initialCapacity The number of nodes for which space is allocated initially. The graph grows automatically when more nodes are added.
+ */
+class TransformGraph(initialCapacity: Int) {
+  require(initialCapacity > 0, "The initial capacity must be greater than zero")
+
+  /**
+   * Constructs an empty transform graph with the default initial capacity.
+   */
+  def this() = this(16)
+
+  private var count = 0
+  private var parents = new Array[Int](initialCapacity)
+  private var translations = new Array[Float](initialCapacity * 3)
+  private var rotations = new Array[Float](initialCapacity * 4)
+  private var scales = new Array[Float](initialCapacity * 3)
+  private var worlds = new Array[Float](initialCapacity * 12)
+  private var dirty = new Array[Boolean](initialCapacity)
+  private var changed = new Array[Boolean](initialCapacity)
+  private var anyDirty = false
+
+  /**
+   * Returns the number of nodes in this graph.
+   *
+   * @return The number of nodes in this graph.
+   */
+  def size: Int = this.count
+
+  /**
+   * Adds a node with an identity local transform to this graph.
+   *
+   * @param parent The index of the parent node or [[TransformGraph.NoParent]] if the node is a root.
+   * @return The index of the new node.
+   * @throws IllegalArgumentException If the given parent is not a node in this graph.
+   */
+  def addNode(parent: Int): Int = this.addNode(parent, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f)
+
+  /**
+   * Adds a node with the given local transform to this graph.
+   *
+   * @param parent The index of the parent node or [[TransformGraph.NoParent]] if the node is a root.
+   * @param translation The local translation of the node.
+   * @param rotation The local rotation of the node.
+   * @param scale The local scale of the node.
+   * @return The index of the new node.
+   * @throws IllegalArgumentException If the given parent is not a node in this graph.
+   */
+  def addNode(parent: Int, translation: Vec3f, rotation: Quatf, scale: Vec3f): Int = {
+    this.addNode(parent, translation.x, translation.y, translation.z, rotation.w, rotation.x, rotation.y, rotation.z, scale.x, scale.y, scale.z)
+  }
+
+  private def addNode(parent: Int, tx: Float, ty: Float, tz: Float, rw: Float, rx: Float, ry: Float, rz: Float, sx: Float, sy: Float, sz: Float): Int = {
+    require(parent >= TransformGraph.NoParent && parent < this.count, s"Node $parent is not in the graph")
+    if(this.count == this.parents.length) {
+      this.grow()
+    }
+    val node = this.count
+    this.count += 1
+    this.parents(node) = parent
+    this.setTranslation(node, tx, ty, tz)
+    this.setRotation(node, rw, rx, ry, rz)
+    this.setScale(node, sx, sy, sz)
+    node
+  }
+
+  private def grow(): Unit = {
+    val capacity = this.parents.length * 2
+    this.parents = java.util.Arrays.copyOf(this.parents, capacity)
+    this.translations = java.util.Arrays.copyOf(this.translations, capacity * 3)
+    this.rotations = java.util.Arrays.copyOf(this.rotations, capacity * 4)
+    this.scales = java.util.Arrays.copyOf(this.scales, capacity * 3)
+    this.worlds = java.util.Arrays.copyOf(this.worlds, capacity * 12)
+    this.dirty = java.util.Arrays.copyOf(this.dirty, capacity)
+    this.changed = java.util.Arrays.copyOf(this.changed, capacity)
+  }
+
+  private def markDirty(node: Int): Unit = {
+    this.dirty(node) = true
+    this.anyDirty = true
+  }
+
+  /**
+   * Returns the index of the parent of the given node.
+   *
+   * @param node The index of the node.
+   * @return The index of the parent of the given node or [[TransformGraph.NoParent]] if the node is a root.
+   * @throws IndexOutOfBoundsException If the given node is not in this graph.
+   */
+  def parent(node: Int): Int = this.parents(Objects.checkIndex(node, this.count))
+
+  /**
+   * Sets the local translation of the given node and marks it as dirty.
+   *
+   * @param node The index of the node.
+   * @param x The x component of the translation.
+   * @param y The y component of the translation.
+   * @param z The z component of the translation.
+   * @throws IndexOutOfBoundsException If the given node is not in this graph.
+   */
+  def setTranslation(node: Int, x: Float, y: Float, z: Float): Unit = {
+    val i = Objects.checkIndex(node, this.count) * 3
+    this.translations(i) = x
+    this.translations(i + 1) = y
+    this.translations(i + 2) = z
+    this.markDirty(node)
+  }
+
+  /**
+   * Sets the local translation of the given node and marks it as dirty.
+   *
+   * @param node The index of the node.
+   * @param t The translation.
+   * @throws IndexOutOfBoundsException If the given node is not in this graph.
+   */
+  def setTranslation(node: Int, t: Vec3f): Unit = this.setTranslation(node, t.x, t.y, t.z)
+
+  /**
+   * Sets the local rotation of the given node and marks it as dirty.
+   *
+   * @param node The index of the node.
+   * @param w The real part of the rotation quaternion.
+   * @param x The first component of the imaginary part of the rotation quaternion.
+   * @param y The second component of the imaginary part of the rotation quaternion.
+   * @param z The third component of the imaginary part of the rotation quaternion.
+   * @throws IndexOutOfBoundsException If the given node is not in this graph.
+   */
+  def setRotation(node: Int, w: Float, x: Float, y: Float, z: Float): Unit = {
+    val i = Objects.checkIndex(node, this.count) * 4
+    this.rotations(i) = w
+    this.rotations(i + 1) = x
+    this.rotations(i + 2) = y
+    this.rotations(i + 3) = z
+    this.markDirty(node)
+  }
+
+  /**
+   * Sets the local rotation of the given node and marks it as dirty.
+   *
+   * @param node The index of the node.
+   * @param q The rotation quaternion. Must be a non-zero quaternion.
+   * @throws IndexOutOfBoundsException If the given node is not in this graph.
+   */
+  def setRotation(node: Int, q: Quatf): Unit = this.setRotation(node, q.w, q.x, q.y, q.z)
+
+  /**
+   * Sets the local scale of the given node and marks it as dirty.
+   *
+   * @param node The index of the node.
+   * @param x Scale factor on the x axis.
+   * @param y Scale factor on the y axis.
+   * @param z Scale factor on the z axis.
+   * @throws IndexOutOfBoundsException If the given node is not in this graph.
+   */
+  def setScale(node: Int, x: Float, y: Float, z: Float): Unit = {
+    val i = Objects.checkIndex(node, this.count) * 3
+    this.scales(i) = x
+    this.scales(i + 1) = y
+    this.scales(i + 2) = z
+    this.markDirty(node)
+  }
+
+  /**
+   * Sets the local scale of the given node and marks it as dirty.
+   *
+   * @param node The index of the node.
+   * @param s The scale factor.
+   * @throws IndexOutOfBoundsException If the given node is not in this graph.
+   */
+  def setScale(node: Int, s: Vec3f): Unit = this.setScale(node, s.x, s.y, s.z)
+
+  /**
+   * Returns the local translation of the given node.
+   *
+   * @param node The index of the node.
+   * @return The local translation of the given node.
+   * @throws IndexOutOfBoundsException If the given node is not in this graph.
+   */
+  def translation(node: Int): Vec3f = {
+    val i = Objects.checkIndex(node, this.count) * 3
+    Vec3f(this.translations(i), this.translations(i + 1), this.translations(i + 2))
+  }
+
+  /**
+   * Returns the local rotation of the given node.
+   *
+   * @param node The index of the node.
+   * @return The local rotation of the given node.
+   * @throws IndexOutOfBoundsException If the given node is not in this graph.
+   */
+  def rotation(node: Int): Quatf = {
+    val i = Objects.checkIndex(node, this.count) * 4
+    Quatf(this.rotations(i), this.rotations(i + 1), this.rotations(i + 2), this.rotations(i + 3))
+  }
+
+  /**
+   * Returns the local scale of the given node.
+   *
+   * @param node The index of the node.
+   * @return The local scale of the given node.
+   * @throws IndexOutOfBoundsException If the given node is not in this graph.
+   */
+  def scale(node: Int): Vec3f = {
+    val i = Objects.checkIndex(node, this.count) * 3
+    Vec3f(this.scales(i), this.scales(i + 1), this.scales(i + 2))
+  }
+
+  /**
+   * Returns the local transform of the given node as a matrix.
+   *
+   * @param node The index of the node.
+   * @return The local transform of the given node.
+   * @throws IndexOutOfBoundsException If the given node is not in this graph.
+   */
+  def localMatrix(node: Int): Mat3x4f = {
+    Mat3x4f.translation(this.translation(node)) * Mat4f.rotation(this.rotation(node)) * Mat4f.scaling(this.scale(node))
+  }
+
+  /**
+   * Checks if the local transform of the given node has changed since the last call to [[update]].
+   *
+   * @param node The index of the node.
+   * @return True if the given node is dirty, otherwise false.
+   * @throws IndexOutOfBoundsException If the given node is not in this graph.
+   */
+  def isDirty(node: Int): Boolean = this.dirty(Objects.checkIndex(node, this.count))
+
+  /**
+   * Returns the world matrix of the given node as computed by the last call to [[update]].
+   *
+   * @param node The index of the node.
+   * @return The world matrix of the given node.
+   * @throws IndexOutOfBoundsException If the given node is not in this graph.
+   */
+  def worldMatrix(node: Int): Mat3x4f = {
+    val i = Objects.checkIndex(node, this.count) * 12
+    Mat3x4f(
+      this.worlds(i), this.worlds(i + 1), this.worlds(i + 2), this.worlds(i + 3),
+      this.worlds(i + 4), this.worlds(i + 5), this.worlds(i + 6), this.worlds(i + 7),
+      this.worlds(i + 8), this.worlds(i + 9), this.worlds(i + 10), this.worlds(i + 11)
+    )
+  }
+
+  /**
+   * Copies the world matrices of all nodes into the given array in row-major order.
+   *
+   * @param dst The destination array. Must have space for 12 values for each node after the given offset.
+   * @param offset The index in the destination array at which the first matrix is written.
+   */
+  def copyWorldMatrices(dst: Array[Float], offset: Int): Unit = {
+    System.arraycopy(this.worlds, 0, dst, offset, this.count * 12)
+  }
+
+  /**
+   * Recomputes the world matrices of all the nodes that are dirty and of their descendants.
+   *
+   * The update is done in a single pass over the nodes and does not allocate any objects.
+   *
+   * @return The number of nodes whose world matrix was recomputed.
+   */
+  def update(): Int = {
+    if(!this.anyDirty) {
+      return 0
+    }
+    var updated = 0
+    var node = 0
+    while(node < this.count) {
+      val parent = this.parents(node)
+      if(this.dirty(node) || (parent != TransformGraph.NoParent && this.changed(parent))) {
+        this.computeWorld(node, parent)
+        this.dirty(node) = false
+        this.changed(node) = true
+        updated += 1
+      } else {
+        this.changed(node) = false
+      }
+      node += 1
+    }
+    this.anyDirty = false
+    updated
+  }
+
+  private def computeWorld(node: Int, parent: Int): Unit = {
+    val t = node * 3
+    val r = node * 4
+    val w = node * 12
+    // Local matrix = translation * rotation * scale
+    val qw = this.rotations(r)
+    val qx = this.rotations(r + 1)
+    val qy = this.rotations(r + 2)
+    val qz = this.rotations(r + 3)
+    val s = 2.0f / (qw * qw + qx * qx + qy * qy + qz * qz)
+    val sx = this.scales(t)
+    val sy = this.scales(t + 1)
+    val sz = this.scales(t + 2)
+    val l00 = (1.0f - s * (qy * qy + qz * qz)) * sx
+    val l01 = s * (qx * qy - qz * qw) * sy
+    val l02 = s * (qx * qz + qy * qw) * sz
+    val l03 = this.translations(t)
+    val l10 = s * (qx * qy + qz * qw) * sx
+    val l11 = (1.0f - s * (qx * qx + qz * qz)) * sy
+    val l12 = s * (qy * qz - qx * qw) * sz
+    val l13 = this.translations(t + 1)
+    val l20 = s * (qx * qz - qy * qw) * sx
+    val l21 = s * (qy * qz + qx * qw) * sy
+    val l22 = (1.0f - s * (qx * qx + qy * qy)) * sz
+    val l23 = this.translations(t + 2)
+    if(parent == TransformGraph.NoParent) {
+      this.worlds(w) = l00
+      this.worlds(w + 1) = l01
+      this.worlds(w + 2) = l02
+      this.worlds(w + 3) = l03
+      this.worlds(w + 4) = l10
+      this.worlds(w + 5) = l11
+      this.worlds(w + 6) = l12
+      this.worlds(w + 7) = l13
+      this.worlds(w + 8) = l20
+      this.worlds(w + 9) = l21
+      this.worlds(w + 10) = l22
+      this.worlds(w + 11) = l23
+    } else {
+      // World matrix = parent world matrix * local matrix
+      var row = 0
+      while(row < 3) {
+        val p = parent * 12 + row * 4
+        val p0 = this.worlds(p)
+        val p1 = this.worlds(p + 1)
+        val p2 = this.worlds(p + 2)
+        val p3 = this.worlds(p + 3)
+        val i = w + row * 4
+        this.worlds(i) = p0 * l00 + p1 * l10 + p2 * l20
+        this.worlds(i + 1) = p0 * l01 + p1 * l11 + p2 * l21
+        this.worlds(i + 2) = p0 * l02 + p1 * l12 + p2 * l22
+        this.worlds(i + 3) = p0 * l03 + p1 * l13 + p2 * l23 + p3
+        row += 1
+      }
+    }
+  }
+}
+
+/**
+ * Constants used by [[TransformGraph]].
+ */
+object TransformGraph {
+
+  /** Parent index of the root nodes. */
+  val NoParent = -1
+}
@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import io.github.scalamath
 import io.github.scalamath.DoubleEqualsApprox
 
+import java.nio.{ByteBuffer, DoubleBuffer}
+
 /**
  * A 2D vector using double-precision floating point coordinates.
  *
@@ -867,6 +869,34 @@ case class Vec2d(x: Double, y: Double) {
    * @return This vector cast to float.
    */
   def toFloat: Vec2f = Vec2f(this.x.toFloat, this.y.toFloat)
+
+  /**
+   * Writes the components of this vector into the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first component is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: DoubleBuffer, offset: Int): Unit = {
+    buffer.put(offset, this.x)
+    buffer.put(offset + 1, this.y)
+  }
+
+  /**
+   * Writes the components of this vector into the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first component is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: ByteBuffer, offset: Int): Unit = {
+    buffer.putDouble(offset, this.x)
+    buffer.putDouble(offset + 8, this.y)
+  }
 }
 
 /**
@@ -920,4 +950,96 @@ object Vec2d {
      */
     def /(v: Vec2d): Vec2d = v.inverse * self
   }
+
+  /**
+   * Reads a vector from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first component is stored.
+   * @return The vector read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: DoubleBuffer, offset: Int): Vec2d = {
+    Vec2d(buffer.get(offset), buffer.get(offset + 1))
+  }
+
+  /**
+   * Reads a vector from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first component is stored.
+   * @return The vector read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: ByteBuffer, offset: Int): Vec2d = {
+    Vec2d(buffer.getDouble(offset), buffer.getDouble(offset + 8))
+  }
+
+  /**
+   * Writes the given vectors into the given buffer one after the other, starting at the given index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param vectors The vectors to write.
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first vector is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Vec2d.writeTo]]
+   */
+  def writeAll(vectors: Array[Vec2d], buffer: DoubleBuffer, offset: Int): Unit = {
+    var i = 0
+    while(i < vectors.length) {
+      vectors(i).writeTo(buffer, offset + i * 2)
+      i += 1
+    }
+  }
+
+  /**
+   * Writes the given vectors into the given byte buffer one after the other using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param vectors The vectors to write.
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first vector is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Vec2d.writeTo]]
+   */
+  def writeAll(vectors: Array[Vec2d], buffer: ByteBuffer, offset: Int): Unit = {
+    var i = 0
+    while(i < vectors.length) {
+      vectors(i).writeTo(buffer, offset + i * 16)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads the given number of consecutive vectors from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first vector is stored.
+   * @param count The number of vectors to read.
+   * @return An array containing the vectors read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: DoubleBuffer, offset: Int, count: Int): Array[Vec2d] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 2))
+
+  /**
+   * Reads the given number of consecutive vectors from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first vector is stored.
+   * @param count The number of vectors to read.
+   * @return An array containing the vectors read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: ByteBuffer, offset: Int, count: Int): Array[Vec2d] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 16))
 }
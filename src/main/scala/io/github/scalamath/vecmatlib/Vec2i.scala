@@ -1,5 +1,7 @@
 package io.github.scalamath.vecmatlib
 
+import java.nio.{ByteBuffer, IntBuffer}
+
 /**
  * A 2D vector using floating point coordinates.
  *
@@ -620,6 +622,34 @@ case class Vec2i(x: Int, y: Int) {
    * @return This vector as a double vector.
    */
   def toDouble: Vec2d = Vec2d(this.x.toDouble, this.y.toDouble)
+
+  /**
+   * Writes the components of this vector into the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first component is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: IntBuffer, offset: Int): Unit = {
+    buffer.put(offset, this.x)
+    buffer.put(offset + 1, this.y)
+  }
+
+  /**
+   * Writes the components of this vector into the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first component is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: ByteBuffer, offset: Int): Unit = {
+    buffer.putInt(offset, this.x)
+    buffer.putInt(offset + 4, this.y)
+  }
 }
 
 /**
@@ -656,6 +686,98 @@ object Vec2i {
     def *(v: Vec2i): Vec2i = v * self
   }
 
+  /**
+   * Reads a vector from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first component is stored.
+   * @return The vector read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: IntBuffer, offset: Int): Vec2i = {
+    Vec2i(buffer.get(offset), buffer.get(offset + 1))
+  }
+
+  /**
+   * Reads a vector from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first component is stored.
+   * @return The vector read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: ByteBuffer, offset: Int): Vec2i = {
+    Vec2i(buffer.getInt(offset), buffer.getInt(offset + 4))
+  }
+
+  /**
+   * Writes the given vectors into the given buffer one after the other, starting at the given index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param vectors The vectors to write.
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first vector is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Vec2i.writeTo]]
+   */
+  def writeAll(vectors: Array[Vec2i], buffer: IntBuffer, offset: Int): Unit = {
+    var i = 0
+    while(i < vectors.length) {
+      vectors(i).writeTo(buffer, offset + i * 2)
+      i += 1
+    }
+  }
+
+  /**
+   * Writes the given vectors into the given byte buffer one after the other using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param vectors The vectors to write.
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first vector is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Vec2i.writeTo]]
+   */
+  def writeAll(vectors: Array[Vec2i], buffer: ByteBuffer, offset: Int): Unit = {
+    var i = 0
+    while(i < vectors.length) {
+      vectors(i).writeTo(buffer, offset + i * 8)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads the given number of consecutive vectors from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first vector is stored.
+   * @param count The number of vectors to read.
+   * @return An array containing the vectors read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: IntBuffer, offset: Int, count: Int): Array[Vec2i] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 2))
+
+  /**
+   * Reads the given number of consecutive vectors from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first vector is stored.
+   * @param count The number of vectors to read.
+   * @return An array containing the vectors read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: ByteBuffer, offset: Int, count: Int): Array[Vec2i] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 8))
+
   /**
    * Implicit conversion from [[Vec2i]] to [[Vec2f]].
    */
@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import io.github.scalamath
 import io.github.scalamath.DoubleEqualsApprox
 
+import java.nio.{ByteBuffer, DoubleBuffer}
+
 /**
  * A 3D vector using double-precision floating point coordinates.
  *
@@ -886,6 +888,36 @@ case class Vec3d(x: Double, y: Double, z: Double) {
    * @return This vector cast to float.
    */
   def toFloat: Vec3f = Vec3f(this.x.toFloat, this.y.toFloat, this.z.toFloat)
+
+  /**
+   * Writes the components of this vector into the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first component is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: DoubleBuffer, offset: Int): Unit = {
+    buffer.put(offset, this.x)
+    buffer.put(offset + 1, this.y)
+    buffer.put(offset + 2, this.z)
+  }
+
+  /**
+   * Writes the components of this vector into the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first component is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: ByteBuffer, offset: Int): Unit = {
+    buffer.putDouble(offset, this.x)
+    buffer.putDouble(offset + 8, this.y)
+    buffer.putDouble(offset + 16, this.z)
+  }
 }
 
 /**
@@ -942,4 +974,96 @@ object Vec3d {
      */
     def /(v: Vec3d): Vec3d = v.inverse * self
   }
+
+  /**
+   * Reads a vector from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first component is stored.
+   * @return The vector read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: DoubleBuffer, offset: Int): Vec3d = {
+    Vec3d(buffer.get(offset), buffer.get(offset + 1), buffer.get(offset + 2))
+  }
+
+  /**
+   * Reads a vector from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first component is stored.
+   * @return The vector read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: ByteBuffer, offset: Int): Vec3d = {
+    Vec3d(buffer.getDouble(offset), buffer.getDouble(offset + 8), buffer.getDouble(offset + 16))
+  }
+
+  /**
+   * Writes the given vectors into the given buffer one after the other, starting at the given index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param vectors The vectors to write.
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first vector is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Vec3d.writeTo]]
+   */
+  def writeAll(vectors: Array[Vec3d], buffer: DoubleBuffer, offset: Int): Unit = {
+    var i = 0
+    while(i < vectors.length) {
+      vectors(i).writeTo(buffer, offset + i * 3)
+      i += 1
+    }
+  }
+
+  /**
+   * Writes the given vectors into the given byte buffer one after the other using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param vectors The vectors to write.
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first vector is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Vec3d.writeTo]]
+   */
+  def writeAll(vectors: Array[Vec3d], buffer: ByteBuffer, offset: Int): Unit = {
+    var i = 0
+    while(i < vectors.length) {
+      vectors(i).writeTo(buffer, offset + i * 24)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads the given number of consecutive vectors from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first vector is stored.
+   * @param count The number of vectors to read.
+   * @return An array containing the vectors read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: DoubleBuffer, offset: Int, count: Int): Array[Vec3d] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 3))
+
+  /**
+   * Reads the given number of consecutive vectors from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first vector is stored.
+   * @param count The number of vectors to read.
+   * @return An array containing the vectors read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: ByteBuffer, offset: Int, count: Int): Array[Vec3d] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 24))
 }
@@ -0,0 +1,404 @@
+package io.github.scalamath.vecmatlib
+
+/**
+ * A buffer of 3D double vectors stored in a structure-of-arrays layout.
+ *
+ * The components of the vectors are stored in three separate primitive arrays, one for each component, instead of an array of [[Vec3d]] objects.
+ * This avoids the object header and the pointer that each element of an `Array[Vec3d]` requires and allows the bulk operations to read contiguous memory.
+ *
+ * [[Vec3d]] objects are only created when an element is accessed with [[apply]].
+ *
+ * Bulk operations come in two forms: the ones that return a new buffer and the ones that write the result in a given destination buffer.
+ * The destination buffer may be this buffer or the second operand, in which case the operation is done in place.
+ *
+ * @constructor Constructs a buffer from the given arrays of components. All arrays must have the same length.
+ * @param x The array of x components.
+ * @param y The array of y components.
+ * @param z The array of z components.
+ */
+class Vec3dBuffer(val x: Array[Double], val y: Array[Double], val z: Array[Double]) {
+  require(y.length == x.length && z.length == x.length, "All component arrays must have the same length")
+
+  /**
+   * Constructs a buffer of the given size with all vectors set to zero.
+   *
+   * @param size The number of vectors in the buffer.
+   */
+  def this(size: Int) = this(new Array[Double](size), new Array[Double](size), new Array[Double](size))
+
+  /**
+   * Returns the number of vectors in this buffer.
+   *
+   * @return The number of vectors in this buffer.
+   */
+  def size: Int = this.x.length
+
+  /**
+   * Returns the vector at the given index.
+   *
+   * @param i The index of the requested vector.
+   * @return The vector at the given index.
+   * @throws ArrayIndexOutOfBoundsException If the given index is out of bounds.
+   */
+  def apply(i: Int): Vec3d = Vec3d(this.x(i), this.y(i), this.z(i))
+
+  /**
+   * Sets the vector at the given index to the given one.
+   *
+   * @param i The index of the vector to set.
+   * @param v The new value of the vector.
+   * @throws ArrayIndexOutOfBoundsException If the given index is out of bounds.
+   */
+  def update(i: Int, v: Vec3d): Unit = this.set(i, v.x, v.y, v.z)
+
+  /**
+   * Sets the vector at the given index to the given components.
+   *
+   * @param i The index of the vector to set.
+   * @param x The x component.
+   * @param y The y component.
+   * @param z The z component.
+   * @throws ArrayIndexOutOfBoundsException If the given index is out of bounds.
+   */
+  def set(i: Int, x: Double, y: Double, z: Double): Unit = {
+    this.x(i) = x
+    this.y(i) = y
+    this.z(i) = z
+  }
+
+  /**
+   * Adds the vectors in the given buffer to the ones in this buffer and returns the result in a new buffer.
+   *
+   * @param b The second buffer. Must have the same size as this one.
+   * @return A buffer containing the sums between the vectors in this buffer and the ones in the given buffer.
+   */
+  def +(b: Vec3dBuffer): Vec3dBuffer = this.plus(b, new Vec3dBuffer(this.size))
+
+  /**
+   * Adds the vectors in the given buffer to the ones in this buffer and returns the result in a new buffer.
+   *
+   * This method can be used in place of the `+` operator for better interoperability with Java.
+   *
+   * @param b The second buffer. Must have the same size as this one.
+   * @return A buffer containing the sums between the vectors in this buffer and the ones in the given buffer.
+   */
+  def plus(b: Vec3dBuffer): Vec3dBuffer = this + b
+
+  /**
+   * Adds the vectors in the given buffer to the ones in this buffer and stores the result in the given buffer.
+   *
+   * @param b The second buffer. Must have the same size as this one.
+   * @param dst The buffer in which the result is stored. Must have the same size as this one.
+   * @return The given destination buffer.
+   */
+  def plus(b: Vec3dBuffer, dst: Vec3dBuffer): Vec3dBuffer = {
+    require(b.size == this.size && dst.size == this.size, "Buffers must have the same size")
+    var i = 0
+    while(i < this.size) {
+      dst.x(i) = this.x(i) + b.x(i)
+      dst.y(i) = this.y(i) + b.y(i)
+      dst.z(i) = this.z(i) + b.z(i)
+      i += 1
+    }
+    dst
+  }
+
+  /**
+   * Subtracts the vectors in the given buffer from the ones in this buffer and returns the result in a new buffer.
+   *
+   * @param b The second buffer. Must have the same size as this one.
+   * @return A buffer containing the subtractions between the vectors in this buffer and the ones in the given buffer.
+   */
+  def -(b: Vec3dBuffer): Vec3dBuffer = this.minus(b, new Vec3dBuffer(this.size))
+
+  /**
+   * Subtracts the vectors in the given buffer from the ones in this buffer and returns the result in a new buffer.
+   *
+   * This method can be used in place of the `-` operator for better interoperability with Java.
+   *
+   * @param b The second buffer. Must have the same size as this one.
+   * @return A buffer containing the subtractions between the vectors in this buffer and the ones in the given buffer.
+   */
+  def minus(b: Vec3dBuffer): Vec3dBuffer = this - b
+
+  /**
+   * Subtracts the vectors in the given buffer from the ones in this buffer and stores the result in the given buffer.
+   *
+   * @param b The second buffer. Must have the same size as this one.
+   * @param dst The buffer in which the result is stored. Must have the same size as this one.
+   * @return The given destination buffer.
+   */
+  def minus(b: Vec3dBuffer, dst: Vec3dBuffer): Vec3dBuffer = {
+    require(b.size == this.size && dst.size == this.size, "Buffers must have the same size")
+    var i = 0
+    while(i < this.size) {
+      dst.x(i) = this.x(i) - b.x(i)
+      dst.y(i) = this.y(i) - b.y(i)
+      dst.z(i) = this.z(i) - b.z(i)
+      i += 1
+    }
+    dst
+  }
+
+  /**
+   * Multiplies each component of the vectors in this buffer by the components of the vectors in the given buffer and returns the result in a new buffer.
+   *
+   * @param b The second buffer. Must have the same size as this one.
+   * @return A buffer containing the component-wise multiplications between the vectors in this buffer and the ones in the given buffer.
+   */
+  def *(b: Vec3dBuffer): Vec3dBuffer = this.multiply(b, new Vec3dBuffer(this.size))
+
+  /**
+   * Multiplies each component of the vectors in this buffer by the components of the vectors in the given buffer and returns the result in a new buffer.
+   *
+   * This method can be used in place of the `*` operator for better interoperability with Java.
+   *
+   * @param b The second buffer. Must have the same size as this one.
+   * @return A buffer containing the component-wise multiplications between the vectors in this buffer and the ones in the given buffer.
+   */
+  def multiply(b: Vec3dBuffer): Vec3dBuffer = this * b
+
+  /**
+   * Multiplies each component of the vectors in this buffer by the components of the vectors in the given buffer and stores the result in the given buffer.
+   *
+   * @param b The second buffer. Must have the same size as this one.
+   * @param dst The buffer in which the result is stored. Must have the same size as this one.
+   * @return The given destination buffer.
+   */
+  def multiply(b: Vec3dBuffer, dst: Vec3dBuffer): Vec3dBuffer = {
+    require(b.size == this.size && dst.size == this.size, "Buffers must have the same size")
+    var i = 0
+    while(i < this.size) {
+      dst.x(i) = this.x(i) * b.x(i)
+      dst.y(i) = this.y(i) * b.y(i)
+      dst.z(i) = this.z(i) * b.z(i)
+      i += 1
+    }
+    dst
+  }
+
+  /**
+   * Multiplies all the vectors in this buffer by the given scalar and returns the result in a new buffer.
+   *
+   * @param k The scalar to multiply the vectors by.
+   * @return A buffer containing the products between the vectors in this buffer and the given scalar.
+   */
+  def *(k: Double): Vec3dBuffer = this.multipliedBy(k, new Vec3dBuffer(this.size))
+
+  /**
+   * Multiplies all the vectors in this buffer by the given scalar and returns the result in a new buffer.
+   *
+   * This method can be used in place of the `*` operator for better interoperability with Java.
+   *
+   * @param k The scalar to multiply the vectors by.
+   * @return A buffer containing the products between the vectors in this buffer and the given scalar.
+   */
+  def multipliedBy(k: Double): Vec3dBuffer = this * k
+
+  /**
+   * Multiplies all the vectors in this buffer by the given scalar and stores the result in the given buffer.
+   *
+   * @param k The scalar to multiply the vectors by.
+   * @param dst The buffer in which the result is stored. Must have the same size as this one.
+   * @return The given destination buffer.
+   */
+  def multipliedBy(k: Double, dst: Vec3dBuffer): Vec3dBuffer = {
+    require(dst.size == this.size, "Buffers must have the same size")
+    var i = 0
+    while(i < this.size) {
+      dst.x(i) = this.x(i) * k
+      dst.y(i) = this.y(i) * k
+      dst.z(i) = this.z(i) * k
+      i += 1
+    }
+    dst
+  }
+
+  /**
+   * Computes the dot products between the vectors in this buffer and the ones in the given buffer.
+   *
+   * @param b The second buffer. Must have the same size as this one.
+   * @return An array containing the dot products between the vectors in this buffer and the ones in the given buffer.
+   */
+  def dot(b: Vec3dBuffer): Array[Double] = this.dot(b, new Array[Double](this.size))
+
+  /**
+   * Computes the dot products between the vectors in this buffer and the ones in the given buffer and stores them in the given array.
+   *
+   * @param b The second buffer. Must have the same size as this one.
+   * @param dst The array in which the result is stored. Must be at least as long as the size of this buffer.
+   * @return The given destination array.
+   */
+  def dot(b: Vec3dBuffer, dst: Array[Double]): Array[Double] = {
+    require(b.size == this.size && dst.length >= this.size, "Buffers must have the same size")
+    var i = 0
+    while(i < this.size) {
+      dst(i) = this.x(i) * b.x(i) + this.y(i) * b.y(i) + this.z(i) * b.z(i)
+      i += 1
+    }
+    dst
+  }
+
+  /**
+   * Computes the cross products between the vectors in this buffer and the ones in the given buffer.
+   *
+   * @param b The second buffer. Must have the same size as this one.
+   * @return A buffer containing the cross products between the vectors in this buffer and the ones in the given buffer.
+   */
+  def cross(b: Vec3dBuffer): Vec3dBuffer = this.cross(b, new Vec3dBuffer(this.size))
+
+  /**
+   * Computes the cross products between the vectors in this buffer and the ones in the given buffer and stores them in the given buffer.
+   *
+   * @param b The second buffer. Must have the same size as this one.
+   * @param dst The buffer in which the result is stored. Must have the same size as this one.
+   * @return The given destination buffer.
+   */
+  def cross(b: Vec3dBuffer, dst: Vec3dBuffer): Vec3dBuffer = {
+    require(b.size == this.size && dst.size == this.size, "Buffers must have the same size")
+    var i = 0
+    while(i < this.size) {
+      val ax = this.x(i)
+      val ay = this.y(i)
+      val az = this.z(i)
+      val bx = b.x(i)
+      val by = b.y(i)
+      val bz = b.z(i)
+      dst.x(i) = ay * bz - az * by
+      dst.y(i) = bx * az - bz * ax
+      dst.z(i) = ax * by - ay * bx
+      i += 1
+    }
+    dst
+  }
+
+  /**
+   * Scales all the vectors in this buffer to unit length and returns the result in a new buffer.
+   *
+   * The result is undefined for vectors with a length of zero.
+   *
+   * @return A buffer containing the vectors in this buffer scaled to unit length.
+   * @see [[Vec3d.normalized]]
+   */
+  def normalized: Vec3dBuffer = this.normalized(new Vec3dBuffer(this.size))
+
+  /**
+   * Scales all the vectors in this buffer to unit length and stores the result in the given buffer.
+   *
+   * The result is undefined for vectors with a length of zero.
+   *
+   * @param dst The buffer in which the result is stored. Must have the same size as this one.
+   * @return The given destination buffer.
+   * @see [[Vec3d.normalized]]
+   */
+  def normalized(dst: Vec3dBuffer): Vec3dBuffer = {
+    require(dst.size == this.size, "Buffers must have the same size")
+    var i = 0
+    while(i < this.size) {
+      val length = math.sqrt(this.x(i) * this.x(i) + this.y(i) * this.y(i) + this.z(i) * this.z(i))
+      dst.x(i) = this.x(i) / length
+      dst.y(i) = this.y(i) / length
+      dst.z(i) = this.z(i) / length
+      i += 1
+    }
+    dst
+  }
+
+  /**
+   * Computes the linear interpolation between the vectors in this buffer and the ones in the given buffer by the given weight.
+   *
+   * The given weight must be in the `[0.0, 1.0]` range, representing the amount of interpolation.
+   *
+   * @param to The second buffer. Must have the same size as this one.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @return A buffer containing the result of linearly interpolating between the vectors in this buffer and the ones in the given buffer.
+   */
+  def lerp(to: Vec3dBuffer, weight: Double): Vec3dBuffer = this.lerp(to, weight, new Vec3dBuffer(this.size))
+
+  /**
+   * Computes the linear interpolation between the vectors in this buffer and the ones in the given buffer by the given weight and stores the result in the given buffer.
+   *
+   * The given weight must be in the `[0.0, 1.0]` range, representing the amount of interpolation.
+   *
+   * @param to The second buffer. Must have the same size as this one.
+   * @param weight The weight of the interpolation between `0.0` and `1.0`.
+   * @param dst The buffer in which the result is stored. Must have the same size as this one.
+   * @return The given destination buffer.
+   */
+  def lerp(to: Vec3dBuffer, weight: Double, dst: Vec3dBuffer): Vec3dBuffer = {
+    require(to.size == this.size && dst.size == this.size, "Buffers must have the same size")
+    var i = 0
+    while(i < this.size) {
+      dst.x(i) = this.x(i) + (to.x(i) - this.x(i)) * weight
+      dst.y(i) = this.y(i) + (to.y(i) - this.y(i)) * weight
+      dst.z(i) = this.z(i) + (to.z(i) - this.z(i)) * weight
+      i += 1
+    }
+    dst
+  }
+
+  /**
+   * Computes the squared distances between the points in this buffer and the ones in the given buffer.
+   *
+   * @param b The second buffer. Must have the same size as this one.
+   * @return An array containing the squared distances between the points in this buffer and the ones in the given buffer.
+   */
+  def distanceSquaredTo(b: Vec3dBuffer): Array[Double] = this.distanceSquaredTo(b, new Array[Double](this.size))
+
+  /**
+   * Computes the squared distances between the points in this buffer and the ones in the given buffer and stores them in the given array.
+   *
+   * @param b The second buffer. Must have the same size as this one.
+   * @param dst The array in which the result is stored. Must be at least as long as the size of this buffer.
+   * @return The given destination array.
+   */
+  def distanceSquaredTo(b: Vec3dBuffer, dst: Array[Double]): Array[Double] = {
+    require(b.size == this.size && dst.length >= this.size, "Buffers must have the same size")
+    var i = 0
+    while(i < this.size) {
+      val dx = b.x(i) - this.x(i)
+      val dy = b.y(i) - this.y(i)
+      val dz = b.z(i) - this.z(i)
+      dst(i) = dx * dx + dy * dy + dz * dz
+      i += 1
+    }
+    dst
+  }
+
+  /**
+   * Returns the vectors in this buffer as an array of [[Vec3d]].
+   *
+   * @return An array containing the vectors in this buffer.
+   */
+  def toArray: Array[Vec3d] = Array.tabulate(this.size)(this.apply)
+}
+
+/**
+ * Factory methods for vector buffers.
+ */
+object Vec3dBuffer {
+
+  /**
+   * Constructs a buffer containing the given vectors.
+   *
+   * @param vectors The vectors to store in the buffer.
+   * @return A buffer containing the given vectors.
+   */
+  def apply(vectors: Vec3d*): Vec3dBuffer = this.fromArray(vectors.toArray)
+
+  /**
+   * Constructs a buffer containing the vectors in the given array.
+   *
+   * @param vectors The vectors to store in the buffer.
+   * @return A buffer containing the given vectors.
+   */
+  def fromArray(vectors: Array[Vec3d]): Vec3dBuffer = {
+    val buffer = new Vec3dBuffer(vectors.length)
+    var i = 0
+    while(i < vectors.length) {
+      buffer(i) = vectors(i)
+      i += 1
+    }
+    buffer
+  }
+}
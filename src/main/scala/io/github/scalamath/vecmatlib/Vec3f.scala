@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import io.github.scalamath
 import io.github.scalamath.FloatEqualsApprox
 
+import java.nio.{ByteBuffer, FloatBuffer}
+
 /**
  * A 3D vector using floating point coordinates.
  *
@@ -886,6 +888,43 @@ case class Vec3f(x: Float, y: Float, z: Float) {
    * @return This vector as a double vector.
    */
   def toDouble: Vec3d = Vec3d(this.x.toDouble, this.y.toDouble, this.z.toDouble)
+
+  /**
+   * Returns a mutable copy of this vector.
+   *
+   * @return A [[MutableVec3f]] with the same value as this vector.
+   */
+  def toMutable: MutableVec3f = new MutableVec3f(this)
+
+  /**
+   * Writes the components of this vector into the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first component is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: FloatBuffer, offset: Int): Unit = {
+    buffer.put(offset, this.x)
+    buffer.put(offset + 1, this.y)
+    buffer.put(offset + 2, this.z)
+  }
+
+  /**
+   * Writes the components of this vector into the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first component is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def writeTo(buffer: ByteBuffer, offset: Int): Unit = {
+    buffer.putFloat(offset, this.x)
+    buffer.putFloat(offset + 4, this.y)
+    buffer.putFloat(offset + 8, this.z)
+  }
 }
 
 /**
@@ -943,6 +982,98 @@ object Vec3f {
     def /(v: Vec3f): Vec3f = v.inverse * self
   }
 
+  /**
+   * Reads a vector from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first component is stored.
+   * @return The vector read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: FloatBuffer, offset: Int): Vec3f = {
+    Vec3f(buffer.get(offset), buffer.get(offset + 1), buffer.get(offset + 2))
+  }
+
+  /**
+   * Reads a vector from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first component is stored.
+   * @return The vector read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readFrom(buffer: ByteBuffer, offset: Int): Vec3f = {
+    Vec3f(buffer.getFloat(offset), buffer.getFloat(offset + 4), buffer.getFloat(offset + 8))
+  }
+
+  /**
+   * Writes the given vectors into the given buffer one after the other, starting at the given index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param vectors The vectors to write.
+   * @param buffer The buffer to write to.
+   * @param offset The index of the buffer at which the first vector is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Vec3f.writeTo]]
+   */
+  def writeAll(vectors: Array[Vec3f], buffer: FloatBuffer, offset: Int): Unit = {
+    var i = 0
+    while(i < vectors.length) {
+      vectors(i).writeTo(buffer, offset + i * 3)
+      i += 1
+    }
+  }
+
+  /**
+   * Writes the given vectors into the given byte buffer one after the other using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified and no objects are allocated.
+   *
+   * @param vectors The vectors to write.
+   * @param buffer The buffer to write to.
+   * @param offset The byte index of the buffer at which the first vector is written.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   * @see [[Vec3f.writeTo]]
+   */
+  def writeAll(vectors: Array[Vec3f], buffer: ByteBuffer, offset: Int): Unit = {
+    var i = 0
+    while(i < vectors.length) {
+      vectors(i).writeTo(buffer, offset + i * 12)
+      i += 1
+    }
+  }
+
+  /**
+   * Reads the given number of consecutive vectors from the given buffer, starting at the given index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The index of the buffer at which the first vector is stored.
+   * @param count The number of vectors to read.
+   * @return An array containing the vectors read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: FloatBuffer, offset: Int, count: Int): Array[Vec3f] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 3))
+
+  /**
+   * Reads the given number of consecutive vectors from the given byte buffer using the buffer's byte order, starting at the given byte index.
+   *
+   * The buffer's position is not modified.
+   *
+   * @param buffer The buffer to read from.
+   * @param offset The byte index of the buffer at which the first vector is stored.
+   * @param count The number of vectors to read.
+   * @return An array containing the vectors read from the buffer.
+   * @throws IndexOutOfBoundsException If the buffer is too small.
+   */
+  def readAll(buffer: ByteBuffer, offset: Int, count: Int): Array[Vec3f] = Array.tabulate(count)(i => this.readFrom(buffer, offset + i * 12))
+
   /**
    * Implicit conversion from [[Vec3f]] to [[Vec3d]].
    */
@@ -0,0 +1,217 @@
+package io.github.scalamath.vecmatlib
+
+/**
+ * Kernels for bulk vector operations over arrays of float components stored in a structure-of-arrays layout.
+ *
+ * Each kernel processes the elements from `offset` to `offset + count` in the given arrays.
+ * Destination arrays may be the same as the source arrays, in which case the operation is done in place.
+ *
+ * Two implementations are available: a scalar one, which runs on any JVM, and one based on the JDK Vector API, which is provided by the optional `VecMatLib-Simd` artifact and is used when that artifact is on the classpath and the `jdk.incubator.vector` module is available.
+ * The [[VectorKernels.Default]] instance automatically selects the best implementation.
+ *
+ * @see [[Vec3fBuffer]]
+ */
+trait VectorKernels {
+
+  /**
+   * Computes the dot products between the vectors `a` and `b`.
+   *
+   * @param ax The x components of the first vectors.
+   * @param ay The y components of the first vectors.
+   * @param az The z components of the first vectors.
+   * @param bx The x components of the second vectors.
+   * @param by The y components of the second vectors.
+   * @param bz The z components of the second vectors.
+   * @param dst The array in which the result is stored.
+   * @param offset The index of the first element to process.
+   * @param count The number of elements to process.
+   */
+  def dot(ax: Array[Float], ay: Array[Float], az: Array[Float], bx: Array[Float], by: Array[Float], bz: Array[Float], dst: Array[Float], offset: Int, count: Int): Unit
+
+  /**
+   * Computes the cross products between the vectors `a` and `b`.
+   *
+   * @param ax The x components of the first vectors.
+   * @param ay The y components of the first vectors.
+   * @param az The z components of the first vectors.
+   * @param bx The x components of the second vectors.
+   * @param by The y components of the second vectors.
+   * @param bz The z components of the second vectors.
+   * @param dx The array in which the x components of the result are stored.
+   * @param dy The array in which the y components of the result are stored.
+   * @param dz The array in which the z components of the result are stored.
+   * @param offset The index of the first element to process.
+   * @param count The number of elements to process.
+   */
+  def cross(ax: Array[Float], ay: Array[Float], az: Array[Float], bx: Array[Float], by: Array[Float], bz: Array[Float], dx: Array[Float], dy: Array[Float], dz: Array[Float], offset: Int, count: Int): Unit
+
+  /**
+   * Scales the given vectors to unit length.
+   *
+   * The result is undefined for vectors with a length of zero.
+   *
+   * @param x The x components of the vectors.
+   * @param y The y components of the vectors.
+   * @param z The z components of the vectors.
+   * @param dx The array in which the x components of the result are stored.
+   * @param dy The array in which the y components of the result are stored.
+   * @param dz The array in which the z components of the result are stored.
+   * @param offset The index of the first element to process.
+   * @param count The number of elements to process.
+   */
+  def normalize(x: Array[Float], y: Array[Float], z: Array[Float], dx: Array[Float], dy: Array[Float], dz: Array[Float], offset: Int, count: Int): Unit
+
+  /**
+   * Transforms the given points by the given matrix.
+   * Equivalent to `(m * (p, 1.0f)).xyz` for every point.
+   *
+   * @param m The transformation matrix.
+   * @param x The x components of the points.
+   * @param y The y components of the points.
+   * @param z The z components of the points.
+   * @param dx The array in which the x components of the result are stored.
+   * @param dy The array in which the y components of the result are stored.
+   * @param dz The array in which the z components of the result are stored.
+   * @param offset The index of the first element to process.
+   * @param count The number of elements to process.
+   */
+  def transformPoints(m: Mat4f, x: Array[Float], y: Array[Float], z: Array[Float], dx: Array[Float], dy: Array[Float], dz: Array[Float], offset: Int, count: Int): Unit
+
+  /**
+   * Rotates the given points by the rotation represented by the given quaternion.
+   * Equivalent to `q.rotate(p)` for every point.
+   *
+   * @param q The rotation quaternion. Must be a unit quaternion.
+   * @param x The x components of the points.
+   * @param y The y components of the points.
+   * @param z The z components of the points.
+   * @param dx The array in which the x components of the result are stored.
+   * @param dy The array in which the y components of the result are stored.
+   * @param dz The array in which the z components of the result are stored.
+   * @param offset The index of the first element to process.
+   * @param count The number of elements to process.
+   */
+  def rotate(q: Quatf, x: Array[Float], y: Array[Float], z: Array[Float], dx: Array[Float], dy: Array[Float], dz: Array[Float], offset: Int, count: Int): Unit
+}
+
+/**
+ * Available implementations of [[VectorKernels]].
+ */
+object VectorKernels {
+
+  /** Name of the system property that can be set to `false` to disable the Vector API kernels. */
+  val SimdProperty = "vecmatlib.simd"
+
+  /** The scalar implementation, available on any JVM. */
+  val Scalar: VectorKernels = new ScalarVectorKernels
+
+  /**
+   * The implementation based on the JDK Vector API, if the `VecMatLib-Simd` artifact is on the classpath and the `jdk.incubator.vector` module is available.
+   *
+   * The module is not resolved by default and must be added with `--add-modules jdk.incubator.vector`.
+   * The implementation is kept in a separate artifact so that the main one can be compiled without the incubator module.
+   */
+  val Simd: Option[VectorKernels] = {
+    val enabled = !System.getProperty(SimdProperty, "true").equalsIgnoreCase("false")
+    if(enabled && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent) {
+      try {
+        Some(Class.forName("io.github.scalamath.vecmatlib.SimdVectorKernels").getDeclaredConstructor().newInstance().asInstanceOf[VectorKernels])
+      } catch {
+        case _: ReflectiveOperationException | _: LinkageError => None
+      }
+    } else {
+      None
+    }
+  }
+
+  /** The implementation used by bulk operations: the Vector API one if it is available, otherwise the scalar one. */
+  val Default: VectorKernels = this.Simd.getOrElse(this.Scalar)
+}
+
+/**
+ * Scalar implementation of [[VectorKernels]].
+ */
+private class ScalarVectorKernels extends VectorKernels {
+
+  override def dot(ax: Array[Float], ay: Array[Float], az: Array[Float], bx: Array[Float], by: Array[Float], bz: Array[Float], dst: Array[Float], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      dst(i) = ax(i) * bx(i) + ay(i) * by(i) + az(i) * bz(i)
+      i += 1
+    }
+  }
+
+  override def cross(ax: Array[Float], ay: Array[Float], az: Array[Float], bx: Array[Float], by: Array[Float], bz: Array[Float], dx: Array[Float], dy: Array[Float], dz: Array[Float], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      val x1 = ax(i)
+      val y1 = ay(i)
+      val z1 = az(i)
+      val x2 = bx(i)
+      val y2 = by(i)
+      val z2 = bz(i)
+      dx(i) = y1 * z2 - z1 * y2
+      dy(i) = x2 * z1 - z2 * x1
+      dz(i) = x1 * y2 - y1 * x2
+      i += 1
+    }
+  }
+
+  override def normalize(x: Array[Float], y: Array[Float], z: Array[Float], dx: Array[Float], dy: Array[Float], dz: Array[Float], offset: Int, count: Int): Unit = {
+    var i = offset
+    while(i < offset + count) {
+      val length = math.sqrt(x(i) * x(i) + y(i) * y(i) + z(i) * z(i)).toFloat
+      dx(i) = x(i) / length
+      dy(i) = y(i) / length
+      dz(i) = z(i) / length
+      i += 1
+    }
+  }
+
+  override def transformPoints(m: Mat4f, x: Array[Float], y: Array[Float], z: Array[Float], dx: Array[Float], dy: Array[Float], dz: Array[Float], offset: Int, count: Int): Unit = {
+    val m00 = m.m00
+    val m01 = m.m01
+    val m02 = m.m02
+    val m03 = m.m03
+    val m10 = m.m10
+    val m11 = m.m11
+    val m12 = m.m12
+    val m13 = m.m13
+    val m20 = m.m20
+    val m21 = m.m21
+    val m22 = m.m22
+    val m23 = m.m23
+    var i = offset
+    while(i < offset + count) {
+      val px = x(i)
+      val py = y(i)
+      val pz = z(i)
+      dx(i) = m00 * px + m01 * py + m02 * pz + m03
+      dy(i) = m10 * px + m11 * py + m12 * pz + m13
+      dz(i) = m20 * px + m21 * py + m22 * pz + m23
+      i += 1
+    }
+  }
+
+  override def rotate(q: Quatf, x: Array[Float], y: Array[Float], z: Array[Float], dx: Array[Float], dy: Array[Float], dz: Array[Float], offset: Int, count: Int): Unit = {
+    val qw = q.w
+    val qx = q.x
+    val qy = q.y
+    val qz = q.z
+    var i = offset
+    while(i < offset + count) {
+      val px = x(i)
+      val py = y(i)
+      val pz = z(i)
+      // t = 2 * cross(q.xyz, p)
+      val tx = 2.0f * (qy * pz - qz * py)
+      val ty = 2.0f * (qz * px - qx * pz)
+      val tz = 2.0f * (qx * py - qy * px)
+      // p' = p + w * t + cross(q.xyz, t)
+      dx(i) = px + qw * tx + (qy * tz - qz * ty)
+      dy(i) = py + qw * ty + (qz * tx - qx * tz)
+      dz(i) = pz + qw * tz + (qx * ty - qy * tx)
+      i += 1
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalatest.funsuite.AnyFunSuite
+
+class Aabb3dSuite extends AnyFunSuite {
+
+  implicit val equalityAabb3d: Equality[Aabb3d] = (a: Aabb3d, b: Any) => b match {
+    case b: Aabb3d => a ~= b
+    case _ => false
+  }
+
+  private val box = new Aabb3d(1.0, 2.0, 3.0, 3.0, 5.0, 4.0)
+
+  test("Construct box from components") {
+    assert(box == Aabb3d(Vec3d(1.0, 2.0, 3.0), Vec3d(3.0, 5.0, 4.0)))
+  }
+
+  test("Empty box") {
+    assert(Aabb3d.Empty.isEmpty)
+    assert(!box.isEmpty)
+    assert(new Aabb3d(1.0, 1.0, 1.0, 1.0, 1.0, 1.0).isEmpty == false)
+    assert(new Aabb3d(1.0, 1.0, 1.0, 2.0, 0.0, 2.0).isEmpty)
+  }
+
+  test("Center, size, surface area, and volume of a box") {
+    assert(box.center == Vec3d(2.0, 3.5, 3.5))
+    assert(box.size == Vec3d(2.0, 3.0, 1.0))
+    assert(box.surfaceArea == 22.0)
+    assert(box.volume == 6.0)
+    assert(Aabb3d.Empty.surfaceArea == 0.0)
+    assert(Aabb3d.Empty.volume == 0.0)
+  }
+
+  test("Box contains point") {
+    assert(box.contains(Vec3d(2.0, 3.0, 3.5)))
+    assert(box.contains(1.0, 5.0, 4.0))
+    assert(!box.contains(Vec3d(0.0, 3.0, 3.5)))
+    assert(!Aabb3d.Empty.contains(Vec3d.Zero))
+  }
+
+  test("Box contains box") {
+    assert(box.contains(new Aabb3d(1.5, 2.5, 3.5, 2.5, 3.5, 4.0)))
+    assert(!box.contains(new Aabb3d(1.5, 2.5, 3.5, 2.5, 3.5, 4.5)))
+    assert(box.contains(Aabb3d.Empty))
+  }
+
+  test("Box intersects box") {
+    assert(box.intersects(new Aabb3d(2.0, 4.0, 0.0, 5.0, 6.0, 3.0)))
+    assert(!box.intersects(new Aabb3d(2.0, 4.0, 0.0, 5.0, 6.0, 2.9)))
+    assert(!box.intersects(Aabb3d.Empty))
+  }
+
+  test("Union of two boxes") {
+    val b = new Aabb3d(0.0, 4.0, 3.5, 2.0, 6.0, 5.0)
+    assert(box.union(b) == new Aabb3d(0.0, 2.0, 3.0, 3.0, 6.0, 5.0))
+    assert(box.union(Aabb3d.Empty) == box)
+    assert(Aabb3d.Empty.union(box) == box)
+  }
+
+  test("Union of a box and a point") {
+    assert(box.union(Vec3d(0.0, 3.0, 6.0)) == new Aabb3d(0.0, 2.0, 3.0, 3.0, 5.0, 6.0))
+  }
+
+  test("Intersection of two boxes") {
+    val b = new Aabb3d(0.0, 4.0, 3.5, 2.0, 6.0, 5.0)
+    assert(box.intersection(b) == new Aabb3d(1.0, 4.0, 3.5, 2.0, 5.0, 4.0))
+    assert(box.intersection(new Aabb3d(5.0, 5.0, 5.0, 6.0, 6.0, 6.0)).isEmpty)
+  }
+
+  test("Transform box by a matrix") {
+    val m = Mat3x4d.translation(1.0, -1.0, 2.0) * Mat4d.rotation(0.3, -0.7, 1.1) * Mat4d.scaling(2.0, 1.0, 0.5)
+    val res = box.transform(m)
+    val corners = for(x <- Seq(box.min.x, box.max.x); y <- Seq(box.min.y, box.max.y); z <- Seq(box.min.z, box.max.z)) yield m * (x, y, z, 1.0)
+    assert(res === Aabb3d.fromPoints(corners.toArray))
+  }
+
+  test("Transform box by a translation") {
+    assert(box.transform(Mat3x4d.translation(1.0, 2.0, 3.0)) === new Aabb3d(2.0, 4.0, 6.0, 4.0, 7.0, 7.0))
+  }
+
+  test("Transform empty box") {
+    assert(Aabb3d.Empty.transform(Mat3x4d.translation(1.0, 2.0, 3.0)).isEmpty)
+  }
+
+  test("Distance between a box and a point") {
+    assert(box.distanceSquaredTo(Vec3d(2.0, 3.0, 3.5)) == 0.0)
+    assert(box.distanceSquaredTo(Vec3d(0.0, 3.0, 6.0)) == 5.0)
+    assert(box.distanceTo(Vec3d(4.0, 6.0, 3.5)) == math.sqrt(2.0))
+  }
+
+  test("Box from points") {
+    val points = Array(Vec3d(1.0, -1.0, 0.0), Vec3d(-2.0, 3.0, 1.0), Vec3d(0.0, 0.0, -4.0))
+    assert(Aabb3d.fromPoints(points) == new Aabb3d(-2.0, -1.0, -4.0, 1.0, 3.0, 1.0))
+    assert(Aabb3d.fromPoints(Array.empty[Vec3d]).isEmpty)
+  }
+
+  test("Box equals approximately") {
+    assert(box ~= new Aabb3d(1.0000001, 2.0, 3.0, 3.0, 5.0, 4.0))
+    assert(!box.equalsApprox(new Aabb3d(1.1, 2.0, 3.0, 3.0, 5.0, 4.0)))
+  }
+}
@@ -0,0 +1,113 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalatest.funsuite.AnyFunSuite
+
+class Aabb3fSuite extends AnyFunSuite {
+
+  implicit val equalityAabb3f: Equality[Aabb3f] = (a: Aabb3f, b: Any) => b match {
+    case b: Aabb3f => a ~= b
+    case _ => false
+  }
+
+  private val box = new Aabb3f(1.0f, 2.0f, 3.0f, 3.0f, 5.0f, 4.0f)
+
+  test("Construct box from components") {
+    assert(box == Aabb3f(Vec3f(1.0f, 2.0f, 3.0f), Vec3f(3.0f, 5.0f, 4.0f)))
+  }
+
+  test("Empty box") {
+    assert(Aabb3f.Empty.isEmpty)
+    assert(!box.isEmpty)
+    assert(new Aabb3f(1.0f, 1.0f, 1.0f, 1.0f, 1.0f, 1.0f).isEmpty == false)
+    assert(new Aabb3f(1.0f, 1.0f, 1.0f, 2.0f, 0.0f, 2.0f).isEmpty)
+  }
+
+  test("Center, size, surface area, and volume of a box") {
+    assert(box.center == Vec3f(2.0f, 3.5f, 3.5f))
+    assert(box.size == Vec3f(2.0f, 3.0f, 1.0f))
+    assert(box.surfaceArea == 22.0f)
+    assert(box.volume == 6.0f)
+    assert(Aabb3f.Empty.surfaceArea == 0.0f)
+    assert(Aabb3f.Empty.volume == 0.0f)
+  }
+
+  test("Box contains point") {
+    assert(box.contains(Vec3f(2.0f, 3.0f, 3.5f)))
+    assert(box.contains(1.0f, 5.0f, 4.0f))
+    assert(!box.contains(Vec3f(0.0f, 3.0f, 3.5f)))
+    assert(!Aabb3f.Empty.contains(Vec3f.Zero))
+  }
+
+  test("Box contains box") {
+    assert(box.contains(new Aabb3f(1.5f, 2.5f, 3.5f, 2.5f, 3.5f, 4.0f)))
+    assert(!box.contains(new Aabb3f(1.5f, 2.5f, 3.5f, 2.5f, 3.5f, 4.5f)))
+    assert(box.contains(Aabb3f.Empty))
+  }
+
+  test("Box intersects box") {
+    assert(box.intersects(new Aabb3f(2.0f, 4.0f, 0.0f, 5.0f, 6.0f, 3.0f)))
+    assert(!box.intersects(new Aabb3f(2.0f, 4.0f, 0.0f, 5.0f, 6.0f, 2.9f)))
+    assert(!box.intersects(Aabb3f.Empty))
+  }
+
+  test("Union of two boxes") {
+    val b = new Aabb3f(0.0f, 4.0f, 3.5f, 2.0f, 6.0f, 5.0f)
+    assert(box.union(b) == new Aabb3f(0.0f, 2.0f, 3.0f, 3.0f, 6.0f, 5.0f))
+    assert(box.union(Aabb3f.Empty) == box)
+    assert(Aabb3f.Empty.union(box) == box)
+  }
+
+  test("Union of a box and a point") {
+    assert(box.union(Vec3f(0.0f, 3.0f, 6.0f)) == new Aabb3f(0.0f, 2.0f, 3.0f, 3.0f, 5.0f, 6.0f))
+  }
+
+  test("Intersection of two boxes") {
+    val b = new Aabb3f(0.0f, 4.0f, 3.5f, 2.0f, 6.0f, 5.0f)
+    assert(box.intersection(b) == new Aabb3f(1.0f, 4.0f, 3.5f, 2.0f, 5.0f, 4.0f))
+    assert(box.intersection(new Aabb3f(5.0f, 5.0f, 5.0f, 6.0f, 6.0f, 6.0f)).isEmpty)
+  }
+
+  test("Transform box by a matrix") {
+    val m = Mat3x4f.translation(1.0f, -1.0f, 2.0f) * Mat4f.rotation(0.3, -0.7, 1.1) * Mat4f.scaling(2.0f, 1.0f, 0.5f)
+    val res = box.transform(m)
+    val corners = for(x <- Seq(box.min.x, box.max.x); y <- Seq(box.min.y, box.max.y); z <- Seq(box.min.z, box.max.z)) yield m * (x, y, z, 1.0f)
+    assert(res === Aabb3f.fromPoints(corners.toArray))
+  }
+
+  test("Transform box by a translation") {
+    assert(box.transform(Mat3x4f.translation(1.0f, 2.0f, 3.0f)) === new Aabb3f(2.0f, 4.0f, 6.0f, 4.0f, 7.0f, 7.0f))
+  }
+
+  test("Transform empty box") {
+    assert(Aabb3f.Empty.transform(Mat3x4f.translation(1.0f, 2.0f, 3.0f)).isEmpty)
+  }
+
+  test("Distance between a box and a point") {
+    assert(box.distanceSquaredTo(Vec3f(2.0f, 3.0f, 3.5f)) == 0.0f)
+    assert(box.distanceSquaredTo(Vec3f(0.0f, 3.0f, 6.0f)) == 5.0f)
+    assert(box.distanceTo(Vec3f(4.0f, 6.0f, 3.5f)) == math.sqrt(2.0).toFloat)
+  }
+
+  test("Box from points") {
+    val points = Array(Vec3f(1.0f, -1.0f, 0.0f), Vec3f(-2.0f, 3.0f, 1.0f), Vec3f(0.0f, 0.0f, -4.0f))
+    assert(Aabb3f.fromPoints(points) == new Aabb3f(-2.0f, -1.0f, -4.0f, 1.0f, 3.0f, 1.0f))
+    assert(Aabb3f.fromPoints(Array.empty[Vec3f]).isEmpty)
+  }
+
+  test("Box equals approximately") {
+    assert(box ~= new Aabb3f(1.0000001f, 2.0f, 3.0f, 3.0f, 5.0f, 4.0f))
+    assert(!box.equalsApprox(new Aabb3f(1.1f, 2.0f, 3.0f, 3.0f, 5.0f, 4.0f)))
+  }
+
+  test("Box intersects sphere") {
+    assert(box.intersects(Sphere3f(Vec3f(0.0f, 3.0f, 3.5f), 1.0f)))
+    assert(!box.intersects(Sphere3f(Vec3f(0.0f, 3.0f, 6.0f), 2.0f)))
+  }
+
+  test("Bounding sphere of a box") {
+    val s = box.boundingSphere
+    assert(s.center == box.center)
+    assert(s.radius == (math.sqrt(14.0) / 2.0).toFloat)
+  }
+}
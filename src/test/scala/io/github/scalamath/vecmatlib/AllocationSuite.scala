@@ -0,0 +1,499 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalatest.funsuite.AnyFunSuite
+
+import java.lang.management.ManagementFactory
+import java.nio.{ByteBuffer, ByteOrder}
+
+/**
+ * Checks that multiplications between matrices and vectors only allocate the result and that bulk writes into buffers do not allocate.
+ *
+ * The bytes allocated by each operation are compared to the bytes allocated by constructing the result directly.
+ * The same numbers can be observed in the benchmarks with `sbt "benchmarks/Jmh/run -prof gc"`.
+ */
+class AllocationSuite extends AnyFunSuite {
+
+  private val Iterations = 100000
+
+  private val threadBean = ManagementFactory.getThreadMXBean.asInstanceOf[com.sun.management.ThreadMXBean]
+  // Results are stored here so that they escape and cannot be optimized away
+  private val sink = new Array[AnyRef](1024)
+
+  private def run(op: () => Any, iterations: Int): Unit = {
+    var i = 0
+    while(i < iterations) {
+      this.sink(i & 1023) = op().asInstanceOf[AnyRef]
+      i += 1
+    }
+  }
+
+  private def bytesPerOperation(op: () => Any): Double = {
+    // Warm up so that the measured loop is compiled
+    this.run(op, Iterations)
+    val thread = Thread.currentThread().getId
+    val before = this.threadBean.getThreadAllocatedBytes(thread)
+    this.run(op, Iterations)
+    (this.threadBean.getThreadAllocatedBytes(thread) - before).toDouble / Iterations
+  }
+
+  private def assertOnlyAllocatesResult(op: () => AnyRef, result: () => AnyRef): Unit = {
+    assume(this.threadBean.isThreadAllocatedMemorySupported && this.threadBean.isThreadAllocatedMemoryEnabled)
+    val expected = this.bytesPerOperation(result)
+    val actual = this.bytesPerOperation(op)
+    assert(actual <= expected + 1.0, s"allocated $actual bytes per operation, expected at most $expected")
+  }
+
+  private def assertDoesNotAllocate(op: () => Unit): Unit = {
+    assume(this.threadBean.isThreadAllocatedMemorySupported && this.threadBean.isThreadAllocatedMemoryEnabled)
+    val actual = this.bytesPerOperation(op)
+    assert(actual < 1.0, s"allocated $actual bytes per operation")
+  }
+
+  private val xi: Int = 2
+  private val yi: Int = -2
+  private val zi: Int = 3
+  private val wi: Int = 1
+  private val v2i: Vec2i = Vec2i(1, -2)
+  private val v3i: Vec3i = Vec3i(1, -2, 3)
+  private val v4i: Vec4i = Vec4i(1, -2, 3, -4)
+  private val m2i: Mat2i = Mat2i(1, 0, 3, 3)
+  private val m2x3i: Mat2x3i = Mat2x3i(1, 0, 3, -1, 6, -2)
+  private val m3i: Mat3i = Mat3i(1, 2, 0, -2, 7, 1, -1, -3, 6)
+  private val m3x4i: Mat3x4i = Mat3x4i(1, 2, 0, -2, 3, 5, -1, -3, 2, 0, 2, 3)
+  private val m4i: Mat4i = Mat4i(1, 0, 3, -1, 2, 2, 1, -3, 0, 3, 3, 2, -2, 1, -3, 4)
+
+  test("Mat2i times vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m2i * v2i, () => Vec2i(xi, yi))
+  }
+
+  test("Mat2i times components only allocates the result") {
+    assertOnlyAllocatesResult(() => m2i * (xi, yi), () => Vec2i(xi, yi))
+  }
+
+  test("Mat2i times Mat2i only allocates the result") {
+    assertOnlyAllocatesResult(() => m2i * m2i, () => Mat2i(xi, yi, zi, wi))
+  }
+
+  test("Mat2i times Mat2x3i only allocates the result") {
+    assertOnlyAllocatesResult(() => m2i * m2x3i, () => Mat2x3i(xi, yi, zi, wi, xi, yi))
+  }
+
+  test("Mat2x3i times vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m2x3i * v3i, () => Vec2i(xi, yi))
+  }
+
+  test("Mat2x3i times components only allocates the result") {
+    assertOnlyAllocatesResult(() => m2x3i * (xi, yi, zi), () => Vec2i(xi, yi))
+  }
+
+  test("Mat2x3i times 2D vector and a value only allocates the result") {
+    assertOnlyAllocatesResult(() => m2x3i * (v2i, zi), () => Vec2i(xi, yi))
+  }
+
+  test("Mat2x3i times Mat3i only allocates the result") {
+    assertOnlyAllocatesResult(() => m2x3i * m3i, () => Mat2x3i(xi, yi, zi, wi, xi, yi))
+  }
+
+  test("Mat2x3i times Mat2x3i and a vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m2x3i * (m2x3i, v3i), () => Mat2x3i(xi, yi, zi, wi, xi, yi))
+  }
+
+  test("Mat3i times vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m3i * v3i, () => Vec3i(xi, yi, zi))
+  }
+
+  test("Mat3i times components only allocates the result") {
+    assertOnlyAllocatesResult(() => m3i * (xi, yi, zi), () => Vec3i(xi, yi, zi))
+  }
+
+  test("Mat3i times 2D vector and a value only allocates the result") {
+    assertOnlyAllocatesResult(() => m3i * (v2i, zi), () => Vec3i(xi, yi, zi))
+  }
+
+  test("Mat3i times Mat3i only allocates the result") {
+    assertOnlyAllocatesResult(() => m3i * m3i, () => Mat3i(xi, yi, zi, wi, xi, yi, zi, wi, xi))
+  }
+
+  test("Mat3i times Mat3x4i only allocates the result") {
+    assertOnlyAllocatesResult(() => m3i * m3x4i, () => Mat3x4i(xi, yi, zi, wi, xi, yi, zi, wi, xi, yi, zi, wi))
+  }
+
+  test("Mat3x4i times vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4i * v4i, () => Vec3i(xi, yi, zi))
+  }
+
+  test("Mat3x4i times components only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4i * (xi, yi, zi, wi), () => Vec3i(xi, yi, zi))
+  }
+
+  test("Mat3x4i times 3D vector and a value only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4i * (v3i, wi), () => Vec3i(xi, yi, zi))
+  }
+
+  test("Mat3x4i times 2D vector and two values only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4i * (v2i, zi, wi), () => Vec3i(xi, yi, zi))
+  }
+
+  test("Mat3x4i times Mat4i only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4i * m4i, () => Mat3x4i(xi, yi, zi, wi, xi, yi, zi, wi, xi, yi, zi, wi))
+  }
+
+  test("Mat3x4i times Mat3x4i and a vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4i * (m3x4i, v4i), () => Mat3x4i(xi, yi, zi, wi, xi, yi, zi, wi, xi, yi, zi, wi))
+  }
+
+  test("Mat4i times vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m4i * v4i, () => Vec4i(xi, yi, zi, wi))
+  }
+
+  test("Mat4i times components only allocates the result") {
+    assertOnlyAllocatesResult(() => m4i * (xi, yi, zi, wi), () => Vec4i(xi, yi, zi, wi))
+  }
+
+  test("Mat4i times 3D vector and a value only allocates the result") {
+    assertOnlyAllocatesResult(() => m4i * (v3i, wi), () => Vec4i(xi, yi, zi, wi))
+  }
+
+  test("Mat4i times 2D vector and two values only allocates the result") {
+    assertOnlyAllocatesResult(() => m4i * (v2i, zi, wi), () => Vec4i(xi, yi, zi, wi))
+  }
+
+  test("Mat4i times Mat4i only allocates the result") {
+    assertOnlyAllocatesResult(() => m4i * m4i, () => Mat4i(xi, yi, zi, wi, xi, yi, zi, wi, xi, yi, zi, wi, xi, yi, zi, wi))
+  }
+
+  private val xf: Float = 1.5f
+  private val yf: Float = -2.0f
+  private val zf: Float = 0.5f
+  private val wf: Float = 1.0f
+  private val v2f: Vec2f = Vec2f(1.0f, -2.0f)
+  private val v3f: Vec3f = Vec3f(1.0f, -2.0f, 3.0f)
+  private val v4f: Vec4f = Vec4f(1.0f, -2.0f, 3.0f, -4.0f)
+  private val m2f: Mat2f = Mat2f(1.0f, 0.0f, 3.0f, 3.0f)
+  private val m2x3f: Mat2x3f = Mat2x3f(1.0f, 0.0f, 3.0f, -1.0f, 6.0f, -2.0f)
+  private val m3f: Mat3f = Mat3f(1.0f, 2.0f, 0.0f, -2.0f, 7.0f, 1.0f, -1.0f, -3.0f, 6.0f)
+  private val m3x4f: Mat3x4f = Mat3x4f(1.0f, 2.0f, 0.0f, -2.0f, 3.0f, 5.0f, -1.0f, -3.0f, 2.0f, 0.0f, 2.0f, 3.0f)
+  private val m4f: Mat4f = Mat4f(1.0f, 0.0f, 3.0f, -1.0f, 2.0f, 2.0f, 1.0f, -3.0f, 0.0f, 3.0f, 3.0f, 2.0f, -2.0f, 1.0f, -3.0f, 4.0f)
+
+  test("Mat2f times vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m2f * v2f, () => Vec2f(xf, yf))
+  }
+
+  test("Mat2f times components only allocates the result") {
+    assertOnlyAllocatesResult(() => m2f * (xf, yf), () => Vec2f(xf, yf))
+  }
+
+  test("Mat2f times Mat2f only allocates the result") {
+    assertOnlyAllocatesResult(() => m2f * m2f, () => Mat2f(xf, yf, zf, wf))
+  }
+
+  test("Mat2f times Mat2x3f only allocates the result") {
+    assertOnlyAllocatesResult(() => m2f * m2x3f, () => Mat2x3f(xf, yf, zf, wf, xf, yf))
+  }
+
+  test("Mat2x3f times vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m2x3f * v3f, () => Vec2f(xf, yf))
+  }
+
+  test("Mat2x3f times components only allocates the result") {
+    assertOnlyAllocatesResult(() => m2x3f * (xf, yf, zf), () => Vec2f(xf, yf))
+  }
+
+  test("Mat2x3f times 2D vector and a value only allocates the result") {
+    assertOnlyAllocatesResult(() => m2x3f * (v2f, zf), () => Vec2f(xf, yf))
+  }
+
+  test("Mat2x3f times Mat3f only allocates the result") {
+    assertOnlyAllocatesResult(() => m2x3f * m3f, () => Mat2x3f(xf, yf, zf, wf, xf, yf))
+  }
+
+  test("Mat2x3f times Mat2x3f and a vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m2x3f * (m2x3f, v3f), () => Mat2x3f(xf, yf, zf, wf, xf, yf))
+  }
+
+  test("Mat3f times vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m3f * v3f, () => Vec3f(xf, yf, zf))
+  }
+
+  test("Mat3f times components only allocates the result") {
+    assertOnlyAllocatesResult(() => m3f * (xf, yf, zf), () => Vec3f(xf, yf, zf))
+  }
+
+  test("Mat3f times 2D vector and a value only allocates the result") {
+    assertOnlyAllocatesResult(() => m3f * (v2f, zf), () => Vec3f(xf, yf, zf))
+  }
+
+  test("Mat3f times Mat3f only allocates the result") {
+    assertOnlyAllocatesResult(() => m3f * m3f, () => Mat3f(xf, yf, zf, wf, xf, yf, zf, wf, xf))
+  }
+
+  test("Mat3f times Mat3x4f only allocates the result") {
+    assertOnlyAllocatesResult(() => m3f * m3x4f, () => Mat3x4f(xf, yf, zf, wf, xf, yf, zf, wf, xf, yf, zf, wf))
+  }
+
+  test("Mat3x4f times vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4f * v4f, () => Vec3f(xf, yf, zf))
+  }
+
+  test("Mat3x4f times components only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4f * (xf, yf, zf, wf), () => Vec3f(xf, yf, zf))
+  }
+
+  test("Mat3x4f times 3D vector and a value only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4f * (v3f, wf), () => Vec3f(xf, yf, zf))
+  }
+
+  test("Mat3x4f times 2D vector and two values only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4f * (v2f, zf, wf), () => Vec3f(xf, yf, zf))
+  }
+
+  test("Mat3x4f times Mat4f only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4f * m4f, () => Mat3x4f(xf, yf, zf, wf, xf, yf, zf, wf, xf, yf, zf, wf))
+  }
+
+  test("Mat3x4f times Mat3x4f and a vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4f * (m3x4f, v4f), () => Mat3x4f(xf, yf, zf, wf, xf, yf, zf, wf, xf, yf, zf, wf))
+  }
+
+  test("Mat4f times vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m4f * v4f, () => Vec4f(xf, yf, zf, wf))
+  }
+
+  test("Mat4f times components only allocates the result") {
+    assertOnlyAllocatesResult(() => m4f * (xf, yf, zf, wf), () => Vec4f(xf, yf, zf, wf))
+  }
+
+  test("Mat4f times 3D vector and a value only allocates the result") {
+    assertOnlyAllocatesResult(() => m4f * (v3f, wf), () => Vec4f(xf, yf, zf, wf))
+  }
+
+  test("Mat4f times 2D vector and two values only allocates the result") {
+    assertOnlyAllocatesResult(() => m4f * (v2f, zf, wf), () => Vec4f(xf, yf, zf, wf))
+  }
+
+  test("Mat4f times Mat4f only allocates the result") {
+    assertOnlyAllocatesResult(() => m4f * m4f, () => Mat4f(xf, yf, zf, wf, xf, yf, zf, wf, xf, yf, zf, wf, xf, yf, zf, wf))
+  }
+
+  private val xd: Double = 1.5
+  private val yd: Double = -2.0
+  private val zd: Double = 0.5
+  private val wd: Double = 1.0
+  private val v2d: Vec2d = Vec2d(1.0, -2.0)
+  private val v3d: Vec3d = Vec3d(1.0, -2.0, 3.0)
+  private val v4d: Vec4d = Vec4d(1.0, -2.0, 3.0, -4.0)
+  private val m2d: Mat2d = Mat2d(1.0, 0.0, 3.0, 3.0)
+  private val m2x3d: Mat2x3d = Mat2x3d(1.0, 0.0, 3.0, -1.0, 6.0, -2.0)
+  private val m3d: Mat3d = Mat3d(1.0, 2.0, 0.0, -2.0, 7.0, 1.0, -1.0, -3.0, 6.0)
+  private val m3x4d: Mat3x4d = Mat3x4d(1.0, 2.0, 0.0, -2.0, 3.0, 5.0, -1.0, -3.0, 2.0, 0.0, 2.0, 3.0)
+  private val m4d: Mat4d = Mat4d(1.0, 0.0, 3.0, -1.0, 2.0, 2.0, 1.0, -3.0, 0.0, 3.0, 3.0, 2.0, -2.0, 1.0, -3.0, 4.0)
+
+  test("Mat2d times vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m2d * v2d, () => Vec2d(xd, yd))
+  }
+
+  test("Mat2d times components only allocates the result") {
+    assertOnlyAllocatesResult(() => m2d * (xd, yd), () => Vec2d(xd, yd))
+  }
+
+  test("Mat2d times Mat2d only allocates the result") {
+    assertOnlyAllocatesResult(() => m2d * m2d, () => Mat2d(xd, yd, zd, wd))
+  }
+
+  test("Mat2d times Mat2x3d only allocates the result") {
+    assertOnlyAllocatesResult(() => m2d * m2x3d, () => Mat2x3d(xd, yd, zd, wd, xd, yd))
+  }
+
+  test("Mat2x3d times vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m2x3d * v3d, () => Vec2d(xd, yd))
+  }
+
+  test("Mat2x3d times components only allocates the result") {
+    assertOnlyAllocatesResult(() => m2x3d * (xd, yd, zd), () => Vec2d(xd, yd))
+  }
+
+  test("Mat2x3d times 2D vector and a value only allocates the result") {
+    assertOnlyAllocatesResult(() => m2x3d * (v2d, zd), () => Vec2d(xd, yd))
+  }
+
+  test("Mat2x3d times Mat3d only allocates the result") {
+    assertOnlyAllocatesResult(() => m2x3d * m3d, () => Mat2x3d(xd, yd, zd, wd, xd, yd))
+  }
+
+  test("Mat2x3d times Mat2x3d and a vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m2x3d * (m2x3d, v3d), () => Mat2x3d(xd, yd, zd, wd, xd, yd))
+  }
+
+  test("Mat3d times vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m3d * v3d, () => Vec3d(xd, yd, zd))
+  }
+
+  test("Mat3d times components only allocates the result") {
+    assertOnlyAllocatesResult(() => m3d * (xd, yd, zd), () => Vec3d(xd, yd, zd))
+  }
+
+  test("Mat3d times 2D vector and a value only allocates the result") {
+    assertOnlyAllocatesResult(() => m3d * (v2d, zd), () => Vec3d(xd, yd, zd))
+  }
+
+  test("Mat3d times Mat3d only allocates the result") {
+    assertOnlyAllocatesResult(() => m3d * m3d, () => Mat3d(xd, yd, zd, wd, xd, yd, zd, wd, xd))
+  }
+
+  test("Mat3d times Mat3x4d only allocates the result") {
+    assertOnlyAllocatesResult(() => m3d * m3x4d, () => Mat3x4d(xd, yd, zd, wd, xd, yd, zd, wd, xd, yd, zd, wd))
+  }
+
+  test("Mat3x4d times vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4d * v4d, () => Vec3d(xd, yd, zd))
+  }
+
+  test("Mat3x4d times components only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4d * (xd, yd, zd, wd), () => Vec3d(xd, yd, zd))
+  }
+
+  test("Mat3x4d times 3D vector and a value only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4d * (v3d, wd), () => Vec3d(xd, yd, zd))
+  }
+
+  test("Mat3x4d times 2D vector and two values only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4d * (v2d, zd, wd), () => Vec3d(xd, yd, zd))
+  }
+
+  test("Mat3x4d times Mat4d only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4d * m4d, () => Mat3x4d(xd, yd, zd, wd, xd, yd, zd, wd, xd, yd, zd, wd))
+  }
+
+  test("Mat3x4d times Mat3x4d and a vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m3x4d * (m3x4d, v4d), () => Mat3x4d(xd, yd, zd, wd, xd, yd, zd, wd, xd, yd, zd, wd))
+  }
+
+  test("Mat4d times vector only allocates the result") {
+    assertOnlyAllocatesResult(() => m4d * v4d, () => Vec4d(xd, yd, zd, wd))
+  }
+
+  test("Mat4d times components only allocates the result") {
+    assertOnlyAllocatesResult(() => m4d * (xd, yd, zd, wd), () => Vec4d(xd, yd, zd, wd))
+  }
+
+  test("Mat4d times 3D vector and a value only allocates the result") {
+    assertOnlyAllocatesResult(() => m4d * (v3d, wd), () => Vec4d(xd, yd, zd, wd))
+  }
+
+  test("Mat4d times 2D vector and two values only allocates the result") {
+    assertOnlyAllocatesResult(() => m4d * (v2d, zd, wd), () => Vec4d(xd, yd, zd, wd))
+  }
+
+  test("Mat4d times Mat4d only allocates the result") {
+    assertOnlyAllocatesResult(() => m4d * m4d, () => Mat4d(xd, yd, zd, wd, xd, yd, zd, wd, xd, yd, zd, wd, xd, yd, zd, wd))
+  }
+
+  private val matrices = Array.fill(64)(m4f)
+  private val vectors = Array.fill(64)(v4f)
+  private val floatBuffer = ByteBuffer.allocateDirect(64 * 16 * 4).order(ByteOrder.nativeOrder()).asFloatBuffer()
+  private val byteBuffer = ByteBuffer.allocateDirect(64 * 16 * 4).order(ByteOrder.nativeOrder())
+
+  test("Writing matrices into a direct float buffer does not allocate") {
+    assertDoesNotAllocate(() => Mat4f.writeAll(matrices, floatBuffer, 0, true))
+  }
+
+  test("Writing matrices into a direct byte buffer does not allocate") {
+    assertDoesNotAllocate(() => Mat4f.writeAll(matrices, byteBuffer, 0, true))
+  }
+
+  test("Writing vectors into a direct float buffer does not allocate") {
+    assertDoesNotAllocate(() => Vec4f.writeAll(vectors, floatBuffer, 0))
+  }
+
+  test("Writing vectors into a direct byte buffer does not allocate") {
+    assertDoesNotAllocate(() => Vec4f.writeAll(vectors, byteBuffer, 0))
+  }
+
+  private val v3iCopy = Vec3i(1, -2, 3)
+  private val v3fCopy = Vec3f(1.0f, -2.0f, 3.0f)
+  private val m4dCopy = Mat4d(1.0, 0.0, 3.0, -1.0, 2.0, 2.0, 1.0, -3.0, 0.0, 3.0, 3.0, 2.0, -2.0, 1.0, -3.0, 4.0)
+  private var hashes = 0
+
+  test("Vec3i hashCode and equals do not allocate") {
+    assertDoesNotAllocate(() => if(v3i == v3iCopy) hashes += v3i.hashCode())
+  }
+
+  test("Vec3f hashCode and equals do not allocate") {
+    assertDoesNotAllocate(() => if(v3f == v3fCopy) hashes += v3f.hashCode())
+  }
+
+  test("Mat4d hashCode and equals do not allocate") {
+    assertDoesNotAllocate(() => if(m4d == m4dCopy) hashes += m4d.hashCode())
+  }
+
+  private val skinningPalette = Array(m3x4f, m3x4f * 0.5f)
+  private val skinningPositions = Array(1.0f, -2.0f, 3.0f, 0.5f, 1.5f, -1.0f)
+  private val skinningIndices = Array(0, 1, 0, 0, 1, 0, 0, 0)
+  private val skinningWeights = Array(0.25f, 0.75f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f)
+  private val skinnedPositions = new Array[Float](6)
+  private val skinnedNormals = new Array[Float](6)
+
+  test("Linear blend skinning does not allocate") {
+    assertDoesNotAllocate(() => Skinning.linearBlend(skinningPalette, skinningPositions, skinningPositions, skinningIndices, skinningWeights, skinnedPositions, skinnedNormals, 0, 2))
+  }
+
+  private val skinningDualQuats = Array(DualQuatf(v3f, Quatf.Identity), DualQuatf(Vec3f.Zero, Quatf(0.6f, 0.8f, 0.0f, 0.0f)))
+
+  test("Dual quaternion skinning does not allocate") {
+    assertDoesNotAllocate(() => Skinning.dualQuaternion(skinningDualQuats, skinningPositions, skinningPositions, skinningIndices, skinningWeights, skinnedPositions, skinnedNormals, 0, 2))
+  }
+
+  private val animationClip = new AnimationClip()
+  animationClip.addTrack(Array(0.0f, 1.0f, 2.0f), Array(v3f, -v3f, v3f), Array(Quatf.Identity, Quatf(0.6f, 0.8f, 0.0f, 0.0f), Quatf.Identity), Array(Vec3f.One, Vec3f.One, v3f))
+  private val animationCursors = animationClip.newCursors()
+  private val sampledTranslations = new Array[Float](3)
+  private val sampledRotations = new Array[Float](4)
+  private val sampledScales = new Array[Float](3)
+  private var animationTime = 0.0f
+
+  test("Sampling an animation clip does not allocate") {
+    assertDoesNotAllocate(() => {
+      animationTime = (animationTime + 0.01f) % 2.0f
+      animationClip.sample(animationTime, animationCursors, sampledTranslations, sampledRotations, sampledScales, slerp = true)
+    })
+  }
+
+  private val eulerAngles = Array(0.3f, -1.1f, 0.8f, 1.2f, 0.4f, -2.0f)
+  private val eulerQuaternions = new Array[Float](8)
+
+  test("Batch euler angle conversions do not allocate") {
+    assertDoesNotAllocate(() => {
+      EulerOrder.YXZ.toQuaternions(eulerAngles, eulerQuaternions, 0, 2)
+      EulerOrder.YXZ.toEulerAngles(eulerQuaternions, eulerAngles, 0, 2)
+    })
+  }
+
+  test("Mat4f euler rotation only allocates the result") {
+    assertOnlyAllocatesResult(() => Mat4f.rotation(0.3, -1.1, 0.8, EulerOrder.YXZ), () => Mat4f(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f, 9.0f, 10.0f, 11.0f, 12.0f, 13.0f, 14.0f, 15.0f, 16.0f))
+  }
+
+  test("Mat3d euler rotation only allocates the result") {
+    assertOnlyAllocatesResult(() => Mat3d.rotation(0.3, -1.1, 0.8), () => Mat3d(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 8.0, 9.0))
+  }
+
+  private val mutableMatrix = new MutableMat4f(m4f)
+  private val mutableInverse = new MutableMat4f()
+  private var determinants = 0.0f
+
+  test("Mat4f determinant and MutableMat4f inverse do not allocate") {
+    assertDoesNotAllocate(() => {
+      determinants += m4f.determinant
+      mutableInverse.setInverse(mutableMatrix)
+    })
+  }
+
+  private val rotation = Quatf(Vec3f(1.0f, -2.0f, 0.5f).normalized, 1.3)
+  private val rotatedPoints = new Array[Float](9)
+
+  test("Rotating packed points does not allocate") {
+    assertDoesNotAllocate(() => {
+      rotation.rotatePoints(skinningPositions, rotatedPoints, 0, 2)
+      rotation.transformPoints(skinningPositions, v3f, rotatedPoints, 0, 2)
+    })
+  }
+}
@@ -0,0 +1,273 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalatest.funsuite.AnyFunSuite
+
+import scala.util.Random
+
+class AnimationClipSuite extends AnyFunSuite {
+
+  implicit val equalityVec3f: Equality[Vec3f] = (a: Vec3f, b: Any) => b match {
+    case b: Vec3f => a.distanceTo(b) < 1e-5f
+    case _ => false
+  }
+
+  implicit val equalityQuatf: Equality[Quatf] = (a: Quatf, b: Any) => b match {
+    case b: Quatf => (a - b).length < 1e-5f
+    case _ => false
+  }
+
+  private val times = Array(0.0f, 0.5f, 1.5f, 2.0f)
+  private val translations = Array(Vec3f(0.0f, 0.0f, 0.0f), Vec3f(1.0f, 2.0f, 0.0f), Vec3f(1.0f, -1.0f, 3.0f), Vec3f(-2.0f, 0.5f, 1.0f))
+  private val rotations = Array(Quatf.Identity, Quatf(Vec3f.Up, 1.0), Quatf(Vec3f(1.0f, 1.0f, 0.0f).normalized, 2.5), Quatf(Vec3f.Right, -0.5))
+  private val scales = Array(Vec3f.One, Vec3f(2.0f, 2.0f, 2.0f), Vec3f(1.0f, 0.5f, 3.0f), Vec3f.One)
+
+  private def clip(): AnimationClip = {
+    val clip = new AnimationClip(2)
+    clip.addTrack(times, translations, rotations, scales)
+    clip.addTrack(Array(1.0f), Array(Vec3f(3.0f, 2.0f, 1.0f)), Array(Quatf(Vec3f.Forward, 0.3)), Array(Vec3f(0.5f, 0.5f, 0.5f)))
+    clip
+  }
+
+  private def translation(array: Array[Float], i: Int): Vec3f = Vec3f(array(i * 3), array(i * 3 + 1), array(i * 3 + 2))
+
+  private def rotation(array: Array[Float], i: Int): Quatf = Quatf(array(i * 4), array(i * 4 + 1), array(i * 4 + 2), array(i * 4 + 3))
+
+  private def expected(time: Float, slerp: Boolean): (Vec3f, Quatf, Vec3f) = {
+    if(time <= times.head) {
+      (translations.head, rotations.head, scales.head)
+    } else if(time >= times.last) {
+      (translations.last, rotations.last, scales.last)
+    } else {
+      val k = times.lastIndexWhere(_ <= time)
+      val w = (time - times(k)) / (times(k + 1) - times(k))
+      val r = if(slerp) rotations(k).slerp(rotations(k + 1), w) else rotations(k).nlerp(rotations(k + 1), w)
+      (translations(k).lerp(translations(k + 1), w), r, scales(k).lerp(scales(k + 1), w))
+    }
+  }
+
+  test("Construct a clip with an invalid capacity") {
+    assertThrows[IllegalArgumentException] {
+      new AnimationClip(0)
+    }
+  }
+
+  test("Add tracks to a clip") {
+    val res = new AnimationClip(2)
+    assert(res.size == 0)
+    assert(res.duration == 0.0f)
+    assert(res.addTrack(times, translations, rotations, scales) == 0)
+    assert(res.addTrack(Array(3.0f), Array(0.0f, 0.0f, 0.0f), Array(1.0f, 0.0f, 0.0f, 0.0f), Array(1.0f, 1.0f, 1.0f)) == 1)
+    assert(res.size == 2)
+    assert(res.keyCount(0) == 4)
+    assert(res.keyCount(1) == 1)
+    assert(res.duration == 3.0f)
+    assert(res.newCursors().length == 2)
+  }
+
+  test("Add many tracks to a clip") {
+    val res = new AnimationClip(1)
+    for(i <- 0 until 100) {
+      assert(res.addTrack(times, translations, rotations, scales) == i)
+    }
+    val cursors = res.newCursors()
+    val t = new Array[Float](300)
+    val r = new Array[Float](400)
+    val s = new Array[Float](300)
+    res.sample(1.0f, cursors, t, r, s)
+    for(i <- 0 until 100) {
+      assert(translation(t, i) === expected(1.0f, slerp = false)._1)
+    }
+  }
+
+  test("Add invalid tracks to a clip") {
+    val res = new AnimationClip()
+    assertThrows[IllegalArgumentException] {
+      res.addTrack(Array.empty[Float], Array.empty[Float], Array.empty[Float], Array.empty[Float])
+    }
+    assertThrows[IllegalArgumentException] {
+      res.addTrack(Array(0.0f, 0.0f), translations.take(2), rotations.take(2), scales.take(2))
+    }
+    assertThrows[IllegalArgumentException] {
+      res.addTrack(times, translations.take(3), rotations, scales)
+    }
+    assert(res.size == 0)
+  }
+
+  test("Access a track that is not in the clip") {
+    val res = clip()
+    assertThrows[IndexOutOfBoundsException] {
+      res.keyCount(2)
+    }
+    assertThrows[IndexOutOfBoundsException] {
+      res.sampleTrack(2, 0.0f, res.newCursors(), new Array[Float](9), new Array[Float](12), new Array[Float](9), slerp = false)
+    }
+  }
+
+  test("Sample a track at the times of its keys") {
+    val res = clip()
+    val cursors = res.newCursors()
+    val t = new Array[Float](6)
+    val r = new Array[Float](8)
+    val s = new Array[Float](6)
+    for(i <- times.indices) {
+      res.sampleTrack(0, times(i), cursors, t, r, s, slerp = false)
+      assert(translation(t, 0) == translations(i))
+      assert(rotation(r, 0) == rotations(i))
+      assert(translation(s, 0) == scales(i))
+    }
+  }
+
+  test("Sample a track between its keys with nlerp") {
+    val res = clip()
+    val cursors = res.newCursors()
+    val t = new Array[Float](6)
+    val r = new Array[Float](8)
+    val s = new Array[Float](6)
+    for(time <- Seq(0.1f, 0.25f, 0.7f, 1.2f, 1.75f)) {
+      res.sampleTrack(0, time, cursors, t, r, s, slerp = false)
+      val (et, er, es) = expected(time, slerp = false)
+      assert(translation(t, 0) === et)
+      assert(rotation(r, 0) === er)
+      assert(translation(s, 0) === es)
+    }
+  }
+
+  test("Sample a track between its keys with slerp") {
+    val res = clip()
+    val cursors = res.newCursors()
+    val t = new Array[Float](6)
+    val r = new Array[Float](8)
+    val s = new Array[Float](6)
+    for(time <- Seq(0.1f, 0.25f, 0.7f, 1.2f, 1.75f)) {
+      res.sampleTrack(0, time, cursors, t, r, s, slerp = true)
+      val (et, er, es) = expected(time, slerp = true)
+      assert(translation(t, 0) === et)
+      assert(rotation(r, 0) === er)
+      assert(translation(s, 0) === es)
+    }
+  }
+
+  test("Sample a track outside of its keys") {
+    val res = clip()
+    val cursors = res.newCursors()
+    val t = new Array[Float](6)
+    val r = new Array[Float](8)
+    val s = new Array[Float](6)
+    res.sampleTrack(0, -1.0f, cursors, t, r, s, slerp = false)
+    assert(translation(t, 0) == translations.head)
+    assert(rotation(r, 0) == rotations.head)
+    res.sampleTrack(0, 5.0f, cursors, t, r, s, slerp = false)
+    assert(translation(t, 0) == translations.last)
+    assert(rotation(r, 0) == rotations.last)
+    assert(translation(s, 0) == scales.last)
+  }
+
+  test("Sample a track with a single key") {
+    val res = clip()
+    val cursors = res.newCursors()
+    val t = new Array[Float](6)
+    val r = new Array[Float](8)
+    val s = new Array[Float](6)
+    for(time <- Seq(-1.0f, 1.0f, 3.0f)) {
+      res.sampleTrack(1, time, cursors, t, r, s, slerp = true)
+      assert(translation(t, 1) == Vec3f(3.0f, 2.0f, 1.0f))
+      assert(rotation(r, 1) == Quatf(Vec3f.Forward, 0.3))
+      assert(translation(s, 1) == Vec3f(0.5f, 0.5f, 0.5f))
+    }
+  }
+
+  test("Cursors follow the sampled keys") {
+    val res = clip()
+    val cursors = res.newCursors()
+    val t = new Array[Float](6)
+    val r = new Array[Float](8)
+    val s = new Array[Float](6)
+    res.sampleTrack(0, 0.7f, cursors, t, r, s, slerp = false)
+    assert(cursors(0) == 1)
+    res.sampleTrack(0, 1.9f, cursors, t, r, s, slerp = false)
+    assert(cursors(0) == 2)
+    res.sampleTrack(0, 3.0f, cursors, t, r, s, slerp = false)
+    assert(cursors(0) == 3)
+    res.sampleTrack(0, 0.2f, cursors, t, r, s, slerp = false)
+    assert(cursors(0) == 0)
+  }
+
+  test("Sequential playback gives the same result as sampling with new cursors") {
+    val random = new Random(42)
+    val res = new AnimationClip()
+    // A long track so that playback has to skip several keys at once
+    val keyTimes = Array.tabulate(200)(i => i * 0.1f)
+    res.addTrack(
+      keyTimes,
+      Array.fill(600)(random.nextFloat()),
+      Array.fill(200)(Quatf(Vec3f(random.nextFloat(), random.nextFloat(), random.nextFloat() + 0.1f).normalized, random.nextDouble() * 6.0)).flatMap(q => Array(q.w, q.x, q.y, q.z)),
+      Array.fill(600)(random.nextFloat())
+    )
+    val cursors = res.newCursors()
+    val t = new Array[Float](3)
+    val r = new Array[Float](4)
+    val s = new Array[Float](3)
+    val et = new Array[Float](3)
+    val er = new Array[Float](4)
+    val es = new Array[Float](3)
+    var time = -0.5f
+    // Play forward at different speeds, then loop back to the start
+    for(step <- Seq.fill(100)(0.013f) ++ Seq.fill(20)(0.37f) ++ Seq(-15.0f) ++ Seq.fill(50)(0.05f) ++ Seq.fill(10)(-0.07f)) {
+      time += step
+      res.sample(time, cursors, t, r, s)
+      res.sample(time, res.newCursors(), et, er, es)
+      assert(t.sameElements(et) && r.sameElements(er) && s.sameElements(es), s"at time $time")
+    }
+  }
+
+  test("Rotations are interpolated along the shortest path") {
+    val q = Quatf(Vec3f.Up, 1.0)
+    val res = new AnimationClip()
+    res.addTrack(Array(0.0f, 1.0f), Array(Vec3f.Zero, Vec3f.Zero), Array(q, -q), Array(Vec3f.One, Vec3f.One))
+    val r = new Array[Float](4)
+    for(slerp <- Seq(false, true)) {
+      res.sample(0.5f, res.newCursors(), new Array[Float](3), r, new Array[Float](3), slerp)
+      assert(rotation(r, 0) === q)
+    }
+  }
+
+  test("Sample all tracks") {
+    val res = clip()
+    val cursors = res.newCursors()
+    val t = new Array[Float](6)
+    val r = new Array[Float](8)
+    val s = new Array[Float](6)
+    res.sample(0.7f, cursors, t, r, s, slerp = true)
+    val (et, er, es) = expected(0.7f, slerp = true)
+    assert(translation(t, 0) === et)
+    assert(rotation(r, 0) === er)
+    assert(translation(s, 0) === es)
+    assert(translation(t, 1) == Vec3f(3.0f, 2.0f, 1.0f))
+  }
+
+  test("Sample a range of tracks") {
+    val res = clip()
+    val t = Array.fill(6)(Float.NaN)
+    val r = Array.fill(8)(Float.NaN)
+    val s = Array.fill(6)(Float.NaN)
+    res.sample(0.7f, res.newCursors(), t, r, s, slerp = false, 1, 1)
+    assert(t.take(3).forall(_.isNaN) && r.take(4).forall(_.isNaN) && s.take(3).forall(_.isNaN))
+    assert(translation(t, 1) == Vec3f(3.0f, 2.0f, 1.0f))
+    assertThrows[IndexOutOfBoundsException] {
+      res.sample(0.7f, res.newCursors(), t, r, s, slerp = false, 1, 2)
+    }
+  }
+
+  test("Packed and vector tracks are equal") {
+    val a = new AnimationClip()
+    a.addTrack(times, translations, rotations, scales)
+    val b = new AnimationClip()
+    b.addTrack(times, translations.flatMap(v => Array(v.x, v.y, v.z)), rotations.flatMap(q => Array(q.w, q.x, q.y, q.z)), scales.flatMap(v => Array(v.x, v.y, v.z)))
+    val ta, tb, sa, sb = new Array[Float](3)
+    val ra, rb = new Array[Float](4)
+    a.sample(1.1f, a.newCursors(), ta, ra, sa)
+    b.sample(1.1f, b.newCursors(), tb, rb, sb)
+    assert(ta.sameElements(tb) && ra.sameElements(rb) && sa.sameElements(sb))
+  }
+}
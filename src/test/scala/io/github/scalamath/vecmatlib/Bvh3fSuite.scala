@@ -0,0 +1,146 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalatest.funsuite.AnyFunSuite
+
+import scala.collection.mutable
+import scala.util.Random
+
+class Bvh3fSuite extends AnyFunSuite {
+
+  private def randomBoxes(random: Random, count: Int): Array[Aabb3f] = Array.fill(count) {
+    val min = Vec3f(random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f)
+    Aabb3f(min, min + (random.nextFloat() * 4.0f, random.nextFloat() * 4.0f, random.nextFloat() * 4.0f))
+  }
+
+  private val random = new Random(42)
+  private val boxes = randomBoxes(random, 1000)
+  private val bvh = Bvh3f(boxes)
+
+  private def collect(query: java.util.function.IntConsumer => Unit): Set[Int] = {
+    val result = mutable.ArrayBuffer.empty[Int]
+    query(i => result += i)
+    assert(result.distinct.size == result.size)
+    result.toSet
+  }
+
+  private def rayHit(box: Aabb3f, origin: Vec3f, direction: Vec3f, maxDistance: Float): Option[Float] = {
+    var tMin = 0.0f
+    var tMax = maxDistance
+    for(axis <- 0 until 3) {
+      val t1 = (box.min(axis) - origin(axis)) / direction(axis)
+      val t2 = (box.max(axis) - origin(axis)) / direction(axis)
+      tMin = math.max(tMin, math.min(t1, t2))
+      tMax = math.min(tMax, math.max(t1, t2))
+    }
+    if(tMin <= tMax) Some(tMin) else None
+  }
+
+  test("Build hierarchy") {
+    assert(bvh.size == 1000)
+    assert(bvh.nodeCount > 1 && bvh.nodeCount <= 1999)
+    assert(bvh.bounds == boxes.foldLeft(Aabb3f.Empty)(_ union _))
+    assert(bvh.box(10) == boxes(10))
+  }
+
+  test("Build hierarchy with invalid leaf size") {
+    assertThrows[IllegalArgumentException] {
+      Bvh3f(new Array[Float](6), 1, 0)
+    }
+  }
+
+  test("Build hierarchy with too few boxes") {
+    assertThrows[IllegalArgumentException] {
+      Bvh3f(new Array[Float](6), 2)
+    }
+  }
+
+  test("Query empty hierarchy") {
+    val empty = Bvh3f(Array.empty[Aabb3f])
+    assert(empty.size == 0)
+    assert(empty.bounds.isEmpty)
+    assert(empty.raycast(Vec3f.Zero, Vec3f.Right, 100.0f) == -1)
+    assert(collect(empty.queryBox(new Aabb3f(-1.0f, -1.0f, -1.0f, 1.0f, 1.0f, 1.0f), _)).isEmpty)
+  }
+
+  test("Query box") {
+    for(_ <- 0 until 20) {
+      val query = randomBoxes(random, 1).head.union(Vec3f(random.nextFloat() * 100.0f - 50.0f, 0.0f, 0.0f))
+      val expected = boxes.indices.filter(i => boxes(i).intersects(query)).toSet
+      assert(collect(bvh.queryBox(query, _)) == expected)
+    }
+  }
+
+  test("Query sphere") {
+    for(_ <- 0 until 20) {
+      val query = Sphere3f(Vec3f(random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f), random.nextFloat() * 20.0f)
+      val expected = boxes.indices.filter(i => query.intersects(boxes(i))).toSet
+      assert(collect(bvh.querySphere(query, _)) == expected)
+    }
+  }
+
+  test("Query ray") {
+    for(_ <- 0 until 20) {
+      val origin = Vec3f(random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f, -60.0f)
+      val direction = Vec3f(random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, 1.0f)
+      val expected = boxes.indices.filter(i => rayHit(boxes(i), origin, direction, 100.0f).isDefined).toSet
+      assert(collect(bvh.queryRay(origin, direction, 100.0f, _)) == expected)
+    }
+  }
+
+  test("Raycast finds the closest box") {
+    var hits = 0
+    for(_ <- 0 until 200) {
+      val origin = Vec3f(random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f, -60.0f)
+      val direction = Vec3f(random.nextFloat() * 0.2f - 0.1f, random.nextFloat() * 0.2f - 0.1f, 1.0f)
+      val distances = boxes.indices.flatMap(i => rayHit(boxes(i), origin, direction, 120.0f).map(t => (i, t)))
+      val res = bvh.raycast(origin, direction, 120.0f)
+      if(distances.isEmpty) {
+        assert(res == -1)
+      } else {
+        hits += 1
+        assert(res >= 0)
+        assert(rayHit(boxes(res), origin, direction, 120.0f).get == distances.map(_._2).min)
+      }
+    }
+    assert(hits > 0)
+  }
+
+  test("Raycast with a limited distance") {
+    val single = Bvh3f(Array(new Aabb3f(-1.0f, -1.0f, 4.0f, 1.0f, 1.0f, 6.0f)))
+    assert(single.raycast(Vec3f.Zero, Vec3f(0.0f, 0.0f, 1.0f), 10.0f) == 0)
+    assert(single.raycast(Vec3f.Zero, Vec3f(0.0f, 0.0f, 1.0f), 3.0f) == -1)
+    assert(single.raycast(Vec3f.Zero, Vec3f(0.0f, 0.0f, -1.0f), 10.0f) == -1)
+  }
+
+  test("Raycast grazing the face of a box") {
+    val single = Bvh3f(Array(new Aabb3f(0.0f, -1.0f, 4.0f, 1.0f, 1.0f, 6.0f)))
+    assert(single.raycast(Vec3f.Zero, Vec3f(0.0f, 0.0f, 1.0f), 10.0f) == 0)
+    assert(single.raycast(Vec3f(0.0f, 1.0f, 0.0f), Vec3f(0.0f, 0.0f, 1.0f), 10.0f) == 0)
+    assert(single.raycast(Vec3f(0.0f, 1.5f, 0.0f), Vec3f(0.0f, 0.0f, 1.0f), 10.0f) == -1)
+  }
+
+  test("Refit hierarchy after moving objects") {
+    val tree = Bvh3f(boxes)
+    val moved = boxes.map(b => b.transform(Mat3x4f.translation(random.nextFloat() * 10.0f, 5.0f, 0.0f)))
+    tree.refit(moved)
+    assert(tree.bounds == moved.foldLeft(Aabb3f.Empty)(_ union _))
+    for(_ <- 0 until 20) {
+      val query = Sphere3f(Vec3f(random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f), random.nextFloat() * 20.0f)
+      val expected = moved.indices.filter(i => query.intersects(moved(i))).toSet
+      assert(collect(tree.querySphere(query, _)) == expected)
+    }
+  }
+
+  test("Refit hierarchy with packed boxes") {
+    val tree = Bvh3f(Array(new Aabb3f(0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f), new Aabb3f(2.0f, 2.0f, 2.0f, 3.0f, 3.0f, 3.0f)))
+    tree.refit(Array(5.0f, 5.0f, 5.0f, 6.0f, 6.0f, 6.0f, -1.0f, -1.0f, -1.0f, 0.0f, 0.0f, 0.0f))
+    assert(tree.bounds == new Aabb3f(-1.0f, -1.0f, -1.0f, 6.0f, 6.0f, 6.0f))
+    assert(tree.box(0) == new Aabb3f(5.0f, 5.0f, 5.0f, 6.0f, 6.0f, 6.0f))
+  }
+
+  test("Build hierarchy over identical boxes") {
+    val same = Array.fill(100)(new Aabb3f(0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f))
+    val tree = Bvh3f(same)
+    assert(collect(tree.queryBox(new Aabb3f(0.5f, 0.5f, 0.5f, 0.6f, 0.6f, 0.6f), _)) == (0 until 100).toSet)
+  }
+}
@@ -0,0 +1,184 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalatest.funsuite.AnyFunSuite
+
+class DualQuatdSuite extends AnyFunSuite {
+
+  implicit val equalityDualQuatd: Equality[DualQuatd] = (a: DualQuatd, b: Any) => b match {
+    case b: DualQuatd => (a.real - b.real).length < 1e-9 && (a.dual - b.dual).length < 1e-9
+    case _ => false
+  }
+
+  implicit val equalityQuatd: Equality[Quatd] = (a: Quatd, b: Any) => b match {
+    case b: Quatd => (a - b).length < 1e-9
+    case _ => false
+  }
+
+  implicit val equalityVec3d: Equality[Vec3d] = (a: Vec3d, b: Any) => b match {
+    case b: Vec3d => a.distanceTo(b) < 1e-9
+    case _ => false
+  }
+
+  private val q = Quatd(Vec3d(1.0, 2.0, 3.0).normalized, 0.7)
+  private val t = Vec3d(1.5, -2.0, 0.5)
+  private val d = DualQuatd(t, q)
+  private val e = DualQuatd(Vec3d(-1.0, 0.5, 2.0), Quatd(Vec3d.Right, 1.2))
+  private val p = Vec3d(0.3, -1.2, 2.5)
+
+  test("Dual quaternion from translation and rotation") {
+    assert(d.real == q)
+    assert(d.rotation === q)
+    assert(d.translation === t)
+    assert(d.isNormalized)
+  }
+
+  test("Dual quaternion from translation") {
+    val res = DualQuatd.translation(t)
+    assert(res.transformPoint(p) === p + t)
+    assert(res.translation === t)
+  }
+
+  test("Dual quaternion from rotation") {
+    val res = DualQuatd.rotation(q)
+    assert(res.transformPoint(p) === q.rotate(p))
+    assert(res.translation === Vec3d.Zero)
+  }
+
+  test("Transform point") {
+    assert(d.transformPoint(p) === q.rotate(p) + t)
+    assert(d.transformPoint(p.x, p.y, p.z) === q.rotate(p) + t)
+  }
+
+  test("Transform direction") {
+    assert(d.transformDirection(p) === q.rotate(p))
+  }
+
+  test("Dual quaternion to matrix") {
+    assert(d.toMat3x4d * (p, 1.0) === d.transformPoint(p))
+  }
+
+  test("Dual quaternion from matrix") {
+    assert(DualQuatd.fromMatrix(d.toMat3x4d) === d)
+  }
+
+  test("Dual quaternion from matrix discards scaling") {
+    val m = Mat3x4d(Mat3d.rotation(q) * Mat3d.scaling(2.0, 0.5, 3.0), t)
+    assert(DualQuatd.fromMatrix(m) === d)
+  }
+
+  test("Dual quaternion from matrix with a rotation of half a turn") {
+    val m = Mat3x4d(Mat3d.rotation(Quatd(Vec3d.Up, math.Pi)), t)
+    val res = DualQuatd.fromMatrix(m)
+    assert(res.isNormalized)
+    assert(res.transformPoint(p) === m * (p, 1.0))
+  }
+
+  test("Product of two dual quaternions") {
+    assert((d * e).transformPoint(p) === d.transformPoint(e.transformPoint(p)))
+    assert((d multiply e) == d * e)
+  }
+
+  test("Sum of two dual quaternions") {
+    val res = d + e
+    assert(res.real == d.real + e.real)
+    assert(res.dual == d.dual + e.dual)
+    assert((d plus e) == res)
+  }
+
+  test("Negated dual quaternion represents the same transform") {
+    assert((-d).real == -d.real)
+    assert((-d).dual == -d.dual)
+    assert((-d).transformPoint(p) === d.transformPoint(p))
+    assert(d.negated == -d)
+  }
+
+  test("Conjugate of a unit dual quaternion is its inverse") {
+    assert(d * d.conjugate === DualQuatd.Identity)
+    assert(d.conjugate * d === DualQuatd.Identity)
+  }
+
+  test("Inverse of a dual quaternion") {
+    val res = d * 2.0
+    assert(res.inverse * res === DualQuatd.Identity)
+    assert(res * res.inverse === DualQuatd.Identity)
+  }
+
+  test("Normalize a dual quaternion") {
+    assert((d * 3.0).normalized === d)
+    assert(!(d * 3.0).isNormalized)
+    val res = DualQuatd(q, d.dual + q * 0.3).normalized
+    assert(res.isNormalized)
+    assert(res.translation === t)
+  }
+
+  test("Power of a dual quaternion") {
+    assert(d.pow(1.0) === d)
+    assert(d.pow(0.0) === DualQuatd.Identity)
+    assert(d.pow(2.0) === d * d)
+    assert(d.pow(0.5) * d.pow(0.5) === d)
+  }
+
+  test("Power of a translation") {
+    val res = DualQuatd.translation(t).pow(0.5)
+    assert(res.real == Quatd.Identity)
+    assert(res.translation === t * 0.5)
+  }
+
+  test("Screw linear interpolation") {
+    assert(d.sclerp(e, 0.0) === d)
+    assert(d.sclerp(e, 1.0) === e)
+    assert(d.sclerp(e, 0.3).isNormalized)
+  }
+
+  test("Screw linear interpolation follows a screw motion") {
+    // Rotation around the vertical axis passing through (1, 0, 0)
+    val c = Vec3d(1.0, 0.0, 0.0)
+    val to = DualQuatd.translation(c) * DualQuatd.rotation(Quatd(Vec3d.Up, math.Pi / 2.0)) * DualQuatd.translation(-c)
+    val res = DualQuatd.Identity.sclerp(to, 0.5)
+    assert(res === DualQuatd.translation(c) * DualQuatd.rotation(Quatd(Vec3d.Up, math.Pi / 4.0)) * DualQuatd.translation(-c))
+    assert(math.abs(res.transformPoint(Vec3d.Zero).distanceTo(c) - 1.0) < 1e-9)
+  }
+
+  test("Screw linear interpolation between two translations") {
+    val res = DualQuatd.translation(t).sclerp(DualQuatd.translation(-t), 0.25)
+    assert(res.translation === t * 0.5)
+  }
+
+  test("Screw linear interpolation takes the shortest path") {
+    assert(d.sclerp(-e, 0.3) === d.sclerp(e, 0.3))
+  }
+
+  test("Dual quaternion linear blending") {
+    assert(d.dlb(e, 0.0) === d)
+    assert(d.dlb(e, 1.0) === e)
+    assert(d.dlb(e, 0.4).isNormalized)
+    assert(d.dlb(-e, 0.4) === d.dlb(e, 0.4))
+  }
+
+  test("Blend an array of dual quaternions") {
+    assert(DualQuatd.blend(Array(d, e), Array(0.6, 0.4)) === d.dlb(e, 0.4))
+    assert(DualQuatd.blend(Array(d, -e), Array(0.6, 0.4)) === d.dlb(e, 0.4))
+    assert(DualQuatd.blend(Array(d), Array(1.0)) === d)
+  }
+
+  test("Blend with the wrong number of weights") {
+    assertThrows[IllegalArgumentException] {
+      DualQuatd.blend(Array(d, e), Array(1.0))
+    }
+  }
+
+  test("Equal dual quaternions have the same hash code") {
+    val a = DualQuatd(Quatd(1.0, 0.0, 0.0, 0.0), Quatd(0.0, 1.0, 0.5, -2.0))
+    val b = DualQuatd(Quatd(1.0, -0.0, 0.0, 0.0), Quatd(-0.0, 1.0, 0.5, -2.0))
+    assert(a.equals(b))
+    assert(a.hashCode() == b.hashCode())
+    assert(!a.equals(DualQuatd.Identity))
+  }
+
+  test("Double dual quaternion to float dual quaternion") {
+    val res = d.toFloat
+    assert(res.real == q.toFloat)
+    assert(res.dual == d.dual.toFloat)
+  }
+}
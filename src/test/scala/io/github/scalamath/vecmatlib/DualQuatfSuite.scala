@@ -0,0 +1,184 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalatest.funsuite.AnyFunSuite
+
+class DualQuatfSuite extends AnyFunSuite {
+
+  implicit val equalityDualQuatf: Equality[DualQuatf] = (a: DualQuatf, b: Any) => b match {
+    case b: DualQuatf => (a.real - b.real).length < 1e-4f && (a.dual - b.dual).length < 1e-4f
+    case _ => false
+  }
+
+  implicit val equalityQuatf: Equality[Quatf] = (a: Quatf, b: Any) => b match {
+    case b: Quatf => (a - b).length < 1e-4f
+    case _ => false
+  }
+
+  implicit val equalityVec3f: Equality[Vec3f] = (a: Vec3f, b: Any) => b match {
+    case b: Vec3f => a.distanceTo(b) < 1e-4f
+    case _ => false
+  }
+
+  private val q = Quatf(Vec3f(1.0f, 2.0f, 3.0f).normalized, 0.7)
+  private val t = Vec3f(1.5f, -2.0f, 0.5f)
+  private val d = DualQuatf(t, q)
+  private val e = DualQuatf(Vec3f(-1.0f, 0.5f, 2.0f), Quatf(Vec3f.Right, 1.2))
+  private val p = Vec3f(0.3f, -1.2f, 2.5f)
+
+  test("Dual quaternion from translation and rotation") {
+    assert(d.real == q)
+    assert(d.rotation === q)
+    assert(d.translation === t)
+    assert(d.isNormalized)
+  }
+
+  test("Dual quaternion from translation") {
+    val res = DualQuatf.translation(t)
+    assert(res.transformPoint(p) === p + t)
+    assert(res.translation === t)
+  }
+
+  test("Dual quaternion from rotation") {
+    val res = DualQuatf.rotation(q)
+    assert(res.transformPoint(p) === q.rotate(p))
+    assert(res.translation === Vec3f.Zero)
+  }
+
+  test("Transform point") {
+    assert(d.transformPoint(p) === q.rotate(p) + t)
+    assert(d.transformPoint(p.x, p.y, p.z) === q.rotate(p) + t)
+  }
+
+  test("Transform direction") {
+    assert(d.transformDirection(p) === q.rotate(p))
+  }
+
+  test("Dual quaternion to matrix") {
+    assert(d.toMat3x4f * (p, 1.0f) === d.transformPoint(p))
+  }
+
+  test("Dual quaternion from matrix") {
+    assert(DualQuatf.fromMatrix(d.toMat3x4f) === d)
+  }
+
+  test("Dual quaternion from matrix discards scaling") {
+    val m = Mat3x4f(Mat3f.rotation(q) * Mat3f.scaling(2.0f, 0.5f, 3.0f), t)
+    assert(DualQuatf.fromMatrix(m) === d)
+  }
+
+  test("Dual quaternion from matrix with a rotation of half a turn") {
+    val m = Mat3x4f(Mat3f.rotation(Quatf(Vec3f.Up, math.Pi)), t)
+    val res = DualQuatf.fromMatrix(m)
+    assert(res.isNormalized)
+    assert(res.transformPoint(p) === m * (p, 1.0f))
+  }
+
+  test("Product of two dual quaternions") {
+    assert((d * e).transformPoint(p) === d.transformPoint(e.transformPoint(p)))
+    assert((d multiply e) == d * e)
+  }
+
+  test("Sum of two dual quaternions") {
+    val res = d + e
+    assert(res.real == d.real + e.real)
+    assert(res.dual == d.dual + e.dual)
+    assert((d plus e) == res)
+  }
+
+  test("Negated dual quaternion represents the same transform") {
+    assert((-d).real == -d.real)
+    assert((-d).dual == -d.dual)
+    assert((-d).transformPoint(p) === d.transformPoint(p))
+    assert(d.negated == -d)
+  }
+
+  test("Conjugate of a unit dual quaternion is its inverse") {
+    assert(d * d.conjugate === DualQuatf.Identity)
+    assert(d.conjugate * d === DualQuatf.Identity)
+  }
+
+  test("Inverse of a dual quaternion") {
+    val res = d * 2.0f
+    assert(res.inverse * res === DualQuatf.Identity)
+    assert(res * res.inverse === DualQuatf.Identity)
+  }
+
+  test("Normalize a dual quaternion") {
+    assert((d * 3.0f).normalized === d)
+    assert(!(d * 3.0f).isNormalized)
+    val res = DualQuatf(q, d.dual + q * 0.3f).normalized
+    assert(res.isNormalized)
+    assert(res.translation === t)
+  }
+
+  test("Power of a dual quaternion") {
+    assert(d.pow(1.0f) === d)
+    assert(d.pow(0.0f) === DualQuatf.Identity)
+    assert(d.pow(2.0f) === d * d)
+    assert(d.pow(0.5f) * d.pow(0.5f) === d)
+  }
+
+  test("Power of a translation") {
+    val res = DualQuatf.translation(t).pow(0.5f)
+    assert(res.real == Quatf.Identity)
+    assert(res.translation === t * 0.5f)
+  }
+
+  test("Screw linear interpolation") {
+    assert(d.sclerp(e, 0.0f) === d)
+    assert(d.sclerp(e, 1.0f) === e)
+    assert(d.sclerp(e, 0.3f).isNormalized)
+  }
+
+  test("Screw linear interpolation follows a screw motion") {
+    // Rotation around the vertical axis passing through (1, 0, 0)
+    val c = Vec3f(1.0f, 0.0f, 0.0f)
+    val to = DualQuatf.translation(c) * DualQuatf.rotation(Quatf(Vec3f.Up, math.Pi / 2.0)) * DualQuatf.translation(-c)
+    val res = DualQuatf.Identity.sclerp(to, 0.5f)
+    assert(res === DualQuatf.translation(c) * DualQuatf.rotation(Quatf(Vec3f.Up, math.Pi / 4.0)) * DualQuatf.translation(-c))
+    assert(math.abs(res.transformPoint(Vec3f.Zero).distanceTo(c) - 1.0f) < 1e-5f)
+  }
+
+  test("Screw linear interpolation between two translations") {
+    val res = DualQuatf.translation(t).sclerp(DualQuatf.translation(-t), 0.25f)
+    assert(res.translation === t * 0.5f)
+  }
+
+  test("Screw linear interpolation takes the shortest path") {
+    assert(d.sclerp(-e, 0.3f) === d.sclerp(e, 0.3f))
+  }
+
+  test("Dual quaternion linear blending") {
+    assert(d.dlb(e, 0.0f) === d)
+    assert(d.dlb(e, 1.0f) === e)
+    assert(d.dlb(e, 0.4f).isNormalized)
+    assert(d.dlb(-e, 0.4f) === d.dlb(e, 0.4f))
+  }
+
+  test("Blend an array of dual quaternions") {
+    assert(DualQuatf.blend(Array(d, e), Array(0.6f, 0.4f)) === d.dlb(e, 0.4f))
+    assert(DualQuatf.blend(Array(d, -e), Array(0.6f, 0.4f)) === d.dlb(e, 0.4f))
+    assert(DualQuatf.blend(Array(d), Array(1.0f)) === d)
+  }
+
+  test("Blend with the wrong number of weights") {
+    assertThrows[IllegalArgumentException] {
+      DualQuatf.blend(Array(d, e), Array(1.0f))
+    }
+  }
+
+  test("Equal dual quaternions have the same hash code") {
+    val a = DualQuatf(Quatf(1.0f, 0.0f, 0.0f, 0.0f), Quatf(0.0f, 1.0f, 0.5f, -2.0f))
+    val b = DualQuatf(Quatf(1.0f, -0.0f, 0.0f, 0.0f), Quatf(-0.0f, 1.0f, 0.5f, -2.0f))
+    assert(a.equals(b))
+    assert(a.hashCode() == b.hashCode())
+    assert(!a.equals(DualQuatf.Identity))
+  }
+
+  test("Float dual quaternion to double dual quaternion") {
+    val res = d.toDouble
+    assert(res.real == q.toDouble)
+    assert(res.dual == d.dual.toDouble)
+  }
+}
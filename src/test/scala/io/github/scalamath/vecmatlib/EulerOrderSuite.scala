@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import org.scalactic.Equality
 import org.scalatest.funsuite.AnyFunSuite
 
+import scala.util.Random
+
 class EulerOrderSuite extends AnyFunSuite {
 
   // https://www.andre-gaschler.com/rotationconverter/
@@ -88,4 +90,105 @@ class EulerOrderSuite extends AnyFunSuite {
     val euler = Vec3d(math.Pi / 6.0, math.Pi / 4.0, math.Pi / 3.0)
     assert(euler === EulerOrder.ZYX.toEulerAngles(quaternion))
   }
+
+  private val random = new Random(42)
+  // Angles within the range in which the conversion from quaternions is unique
+  private val angles = Array.fill(300)(Vec3d(random.nextDouble() * 6.0 - 3.0, random.nextDouble() * 3.0 - 1.5, random.nextDouble() * 6.0 - 3.0))
+
+  private def anglesFor(order: EulerOrder): Array[Vec3d] = {
+    // The second rotation of each order must be within half a turn
+    val middle = order match {
+      case EulerOrder.XYZ | EulerOrder.ZYX => 1
+      case EulerOrder.XZY | EulerOrder.YZX => 2
+      case EulerOrder.YXZ | EulerOrder.ZXY => 0
+    }
+    angles.map(a => middle match {
+      case 0 => Vec3d(a.y, a.x, a.z)
+      case 1 => a
+      case 2 => Vec3d(a.x, a.z, a.y)
+    })
+  }
+
+  for(order <- EulerOrder.values()) {
+    test(s"Float euler angles to quaternion in $order order") {
+      for(a <- anglesFor(order)) {
+        val expected = order.toQuaternion(a)
+        val res = order.toQuaternion(a.toFloat)
+        assert((res.toDouble - expected).length < 1e-6, s"angles $a")
+      }
+    }
+
+    test(s"Float quaternion to euler angles in $order order") {
+      for(a <- anglesFor(order)) {
+        val res = order.toEulerAngles(order.toQuaternion(a).toFloat)
+        assert(res.toDouble.distanceTo(a) < 1e-5, s"angles $a")
+      }
+    }
+
+    test(s"Float conversions agree with double conversions in $order order") {
+      val q = Quatf(Vec3f(1.0f, -2.0f, 0.5f).normalized, 2.0)
+      assert(order.toEulerAngles(q).toDouble.distanceTo(order.toEulerAngles(q.toDouble)) < 1e-5)
+    }
+
+    test(s"Batch euler angles to quaternions in $order order") {
+      val packed = anglesFor(order).flatMap(a => Array(a.x, a.y, a.z))
+      val dst = new Array[Double](angles.length * 4)
+      order.toQuaternions(packed, dst, 0, angles.length)
+      for((a, i) <- anglesFor(order).zipWithIndex) {
+        assert(Quatd(dst(i * 4), dst(i * 4 + 1), dst(i * 4 + 2), dst(i * 4 + 3)) === order.toQuaternion(a))
+      }
+    }
+
+    test(s"Batch float euler angles to quaternions in $order order") {
+      val packed = anglesFor(order).flatMap(a => Array(a.x.toFloat, a.y.toFloat, a.z.toFloat))
+      val dst = new Array[Float](angles.length * 4)
+      order.toQuaternions(packed, dst, 0, angles.length)
+      for(i <- angles.indices) {
+        val expected = order.toQuaternion(packed(i * 3), packed(i * 3 + 1), packed(i * 3 + 2))
+        assert(Quatf(dst(i * 4), dst(i * 4 + 1), dst(i * 4 + 2), dst(i * 4 + 3)) == expected)
+      }
+    }
+
+    test(s"Batch quaternions to euler angles in $order order") {
+      val packed = anglesFor(order).flatMap(a => {
+        val q = order.toQuaternion(a)
+        Array(q.w, q.x, q.y, q.z)
+      })
+      val dst = new Array[Double](angles.length * 3)
+      order.toEulerAngles(packed, dst, 0, angles.length)
+      for((a, i) <- anglesFor(order).zipWithIndex) {
+        assert(Vec3d(dst(i * 3), dst(i * 3 + 1), dst(i * 3 + 2)).distanceTo(a) < 1e-9)
+      }
+    }
+
+    test(s"Batch float quaternions to euler angles in $order order") {
+      val packed = anglesFor(order).flatMap(a => {
+        val q = order.toQuaternion(a).toFloat
+        Array(q.w, q.x, q.y, q.z)
+      })
+      val dst = new Array[Float](angles.length * 3)
+      order.toEulerAngles(packed, dst, 0, angles.length)
+      for(i <- angles.indices) {
+        val expected = order.toEulerAngles(Quatf(packed(i * 4), packed(i * 4 + 1), packed(i * 4 + 2), packed(i * 4 + 3)))
+        assert(Vec3f(dst(i * 3), dst(i * 3 + 1), dst(i * 3 + 2)) == expected)
+      }
+    }
+
+    test(s"Float quaternion in gimbal lock to euler angles in $order order") {
+      val res = order.toEulerAngles(order.toQuaternion(Vec3d(math.Pi / 2.0, math.Pi / 2.0, math.Pi / 2.0)).toFloat)
+      assert(!res.x.isNaN && !res.y.isNaN && !res.z.isNaN)
+    }
+  }
+
+  test("Batch conversions only write the given range") {
+    val angles = Array.fill(12)(0.5f)
+    val quaternions = Array.fill(16)(Float.NaN)
+    EulerOrder.XYZ.toQuaternions(angles, quaternions, 1, 2)
+    assert(quaternions.take(4).forall(_.isNaN) && quaternions.drop(12).forall(_.isNaN))
+    assert(quaternions.slice(4, 12).forall(!_.isNaN))
+    val res = Array.fill(12)(Float.NaN)
+    EulerOrder.XYZ.toEulerAngles(quaternions, res, 1, 2)
+    assert(res.take(3).forall(_.isNaN) && res.drop(9).forall(_.isNaN))
+    assert(res.slice(3, 9).forall(a => math.abs(a - 0.5f) < 1e-5f))
+  }
 }
@@ -0,0 +1,173 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalactic.Tolerance.convertNumericToPlusOrMinusWrapper
+import org.scalatest.funsuite.AnyFunSuite
+
+import scala.util.Random
+
+class FrustumSuite extends AnyFunSuite {
+
+  implicit val equalityVec3f: Equality[Vec3f] = (a: Vec3f, b: Any) => b match {
+    case b: Vec3f => a ~= b
+    case _ => false
+  }
+
+  implicit val equalityVec4f: Equality[Vec4f] = (a: Vec4f, b: Any) => b match {
+    case b: Vec4f => a ~= b
+    case _ => false
+  }
+
+  // 90 degrees field of view looking down the negative z axis
+  private val perspective = Frustum(Mat4f.perspectiveProjection(math.Pi / 4.0, 1.0f, 1.0f, 100.0f))
+  private val orthographic = Frustum(Mat4f.orthographicProjection(-2.0f, 2.0f, -1.0f, 1.0f, 1.0f, 10.0f))
+
+  test("Extract planes from a perspective projection") {
+    val s = math.sqrt(0.5).toFloat
+    assert(perspective.plane(Frustum.Left) === Vec4f(s, 0.0f, -s, 0.0f))
+    assert(perspective.plane(Frustum.Right) === Vec4f(-s, 0.0f, -s, 0.0f))
+    assert(perspective.plane(Frustum.Bottom) === Vec4f(0.0f, s, -s, 0.0f))
+    assert(perspective.plane(Frustum.Top) === Vec4f(0.0f, -s, -s, 0.0f))
+    assert(perspective.plane(Frustum.Near) === Vec4f(0.0f, 0.0f, -1.0f, -1.0f))
+    assert(perspective.plane(Frustum.Far).xyz === Vec3f(0.0f, 0.0f, 1.0f))
+    assert(perspective.plane(Frustum.Far).w === 100.0f +- 0.001f)
+  }
+
+  test("Extract planes from an orthographic projection") {
+    assert(orthographic.plane(Frustum.Left) === Vec4f(1.0f, 0.0f, 0.0f, 2.0f))
+    assert(orthographic.plane(Frustum.Right) === Vec4f(-1.0f, 0.0f, 0.0f, 2.0f))
+    assert(orthographic.plane(Frustum.Bottom) === Vec4f(0.0f, 1.0f, 0.0f, 1.0f))
+    assert(orthographic.plane(Frustum.Top) === Vec4f(0.0f, -1.0f, 0.0f, 1.0f))
+    assert(orthographic.plane(Frustum.Near) === Vec4f(0.0f, 0.0f, -1.0f, -1.0f))
+    assert(orthographic.plane(Frustum.Far) === Vec4f(0.0f, 0.0f, 1.0f, 10.0f))
+  }
+
+  test("Get plane with invalid index") {
+    assertThrows[IllegalArgumentException] {
+      perspective.plane(6)
+    }
+  }
+
+  test("Point inside perspective frustum") {
+    assert(perspective.containsPoint(Vec3f(0.0f, 0.0f, -5.0f)))
+    assert(perspective.containsPoint(Vec3f(4.0f, -4.0f, -5.0f)))
+  }
+
+  test("Point outside perspective frustum") {
+    assert(!perspective.containsPoint(Vec3f(0.0f, 0.0f, 5.0f)))
+    assert(!perspective.containsPoint(Vec3f(0.0f, 0.0f, -0.5f)))
+    assert(!perspective.containsPoint(Vec3f(0.0f, 0.0f, -101.0f)))
+    assert(!perspective.containsPoint(Vec3f(6.0f, 0.0f, -5.0f)))
+  }
+
+  test("Point inside a translated frustum") {
+    val frustum = Frustum(Mat4f.perspectiveProjection(math.Pi / 4.0, 1.0f, 1.0f, 100.0f) * Mat4f.translation(0.0f, 0.0f, -10.0f))
+    assert(frustum.containsPoint(Vec3f.Zero))
+    assert(!frustum.containsPoint(Vec3f(0.0f, 0.0f, -95.0f)))
+  }
+
+  test("Sphere intersects perspective frustum") {
+    assert(perspective.intersectsSphere(Vec3f(0.0f, 0.0f, -5.0f), 1.0f))
+    assert(perspective.intersectsSphere(Vec3f(6.0f, 0.0f, -5.0f), 2.0f))
+    assert(perspective.intersectsSphere(Vec3f(0.0f, 0.0f, -0.5f), 1.0f))
+  }
+
+  test("Sphere outside perspective frustum") {
+    assert(!perspective.intersectsSphere(Vec3f(6.0f, 0.0f, -5.0f), 0.5f))
+    assert(!perspective.intersectsSphere(Vec3f(0.0f, 0.0f, 5.0f), 1.0f))
+  }
+
+  test("Box intersects orthographic frustum") {
+    assert(orthographic.intersectsAabb(Vec3f(-0.5f, -0.5f, -3.0f), Vec3f(0.5f, 0.5f, -2.0f)))
+    assert(orthographic.intersectsAabb(Vec3f(1.5f, -0.5f, -3.0f), Vec3f(2.5f, 0.5f, -2.0f)))
+    assert(orthographic.intersectsAabb(Vec3f(-5.0f, -5.0f, -20.0f), Vec3f(5.0f, 5.0f, 0.0f)))
+  }
+
+  test("Box outside orthographic frustum") {
+    assert(!orthographic.intersectsAabb(Vec3f(2.5f, -0.5f, -3.0f), Vec3f(3.5f, 0.5f, -2.0f)))
+    assert(!orthographic.intersectsAabb(Vec3f(-0.5f, -0.5f, -12.0f), Vec3f(0.5f, 0.5f, -11.0f)))
+  }
+
+  private val random = new Random(42)
+  private val size = 200
+  private val offset = 5
+  private val count = 190
+  private val spheres = Array.tabulate(size * 4)(i => if(i % 4 == 3) random.nextFloat() * 2.0f else random.nextFloat() * 40.0f - 20.0f)
+  private val boxes = {
+    val res = new Array[Float](size * 6)
+    for(i <- 0 until size) {
+      for(j <- 0 until 3) {
+        res(i * 6 + j) = random.nextFloat() * 40.0f - 20.0f
+        res(i * 6 + j + 3) = res(i * 6 + j) + random.nextFloat() * 3.0f
+      }
+    }
+    res
+  }
+
+  private def bit(result: Array[Long], i: Int): Boolean = (result(i / 64) & (1L << (i % 64))) != 0
+
+  test("Cull packed spheres") {
+    val result = Array.fill(4)(-1L)
+    val visible = perspective.cullSpheres(spheres, offset, count, result)
+    var expected = 0
+    for(i <- 0 until size) {
+      if(i >= offset && i < offset + count) {
+        val s = perspective.intersectsSphere(spheres(i * 4), spheres(i * 4 + 1), spheres(i * 4 + 2), spheres(i * 4 + 3))
+        assert(bit(result, i) == s)
+        if(s) expected += 1
+      } else {
+        assert(bit(result, i))
+      }
+    }
+    assert(visible == expected)
+    assert(visible > 0 && visible < count)
+  }
+
+  test("Cull packed boxes") {
+    val result = new Array[Long](4)
+    val visible = perspective.cullAabbs(boxes, offset, count, result)
+    var expected = 0
+    for(i <- 0 until size) {
+      if(i >= offset && i < offset + count) {
+        val b = perspective.intersectsAabb(boxes(i * 6), boxes(i * 6 + 1), boxes(i * 6 + 2), boxes(i * 6 + 3), boxes(i * 6 + 4), boxes(i * 6 + 5))
+        assert(bit(result, i) == b)
+        if(b) expected += 1
+      } else {
+        assert(!bit(result, i))
+      }
+    }
+    assert(visible == expected)
+    assert(visible > 0 && visible < count)
+  }
+
+  test("Cull packed spheres remembering the rejecting plane") {
+    val result = new Array[Long](4)
+    val lastPlanes = new Array[Byte](size)
+    val visible = perspective.cullSpheres(spheres, offset, count, result, lastPlanes)
+    assert(visible == perspective.cullSpheres(spheres, offset, count, new Array[Long](4)))
+    for(i <- offset until offset + count if !bit(result, i)) {
+      val plane = perspective.plane(lastPlanes(i))
+      assert(plane.xyz.dot(spheres(i * 4), spheres(i * 4 + 1), spheres(i * 4 + 2)) + plane.w < -spheres(i * 4 + 3))
+    }
+    // Culling again starting from the remembered planes gives the same result
+    val again = new Array[Long](4)
+    assert(perspective.cullSpheres(spheres, offset, count, again, lastPlanes) == visible)
+    assert(again sameElements result)
+  }
+
+  test("Cull packed boxes remembering the rejecting plane") {
+    val result = new Array[Long](4)
+    val lastPlanes = Array.fill[Byte](size)(Frustum.Far.toByte)
+    val visible = perspective.cullAabbs(boxes, offset, count, result, lastPlanes)
+    assert(visible == perspective.cullAabbs(boxes, offset, count, new Array[Long](4)))
+    for(i <- offset until offset + count if !bit(result, i)) {
+      val b = boxes.slice(i * 6, i * 6 + 6)
+      val plane = perspective.plane(lastPlanes(i))
+      val corner = Vec3f(if(plane.x >= 0.0f) b(3) else b(0), if(plane.y >= 0.0f) b(4) else b(1), if(plane.z >= 0.0f) b(5) else b(2))
+      assert(plane.xyz.dot(corner) + plane.w < 0.0f)
+    }
+    val again = new Array[Long](4)
+    assert(perspective.cullAabbs(boxes, offset, count, again, lastPlanes) == visible)
+    assert(again sameElements result)
+  }
+}
@@ -0,0 +1,142 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalatest.funsuite.AnyFunSuite
+
+import java.util.concurrent.ForkJoinPool
+import scala.collection.mutable
+import scala.util.Random
+
+class KdTree2dSuite extends AnyFunSuite {
+
+  private val random = new Random(42)
+  private val points = Array.fill(20000)(Vec2d(random.nextDouble() * 100.0 - 50.0, random.nextDouble() * 100.0 - 50.0))
+  private val tree = KdTree2d(points)
+  private val queries = Array.fill(100)(Vec2d(random.nextDouble() * 120.0 - 60.0, random.nextDouble() * 120.0 - 60.0))
+
+  private def sortedByDistance(p: Vec2d): Array[Int] = points.indices.sortBy(i => points(i) distanceSquaredTo p).toArray
+
+  test("Build tree") {
+    assert(tree.size == 20000)
+  }
+
+  test("Build tree with too few points") {
+    assertThrows[IllegalArgumentException] {
+      KdTree2d(new Array[Double](4), 3)
+    }
+  }
+
+  test("Query empty tree") {
+    val empty = KdTree2d(Array.empty[Vec2d])
+    assert(empty.size == 0)
+    assert(empty.nearest(Vec2d.Zero) == -1)
+    assert(empty.nearest(Vec2d.Zero, 3, new Array[Int](3), new Array[Double](3)) == 0)
+    assert(empty.queryRadius(Vec2d.Zero, 10.0, new Array[Int](3)) == 0)
+  }
+
+  test("Build tree in a pool matches linear scan") {
+    val pool = new ForkJoinPool(4)
+    try {
+      val data = points.flatMap(p => Array(p.x, p.y))
+      val parallel = KdTree2d(data, points.length, pool)
+      // The points are above the parallel threshold, so the tree is compared against a linear scan rather than another build
+      for(q <- queries) {
+        val expected = points.indices.minBy(i => points(i) distanceSquaredTo q)
+        assert((points(parallel.nearest(q)) distanceSquaredTo q) == (points(expected) distanceSquaredTo q))
+      }
+    } finally {
+      pool.shutdown()
+    }
+  }
+
+  test("Build tree from a buffer") {
+    val buffer = new Vec2dBuffer(points.length)
+    for(i <- points.indices) {
+      buffer(i) = points(i)
+    }
+    val fromBuffer = KdTree2d(buffer)
+    assert(fromBuffer.nearest(queries(0)) == tree.nearest(queries(0)))
+  }
+
+  test("Nearest point matches linear scan") {
+    for(q <- queries) {
+      val expected = points.indices.minBy(i => points(i) distanceSquaredTo q)
+      assert((points(tree.nearest(q)) distanceSquaredTo q) == (points(expected) distanceSquaredTo q))
+    }
+  }
+
+  test("Nearest point of a point in the tree") {
+    assert(tree.nearest(points(1234)) == 1234)
+  }
+
+  test("K nearest points match linear scan") {
+    val result = new Array[Int](10)
+    val distances = new Array[Double](10)
+    for(q <- queries) {
+      assert(tree.nearest(q, 10, result, distances) == 10)
+      val expected = sortedByDistance(q).take(10)
+      assert(result.distinct.length == 10)
+      for(i <- 0 until 10) {
+        assert(distances(i) == (points(result(i)) distanceSquaredTo q))
+        assert(distances(i) == (points(expected(i)) distanceSquaredTo q))
+      }
+    }
+  }
+
+  test("K nearest points with k greater than the size of the tree") {
+    val small = KdTree2d(points.take(5))
+    val result = new Array[Int](8)
+    assert(small.nearest(Vec2d.Zero, 8, result, new Array[Double](8)) == 5)
+    assert(result.take(5).toSeq == sortedByDistance(Vec2d.Zero).filter(_ < 5).toSeq)
+  }
+
+  test("K nearest points with arrays that are too small") {
+    assertThrows[IllegalArgumentException] {
+      tree.nearest(Vec2d.Zero, 4, new Array[Int](3), new Array[Double](4))
+    }
+  }
+
+  test("Approximate nearest points") {
+    val result = new Array[Int](5)
+    val distances = new Array[Double](5)
+    val exact = new Array[Double](5)
+    for(q <- queries) {
+      assert(tree.approximateNearest(q, 5, result, distances, 1) == 5)
+      tree.nearest(q, 5, new Array[Int](5), exact)
+      for(i <- 0 until 5) {
+        assert(distances(i) >= exact(i))
+        assert(distances(i) == (points(result(i)) distanceSquaredTo q))
+      }
+      assert(result.distinct.length == 5)
+    }
+  }
+
+  test("Approximate nearest points with unlimited visits are exact") {
+    val distances = new Array[Double](5)
+    val expected = new Array[Double](5)
+    for(q <- queries) {
+      tree.approximateNearest(q, 5, new Array[Int](5), distances, Int.MaxValue)
+      tree.nearest(q, 5, new Array[Int](5), expected)
+      assert(distances.toSeq == expected.toSeq)
+    }
+  }
+
+  test("Query radius matches linear scan") {
+    for(q <- queries) {
+      val found = mutable.ArrayBuffer.empty[Int]
+      tree.queryRadius(q, 4.0, i => found += i)
+      val expected = points.indices.filter(i => (points(i) distanceSquaredTo q) <= 16.0)
+      assert(found.sorted == expected)
+    }
+  }
+
+  test("Query radius into an array") {
+    val q = queries(0)
+    val expected = points.indices.filter(i => (points(i) distanceSquaredTo q) <= 100.0)
+    val result = new Array[Int](expected.length + 1)
+    assert(tree.queryRadius(q, 10.0, result) == expected.length)
+    assert(result.take(expected.length).sorted.toSeq == expected)
+    val small = new Array[Int](2)
+    assert(tree.queryRadius(q, 10.0, small) == expected.length)
+    assert(small.forall(expected.contains))
+  }
+}
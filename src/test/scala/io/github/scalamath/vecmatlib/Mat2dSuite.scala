@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import org.scalactic.Equality
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, DoubleBuffer}
+
 class Mat2dSuite extends AnyFunSuite {
 
   implicit val equalityMat2d: Equality[Mat2d] = (a: Mat2d, b: Any) => b match {
@@ -274,4 +276,83 @@ class Mat2dSuite extends AnyFunSuite {
   }
 
   // TODO: Shearing
+
+  test("Write to and read from a double buffer") {
+    val a = Mat2d(1.0, -2.0, 3.0, 4.0)
+    val buffer = DoubleBuffer.allocate(6)
+    a.writeTo(buffer, 2, false)
+    assert(buffer.get(2) == a.m00)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat2d.readFrom(buffer, 2, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Mat2d(1.0, -2.0, 3.0, 4.0)
+    val buffer = ByteBuffer.allocateDirect(40).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 8, false)
+    assert(buffer.getDouble(8) == a.m00)
+    assert(buffer.getDouble(16) == a.m01)
+    assert(Mat2d.readFrom(buffer, 8, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a double buffer in column-major order") {
+    val a = Mat2d(1.0, -2.0, 3.0, 4.0)
+    val buffer = DoubleBuffer.allocate(4)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.get(0) == a.m00)
+    assert(buffer.get(1) == a.m10)
+    assert(buffer.get(2) == a.m01)
+    assert(Mat2d.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write to and read from a byte buffer in column-major order") {
+    val a = Mat2d(1.0, -2.0, 3.0, 4.0)
+    val buffer = ByteBuffer.allocate(32)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.getDouble(8) == a.m10)
+    assert(Mat2d.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write and read arrays of matrices with a double buffer") {
+    val array = Array(Mat2d(1.0, -2.0, 3.0, 4.0), Mat2d(2.0, -3.0, 4.0, -5.0))
+    val buffer = DoubleBuffer.allocate(9)
+    Mat2d.writeAll(array, buffer, 1, true)
+    assert(Mat2d.readFrom(buffer, 5, true) == array(1))
+    assert(Mat2d.readAll(buffer, 1, 2, true) sameElements array)
+  }
+
+  test("Write and read arrays of matrices with a byte buffer") {
+    val array = Array(Mat2d(1.0, -2.0, 3.0, 4.0), Mat2d(2.0, -3.0, 4.0, -5.0))
+    val buffer = ByteBuffer.allocateDirect(72).order(ByteOrder.nativeOrder())
+    Mat2d.writeAll(array, buffer, 8, true)
+    assert(Mat2d.readFrom(buffer, 40, true) == array(1))
+    assert(Mat2d.readAll(buffer, 8, 2, true) sameElements array)
+  }
+
+  test("Matrix to a power computed by repeated squaring") {
+    val m = Mat2d(1.0, 1.0, 1.0, 0.0)
+    assert(m.power(5) == m * m * m * m * m)
+    assert(m.power(8) == m * m * m * m * m * m * m * m)
+  }
+
+  test("Matrix to a large power") {
+    val m = Mat2d(-1.0, 0.0, 0.0, 0.5)
+    assert(m.power(Int.MaxValue) == Mat2d(-1.0, 0.0, 0.0, 0.0))
+    assert(Mat2d(-1.0, 0.0, 0.0, 2.0).power(Int.MinValue) == Mat2d(1.0, 0.0, 0.0, 0.0))
+  }
+
+  test("Raise packed matrices to a power") {
+    val matrices = Array(Mat2d(1.0, 1.0, 1.0, 0.0), Mat2d(-1.0, 0.0, 0.0, 0.5), Mat2d.Identity)
+    val src = matrices.flatMap(m => Array(m.m00, m.m01, m.m10, m.m11))
+    val dst = Array.fill(12)(Double.NaN)
+    Mat2d.powerPacked(src, 3, dst, 1, 2)
+    assert(dst.take(4).forall(_.isNaN))
+    assert(Mat2d(dst(4), dst(5), dst(6), dst(7)) == matrices(1).power(3))
+    Mat2d.powerPacked(src, Array(0, -2, 7), src, 0, 3)
+    assert(Mat2d(src(0), src(1), src(2), src(3)) == Mat2d.Identity)
+    assert(Mat2d(src(4), src(5), src(6), src(7)) == matrices(1).power(-2))
+    assert(Mat2d(src(8), src(9), src(10), src(11)) == Mat2d.Identity)
+  }
 }
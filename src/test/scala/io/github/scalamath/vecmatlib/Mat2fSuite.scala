@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import org.scalactic.Equality
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, FloatBuffer}
+
 class Mat2fSuite extends AnyFunSuite {
 
   implicit val equalityMat2f: Equality[Mat2f] = (a: Mat2f, b: Any) => b match {
@@ -274,4 +276,83 @@ class Mat2fSuite extends AnyFunSuite {
   }
 
   // TODO: Shearing
+
+  test("Write to and read from a float buffer") {
+    val a = Mat2f(1.0f, -2.0f, 3.0f, 4.0f)
+    val buffer = FloatBuffer.allocate(6)
+    a.writeTo(buffer, 2, false)
+    assert(buffer.get(2) == a.m00)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat2f.readFrom(buffer, 2, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Mat2f(1.0f, -2.0f, 3.0f, 4.0f)
+    val buffer = ByteBuffer.allocateDirect(20).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4, false)
+    assert(buffer.getFloat(4) == a.m00)
+    assert(buffer.getFloat(8) == a.m01)
+    assert(Mat2f.readFrom(buffer, 4, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a float buffer in column-major order") {
+    val a = Mat2f(1.0f, -2.0f, 3.0f, 4.0f)
+    val buffer = FloatBuffer.allocate(4)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.get(0) == a.m00)
+    assert(buffer.get(1) == a.m10)
+    assert(buffer.get(2) == a.m01)
+    assert(Mat2f.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write to and read from a byte buffer in column-major order") {
+    val a = Mat2f(1.0f, -2.0f, 3.0f, 4.0f)
+    val buffer = ByteBuffer.allocate(16)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.getFloat(4) == a.m10)
+    assert(Mat2f.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write and read arrays of matrices with a float buffer") {
+    val array = Array(Mat2f(1.0f, -2.0f, 3.0f, 4.0f), Mat2f(2.0f, -3.0f, 4.0f, -5.0f))
+    val buffer = FloatBuffer.allocate(9)
+    Mat2f.writeAll(array, buffer, 1, true)
+    assert(Mat2f.readFrom(buffer, 5, true) == array(1))
+    assert(Mat2f.readAll(buffer, 1, 2, true) sameElements array)
+  }
+
+  test("Write and read arrays of matrices with a byte buffer") {
+    val array = Array(Mat2f(1.0f, -2.0f, 3.0f, 4.0f), Mat2f(2.0f, -3.0f, 4.0f, -5.0f))
+    val buffer = ByteBuffer.allocateDirect(36).order(ByteOrder.nativeOrder())
+    Mat2f.writeAll(array, buffer, 4, true)
+    assert(Mat2f.readFrom(buffer, 20, true) == array(1))
+    assert(Mat2f.readAll(buffer, 4, 2, true) sameElements array)
+  }
+
+  test("Matrix to a power computed by repeated squaring") {
+    val m = Mat2f(1.0f, 1.0f, 1.0f, 0.0f)
+    assert(m.power(5) == m * m * m * m * m)
+    assert(m.power(8) == m * m * m * m * m * m * m * m)
+  }
+
+  test("Matrix to a large power") {
+    val m = Mat2f(-1.0f, 0.0f, 0.0f, 0.5f)
+    assert(m.power(Int.MaxValue) == Mat2f(-1.0f, 0.0f, 0.0f, 0.0f))
+    assert(Mat2f(-1.0f, 0.0f, 0.0f, 2.0f).power(Int.MinValue) == Mat2f(1.0f, 0.0f, 0.0f, 0.0f))
+  }
+
+  test("Raise packed matrices to a power") {
+    val matrices = Array(Mat2f(1.0f, 1.0f, 1.0f, 0.0f), Mat2f(-1.0f, 0.0f, 0.0f, 0.5f), Mat2f.Identity)
+    val src = matrices.flatMap(m => Array(m.m00, m.m01, m.m10, m.m11))
+    val dst = Array.fill(12)(Float.NaN)
+    Mat2f.powerPacked(src, 3, dst, 1, 2)
+    assert(dst.take(4).forall(_.isNaN))
+    assert(Mat2f(dst(4), dst(5), dst(6), dst(7)) == matrices(1).power(3))
+    Mat2f.powerPacked(src, Array(0, -2, 7), src, 0, 3)
+    assert(Mat2f(src(0), src(1), src(2), src(3)) == Mat2f.Identity)
+    assert(Mat2f(src(4), src(5), src(6), src(7)) == matrices(1).power(-2))
+    assert(Mat2f(src(8), src(9), src(10), src(11)) == Mat2f.Identity)
+  }
 }
@@ -2,6 +2,8 @@ package io.github.scalamath.vecmatlib
 
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, IntBuffer}
+
 class Mat2iSuite extends AnyFunSuite {
 
   test("Sum of two matrices") {
@@ -189,4 +191,74 @@ class Mat2iSuite extends AnyFunSuite {
     val c1 = Vec2i(2, 4)
     assert(Mat2i.fromColumns(c0, c1) == m)
   }
+
+  test("Write to and read from a int buffer") {
+    val a = Mat2i(1, -2, 3, 4)
+    val buffer = IntBuffer.allocate(6)
+    a.writeTo(buffer, 2, false)
+    assert(buffer.get(2) == a.m00)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat2i.readFrom(buffer, 2, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Mat2i(1, -2, 3, 4)
+    val buffer = ByteBuffer.allocateDirect(20).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4, false)
+    assert(buffer.getInt(4) == a.m00)
+    assert(buffer.getInt(8) == a.m01)
+    assert(Mat2i.readFrom(buffer, 4, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a int buffer in column-major order") {
+    val a = Mat2i(1, -2, 3, 4)
+    val buffer = IntBuffer.allocate(4)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.get(0) == a.m00)
+    assert(buffer.get(1) == a.m10)
+    assert(buffer.get(2) == a.m01)
+    assert(Mat2i.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write to and read from a byte buffer in column-major order") {
+    val a = Mat2i(1, -2, 3, 4)
+    val buffer = ByteBuffer.allocate(16)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.getInt(4) == a.m10)
+    assert(Mat2i.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write and read arrays of matrices with a int buffer") {
+    val array = Array(Mat2i(1, -2, 3, 4), Mat2i(2, -3, 4, -5))
+    val buffer = IntBuffer.allocate(9)
+    Mat2i.writeAll(array, buffer, 1, true)
+    assert(Mat2i.readFrom(buffer, 5, true) == array(1))
+    assert(Mat2i.readAll(buffer, 1, 2, true) sameElements array)
+  }
+
+  test("Write and read arrays of matrices with a byte buffer") {
+    val array = Array(Mat2i(1, -2, 3, 4), Mat2i(2, -3, 4, -5))
+    val buffer = ByteBuffer.allocateDirect(36).order(ByteOrder.nativeOrder())
+    Mat2i.writeAll(array, buffer, 4, true)
+    assert(Mat2i.readFrom(buffer, 20, true) == array(1))
+    assert(Mat2i.readAll(buffer, 4, 2, true) sameElements array)
+  }
+
+  test("Matrix to a power computed by repeated squaring") {
+    val m = Mat2i(1, 1, 1, 0)
+    assert(m.power(5) == m * m * m * m * m)
+    assert(m.power(8) == m * m * m * m * m * m * m * m)
+  }
+
+  test("Matrix to a large power") {
+    val m = Mat2i(1, 0, 0, -1)
+    assert(m.power(Int.MaxValue) == m)
+    assert(m.power(1000000) == Mat2i.Identity)
+  }
+
+  test("Fibonacci numbers as powers of a matrix") {
+    assert(Mat2i(1, 1, 1, 0).power(40) == Mat2i(165580141, 102334155, 102334155, 63245986))
+  }
 }
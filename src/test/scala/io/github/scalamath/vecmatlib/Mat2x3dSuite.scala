@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import org.scalactic.Equality
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, DoubleBuffer}
+
 class Mat2x3dSuite extends AnyFunSuite {
 
   implicit val equalityMat2x3d: Equality[Mat2x3d] = (a: Mat2x3d, b: Any) => b match {
@@ -296,4 +298,88 @@ class Mat2x3dSuite extends AnyFunSuite {
   }
 
   // TODO: Shearing
+
+  test("Transform packed points") {
+    val m = Mat2x3d(1.5, -0.5, 2.0, 0.25, 0.5, 3.0)
+    val src = Array(0.0, 0.0, 1.5, -2.0, -1.0, 3.0)
+    val dst = new Array[Double](6)
+    m.transformPoints(src, dst, 1, 2)
+    assert(dst.take(2).forall(_ == 0.0))
+    assert(Vec2d(dst(2), dst(3)) ~= (m * (Vec2d(1.5, -2.0), 1.0)))
+    assert(Vec2d(dst(4), dst(5)) ~= (m * (Vec2d(-1.0, 3.0), 1.0)))
+  }
+
+  test("Transform packed directions") {
+    val m = Mat2x3d(1.5, -0.5, 2.0, 0.25, 0.5, 3.0)
+    val src = Array(0.0, 0.0, 1.5, -2.0, -1.0, 3.0)
+    val dst = new Array[Double](6)
+    m.transformDirections(src, dst, 1, 2)
+    assert(dst.take(2).forall(_ == 0.0))
+    assert(Vec2d(dst(2), dst(3)) ~= (m * (Vec2d(1.5, -2.0), 0.0)))
+    assert(Vec2d(dst(4), dst(5)) ~= (m * (Vec2d(-1.0, 3.0), 0.0)))
+  }
+
+  test("Transform packed homogeneous vectors") {
+    val m = Mat2x3d(1.5, -0.5, 2.0, 0.25, 0.5, 3.0)
+    val src = Array(0.0, 0.0, 0.0, 1.5, -2.0, 0.5, -1.0, 3.0, 2.5)
+    val dst = new Array[Double](6)
+    m.transform(src, dst, 1, 2)
+    assert(dst.take(2).forall(_ == 0.0))
+    assert(Vec2d(dst(2), dst(3)) ~= m * Vec3d(1.5, -2.0, 0.5))
+    assert(Vec2d(dst(4), dst(5)) ~= m * Vec3d(-1.0, 3.0, 2.5))
+  }
+
+  test("Write to and read from a double buffer") {
+    val a = Mat2x3d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0)
+    val buffer = DoubleBuffer.allocate(8)
+    a.writeTo(buffer, 2, false)
+    assert(buffer.get(2) == a.m00)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat2x3d.readFrom(buffer, 2, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Mat2x3d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0)
+    val buffer = ByteBuffer.allocateDirect(56).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 8, false)
+    assert(buffer.getDouble(8) == a.m00)
+    assert(buffer.getDouble(16) == a.m01)
+    assert(Mat2x3d.readFrom(buffer, 8, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a double buffer in column-major order") {
+    val a = Mat2x3d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0)
+    val buffer = DoubleBuffer.allocate(6)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.get(0) == a.m00)
+    assert(buffer.get(1) == a.m10)
+    assert(buffer.get(2) == a.m01)
+    assert(Mat2x3d.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write to and read from a byte buffer in column-major order") {
+    val a = Mat2x3d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0)
+    val buffer = ByteBuffer.allocate(48)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.getDouble(8) == a.m10)
+    assert(Mat2x3d.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write and read arrays of matrices with a double buffer") {
+    val array = Array(Mat2x3d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0), Mat2x3d(2.0, -3.0, 4.0, -5.0, 6.0, -7.0))
+    val buffer = DoubleBuffer.allocate(13)
+    Mat2x3d.writeAll(array, buffer, 1, true)
+    assert(Mat2x3d.readFrom(buffer, 7, true) == array(1))
+    assert(Mat2x3d.readAll(buffer, 1, 2, true) sameElements array)
+  }
+
+  test("Write and read arrays of matrices with a byte buffer") {
+    val array = Array(Mat2x3d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0), Mat2x3d(2.0, -3.0, 4.0, -5.0, 6.0, -7.0))
+    val buffer = ByteBuffer.allocateDirect(104).order(ByteOrder.nativeOrder())
+    Mat2x3d.writeAll(array, buffer, 8, true)
+    assert(Mat2x3d.readFrom(buffer, 56, true) == array(1))
+    assert(Mat2x3d.readAll(buffer, 8, 2, true) sameElements array)
+  }
 }
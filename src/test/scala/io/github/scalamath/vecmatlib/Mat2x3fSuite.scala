@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import org.scalactic.Equality
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, FloatBuffer}
+
 class Mat2x3fSuite extends AnyFunSuite {
 
   implicit val equalityMat2x3f: Equality[Mat2x3f] = (a: Mat2x3f, b: Any) => b match {
@@ -296,4 +298,88 @@ class Mat2x3fSuite extends AnyFunSuite {
   }
 
   // TODO: Shearing
+
+  test("Transform packed points") {
+    val m = Mat2x3f(1.5f, -0.5f, 2.0f, 0.25f, 0.5f, 3.0f)
+    val src = Array(0.0f, 0.0f, 1.5f, -2.0f, -1.0f, 3.0f)
+    val dst = new Array[Float](6)
+    m.transformPoints(src, dst, 1, 2)
+    assert(dst.take(2).forall(_ == 0.0f))
+    assert(Vec2f(dst(2), dst(3)) ~= (m * (Vec2f(1.5f, -2.0f), 1.0f)))
+    assert(Vec2f(dst(4), dst(5)) ~= (m * (Vec2f(-1.0f, 3.0f), 1.0f)))
+  }
+
+  test("Transform packed directions") {
+    val m = Mat2x3f(1.5f, -0.5f, 2.0f, 0.25f, 0.5f, 3.0f)
+    val src = Array(0.0f, 0.0f, 1.5f, -2.0f, -1.0f, 3.0f)
+    val dst = new Array[Float](6)
+    m.transformDirections(src, dst, 1, 2)
+    assert(dst.take(2).forall(_ == 0.0f))
+    assert(Vec2f(dst(2), dst(3)) ~= (m * (Vec2f(1.5f, -2.0f), 0.0f)))
+    assert(Vec2f(dst(4), dst(5)) ~= (m * (Vec2f(-1.0f, 3.0f), 0.0f)))
+  }
+
+  test("Transform packed homogeneous vectors") {
+    val m = Mat2x3f(1.5f, -0.5f, 2.0f, 0.25f, 0.5f, 3.0f)
+    val src = Array(0.0f, 0.0f, 0.0f, 1.5f, -2.0f, 0.5f, -1.0f, 3.0f, 2.5f)
+    val dst = new Array[Float](6)
+    m.transform(src, dst, 1, 2)
+    assert(dst.take(2).forall(_ == 0.0f))
+    assert(Vec2f(dst(2), dst(3)) ~= m * Vec3f(1.5f, -2.0f, 0.5f))
+    assert(Vec2f(dst(4), dst(5)) ~= m * Vec3f(-1.0f, 3.0f, 2.5f))
+  }
+
+  test("Write to and read from a float buffer") {
+    val a = Mat2x3f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f)
+    val buffer = FloatBuffer.allocate(8)
+    a.writeTo(buffer, 2, false)
+    assert(buffer.get(2) == a.m00)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat2x3f.readFrom(buffer, 2, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Mat2x3f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f)
+    val buffer = ByteBuffer.allocateDirect(28).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4, false)
+    assert(buffer.getFloat(4) == a.m00)
+    assert(buffer.getFloat(8) == a.m01)
+    assert(Mat2x3f.readFrom(buffer, 4, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a float buffer in column-major order") {
+    val a = Mat2x3f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f)
+    val buffer = FloatBuffer.allocate(6)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.get(0) == a.m00)
+    assert(buffer.get(1) == a.m10)
+    assert(buffer.get(2) == a.m01)
+    assert(Mat2x3f.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write to and read from a byte buffer in column-major order") {
+    val a = Mat2x3f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f)
+    val buffer = ByteBuffer.allocate(24)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.getFloat(4) == a.m10)
+    assert(Mat2x3f.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write and read arrays of matrices with a float buffer") {
+    val array = Array(Mat2x3f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f), Mat2x3f(2.0f, -3.0f, 4.0f, -5.0f, 6.0f, -7.0f))
+    val buffer = FloatBuffer.allocate(13)
+    Mat2x3f.writeAll(array, buffer, 1, true)
+    assert(Mat2x3f.readFrom(buffer, 7, true) == array(1))
+    assert(Mat2x3f.readAll(buffer, 1, 2, true) sameElements array)
+  }
+
+  test("Write and read arrays of matrices with a byte buffer") {
+    val array = Array(Mat2x3f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f), Mat2x3f(2.0f, -3.0f, 4.0f, -5.0f, 6.0f, -7.0f))
+    val buffer = ByteBuffer.allocateDirect(52).order(ByteOrder.nativeOrder())
+    Mat2x3f.writeAll(array, buffer, 4, true)
+    assert(Mat2x3f.readFrom(buffer, 28, true) == array(1))
+    assert(Mat2x3f.readAll(buffer, 4, 2, true) sameElements array)
+  }
 }
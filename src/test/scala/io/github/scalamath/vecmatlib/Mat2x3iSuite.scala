@@ -2,6 +2,8 @@ package io.github.scalamath.vecmatlib
 
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, IntBuffer}
+
 class Mat2x3iSuite extends AnyFunSuite {
 
   test("Construct a matrix from a submatrix and two values") {
@@ -194,4 +196,58 @@ class Mat2x3iSuite extends AnyFunSuite {
     val c2 = Vec2i(3, 6)
     assert(Mat2x3i.fromColumns(c0, c1, c2) == m)
   }
+
+  test("Write to and read from a int buffer") {
+    val a = Mat2x3i(1, -2, 3, 4, -5, 6)
+    val buffer = IntBuffer.allocate(8)
+    a.writeTo(buffer, 2, false)
+    assert(buffer.get(2) == a.m00)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat2x3i.readFrom(buffer, 2, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Mat2x3i(1, -2, 3, 4, -5, 6)
+    val buffer = ByteBuffer.allocateDirect(28).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4, false)
+    assert(buffer.getInt(4) == a.m00)
+    assert(buffer.getInt(8) == a.m01)
+    assert(Mat2x3i.readFrom(buffer, 4, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a int buffer in column-major order") {
+    val a = Mat2x3i(1, -2, 3, 4, -5, 6)
+    val buffer = IntBuffer.allocate(6)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.get(0) == a.m00)
+    assert(buffer.get(1) == a.m10)
+    assert(buffer.get(2) == a.m01)
+    assert(Mat2x3i.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write to and read from a byte buffer in column-major order") {
+    val a = Mat2x3i(1, -2, 3, 4, -5, 6)
+    val buffer = ByteBuffer.allocate(24)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.getInt(4) == a.m10)
+    assert(Mat2x3i.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write and read arrays of matrices with a int buffer") {
+    val array = Array(Mat2x3i(1, -2, 3, 4, -5, 6), Mat2x3i(2, -3, 4, -5, 6, -7))
+    val buffer = IntBuffer.allocate(13)
+    Mat2x3i.writeAll(array, buffer, 1, true)
+    assert(Mat2x3i.readFrom(buffer, 7, true) == array(1))
+    assert(Mat2x3i.readAll(buffer, 1, 2, true) sameElements array)
+  }
+
+  test("Write and read arrays of matrices with a byte buffer") {
+    val array = Array(Mat2x3i(1, -2, 3, 4, -5, 6), Mat2x3i(2, -3, 4, -5, 6, -7))
+    val buffer = ByteBuffer.allocateDirect(52).order(ByteOrder.nativeOrder())
+    Mat2x3i.writeAll(array, buffer, 4, true)
+    assert(Mat2x3i.readFrom(buffer, 28, true) == array(1))
+    assert(Mat2x3i.readAll(buffer, 4, 2, true) sameElements array)
+  }
 }
@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import org.scalactic.Equality
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, DoubleBuffer}
+
 class Mat3dSuite extends AnyFunSuite {
 
   implicit val equalityMat3d: Equality[Mat3d] = (a: Mat3d, b: Any) => b match {
@@ -374,4 +376,139 @@ class Mat3dSuite extends AnyFunSuite {
     val m = Mat3d.scaling(s)
     assert((m * (v, 0.0)).xy === v * s)
   }
+
+  test("Transform packed points") {
+    val m = Mat3d(1.5, -0.5, 2.0, 0.25, 0.5, 3.0, -1.0, 1.25, -2.0)
+    val src = Array(0.0, 0.0, 1.5, -2.0, -1.0, 3.0)
+    val dst = new Array[Double](6)
+    m.transformPoints(src, dst, 1, 2)
+    assert(dst.take(2).forall(_ == 0.0))
+    assert(Vec2d(dst(2), dst(3)) ~= (m * (Vec2d(1.5, -2.0), 1.0)).xy)
+    assert(Vec2d(dst(4), dst(5)) ~= (m * (Vec2d(-1.0, 3.0), 1.0)).xy)
+  }
+
+  test("Transform packed directions") {
+    val m = Mat3d(1.5, -0.5, 2.0, 0.25, 0.5, 3.0, -1.0, 1.25, -2.0)
+    val src = Array(0.0, 0.0, 1.5, -2.0, -1.0, 3.0)
+    val dst = new Array[Double](6)
+    m.transformDirections(src, dst, 1, 2)
+    assert(dst.take(2).forall(_ == 0.0))
+    assert(Vec2d(dst(2), dst(3)) ~= (m * (Vec2d(1.5, -2.0), 0.0)).xy)
+    assert(Vec2d(dst(4), dst(5)) ~= (m * (Vec2d(-1.0, 3.0), 0.0)).xy)
+  }
+
+  test("Transform packed homogeneous vectors") {
+    val m = Mat3d(1.5, -0.5, 2.0, 0.25, 0.5, 3.0, -1.0, 1.25, -2.0)
+    val src = Array(0.0, 0.0, 0.0, 1.5, -2.0, 0.5, -1.0, 3.0, 2.5)
+    val dst = new Array[Double](9)
+    m.transform(src, dst, 1, 2)
+    assert(dst.take(3).forall(_ == 0.0))
+    assert(Vec3d(dst(3), dst(4), dst(5)) ~= m * Vec3d(1.5, -2.0, 0.5))
+    assert(Vec3d(dst(6), dst(7), dst(8)) ~= m * Vec3d(-1.0, 3.0, 2.5))
+  }
+
+  test("Write to and read from a double buffer") {
+    val a = Mat3d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0)
+    val buffer = DoubleBuffer.allocate(11)
+    a.writeTo(buffer, 2, false)
+    assert(buffer.get(2) == a.m00)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat3d.readFrom(buffer, 2, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Mat3d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0)
+    val buffer = ByteBuffer.allocateDirect(80).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 8, false)
+    assert(buffer.getDouble(8) == a.m00)
+    assert(buffer.getDouble(16) == a.m01)
+    assert(Mat3d.readFrom(buffer, 8, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a double buffer in column-major order") {
+    val a = Mat3d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0)
+    val buffer = DoubleBuffer.allocate(9)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.get(0) == a.m00)
+    assert(buffer.get(1) == a.m10)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat3d.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write to and read from a byte buffer in column-major order") {
+    val a = Mat3d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0)
+    val buffer = ByteBuffer.allocate(72)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.getDouble(8) == a.m10)
+    assert(Mat3d.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write and read arrays of matrices with a double buffer") {
+    val array = Array(Mat3d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0), Mat3d(2.0, -3.0, 4.0, -5.0, 6.0, -7.0, 8.0, -9.0, 10.0))
+    val buffer = DoubleBuffer.allocate(19)
+    Mat3d.writeAll(array, buffer, 1, true)
+    assert(Mat3d.readFrom(buffer, 10, true) == array(1))
+    assert(Mat3d.readAll(buffer, 1, 2, true) sameElements array)
+  }
+
+  test("Write and read arrays of matrices with a byte buffer") {
+    val array = Array(Mat3d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0), Mat3d(2.0, -3.0, 4.0, -5.0, 6.0, -7.0, 8.0, -9.0, 10.0))
+    val buffer = ByteBuffer.allocateDirect(152).order(ByteOrder.nativeOrder())
+    Mat3d.writeAll(array, buffer, 8, true)
+    assert(Mat3d.readFrom(buffer, 80, true) == array(1))
+    assert(Mat3d.readAll(buffer, 8, 2, true) sameElements array)
+  }
+
+  test("Rotation matrix from euler angles in every order") {
+    for(order <- EulerOrder.values()) {
+      val m = Mat3d.rotation(0.3, -1.1, 0.8, order)
+      assert(m === Mat3d.rotation(Quatd.fromEuler(0.3, -1.1, 0.8, order)))
+    }
+  }
+
+  test("Rotation matrix from euler angles in XYZ order") {
+    val m = Mat3d.rotation(0.3, -1.1, 0.8, EulerOrder.XYZ)
+    assert(m === Mat3d.rotationX(0.3) * Mat3d.rotationY(-1.1) * Mat3d.rotationZ(0.8))
+    assert(Mat3d.rotation(0.3, -1.1, 0.8) === m)
+  }
+
+  test("Rotation matrices from packed euler angles") {
+    val angles = Array(0.3, -1.1, 0.8, 1.2, 0.4, -2.0, -0.5, 1.5, 3.0)
+    for(order <- EulerOrder.values()) {
+      val dst = Array.fill(36)(Double.NaN)
+      Mat3d.rotations(angles, order, dst, 1, 2)
+      assert(dst.take(9).forall(_.isNaN) && dst.drop(27).forall(_.isNaN))
+      for(i <- 1 to 2) {
+        val res = Mat3d.readFrom(DoubleBuffer.wrap(dst), i * 9, false)
+        assert(res === Mat3d.rotation(angles(i * 3), angles(i * 3 + 1), angles(i * 3 + 2), order))
+      }
+    }
+  }
+
+  test("Matrix to a power computed by repeated squaring") {
+    val m = Mat3d(1.0, 2.0, 0.0, 0.0, 1.0, 1.0, 1.0, 0.0, 1.0)
+    assert(m.power(5) == m * m * m * m * m)
+    assert(m.power(8) == m * m * m * m * m * m * m * m)
+  }
+
+  test("Matrix to a large power") {
+    val m = Mat3d(1.0, 0.0, 0.0, 0.0, -1.0, 0.0, 0.0, 0.0, 0.5)
+    assert(m.power(Int.MaxValue) == Mat3d(1.0, 0.0, 0.0, 0.0, -1.0, 0.0, 0.0, 0.0, 0.0))
+    assert(Mat3d(1.0, 0.0, 0.0, 0.0, -1.0, 0.0, 0.0, 0.0, 2.0).power(Int.MinValue) == Mat3d(1.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 0.0))
+  }
+
+  test("Raise packed matrices to a power") {
+    val matrices = Array(Mat3d(1.0, 2.0, 0.0, 0.0, 1.0, 1.0, 1.0, 0.0, 1.0), Mat3d(1.0, 0.0, 0.0, 0.0, -1.0, 0.0, 0.0, 0.0, 0.5), Mat3d.Identity)
+    val src = matrices.flatMap(m => Array(m.m00, m.m01, m.m02, m.m10, m.m11, m.m12, m.m20, m.m21, m.m22))
+    val dst = Array.fill(27)(Double.NaN)
+    Mat3d.powerPacked(src, 3, dst, 1, 2)
+    assert(dst.take(9).forall(_.isNaN))
+    assert(Mat3d(dst(9), dst(10), dst(11), dst(12), dst(13), dst(14), dst(15), dst(16), dst(17)) == matrices(1).power(3))
+    Mat3d.powerPacked(src, Array(0, -2, 7), src, 0, 3)
+    assert(Mat3d(src(0), src(1), src(2), src(3), src(4), src(5), src(6), src(7), src(8)) == Mat3d.Identity)
+    assert(Mat3d(src(9), src(10), src(11), src(12), src(13), src(14), src(15), src(16), src(17)) == matrices(1).power(-2))
+    assert(Mat3d(src(18), src(19), src(20), src(21), src(22), src(23), src(24), src(25), src(26)) == Mat3d.Identity)
+  }
 }
@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import org.scalactic.Equality
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, FloatBuffer}
+
 class Mat3fSuite extends AnyFunSuite {
 
   implicit val equalityMat3f: Equality[Mat3f] = (a: Mat3f, b: Any) => b match {
@@ -374,4 +376,139 @@ class Mat3fSuite extends AnyFunSuite {
     val m = Mat3f.scaling(s)
     assert((m * (v, 0.0f)).xy === v * s)
   }
+
+  test("Transform packed points") {
+    val m = Mat3f(1.5f, -0.5f, 2.0f, 0.25f, 0.5f, 3.0f, -1.0f, 1.25f, -2.0f)
+    val src = Array(0.0f, 0.0f, 1.5f, -2.0f, -1.0f, 3.0f)
+    val dst = new Array[Float](6)
+    m.transformPoints(src, dst, 1, 2)
+    assert(dst.take(2).forall(_ == 0.0f))
+    assert(Vec2f(dst(2), dst(3)) ~= (m * (Vec2f(1.5f, -2.0f), 1.0f)).xy)
+    assert(Vec2f(dst(4), dst(5)) ~= (m * (Vec2f(-1.0f, 3.0f), 1.0f)).xy)
+  }
+
+  test("Transform packed directions") {
+    val m = Mat3f(1.5f, -0.5f, 2.0f, 0.25f, 0.5f, 3.0f, -1.0f, 1.25f, -2.0f)
+    val src = Array(0.0f, 0.0f, 1.5f, -2.0f, -1.0f, 3.0f)
+    val dst = new Array[Float](6)
+    m.transformDirections(src, dst, 1, 2)
+    assert(dst.take(2).forall(_ == 0.0f))
+    assert(Vec2f(dst(2), dst(3)) ~= (m * (Vec2f(1.5f, -2.0f), 0.0f)).xy)
+    assert(Vec2f(dst(4), dst(5)) ~= (m * (Vec2f(-1.0f, 3.0f), 0.0f)).xy)
+  }
+
+  test("Transform packed homogeneous vectors") {
+    val m = Mat3f(1.5f, -0.5f, 2.0f, 0.25f, 0.5f, 3.0f, -1.0f, 1.25f, -2.0f)
+    val src = Array(0.0f, 0.0f, 0.0f, 1.5f, -2.0f, 0.5f, -1.0f, 3.0f, 2.5f)
+    val dst = new Array[Float](9)
+    m.transform(src, dst, 1, 2)
+    assert(dst.take(3).forall(_ == 0.0f))
+    assert(Vec3f(dst(3), dst(4), dst(5)) ~= m * Vec3f(1.5f, -2.0f, 0.5f))
+    assert(Vec3f(dst(6), dst(7), dst(8)) ~= m * Vec3f(-1.0f, 3.0f, 2.5f))
+  }
+
+  test("Write to and read from a float buffer") {
+    val a = Mat3f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f)
+    val buffer = FloatBuffer.allocate(11)
+    a.writeTo(buffer, 2, false)
+    assert(buffer.get(2) == a.m00)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat3f.readFrom(buffer, 2, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Mat3f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f)
+    val buffer = ByteBuffer.allocateDirect(40).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4, false)
+    assert(buffer.getFloat(4) == a.m00)
+    assert(buffer.getFloat(8) == a.m01)
+    assert(Mat3f.readFrom(buffer, 4, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a float buffer in column-major order") {
+    val a = Mat3f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f)
+    val buffer = FloatBuffer.allocate(9)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.get(0) == a.m00)
+    assert(buffer.get(1) == a.m10)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat3f.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write to and read from a byte buffer in column-major order") {
+    val a = Mat3f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f)
+    val buffer = ByteBuffer.allocate(36)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.getFloat(4) == a.m10)
+    assert(Mat3f.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write and read arrays of matrices with a float buffer") {
+    val array = Array(Mat3f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f), Mat3f(2.0f, -3.0f, 4.0f, -5.0f, 6.0f, -7.0f, 8.0f, -9.0f, 10.0f))
+    val buffer = FloatBuffer.allocate(19)
+    Mat3f.writeAll(array, buffer, 1, true)
+    assert(Mat3f.readFrom(buffer, 10, true) == array(1))
+    assert(Mat3f.readAll(buffer, 1, 2, true) sameElements array)
+  }
+
+  test("Write and read arrays of matrices with a byte buffer") {
+    val array = Array(Mat3f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f), Mat3f(2.0f, -3.0f, 4.0f, -5.0f, 6.0f, -7.0f, 8.0f, -9.0f, 10.0f))
+    val buffer = ByteBuffer.allocateDirect(76).order(ByteOrder.nativeOrder())
+    Mat3f.writeAll(array, buffer, 4, true)
+    assert(Mat3f.readFrom(buffer, 40, true) == array(1))
+    assert(Mat3f.readAll(buffer, 4, 2, true) sameElements array)
+  }
+
+  test("Rotation matrix from euler angles in every order") {
+    for(order <- EulerOrder.values()) {
+      val m = Mat3f.rotation(0.3, -1.1, 0.8, order)
+      assert(m === Mat3f.rotation(Quatf.fromEuler(0.3, -1.1, 0.8, order)))
+    }
+  }
+
+  test("Rotation matrix from euler angles in XYZ order") {
+    val m = Mat3f.rotation(0.3, -1.1, 0.8, EulerOrder.XYZ)
+    assert(m === Mat3f.rotationX(0.3) * Mat3f.rotationY(-1.1) * Mat3f.rotationZ(0.8))
+    assert(Mat3f.rotation(0.3, -1.1, 0.8) === m)
+  }
+
+  test("Rotation matrices from packed euler angles") {
+    val angles = Array(0.3f, -1.1f, 0.8f, 1.2f, 0.4f, -2.0f, -0.5f, 1.5f, 3.0f)
+    for(order <- EulerOrder.values()) {
+      val dst = Array.fill(36)(Float.NaN)
+      Mat3f.rotations(angles, order, dst, 1, 2)
+      assert(dst.take(9).forall(_.isNaN) && dst.drop(27).forall(_.isNaN))
+      for(i <- 1 to 2) {
+        val res = Mat3f.readFrom(FloatBuffer.wrap(dst), i * 9, false)
+        assert(res === Mat3f.rotation(angles(i * 3), angles(i * 3 + 1), angles(i * 3 + 2), order))
+      }
+    }
+  }
+
+  test("Matrix to a power computed by repeated squaring") {
+    val m = Mat3f(1.0f, 2.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f, 0.0f, 1.0f)
+    assert(m.power(5) == m * m * m * m * m)
+    assert(m.power(8) == m * m * m * m * m * m * m * m)
+  }
+
+  test("Matrix to a large power") {
+    val m = Mat3f(1.0f, 0.0f, 0.0f, 0.0f, -1.0f, 0.0f, 0.0f, 0.0f, 0.5f)
+    assert(m.power(Int.MaxValue) == Mat3f(1.0f, 0.0f, 0.0f, 0.0f, -1.0f, 0.0f, 0.0f, 0.0f, 0.0f))
+    assert(Mat3f(1.0f, 0.0f, 0.0f, 0.0f, -1.0f, 0.0f, 0.0f, 0.0f, 2.0f).power(Int.MinValue) == Mat3f(1.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f, 0.0f))
+  }
+
+  test("Raise packed matrices to a power") {
+    val matrices = Array(Mat3f(1.0f, 2.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f, 0.0f, 1.0f), Mat3f(1.0f, 0.0f, 0.0f, 0.0f, -1.0f, 0.0f, 0.0f, 0.0f, 0.5f), Mat3f.Identity)
+    val src = matrices.flatMap(m => Array(m.m00, m.m01, m.m02, m.m10, m.m11, m.m12, m.m20, m.m21, m.m22))
+    val dst = Array.fill(27)(Float.NaN)
+    Mat3f.powerPacked(src, 3, dst, 1, 2)
+    assert(dst.take(9).forall(_.isNaN))
+    assert(Mat3f(dst(9), dst(10), dst(11), dst(12), dst(13), dst(14), dst(15), dst(16), dst(17)) == matrices(1).power(3))
+    Mat3f.powerPacked(src, Array(0, -2, 7), src, 0, 3)
+    assert(Mat3f(src(0), src(1), src(2), src(3), src(4), src(5), src(6), src(7), src(8)) == Mat3f.Identity)
+    assert(Mat3f(src(9), src(10), src(11), src(12), src(13), src(14), src(15), src(16), src(17)) == matrices(1).power(-2))
+    assert(Mat3f(src(18), src(19), src(20), src(21), src(22), src(23), src(24), src(25), src(26)) == Mat3f.Identity)
+  }
 }
@@ -2,6 +2,8 @@ package io.github.scalamath.vecmatlib
 
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, IntBuffer}
+
 class Mat3iSuite extends AnyFunSuite {
 
   test("Sum of two matrices") {
@@ -232,4 +234,70 @@ class Mat3iSuite extends AnyFunSuite {
     val c2 = Vec3i(3, 6, 9)
     assert(Mat3i.fromColumns(c0, c1, c2) == m)
   }
+
+  test("Write to and read from a int buffer") {
+    val a = Mat3i(1, -2, 3, 4, -5, 6, 7, -8, 9)
+    val buffer = IntBuffer.allocate(11)
+    a.writeTo(buffer, 2, false)
+    assert(buffer.get(2) == a.m00)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat3i.readFrom(buffer, 2, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Mat3i(1, -2, 3, 4, -5, 6, 7, -8, 9)
+    val buffer = ByteBuffer.allocateDirect(40).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4, false)
+    assert(buffer.getInt(4) == a.m00)
+    assert(buffer.getInt(8) == a.m01)
+    assert(Mat3i.readFrom(buffer, 4, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a int buffer in column-major order") {
+    val a = Mat3i(1, -2, 3, 4, -5, 6, 7, -8, 9)
+    val buffer = IntBuffer.allocate(9)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.get(0) == a.m00)
+    assert(buffer.get(1) == a.m10)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat3i.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write to and read from a byte buffer in column-major order") {
+    val a = Mat3i(1, -2, 3, 4, -5, 6, 7, -8, 9)
+    val buffer = ByteBuffer.allocate(36)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.getInt(4) == a.m10)
+    assert(Mat3i.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write and read arrays of matrices with a int buffer") {
+    val array = Array(Mat3i(1, -2, 3, 4, -5, 6, 7, -8, 9), Mat3i(2, -3, 4, -5, 6, -7, 8, -9, 10))
+    val buffer = IntBuffer.allocate(19)
+    Mat3i.writeAll(array, buffer, 1, true)
+    assert(Mat3i.readFrom(buffer, 10, true) == array(1))
+    assert(Mat3i.readAll(buffer, 1, 2, true) sameElements array)
+  }
+
+  test("Write and read arrays of matrices with a byte buffer") {
+    val array = Array(Mat3i(1, -2, 3, 4, -5, 6, 7, -8, 9), Mat3i(2, -3, 4, -5, 6, -7, 8, -9, 10))
+    val buffer = ByteBuffer.allocateDirect(76).order(ByteOrder.nativeOrder())
+    Mat3i.writeAll(array, buffer, 4, true)
+    assert(Mat3i.readFrom(buffer, 40, true) == array(1))
+    assert(Mat3i.readAll(buffer, 4, 2, true) sameElements array)
+  }
+
+  test("Matrix to a power computed by repeated squaring") {
+    val m = Mat3i(1, 2, 0, 0, 1, 1, 1, 0, 1)
+    assert(m.power(5) == m * m * m * m * m)
+    assert(m.power(8) == m * m * m * m * m * m * m * m)
+  }
+
+  test("Matrix to a large power") {
+    val m = Mat3i(1, 0, 0, 0, -1, 0, 0, 0, 1)
+    assert(m.power(Int.MaxValue) == m)
+    assert(m.power(1000000) == Mat3i.Identity)
+  }
 }
@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import org.scalactic.Equality
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, DoubleBuffer}
+
 class Mat3x4dSuite extends AnyFunSuite {
 
   implicit val equalityMat3x4d: Equality[Mat3x4d] = (a: Mat3x4d, b: Any) => b match {
@@ -354,4 +356,158 @@ class Mat3x4dSuite extends AnyFunSuite {
     val m = Mat4d.scaling(s)
     assert((m * (v, 0.0, 0.0)).xy === v * s)
   }
+
+  test("Transform packed points") {
+    val m = Mat3x4d(1.5, -0.5, 2.0, 0.25, 0.5, 3.0, -1.0, 1.25, -2.0, 0.75, 1.0, -1.5)
+    val src = Array(0.0, 0.0, 0.0, 1.5, -2.0, 0.5, -1.0, 3.0, 2.5)
+    val dst = new Array[Double](9)
+    m.transformPoints(src, dst, 1, 2)
+    assert(dst.take(3).forall(_ == 0.0))
+    assert(Vec3d(dst(3), dst(4), dst(5)) ~= (m * (Vec3d(1.5, -2.0, 0.5), 1.0)))
+    assert(Vec3d(dst(6), dst(7), dst(8)) ~= (m * (Vec3d(-1.0, 3.0, 2.5), 1.0)))
+  }
+
+  test("Transform packed directions") {
+    val m = Mat3x4d(1.5, -0.5, 2.0, 0.25, 0.5, 3.0, -1.0, 1.25, -2.0, 0.75, 1.0, -1.5)
+    val src = Array(0.0, 0.0, 0.0, 1.5, -2.0, 0.5, -1.0, 3.0, 2.5)
+    val dst = new Array[Double](9)
+    m.transformDirections(src, dst, 1, 2)
+    assert(dst.take(3).forall(_ == 0.0))
+    assert(Vec3d(dst(3), dst(4), dst(5)) ~= (m * (Vec3d(1.5, -2.0, 0.5), 0.0)))
+    assert(Vec3d(dst(6), dst(7), dst(8)) ~= (m * (Vec3d(-1.0, 3.0, 2.5), 0.0)))
+  }
+
+  test("Transform packed homogeneous vectors") {
+    val m = Mat3x4d(1.5, -0.5, 2.0, 0.25, 0.5, 3.0, -1.0, 1.25, -2.0, 0.75, 1.0, -1.5)
+    val src = Array(0.0, 0.0, 0.0, 0.0, 1.5, -2.0, 0.5, 1.0, -1.0, 3.0, 2.5, 0.5)
+    val dst = new Array[Double](9)
+    m.transform(src, dst, 1, 2)
+    assert(dst.take(3).forall(_ == 0.0))
+    assert(Vec3d(dst(3), dst(4), dst(5)) ~= m * Vec4d(1.5, -2.0, 0.5, 1.0))
+    assert(Vec3d(dst(6), dst(7), dst(8)) ~= m * Vec4d(-1.0, 3.0, 2.5, 0.5))
+  }
+
+  test("Write to and read from a double buffer") {
+    val a = Mat3x4d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0, 10.0, -11.0, 12.0)
+    val buffer = DoubleBuffer.allocate(14)
+    a.writeTo(buffer, 2, false)
+    assert(buffer.get(2) == a.m00)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat3x4d.readFrom(buffer, 2, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Mat3x4d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0, 10.0, -11.0, 12.0)
+    val buffer = ByteBuffer.allocateDirect(104).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 8, false)
+    assert(buffer.getDouble(8) == a.m00)
+    assert(buffer.getDouble(16) == a.m01)
+    assert(Mat3x4d.readFrom(buffer, 8, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a double buffer in column-major order") {
+    val a = Mat3x4d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0, 10.0, -11.0, 12.0)
+    val buffer = DoubleBuffer.allocate(12)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.get(0) == a.m00)
+    assert(buffer.get(1) == a.m10)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat3x4d.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write to and read from a byte buffer in column-major order") {
+    val a = Mat3x4d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0, 10.0, -11.0, 12.0)
+    val buffer = ByteBuffer.allocate(96)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.getDouble(8) == a.m10)
+    assert(Mat3x4d.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write and read arrays of matrices with a double buffer") {
+    val array = Array(Mat3x4d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0, 10.0, -11.0, 12.0), Mat3x4d(2.0, -3.0, 4.0, -5.0, 6.0, -7.0, 8.0, -9.0, 10.0, -11.0, 12.0, -13.0))
+    val buffer = DoubleBuffer.allocate(25)
+    Mat3x4d.writeAll(array, buffer, 1, true)
+    assert(Mat3x4d.readFrom(buffer, 13, true) == array(1))
+    assert(Mat3x4d.readAll(buffer, 1, 2, true) sameElements array)
+  }
+
+  test("Write and read arrays of matrices with a byte buffer") {
+    val array = Array(Mat3x4d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0, 10.0, -11.0, 12.0), Mat3x4d(2.0, -3.0, 4.0, -5.0, 6.0, -7.0, 8.0, -9.0, 10.0, -11.0, 12.0, -13.0))
+    val buffer = ByteBuffer.allocateDirect(200).order(ByteOrder.nativeOrder())
+    Mat3x4d.writeAll(array, buffer, 8, true)
+    assert(Mat3x4d.readFrom(buffer, 104, true) == array(1))
+    assert(Mat3x4d.readAll(buffer, 8, 2, true) sameElements array)
+  }
+
+  test("Rotation matrix from euler angles in every order") {
+    for(order <- EulerOrder.values()) {
+      val m = Mat3x4d.rotation(0.3, -1.1, 0.8, order)
+      assert(m === Mat3x4d.rotation(Quatd.fromEuler(0.3, -1.1, 0.8, order)))
+    }
+  }
+
+  test("Rotation matrices from packed euler angles") {
+    val angles = Array(0.3, -1.1, 0.8, 1.2, 0.4, -2.0, -0.5, 1.5, 3.0)
+    for(order <- EulerOrder.values()) {
+      val dst = Array.fill(48)(Double.NaN)
+      Mat3x4d.rotations(angles, order, dst, 1, 2)
+      assert(dst.take(12).forall(_.isNaN) && dst.drop(36).forall(_.isNaN))
+      for(i <- 1 to 2) {
+        val res = Mat3x4d.readFrom(DoubleBuffer.wrap(dst), i * 12, false)
+        assert(res === Mat3x4d.rotation(angles(i * 3), angles(i * 3 + 1), angles(i * 3 + 2), order))
+      }
+    }
+  }
+
+  private def closeTo(a: Mat3x4d, b: Mat3x4d): Boolean = (0 until 3).forall(r => (0 until 4).forall(c => math.abs(a(r, c) - b(r, c)) < 1e-9))
+
+  test("Matrix from translation, rotation, and scale") {
+    val t = Vec3d(1.5, -2.0, 0.5)
+    val q = Quatd(Vec3d(1.0, 2.0, 3.0).normalized, 0.7)
+    val s = Vec3d(2.0, 1.5, 0.5)
+    assert(closeTo(Mat3x4d.fromTRS(t, q, s), Mat3x4d.translation(t) * Mat4d.rotation(q) * Mat4d.scaling(s)))
+  }
+
+  test("Decompose a matrix into translation, rotation, and scale") {
+    val t = Vec3d(1.5, -2.0, 0.5)
+    val q = Quatd(Vec3d(1.0, 2.0, 3.0).normalized, 0.7)
+    val s = Vec3d(2.0, 1.5, 0.5)
+    val (translation, rotation, scale) = Mat3x4d.fromTRS(t, q, s).decompose
+    assert(translation == t)
+    assert(math.abs(math.abs(rotation.dot(q)) - 1.0) < 1e-9)
+    assert(scale.distanceTo(s) < 1e-9)
+  }
+
+  test("Decompose a matrix with a rotation of half a turn") {
+    val q = Quatd(Vec3d.Up, math.Pi)
+    val m = Mat3x4d.fromTRS(Vec3d.Zero, q, Vec3d.One)
+    val (_, rotation, scale) = m.decompose
+    assert(math.abs(math.abs(rotation.dot(q)) - 1.0) < 1e-9)
+    assert(scale.distanceTo(Vec3d.One) < 1e-9)
+  }
+
+  test("Decompose a matrix with a reflection") {
+    val t = Vec3d(1.5, -2.0, 0.5)
+    val q = Quatd(Vec3d(1.0, 2.0, 3.0).normalized, 0.7)
+    val m = Mat3x4d.fromTRS(t, q, Vec3d(2.0, -1.5, 0.5))
+    val (translation, rotation, scale) = m.decompose
+    assert(scale.x < 0.0)
+    assert(closeTo(Mat3x4d.fromTRS(translation, rotation, scale), m))
+  }
+
+  test("Interpolate translation, rotation, and scale of two matrices") {
+    val t0 = Vec3d(1.5, -2.0, 0.5)
+    val q0 = Quatd(Vec3d(1.0, 2.0, 3.0).normalized, 0.7)
+    val s0 = Vec3d(2.0, 1.5, 0.5)
+    val t1 = Vec3d(-1.0, 0.5, 2.0)
+    val q1 = Quatd(Vec3d.Right, 1.2)
+    val s1 = Vec3d(1.0, 1.0, 3.0)
+    val a = Mat3x4d.fromTRS(t0, q0, s0)
+    val b = Mat3x4d.fromTRS(t1, q1, s1)
+    assert(closeTo(a.lerpTRS(b, 0.0), a))
+    assert(closeTo(a.lerpTRS(b, 1.0), b))
+    assert(closeTo(a.lerpTRS(b, 0.3), Mat3x4d.fromTRS(t0.lerp(t1, 0.3), q0.slerp(q1, 0.3), s0.lerp(s1, 0.3))))
+  }
 }
@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import org.scalactic.Equality
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, FloatBuffer}
+
 class Mat3x4fSuite extends AnyFunSuite {
 
   implicit val equalityMat3x4f: Equality[Mat3x4f] = (a: Mat3x4f, b: Any) => b match {
@@ -354,4 +356,158 @@ class Mat3x4fSuite extends AnyFunSuite {
     val m = Mat4f.scaling(s)
     assert((m * (v, 0.0f, 0.0f)).xy === v * s)
   }
+
+  test("Transform packed points") {
+    val m = Mat3x4f(1.5f, -0.5f, 2.0f, 0.25f, 0.5f, 3.0f, -1.0f, 1.25f, -2.0f, 0.75f, 1.0f, -1.5f)
+    val src = Array(0.0f, 0.0f, 0.0f, 1.5f, -2.0f, 0.5f, -1.0f, 3.0f, 2.5f)
+    val dst = new Array[Float](9)
+    m.transformPoints(src, dst, 1, 2)
+    assert(dst.take(3).forall(_ == 0.0f))
+    assert(Vec3f(dst(3), dst(4), dst(5)) ~= (m * (Vec3f(1.5f, -2.0f, 0.5f), 1.0f)))
+    assert(Vec3f(dst(6), dst(7), dst(8)) ~= (m * (Vec3f(-1.0f, 3.0f, 2.5f), 1.0f)))
+  }
+
+  test("Transform packed directions") {
+    val m = Mat3x4f(1.5f, -0.5f, 2.0f, 0.25f, 0.5f, 3.0f, -1.0f, 1.25f, -2.0f, 0.75f, 1.0f, -1.5f)
+    val src = Array(0.0f, 0.0f, 0.0f, 1.5f, -2.0f, 0.5f, -1.0f, 3.0f, 2.5f)
+    val dst = new Array[Float](9)
+    m.transformDirections(src, dst, 1, 2)
+    assert(dst.take(3).forall(_ == 0.0f))
+    assert(Vec3f(dst(3), dst(4), dst(5)) ~= (m * (Vec3f(1.5f, -2.0f, 0.5f), 0.0f)))
+    assert(Vec3f(dst(6), dst(7), dst(8)) ~= (m * (Vec3f(-1.0f, 3.0f, 2.5f), 0.0f)))
+  }
+
+  test("Transform packed homogeneous vectors") {
+    val m = Mat3x4f(1.5f, -0.5f, 2.0f, 0.25f, 0.5f, 3.0f, -1.0f, 1.25f, -2.0f, 0.75f, 1.0f, -1.5f)
+    val src = Array(0.0f, 0.0f, 0.0f, 0.0f, 1.5f, -2.0f, 0.5f, 1.0f, -1.0f, 3.0f, 2.5f, 0.5f)
+    val dst = new Array[Float](9)
+    m.transform(src, dst, 1, 2)
+    assert(dst.take(3).forall(_ == 0.0f))
+    assert(Vec3f(dst(3), dst(4), dst(5)) ~= m * Vec4f(1.5f, -2.0f, 0.5f, 1.0f))
+    assert(Vec3f(dst(6), dst(7), dst(8)) ~= m * Vec4f(-1.0f, 3.0f, 2.5f, 0.5f))
+  }
+
+  test("Write to and read from a float buffer") {
+    val a = Mat3x4f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f, 10.0f, -11.0f, 12.0f)
+    val buffer = FloatBuffer.allocate(14)
+    a.writeTo(buffer, 2, false)
+    assert(buffer.get(2) == a.m00)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat3x4f.readFrom(buffer, 2, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Mat3x4f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f, 10.0f, -11.0f, 12.0f)
+    val buffer = ByteBuffer.allocateDirect(52).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4, false)
+    assert(buffer.getFloat(4) == a.m00)
+    assert(buffer.getFloat(8) == a.m01)
+    assert(Mat3x4f.readFrom(buffer, 4, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a float buffer in column-major order") {
+    val a = Mat3x4f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f, 10.0f, -11.0f, 12.0f)
+    val buffer = FloatBuffer.allocate(12)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.get(0) == a.m00)
+    assert(buffer.get(1) == a.m10)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat3x4f.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write to and read from a byte buffer in column-major order") {
+    val a = Mat3x4f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f, 10.0f, -11.0f, 12.0f)
+    val buffer = ByteBuffer.allocate(48)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.getFloat(4) == a.m10)
+    assert(Mat3x4f.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write and read arrays of matrices with a float buffer") {
+    val array = Array(Mat3x4f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f, 10.0f, -11.0f, 12.0f), Mat3x4f(2.0f, -3.0f, 4.0f, -5.0f, 6.0f, -7.0f, 8.0f, -9.0f, 10.0f, -11.0f, 12.0f, -13.0f))
+    val buffer = FloatBuffer.allocate(25)
+    Mat3x4f.writeAll(array, buffer, 1, true)
+    assert(Mat3x4f.readFrom(buffer, 13, true) == array(1))
+    assert(Mat3x4f.readAll(buffer, 1, 2, true) sameElements array)
+  }
+
+  test("Write and read arrays of matrices with a byte buffer") {
+    val array = Array(Mat3x4f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f, 10.0f, -11.0f, 12.0f), Mat3x4f(2.0f, -3.0f, 4.0f, -5.0f, 6.0f, -7.0f, 8.0f, -9.0f, 10.0f, -11.0f, 12.0f, -13.0f))
+    val buffer = ByteBuffer.allocateDirect(100).order(ByteOrder.nativeOrder())
+    Mat3x4f.writeAll(array, buffer, 4, true)
+    assert(Mat3x4f.readFrom(buffer, 52, true) == array(1))
+    assert(Mat3x4f.readAll(buffer, 4, 2, true) sameElements array)
+  }
+
+  test("Rotation matrix from euler angles in every order") {
+    for(order <- EulerOrder.values()) {
+      val m = Mat3x4f.rotation(0.3, -1.1, 0.8, order)
+      assert(m === Mat3x4f.rotation(Quatf.fromEuler(0.3, -1.1, 0.8, order)))
+    }
+  }
+
+  test("Rotation matrices from packed euler angles") {
+    val angles = Array(0.3f, -1.1f, 0.8f, 1.2f, 0.4f, -2.0f, -0.5f, 1.5f, 3.0f)
+    for(order <- EulerOrder.values()) {
+      val dst = Array.fill(48)(Float.NaN)
+      Mat3x4f.rotations(angles, order, dst, 1, 2)
+      assert(dst.take(12).forall(_.isNaN) && dst.drop(36).forall(_.isNaN))
+      for(i <- 1 to 2) {
+        val res = Mat3x4f.readFrom(FloatBuffer.wrap(dst), i * 12, false)
+        assert(res === Mat3x4f.rotation(angles(i * 3), angles(i * 3 + 1), angles(i * 3 + 2), order))
+      }
+    }
+  }
+
+  private def closeTo(a: Mat3x4f, b: Mat3x4f): Boolean = (0 until 3).forall(r => (0 until 4).forall(c => math.abs(a(r, c) - b(r, c)) < 1e-5f))
+
+  test("Matrix from translation, rotation, and scale") {
+    val t = Vec3f(1.5f, -2.0f, 0.5f)
+    val q = Quatf(Vec3f(1.0f, 2.0f, 3.0f).normalized, 0.7)
+    val s = Vec3f(2.0f, 1.5f, 0.5f)
+    assert(closeTo(Mat3x4f.fromTRS(t, q, s), Mat3x4f.translation(t) * Mat4f.rotation(q) * Mat4f.scaling(s)))
+  }
+
+  test("Decompose a matrix into translation, rotation, and scale") {
+    val t = Vec3f(1.5f, -2.0f, 0.5f)
+    val q = Quatf(Vec3f(1.0f, 2.0f, 3.0f).normalized, 0.7)
+    val s = Vec3f(2.0f, 1.5f, 0.5f)
+    val (translation, rotation, scale) = Mat3x4f.fromTRS(t, q, s).decompose
+    assert(translation == t)
+    assert(math.abs(math.abs(rotation.dot(q)) - 1.0) < 1e-5f)
+    assert(scale.distanceTo(s) < 1e-5f)
+  }
+
+  test("Decompose a matrix with a rotation of half a turn") {
+    val q = Quatf(Vec3f.Up, math.Pi)
+    val m = Mat3x4f.fromTRS(Vec3f.Zero, q, Vec3f.One)
+    val (_, rotation, scale) = m.decompose
+    assert(math.abs(math.abs(rotation.dot(q)) - 1.0) < 1e-5f)
+    assert(scale.distanceTo(Vec3f.One) < 1e-5f)
+  }
+
+  test("Decompose a matrix with a reflection") {
+    val t = Vec3f(1.5f, -2.0f, 0.5f)
+    val q = Quatf(Vec3f(1.0f, 2.0f, 3.0f).normalized, 0.7)
+    val m = Mat3x4f.fromTRS(t, q, Vec3f(2.0f, -1.5f, 0.5f))
+    val (translation, rotation, scale) = m.decompose
+    assert(scale.x < 0.0f)
+    assert(closeTo(Mat3x4f.fromTRS(translation, rotation, scale), m))
+  }
+
+  test("Interpolate translation, rotation, and scale of two matrices") {
+    val t0 = Vec3f(1.5f, -2.0f, 0.5f)
+    val q0 = Quatf(Vec3f(1.0f, 2.0f, 3.0f).normalized, 0.7)
+    val s0 = Vec3f(2.0f, 1.5f, 0.5f)
+    val t1 = Vec3f(-1.0f, 0.5f, 2.0f)
+    val q1 = Quatf(Vec3f.Right, 1.2)
+    val s1 = Vec3f(1.0f, 1.0f, 3.0f)
+    val a = Mat3x4f.fromTRS(t0, q0, s0)
+    val b = Mat3x4f.fromTRS(t1, q1, s1)
+    assert(closeTo(a.lerpTRS(b, 0.0f), a))
+    assert(closeTo(a.lerpTRS(b, 1.0f), b))
+    assert(closeTo(a.lerpTRS(b, 0.3f), Mat3x4f.fromTRS(t0.lerp(t1, 0.3f), q0.slerp(q1, 0.3f), s0.lerp(s1, 0.3f))))
+  }
 }
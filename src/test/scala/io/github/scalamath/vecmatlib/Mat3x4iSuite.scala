@@ -2,6 +2,8 @@ package io.github.scalamath.vecmatlib
 
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, IntBuffer}
+
 class Mat3x4iSuite extends AnyFunSuite {
 
   test("Construct a matrix from a submatrix and three values") {
@@ -218,4 +220,58 @@ class Mat3x4iSuite extends AnyFunSuite {
     val c3 = Vec3i(4, 8, 12)
     assert(Mat3x4i.fromColumns(c0, c1, c2, c3) == m)
   }
+
+  test("Write to and read from a int buffer") {
+    val a = Mat3x4i(1, -2, 3, 4, -5, 6, 7, -8, 9, 10, -11, 12)
+    val buffer = IntBuffer.allocate(14)
+    a.writeTo(buffer, 2, false)
+    assert(buffer.get(2) == a.m00)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat3x4i.readFrom(buffer, 2, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Mat3x4i(1, -2, 3, 4, -5, 6, 7, -8, 9, 10, -11, 12)
+    val buffer = ByteBuffer.allocateDirect(52).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4, false)
+    assert(buffer.getInt(4) == a.m00)
+    assert(buffer.getInt(8) == a.m01)
+    assert(Mat3x4i.readFrom(buffer, 4, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a int buffer in column-major order") {
+    val a = Mat3x4i(1, -2, 3, 4, -5, 6, 7, -8, 9, 10, -11, 12)
+    val buffer = IntBuffer.allocate(12)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.get(0) == a.m00)
+    assert(buffer.get(1) == a.m10)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat3x4i.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write to and read from a byte buffer in column-major order") {
+    val a = Mat3x4i(1, -2, 3, 4, -5, 6, 7, -8, 9, 10, -11, 12)
+    val buffer = ByteBuffer.allocate(48)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.getInt(4) == a.m10)
+    assert(Mat3x4i.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write and read arrays of matrices with a int buffer") {
+    val array = Array(Mat3x4i(1, -2, 3, 4, -5, 6, 7, -8, 9, 10, -11, 12), Mat3x4i(2, -3, 4, -5, 6, -7, 8, -9, 10, -11, 12, -13))
+    val buffer = IntBuffer.allocate(25)
+    Mat3x4i.writeAll(array, buffer, 1, true)
+    assert(Mat3x4i.readFrom(buffer, 13, true) == array(1))
+    assert(Mat3x4i.readAll(buffer, 1, 2, true) sameElements array)
+  }
+
+  test("Write and read arrays of matrices with a byte buffer") {
+    val array = Array(Mat3x4i(1, -2, 3, 4, -5, 6, 7, -8, 9, 10, -11, 12), Mat3x4i(2, -3, 4, -5, 6, -7, 8, -9, 10, -11, 12, -13))
+    val buffer = ByteBuffer.allocateDirect(100).order(ByteOrder.nativeOrder())
+    Mat3x4i.writeAll(array, buffer, 4, true)
+    assert(Mat3x4i.readFrom(buffer, 52, true) == array(1))
+    assert(Mat3x4i.readAll(buffer, 4, 2, true) sameElements array)
+  }
 }
@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import org.scalactic.Equality
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, DoubleBuffer}
+
 class Mat4dSuite extends AnyFunSuite {
 
   implicit val equalityMat4d: Equality[Mat4d] = (a: Mat4d, b: Any) => b match {
@@ -212,6 +214,35 @@ class Mat4dSuite extends AnyFunSuite {
     assert(mat.inverse === inv)
   }
 
+  test("Inverse of a matrix is consistent with the adjugate") {
+    val mat = Mat4d.translation(1.0, -2.0, 3.0) * Mat4d.rotation(0.5, -0.25, 1.0) * Mat4d.scaling(2.0, 1.5, 0.5)
+    assert(mat.inverse === mat.adjugate / mat.determinant)
+    assert(mat * mat.inverse === Mat4d.Identity)
+  }
+
+  test("Inverse of a singular matrix") {
+    assertThrows[ArithmeticException] {
+      Mat4d(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 8.0, 9.0, 10.0, 11.0, 12.0, 13.0, 14.0, 15.0, 16.0).inverse
+    }
+  }
+
+  test("Inverse transposed matrix") {
+    val mat = Mat4d(1.0, 3.0, 5.0, 9.0, 1.0, 3.0, 1.0, 7.0, 4.0, 3.0, 9.0, 7.0, 5.0, 2.0, 0.0, 9.0)
+    assert(mat.inverseTransposed === mat.inverse.transposed)
+  }
+
+  test("Inverse transposed of a singular matrix") {
+    assertThrows[ArithmeticException] {
+      Mat4d(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 8.0, 9.0, 10.0, 11.0, 12.0, 13.0, 14.0, 15.0, 16.0).inverseTransposed
+    }
+  }
+
+  test("Power of a singular matrix with a negative exponent") {
+    assertThrows[ArithmeticException] {
+      Mat4d(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 8.0, 9.0, 10.0, 11.0, 12.0, 13.0, 14.0, 15.0, 16.0).power(-2)
+    }
+  }
+
   test("Power of a matrix with a positive exponent") {
     val m = Mat4d(1.0, 3.0, 5.0, 9.0, 1.0, 3.0, 1.0, 7.0, 4.0, 3.0, 9.0, 7.0, 5.0, 2.0, 0.0, 9.0)
     assert(m.power(3) === m * m * m)
@@ -411,4 +442,189 @@ class Mat4dSuite extends AnyFunSuite {
     val m = Mat4d.scaling(s)
     assert((m * (v, 0.0, 0.0)).xy === v * s)
   }
+
+  test("Transform packed points") {
+    val m = Mat4d(1.5, -0.5, 2.0, 0.25, 0.5, 3.0, -1.0, 1.25, -2.0, 0.75, 1.0, -1.5, 0.5, 0.25, -0.75, 2.0)
+    val src = Array(0.0, 0.0, 0.0, 1.5, -2.0, 0.5, -1.0, 3.0, 2.5)
+    val dst = new Array[Double](9)
+    m.transformPoints(src, dst, 1, 2)
+    assert(dst.take(3).forall(_ == 0.0))
+    assert(Vec3d(dst(3), dst(4), dst(5)) ~= (m * (Vec3d(1.5, -2.0, 0.5), 1.0)).xyz)
+    assert(Vec3d(dst(6), dst(7), dst(8)) ~= (m * (Vec3d(-1.0, 3.0, 2.5), 1.0)).xyz)
+  }
+
+  test("Transform packed directions") {
+    val m = Mat4d(1.5, -0.5, 2.0, 0.25, 0.5, 3.0, -1.0, 1.25, -2.0, 0.75, 1.0, -1.5, 0.5, 0.25, -0.75, 2.0)
+    val src = Array(0.0, 0.0, 0.0, 1.5, -2.0, 0.5, -1.0, 3.0, 2.5)
+    val dst = new Array[Double](9)
+    m.transformDirections(src, dst, 1, 2)
+    assert(dst.take(3).forall(_ == 0.0))
+    assert(Vec3d(dst(3), dst(4), dst(5)) ~= (m * (Vec3d(1.5, -2.0, 0.5), 0.0)).xyz)
+    assert(Vec3d(dst(6), dst(7), dst(8)) ~= (m * (Vec3d(-1.0, 3.0, 2.5), 0.0)).xyz)
+  }
+
+  test("Transform packed homogeneous vectors") {
+    val m = Mat4d(1.5, -0.5, 2.0, 0.25, 0.5, 3.0, -1.0, 1.25, -2.0, 0.75, 1.0, -1.5, 0.5, 0.25, -0.75, 2.0)
+    val src = Array(0.0, 0.0, 0.0, 0.0, 1.5, -2.0, 0.5, 1.0, -1.0, 3.0, 2.5, 0.5)
+    val dst = new Array[Double](12)
+    m.transform(src, dst, 1, 2)
+    assert(dst.take(4).forall(_ == 0.0))
+    assert(Vec4d(dst(4), dst(5), dst(6), dst(7)) ~= m * Vec4d(1.5, -2.0, 0.5, 1.0))
+    assert(Vec4d(dst(8), dst(9), dst(10), dst(11)) ~= m * Vec4d(-1.0, 3.0, 2.5, 0.5))
+  }
+
+  test("Write to and read from a double buffer") {
+    val a = Mat4d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0, 10.0, -11.0, 12.0, 13.0, -14.0, 15.0, 16.0)
+    val buffer = DoubleBuffer.allocate(18)
+    a.writeTo(buffer, 2, false)
+    assert(buffer.get(2) == a.m00)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat4d.readFrom(buffer, 2, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Mat4d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0, 10.0, -11.0, 12.0, 13.0, -14.0, 15.0, 16.0)
+    val buffer = ByteBuffer.allocateDirect(136).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 8, false)
+    assert(buffer.getDouble(8) == a.m00)
+    assert(buffer.getDouble(16) == a.m01)
+    assert(Mat4d.readFrom(buffer, 8, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a double buffer in column-major order") {
+    val a = Mat4d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0, 10.0, -11.0, 12.0, 13.0, -14.0, 15.0, 16.0)
+    val buffer = DoubleBuffer.allocate(16)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.get(0) == a.m00)
+    assert(buffer.get(1) == a.m10)
+    assert(buffer.get(4) == a.m01)
+    assert(Mat4d.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write to and read from a byte buffer in column-major order") {
+    val a = Mat4d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0, 10.0, -11.0, 12.0, 13.0, -14.0, 15.0, 16.0)
+    val buffer = ByteBuffer.allocate(128)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.getDouble(8) == a.m10)
+    assert(Mat4d.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write and read arrays of matrices with a double buffer") {
+    val array = Array(Mat4d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0, 10.0, -11.0, 12.0, 13.0, -14.0, 15.0, 16.0), Mat4d(2.0, -3.0, 4.0, -5.0, 6.0, -7.0, 8.0, -9.0, 10.0, -11.0, 12.0, -13.0, 14.0, -15.0, 16.0, -17.0))
+    val buffer = DoubleBuffer.allocate(33)
+    Mat4d.writeAll(array, buffer, 1, true)
+    assert(Mat4d.readFrom(buffer, 17, true) == array(1))
+    assert(Mat4d.readAll(buffer, 1, 2, true) sameElements array)
+  }
+
+  test("Write and read arrays of matrices with a byte buffer") {
+    val array = Array(Mat4d(1.0, -2.0, 3.0, 4.0, -5.0, 6.0, 7.0, -8.0, 9.0, 10.0, -11.0, 12.0, 13.0, -14.0, 15.0, 16.0), Mat4d(2.0, -3.0, 4.0, -5.0, 6.0, -7.0, 8.0, -9.0, 10.0, -11.0, 12.0, -13.0, 14.0, -15.0, 16.0, -17.0))
+    val buffer = ByteBuffer.allocateDirect(264).order(ByteOrder.nativeOrder())
+    Mat4d.writeAll(array, buffer, 8, true)
+    assert(Mat4d.readFrom(buffer, 136, true) == array(1))
+    assert(Mat4d.readAll(buffer, 8, 2, true) sameElements array)
+  }
+
+  test("Rotation matrix from euler angles in every order") {
+    for(order <- EulerOrder.values()) {
+      val m = Mat4d.rotation(0.3, -1.1, 0.8, order)
+      assert(m === Mat4d.rotation(Quatd.fromEuler(0.3, -1.1, 0.8, order)))
+    }
+  }
+
+  test("Rotation matrix from euler angles in XYZ order") {
+    val m = Mat4d.rotation(0.3, -1.1, 0.8, EulerOrder.XYZ)
+    assert(m === Mat4d.rotationX(0.3) * Mat4d.rotationY(-1.1) * Mat4d.rotationZ(0.8))
+    assert(Mat4d.rotation(0.3, -1.1, 0.8) === m)
+  }
+
+  test("Rotation matrices from packed euler angles") {
+    val angles = Array(0.3, -1.1, 0.8, 1.2, 0.4, -2.0, -0.5, 1.5, 3.0)
+    for(order <- EulerOrder.values()) {
+      val dst = Array.fill(64)(Double.NaN)
+      Mat4d.rotations(angles, order, dst, 1, 2)
+      assert(dst.take(16).forall(_.isNaN) && dst.drop(48).forall(_.isNaN))
+      for(i <- 1 to 2) {
+        val res = Mat4d.readFrom(DoubleBuffer.wrap(dst), i * 16, false)
+        assert(res === Mat4d.rotation(angles(i * 3), angles(i * 3 + 1), angles(i * 3 + 2), order))
+      }
+    }
+  }
+
+  private def closeTo(a: Mat4d, b: Mat4d): Boolean = (0 until 4).forall(r => (0 until 4).forall(c => math.abs(a(r, c) - b(r, c)) < 1e-9))
+
+  test("Matrix from translation, rotation, and scale") {
+    val t = Vec3d(1.5, -2.0, 0.5)
+    val q = Quatd(Vec3d(1.0, 2.0, 3.0).normalized, 0.7)
+    val s = Vec3d(2.0, 1.5, 0.5)
+    assert(closeTo(Mat4d.fromTRS(t, q, s), Mat4d.translation(t) * Mat4d.rotation(q) * Mat4d.scaling(s)))
+  }
+
+  test("Decompose a matrix into translation, rotation, and scale") {
+    val t = Vec3d(1.5, -2.0, 0.5)
+    val q = Quatd(Vec3d(1.0, 2.0, 3.0).normalized, 0.7)
+    val s = Vec3d(2.0, 1.5, 0.5)
+    val (translation, rotation, scale) = Mat4d.fromTRS(t, q, s).decompose
+    assert(translation == t)
+    assert(math.abs(math.abs(rotation.dot(q)) - 1.0) < 1e-9)
+    assert(scale.distanceTo(s) < 1e-9)
+  }
+
+  test("Decompose a matrix with a rotation of half a turn") {
+    val q = Quatd(Vec3d.Up, math.Pi)
+    val m = Mat4d.fromTRS(Vec3d.Zero, q, Vec3d.One)
+    val (_, rotation, scale) = m.decompose
+    assert(math.abs(math.abs(rotation.dot(q)) - 1.0) < 1e-9)
+    assert(scale.distanceTo(Vec3d.One) < 1e-9)
+  }
+
+  test("Decompose a matrix with a reflection") {
+    val t = Vec3d(1.5, -2.0, 0.5)
+    val q = Quatd(Vec3d(1.0, 2.0, 3.0).normalized, 0.7)
+    val m = Mat4d.fromTRS(t, q, Vec3d(2.0, -1.5, 0.5))
+    val (translation, rotation, scale) = m.decompose
+    assert(scale.x < 0.0)
+    assert(closeTo(Mat4d.fromTRS(translation, rotation, scale), m))
+  }
+
+  test("Interpolate translation, rotation, and scale of two matrices") {
+    val t0 = Vec3d(1.5, -2.0, 0.5)
+    val q0 = Quatd(Vec3d(1.0, 2.0, 3.0).normalized, 0.7)
+    val s0 = Vec3d(2.0, 1.5, 0.5)
+    val t1 = Vec3d(-1.0, 0.5, 2.0)
+    val q1 = Quatd(Vec3d.Right, 1.2)
+    val s1 = Vec3d(1.0, 1.0, 3.0)
+    val a = Mat4d.fromTRS(t0, q0, s0)
+    val b = Mat4d.fromTRS(t1, q1, s1)
+    assert(closeTo(a.lerpTRS(b, 0.0), a))
+    assert(closeTo(a.lerpTRS(b, 1.0), b))
+    assert(closeTo(a.lerpTRS(b, 0.3), Mat4d.fromTRS(t0.lerp(t1, 0.3), q0.slerp(q1, 0.3), s0.lerp(s1, 0.3))))
+  }
+
+  test("Matrix to a power computed by repeated squaring") {
+    val m = Mat4d(1.0, 2.0, 0.0, 0.0, 0.0, 1.0, 1.0, 0.0, 1.0, 0.0, 1.0, 0.0, 0.0, 0.0, 1.0, 1.0)
+    assert(m.power(5) == m * m * m * m * m)
+    assert(m.power(8) == m * m * m * m * m * m * m * m)
+  }
+
+  test("Matrix to a large power") {
+    val m = Mat4d(1.0, 0.0, 0.0, 0.0, 0.0, -1.0, 0.0, 0.0, 0.0, 0.0, 0.5, 0.0, 0.0, 0.0, 0.0, 1.0)
+    assert(m.power(Int.MaxValue) == Mat4d(1.0, 0.0, 0.0, 0.0, 0.0, -1.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 1.0))
+    assert(Mat4d(1.0, 0.0, 0.0, 0.0, 0.0, -1.0, 0.0, 0.0, 0.0, 0.0, 2.0, 0.0, 0.0, 0.0, 0.0, 1.0).power(Int.MinValue) == Mat4d(1.0, 0.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 1.0))
+  }
+
+  test("Raise packed matrices to a power") {
+    val matrices = Array(Mat4d(1.0, 2.0, 0.0, 0.0, 0.0, 1.0, 1.0, 0.0, 1.0, 0.0, 1.0, 0.0, 0.0, 0.0, 1.0, 1.0), Mat4d(1.0, 0.0, 0.0, 0.0, 0.0, -1.0, 0.0, 0.0, 0.0, 0.0, 0.5, 0.0, 0.0, 0.0, 0.0, 1.0), Mat4d.Identity)
+    val src = matrices.flatMap(m => Array(m.m00, m.m01, m.m02, m.m03, m.m10, m.m11, m.m12, m.m13, m.m20, m.m21, m.m22, m.m23, m.m30, m.m31, m.m32, m.m33))
+    val dst = Array.fill(48)(Double.NaN)
+    Mat4d.powerPacked(src, 3, dst, 1, 2)
+    assert(dst.take(16).forall(_.isNaN))
+    assert(Mat4d(dst(16), dst(17), dst(18), dst(19), dst(20), dst(21), dst(22), dst(23), dst(24), dst(25), dst(26), dst(27), dst(28), dst(29), dst(30), dst(31)) == matrices(1).power(3))
+    Mat4d.powerPacked(src, Array(0, -2, 7), src, 0, 3)
+    assert(Mat4d(src(0), src(1), src(2), src(3), src(4), src(5), src(6), src(7), src(8), src(9), src(10), src(11), src(12), src(13), src(14), src(15)) == Mat4d.Identity)
+    assert(Mat4d(src(16), src(17), src(18), src(19), src(20), src(21), src(22), src(23), src(24), src(25), src(26), src(27), src(28), src(29), src(30), src(31)) == matrices(1).power(-2))
+    assert(Mat4d(src(32), src(33), src(34), src(35), src(36), src(37), src(38), src(39), src(40), src(41), src(42), src(43), src(44), src(45), src(46), src(47)) == Mat4d.Identity)
+  }
 }
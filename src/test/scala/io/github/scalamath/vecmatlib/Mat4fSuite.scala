@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import org.scalactic.Equality
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, FloatBuffer}
+
 class Mat4fSuite extends AnyFunSuite {
 
   implicit val equalityMat4f: Equality[Mat4f] = (a: Mat4f, b: Any) => b match {
@@ -212,6 +214,35 @@ class Mat4fSuite extends AnyFunSuite {
     assert(mat.inverse === inv)
   }
 
+  test("Inverse of a matrix is consistent with the adjugate") {
+    val mat = Mat4f.translation(1.0f, -2.0f, 3.0f) * Mat4f.rotation(0.5f, -0.25f, 1.0f) * Mat4f.scaling(2.0f, 1.5f, 0.5f)
+    assert(mat.inverse === mat.adjugate / mat.determinant)
+    assert(mat * mat.inverse === Mat4f.Identity)
+  }
+
+  test("Inverse of a singular matrix") {
+    assertThrows[ArithmeticException] {
+      Mat4f(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f, 9.0f, 10.0f, 11.0f, 12.0f, 13.0f, 14.0f, 15.0f, 16.0f).inverse
+    }
+  }
+
+  test("Inverse transposed matrix") {
+    val mat = Mat4f(1.0f, 3.0f, 5.0f, 9.0f, 1.0f, 3.0f, 1.0f, 7.0f, 4.0f, 3.0f, 9.0f, 7.0f, 5.0f, 2.0f, 0.0f, 9.0f)
+    assert(mat.inverseTransposed === mat.inverse.transposed)
+  }
+
+  test("Inverse transposed of a singular matrix") {
+    assertThrows[ArithmeticException] {
+      Mat4f(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f, 9.0f, 10.0f, 11.0f, 12.0f, 13.0f, 14.0f, 15.0f, 16.0f).inverseTransposed
+    }
+  }
+
+  test("Power of a singular matrix with a negative exponent") {
+    assertThrows[ArithmeticException] {
+      Mat4f(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f, 9.0f, 10.0f, 11.0f, 12.0f, 13.0f, 14.0f, 15.0f, 16.0f).power(-2)
+    }
+  }
+
   test("Power of a matrix with a positive exponent") {
     val m = Mat4f(1.0f, 3.0f, 5.0f, 9.0f, 1.0f, 3.0f, 1.0f, 7.0f, 4.0f, 3.0f, 9.0f, 7.0f, 5.0f, 2.0f, 0.0f, 9.0f)
     assert(m.power(3) === m * m * m)
@@ -411,4 +442,218 @@ class Mat4fSuite extends AnyFunSuite {
     val m = Mat4f.scaling(s)
     assert((m * (v, 0.0f, 0.0f)).xy === v * s)
   }
+
+  test("Transform packed points") {
+    val m = Mat4f(1.5f, -0.5f, 2.0f, 0.25f, 0.5f, 3.0f, -1.0f, 1.25f, -2.0f, 0.75f, 1.0f, -1.5f, 0.5f, 0.25f, -0.75f, 2.0f)
+    val src = Array(0.0f, 0.0f, 0.0f, 1.5f, -2.0f, 0.5f, -1.0f, 3.0f, 2.5f)
+    val dst = new Array[Float](9)
+    m.transformPoints(src, dst, 1, 2)
+    assert(dst.take(3).forall(_ == 0.0f))
+    assert(Vec3f(dst(3), dst(4), dst(5)) ~= (m * (Vec3f(1.5f, -2.0f, 0.5f), 1.0f)).xyz)
+    assert(Vec3f(dst(6), dst(7), dst(8)) ~= (m * (Vec3f(-1.0f, 3.0f, 2.5f), 1.0f)).xyz)
+  }
+
+  test("Transform points in a buffer") {
+    val m = Mat4f(1.5f, -0.5f, 2.0f, 0.25f, 0.5f, 3.0f, -1.0f, 1.25f, -2.0f, 0.75f, 1.0f, -1.5f, 0.5f, 0.25f, -0.75f, 2.0f)
+    val points = Array(Vec3f(1.5f, -2.0f, 0.5f), Vec3f(-1.0f, 3.0f, 2.5f), Vec3f(0.25f, 0.5f, -4.0f))
+    val res = m.transformPoints(Vec3fBuffer.fromArray(points))
+    for(i <- points.indices) {
+      assert(res(i) ~= (m * (points(i), 1.0f)).xyz)
+    }
+  }
+
+  test("Transform packed directions") {
+    val m = Mat4f(1.5f, -0.5f, 2.0f, 0.25f, 0.5f, 3.0f, -1.0f, 1.25f, -2.0f, 0.75f, 1.0f, -1.5f, 0.5f, 0.25f, -0.75f, 2.0f)
+    val src = Array(0.0f, 0.0f, 0.0f, 1.5f, -2.0f, 0.5f, -1.0f, 3.0f, 2.5f)
+    val dst = new Array[Float](9)
+    m.transformDirections(src, dst, 1, 2)
+    assert(dst.take(3).forall(_ == 0.0f))
+    assert(Vec3f(dst(3), dst(4), dst(5)) ~= (m * (Vec3f(1.5f, -2.0f, 0.5f), 0.0f)).xyz)
+    assert(Vec3f(dst(6), dst(7), dst(8)) ~= (m * (Vec3f(-1.0f, 3.0f, 2.5f), 0.0f)).xyz)
+  }
+
+  test("Transform packed homogeneous vectors") {
+    val m = Mat4f(1.5f, -0.5f, 2.0f, 0.25f, 0.5f, 3.0f, -1.0f, 1.25f, -2.0f, 0.75f, 1.0f, -1.5f, 0.5f, 0.25f, -0.75f, 2.0f)
+    val src = Array(0.0f, 0.0f, 0.0f, 0.0f, 1.5f, -2.0f, 0.5f, 1.0f, -1.0f, 3.0f, 2.5f, 0.5f)
+    val dst = new Array[Float](12)
+    m.transform(src, dst, 1, 2)
+    assert(dst.take(4).forall(_ == 0.0f))
+    assert(Vec4f(dst(4), dst(5), dst(6), dst(7)) ~= m * Vec4f(1.5f, -2.0f, 0.5f, 1.0f))
+    assert(Vec4f(dst(8), dst(9), dst(10), dst(11)) ~= m * Vec4f(-1.0f, 3.0f, 2.5f, 0.5f))
+  }
+
+  test("Equal matrices have the same hash code") {
+    val a = Mat4f(1.0f, 0.0f, 3.0f, -1.0f, 2.0f, 2.0f, 1.0f, -3.0f, 0.0f, 3.0f, 3.0f, 2.0f, -2.0f, 1.0f, -3.0f, 4.0f)
+    val b = Mat4f(1.0f, -0.0f, 3.0f, -1.0f, 2.0f, 2.0f, 1.0f, -3.0f, 0.0f, 3.0f, 3.0f, 2.0f, -2.0f, 1.0f, -3.0f, 4.0f)
+    assert(a.equals(b))
+    assert(a.hashCode() == b.hashCode())
+    assert(!a.equals(a.transposed))
+  }
+
+  test("Write to and read from a float buffer") {
+    val a = Mat4f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f, 10.0f, -11.0f, 12.0f, 13.0f, -14.0f, 15.0f, 16.0f)
+    val buffer = FloatBuffer.allocate(18)
+    a.writeTo(buffer, 2, false)
+    assert(buffer.get(2) == a.m00)
+    assert(buffer.get(3) == a.m01)
+    assert(Mat4f.readFrom(buffer, 2, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Mat4f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f, 10.0f, -11.0f, 12.0f, 13.0f, -14.0f, 15.0f, 16.0f)
+    val buffer = ByteBuffer.allocateDirect(68).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4, false)
+    assert(buffer.getFloat(4) == a.m00)
+    assert(buffer.getFloat(8) == a.m01)
+    assert(Mat4f.readFrom(buffer, 4, false) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a float buffer in column-major order") {
+    val a = Mat4f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f, 10.0f, -11.0f, 12.0f, 13.0f, -14.0f, 15.0f, 16.0f)
+    val buffer = FloatBuffer.allocate(16)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.get(0) == a.m00)
+    assert(buffer.get(1) == a.m10)
+    assert(buffer.get(4) == a.m01)
+    assert(Mat4f.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write to and read from a byte buffer in column-major order") {
+    val a = Mat4f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f, 10.0f, -11.0f, 12.0f, 13.0f, -14.0f, 15.0f, 16.0f)
+    val buffer = ByteBuffer.allocate(64)
+    a.writeTo(buffer, 0, true)
+    assert(buffer.getFloat(4) == a.m10)
+    assert(Mat4f.readFrom(buffer, 0, true) == a)
+  }
+
+  test("Write and read arrays of matrices with a float buffer") {
+    val array = Array(Mat4f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f, 10.0f, -11.0f, 12.0f, 13.0f, -14.0f, 15.0f, 16.0f), Mat4f(2.0f, -3.0f, 4.0f, -5.0f, 6.0f, -7.0f, 8.0f, -9.0f, 10.0f, -11.0f, 12.0f, -13.0f, 14.0f, -15.0f, 16.0f, -17.0f))
+    val buffer = FloatBuffer.allocate(33)
+    Mat4f.writeAll(array, buffer, 1, true)
+    assert(Mat4f.readFrom(buffer, 17, true) == array(1))
+    assert(Mat4f.readAll(buffer, 1, 2, true) sameElements array)
+  }
+
+  test("Write and read arrays of matrices with a byte buffer") {
+    val array = Array(Mat4f(1.0f, -2.0f, 3.0f, 4.0f, -5.0f, 6.0f, 7.0f, -8.0f, 9.0f, 10.0f, -11.0f, 12.0f, 13.0f, -14.0f, 15.0f, 16.0f), Mat4f(2.0f, -3.0f, 4.0f, -5.0f, 6.0f, -7.0f, 8.0f, -9.0f, 10.0f, -11.0f, 12.0f, -13.0f, 14.0f, -15.0f, 16.0f, -17.0f))
+    val buffer = ByteBuffer.allocateDirect(132).order(ByteOrder.nativeOrder())
+    Mat4f.writeAll(array, buffer, 4, true)
+    assert(Mat4f.readFrom(buffer, 68, true) == array(1))
+    assert(Mat4f.readAll(buffer, 4, 2, true) sameElements array)
+  }
+
+  test("Rotation matrix from euler angles in every order") {
+    for(order <- EulerOrder.values()) {
+      val m = Mat4f.rotation(0.3, -1.1, 0.8, order)
+      assert(m === Mat4f.rotation(Quatf.fromEuler(0.3, -1.1, 0.8, order)))
+    }
+  }
+
+  test("Rotation matrix from euler angles in XYZ order") {
+    val m = Mat4f.rotation(0.3, -1.1, 0.8, EulerOrder.XYZ)
+    assert(m === Mat4f.rotationX(0.3) * Mat4f.rotationY(-1.1) * Mat4f.rotationZ(0.8))
+    assert(Mat4f.rotation(0.3, -1.1, 0.8) === m)
+  }
+
+  test("Rotation matrices from packed euler angles") {
+    val angles = Array(0.3f, -1.1f, 0.8f, 1.2f, 0.4f, -2.0f, -0.5f, 1.5f, 3.0f)
+    for(order <- EulerOrder.values()) {
+      val dst = Array.fill(64)(Float.NaN)
+      Mat4f.rotations(angles, order, dst, 1, 2)
+      assert(dst.take(16).forall(_.isNaN) && dst.drop(48).forall(_.isNaN))
+      for(i <- 1 to 2) {
+        val res = Mat4f.readFrom(FloatBuffer.wrap(dst), i * 16, false)
+        assert(res === Mat4f.rotation(angles(i * 3), angles(i * 3 + 1), angles(i * 3 + 2), order))
+      }
+    }
+  }
+
+  private def closeTo(a: Mat4f, b: Mat4f): Boolean = (0 until 4).forall(r => (0 until 4).forall(c => math.abs(a(r, c) - b(r, c)) < 1e-5f))
+
+  test("Matrix from translation, rotation, and scale") {
+    val t = Vec3f(1.5f, -2.0f, 0.5f)
+    val q = Quatf(Vec3f(1.0f, 2.0f, 3.0f).normalized, 0.7)
+    val s = Vec3f(2.0f, 1.5f, 0.5f)
+    assert(closeTo(Mat4f.fromTRS(t, q, s), Mat4f.translation(t) * Mat4f.rotation(q) * Mat4f.scaling(s)))
+  }
+
+  test("Decompose a matrix into translation, rotation, and scale") {
+    val t = Vec3f(1.5f, -2.0f, 0.5f)
+    val q = Quatf(Vec3f(1.0f, 2.0f, 3.0f).normalized, 0.7)
+    val s = Vec3f(2.0f, 1.5f, 0.5f)
+    val (translation, rotation, scale) = Mat4f.fromTRS(t, q, s).decompose
+    assert(translation == t)
+    assert(math.abs(math.abs(rotation.dot(q)) - 1.0) < 1e-5f)
+    assert(scale.distanceTo(s) < 1e-5f)
+  }
+
+  test("Decompose a matrix with a rotation of half a turn") {
+    val q = Quatf(Vec3f.Up, math.Pi)
+    val m = Mat4f.fromTRS(Vec3f.Zero, q, Vec3f.One)
+    val (_, rotation, scale) = m.decompose
+    assert(math.abs(math.abs(rotation.dot(q)) - 1.0) < 1e-5f)
+    assert(scale.distanceTo(Vec3f.One) < 1e-5f)
+  }
+
+  test("Decompose a matrix with a reflection") {
+    val t = Vec3f(1.5f, -2.0f, 0.5f)
+    val q = Quatf(Vec3f(1.0f, 2.0f, 3.0f).normalized, 0.7)
+    val m = Mat4f.fromTRS(t, q, Vec3f(2.0f, -1.5f, 0.5f))
+    val (translation, rotation, scale) = m.decompose
+    assert(scale.x < 0.0f)
+    assert(closeTo(Mat4f.fromTRS(translation, rotation, scale), m))
+  }
+
+  test("Interpolate translation, rotation, and scale of two matrices") {
+    val t0 = Vec3f(1.5f, -2.0f, 0.5f)
+    val q0 = Quatf(Vec3f(1.0f, 2.0f, 3.0f).normalized, 0.7)
+    val s0 = Vec3f(2.0f, 1.5f, 0.5f)
+    val t1 = Vec3f(-1.0f, 0.5f, 2.0f)
+    val q1 = Quatf(Vec3f.Right, 1.2)
+    val s1 = Vec3f(1.0f, 1.0f, 3.0f)
+    val a = Mat4f.fromTRS(t0, q0, s0)
+    val b = Mat4f.fromTRS(t1, q1, s1)
+    assert(closeTo(a.lerpTRS(b, 0.0f), a))
+    assert(closeTo(a.lerpTRS(b, 1.0f), b))
+    assert(closeTo(a.lerpTRS(b, 0.3f), Mat4f.fromTRS(t0.lerp(t1, 0.3f), q0.slerp(q1, 0.3f), s0.lerp(s1, 0.3f))))
+  }
+
+  test("Matrix to a power computed by repeated squaring") {
+    val m = Mat4f(1.0f, 2.0f, 0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 0.0f, 1.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f, 1.0f, 1.0f)
+    assert(m.power(5) == m * m * m * m * m)
+    assert(m.power(8) == m * m * m * m * m * m * m * m)
+  }
+
+  test("Matrix to a large power") {
+    val m = Mat4f(1.0f, 0.0f, 0.0f, 0.0f, 0.0f, -1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.5f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f)
+    assert(m.power(Int.MaxValue) == Mat4f(1.0f, 0.0f, 0.0f, 0.0f, 0.0f, -1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f))
+    assert(Mat4f(1.0f, 0.0f, 0.0f, 0.0f, 0.0f, -1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 2.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f).power(Int.MinValue) == Mat4f(1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f))
+  }
+
+  test("Raise packed matrices to a power") {
+    val matrices = Array(Mat4f(1.0f, 2.0f, 0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 0.0f, 1.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f, 1.0f, 1.0f), Mat4f(1.0f, 0.0f, 0.0f, 0.0f, 0.0f, -1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.5f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f), Mat4f.Identity)
+    val src = matrices.flatMap(m => Array(m.m00, m.m01, m.m02, m.m03, m.m10, m.m11, m.m12, m.m13, m.m20, m.m21, m.m22, m.m23, m.m30, m.m31, m.m32, m.m33))
+    val dst = Array.fill(48)(Float.NaN)
+    Mat4f.powerPacked(src, 3, dst, 1, 2)
+    assert(dst.take(16).forall(_.isNaN))
+    assert(Mat4f(dst(16), dst(17), dst(18), dst(19), dst(20), dst(21), dst(22), dst(23), dst(24), dst(25), dst(26), dst(27), dst(28), dst(29), dst(30), dst(31)) == matrices(1).power(3))
+    Mat4f.powerPacked(src, Array(0, -2, 7), src, 0, 3)
+    assert(Mat4f(src(0), src(1), src(2), src(3), src(4), src(5), src(6), src(7), src(8), src(9), src(10), src(11), src(12), src(13), src(14), src(15)) == Mat4f.Identity)
+    assert(Mat4f(src(16), src(17), src(18), src(19), src(20), src(21), src(22), src(23), src(24), src(25), src(26), src(27), src(28), src(29), src(30), src(31)) == matrices(1).power(-2))
+    assert(Mat4f(src(32), src(33), src(34), src(35), src(36), src(37), src(38), src(39), src(40), src(41), src(42), src(43), src(44), src(45), src(46), src(47)) == Mat4f.Identity)
+  }
+
+  test("Packed powers are equal to the powers of each matrix") {
+    val m = Mat4f(0.8f, -0.3f, 0.1f, 1.5f, 0.2f, 0.9f, -0.4f, -2.0f, -0.1f, 0.5f, 1.1f, 0.7f, 0.0f, 0.1f, 0.0f, 1.0f)
+    val exps = Array(5, 6, -3)
+    val src = Array.fill(3)(Array(m.m00, m.m01, m.m02, m.m03, m.m10, m.m11, m.m12, m.m13, m.m20, m.m21, m.m22, m.m23, m.m30, m.m31, m.m32, m.m33)).flatten
+    val dst = new Array[Float](48)
+    Mat4f.powerPacked(src, exps, dst, 0, 3)
+    for(i <- exps.indices) {
+      val j = i * 16
+      assert(Mat4f(dst(j), dst(j + 1), dst(j + 2), dst(j + 3), dst(j + 4), dst(j + 5), dst(j + 6), dst(j + 7), dst(j + 8), dst(j + 9), dst(j + 10), dst(j + 11), dst(j + 12), dst(j + 13), dst(j + 14), dst(j + 15)) == m.power(exps(i)))
+    }
+  }
 }
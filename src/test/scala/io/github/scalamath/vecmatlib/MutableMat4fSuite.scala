@@ -0,0 +1,66 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalatest.funsuite.AnyFunSuite
+
+class MutableMat4fSuite extends AnyFunSuite {
+
+  implicit val equalityMat4f: Equality[Mat4f] = (a: Mat4f, b: Any) => b match {
+    case b: Mat4f => a ~= b
+    case _ => false
+  }
+
+  private val a = Mat4f(1.5f, -0.5f, 2.0f, 0.25f, 0.5f, 3.0f, -1.0f, 1.25f, -2.0f, 0.75f, 1.0f, -1.5f, 0.5f, 0.25f, -0.75f, 2.0f)
+  private val b = Mat4f(2.0f, 1.0f, 0.0f, -1.0f, 0.5f, -1.5f, 2.5f, 0.0f, 1.0f, 0.0f, 3.0f, 0.5f, -0.5f, 2.0f, 1.0f, 1.0f)
+
+  test("Convert to and from immutable matrix") {
+    val m = a.toMutable
+    assert(m.toMat4f == a)
+    m.set(b)
+    assert(m.toMat4f == b)
+    assert(m.setIdentity().toMat4f == Mat4f.Identity)
+    assert(new MutableMat4f().toMat4f == Mat4f.Identity)
+  }
+
+  test("Set translation, rotation, and scaling") {
+    val q = Quatf(1.0f, 0.5f, -1.5f, 2.0f).normalized
+    assert(new MutableMat4f().setTranslation(1.0f, 2.0f, 3.0f).toMat4f === Mat4f.translation(1.0f, 2.0f, 3.0f))
+    assert(new MutableMat4f().setRotation(q.toMutable).toMat4f === Mat4f.rotation(q))
+    assert(new MutableMat4f().setScaling(1.0f, 2.0f, 3.0f).toMat4f === Mat4f.scaling(1.0f, 2.0f, 3.0f))
+  }
+
+  test("Set sum of two matrices") {
+    assert(new MutableMat4f().setAdd(a.toMutable, b.toMutable).toMat4f === a + b)
+  }
+
+  test("Set product of two matrices") {
+    assert(new MutableMat4f().setMul(a.toMutable, b.toMutable).toMat4f === a * b)
+  }
+
+  test("Set product of two matrices in place") {
+    val m = a.toMutable
+    assert(m.setMul(m, m).toMat4f === a * a)
+  }
+
+  test("Set transposed matrix") {
+    val m = a.toMutable
+    assert(m.setTransposed(m).toMat4f === a.transposed)
+  }
+
+  test("Set inverse matrix") {
+    assert(new MutableMat4f().setInverse(a.toMutable).toMat4f === a.inverse)
+  }
+
+  test("Set inverse matrix in place") {
+    val m = b.toMutable
+    assert(m.setInverse(m).toMat4f === b.inverse)
+  }
+
+  test("Set inverse of a singular matrix") {
+    val m = a.toMutable
+    assertThrows[ArithmeticException] {
+      m.setInverse(Mat4f(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f, 9.0f, 10.0f, 11.0f, 12.0f, 13.0f, 14.0f, 15.0f, 16.0f).toMutable)
+    }
+    assert(m.toMat4f == a)
+  }
+}
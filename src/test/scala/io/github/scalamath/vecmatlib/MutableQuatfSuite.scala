@@ -0,0 +1,83 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalatest.funsuite.AnyFunSuite
+
+class MutableQuatfSuite extends AnyFunSuite {
+
+  implicit val equalityQuatf: Equality[Quatf] = (a: Quatf, b: Any) => b match {
+    case b: Quatf => a ~= b
+    case _ => false
+  }
+
+  private val p = Quatf(1.0f, 0.5f, -1.5f, 2.0f)
+  private val q = Quatf(-0.5f, 2.0f, 1.0f, 0.25f)
+
+  test("Convert to and from immutable quaternion") {
+    val m = p.toMutable
+    assert(m.toQuatf == p)
+    m.set(q)
+    assert(m.toQuatf == q)
+    assert(m.setIdentity().toQuatf == Quatf.Identity)
+  }
+
+  test("Set axis angle") {
+    assert(new MutableQuatf().setAxisAngle(0.0f, 1.0f, 0.0f, math.Pi / 2.0).toQuatf === Quatf(Vec3f.Up, math.Pi / 2.0))
+  }
+
+  test("Set sum of two quaternions") {
+    assert(new MutableQuatf().setAdd(p.toMutable, q.toMutable).toQuatf === p + q)
+  }
+
+  test("Set product of two quaternions") {
+    assert(new MutableQuatf().setMul(p.toMutable, q.toMutable).toQuatf === p * q)
+  }
+
+  test("Set product of two quaternions in place") {
+    val m = p.toMutable
+    assert(m.setMul(q.toMutable, m).toQuatf === q * p)
+  }
+
+  test("Set conjugate") {
+    assert(new MutableQuatf().setConjugate(p.toMutable).toQuatf === p.conjugate)
+  }
+
+  test("Set inverse") {
+    assert(new MutableQuatf().setInverse(p.toMutable).toQuatf === p.inverse)
+  }
+
+  test("Set normalized quaternion") {
+    assert(new MutableQuatf().setNormalized(p.toMutable).toQuatf === p.normalized)
+  }
+
+  test("Set spherical interpolation") {
+    val sq2 = math.sqrt(2.0).toFloat / 2.0f
+    val q1 = Quatf(sq2, 0.0f, 0.0f, sq2).toMutable
+    val q2 = Quatf(0.0f, sq2, sq2, 0.0f).toMutable
+    assert(new MutableQuatf().setSlerp(q1, q2, 0.5f).toQuatf === Quatf(0.5f, 0.5f, 0.5f, 0.5f))
+  }
+
+  test("Set spherical interpolation between close quaternions") {
+    val q1 = Quatf(Vec3f.Up, 0.5).toMutable
+    val q2 = Quatf(Vec3f.Up, 0.5 + 1e-4).toMutable
+    assert(new MutableQuatf().setSlerp(q1, q2, 0.5f).toQuatf === Quatf(Vec3f.Up, 0.5 + 0.5e-4))
+  }
+
+  test("Set spherical interpolation takes the shortest path") {
+    val q1 = Quatf(Vec3f.Up, 0.5)
+    val q2 = -Quatf(Vec3f.Up, 1.5)
+    assert(new MutableQuatf().setSlerp(q1.toMutable, q2.toMutable, 0.5f).toQuatf === q1.slerp(q2, 0.5f))
+  }
+
+  test("Set normalized linear interpolation") {
+    val q1 = Quatf(Vec3f.Up, 0.5)
+    val q2 = -Quatf(Vec3f.Right, 1.5)
+    assert(new MutableQuatf().setNlerp(q1.toMutable, q2.toMutable, 0.25f).toQuatf === q1.nlerp(q2, 0.25f))
+  }
+
+  test("Dot product and length") {
+    assert(p.toMutable.dot(q.toMutable) == p.dot(q))
+    assert(p.toMutable.lengthSquared == p.lengthSquared)
+    assert(p.toMutable.length == p.length)
+  }
+}
@@ -0,0 +1,76 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalatest.funsuite.AnyFunSuite
+
+class MutableVec3fSuite extends AnyFunSuite {
+
+  implicit val equalityVec3f: Equality[Vec3f] = (a: Vec3f, b: Any) => b match {
+    case b: Vec3f => a ~= b
+    case _ => false
+  }
+
+  private val a = Vec3f(1.0f, 2.0f, -1.5f)
+  private val b = Vec3f(-3.0f, 0.5f, 2.0f)
+
+  test("Convert to and from immutable vector") {
+    val v = a.toMutable
+    assert(v.toVec3f == a)
+    v.set(b)
+    assert(v.toVec3f == b)
+  }
+
+  test("Set sum of two vectors") {
+    assert(new MutableVec3f().setAdd(a.toMutable, b.toMutable).toVec3f === a + b)
+  }
+
+  test("Set subtraction of two vectors") {
+    assert(new MutableVec3f().setSub(a.toMutable, b.toMutable).toVec3f === a - b)
+  }
+
+  test("Set component-wise product of two vectors") {
+    assert(new MutableVec3f().setMul(a.toMutable, b.toMutable).toVec3f === a * b)
+  }
+
+  test("Set product of a vector and a scalar") {
+    assert(new MutableVec3f().setMul(a.toMutable, 1.5f).toVec3f === a * 1.5f)
+  }
+
+  test("Set multiply and add") {
+    assert(new MutableVec3f().setMulAdd(a.toMutable, b.toMutable, 0.5f).toVec3f === a + b * 0.5f)
+  }
+
+  test("Set cross product") {
+    assert(new MutableVec3f().setCross(a.toMutable, b.toMutable).toVec3f === a.cross(b))
+  }
+
+  test("Set cross product in place") {
+    val v = a.toMutable
+    assert(v.setCross(v, b.toMutable).toVec3f === a.cross(b))
+  }
+
+  test("Set normalized vector") {
+    assert(new MutableVec3f().setNormalized(a.toMutable).toVec3f === a.normalized)
+  }
+
+  test("Set linear interpolation") {
+    assert(new MutableVec3f().setLerp(a.toMutable, b.toMutable, 0.25f).toVec3f === a.lerp(b, 0.25f))
+  }
+
+  test("Set transformed point") {
+    val m = Mat4f.translation(1.0f, -2.0f, 3.0f) * Mat4f.rotation(0.5f, -0.25f, 1.0f)
+    assert(new MutableVec3f().setTransformed(m.toMutable, a.toMutable).toVec3f === (m * (a, 1.0f)).xyz)
+  }
+
+  test("Set rotated point") {
+    val q = Quatf(1.0f, 0.5f, -1.5f, 2.0f).normalized
+    val v = a.toMutable
+    assert(v.setRotated(q.toMutable, v).toVec3f === q.rotate(a))
+  }
+
+  test("Dot product and length") {
+    assert(a.toMutable.dot(b.toMutable) == a.dot(b))
+    assert(a.toMutable.lengthSquared == a.lengthSquared)
+    assert(a.toMutable.length == a.length)
+  }
+}
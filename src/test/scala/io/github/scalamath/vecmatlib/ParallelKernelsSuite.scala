@@ -0,0 +1,234 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalatest.funsuite.AnyFunSuite
+
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.atomic.AtomicInteger
+import scala.util.Random
+
+class ParallelKernelsSuite extends AnyFunSuite {
+
+  implicit val equalityVec3f: Equality[Vec3f] = (a: Vec3f, b: Any) => b match {
+    case b: Vec3f => a ~= b
+    case _ => false
+  }
+
+  // Small chunks so that the range is split many times
+  private val pool = new ForkJoinPool(4)
+  private val kernels = new ParallelKernels(pool, 0, 7)
+
+  private val size = 1003
+  private val offset = 3
+  private val count = 997
+
+  private val random = new Random(42)
+  private val floats = Array.fill(size * 4)(random.nextFloat() * 4.0f - 2.0f)
+  private val doubles = Array.fill(size * 4)(random.nextDouble() * 4.0 - 2.0)
+
+  test("Construct parallel kernels with invalid chunk size") {
+    assertThrows[IllegalArgumentException] {
+      new ParallelKernels(pool, 0, 0)
+    }
+  }
+
+  test("Every element is processed exactly once") {
+    val visits = Array.fill(size)(new AtomicInteger())
+    kernels.forEachChunk(offset, count, (o, c) => {
+      assert(c > 0 && c <= 7)
+      for(i <- o until o + c) visits(i).incrementAndGet()
+    })
+    for(i <- 0 until size) {
+      assert(visits(i).get() == (if(i >= offset && i < offset + count) 1 else 0))
+    }
+  }
+
+  test("Ranges below the threshold are processed on the calling thread") {
+    val parallel = new ParallelKernels(pool, 1000, 7)
+    val caller = Thread.currentThread()
+    var calls = 0
+    parallel.forEachChunk(offset, 999, (o, c) => {
+      assert(Thread.currentThread() eq caller)
+      assert(o == offset && c == 999)
+      calls += 1
+    })
+    assert(calls == 1)
+  }
+
+  test("Exceptions thrown by a chunk are rethrown") {
+    assertThrows[IllegalStateException] {
+      kernels.forEachChunk(0, 100, (o, _) => if(o > 50) throw new IllegalStateException())
+    }
+  }
+
+  test("Transform points by a Mat4f") {
+    val m = Mat4f.translation(1.0f, -2.0f, 3.0f) * Mat4f.rotation(0.5f, -0.25f, 1.0f)
+    val expected = new Array[Float](size * 3)
+    val res = new Array[Float](size * 3)
+    m.transformPoints(floats, expected, offset, count)
+    kernels.transformPoints(m, floats, res, offset, count)
+    assert(res sameElements expected)
+  }
+
+  test("Transform points by a Mat4d") {
+    val m = Mat4d.translation(1.0, -2.0, 3.0) * Mat4d.rotation(0.5, -0.25, 1.0)
+    val expected = new Array[Double](size * 3)
+    val res = new Array[Double](size * 3)
+    m.transformPoints(doubles, expected, offset, count)
+    kernels.transformPoints(m, doubles, res, offset, count)
+    assert(res sameElements expected)
+  }
+
+  test("Transform points by a Mat3x4f") {
+    val m = Mat3x4f.translation(1.0f, -2.0f, 3.0f) * Mat4f.scaling(2.0f, 1.5f, 0.5f)
+    val expected = new Array[Float](size * 3)
+    val res = new Array[Float](size * 3)
+    m.transformPoints(floats, expected, offset, count)
+    kernels.transformPoints(m, floats, res, offset, count)
+    assert(res sameElements expected)
+  }
+
+  test("Transform points by a Mat3x4d") {
+    val m = Mat3x4d.translation(1.0, -2.0, 3.0) * Mat4d.scaling(2.0, 1.5, 0.5)
+    val expected = new Array[Double](size * 3)
+    val res = new Array[Double](size * 3)
+    m.transformPoints(doubles, expected, offset, count)
+    kernels.transformPoints(m, doubles, res, offset, count)
+    assert(res sameElements expected)
+  }
+
+  test("Rotate points by a Quatf") {
+    val q = Quatf(Vec3f(1.0f, -2.0f, 0.5f).normalized, 1.3)
+    val expected = new Array[Float](size * 3)
+    val res = new Array[Float](size * 3)
+    q.rotatePoints(floats, expected, offset, count)
+    kernels.rotatePoints(q, floats, res, offset, count)
+    assert(res sameElements expected)
+  }
+
+  test("Rotate points by a Quatd") {
+    val q = Quatd(Vec3d(1.0, -2.0, 0.5).normalized, 1.3)
+    val expected = new Array[Double](size * 3)
+    val res = new Array[Double](size * 3)
+    q.rotatePoints(doubles, expected, offset, count)
+    kernels.rotatePoints(q, doubles, res, offset, count)
+    assert(res sameElements expected)
+  }
+
+  test("Rotate and translate points by a Quatf") {
+    val q = Quatf(Vec3f(1.0f, -2.0f, 0.5f).normalized, 1.3)
+    val t = Vec3f(1.0f, -2.0f, 3.0f)
+    val expected = new Array[Float](size * 3)
+    val res = new Array[Float](size * 3)
+    q.transformPoints(floats, t, expected, offset, count)
+    kernels.transformPoints(q, floats, t, res, offset, count)
+    assert(res sameElements expected)
+  }
+
+  test("Rotate and translate points by a Quatd") {
+    val q = Quatd(Vec3d(1.0, -2.0, 0.5).normalized, 1.3)
+    val t = Vec3d(1.0, -2.0, 3.0)
+    val expected = new Array[Double](size * 3)
+    val res = new Array[Double](size * 3)
+    q.transformPoints(doubles, t, expected, offset, count)
+    kernels.transformPoints(q, doubles, t, res, offset, count)
+    assert(res sameElements expected)
+  }
+
+  test("Transform directions by a Mat4f") {
+    val m = Mat4f.rotation(0.5f, -0.25f, 1.0f)
+    val expected = new Array[Float](size * 3)
+    val res = new Array[Float](size * 3)
+    m.transformDirections(floats, expected, offset, count)
+    kernels.transformDirections(m, floats, res, offset, count)
+    assert(res sameElements expected)
+  }
+
+  test("Transform directions by a Mat4d") {
+    val m = Mat4d.rotation(0.5, -0.25, 1.0)
+    val expected = new Array[Double](size * 3)
+    val res = new Array[Double](size * 3)
+    m.transformDirections(doubles, expected, offset, count)
+    kernels.transformDirections(m, doubles, res, offset, count)
+    assert(res sameElements expected)
+  }
+
+  test("Transform directions by a Mat3x4f") {
+    val m = Mat3x4f.translation(1.0f, -2.0f, 3.0f) * Mat4f.scaling(2.0f, 1.5f, 0.5f)
+    val expected = new Array[Float](size * 3)
+    val res = new Array[Float](size * 3)
+    m.transformDirections(floats, expected, offset, count)
+    kernels.transformDirections(m, floats, res, offset, count)
+    assert(res sameElements expected)
+  }
+
+  test("Transform directions by a Mat3x4d") {
+    val m = Mat3x4d.translation(1.0, -2.0, 3.0) * Mat4d.scaling(2.0, 1.5, 0.5)
+    val expected = new Array[Double](size * 3)
+    val res = new Array[Double](size * 3)
+    m.transformDirections(doubles, expected, offset, count)
+    kernels.transformDirections(m, doubles, res, offset, count)
+    assert(res sameElements expected)
+  }
+
+  test("Transform points in a Vec3fBuffer") {
+    val m = Mat4f.translation(1.0f, -2.0f, 3.0f) * Mat4f.rotation(0.5f, -0.25f, 1.0f)
+    val src = Vec3fBuffer.fromArray(floats.grouped(3).take(size).map(a => Vec3f(a(0), a(1), a(2))).toArray)
+    val res = kernels.transformPoints(m, src, new Vec3fBuffer(size))
+    for(i <- 0 until size) {
+      assert(res(i) === (m * (src(i), 1.0f)).xyz)
+    }
+  }
+
+  test("Transform points in buffers of different sizes") {
+    assertThrows[IllegalArgumentException] {
+      kernels.transformPoints(Mat4f.Identity, new Vec3fBuffer(10), new Vec3fBuffer(9))
+    }
+  }
+
+  test("Normalize a Vec3fBuffer") {
+    val src = Vec3fBuffer.fromArray(floats.grouped(3).take(size).map(a => Vec3f(a(0), a(1), a(2))).toArray)
+    val res = kernels.normalize(src, new Vec3fBuffer(size))
+    for(i <- 0 until size) {
+      assert(res(i) === src(i).normalized)
+    }
+  }
+
+  test("Slerp packed Quatf arrays") {
+    val to = floats.reverse
+    val expected = new Array[Float](size * 4)
+    val res = new Array[Float](size * 4)
+    Quatf.slerpPacked(floats, to, 0.3f, expected, offset, count)
+    kernels.slerp(floats, to, 0.3f, res, offset, count)
+    assert(res sameElements expected)
+  }
+
+  test("Slerp packed Quatf arrays with weights") {
+    val to = floats.reverse
+    val weights = Array.tabulate(size)(i => i.toFloat / size)
+    val expected = new Array[Float](size * 4)
+    val res = new Array[Float](size * 4)
+    Quatf.slerpPacked(floats, to, weights, expected, offset, count)
+    kernels.slerp(floats, to, weights, res, offset, count)
+    assert(res sameElements expected)
+  }
+
+  test("Slerp packed Quatd arrays") {
+    val to = doubles.reverse
+    val expected = new Array[Double](size * 4)
+    val res = new Array[Double](size * 4)
+    Quatd.slerpPacked(doubles, to, 0.3, expected, offset, count)
+    kernels.slerp(doubles, to, 0.3, res, offset, count)
+    assert(res sameElements expected)
+  }
+
+  test("Slerp packed Quatd arrays with weights") {
+    val to = doubles.reverse
+    val weights = Array.tabulate(size)(i => i.toDouble / size)
+    val expected = new Array[Double](size * 4)
+    val res = new Array[Double](size * 4)
+    Quatd.slerpPacked(doubles, to, weights, expected, offset, count)
+    kernels.slerp(doubles, to, weights, res, offset, count)
+    assert(res sameElements expected)
+  }
+}
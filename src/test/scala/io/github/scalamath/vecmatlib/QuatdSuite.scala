@@ -5,6 +5,8 @@ import org.scalactic.Equality
 import org.scalactic.Tolerance.convertNumericToPlusOrMinusWrapper
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, DoubleBuffer}
+
 class QuatdSuite extends AnyFunSuite {
 
   // https://www.andre-gaschler.com/rotationconverter/
@@ -224,6 +226,86 @@ class QuatdSuite extends AnyFunSuite {
     assert(q1.slerp(q2, 0.5) === res)
   }
 
+  test("Quaternion slerp takes the shortest path") {
+    val q1 = Quatd(Vec3d.Up, 0.5)
+    val q2 = Quatd(Vec3d.Up, 1.5)
+    assert(q1.slerp(-q2, 0.5) === Quatd(Vec3d.Up, 1.0))
+  }
+
+  test("Quaternion slerp at the endpoints") {
+    val q1 = Quatd(Vec3d.Up, 0.5)
+    val q2 = Quatd(Vec3d.Right, 1.5)
+    assert(q1.slerp(q2, 0.0) === q1)
+    assert(q1.slerp(q2, 1.0) === q2)
+  }
+
+  test("Quaternion slerp is consistent with the power of the quaternion") {
+    val q1 = Quatd(Vec3d.Up, 0.5)
+    val q2 = Quatd(Vec3d(1.0, 2.0, -1.0).normalized, 1.5)
+    assert(q1.slerp(q2, 0.3) === (q2 * q1.inverse).pow(0.3) * q1)
+  }
+
+  test("Quaternion slerp between close quaternions") {
+    val q1 = Quatd(Vec3d.Up, 0.5)
+    val q2 = Quatd(Vec3d.Up, 0.5 + 1e-4)
+    assert(q1.slerp(q2, 0.5) === Quatd(Vec3d.Up, 0.5 + 0.5e-4))
+  }
+
+  test("Quaternion nlerp") {
+    val q1 = Quatd(Vec3d.Up, 0.5)
+    val q2 = Quatd(Vec3d.Up, 1.5)
+    assert(q1.nlerp(q2, 0.5) === Quatd(Vec3d.Up, 1.0))
+    assert(q1.nlerp(-q2, 0.5) === Quatd(Vec3d.Up, 1.0))
+    assert(q1.nlerp(q2, 0.0) === q1)
+  }
+
+  test("Slerp packed quaternions") {
+    val from = Array(Quatd(Vec3d.Up, 0.5), Quatd(Vec3d.Right, -1.0), Quatd(Vec3d(1.0, 1.0, 0.0).normalized, 2.0))
+    val to = Array(Quatd(Vec3d.Up, 1.5), -Quatd(Vec3d.Forward, 0.25), Quatd(Vec3d(1.0, 1.0, 0.0).normalized, 2.0 + 1e-4))
+    val src = from.flatMap(q => Array(q.w, q.x, q.y, q.z))
+    val dst = to.flatMap(q => Array(q.w, q.x, q.y, q.z))
+    Quatd.slerpPacked(src, dst, 0.25, dst, 0, 3)
+    for(i <- 0 until 3) {
+      assert(Quatd(dst(i * 4), dst(i * 4 + 1), dst(i * 4 + 2), dst(i * 4 + 3)) === from(i).slerp(to(i), 0.25))
+    }
+  }
+
+  test("Slerp packed quaternions with weights") {
+    val from = Array(Quatd.Identity, Quatd(Vec3d.Up, 0.5), Quatd(Vec3d.Right, -1.0))
+    val to = Array(Quatd.Identity, Quatd(Vec3d.Up, 1.5), -Quatd(Vec3d.Forward, 0.25))
+    val weights = Array(0.0, 0.75, 0.25)
+    val src = from.flatMap(q => Array(q.w, q.x, q.y, q.z))
+    val dst = new Array[Double](12)
+    Quatd.slerpPacked(src, to.flatMap(q => Array(q.w, q.x, q.y, q.z)), weights, dst, 1, 2)
+    assert(dst.take(4).forall(_ == 0.0))
+    for(i <- 1 until 3) {
+      assert(Quatd(dst(i * 4), dst(i * 4 + 1), dst(i * 4 + 2), dst(i * 4 + 3)) === from(i).slerp(to(i), weights(i)))
+    }
+  }
+
+  test("Nlerp packed quaternions") {
+    val from = Array(Quatd(Vec3d.Up, 0.5), Quatd(Vec3d.Right, -1.0))
+    val to = Array(Quatd(Vec3d.Up, 1.5), -Quatd(Vec3d.Forward, 0.25))
+    val src = from.flatMap(q => Array(q.w, q.x, q.y, q.z))
+    val dst = new Array[Double](8)
+    Quatd.nlerpPacked(src, to.flatMap(q => Array(q.w, q.x, q.y, q.z)), 0.25, dst, 0, 2)
+    for(i <- 0 until 2) {
+      assert(Quatd(dst(i * 4), dst(i * 4 + 1), dst(i * 4 + 2), dst(i * 4 + 3)) === from(i).nlerp(to(i), 0.25))
+    }
+  }
+
+  test("Nlerp packed quaternions with weights") {
+    val from = Array(Quatd(Vec3d.Up, 0.5), Quatd(Vec3d.Right, -1.0))
+    val to = Array(Quatd(Vec3d.Up, 1.5), -Quatd(Vec3d.Forward, 0.25))
+    val weights = Array(0.75, 0.25)
+    val src = from.flatMap(q => Array(q.w, q.x, q.y, q.z))
+    val dst = new Array[Double](8)
+    Quatd.nlerpPacked(src, to.flatMap(q => Array(q.w, q.x, q.y, q.z)), weights, dst, 0, 2)
+    for(i <- 0 until 2) {
+      assert(Quatd(dst(i * 4), dst(i * 4 + 1), dst(i * 4 + 2), dst(i * 4 + 3)) === from(i).nlerp(to(i), weights(i)))
+    }
+  }
+
   test("Get euler angles in the default order") {
     val q = Quatd(0.9253338, 0.0, 0.3791534, 0.0)
     val res = Vec3d(0.0, 0.7777625, 0.0)
@@ -237,6 +319,44 @@ class QuatdSuite extends AnyFunSuite {
     assert(quaternion.rotate(point) === res)
   }
 
+  test("Rotate point is equivalent to the product with the conjugate") {
+    val quaternion = Quatd(Vec3d(1.0, -2.0, 0.5).normalized, 1.3)
+    val point = Vec3d(0.3, -1.2, 2.5)
+    val res = (quaternion * (0.0, point.x, point.y, point.z) * quaternion.conjugate).vector
+    assert(quaternion.rotate(point) === res)
+    assert(quaternion.rotate(point.x, point.y, point.z) === res)
+  }
+
+  test("Rotate and translate point") {
+    val quaternion = Quatd(Vec3d(1.0, -2.0, 0.5).normalized, 1.3)
+    val point = Vec3d(0.3, -1.2, 2.5)
+    val translation = Vec3d(1.5, -2.0, 0.5)
+    assert(quaternion.transformPoint(point, translation) === quaternion.rotate(point) + translation)
+  }
+
+  test("Rotate packed points") {
+    val quaternion = Quatd(Vec3d(1.0, -2.0, 0.5).normalized, 1.3)
+    val points = Array(Vec3d(1.0, 2.0, 3.0), Vec3d(-0.5, 0.0, 1.5), Vec3d(0.3, -1.2, 2.5))
+    val src = points.flatMap(p => Array(p.x, p.y, p.z))
+    val dst = Array.fill(9)(Double.NaN)
+    quaternion.rotatePoints(src, dst, 1, 2)
+    assert(dst.take(3).forall(_.isNaN))
+    for(i <- 1 to 2) {
+      assert(Vec3d(dst(i * 3), dst(i * 3 + 1), dst(i * 3 + 2)) === quaternion.rotate(points(i)))
+    }
+  }
+
+  test("Rotate and translate packed points in place") {
+    val quaternion = Quatd(Vec3d(1.0, -2.0, 0.5).normalized, 1.3)
+    val translation = Vec3d(1.5, -2.0, 0.5)
+    val points = Array(Vec3d(1.0, 2.0, 3.0), Vec3d(-0.5, 0.0, 1.5))
+    val array = points.flatMap(p => Array(p.x, p.y, p.z))
+    quaternion.transformPoints(array, translation, array, 0, 2)
+    for(i <- 0 to 1) {
+      assert(Vec3d(array(i * 3), array(i * 3 + 1), array(i * 3 + 2)) === quaternion.transformPoint(points(i), translation))
+    }
+  }
+
   test("Quaternion equals four values") {
     val q = Quatd(1.2, 1.4, -2.1, 3.0)
     assert(q == (1.2, 1.4, -2.1, 3.0))
@@ -277,4 +397,48 @@ class QuatdSuite extends AnyFunSuite {
   ignore("Quaternion from shortest arc") {
     // TODO: Quaternion from shortest arc
   }
+
+  test("Equal quaternions have the same hash code") {
+    val a = Quatd(1.0, 0.0, -2.0, 3.0)
+    val b = Quatd(1.0, -0.0, -2.0, 3.0)
+    assert(a.equals(b))
+    assert(a.hashCode() == b.hashCode())
+    assert(!a.equals(a.conjugate))
+  }
+
+  test("Write to and read from a double buffer") {
+    val a = Quatd(1.0, -2.0, 3.0, 4.0)
+    val buffer = DoubleBuffer.allocate(6)
+    a.writeTo(buffer, 2)
+    assert(buffer.get(2) == a.w)
+    assert(buffer.get(3) == a.x)
+    assert(Quatd.readFrom(buffer, 2) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Quatd(1.0, -2.0, 3.0, 4.0)
+    val buffer = ByteBuffer.allocateDirect(40).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 8)
+    assert(buffer.getDouble(8) == a.w)
+    assert(buffer.getDouble(16) == a.x)
+    assert(Quatd.readFrom(buffer, 8) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write and read arrays of quaternions with a double buffer") {
+    val array = Array(Quatd(1.0, -2.0, 3.0, 4.0), Quatd(2.0, -3.0, 4.0, -5.0))
+    val buffer = DoubleBuffer.allocate(9)
+    Quatd.writeAll(array, buffer, 1)
+    assert(Quatd.readFrom(buffer, 5) == array(1))
+    assert(Quatd.readAll(buffer, 1, 2) sameElements array)
+  }
+
+  test("Write and read arrays of quaternions with a byte buffer") {
+    val array = Array(Quatd(1.0, -2.0, 3.0, 4.0), Quatd(2.0, -3.0, 4.0, -5.0))
+    val buffer = ByteBuffer.allocateDirect(72).order(ByteOrder.nativeOrder())
+    Quatd.writeAll(array, buffer, 8)
+    assert(Quatd.readFrom(buffer, 40) == array(1))
+    assert(Quatd.readAll(buffer, 8, 2) sameElements array)
+  }
 }
@@ -5,6 +5,8 @@ import org.scalactic.Equality
 import org.scalactic.Tolerance.convertNumericToPlusOrMinusWrapper
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, FloatBuffer}
+
 class QuatfSuite extends AnyFunSuite {
 
   // https://www.andre-gaschler.com/rotationconverter/
@@ -224,6 +226,86 @@ class QuatfSuite extends AnyFunSuite {
     assert(q1.slerp(q2, 0.5f) === res)
   }
 
+  test("Quaternion slerp takes the shortest path") {
+    val q1 = Quatf(Vec3f.Up, 0.5)
+    val q2 = Quatf(Vec3f.Up, 1.5)
+    assert(q1.slerp(-q2, 0.5f) === Quatf(Vec3f.Up, 1.0))
+  }
+
+  test("Quaternion slerp at the endpoints") {
+    val q1 = Quatf(Vec3f.Up, 0.5)
+    val q2 = Quatf(Vec3f.Right, 1.5)
+    assert(q1.slerp(q2, 0.0f) === q1)
+    assert(q1.slerp(q2, 1.0f) === q2)
+  }
+
+  test("Quaternion slerp is consistent with the power of the quaternion") {
+    val q1 = Quatf(Vec3f.Up, 0.5)
+    val q2 = Quatf(Vec3f(1.0f, 2.0f, -1.0f).normalized, 1.5)
+    assert(q1.slerp(q2, 0.3f) === (q2 * q1.inverse).pow(0.3f) * q1)
+  }
+
+  test("Quaternion slerp between close quaternions") {
+    val q1 = Quatf(Vec3f.Up, 0.5)
+    val q2 = Quatf(Vec3f.Up, 0.5 + 1e-4)
+    assert(q1.slerp(q2, 0.5f) === Quatf(Vec3f.Up, 0.5 + 0.5e-4))
+  }
+
+  test("Quaternion nlerp") {
+    val q1 = Quatf(Vec3f.Up, 0.5)
+    val q2 = Quatf(Vec3f.Up, 1.5)
+    assert(q1.nlerp(q2, 0.5f) === Quatf(Vec3f.Up, 1.0))
+    assert(q1.nlerp(-q2, 0.5f) === Quatf(Vec3f.Up, 1.0))
+    assert(q1.nlerp(q2, 0.0f) === q1)
+  }
+
+  test("Slerp packed quaternions") {
+    val from = Array(Quatf(Vec3f.Up, 0.5), Quatf(Vec3f.Right, -1.0), Quatf(Vec3f(1.0f, 1.0f, 0.0f).normalized, 2.0))
+    val to = Array(Quatf(Vec3f.Up, 1.5), -Quatf(Vec3f.Forward, 0.25), Quatf(Vec3f(1.0f, 1.0f, 0.0f).normalized, 2.0 + 1e-4))
+    val src = from.flatMap(q => Array(q.w, q.x, q.y, q.z))
+    val dst = to.flatMap(q => Array(q.w, q.x, q.y, q.z))
+    Quatf.slerpPacked(src, dst, 0.25f, dst, 0, 3)
+    for(i <- 0 until 3) {
+      assert(Quatf(dst(i * 4), dst(i * 4 + 1), dst(i * 4 + 2), dst(i * 4 + 3)) === from(i).slerp(to(i), 0.25f))
+    }
+  }
+
+  test("Slerp packed quaternions with weights") {
+    val from = Array(Quatf.Identity, Quatf(Vec3f.Up, 0.5), Quatf(Vec3f.Right, -1.0))
+    val to = Array(Quatf.Identity, Quatf(Vec3f.Up, 1.5), -Quatf(Vec3f.Forward, 0.25))
+    val weights = Array(0.0f, 0.75f, 0.25f)
+    val src = from.flatMap(q => Array(q.w, q.x, q.y, q.z))
+    val dst = new Array[Float](12)
+    Quatf.slerpPacked(src, to.flatMap(q => Array(q.w, q.x, q.y, q.z)), weights, dst, 1, 2)
+    assert(dst.take(4).forall(_ == 0.0f))
+    for(i <- 1 until 3) {
+      assert(Quatf(dst(i * 4), dst(i * 4 + 1), dst(i * 4 + 2), dst(i * 4 + 3)) === from(i).slerp(to(i), weights(i)))
+    }
+  }
+
+  test("Nlerp packed quaternions") {
+    val from = Array(Quatf(Vec3f.Up, 0.5), Quatf(Vec3f.Right, -1.0))
+    val to = Array(Quatf(Vec3f.Up, 1.5), -Quatf(Vec3f.Forward, 0.25))
+    val src = from.flatMap(q => Array(q.w, q.x, q.y, q.z))
+    val dst = new Array[Float](8)
+    Quatf.nlerpPacked(src, to.flatMap(q => Array(q.w, q.x, q.y, q.z)), 0.25f, dst, 0, 2)
+    for(i <- 0 until 2) {
+      assert(Quatf(dst(i * 4), dst(i * 4 + 1), dst(i * 4 + 2), dst(i * 4 + 3)) === from(i).nlerp(to(i), 0.25f))
+    }
+  }
+
+  test("Nlerp packed quaternions with weights") {
+    val from = Array(Quatf(Vec3f.Up, 0.5), Quatf(Vec3f.Right, -1.0))
+    val to = Array(Quatf(Vec3f.Up, 1.5), -Quatf(Vec3f.Forward, 0.25))
+    val weights = Array(0.75f, 0.25f)
+    val src = from.flatMap(q => Array(q.w, q.x, q.y, q.z))
+    val dst = new Array[Float](8)
+    Quatf.nlerpPacked(src, to.flatMap(q => Array(q.w, q.x, q.y, q.z)), weights, dst, 0, 2)
+    for(i <- 0 until 2) {
+      assert(Quatf(dst(i * 4), dst(i * 4 + 1), dst(i * 4 + 2), dst(i * 4 + 3)) === from(i).nlerp(to(i), weights(i)))
+    }
+  }
+
   test("Get euler angles in the default order") {
     val q = Quatf(0.9253338f, 0.0f, 0.3791534f, 0.0f)
     val res = Vec3f(0.0f, 0.7777625f, 0.0f)
@@ -237,6 +319,52 @@ class QuatfSuite extends AnyFunSuite {
     assert(quaternion.rotate(point) === res)
   }
 
+  test("Rotate point is equivalent to the product with the conjugate") {
+    val quaternion = Quatf(Vec3f(1.0f, -2.0f, 0.5f).normalized, 1.3)
+    val point = Vec3f(0.3f, -1.2f, 2.5f)
+    val res = (quaternion * (0.0f, point.x, point.y, point.z) * quaternion.conjugate).vector
+    assert(quaternion.rotate(point) === res)
+    assert(quaternion.rotate(point.x, point.y, point.z) === res)
+  }
+
+  test("Rotate and translate point") {
+    val quaternion = Quatf(Vec3f(1.0f, -2.0f, 0.5f).normalized, 1.3)
+    val point = Vec3f(0.3f, -1.2f, 2.5f)
+    val translation = Vec3f(1.5f, -2.0f, 0.5f)
+    assert(quaternion.transformPoint(point, translation) === quaternion.rotate(point) + translation)
+  }
+
+  test("Rotate packed points") {
+    val quaternion = Quatf(Vec3f(1.0f, -2.0f, 0.5f).normalized, 1.3)
+    val points = Array(Vec3f(1.0f, 2.0f, 3.0f), Vec3f(-0.5f, 0.0f, 1.5f), Vec3f(0.3f, -1.2f, 2.5f))
+    val src = points.flatMap(p => Array(p.x, p.y, p.z))
+    val dst = Array.fill(9)(Float.NaN)
+    quaternion.rotatePoints(src, dst, 1, 2)
+    assert(dst.take(3).forall(_.isNaN))
+    for(i <- 1 to 2) {
+      assert(Vec3f(dst(i * 3), dst(i * 3 + 1), dst(i * 3 + 2)) === quaternion.rotate(points(i)))
+    }
+  }
+
+  test("Rotate and translate packed points in place") {
+    val quaternion = Quatf(Vec3f(1.0f, -2.0f, 0.5f).normalized, 1.3)
+    val translation = Vec3f(1.5f, -2.0f, 0.5f)
+    val points = Array(Vec3f(1.0f, 2.0f, 3.0f), Vec3f(-0.5f, 0.0f, 1.5f))
+    val array = points.flatMap(p => Array(p.x, p.y, p.z))
+    quaternion.transformPoints(array, translation, array, 0, 2)
+    for(i <- 0 to 1) {
+      assert(Vec3f(array(i * 3), array(i * 3 + 1), array(i * 3 + 2)) === quaternion.transformPoint(points(i), translation))
+    }
+  }
+
+  test("Rotate points in a buffer") {
+    val quaternion = Quatf(Vec3f.Up, math.Pi / 2.0)
+    val buffer = Vec3fBuffer(Vec3f(1.0f, 0.0f, 0.0f), Vec3f(0.0f, 0.0f, 1.0f))
+    quaternion.rotate(buffer, buffer)
+    assert(buffer(0) === Vec3f(0.0f, 0.0f, -1.0f))
+    assert(buffer(1) === Vec3f(1.0f, 0.0f, 0.0f))
+  }
+
   test("Quaternion equals four values") {
     val q = Quatf(1.2f, 1.4f, -2.1f, 3.0f)
     assert(q == (1.2f, 1.4f, -2.1f, 3.0f))
@@ -283,4 +411,40 @@ class QuatfSuite extends AnyFunSuite {
   ignore("Quaternion from shortest arc") {
     // TODO: Quaternion from shortest arc
   }
+
+  test("Write to and read from a float buffer") {
+    val a = Quatf(1.0f, -2.0f, 3.0f, 4.0f)
+    val buffer = FloatBuffer.allocate(6)
+    a.writeTo(buffer, 2)
+    assert(buffer.get(2) == a.w)
+    assert(buffer.get(3) == a.x)
+    assert(Quatf.readFrom(buffer, 2) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Quatf(1.0f, -2.0f, 3.0f, 4.0f)
+    val buffer = ByteBuffer.allocateDirect(20).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4)
+    assert(buffer.getFloat(4) == a.w)
+    assert(buffer.getFloat(8) == a.x)
+    assert(Quatf.readFrom(buffer, 4) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write and read arrays of quaternions with a float buffer") {
+    val array = Array(Quatf(1.0f, -2.0f, 3.0f, 4.0f), Quatf(2.0f, -3.0f, 4.0f, -5.0f))
+    val buffer = FloatBuffer.allocate(9)
+    Quatf.writeAll(array, buffer, 1)
+    assert(Quatf.readFrom(buffer, 5) == array(1))
+    assert(Quatf.readAll(buffer, 1, 2) sameElements array)
+  }
+
+  test("Write and read arrays of quaternions with a byte buffer") {
+    val array = Array(Quatf(1.0f, -2.0f, 3.0f, 4.0f), Quatf(2.0f, -3.0f, 4.0f, -5.0f))
+    val buffer = ByteBuffer.allocateDirect(36).order(ByteOrder.nativeOrder())
+    Quatf.writeAll(array, buffer, 4)
+    assert(Quatf.readFrom(buffer, 20) == array(1))
+    assert(Quatf.readAll(buffer, 4, 2) sameElements array)
+  }
 }
@@ -0,0 +1,145 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalatest.funsuite.AnyFunSuite
+
+import scala.util.Random
+
+class Ray3dSuite extends AnyFunSuite {
+
+  private val ray = Ray3d(Vec3d(0.0, 0.0, -5.0), Vec3d(0.0, 0.0, 1.0))
+  private val a = Vec3d(-1.0, -1.0, 0.0)
+  private val b = Vec3d(1.0, -1.0, 0.0)
+  private val c = Vec3d(-1.0, 1.0, 0.0)
+
+  test("Construct ray from components") {
+    assert(new Ray3d(0.0, 0.0, -5.0, 0.0, 0.0, 1.0) == ray)
+  }
+
+  test("Ray between two points") {
+    assert(Ray3d.between(Vec3d(1.0, 2.0, 3.0), Vec3d(2.0, 4.0, 6.0)) == Ray3d(Vec3d(1.0, 2.0, 3.0), Vec3d(1.0, 2.0, 3.0)))
+  }
+
+  test("Point at distance along the ray") {
+    assert(ray.pointAt(2.0) == Vec3d(0.0, 0.0, -3.0))
+  }
+
+  test("Normalized ray") {
+    assert(Ray3d(Vec3d.One, Vec3d(0.0, 3.0, 4.0)).normalized ~= Ray3d(Vec3d.One, Vec3d(0.0, 0.6, 0.8)))
+  }
+
+  test("Transform ray") {
+    val m = Mat3x4d.translation(1.0, 2.0, 3.0)
+    assert(ray.transform(m) == Ray3d(Vec3d(1.0, 2.0, -2.0), Vec3d(0.0, 0.0, 1.0)))
+  }
+
+  test("Ray hits triangle") {
+    assert(ray.intersectTriangle(a, b, c) == 5.0)
+    assert(Ray3d(Vec3d(0.0, 0.0, 5.0), Vec3d(0.0, 0.0, -2.0)).intersectTriangle(a, b, c) == 2.5)
+  }
+
+  test("Ray misses triangle") {
+    assert(Ray3d(Vec3d(0.5, 0.6, -5.0), Vec3d(0.0, 0.0, 1.0)).intersectTriangle(a, b, c) == Double.PositiveInfinity)
+  }
+
+  test("Ray pointing away from triangle") {
+    assert(Ray3d(Vec3d(0.0, 0.0, -5.0), Vec3d(0.0, 0.0, -1.0)).intersectTriangle(a, b, c) == Double.PositiveInfinity)
+  }
+
+  test("Ray parallel to triangle") {
+    assert(Ray3d(Vec3d(-2.0, 0.0, 0.0), Vec3d(1.0, 0.0, 0.0)).intersectTriangle(a, b, c) == Double.PositiveInfinity)
+  }
+
+  test("Closest hit with barycentric coordinates") {
+    val triangles = Array(
+      -1.0, -1.0, 2.0, 1.0, -1.0, 2.0, -1.0, 1.0, 2.0,
+      -1.0, -1.0, 1.0, 1.0, -1.0, 1.0, -1.0, 1.0, 1.0,
+      5.0, 5.0, 0.0, 6.0, 5.0, 0.0, 5.0, 6.0, 0.0
+    )
+    val hit = new RayHit3d
+    assert(ray.intersectTriangles(triangles, 0, 3, 100.0, hit) == 1)
+    assert(hit.isHit)
+    assert(hit.distance == 6.0)
+    assert(hit.barycentric ~= Vec3d(0.0, 0.5, 0.5))
+    assert(ray.intersectTriangles(triangles, 0, 3, 5.0, hit) == -1)
+    assert(!hit.isHit)
+    assert(ray.intersectTriangles(triangles, 2, 1, 100.0, hit) == -1)
+  }
+
+  test("Closest hit with indexed triangles matches packed triangles") {
+    val random = new Random(42)
+    val vertices = Array.fill(300)(random.nextDouble() * 20.0 - 10.0)
+    val indices = Array.fill(600)(random.nextInt(100))
+    val triangles = indices.flatMap(i => Array(vertices(i * 3), vertices(i * 3 + 1), vertices(i * 3 + 2)))
+    val packedHit = new RayHit3d
+    val indexedHit = new RayHit3d
+    for(_ <- 0 until 100) {
+      val r = Ray3d(Vec3d(random.nextDouble() * 20.0 - 10.0, random.nextDouble() * 20.0 - 10.0, -20.0), Vec3d(random.nextDouble() - 0.5, random.nextDouble() - 0.5, 1.0))
+      val index = r.intersectTriangles(triangles, 0, 200, 100.0, packedHit)
+      assert(r.intersectTriangles(vertices, indices, 0, 200, 100.0, indexedHit) == index)
+      assert(indexedHit.distance == packedHit.distance)
+      val distances = (0 until 200).map(i => r.intersectTriangle(
+        triangles(i * 9), triangles(i * 9 + 1), triangles(i * 9 + 2),
+        triangles(i * 9 + 3), triangles(i * 9 + 4), triangles(i * 9 + 5),
+        triangles(i * 9 + 6), triangles(i * 9 + 7), triangles(i * 9 + 8)
+      ))
+      if(index >= 0) {
+        assert(packedHit.distance == distances.min)
+        assert((r.pointAt(packedHit.distance) distanceTo {
+          val w = packedHit.barycentric
+          Vec3d(triangles(index * 9), triangles(index * 9 + 1), triangles(index * 9 + 2)) * w.x +
+            Vec3d(triangles(index * 9 + 3), triangles(index * 9 + 4), triangles(index * 9 + 5)) * w.y +
+            Vec3d(triangles(index * 9 + 6), triangles(index * 9 + 7), triangles(index * 9 + 8)) * w.z
+        }) < 1e-9)
+      } else {
+        assert(distances.forall(_ > 100.0))
+      }
+      assert(r.intersectsAnyTriangle(triangles, 0, 200, 100.0) == (index >= 0))
+      assert(r.intersectsAnyTriangle(vertices, indices, 0, 200, 100.0) == (index >= 0))
+    }
+  }
+
+  test("Ray hits box") {
+    assert(ray.intersectBox(new Aabb3d(-1.0, -1.0, -1.0, 1.0, 1.0, 1.0)) == 4.0)
+    assert(ray.intersectBox(new Aabb3d(-1.0, -1.0, -6.0, 1.0, 1.0, 1.0)) == 0.0)
+  }
+
+  test("Ray misses box") {
+    assert(ray.intersectBox(new Aabb3d(1.0, 1.0, -1.0, 2.0, 2.0, 1.0)) == Double.PositiveInfinity)
+    assert(ray.intersectBox(new Aabb3d(-1.0, -1.0, -8.0, 1.0, 1.0, -6.0)) == Double.PositiveInfinity)
+  }
+
+  test("Ray grazing the faces of a box") {
+    // The direction is parallel to the faces at x = 0 and y = 0 and the origin lies on them
+    assert(ray.intersectBox(new Aabb3d(0.0, -1.0, -1.0, 1.0, 1.0, 1.0)) == 4.0)
+    assert(ray.intersectBox(new Aabb3d(-1.0, -1.0, -1.0, 0.0, 1.0, 1.0)) == 4.0)
+    assert(ray.intersectBox(new Aabb3d(0.0, 0.0, -1.0, 1.0, 1.0, 1.0)) == 4.0)
+    assert(ray.intersectBox(new Aabb3d(0.0, -1.0, -1.0, 0.0, 1.0, 1.0)) == 4.0)
+    assert(Ray3d(Vec3d(0.0, 0.0, -5.0), Vec3d(-0.0, 0.0, 1.0)).intersectBox(new Aabb3d(0.0, -1.0, -1.0, 1.0, 1.0, 1.0)) == 4.0)
+    assert(ray.intersectBox(new Aabb3d(0.0, 1.0, -1.0, 1.0, 2.0, 1.0)) == Double.PositiveInfinity)
+  }
+
+  private val boxes = Array(
+    -1.0, -1.0, 3.0, 1.0, 1.0, 4.0,
+    2.0, 2.0, 0.0, 3.0, 3.0, 1.0,
+    -1.0, -1.0, 0.0, 1.0, 1.0, 1.0,
+    -1.0, -1.0, 10.0, 1.0, 1.0, 11.0
+  )
+
+  test("Nearest box hit by ray") {
+    assert(ray.nearestBox(boxes, 0, 4, 100.0) == 2)
+    assert(ray.nearestBox(boxes, 0, 2, 100.0) == 0)
+    assert(ray.nearestBox(boxes, 0, 4, 4.0) == -1)
+  }
+
+  test("Intersect packed boxes into a bitmask") {
+    val result = Array(-1L)
+    assert(ray.intersectBoxes(boxes, 0, 4, 10.0, result) == 2)
+    assert(result(0) == ~0xAL)
+  }
+
+  test("Intersect packed boxes into an array of distances") {
+    val distances = new Array[Double](4)
+    assert(ray.intersectBoxes(boxes, 0, 4, 100.0, distances) == 3)
+    assert(distances.toSeq == Seq(8.0, Double.PositiveInfinity, 5.0, 15.0))
+  }
+}
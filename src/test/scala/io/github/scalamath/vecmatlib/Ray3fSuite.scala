@@ -0,0 +1,145 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalatest.funsuite.AnyFunSuite
+
+import scala.util.Random
+
+class Ray3fSuite extends AnyFunSuite {
+
+  private val ray = Ray3f(Vec3f(0.0f, 0.0f, -5.0f), Vec3f(0.0f, 0.0f, 1.0f))
+  private val a = Vec3f(-1.0f, -1.0f, 0.0f)
+  private val b = Vec3f(1.0f, -1.0f, 0.0f)
+  private val c = Vec3f(-1.0f, 1.0f, 0.0f)
+
+  test("Construct ray from components") {
+    assert(new Ray3f(0.0f, 0.0f, -5.0f, 0.0f, 0.0f, 1.0f) == ray)
+  }
+
+  test("Ray between two points") {
+    assert(Ray3f.between(Vec3f(1.0f, 2.0f, 3.0f), Vec3f(2.0f, 4.0f, 6.0f)) == Ray3f(Vec3f(1.0f, 2.0f, 3.0f), Vec3f(1.0f, 2.0f, 3.0f)))
+  }
+
+  test("Point at distance along the ray") {
+    assert(ray.pointAt(2.0f) == Vec3f(0.0f, 0.0f, -3.0f))
+  }
+
+  test("Normalized ray") {
+    assert(Ray3f(Vec3f.One, Vec3f(0.0f, 3.0f, 4.0f)).normalized ~= Ray3f(Vec3f.One, Vec3f(0.0f, 0.6f, 0.8f)))
+  }
+
+  test("Transform ray") {
+    val m = Mat3x4f.translation(1.0f, 2.0f, 3.0f)
+    assert(ray.transform(m) == Ray3f(Vec3f(1.0f, 2.0f, -2.0f), Vec3f(0.0f, 0.0f, 1.0f)))
+  }
+
+  test("Ray hits triangle") {
+    assert(ray.intersectTriangle(a, b, c) == 5.0f)
+    assert(Ray3f(Vec3f(0.0f, 0.0f, 5.0f), Vec3f(0.0f, 0.0f, -2.0f)).intersectTriangle(a, b, c) == 2.5f)
+  }
+
+  test("Ray misses triangle") {
+    assert(Ray3f(Vec3f(0.5f, 0.6f, -5.0f), Vec3f(0.0f, 0.0f, 1.0f)).intersectTriangle(a, b, c) == Float.PositiveInfinity)
+  }
+
+  test("Ray pointing away from triangle") {
+    assert(Ray3f(Vec3f(0.0f, 0.0f, -5.0f), Vec3f(0.0f, 0.0f, -1.0f)).intersectTriangle(a, b, c) == Float.PositiveInfinity)
+  }
+
+  test("Ray parallel to triangle") {
+    assert(Ray3f(Vec3f(-2.0f, 0.0f, 0.0f), Vec3f(1.0f, 0.0f, 0.0f)).intersectTriangle(a, b, c) == Float.PositiveInfinity)
+  }
+
+  test("Closest hit with barycentric coordinates") {
+    val triangles = Array(
+      -1.0f, -1.0f, 2.0f, 1.0f, -1.0f, 2.0f, -1.0f, 1.0f, 2.0f,
+      -1.0f, -1.0f, 1.0f, 1.0f, -1.0f, 1.0f, -1.0f, 1.0f, 1.0f,
+      5.0f, 5.0f, 0.0f, 6.0f, 5.0f, 0.0f, 5.0f, 6.0f, 0.0f
+    )
+    val hit = new RayHit3f
+    assert(ray.intersectTriangles(triangles, 0, 3, 100.0f, hit) == 1)
+    assert(hit.isHit)
+    assert(hit.distance == 6.0f)
+    assert(hit.barycentric ~= Vec3f(0.0f, 0.5f, 0.5f))
+    assert(ray.intersectTriangles(triangles, 0, 3, 5.0f, hit) == -1)
+    assert(!hit.isHit)
+    assert(ray.intersectTriangles(triangles, 2, 1, 100.0f, hit) == -1)
+  }
+
+  test("Closest hit with indexed triangles matches packed triangles") {
+    val random = new Random(42)
+    val vertices = Array.fill(300)(random.nextFloat() * 20.0f - 10.0f)
+    val indices = Array.fill(600)(random.nextInt(100))
+    val triangles = indices.flatMap(i => Array(vertices(i * 3), vertices(i * 3 + 1), vertices(i * 3 + 2)))
+    val packedHit = new RayHit3f
+    val indexedHit = new RayHit3f
+    for(_ <- 0 until 100) {
+      val r = Ray3f(Vec3f(random.nextFloat() * 20.0f - 10.0f, random.nextFloat() * 20.0f - 10.0f, -20.0f), Vec3f(random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, 1.0f))
+      val index = r.intersectTriangles(triangles, 0, 200, 100.0f, packedHit)
+      assert(r.intersectTriangles(vertices, indices, 0, 200, 100.0f, indexedHit) == index)
+      assert(indexedHit.distance == packedHit.distance)
+      val distances = (0 until 200).map(i => r.intersectTriangle(
+        triangles(i * 9), triangles(i * 9 + 1), triangles(i * 9 + 2),
+        triangles(i * 9 + 3), triangles(i * 9 + 4), triangles(i * 9 + 5),
+        triangles(i * 9 + 6), triangles(i * 9 + 7), triangles(i * 9 + 8)
+      ))
+      if(index >= 0) {
+        assert(packedHit.distance == distances.min)
+        assert((r.pointAt(packedHit.distance) distanceTo {
+          val w = packedHit.barycentric
+          Vec3f(triangles(index * 9), triangles(index * 9 + 1), triangles(index * 9 + 2)) * w.x +
+            Vec3f(triangles(index * 9 + 3), triangles(index * 9 + 4), triangles(index * 9 + 5)) * w.y +
+            Vec3f(triangles(index * 9 + 6), triangles(index * 9 + 7), triangles(index * 9 + 8)) * w.z
+        }) < 1e-3f)
+      } else {
+        assert(distances.forall(_ > 100.0f))
+      }
+      assert(r.intersectsAnyTriangle(triangles, 0, 200, 100.0f) == (index >= 0))
+      assert(r.intersectsAnyTriangle(vertices, indices, 0, 200, 100.0f) == (index >= 0))
+    }
+  }
+
+  test("Ray hits box") {
+    assert(ray.intersectBox(new Aabb3f(-1.0f, -1.0f, -1.0f, 1.0f, 1.0f, 1.0f)) == 4.0f)
+    assert(ray.intersectBox(new Aabb3f(-1.0f, -1.0f, -6.0f, 1.0f, 1.0f, 1.0f)) == 0.0f)
+  }
+
+  test("Ray misses box") {
+    assert(ray.intersectBox(new Aabb3f(1.0f, 1.0f, -1.0f, 2.0f, 2.0f, 1.0f)) == Float.PositiveInfinity)
+    assert(ray.intersectBox(new Aabb3f(-1.0f, -1.0f, -8.0f, 1.0f, 1.0f, -6.0f)) == Float.PositiveInfinity)
+  }
+
+  test("Ray grazing the faces of a box") {
+    // The direction is parallel to the faces at x = 0 and y = 0 and the origin lies on them
+    assert(ray.intersectBox(new Aabb3f(0.0f, -1.0f, -1.0f, 1.0f, 1.0f, 1.0f)) == 4.0f)
+    assert(ray.intersectBox(new Aabb3f(-1.0f, -1.0f, -1.0f, 0.0f, 1.0f, 1.0f)) == 4.0f)
+    assert(ray.intersectBox(new Aabb3f(0.0f, 0.0f, -1.0f, 1.0f, 1.0f, 1.0f)) == 4.0f)
+    assert(ray.intersectBox(new Aabb3f(0.0f, -1.0f, -1.0f, 0.0f, 1.0f, 1.0f)) == 4.0f)
+    assert(Ray3f(Vec3f(0.0f, 0.0f, -5.0f), Vec3f(-0.0f, 0.0f, 1.0f)).intersectBox(new Aabb3f(0.0f, -1.0f, -1.0f, 1.0f, 1.0f, 1.0f)) == 4.0f)
+    assert(ray.intersectBox(new Aabb3f(0.0f, 1.0f, -1.0f, 1.0f, 2.0f, 1.0f)) == Float.PositiveInfinity)
+  }
+
+  private val boxes = Array(
+    -1.0f, -1.0f, 3.0f, 1.0f, 1.0f, 4.0f,
+    2.0f, 2.0f, 0.0f, 3.0f, 3.0f, 1.0f,
+    -1.0f, -1.0f, 0.0f, 1.0f, 1.0f, 1.0f,
+    -1.0f, -1.0f, 10.0f, 1.0f, 1.0f, 11.0f
+  )
+
+  test("Nearest box hit by ray") {
+    assert(ray.nearestBox(boxes, 0, 4, 100.0f) == 2)
+    assert(ray.nearestBox(boxes, 0, 2, 100.0f) == 0)
+    assert(ray.nearestBox(boxes, 0, 4, 4.0f) == -1)
+  }
+
+  test("Intersect packed boxes into a bitmask") {
+    val result = Array(-1L)
+    assert(ray.intersectBoxes(boxes, 0, 4, 10.0f, result) == 2)
+    assert(result(0) == ~0xAL)
+  }
+
+  test("Intersect packed boxes into an array of distances") {
+    val distances = new Array[Float](4)
+    assert(ray.intersectBoxes(boxes, 0, 4, 100.0f, distances) == 3)
+    assert(distances.toSeq == Seq(8.0f, Float.PositiveInfinity, 5.0f, 15.0f))
+  }
+}
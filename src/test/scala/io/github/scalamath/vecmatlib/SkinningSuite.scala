@@ -0,0 +1,207 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalatest.funsuite.AnyFunSuite
+
+import java.util.concurrent.ForkJoinPool
+import scala.util.Random
+
+class SkinningSuite extends AnyFunSuite {
+
+  private val random = new Random(42)
+  private val vertices = 257
+  private val palette = Array.fill(6)(Mat3x4f(Mat3f.rotation(Vec3f(random.nextFloat(), random.nextFloat(), random.nextFloat() + 0.5f).normalized, random.nextDouble() * 3.0), Vec3f(random.nextFloat(), random.nextFloat(), random.nextFloat())))
+  private val packed = Skinning.packPalette(palette, new Array[Float](palette.length * 12))
+  private val positions = Array.fill(vertices * 3)(random.nextFloat() * 4.0f - 2.0f)
+  private val normals = Array.tabulate(vertices)(_ => Vec3f(random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, random.nextFloat() + 0.5f).normalized).flatMap(n => Array(n.x, n.y, n.z))
+  private val boneIndices = Array.fill(vertices * 4)(random.nextInt(palette.length))
+  private val boneWeights = Array.tabulate(vertices)(i => {
+    // Some vertices are influenced by fewer than four bones
+    val weights = Array.tabulate(4)(j => if(j <= i % 4) random.nextFloat() + 0.1f else 0.0f)
+    weights.map(_ / weights.sum)
+  }).flatten
+
+  private val dualQuats = palette.map(DualQuatf.fromMatrix)
+  private val packedDualQuats = Skinning.packPalette(dualQuats, new Array[Float](dualQuats.length * 8))
+
+  private def position(array: Array[Float], i: Int): Vec3f = Vec3f(array(i * 3), array(i * 3 + 1), array(i * 3 + 2))
+
+  private def blended(i: Int): Mat3x4f = {
+    (0 until 4).map(j => this.palette(this.boneIndices(i * 4 + j)) * this.boneWeights(i * 4 + j)).reduce(_ + _)
+  }
+
+  test("Pack palette") {
+    val m = Mat3x4f(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f, 9.0f, 10.0f, 11.0f, 12.0f)
+    val res = Skinning.packPalette(Array(Mat3x4f(1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f), m), new Array[Float](24))
+    assert(res.toSeq == Seq(1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f, 9.0f, 10.0f, 11.0f, 12.0f))
+  }
+
+  test("Vertex influenced by a single bone is transformed by its matrix") {
+    val m = Mat3x4f(Mat3f.rotation(Vec3f.Up, math.Pi / 2.0), Vec3f(1.0f, 2.0f, 3.0f))
+    val dstPositions = new Array[Float](3)
+    val dstNormals = new Array[Float](3)
+    Skinning.linearBlend(Array(m), Array(1.0f, 0.0f, 0.0f), Array(1.0f, 0.0f, 0.0f), Array(0, 0, 0, 0), Array(1.0f, 0.0f, 0.0f, 0.0f), dstPositions, dstNormals, 0, 1)
+    assert(position(dstPositions, 0) ~= m * (Vec3f.Right, 1.0f))
+    assert(position(dstNormals, 0) ~= m * (Vec3f.Right, 0.0f))
+  }
+
+  test("Linear blend skinning with a packed palette") {
+    val dstPositions = new Array[Float](vertices * 3)
+    val dstNormals = new Array[Float](vertices * 3)
+    Skinning.linearBlend(packed, positions, normals, boneIndices, boneWeights, dstPositions, dstNormals, 0, vertices)
+    for(i <- 0 until vertices) {
+      val m = blended(i)
+      assert(position(dstPositions, i).distanceTo(m * (position(positions, i), 1.0f)) < 1e-5f)
+      assert(position(dstNormals, i).distanceTo((m.submatrix(3).inverse.transposed * position(normals, i)).normalized) < 1e-4f)
+    }
+  }
+
+  test("Skinned normals are transformed by the inverse transpose of a non-uniform scale") {
+    val m = Mat3x4f(Mat3f.scaling(2.0f, 1.0f, 1.0f), Vec3f.Zero)
+    val n = Vec3f(1.0f, 1.0f, 0.0f).normalized
+    val dstPositions = new Array[Float](3)
+    val dstNormals = new Array[Float](3)
+    Skinning.linearBlend(Array(m), Array(0.0f, 0.0f, 0.0f), Array(n.x, n.y, n.z), Array(0, 0, 0, 0), Array(1.0f, 0.0f, 0.0f, 0.0f), dstPositions, dstNormals, 0, 1)
+    assert(position(dstNormals, 0) ~= Vec3f(0.5f, 1.0f, 0.0f).normalized)
+  }
+
+  test("Skinned normals keep their orientation under a reflection") {
+    val m = Mat3x4f(Mat3f.scaling(-1.0f, 1.0f, 1.0f), Vec3f.Zero)
+    val dstPositions = new Array[Float](3)
+    val dstNormals = new Array[Float](3)
+    Skinning.linearBlend(Array(m), Array(0.0f, 0.0f, 0.0f), Array(1.0f, 0.0f, 0.0f), Array(0, 0, 0, 0), Array(1.0f, 0.0f, 0.0f, 0.0f), dstPositions, dstNormals, 0, 1)
+    assert(position(dstNormals, 0) ~= Vec3f.Left)
+  }
+
+  test("Linear blend skinning with a palette of matrices") {
+    val expectedPositions = new Array[Float](vertices * 3)
+    val expectedNormals = new Array[Float](vertices * 3)
+    Skinning.linearBlend(packed, positions, normals, boneIndices, boneWeights, expectedPositions, expectedNormals, 0, vertices)
+    val dstPositions = new Array[Float](vertices * 3)
+    val dstNormals = new Array[Float](vertices * 3)
+    Skinning.linearBlend(palette, positions, normals, boneIndices, boneWeights, dstPositions, dstNormals, 0, vertices)
+    assert(dstPositions.sameElements(expectedPositions))
+    assert(dstNormals.sameElements(expectedNormals))
+  }
+
+  test("Skinned normals are normalized") {
+    val scaled = palette.map(_ * Mat4f.scaling(2.0f, 0.5f, 3.0f))
+    val dstPositions = new Array[Float](vertices * 3)
+    val dstNormals = new Array[Float](vertices * 3)
+    Skinning.linearBlend(scaled, positions, normals, boneIndices, boneWeights, dstPositions, dstNormals, 0, vertices)
+    for(i <- 0 until vertices) {
+      assert(math.abs(position(dstNormals, i).length - 1.0f) < 1e-5f)
+    }
+  }
+
+  test("Linear blend skinning without normals") {
+    val expected = new Array[Float](vertices * 3)
+    Skinning.linearBlend(packed, positions, normals, boneIndices, boneWeights, expected, new Array[Float](vertices * 3), 0, vertices)
+    val dstPositions = new Array[Float](vertices * 3)
+    Skinning.linearBlend(packed, positions, null, boneIndices, boneWeights, dstPositions, null, 0, vertices)
+    assert(dstPositions.sameElements(expected))
+  }
+
+  test("Linear blend skinning only writes the given range") {
+    val dstPositions = Array.fill(vertices * 3)(Float.NaN)
+    val dstNormals = Array.fill(vertices * 3)(Float.NaN)
+    Skinning.linearBlend(packed, positions, normals, boneIndices, boneWeights, dstPositions, dstNormals, 5, 10)
+    for(i <- 0 until vertices * 3) {
+      assert(dstPositions(i).isNaN == (i < 15 || i >= 45))
+      assert(dstNormals(i).isNaN == (i < 15 || i >= 45))
+    }
+  }
+
+  test("Parallel linear blend skinning gives the same result as the sequential one") {
+    val expectedPositions = new Array[Float](vertices * 3)
+    val expectedNormals = new Array[Float](vertices * 3)
+    Skinning.linearBlend(packed, positions, normals, boneIndices, boneWeights, expectedPositions, expectedNormals, 0, vertices)
+    val kernels = new ParallelKernels(new ForkJoinPool(4), 0, 7)
+    val dstPositions = new Array[Float](vertices * 3)
+    val dstNormals = new Array[Float](vertices * 3)
+    kernels.linearBlendSkinning(packed, positions, normals, boneIndices, boneWeights, dstPositions, dstNormals, 0, vertices)
+    assert(dstPositions.sameElements(expectedPositions))
+    assert(dstNormals.sameElements(expectedNormals))
+    java.util.Arrays.fill(dstPositions, 0.0f)
+    java.util.Arrays.fill(dstNormals, 0.0f)
+    kernels.linearBlendSkinning(palette, positions, normals, boneIndices, boneWeights, dstPositions, dstNormals, 0, vertices)
+    assert(dstPositions.sameElements(expectedPositions))
+    assert(dstNormals.sameElements(expectedNormals))
+  }
+
+  test("Pack dual quaternion palette") {
+    val d = DualQuatf(Quatf(1.0f, 2.0f, 3.0f, 4.0f), Quatf(5.0f, 6.0f, 7.0f, 8.0f))
+    val res = Skinning.packPalette(Array(DualQuatf.Identity, d), new Array[Float](16))
+    assert(res.toSeq == Seq(1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f))
+  }
+
+  test("Dual quaternion skinning with a packed palette") {
+    val dstPositions = new Array[Float](vertices * 3)
+    val dstNormals = new Array[Float](vertices * 3)
+    Skinning.dualQuaternion(packedDualQuats, positions, normals, boneIndices, boneWeights, dstPositions, dstNormals, 0, vertices)
+    for(i <- 0 until vertices) {
+      val d = DualQuatf.blend(Array.tabulate(4)(j => dualQuats(boneIndices(i * 4 + j))), boneWeights.slice(i * 4, i * 4 + 4))
+      assert(position(dstPositions, i).distanceTo(d.transformPoint(position(positions, i))) < 1e-5f)
+      assert(position(dstNormals, i).distanceTo(d.transformDirection(position(normals, i))) < 1e-5f)
+    }
+  }
+
+  test("Dual quaternion skinning with a single bone gives the same result as linear blend skinning") {
+    val weights = Array.tabulate(vertices * 4)(j => if(j % 4 == 0) 1.0f else 0.0f)
+    val expected = new Array[Float](vertices * 3)
+    Skinning.linearBlend(palette, positions, null, boneIndices, weights, expected, null, 0, vertices)
+    val dstPositions = new Array[Float](vertices * 3)
+    Skinning.dualQuaternion(dualQuats, positions, null, boneIndices, weights, dstPositions, null, 0, vertices)
+    for(i <- 0 until vertices * 3) {
+      assert(math.abs(dstPositions(i) - expected(i)) < 1e-5f)
+    }
+  }
+
+  test("Dual quaternion skinning with a palette of dual quaternions") {
+    val expectedPositions = new Array[Float](vertices * 3)
+    val expectedNormals = new Array[Float](vertices * 3)
+    Skinning.dualQuaternion(packedDualQuats, positions, normals, boneIndices, boneWeights, expectedPositions, expectedNormals, 0, vertices)
+    val dstPositions = new Array[Float](vertices * 3)
+    val dstNormals = new Array[Float](vertices * 3)
+    Skinning.dualQuaternion(dualQuats, positions, normals, boneIndices, boneWeights, dstPositions, dstNormals, 0, vertices)
+    assert(dstPositions.sameElements(expectedPositions))
+    assert(dstNormals.sameElements(expectedNormals))
+  }
+
+  test("Dual quaternion skinning takes the shortest path") {
+    val negated = dualQuats.indices.map(i => if(i % 2 == 0) -dualQuats(i) else dualQuats(i)).toArray
+    val expected = new Array[Float](vertices * 3)
+    Skinning.dualQuaternion(dualQuats, positions, null, boneIndices, boneWeights, expected, null, 0, vertices)
+    val dstPositions = new Array[Float](vertices * 3)
+    Skinning.dualQuaternion(negated, positions, null, boneIndices, boneWeights, dstPositions, null, 0, vertices)
+    for(i <- 0 until vertices * 3) {
+      assert(math.abs(dstPositions(i) - expected(i)) < 1e-5f)
+    }
+  }
+
+  test("Dual quaternion skinning only writes the given range") {
+    val dstPositions = Array.fill(vertices * 3)(Float.NaN)
+    val dstNormals = Array.fill(vertices * 3)(Float.NaN)
+    Skinning.dualQuaternion(packedDualQuats, positions, normals, boneIndices, boneWeights, dstPositions, dstNormals, 5, 10)
+    for(i <- 0 until vertices * 3) {
+      assert(dstPositions(i).isNaN == (i < 15 || i >= 45))
+      assert(dstNormals(i).isNaN == (i < 15 || i >= 45))
+    }
+  }
+
+  test("Parallel dual quaternion skinning gives the same result as the sequential one") {
+    val expectedPositions = new Array[Float](vertices * 3)
+    val expectedNormals = new Array[Float](vertices * 3)
+    Skinning.dualQuaternion(packedDualQuats, positions, normals, boneIndices, boneWeights, expectedPositions, expectedNormals, 0, vertices)
+    val kernels = new ParallelKernels(new ForkJoinPool(4), 0, 7)
+    val dstPositions = new Array[Float](vertices * 3)
+    val dstNormals = new Array[Float](vertices * 3)
+    kernels.dualQuaternionSkinning(packedDualQuats, positions, normals, boneIndices, boneWeights, dstPositions, dstNormals, 0, vertices)
+    assert(dstPositions.sameElements(expectedPositions))
+    assert(dstNormals.sameElements(expectedNormals))
+    java.util.Arrays.fill(dstPositions, 0.0f)
+    java.util.Arrays.fill(dstNormals, 0.0f)
+    kernels.dualQuaternionSkinning(dualQuats, positions, normals, boneIndices, boneWeights, dstPositions, dstNormals, 0, vertices)
+    assert(dstPositions.sameElements(expectedPositions))
+    assert(dstNormals.sameElements(expectedNormals))
+  }
+}
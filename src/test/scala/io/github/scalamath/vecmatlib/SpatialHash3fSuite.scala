@@ -0,0 +1,118 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalatest.funsuite.AnyFunSuite
+
+import scala.collection.mutable
+import scala.util.Random
+
+class SpatialHash3fSuite extends AnyFunSuite {
+
+  private def collect(query: java.util.function.IntConsumer => Unit): Set[Int] = {
+    val result = mutable.ArrayBuffer.empty[Int]
+    query(i => result += i)
+    assert(result.distinct.size == result.size)
+    result.toSet
+  }
+
+  test("Construct spatial hash with invalid cell size") {
+    assertThrows[IllegalArgumentException] {
+      new SpatialHash3f(0.0f)
+    }
+  }
+
+  test("Cell of point") {
+    val hash = new SpatialHash3f(2.0f)
+    assert(hash.cellOf(Vec3f(1.0f, 3.0f, -1.0f)) == Vec3i(0, 1, -1))
+    assert(hash.cellOf(-4.0f, 4.0f, -4.5f) == Vec3i(-2, 2, -3))
+  }
+
+  test("Insert objects") {
+    val hash = new SpatialHash3f(1.0f)
+    hash.insert(0, Vec3f(0.5f, 0.5f, 0.5f))
+    hash.insert(100, 2.5f, -1.5f, 3.0f)
+    assert(hash.size == 2)
+    assert(hash.contains(0))
+    assert(hash.contains(100))
+    assert(!hash.contains(1))
+    assert(hash.position(100) == Vec3f(2.5f, -1.5f, 3.0f))
+  }
+
+  test("Insert object twice") {
+    val hash = new SpatialHash3f(1.0f)
+    hash.insert(1, Vec3f.Zero)
+    assertThrows[IllegalArgumentException] {
+      hash.insert(1, Vec3f.One)
+    }
+  }
+
+  test("Insert object with negative id") {
+    assertThrows[IllegalArgumentException] {
+      new SpatialHash3f(1.0f).insert(-1, Vec3f.Zero)
+    }
+  }
+
+  test("Remove objects") {
+    val hash = new SpatialHash3f(1.0f)
+    hash.insert(0, Vec3f.Zero)
+    hash.insert(1, Vec3f(0.1f, 0.1f, 0.1f))
+    hash.insert(2, Vec3f(0.2f, 0.2f, 0.2f))
+    assert(hash.remove(1))
+    assert(!hash.remove(1))
+    assert(hash.size == 2)
+    assert(collect(hash.queryCell(Vec3i.Zero, _)) == Set(0, 2))
+    assert(hash.remove(2))
+    assert(hash.remove(0))
+    assert(collect(hash.queryCell(Vec3i.Zero, _)).isEmpty)
+  }
+
+  test("Move objects") {
+    val hash = new SpatialHash3f(1.0f)
+    hash.insert(0, Vec3f.Zero)
+    hash.insert(1, Vec3f(0.5f, 0.5f, 0.5f))
+    hash.move(0, Vec3f(0.25f, 0.25f, 0.25f))
+    hash.move(1, Vec3f(5.5f, 5.5f, 5.5f))
+    assert(hash.position(0) == Vec3f(0.25f, 0.25f, 0.25f))
+    assert(collect(hash.queryCell(Vec3i.Zero, _)) == Set(0))
+    assert(collect(hash.queryCell(Vec3i(5, 5, 5), _)) == Set(1))
+  }
+
+  test("Move object that is not in the spatial hash") {
+    assertThrows[NoSuchElementException] {
+      new SpatialHash3f(1.0f).move(0, Vec3f.Zero)
+    }
+  }
+
+  test("Clear spatial hash") {
+    val hash = new SpatialHash3f(1.0f)
+    hash.insert(0, Vec3f.Zero)
+    hash.insert(1, Vec3f.One)
+    hash.clear()
+    assert(hash.size == 0)
+    assert(!hash.contains(0))
+    assert(collect(hash.queryRadius(Vec3f.Zero, 10.0f, _)).isEmpty)
+    hash.insert(0, Vec3f.One)
+    assert(collect(hash.queryRadius(Vec3f.Zero, 10.0f, _)) == Set(0))
+  }
+
+  test("Query radius matches linear scan") {
+    val random = new Random(42)
+    val hash = new SpatialHash3f(4.0f)
+    val points = Array.fill(2000)(Vec3f(random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f))
+    for(i <- points.indices) {
+      hash.insert(i, points(i))
+    }
+    for(i <- 0 until 500 by 2) {
+      points(i) = points(i) + (random.nextFloat() * 10.0f - 5.0f, random.nextFloat() * 10.0f - 5.0f, random.nextFloat() * 10.0f - 5.0f)
+      hash.move(i, points(i))
+    }
+    for(i <- 1 until 500 by 2) {
+      hash.remove(i)
+    }
+    for(_ <- 0 until 50) {
+      val center = Vec3f(random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f)
+      val radius = random.nextFloat() * 15.0f
+      val expected = points.indices.filter(i => (i >= 500 || i % 2 == 0) && (points(i) distanceSquaredTo center) <= radius * radius).toSet
+      assert(collect(hash.queryRadius(center, radius, _)) == expected)
+    }
+  }
+}
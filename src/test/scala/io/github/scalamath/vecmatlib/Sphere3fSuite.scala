@@ -0,0 +1,64 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalatest.funsuite.AnyFunSuite
+
+class Sphere3fSuite extends AnyFunSuite {
+
+  implicit val equalitySphere3f: Equality[Sphere3f] = (a: Sphere3f, b: Any) => b match {
+    case b: Sphere3f => a ~= b
+    case _ => false
+  }
+
+  private val sphere = Sphere3f(Vec3f(1.0f, 2.0f, 3.0f), 2.0f)
+
+  test("Construct sphere from components") {
+    assert(new Sphere3f(1.0f, 2.0f, 3.0f, 2.0f) == sphere)
+  }
+
+  test("Sphere contains point") {
+    assert(sphere.contains(Vec3f(1.0f, 2.0f, 5.0f)))
+    assert(sphere.contains(Vec3f(2.0f, 3.0f, 3.0f)))
+    assert(!sphere.contains(Vec3f(2.0f, 4.0f, 4.0f)))
+  }
+
+  test("Sphere contains sphere") {
+    assert(sphere.contains(Sphere3f(Vec3f(1.0f, 2.0f, 4.0f), 1.0f)))
+    assert(!sphere.contains(Sphere3f(Vec3f(1.0f, 2.0f, 4.0f), 1.5f)))
+  }
+
+  test("Sphere intersects sphere") {
+    assert(sphere.intersects(Sphere3f(Vec3f(1.0f, 5.0f, 3.0f), 1.0f)))
+    assert(!sphere.intersects(Sphere3f(Vec3f(1.0f, 5.5f, 3.0f), 1.0f)))
+  }
+
+  test("Sphere intersects box") {
+    assert(sphere.intersects(new Aabb3f(2.0f, 3.0f, 3.0f, 4.0f, 4.0f, 4.0f)))
+    assert(!sphere.intersects(new Aabb3f(3.0f, 3.0f, 3.0f, 4.0f, 4.0f, 4.0f)))
+  }
+
+  test("Union of two spheres") {
+    val b = Sphere3f(Vec3f(1.0f, 2.0f, 9.0f), 2.0f)
+    assert(sphere.union(b) === Sphere3f(Vec3f(1.0f, 2.0f, 6.0f), 5.0f))
+  }
+
+  test("Union of a sphere and a sphere inside it") {
+    val b = Sphere3f(Vec3f(1.0f, 2.0f, 4.0f), 0.5f)
+    assert(sphere.union(b) == sphere)
+    assert(b.union(sphere) == sphere)
+  }
+
+  test("Transform sphere by a matrix") {
+    val m = Mat3x4f.translation(1.0f, -1.0f, 2.0f) * Mat4f.rotation(0.3, -0.7, 1.1) * Mat4f.scaling(2.0f, 1.0f, 0.5f)
+    assert(sphere.transform(m) === Sphere3f(m * (sphere.center, 1.0f), 4.0f))
+  }
+
+  test("Bounding box of a sphere") {
+    assert(sphere.boundingBox == new Aabb3f(-1.0f, 0.0f, 1.0f, 3.0f, 4.0f, 5.0f))
+  }
+
+  test("Sphere equals approximately") {
+    assert(sphere ~= Sphere3f(Vec3f(1.0f, 2.0f, 3.0f), 2.0000001f))
+    assert(!sphere.equalsApprox(Sphere3f(Vec3f(1.0f, 2.0f, 3.0f), 2.1f)))
+  }
+}
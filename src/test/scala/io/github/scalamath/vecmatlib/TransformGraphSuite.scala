@@ -0,0 +1,138 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalatest.funsuite.AnyFunSuite
+
+class TransformGraphSuite extends AnyFunSuite {
+
+  implicit val equalityMat3x4f: Equality[Mat3x4f] = (a: Mat3x4f, b: Any) => b match {
+    case b: Mat3x4f => a ~= b
+    case _ => false
+  }
+
+  private def local(t: Vec3f, r: Quatf, s: Vec3f): Mat3x4f = Mat3x4f.translation(t) * Mat4f.rotation(r) * Mat4f.scaling(s)
+
+  private def compose(a: Mat3x4f, b: Mat3x4f): Mat3x4f = a * (b, 0.0f, 0.0f, 0.0f, 1.0f)
+
+  private val t1 = Vec3f(1.0f, 2.0f, 3.0f)
+  private val r1 = Quatf(Vec3f(1.0f, 1.0f, 0.0f).normalized, 0.5)
+  private val s1 = Vec3f(2.0f, 1.0f, 0.5f)
+  private val t2 = Vec3f(-1.0f, 0.5f, 0.0f)
+  private val r2 = Quatf(Vec3f.Up, 1.2)
+  private val s2 = Vec3f(1.0f, 3.0f, 1.0f)
+
+  test("Construct transform graph with invalid capacity") {
+    assertThrows[IllegalArgumentException] {
+      new TransformGraph(0)
+    }
+  }
+
+  test("Add nodes to the graph") {
+    val graph = new TransformGraph()
+    val root = graph.addNode(TransformGraph.NoParent)
+    val child = graph.addNode(root)
+    assert(graph.size == 2)
+    assert(graph.parent(root) == TransformGraph.NoParent)
+    assert(graph.parent(child) == root)
+    assert(graph.isDirty(root) && graph.isDirty(child))
+  }
+
+  test("Add node with invalid parent") {
+    val graph = new TransformGraph()
+    assertThrows[IllegalArgumentException] {
+      graph.addNode(0)
+    }
+    assertThrows[IllegalArgumentException] {
+      graph.addNode(-2)
+    }
+  }
+
+  test("Access node out of bounds") {
+    val graph = new TransformGraph()
+    graph.addNode(TransformGraph.NoParent)
+    assertThrows[IndexOutOfBoundsException] {
+      graph.setTranslation(1, Vec3f.Zero)
+    }
+    assertThrows[IndexOutOfBoundsException] {
+      graph.worldMatrix(1)
+    }
+  }
+
+  test("Get local transform of a node") {
+    val graph = new TransformGraph()
+    val node = graph.addNode(TransformGraph.NoParent, t1, r1, s1)
+    assert(graph.translation(node) == t1)
+    assert(graph.rotation(node) == r1)
+    assert(graph.scale(node) == s1)
+    assert(graph.localMatrix(node) === local(t1, r1, s1))
+  }
+
+  test("Update world matrices of a hierarchy") {
+    val graph = new TransformGraph()
+    val root = graph.addNode(TransformGraph.NoParent, t1, r1, s1)
+    val child = graph.addNode(root, t2, r2, s2)
+    val grandchild = graph.addNode(child, t1, r2, s1)
+    assert(graph.update() == 3)
+    assert(graph.worldMatrix(root) === local(t1, r1, s1))
+    assert(graph.worldMatrix(child) === compose(local(t1, r1, s1), local(t2, r2, s2)))
+    assert(graph.worldMatrix(grandchild) === compose(compose(local(t1, r1, s1), local(t2, r2, s2)), local(t1, r2, s1)))
+    assert(!graph.isDirty(root) && !graph.isDirty(child) && !graph.isDirty(grandchild))
+  }
+
+  test("Update without changes does not recompute anything") {
+    val graph = new TransformGraph()
+    graph.addNode(graph.addNode(TransformGraph.NoParent, t1, r1, s1), t2, r2, s2)
+    graph.update()
+    assert(graph.update() == 0)
+  }
+
+  test("Update only recomputes dirty subtrees") {
+    val graph = new TransformGraph()
+    val root = graph.addNode(TransformGraph.NoParent)
+    val a = graph.addNode(root, t1, r1, s1)
+    val b = graph.addNode(root, t2, r2, s2)
+    val a1 = graph.addNode(a, t2, r2, s2)
+    val b1 = graph.addNode(b, t1, r1, s1)
+    graph.update()
+    val before = graph.worldMatrix(b1)
+    graph.setTranslation(a, 0.0f, 0.0f, 5.0f)
+    assert(graph.isDirty(a) && !graph.isDirty(b))
+    assert(graph.update() == 2)
+    assert(graph.worldMatrix(a) === local(Vec3f(0.0f, 0.0f, 5.0f), r1, s1))
+    assert(graph.worldMatrix(a1) === compose(local(Vec3f(0.0f, 0.0f, 5.0f), r1, s1), local(t2, r2, s2)))
+    assert(graph.worldMatrix(b1) == before)
+  }
+
+  test("Changing the root updates all nodes") {
+    val graph = new TransformGraph()
+    val root = graph.addNode(TransformGraph.NoParent)
+    val child = graph.addNode(root, t2, r2, s2)
+    graph.update()
+    graph.setRotation(root, r1)
+    graph.setScale(root, s1)
+    assert(graph.update() == 2)
+    assert(graph.worldMatrix(child) === compose(local(Vec3f.Zero, r1, s1), local(t2, r2, s2)))
+  }
+
+  test("Graph grows beyond its initial capacity") {
+    val graph = new TransformGraph(1)
+    var parent = TransformGraph.NoParent
+    for(_ <- 0 until 10) {
+      parent = graph.addNode(parent, Vec3f(1.0f, 0.0f, 0.0f), Quatf.Identity, Vec3f.One)
+    }
+    assert(graph.update() == 10)
+    assert(graph.worldMatrix(9) === Mat3x4f.translation(10.0f, 0.0f, 0.0f))
+  }
+
+  test("Copy world matrices") {
+    val graph = new TransformGraph()
+    val root = graph.addNode(TransformGraph.NoParent, t1, r1, s1)
+    graph.addNode(root, t2, r2, s2)
+    graph.update()
+    val res = new Array[Float](26)
+    graph.copyWorldMatrices(res, 2)
+    assert(res(0) == 0.0f && res(1) == 0.0f)
+    assert(Mat3x4f(res(2), res(3), res(4), res(5), res(6), res(7), res(8), res(9), res(10), res(11), res(12), res(13)) == graph.worldMatrix(0))
+    assert(Mat3x4f(res(14), res(15), res(16), res(17), res(18), res(19), res(20), res(21), res(22), res(23), res(24), res(25)) == graph.worldMatrix(1))
+  }
+}
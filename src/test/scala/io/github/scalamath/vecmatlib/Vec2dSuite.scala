@@ -5,6 +5,8 @@ import org.scalactic.Equality
 import org.scalactic.Tolerance.convertNumericToPlusOrMinusWrapper
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, DoubleBuffer}
+
 class Vec2dSuite extends AnyFunSuite {
 
   implicit val equality: Equality[Vec2d] = (a: Vec2d, b: Any) => b match {
@@ -494,4 +496,40 @@ class Vec2dSuite extends AnyFunSuite {
     assert(vec ~= Vec2d.One.normalized)
     assert(vec ~= Vec2d.Right.rotated(math.Pi / 4.0))
   }
+
+  test("Write to and read from a double buffer") {
+    val a = Vec2d(1.0, -2.0)
+    val buffer = DoubleBuffer.allocate(4)
+    a.writeTo(buffer, 2)
+    assert(buffer.get(2) == a.x)
+    assert(buffer.get(3) == a.y)
+    assert(Vec2d.readFrom(buffer, 2) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Vec2d(1.0, -2.0)
+    val buffer = ByteBuffer.allocateDirect(24).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 8)
+    assert(buffer.getDouble(8) == a.x)
+    assert(buffer.getDouble(16) == a.y)
+    assert(Vec2d.readFrom(buffer, 8) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write and read arrays of vectors with a double buffer") {
+    val array = Array(Vec2d(1.0, -2.0), Vec2d(2.0, -3.0))
+    val buffer = DoubleBuffer.allocate(5)
+    Vec2d.writeAll(array, buffer, 1)
+    assert(Vec2d.readFrom(buffer, 3) == array(1))
+    assert(Vec2d.readAll(buffer, 1, 2) sameElements array)
+  }
+
+  test("Write and read arrays of vectors with a byte buffer") {
+    val array = Array(Vec2d(1.0, -2.0), Vec2d(2.0, -3.0))
+    val buffer = ByteBuffer.allocateDirect(40).order(ByteOrder.nativeOrder())
+    Vec2d.writeAll(array, buffer, 8)
+    assert(Vec2d.readFrom(buffer, 24) == array(1))
+    assert(Vec2d.readAll(buffer, 8, 2) sameElements array)
+  }
 }
@@ -5,6 +5,8 @@ import org.scalactic.Equality
 import org.scalactic.Tolerance.convertNumericToPlusOrMinusWrapper
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, FloatBuffer}
+
 class Vec2fSuite extends AnyFunSuite {
 
   implicit val equality: Equality[Vec2f] = (a: Vec2f, b: Any) => b match {
@@ -494,4 +496,40 @@ class Vec2fSuite extends AnyFunSuite {
     assert(vec === Vec2f.One.normalized)
     assert(vec === Vec2f.Right.rotated(math.Pi / 4.0))
   }
+
+  test("Write to and read from a float buffer") {
+    val a = Vec2f(1.0f, -2.0f)
+    val buffer = FloatBuffer.allocate(4)
+    a.writeTo(buffer, 2)
+    assert(buffer.get(2) == a.x)
+    assert(buffer.get(3) == a.y)
+    assert(Vec2f.readFrom(buffer, 2) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Vec2f(1.0f, -2.0f)
+    val buffer = ByteBuffer.allocateDirect(12).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4)
+    assert(buffer.getFloat(4) == a.x)
+    assert(buffer.getFloat(8) == a.y)
+    assert(Vec2f.readFrom(buffer, 4) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write and read arrays of vectors with a float buffer") {
+    val array = Array(Vec2f(1.0f, -2.0f), Vec2f(2.0f, -3.0f))
+    val buffer = FloatBuffer.allocate(5)
+    Vec2f.writeAll(array, buffer, 1)
+    assert(Vec2f.readFrom(buffer, 3) == array(1))
+    assert(Vec2f.readAll(buffer, 1, 2) sameElements array)
+  }
+
+  test("Write and read arrays of vectors with a byte buffer") {
+    val array = Array(Vec2f(1.0f, -2.0f), Vec2f(2.0f, -3.0f))
+    val buffer = ByteBuffer.allocateDirect(20).order(ByteOrder.nativeOrder())
+    Vec2f.writeAll(array, buffer, 4)
+    assert(Vec2f.readFrom(buffer, 12) == array(1))
+    assert(Vec2f.readAll(buffer, 4, 2) sameElements array)
+  }
 }
@@ -4,6 +4,8 @@ import io.github.scalamath
 import org.scalactic.Tolerance.convertNumericToPlusOrMinusWrapper
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, IntBuffer}
+
 class Vec2iSuite extends AnyFunSuite {
 
   test("Sum of a vector and values") {
@@ -315,4 +317,40 @@ class Vec2iSuite extends AnyFunSuite {
     assert(vec(1) == 2)
     assertThrows[MatchError] {vec(2)}
   }
+
+  test("Write to and read from a int buffer") {
+    val a = Vec2i(1, -2)
+    val buffer = IntBuffer.allocate(4)
+    a.writeTo(buffer, 2)
+    assert(buffer.get(2) == a.x)
+    assert(buffer.get(3) == a.y)
+    assert(Vec2i.readFrom(buffer, 2) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Vec2i(1, -2)
+    val buffer = ByteBuffer.allocateDirect(12).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4)
+    assert(buffer.getInt(4) == a.x)
+    assert(buffer.getInt(8) == a.y)
+    assert(Vec2i.readFrom(buffer, 4) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write and read arrays of vectors with a int buffer") {
+    val array = Array(Vec2i(1, -2), Vec2i(2, -3))
+    val buffer = IntBuffer.allocate(5)
+    Vec2i.writeAll(array, buffer, 1)
+    assert(Vec2i.readFrom(buffer, 3) == array(1))
+    assert(Vec2i.readAll(buffer, 1, 2) sameElements array)
+  }
+
+  test("Write and read arrays of vectors with a byte buffer") {
+    val array = Array(Vec2i(1, -2), Vec2i(2, -3))
+    val buffer = ByteBuffer.allocateDirect(20).order(ByteOrder.nativeOrder())
+    Vec2i.writeAll(array, buffer, 4)
+    assert(Vec2i.readFrom(buffer, 12) == array(1))
+    assert(Vec2i.readAll(buffer, 4, 2) sameElements array)
+  }
 }
@@ -0,0 +1,105 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalactic.Tolerance.convertNumericToPlusOrMinusWrapper
+import org.scalatest.funsuite.AnyFunSuite
+
+class Vec3dBufferSuite extends AnyFunSuite {
+
+  implicit val equalityVec3d: Equality[Vec3d] = (a: Vec3d, b: Any) => b match {
+    case b: Vec3d => a ~= b
+    case _ => false
+  }
+
+  private val as = Array(Vec3d(1.0, 2.0, -1.5), Vec3d(-3.0, 0.5, 2.0), Vec3d(0.25, -1.0, 4.0))
+  private val bs = Array(Vec3d(2.0, -1.0, 0.5), Vec3d(1.5, 1.5, -2.5), Vec3d(-0.5, 3.0, 1.0))
+
+  private def assertBuffer(buffer: Vec3dBuffer, expected: Array[Vec3d]): Unit = {
+    assert(buffer.size == expected.length)
+    for(i <- expected.indices) {
+      assert(buffer(i) === expected(i))
+    }
+  }
+
+  test("Buffer from vectors") {
+    val buffer = Vec3dBuffer(as(0), as(1), as(2))
+    assertBuffer(buffer, as)
+    assert(buffer.toArray sameElements as)
+  }
+
+  test("Buffer of a given size") {
+    val buffer = new Vec3dBuffer(5)
+    assert(buffer.size == 5)
+    assert(buffer(4) == Vec3d.Zero)
+  }
+
+  test("Buffer from arrays of different lengths") {
+    assertThrows[IllegalArgumentException] {
+      new Vec3dBuffer(new Array[Double](3), new Array[Double](3), new Array[Double](2))
+    }
+  }
+
+  test("Set a vector in a buffer") {
+    val buffer = new Vec3dBuffer(3)
+    buffer(1) = as(0)
+    buffer.set(2, as(1).x, as(1).y, as(1).z)
+    assert(buffer(0) == Vec3d.Zero)
+    assert(buffer(1) == as(0))
+    assert(buffer(2) == as(1))
+  }
+
+  test("Sum of two buffers") {
+    assertBuffer(Vec3dBuffer.fromArray(as) + Vec3dBuffer.fromArray(bs), as.zip(bs).map(p => p._1 + p._2))
+  }
+
+  test("Sum of two buffers in place") {
+    val a = Vec3dBuffer.fromArray(as)
+    val res = a.plus(Vec3dBuffer.fromArray(bs), a)
+    assert(res eq a)
+    assertBuffer(a, as.zip(bs).map(p => p._1 + p._2))
+  }
+
+  test("Subtraction of two buffers") {
+    assertBuffer(Vec3dBuffer.fromArray(as) - Vec3dBuffer.fromArray(bs), as.zip(bs).map(p => p._1 - p._2))
+  }
+
+  test("Component-wise multiplication of two buffers") {
+    assertBuffer(Vec3dBuffer.fromArray(as) * Vec3dBuffer.fromArray(bs), as.zip(bs).map(p => p._1 * p._2))
+  }
+
+  test("Buffer multiplied by a scalar") {
+    assertBuffer(Vec3dBuffer.fromArray(as) * 1.5, as.map(_ * 1.5))
+  }
+
+  test("Dot products of two buffers") {
+    val res = Vec3dBuffer.fromArray(as).dot(Vec3dBuffer.fromArray(bs))
+    for(i <- as.indices) {
+      assert(res(i) === as(i).dot(bs(i)) +- 1e-9)
+    }
+  }
+
+  test("Cross products of two buffers") {
+    assertBuffer(Vec3dBuffer.fromArray(as).cross(Vec3dBuffer.fromArray(bs)), as.zip(bs).map(p => p._1.cross(p._2)))
+  }
+
+  test("Normalized buffer") {
+    assertBuffer(Vec3dBuffer.fromArray(as).normalized, as.map(_.normalized))
+  }
+
+  test("Linear interpolation between two buffers") {
+    assertBuffer(Vec3dBuffer.fromArray(as).lerp(Vec3dBuffer.fromArray(bs), 0.25), as.zip(bs).map(p => p._1.lerp(p._2, 0.25)))
+  }
+
+  test("Distance squared between two buffers") {
+    val res = Vec3dBuffer.fromArray(as).distanceSquaredTo(Vec3dBuffer.fromArray(bs))
+    for(i <- as.indices) {
+      assert(res(i) === as(i).distanceSquaredTo(bs(i)) +- 1e-9)
+    }
+  }
+
+  test("Operation on buffers of different sizes") {
+    assertThrows[IllegalArgumentException] {
+      Vec3dBuffer.fromArray(as) + new Vec3dBuffer(2)
+    }
+  }
+}
@@ -5,6 +5,8 @@ import org.scalactic.Equality
 import org.scalactic.Tolerance.convertNumericToPlusOrMinusWrapper
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, DoubleBuffer}
+
 class Vec3dSuite extends AnyFunSuite {
 
   implicit val equality: Equality[Vec3d] = (a: Vec3d, b: Any) => b match {
@@ -479,6 +481,14 @@ class Vec3dSuite extends AnyFunSuite {
     assert(a ~= b)
   }
 
+  test("Equal vectors have the same hash code") {
+    val a = Vec3d(1.5, 0.0, -2.0)
+    val b = Vec3d(1.5, -0.0, -2.0)
+    assert(a.equals(b))
+    assert(a.hashCode() == b.hashCode())
+    assert(!a.equals(Vec3d(1.5, 0.0, 2.0)))
+  }
+
   test("Access components with apply") {
     val vec = Vec3d(1.1, 2.2, 3.3)
     assert(vec(0) == 1.1)
@@ -486,4 +496,40 @@ class Vec3dSuite extends AnyFunSuite {
     assert(vec(2) == 3.3)
     assertThrows[MatchError] {vec(3)}
   }
+
+  test("Write to and read from a double buffer") {
+    val a = Vec3d(1.0, -2.0, 3.0)
+    val buffer = DoubleBuffer.allocate(5)
+    a.writeTo(buffer, 2)
+    assert(buffer.get(2) == a.x)
+    assert(buffer.get(3) == a.y)
+    assert(Vec3d.readFrom(buffer, 2) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Vec3d(1.0, -2.0, 3.0)
+    val buffer = ByteBuffer.allocateDirect(32).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 8)
+    assert(buffer.getDouble(8) == a.x)
+    assert(buffer.getDouble(16) == a.y)
+    assert(Vec3d.readFrom(buffer, 8) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write and read arrays of vectors with a double buffer") {
+    val array = Array(Vec3d(1.0, -2.0, 3.0), Vec3d(2.0, -3.0, 4.0))
+    val buffer = DoubleBuffer.allocate(7)
+    Vec3d.writeAll(array, buffer, 1)
+    assert(Vec3d.readFrom(buffer, 4) == array(1))
+    assert(Vec3d.readAll(buffer, 1, 2) sameElements array)
+  }
+
+  test("Write and read arrays of vectors with a byte buffer") {
+    val array = Array(Vec3d(1.0, -2.0, 3.0), Vec3d(2.0, -3.0, 4.0))
+    val buffer = ByteBuffer.allocateDirect(56).order(ByteOrder.nativeOrder())
+    Vec3d.writeAll(array, buffer, 8)
+    assert(Vec3d.readFrom(buffer, 32) == array(1))
+    assert(Vec3d.readAll(buffer, 8, 2) sameElements array)
+  }
 }
@@ -0,0 +1,105 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalactic.Tolerance.convertNumericToPlusOrMinusWrapper
+import org.scalatest.funsuite.AnyFunSuite
+
+class Vec3fBufferSuite extends AnyFunSuite {
+
+  implicit val equalityVec3f: Equality[Vec3f] = (a: Vec3f, b: Any) => b match {
+    case b: Vec3f => a ~= b
+    case _ => false
+  }
+
+  private val as = Array(Vec3f(1.0f, 2.0f, -1.5f), Vec3f(-3.0f, 0.5f, 2.0f), Vec3f(0.25f, -1.0f, 4.0f))
+  private val bs = Array(Vec3f(2.0f, -1.0f, 0.5f), Vec3f(1.5f, 1.5f, -2.5f), Vec3f(-0.5f, 3.0f, 1.0f))
+
+  private def assertBuffer(buffer: Vec3fBuffer, expected: Array[Vec3f]): Unit = {
+    assert(buffer.size == expected.length)
+    for(i <- expected.indices) {
+      assert(buffer(i) === expected(i))
+    }
+  }
+
+  test("Buffer from vectors") {
+    val buffer = Vec3fBuffer(as(0), as(1), as(2))
+    assertBuffer(buffer, as)
+    assert(buffer.toArray sameElements as)
+  }
+
+  test("Buffer of a given size") {
+    val buffer = new Vec3fBuffer(5)
+    assert(buffer.size == 5)
+    assert(buffer(4) == Vec3f.Zero)
+  }
+
+  test("Buffer from arrays of different lengths") {
+    assertThrows[IllegalArgumentException] {
+      new Vec3fBuffer(new Array[Float](3), new Array[Float](3), new Array[Float](2))
+    }
+  }
+
+  test("Set a vector in a buffer") {
+    val buffer = new Vec3fBuffer(3)
+    buffer(1) = as(0)
+    buffer.set(2, as(1).x, as(1).y, as(1).z)
+    assert(buffer(0) == Vec3f.Zero)
+    assert(buffer(1) == as(0))
+    assert(buffer(2) == as(1))
+  }
+
+  test("Sum of two buffers") {
+    assertBuffer(Vec3fBuffer.fromArray(as) + Vec3fBuffer.fromArray(bs), as.zip(bs).map(p => p._1 + p._2))
+  }
+
+  test("Sum of two buffers in place") {
+    val a = Vec3fBuffer.fromArray(as)
+    val res = a.plus(Vec3fBuffer.fromArray(bs), a)
+    assert(res eq a)
+    assertBuffer(a, as.zip(bs).map(p => p._1 + p._2))
+  }
+
+  test("Subtraction of two buffers") {
+    assertBuffer(Vec3fBuffer.fromArray(as) - Vec3fBuffer.fromArray(bs), as.zip(bs).map(p => p._1 - p._2))
+  }
+
+  test("Component-wise multiplication of two buffers") {
+    assertBuffer(Vec3fBuffer.fromArray(as) * Vec3fBuffer.fromArray(bs), as.zip(bs).map(p => p._1 * p._2))
+  }
+
+  test("Buffer multiplied by a scalar") {
+    assertBuffer(Vec3fBuffer.fromArray(as) * 1.5f, as.map(_ * 1.5f))
+  }
+
+  test("Dot products of two buffers") {
+    val res = Vec3fBuffer.fromArray(as).dot(Vec3fBuffer.fromArray(bs))
+    for(i <- as.indices) {
+      assert(res(i) === as(i).dot(bs(i)) +- 1e-05f)
+    }
+  }
+
+  test("Cross products of two buffers") {
+    assertBuffer(Vec3fBuffer.fromArray(as).cross(Vec3fBuffer.fromArray(bs)), as.zip(bs).map(p => p._1.cross(p._2)))
+  }
+
+  test("Normalized buffer") {
+    assertBuffer(Vec3fBuffer.fromArray(as).normalized, as.map(_.normalized))
+  }
+
+  test("Linear interpolation between two buffers") {
+    assertBuffer(Vec3fBuffer.fromArray(as).lerp(Vec3fBuffer.fromArray(bs), 0.25f), as.zip(bs).map(p => p._1.lerp(p._2, 0.25f)))
+  }
+
+  test("Distance squared between two buffers") {
+    val res = Vec3fBuffer.fromArray(as).distanceSquaredTo(Vec3fBuffer.fromArray(bs))
+    for(i <- as.indices) {
+      assert(res(i) === as(i).distanceSquaredTo(bs(i)) +- 1e-05f)
+    }
+  }
+
+  test("Operation on buffers of different sizes") {
+    assertThrows[IllegalArgumentException] {
+      Vec3fBuffer.fromArray(as) + new Vec3fBuffer(2)
+    }
+  }
+}
@@ -5,6 +5,8 @@ import org.scalactic.Equality
 import org.scalactic.Tolerance.convertNumericToPlusOrMinusWrapper
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, FloatBuffer}
+
 class Vec3fSuite extends AnyFunSuite {
 
   implicit val equality: Equality[Vec3f] = (a: Vec3f, b: Any) => b match {
@@ -479,6 +481,22 @@ class Vec3fSuite extends AnyFunSuite {
     assert(a ~= b)
   }
 
+  test("Equal vectors have the same hash code") {
+    val a = Vec3f(1.5f, 0.0f, -2.0f)
+    val b = Vec3f(1.5f, -0.0f, -2.0f)
+    assert(a.equals(b))
+    assert(a.hashCode() == b.hashCode())
+    assert(!a.equals(Vec3f(1.5f, 0.0f, 2.0f)))
+    assert(!Vec3f(Float.NaN, 0.0f, 0.0f).equals(Vec3f(Float.NaN, 0.0f, 0.0f)))
+  }
+
+  test("Vector with a NaN component is equal to itself") {
+    val a = Vec3f(Float.NaN, 0.0f, 0.0f)
+    assert(a.equals(a))
+    val map = scala.collection.mutable.HashMap(a -> 1)
+    assert(map.get(a).contains(1))
+  }
+
   test("Access components with apply") {
     val vec = Vec3f(1.1f, 2.2f, 3.3f)
     assert(vec(0) == 1.1f)
@@ -486,4 +504,40 @@ class Vec3fSuite extends AnyFunSuite {
     assert(vec(2) == 3.3f)
     assertThrows[MatchError] {vec(3)}
   }
+
+  test("Write to and read from a float buffer") {
+    val a = Vec3f(1.0f, -2.0f, 3.0f)
+    val buffer = FloatBuffer.allocate(5)
+    a.writeTo(buffer, 2)
+    assert(buffer.get(2) == a.x)
+    assert(buffer.get(3) == a.y)
+    assert(Vec3f.readFrom(buffer, 2) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Vec3f(1.0f, -2.0f, 3.0f)
+    val buffer = ByteBuffer.allocateDirect(16).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4)
+    assert(buffer.getFloat(4) == a.x)
+    assert(buffer.getFloat(8) == a.y)
+    assert(Vec3f.readFrom(buffer, 4) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write and read arrays of vectors with a float buffer") {
+    val array = Array(Vec3f(1.0f, -2.0f, 3.0f), Vec3f(2.0f, -3.0f, 4.0f))
+    val buffer = FloatBuffer.allocate(7)
+    Vec3f.writeAll(array, buffer, 1)
+    assert(Vec3f.readFrom(buffer, 4) == array(1))
+    assert(Vec3f.readAll(buffer, 1, 2) sameElements array)
+  }
+
+  test("Write and read arrays of vectors with a byte buffer") {
+    val array = Array(Vec3f(1.0f, -2.0f, 3.0f), Vec3f(2.0f, -3.0f, 4.0f))
+    val buffer = ByteBuffer.allocateDirect(28).order(ByteOrder.nativeOrder())
+    Vec3f.writeAll(array, buffer, 4)
+    assert(Vec3f.readFrom(buffer, 16) == array(1))
+    assert(Vec3f.readAll(buffer, 4, 2) sameElements array)
+  }
 }
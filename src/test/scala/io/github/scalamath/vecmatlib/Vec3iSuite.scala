@@ -4,6 +4,8 @@ import io.github.scalamath
 import org.scalactic.Tolerance.convertNumericToPlusOrMinusWrapper
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, IntBuffer}
+
 class Vec3iSuite extends AnyFunSuite {
 
   test("Construct from Vec2i and z") {
@@ -306,6 +308,24 @@ class Vec3iSuite extends AnyFunSuite {
     assert(vec == (1, 2, 3))
   }
 
+  test("Equal vectors have the same hash code") {
+    val a = Vec3i(1, -2, 3)
+    val b = Vec3i(1, -2, 3)
+    assert(a.equals(b))
+    assert(a.hashCode() == b.hashCode())
+    assert(!a.equals(Vec3i(1, -2, 4)))
+    assert(!a.equals(Vec3f(1.0f, -2.0f, 3.0f)))
+  }
+
+  test("Vectors as hash map keys") {
+    val map = scala.collection.mutable.HashMap.empty[Vec3i, Int]
+    for(x <- -5 to 5; y <- -5 to 5; z <- -5 to 5) {
+      map(Vec3i(x, y, z)) = x * 100 + y * 10 + z
+    }
+    assert(map.size == 1331)
+    assert(map(Vec3i(-3, 2, 4)) == -276)
+  }
+
   test("Access components with apply") {
     val vec = Vec3i(1, 2, 3)
     assert(vec(0) == 1)
@@ -313,4 +333,40 @@ class Vec3iSuite extends AnyFunSuite {
     assert(vec(2) == 3)
     assertThrows[MatchError] {vec(3)}
   }
+
+  test("Write to and read from a int buffer") {
+    val a = Vec3i(1, -2, 3)
+    val buffer = IntBuffer.allocate(5)
+    a.writeTo(buffer, 2)
+    assert(buffer.get(2) == a.x)
+    assert(buffer.get(3) == a.y)
+    assert(Vec3i.readFrom(buffer, 2) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Vec3i(1, -2, 3)
+    val buffer = ByteBuffer.allocateDirect(16).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4)
+    assert(buffer.getInt(4) == a.x)
+    assert(buffer.getInt(8) == a.y)
+    assert(Vec3i.readFrom(buffer, 4) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write and read arrays of vectors with a int buffer") {
+    val array = Array(Vec3i(1, -2, 3), Vec3i(2, -3, 4))
+    val buffer = IntBuffer.allocate(7)
+    Vec3i.writeAll(array, buffer, 1)
+    assert(Vec3i.readFrom(buffer, 4) == array(1))
+    assert(Vec3i.readAll(buffer, 1, 2) sameElements array)
+  }
+
+  test("Write and read arrays of vectors with a byte buffer") {
+    val array = Array(Vec3i(1, -2, 3), Vec3i(2, -3, 4))
+    val buffer = ByteBuffer.allocateDirect(28).order(ByteOrder.nativeOrder())
+    Vec3i.writeAll(array, buffer, 4)
+    assert(Vec3i.readFrom(buffer, 16) == array(1))
+    assert(Vec3i.readAll(buffer, 4, 2) sameElements array)
+  }
 }
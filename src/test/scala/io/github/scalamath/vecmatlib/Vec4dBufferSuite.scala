@@ -0,0 +1,101 @@
+package io.github.scalamath.vecmatlib
+
+import org.scalactic.Equality
+import org.scalactic.Tolerance.convertNumericToPlusOrMinusWrapper
+import org.scalatest.funsuite.AnyFunSuite
+
+class Vec4dBufferSuite extends AnyFunSuite {
+
+  implicit val equalityVec4d: Equality[Vec4d] = (a: Vec4d, b: Any) => b match {
+    case b: Vec4d => a ~= b
+    case _ => false
+  }
+
+  private val as = Array(Vec4d(1.0, 2.0, -1.5, 0.5), Vec4d(-3.0, 0.5, 2.0, 1.25), Vec4d(0.25, -1.0, 4.0, -2.0))
+  private val bs = Array(Vec4d(2.0, -1.0, 0.5, 3.0), Vec4d(1.5, 1.5, -2.5, 0.0), Vec4d(-0.5, 3.0, 1.0, 2.5))
+
+  private def assertBuffer(buffer: Vec4dBuffer, expected: Array[Vec4d]): Unit = {
+    assert(buffer.size == expected.length)
+    for(i <- expected.indices) {
+      assert(buffer(i) === expected(i))
+    }
+  }
+
+  test("Buffer from vectors") {
+    val buffer = Vec4dBuffer(as(0), as(1), as(2))
+    assertBuffer(buffer, as)
+    assert(buffer.toArray sameElements as)
+  }
+
+  test("Buffer of a given size") {
+    val buffer = new Vec4dBuffer(5)
+    assert(buffer.size == 5)
+    assert(buffer(4) == Vec4d.Zero)
+  }
+
+  test("Buffer from arrays of different lengths") {
+    assertThrows[IllegalArgumentException] {
+      new Vec4dBuffer(new Array[Double](3), new Array[Double](3), new Array[Double](3), new Array[Double](2))
+    }
+  }
+
+  test("Set a vector in a buffer") {
+    val buffer = new Vec4dBuffer(3)
+    buffer(1) = as(0)
+    buffer.set(2, as(1).x, as(1).y, as(1).z, as(1).w)
+    assert(buffer(0) == Vec4d.Zero)
+    assert(buffer(1) == as(0))
+    assert(buffer(2) == as(1))
+  }
+
+  test("Sum of two buffers") {
+    assertBuffer(Vec4dBuffer.fromArray(as) + Vec4dBuffer.fromArray(bs), as.zip(bs).map(p => p._1 + p._2))
+  }
+
+  test("Sum of two buffers in place") {
+    val a = Vec4dBuffer.fromArray(as)
+    val res = a.plus(Vec4dBuffer.fromArray(bs), a)
+    assert(res eq a)
+    assertBuffer(a, as.zip(bs).map(p => p._1 + p._2))
+  }
+
+  test("Subtraction of two buffers") {
+    assertBuffer(Vec4dBuffer.fromArray(as) - Vec4dBuffer.fromArray(bs), as.zip(bs).map(p => p._1 - p._2))
+  }
+
+  test("Component-wise multiplication of two buffers") {
+    assertBuffer(Vec4dBuffer.fromArray(as) * Vec4dBuffer.fromArray(bs), as.zip(bs).map(p => p._1 * p._2))
+  }
+
+  test("Buffer multiplied by a scalar") {
+    assertBuffer(Vec4dBuffer.fromArray(as) * 1.5, as.map(_ * 1.5))
+  }
+
+  test("Dot products of two buffers") {
+    val res = Vec4dBuffer.fromArray(as).dot(Vec4dBuffer.fromArray(bs))
+    for(i <- as.indices) {
+      assert(res(i) === as(i).dot(bs(i)) +- 1e-9)
+    }
+  }
+
+  test("Normalized buffer") {
+    assertBuffer(Vec4dBuffer.fromArray(as).normalized, as.map(_.normalized))
+  }
+
+  test("Linear interpolation between two buffers") {
+    assertBuffer(Vec4dBuffer.fromArray(as).lerp(Vec4dBuffer.fromArray(bs), 0.25), as.zip(bs).map(p => p._1.lerp(p._2, 0.25)))
+  }
+
+  test("Distance squared between two buffers") {
+    val res = Vec4dBuffer.fromArray(as).distanceSquaredTo(Vec4dBuffer.fromArray(bs))
+    for(i <- as.indices) {
+      assert(res(i) === as(i).distanceSquaredTo(bs(i)) +- 1e-9)
+    }
+  }
+
+  test("Operation on buffers of different sizes") {
+    assertThrows[IllegalArgumentException] {
+      Vec4dBuffer.fromArray(as) + new Vec4dBuffer(2)
+    }
+  }
+}
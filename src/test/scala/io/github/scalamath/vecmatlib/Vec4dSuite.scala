@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import org.scalactic.Equality
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, DoubleBuffer}
+
 class Vec4dSuite extends AnyFunSuite {
 
   implicit val equality: Equality[Vec4d] = (a: Vec4d, b: Any) => b match {
@@ -402,4 +404,40 @@ class Vec4dSuite extends AnyFunSuite {
     assert(vec(3) == 4.4)
     assertThrows[MatchError] {vec(4)}
   }
+
+  test("Write to and read from a double buffer") {
+    val a = Vec4d(1.0, -2.0, 3.0, 4.0)
+    val buffer = DoubleBuffer.allocate(6)
+    a.writeTo(buffer, 2)
+    assert(buffer.get(2) == a.x)
+    assert(buffer.get(3) == a.y)
+    assert(Vec4d.readFrom(buffer, 2) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Vec4d(1.0, -2.0, 3.0, 4.0)
+    val buffer = ByteBuffer.allocateDirect(40).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 8)
+    assert(buffer.getDouble(8) == a.x)
+    assert(buffer.getDouble(16) == a.y)
+    assert(Vec4d.readFrom(buffer, 8) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write and read arrays of vectors with a double buffer") {
+    val array = Array(Vec4d(1.0, -2.0, 3.0, 4.0), Vec4d(2.0, -3.0, 4.0, -5.0))
+    val buffer = DoubleBuffer.allocate(9)
+    Vec4d.writeAll(array, buffer, 1)
+    assert(Vec4d.readFrom(buffer, 5) == array(1))
+    assert(Vec4d.readAll(buffer, 1, 2) sameElements array)
+  }
+
+  test("Write and read arrays of vectors with a byte buffer") {
+    val array = Array(Vec4d(1.0, -2.0, 3.0, 4.0), Vec4d(2.0, -3.0, 4.0, -5.0))
+    val buffer = ByteBuffer.allocateDirect(72).order(ByteOrder.nativeOrder())
+    Vec4d.writeAll(array, buffer, 8)
+    assert(Vec4d.readFrom(buffer, 40) == array(1))
+    assert(Vec4d.readAll(buffer, 8, 2) sameElements array)
+  }
 }
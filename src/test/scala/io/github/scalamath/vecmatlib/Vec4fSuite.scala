@@ -3,6 +3,8 @@ package io.github.scalamath.vecmatlib
 import org.scalactic.Equality
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, FloatBuffer}
+
 class Vec4fSuite extends AnyFunSuite {
 
   implicit val equality: Equality[Vec4f] = (a: Vec4f, b: Any) => b match {
@@ -402,4 +404,40 @@ class Vec4fSuite extends AnyFunSuite {
     assert(vec(3) == 4.4f)
     assertThrows[MatchError] {vec(4)}
   }
+
+  test("Write to and read from a float buffer") {
+    val a = Vec4f(1.0f, -2.0f, 3.0f, 4.0f)
+    val buffer = FloatBuffer.allocate(6)
+    a.writeTo(buffer, 2)
+    assert(buffer.get(2) == a.x)
+    assert(buffer.get(3) == a.y)
+    assert(Vec4f.readFrom(buffer, 2) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Vec4f(1.0f, -2.0f, 3.0f, 4.0f)
+    val buffer = ByteBuffer.allocateDirect(20).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4)
+    assert(buffer.getFloat(4) == a.x)
+    assert(buffer.getFloat(8) == a.y)
+    assert(Vec4f.readFrom(buffer, 4) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write and read arrays of vectors with a float buffer") {
+    val array = Array(Vec4f(1.0f, -2.0f, 3.0f, 4.0f), Vec4f(2.0f, -3.0f, 4.0f, -5.0f))
+    val buffer = FloatBuffer.allocate(9)
+    Vec4f.writeAll(array, buffer, 1)
+    assert(Vec4f.readFrom(buffer, 5) == array(1))
+    assert(Vec4f.readAll(buffer, 1, 2) sameElements array)
+  }
+
+  test("Write and read arrays of vectors with a byte buffer") {
+    val array = Array(Vec4f(1.0f, -2.0f, 3.0f, 4.0f), Vec4f(2.0f, -3.0f, 4.0f, -5.0f))
+    val buffer = ByteBuffer.allocateDirect(36).order(ByteOrder.nativeOrder())
+    Vec4f.writeAll(array, buffer, 4)
+    assert(Vec4f.readFrom(buffer, 20) == array(1))
+    assert(Vec4f.readAll(buffer, 4, 2) sameElements array)
+  }
 }
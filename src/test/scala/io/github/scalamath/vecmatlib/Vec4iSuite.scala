@@ -2,6 +2,8 @@ package io.github.scalamath.vecmatlib
 
 import org.scalatest.funsuite.AnyFunSuite
 
+import java.nio.{ByteBuffer, ByteOrder, IntBuffer}
+
 class Vec4iSuite extends AnyFunSuite {
 
   test("Construct from Vec3i and z") {
@@ -291,4 +293,40 @@ class Vec4iSuite extends AnyFunSuite {
     assert(vec(3) == 4)
     assertThrows[MatchError] {vec(4)}
   }
+
+  test("Write to and read from a int buffer") {
+    val a = Vec4i(1, -2, 3, 4)
+    val buffer = IntBuffer.allocate(6)
+    a.writeTo(buffer, 2)
+    assert(buffer.get(2) == a.x)
+    assert(buffer.get(3) == a.y)
+    assert(Vec4i.readFrom(buffer, 2) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write to and read from a byte buffer") {
+    val a = Vec4i(1, -2, 3, 4)
+    val buffer = ByteBuffer.allocateDirect(20).order(ByteOrder.nativeOrder())
+    a.writeTo(buffer, 4)
+    assert(buffer.getInt(4) == a.x)
+    assert(buffer.getInt(8) == a.y)
+    assert(Vec4i.readFrom(buffer, 4) == a)
+    assert(buffer.position() == 0)
+  }
+
+  test("Write and read arrays of vectors with a int buffer") {
+    val array = Array(Vec4i(1, -2, 3, 4), Vec4i(2, -3, 4, -5))
+    val buffer = IntBuffer.allocate(9)
+    Vec4i.writeAll(array, buffer, 1)
+    assert(Vec4i.readFrom(buffer, 5) == array(1))
+    assert(Vec4i.readAll(buffer, 1, 2) sameElements array)
+  }
+
+  test("Write and read arrays of vectors with a byte buffer") {
+    val array = Array(Vec4i(1, -2, 3, 4), Vec4i(2, -3, 4, -5))
+    val buffer = ByteBuffer.allocateDirect(36).order(ByteOrder.nativeOrder())
+    Vec4i.writeAll(array, buffer, 4)
+    assert(Vec4i.readFrom(buffer, 20) == array(1))
+    assert(Vec4i.readAll(buffer, 4, 2) sameElements array)
+  }
 }